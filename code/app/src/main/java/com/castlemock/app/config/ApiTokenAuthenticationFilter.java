@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.app.config;
+
+import com.castlemock.web.basis.manager.CredentialManager;
+import com.castlemock.web.basis.service.user.UserDetailSecurityService;
+import com.google.common.base.Preconditions;
+import org.apache.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * The {@link ApiTokenAuthenticationFilter} authenticates REST requests that provide an API token
+ * as a bearer token in the <code>Authorization</code> header. Requests without a bearer token
+ * are passed on unchanged, which means that they can still be authenticated with basic authentication.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see RestSecurityConfig
+ */
+public class ApiTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String API_TOKEN_PRINCIPAL = "";
+    private static final Logger LOGGER = Logger.getLogger(ApiTokenAuthenticationFilter.class);
+
+    private final UserDetailSecurityService userDetailSecurityService;
+    private final CredentialManager credentialManager;
+
+    public ApiTokenAuthenticationFilter(final UserDetailSecurityService userDetailSecurityService,
+                                        final CredentialManager credentialManager) {
+        this.userDetailSecurityService = Preconditions.checkNotNull(userDetailSecurityService, "The user detail service cannot be null");
+        this.credentialManager = Preconditions.checkNotNull(credentialManager, "The credential manager cannot be null");
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if(authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())){
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final String apiToken = authorization.substring(BEARER_PREFIX.length()).trim();
+        final Authentication authentication = authenticate(apiToken);
+        if(authentication == null){
+            LOGGER.debug("Unable to authenticate the request with the provided API token");
+            SecurityContextHolder.clearContext();
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Authenticate an API token.
+     * @param apiToken The API token that will be authenticated.
+     * @return A verified authentication for the user that the API token belongs to, or
+     *         <code>null</code> if the API token is invalid or the user is inactive or locked.
+     */
+    private Authentication authenticate(final String apiToken){
+        if(apiToken.isEmpty()){
+            return null;
+        }
+        final Authentication cachedAuthentication = credentialManager.get(API_TOKEN_PRINCIPAL, apiToken);
+        if(cachedAuthentication != null){
+            return cachedAuthentication;
+        }
+
+        final long generation = credentialManager.getGeneration();
+        final UserDetails userDetails = userDetailSecurityService.loadUserByApiToken(apiToken);
+        if(userDetails == null || !userDetails.isEnabled() || !userDetails.isAccountNonLocked() ||
+                !userDetails.isAccountNonExpired() || !userDetails.isCredentialsNonExpired()){
+            return null;
+        }
+
+        final Authentication authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        credentialManager.put(API_TOKEN_PRINCIPAL, apiToken, authentication, generation);
+        return authentication;
+    }
+
+}
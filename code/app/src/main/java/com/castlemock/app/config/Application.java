@@ -18,10 +18,13 @@ package com.castlemock.app.config;
 
 import com.castlemock.core.basis.model.LegacyRepository;
 import com.castlemock.core.basis.model.ServiceFacade;
+import com.castlemock.core.basis.service.project.ProjectServiceFacade;
+import com.castlemock.repository.Profiles;
 import com.castlemock.repository.Repository;
 import com.castlemock.repository.token.SessionTokenRepository;
 import com.castlemock.web.basis.manager.FileManager;
 import com.castlemock.web.basis.service.ServiceRegistry;
+import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
@@ -33,8 +36,14 @@ import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.cert.X509Certificate;
+import java.util.Enumeration;
 import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * The Application class contains the main method and is also responsible for configuring the application. The application
@@ -53,6 +62,8 @@ public abstract class Application extends SpringBootServletInitializer{
     private String baseFileDirectory;
     @Value("${http.sslverify:true}")
     private boolean securityCertificationValidationEnabled;
+    @Value("${memory.import.archive:}")
+    private String importArchive;
     @Autowired
     private ApplicationContext applicationContext;
     @Autowired
@@ -61,6 +72,11 @@ public abstract class Application extends SpringBootServletInitializer{
     private SessionTokenRepository tokenRepository;
     @Autowired
     private FileManager fileManager;
+    @Autowired
+    private ProjectServiceFacade projectServiceFacade;
+
+    private static final Logger LOGGER = Logger.getLogger(Application.class);
+    private static final String EXPORTED_PROJECT_PREFIX = "exported-project-";
 
     /**
      * The initialize method is responsible for initiating all the components when the application has been started.
@@ -71,12 +87,17 @@ public abstract class Application extends SpringBootServletInitializer{
     protected void initiate(){
         printLogo();
         initializeUnSecureTLS();
-        updateBaseFileDirectory(); // This is required to change the base folder name from .fortmocks to .castlemock
+        if(!isMemoryProfile()){
+            updateBaseFileDirectory(); // This is required to change the base folder name from .fortmocks to .castlemock
+        }
         initializeProcessRegistry();
         initializeRepository();
         initializeLegacyRepository();
         initializeServiceFacade();
         initializeTokenRepository();
+        if(isMemoryProfile() && !importArchive.isEmpty()){
+            importProjectArchive();
+        }
     }
 
     protected void printLogo(){
@@ -152,6 +173,41 @@ public abstract class Application extends SpringBootServletInitializer{
         serviceRegistry.initialize();
     }
 
+    /**
+     * The method imports all the projects in an archive of exported projects. The archive is
+     * the zip file that is created when multiple projects are exported, and the type of each
+     * project is part of the name of its entry.
+     * @since 1.38
+     */
+    protected void importProjectArchive(){
+        int imported = 0;
+        try (ZipFile archive = new ZipFile(importArchive)){
+            final Enumeration<? extends ZipEntry> entries = archive.entries();
+            while(entries.hasMoreElements()){
+                final ZipEntry entry = entries.nextElement();
+                final String name = new File(entry.getName()).getName();
+                final int separator = name.indexOf('-', EXPORTED_PROJECT_PREFIX.length());
+                if(entry.isDirectory() || !name.startsWith(EXPORTED_PROJECT_PREFIX) || separator < 0){
+                    LOGGER.warn("Skipping the following entry in the project archive: " + entry.getName());
+                    continue;
+                }
+                final String type = name.substring(EXPORTED_PROJECT_PREFIX.length(), separator).toUpperCase();
+                try (InputStream input = archive.getInputStream(entry)){
+                    projectServiceFacade.importProject(type, input);
+                    imported++;
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to import the following project archive: " + importArchive, e);
+            throw new IllegalStateException("Unable to import the following project archive: " + importArchive);
+        }
+        LOGGER.info("Imported " + imported + " projects from " + importArchive);
+    }
+
+    private boolean isMemoryProfile(){
+        return applicationContext.getEnvironment().acceptsProfiles(Profiles.MEMORY);
+    }
+
     /**
      * The method is only a temporary method used to change the the base file directory name for
      * .fortmocks to .castlemock. This method can later be removed when users have had the change
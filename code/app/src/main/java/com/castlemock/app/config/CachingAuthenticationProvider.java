@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.app.config;
+
+import com.castlemock.web.basis.manager.CredentialManager;
+import com.google.common.base.Preconditions;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * The {@link CachingAuthenticationProvider} wraps an {@link AuthenticationProvider} and keeps track of the
+ * credentials that have already been verified. Clients that use basic authentication provide their credentials
+ * on every request, and the wrapped provider would otherwise have to verify the password hash every time.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see CredentialManager
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider authenticationProvider;
+    private final CredentialManager credentialManager;
+
+    public CachingAuthenticationProvider(final AuthenticationProvider authenticationProvider,
+                                         final CredentialManager credentialManager) {
+        this.authenticationProvider = Preconditions.checkNotNull(authenticationProvider, "The authentication provider cannot be null");
+        this.credentialManager = Preconditions.checkNotNull(credentialManager, "The credential manager cannot be null");
+    }
+
+    /**
+     * Authenticate the provided authentication request. The verified authentication will be returned
+     * directly if the same credentials have already been verified.
+     * @param authentication The authentication request.
+     * @return A verified authentication.
+     * @throws AuthenticationException If the authentication failed.
+     */
+    @Override
+    public Authentication authenticate(final Authentication authentication) throws AuthenticationException {
+        final String username = authentication.getName();
+        final String password = authentication.getCredentials() == null ? null : authentication.getCredentials().toString();
+        final Authentication cachedAuthentication = credentialManager.get(username, password);
+        if(cachedAuthentication != null){
+            return cachedAuthentication;
+        }
+
+        final long generation = credentialManager.getGeneration();
+        final Authentication verifiedAuthentication = authenticationProvider.authenticate(authentication);
+        if(verifiedAuthentication != null && verifiedAuthentication.isAuthenticated()){
+            credentialManager.put(username, password, verifiedAuthentication, generation);
+        }
+        return verifiedAuthentication;
+    }
+
+    @Override
+    public boolean supports(final Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication) &&
+                authenticationProvider.supports(authentication);
+    }
+
+}
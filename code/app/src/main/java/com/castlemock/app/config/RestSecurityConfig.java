@@ -16,14 +16,20 @@
 
 package com.castlemock.app.config;
 
+import com.castlemock.web.basis.manager.CredentialManager;
+import com.castlemock.web.basis.service.user.UserDetailSecurityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 /**
  * The class {@link RestSecurityConfig} provides the configuration for the REST interfaces.
@@ -39,6 +45,28 @@ public class RestSecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     @Qualifier("userDetailsService")
     private UserDetailsService userDetailsService;
+    @Autowired
+    private UserDetailSecurityService userDetailSecurityService;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private CredentialManager credentialManager;
+
+    /**
+     * Configure the authentication for the REST interfaces. The REST clients provide their
+     * credentials on every request, which is why the verified credentials are cached.
+     *
+     * @param authenticationManagerBuilder The authentication manager builder
+     * @since 1.38
+     */
+    @Override
+    protected void configure(final AuthenticationManagerBuilder authenticationManagerBuilder) {
+        final DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+        authenticationProvider.setUserDetailsService(userDetailsService);
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authenticationManagerBuilder.authenticationProvider(
+                new CachingAuthenticationProvider(authenticationProvider, credentialManager));
+    }
 
     /**
      * The method configure is responsible for the security configuration.
@@ -56,7 +84,8 @@ public class RestSecurityConfig extends WebSecurityConfigurerAdapter {
                 .and()
                     .httpBasic()
                 .and()
-                    .csrf().disable();
+                    .csrf().disable()
+                    .addFilterBefore(new ApiTokenAuthenticationFilter(userDetailSecurityService, credentialManager), BasicAuthenticationFilter.class);
 
         httpSecurity.headers().cacheControl().disable();
     }
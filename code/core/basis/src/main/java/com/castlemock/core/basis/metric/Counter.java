@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.core.basis.metric;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counter is a metric that can only be increased. The counter is safe to
+ * update from multiple threads without any synchronization.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class Counter implements Metric {
+
+    private final LongAdder count = new LongAdder();
+
+    Counter() {
+    }
+
+    /**
+     * Increase the counter with one.
+     */
+    public void increment(){
+        count.increment();
+    }
+
+    /**
+     * Increase the counter with the provided amount.
+     * @param amount The amount that the counter will be increased with.
+     */
+    public void increment(final long amount){
+        count.add(amount);
+    }
+
+    /**
+     * Get the current value of the counter.
+     * @return The current value of the counter.
+     */
+    public long getCount(){
+        return count.sum();
+    }
+
+    @Override
+    public void write(final String name, final String labels, final Writer writer) throws IOException {
+        writer.write(name + labels + ' ' + getCount() + '\n');
+    }
+}
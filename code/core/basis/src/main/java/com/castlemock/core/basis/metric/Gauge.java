@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.core.basis.metric;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.LongSupplier;
+
+/**
+ * The gauge is a metric that reports a value that can both increase and decrease,
+ * such as the number of queued tasks. The value is read when the metric is reported.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class Gauge implements Metric {
+
+    private final LongSupplier supplier;
+
+    Gauge(final LongSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    /**
+     * Get the current value of the gauge.
+     * @return The current value of the gauge.
+     */
+    public long getValue(){
+        return supplier.getAsLong();
+    }
+
+    @Override
+    public void write(final String name, final String labels, final Writer writer) throws IOException {
+        writer.write(name + labels + ' ' + getValue() + '\n');
+    }
+}
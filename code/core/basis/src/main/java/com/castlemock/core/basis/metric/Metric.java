@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.core.basis.metric;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A metric is a single measurement series that is identified by a name and a set of tags.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see MetricRegistry
+ */
+interface Metric {
+
+    /**
+     * Write the current value of the metric in the Prometheus text format.
+     * @param name The name of the metric.
+     * @param labels The formatted labels of the metric, including the surrounding braces.
+     * @param writer The writer that the metric will be written to.
+     * @throws IOException If the metric could not be written.
+     */
+    void write(String name, String labels, Writer writer) throws IOException;
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.core.basis.metric;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * The metric registry contains all the metrics that are collected by the application. A metric
+ * is identified by its name and a set of tags, which are provided as alternating keys and values.
+ * Metrics are created the first time they are requested and are then reused, which makes it cheap
+ * to look up a metric on the hot path. The registry can be written in the Prometheus text format.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class MetricRegistry {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final Map<String, MetricFamily> FAMILIES = new ConcurrentHashMap<String, MetricFamily>();
+
+    private MetricRegistry(){
+
+    }
+
+    /**
+     * Get or create a timer.
+     * @param name The name of the timer.
+     * @param tags The tags of the timer, provided as alternating keys and values.
+     * @return The timer that matches the provided name and tags.
+     */
+    public static Timer timer(final String name, final String... tags){
+        return (Timer) getMetric(name, MetricType.SUMMARY, tags, labels -> new Timer());
+    }
+
+    /**
+     * Get or create a counter.
+     * @param name The name of the counter.
+     * @param tags The tags of the counter, provided as alternating keys and values.
+     * @return The counter that matches the provided name and tags.
+     */
+    public static Counter counter(final String name, final String... tags){
+        return (Counter) getMetric(name, MetricType.COUNTER, tags, labels -> new Counter());
+    }
+
+    /**
+     * Register a gauge. An already registered gauge with the same name and tags
+     * will be kept.
+     * @param name The name of the gauge.
+     * @param supplier The supplier that provides the value of the gauge.
+     * @param tags The tags of the gauge, provided as alternating keys and values.
+     * @return The gauge that matches the provided name and tags.
+     */
+    public static Gauge gauge(final String name, final LongSupplier supplier, final String... tags){
+        Preconditions.checkNotNull(supplier, "The supplier cannot be null");
+        return (Gauge) getMetric(name, MetricType.GAUGE, tags, labels -> new Gauge(supplier));
+    }
+
+    /**
+     * Write all the metrics in the Prometheus text format. The metrics are
+     * written in alphabetical order.
+     * @param writer The writer that the metrics will be written to.
+     * @throws IOException If the metrics could not be written.
+     */
+    public static void write(final Writer writer) throws IOException {
+        for(Map.Entry<String, MetricFamily> entry : new TreeMap<String, MetricFamily>(FAMILIES).entrySet()){
+            final String name = entry.getKey();
+            final MetricFamily family = entry.getValue();
+            writer.write("# TYPE " + name + ' ' + family.type.getName() + '\n');
+            for(Map.Entry<String, Metric> metric : new TreeMap<String, Metric>(family.metrics).entrySet()){
+                metric.getValue().write(name, metric.getKey(), writer);
+            }
+        }
+    }
+
+    private static Metric getMetric(final String name,
+                                    final MetricType type,
+                                    final String[] tags,
+                                    final Function<String, Metric> factory){
+        Preconditions.checkNotNull(name, "The metric name cannot be null");
+        Preconditions.checkArgument(tags.length % 2 == 0, "The tags have to be provided as keys and values");
+        final MetricFamily family = FAMILIES.computeIfAbsent(name, key -> new MetricFamily(type));
+        if(family.type != type){
+            throw new IllegalStateException("The metric " + name + " is already registered as a " + family.type.getName());
+        }
+        final String labels = getLabels(tags);
+        final Metric metric = family.metrics.get(labels);
+        if(metric != null){
+            return metric;
+        }
+        return family.metrics.computeIfAbsent(labels, factory);
+    }
+
+    private static String getLabels(final String[] tags){
+        if(tags.length == 0){
+            return "";
+        }
+        final StringBuilder builder = new StringBuilder("{");
+        for(int index = 0; index < tags.length; index += 2){
+            if(index > 0){
+                builder.append(',');
+            }
+            builder.append(tags[index]).append("=\"");
+            final String value = tags[index + 1] == null ? "" : tags[index + 1];
+            for(int position = 0; position < value.length(); position++){
+                final char character = value.charAt(position);
+                if(character == '\\' || character == '"'){
+                    builder.append('\\').append(character);
+                } else if(character == '\n'){
+                    builder.append("\\n");
+                } else {
+                    builder.append(character);
+                }
+            }
+            builder.append('"');
+        }
+        return builder.append('}').toString();
+    }
+
+    /**
+     * The metric family contains all the metrics that share the same name.
+     */
+    private static class MetricFamily {
+
+        private final MetricType type;
+        private final Map<String, Metric> metrics = new ConcurrentHashMap<String, Metric>();
+
+        private MetricFamily(final MetricType type) {
+            this.type = type;
+        }
+    }
+
+}
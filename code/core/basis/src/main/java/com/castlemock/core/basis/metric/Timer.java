@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.core.basis.metric;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The timer is a metric that keeps track of the number of timed events and the total
+ * time that they took. The timer is safe to update from multiple threads without any
+ * synchronization. The timer is reported as a Prometheus summary in seconds.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class Timer implements Metric {
+
+    private static final double NANOSECONDS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+
+    Timer() {
+    }
+
+    /**
+     * Record the time of an event.
+     * @param nanoseconds The time that the event took in nanoseconds.
+     */
+    public void record(final long nanoseconds){
+        count.increment();
+        totalTime.add(nanoseconds);
+    }
+
+    /**
+     * Record the time that has elapsed since the provided start time.
+     * @param startTime The start time, as returned by {@link System#nanoTime()}.
+     * @return The current time, as returned by {@link System#nanoTime()}. The returned value
+     *         can be used as the start time for the next event.
+     */
+    public long recordSince(final long startTime){
+        final long now = System.nanoTime();
+        record(now - startTime);
+        return now;
+    }
+
+    /**
+     * Get the number of recorded events.
+     * @return The number of recorded events.
+     */
+    public long getCount(){
+        return count.sum();
+    }
+
+    /**
+     * Get the total time of all the recorded events.
+     * @return The total time in nanoseconds.
+     */
+    public long getTotalTime(){
+        return totalTime.sum();
+    }
+
+    @Override
+    public void write(final String name, final String labels, final Writer writer) throws IOException {
+        writer.write(name + "_count" + labels + ' ' + getCount() + '\n');
+        writer.write(name + "_sum" + labels + ' ' + (getTotalTime() / NANOSECONDS_PER_SECOND) + '\n');
+    }
+}
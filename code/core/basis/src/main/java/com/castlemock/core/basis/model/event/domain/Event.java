@@ -38,6 +38,7 @@ public class Event implements TypeIdentifiable {
     private Date endDate;
     private TypeIdentifier typeIdentifier;
     private String resourceLink;
+    private EventTimings timings;
 
     /**
      * The default constructor for the event DTO
@@ -64,6 +65,7 @@ public class Event implements TypeIdentifiable {
         this.id = eventDto.getId();
         this.startDate = eventDto.getStartDate();
         this.endDate = eventDto.getEndDate();
+        this.timings = eventDto.getTimings();
     }
 
     @XmlElement
@@ -121,4 +123,13 @@ public class Event implements TypeIdentifiable {
     public void setResourceLink(String resourceLink) {
         this.resourceLink = resourceLink;
     }
+
+    @XmlElement
+    public EventTimings getTimings() {
+        return timings;
+    }
+
+    public void setTimings(EventTimings timings) {
+        this.timings = timings;
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.event.domain;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * The event cursor identifies a position in the list of events. The events are ordered by their
+ * start date with the newest event first, and events with the same start date are ordered by
+ * their id. The cursor points at the last event of a page, and the next page starts with the
+ * event that comes directly after the cursor.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see EventQuery
+ */
+public final class EventCursor implements Comparable<EventCursor> {
+
+    /**
+     * Orders event summaries with the newest event first.
+     */
+    public static final Comparator<EventSummary> NEWEST_FIRST =
+            (summary, other) -> of(summary).compareTo(of(other));
+
+    private static final char SEPARATOR = '-';
+
+    private final long startTime;
+    private final String id;
+
+    /**
+     * Create a new event cursor.
+     * @param startTime The start time of the event in milliseconds.
+     * @param id The id of the event. A <code>null</code> id points before all the events
+     *           that have the provided start time.
+     */
+    public EventCursor(final long startTime, final String id) {
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    /**
+     * Create a cursor that points at a specific event.
+     * @param summary The event that the cursor will point at.
+     * @return A cursor that points at the provided event.
+     */
+    public static EventCursor of(final EventSummary summary){
+        return of(summary.getStartDate(), summary.getId());
+    }
+
+    /**
+     * Create a cursor that points at a specific event.
+     * @param startDate The start date of the event.
+     * @param id The id of the event.
+     * @return A cursor that points at the provided event.
+     */
+    public static EventCursor of(final Date startDate, final String id){
+        return new EventCursor(startDate == null ? 0 : startDate.getTime(), id);
+    }
+
+    /**
+     * Parse a cursor that has been created with {@link #toString()}.
+     * @param cursor The cursor that will be parsed.
+     * @return The parsed cursor.
+     * @throws IllegalArgumentException If the provided cursor is not valid.
+     */
+    public static EventCursor parse(final String cursor){
+        Preconditions.checkNotNull(cursor, "The cursor cannot be null");
+        final int index = cursor.indexOf(SEPARATOR);
+        Preconditions.checkArgument(index > 0 && index < cursor.length() - 1, "Invalid cursor: " + cursor);
+        try {
+            return new EventCursor(Long.parseLong(cursor.substring(0, index)), cursor.substring(index + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Compare the position of two cursors. A cursor that points at a newer event is
+     * considered to be less than a cursor that points at an older event.
+     * @param other The cursor that this cursor will be compared to.
+     * @return A negative value if this cursor comes before the other cursor.
+     */
+    @Override
+    public int compareTo(final EventCursor other) {
+        final int result = Long.compare(other.startTime, startTime);
+        if(result != 0){
+            return result;
+        }
+        if(id == null || other.id == null){
+            return id == null ? (other.id == null ? 0 : -1) : 1;
+        }
+        return other.id.compareTo(id);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if(this == other){
+            return true;
+        }
+        if(!(other instanceof EventCursor)){
+            return false;
+        }
+        return compareTo((EventCursor) other) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(startTime) + (id == null ? 0 : id.hashCode());
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(startTime) + SEPARATOR + id;
+    }
+}
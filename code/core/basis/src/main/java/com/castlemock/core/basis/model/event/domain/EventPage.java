@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.event.domain;
+
+import java.util.List;
+
+/**
+ * The event page contains a page of event summaries and the cursor that is used to
+ * retrieve the next page.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see EventQuery
+ */
+public final class EventPage {
+
+    private final List<EventSummary> events;
+    private final String nextCursor;
+
+    public EventPage(final List<EventSummary> events, final String nextCursor) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EventSummary> getEvents() {
+        return events;
+    }
+
+    /**
+     * The cursor that is used to retrieve the next page.
+     * @return The cursor for the next page, or <code>null</code> if there are no more events.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.event.domain;
+
+import javax.xml.bind.annotation.XmlEnum;
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * The event phase represents one of the phases that an incoming mock request passes through
+ * while it is being processed.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see EventTimings
+ */
+@XmlType
+@XmlEnum(String.class)
+public enum EventPhase {
+
+    READ, IDENTIFY, SELECT, RENDER, FORWARD, DELAY, WRITE
+
+}
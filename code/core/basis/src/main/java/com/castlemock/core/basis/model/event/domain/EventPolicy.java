@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.event.domain;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The event policy decides which requests that should be captured as events, and
+ * how much of each request and response that should be captured. A policy can be configured
+ * both on a project and on a method or operation. A value that has not been configured
+ * (<code>null</code>) is inherited from the project, and a policy without any values
+ * will capture every request in full.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@XmlRootElement
+public class EventPolicy {
+
+    private static final int MAX_BYTES_PER_CHAR = 3;
+    private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+    private static final int ERROR_STATUS_CODE = 400;
+
+    private Double sampleRate;
+    private Integer maxBodyBytes;
+    private Boolean headersOnly;
+    private Boolean errorsOnly;
+
+    public EventPolicy() {
+    }
+
+    public EventPolicy(final EventPolicy policy) {
+        this.sampleRate = policy.sampleRate;
+        this.maxBodyBytes = policy.maxBodyBytes;
+        this.headersOnly = policy.headersOnly;
+        this.errorsOnly = policy.errorsOnly;
+    }
+
+    /**
+     * The share of the requests that should be captured, between 0 and 1.
+     * @return The sample rate, or <code>null</code> if it has not been configured.
+     */
+    @XmlElement
+    public Double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * The maximum number of bytes that should be captured of a request or a response body.
+     * A body that is larger will be truncated.
+     * @return The maximum number of bytes, or <code>null</code> if it has not been configured.
+     */
+    @XmlElement
+    public Integer getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(Integer maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * Whether only the headers, and not the bodies, should be captured.
+     * @return <code>true</code> if only the headers should be captured, or <code>null</code>
+     *         if it has not been configured.
+     */
+    @XmlElement
+    public Boolean getHeadersOnly() {
+        return headersOnly;
+    }
+
+    public void setHeadersOnly(Boolean headersOnly) {
+        this.headersOnly = headersOnly;
+    }
+
+    /**
+     * Whether only the requests that resulted in an error (HTTP status code 400 or above)
+     * should be captured.
+     * @return <code>true</code> if only errors should be captured, or <code>null</code>
+     *         if it has not been configured.
+     */
+    @XmlElement
+    public Boolean getErrorsOnly() {
+        return errorsOnly;
+    }
+
+    public void setErrorsOnly(Boolean errorsOnly) {
+        this.errorsOnly = errorsOnly;
+    }
+
+    /**
+     * Decide if a request should be sampled. The decision is made before the request is
+     * processed, which means that no event has to be created for a request that is not sampled.
+     * @return <code>true</code> if the request should be captured.
+     */
+    public boolean sample(){
+        return sampleRate == null || sampleRate >= 1.0 ||
+                (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Decide if a request should be captured based on the result of the request.
+     * @param httpStatusCode The HTTP status code of the response, or <code>null</code>
+     *                       if no response was created.
+     * @return <code>true</code> if the request should be captured.
+     */
+    public boolean captures(final Integer httpStatusCode){
+        return !Boolean.TRUE.equals(errorsOnly) || httpStatusCode == null || httpStatusCode >= ERROR_STATUS_CODE;
+    }
+
+    /**
+     * Capture a body according to the policy. The body will be removed if only headers should
+     * be captured, and it will be truncated if it is larger than the maximum number of bytes.
+     * A truncated body ends with a marker that contains the number of bytes that were removed.
+     * Only the part of the body that is kept is encoded, which means that the size of a large
+     * body does not affect the memory that is required to truncate it.
+     * @param body The body that will be captured.
+     * @return The body that should be stored in the event.
+     */
+    public String capture(final String body){
+        if(body == null || Boolean.TRUE.equals(headersOnly)){
+            return null;
+        }
+        if(maxBodyBytes == null || maxBodyBytes < 0 || (long) body.length() * MAX_BYTES_PER_CHAR <= maxBodyBytes){
+            return body;
+        }
+        final long length = getEncodedLength(body);
+        if(length <= maxBodyBytes){
+            return body;
+        }
+
+        // Every character is encoded with at least one byte, which means that the
+        // kept part of the body can not be longer than the maximum number of bytes
+        int end = Math.min(body.length(), maxBodyBytes);
+        if(end > 0 && Character.isHighSurrogate(body.charAt(end - 1))){
+            end--;
+        }
+        final byte[] bytes = body.substring(0, end).getBytes(StandardCharsets.UTF_8);
+        String truncated = new String(bytes, 0, Math.min(bytes.length, maxBodyBytes), StandardCharsets.UTF_8);
+        if(bytes.length > maxBodyBytes && !truncated.isEmpty() &&
+                truncated.charAt(truncated.length() - 1) == REPLACEMENT_CHARACTER){
+            truncated = truncated.substring(0, truncated.length() - 1);
+        }
+        final long removed = length - truncated.getBytes(StandardCharsets.UTF_8).length;
+        return truncated + "...[truncated " + removed + " bytes]";
+    }
+
+    /**
+     * Count the number of bytes of a body when it is encoded with UTF-8, without encoding it.
+     * @param body The body.
+     * @return The number of bytes of the encoded body.
+     */
+    private static long getEncodedLength(final String body){
+        long length = 0;
+        for(int index = 0; index < body.length(); index++){
+            final char character = body.charAt(index);
+            if(character < 0x80){
+                length += 1;
+            } else if(character < 0x800){
+                length += 2;
+            } else if(Character.isHighSurrogate(character) && index + 1 < body.length() &&
+                    Character.isLowSurrogate(body.charAt(index + 1))){
+                length += 4;
+                index++;
+            } else if(Character.isSurrogate(character)){
+                // A lone surrogate is replaced with a question mark
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Merge two policies. The values of the primary policy take precedence, and values that have
+     * not been configured in the primary policy are taken from the fallback policy.
+     * @param primary The primary policy, such as the policy of a method or operation.
+     * @param fallback The fallback policy, such as the policy of a project.
+     * @return A new policy that contains the merged values.
+     */
+    public static EventPolicy merge(final EventPolicy primary, final EventPolicy fallback){
+        final EventPolicy merged = fallback == null ? new EventPolicy() : new EventPolicy(fallback);
+        if(primary != null){
+            if(primary.sampleRate != null){
+                merged.sampleRate = primary.sampleRate;
+            }
+            if(primary.maxBodyBytes != null){
+                merged.maxBodyBytes = primary.maxBodyBytes;
+            }
+            if(primary.headersOnly != null){
+                merged.headersOnly = primary.headersOnly;
+            }
+            if(primary.errorsOnly != null){
+                merged.errorsOnly = primary.errorsOnly;
+            }
+        }
+        return merged;
+    }
+}
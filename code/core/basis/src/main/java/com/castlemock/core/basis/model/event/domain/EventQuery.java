@@ -0,0 +1,222 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.event.domain;
+
+import java.util.Date;
+
+/**
+ * The event query is used to retrieve a page of event summaries. All the filters are
+ * optional, and an event has to match all the provided filters in order to be a part of the result.
+ * The events are returned with the newest event first.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see EventSummary
+ * @see EventCursor
+ */
+public final class EventQuery {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 1000;
+
+    private final String type;
+    private final String projectId;
+    private final String applicationId;
+    private final String operationId;
+    private final Date from;
+    private final Date to;
+    private final Integer statusCode;
+    private final EventCursor cursor;
+    private final int limit;
+
+    private EventQuery(final Builder builder) {
+        this.type = builder.type;
+        this.projectId = builder.projectId;
+        this.applicationId = builder.applicationId;
+        this.operationId = builder.operationId;
+        this.from = builder.from;
+        this.to = builder.to;
+        this.statusCode = builder.statusCode;
+        this.cursor = builder.cursor;
+        this.limit = builder.limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(builder.limit, MAX_LIMIT));
+    }
+
+    /**
+     * The type of the events, such as rest or soap.
+     * @return The type of the events, or <code>null</code> if all the types should be included.
+     */
+    public String getType() {
+        return type;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public String getOperationId() {
+        return operationId;
+    }
+
+    /**
+     * The earliest start date of the events (inclusive).
+     * @return The earliest start date.
+     */
+    public Date getFrom() {
+        return from;
+    }
+
+    /**
+     * The latest start date of the events (inclusive).
+     * @return The latest start date.
+     */
+    public Date getTo() {
+        return to;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * The cursor of the last event of the previous page.
+     * @return The cursor, or <code>null</code> if the first page should be retrieved.
+     */
+    public EventCursor getCursor() {
+        return cursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Check if an event summary matches all the filters of the query, including the cursor.
+     * @param summary The summary that will be checked.
+     * @return <code>true</code> if the summary matches the query.
+     */
+    public boolean matches(final EventSummary summary){
+        return matches(projectId, summary.getProjectId()) &&
+                matches(applicationId, summary.getApplicationId()) &&
+                matches(operationId, summary.getOperationId()) &&
+                (statusCode == null || statusCode.equals(summary.getStatusCode())) &&
+                (from == null || (summary.getStartDate() != null && !summary.getStartDate().before(from))) &&
+                (to == null || (summary.getStartDate() != null && !summary.getStartDate().after(to))) &&
+                (cursor == null || cursor.compareTo(EventCursor.of(summary)) < 0);
+    }
+
+    /**
+     * Create a copy of the query with a new cursor.
+     * @param cursor The new cursor.
+     * @return A copy of the query with the provided cursor.
+     */
+    public EventQuery withCursor(final EventCursor cursor){
+        return builder()
+                .type(type)
+                .projectId(projectId)
+                .applicationId(applicationId)
+                .operationId(operationId)
+                .from(from)
+                .to(to)
+                .statusCode(statusCode)
+                .cursor(cursor)
+                .limit(limit)
+                .build();
+    }
+
+    private static boolean matches(final String expected, final String actual){
+        return expected == null || expected.equals(actual);
+    }
+
+    public static Builder builder(){
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private String type;
+        private String projectId;
+        private String applicationId;
+        private String operationId;
+        private Date from;
+        private Date to;
+        private Integer statusCode;
+        private EventCursor cursor;
+        private Integer limit;
+
+        public Builder type(final String type){
+            this.type = emptyToNull(type);
+            return this;
+        }
+
+        public Builder projectId(final String projectId){
+            this.projectId = emptyToNull(projectId);
+            return this;
+        }
+
+        public Builder applicationId(final String applicationId){
+            this.applicationId = emptyToNull(applicationId);
+            return this;
+        }
+
+        public Builder operationId(final String operationId){
+            this.operationId = emptyToNull(operationId);
+            return this;
+        }
+
+        public Builder from(final Date from){
+            this.from = from;
+            return this;
+        }
+
+        public Builder to(final Date to){
+            this.to = to;
+            return this;
+        }
+
+        public Builder statusCode(final Integer statusCode){
+            this.statusCode = statusCode;
+            return this;
+        }
+
+        public Builder cursor(final EventCursor cursor){
+            this.cursor = cursor;
+            return this;
+        }
+
+        public Builder cursor(final String cursor){
+            this.cursor = cursor == null || cursor.isEmpty() ? null : EventCursor.parse(cursor);
+            return this;
+        }
+
+        public Builder limit(final Integer limit){
+            this.limit = limit;
+            return this;
+        }
+
+        public EventQuery build(){
+            return new EventQuery(this);
+        }
+
+        private static String emptyToNull(final String value){
+            return value == null || value.isEmpty() ? null : value;
+        }
+    }
+}
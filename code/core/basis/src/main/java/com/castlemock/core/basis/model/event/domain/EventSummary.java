@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.event.domain;
+
+import com.castlemock.core.basis.model.TypeIdentifier;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.Date;
+
+/**
+ * The event summary is a lightweight representation of an event. It contains the information
+ * that is required to list and filter events, but neither the request nor the response. The full
+ * event has to be retrieved in order to access the bodies.
+ * <p>
+ * The ids that the event belongs to differ between the protocols:
+ * <ul>
+ *   <li>REST: The application id, the resource id and the method id as the operation id</li>
+ *   <li>SOAP: The port id as the application id and the operation id</li>
+ *   <li>GraphQL: The application id</li>
+ * </ul>
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see Event
+ */
+@XmlRootElement
+public class EventSummary {
+
+    private String id;
+    private String resourceName;
+    private String resourceLink;
+    private TypeIdentifier typeIdentifier;
+    private String projectId;
+    private String applicationId;
+    private String resourceId;
+    private String operationId;
+    private Date startDate;
+    private Date endDate;
+    private Integer statusCode;
+    private String mockResponseName;
+
+    @XmlElement
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @XmlElement
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public void setResourceName(String resourceName) {
+        this.resourceName = resourceName;
+    }
+
+    @XmlElement
+    public String getResourceLink() {
+        return resourceLink;
+    }
+
+    public void setResourceLink(String resourceLink) {
+        this.resourceLink = resourceLink;
+    }
+
+    @XmlElement
+    public TypeIdentifier getTypeIdentifier() {
+        return typeIdentifier;
+    }
+
+    public void setTypeIdentifier(TypeIdentifier typeIdentifier) {
+        this.typeIdentifier = typeIdentifier;
+    }
+
+    @XmlElement
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    @XmlElement
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    @XmlElement
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(String resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    @XmlElement
+    public String getOperationId() {
+        return operationId;
+    }
+
+    public void setOperationId(String operationId) {
+        this.operationId = operationId;
+    }
+
+    @XmlElement
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    @XmlElement
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+
+    @XmlElement
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(Integer statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    @XmlElement
+    public String getMockResponseName() {
+        return mockResponseName;
+    }
+
+    public void setMockResponseName(String mockResponseName) {
+        this.mockResponseName = mockResponseName;
+    }
+}
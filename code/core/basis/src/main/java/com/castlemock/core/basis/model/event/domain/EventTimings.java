@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.event.domain;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * The event timings contain the time that was spent in each {@link EventPhase}
+ * while processing an incoming mock request. All the times are in nanoseconds and
+ * are stored in a single array that is indexed by the phase.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@XmlRootElement
+public class EventTimings {
+
+    private static final EventPhase[] PHASES = EventPhase.values();
+
+    private final long[] times = new long[PHASES.length];
+
+    public EventTimings(){
+        // Empty constructor
+    }
+
+    /**
+     * Add time that was spent in a phase. The time will be added to any time that
+     * has already been spent in the same phase.
+     * @param phase The phase that the time was spent in.
+     * @param time The time in nanoseconds.
+     */
+    public void add(final EventPhase phase, final long time){
+        this.times[phase.ordinal()] += time;
+    }
+
+    /**
+     * Get the time that was spent in a phase.
+     * @param phase The phase.
+     * @return The time in nanoseconds.
+     */
+    public long get(final EventPhase phase){
+        return this.times[phase.ordinal()];
+    }
+
+    @XmlElement
+    public long getReadTime() {
+        return get(EventPhase.READ);
+    }
+
+    public void setReadTime(long readTime) {
+        this.times[EventPhase.READ.ordinal()] = readTime;
+    }
+
+    @XmlElement
+    public long getIdentifyTime() {
+        return get(EventPhase.IDENTIFY);
+    }
+
+    public void setIdentifyTime(long identifyTime) {
+        this.times[EventPhase.IDENTIFY.ordinal()] = identifyTime;
+    }
+
+    @XmlElement
+    public long getSelectTime() {
+        return get(EventPhase.SELECT);
+    }
+
+    public void setSelectTime(long selectTime) {
+        this.times[EventPhase.SELECT.ordinal()] = selectTime;
+    }
+
+    @XmlElement
+    public long getRenderTime() {
+        return get(EventPhase.RENDER);
+    }
+
+    public void setRenderTime(long renderTime) {
+        this.times[EventPhase.RENDER.ordinal()] = renderTime;
+    }
+
+    @XmlElement
+    public long getForwardTime() {
+        return get(EventPhase.FORWARD);
+    }
+
+    public void setForwardTime(long forwardTime) {
+        this.times[EventPhase.FORWARD.ordinal()] = forwardTime;
+    }
+
+    @XmlElement
+    public long getDelayTime() {
+        return get(EventPhase.DELAY);
+    }
+
+    public void setDelayTime(long delayTime) {
+        this.times[EventPhase.DELAY.ordinal()] = delayTime;
+    }
+
+    @XmlElement
+    public long getWriteTime() {
+        return get(EventPhase.WRITE);
+    }
+
+    public void setWriteTime(long writeTime) {
+        this.times[EventPhase.WRITE.ordinal()] = writeTime;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.job.domain;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.Date;
+
+/**
+ * A {@link Job} is a snapshot of a long running task that is executed in the background.
+ * It is used to report the progress and the outcome of the task to the user.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see JobStatus
+ */
+@XmlRootElement
+public class Job {
+
+    private String id;
+    private String name;
+    private JobStatus status;
+    private int totalSteps;
+    private int completedSteps;
+    private String message;
+    private Date created;
+    private Date started;
+    private Date finished;
+
+    @XmlElement
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @XmlElement
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @XmlElement
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    @XmlElement
+    public int getTotalSteps() {
+        return totalSteps;
+    }
+
+    public void setTotalSteps(int totalSteps) {
+        this.totalSteps = totalSteps;
+    }
+
+    @XmlElement
+    public int getCompletedSteps() {
+        return completedSteps;
+    }
+
+    public void setCompletedSteps(int completedSteps) {
+        this.completedSteps = completedSteps;
+    }
+
+    @XmlElement
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @XmlElement
+    public Date getCreated() {
+        return created;
+    }
+
+    public void setCreated(Date created) {
+        this.created = created;
+    }
+
+    @XmlElement
+    public Date getStarted() {
+        return started;
+    }
+
+    public void setStarted(Date started) {
+        this.started = started;
+    }
+
+    @XmlElement
+    public Date getFinished() {
+        return finished;
+    }
+
+    public void setFinished(Date finished) {
+        this.finished = finished;
+    }
+
+    /**
+     * Get how large part of the job that has been completed.
+     * @return The completed part of the job in percent, between 0 and 100.
+     */
+    public int getPercentage() {
+        if(status == JobStatus.COMPLETED){
+            return 100;
+        }
+        if(totalSteps <= 0){
+            return 0;
+        }
+        return (int) Math.min(100, (completedSteps * 100L) / totalSteps);
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.job.domain;
+
+/**
+ * The {@link JobProgress} is used by a running {@link Job} to report how far it has come.
+ * The progress is measured in steps, and what a step is depends on the job.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public interface JobProgress {
+
+    /**
+     * A progress that ignores all reports. It is used when work that is
+     * able to report progress is not run as a job.
+     */
+    JobProgress NONE = new JobProgress() {
+        @Override
+        public void addTotal(final int steps) {
+        }
+
+        @Override
+        public void complete(final int steps) {
+        }
+
+        @Override
+        public void setMessage(final String message) {
+        }
+    };
+
+    /**
+     * Add steps to the total number of steps of the job.
+     * @param steps The number of steps that will be added.
+     */
+    void addTotal(int steps);
+
+    /**
+     * Mark a number of steps as completed.
+     * @param steps The number of steps that have been completed.
+     */
+    void complete(int steps);
+
+    /**
+     * Set a message that describes what the job is currently doing.
+     * @param message The message.
+     */
+    void setMessage(String message);
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.job.domain;
+
+/**
+ * The status of a {@link Job}.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public enum JobStatus {
+
+    QUEUED, RUNNING, COMPLETED, FAILED;
+
+    /**
+     * Check if a job with the status has finished, either successfully or not.
+     * @return True if the status is either {@link #COMPLETED} or {@link #FAILED}.
+     */
+    public boolean isFinished(){
+        return this == COMPLETED || this == FAILED;
+    }
+
+}
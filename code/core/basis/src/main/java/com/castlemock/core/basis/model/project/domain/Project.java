@@ -18,6 +18,7 @@ package com.castlemock.core.basis.model.project.domain;
 
 import com.castlemock.core.basis.model.TypeIdentifiable;
 import com.castlemock.core.basis.model.TypeIdentifier;
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
 
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -38,6 +39,7 @@ public class Project implements TypeIdentifiable {
     private Date updated;
     private Date created;
     private String description;
+    private EventPolicy eventPolicy;
 
     private TypeIdentifier typeIdentifier;
 
@@ -58,6 +60,7 @@ public class Project implements TypeIdentifiable {
         this.updated = projectDto.getUpdated();
         this.created = projectDto.getCreated();
         this.description = projectDto.getDescription();
+        this.eventPolicy = projectDto.getEventPolicy();
     }
 
     @XmlElement
@@ -105,6 +108,15 @@ public class Project implements TypeIdentifiable {
         this.description = description;
     }
 
+    @XmlElement
+    public EventPolicy getEventPolicy() {
+        return eventPolicy;
+    }
+
+    public void setEventPolicy(EventPolicy eventPolicy) {
+        this.eventPolicy = eventPolicy;
+    }
+
     @Override
     @XmlTransient
     public TypeIdentifier getTypeIdentifier() {
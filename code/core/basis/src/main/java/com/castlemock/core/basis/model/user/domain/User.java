@@ -36,6 +36,7 @@ public class User {
     private Date created;
     private Status status;
     private Role role;
+    private String apiTokenHash;
 
     /**
      * Get the user id
@@ -173,6 +174,26 @@ public class User {
         this.role = role;
     }
 
+    /**
+     * Get the hash of the user API token. Only the hash of the API token is stored,
+     * which means that the API token itself cannot be retrieved once it has been created.
+     * @return The SHA-256 hash of the API token, or <code>null</code> if the user has no API token
+     * @since 1.38
+     */
+    @XmlElement
+    public String getApiTokenHash() {
+        return apiTokenHash;
+    }
+
+    /**
+     * Set a new API token hash for the user
+     * @param apiTokenHash The SHA-256 hash of the new API token
+     * @since 1.38
+     */
+    public void setApiTokenHash(String apiTokenHash) {
+        this.apiTokenHash = apiTokenHash;
+    }
+
     /**
      * Compare the user with another user
      * @param o The compared object
@@ -18,6 +18,10 @@ package com.castlemock.core.basis.service.event;
 
 import com.castlemock.core.basis.model.ServiceAdapter;
 import com.castlemock.core.basis.model.event.domain.Event;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
+
+import java.util.List;
 
 /**
  * The event service adapter provides the functionality to translate incoming
@@ -38,6 +42,14 @@ public interface EventServiceAdapter<D extends Event> extends ServiceAdapter<Eve
      */
     String generateResourceLink(D event);
 
+    /**
+     * The method retrieves a page of event summaries that match the provided query. The
+     * type identifier and the resource link will be set for each summary.
+     * @param query The query that the events have to match.
+     * @return A list of event summaries, with the newest event first.
+     * @since 1.38
+     */
+    List<EventSummary> readSummaries(EventQuery query);
 
     /**
      * The method will clear and remove all previous events.
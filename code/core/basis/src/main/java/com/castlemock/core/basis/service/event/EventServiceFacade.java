@@ -18,6 +18,8 @@ package com.castlemock.core.basis.service.event;
 
 import com.castlemock.core.basis.model.ServiceFacade;
 import com.castlemock.core.basis.model.event.domain.Event;
+import com.castlemock.core.basis.model.event.domain.EventPage;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
 
 /**
  * The Event service facade is used to assembly all the events service layers and interact with them
@@ -28,4 +30,14 @@ import com.castlemock.core.basis.model.event.domain.Event;
  * @see Event
  */
 public interface EventServiceFacade extends ServiceFacade<Event, String> {
+
+    /**
+     * The method retrieves a page of event summaries that match the provided query.
+     * The summaries do not contain the request and response bodies.
+     * @param query The query that the events have to match.
+     * @return A page of event summaries, with the newest event first.
+     * @since 1.38
+     */
+    EventPage find(EventQuery query);
+
 }
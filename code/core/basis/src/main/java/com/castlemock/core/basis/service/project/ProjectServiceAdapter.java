@@ -21,6 +21,11 @@ import com.castlemock.core.basis.model.SearchResult;
 import com.castlemock.core.basis.model.ServiceAdapter;
 import com.castlemock.core.basis.model.project.domain.Project;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -47,6 +52,44 @@ public interface ProjectServiceAdapter<D extends Project> extends ServiceAdapter
      */
     D importProject(String projectRaw);
 
+    /**
+     * The method provides the functionality to export a project and write it to an output stream.
+     * The default implementation exports the project as a String and writes it to the stream.
+     * Adapters that are able to export a project without holding it in memory should override it.
+     * @param id The id of the project that will be exported
+     * @param outputStream The output stream that the project will be written to
+     * @since 1.38
+     */
+    default void exportProject(final String id, final OutputStream outputStream) {
+        try {
+            outputStream.write(exportProject(id).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write the exported project", e);
+        }
+    }
+
+    /**
+     * The method provides the functionality to import a project from an input stream.
+     * The default implementation reads the whole stream and imports it as a String.
+     * Adapters that are able to import a project without holding it in memory should override it.
+     * @param inputStream The input stream that the project will be read from
+     * @return The imported project
+     * @since 1.38
+     */
+    default D importProject(final InputStream inputStream) {
+        try {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while((read = inputStream.read(buffer)) != -1){
+                outputStream.write(buffer, 0, read);
+            }
+            return importProject(new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the imported project", e);
+        }
+    }
+
     /**
      * Searches for resources that matches the provided query. The matching resources will
      * be returned as a collection of {@link SearchResult}
@@ -21,6 +21,8 @@ import com.castlemock.core.basis.model.SearchResult;
 import com.castlemock.core.basis.model.ServiceFacade;
 import com.castlemock.core.basis.model.project.domain.Project;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 
@@ -51,6 +53,26 @@ public interface ProjectServiceFacade extends ServiceFacade<Project, String> {
      */
     Project importProject(String type, String rawProject);
 
+    /**
+     * The method provides the functionality to export a project and write it to an output stream
+     * @param typeUrl The url for the specific type that the instance belongs to
+     * @param id The id of the project that will be exported
+     * @param outputStream The output stream that the project will be written to
+     * @param compress True if the project should be gzip compressed
+     * @since 1.38
+     */
+    void exportProject(String typeUrl, String id, OutputStream outputStream, boolean compress);
+
+    /**
+     * The method provides the functionality to import a project from an input stream.
+     * Gzip compressed projects are decompressed automatically.
+     * @param type The type value for the specific type that the instance belongs to
+     * @param inputStream The input stream that the project will be read from
+     * @return The imported project
+     * @since 1.38
+     */
+    Project importProject(String type, InputStream inputStream);
+
     /**
      * Searches for resources that matches the provided query. The matching resources will
      * be returned as a collection of {@link SearchResult}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.service.user.output;
+
+import com.castlemock.core.basis.model.Output;
+import com.castlemock.core.basis.model.user.domain.User;
+import com.castlemock.core.basis.service.user.input.ReadUserByApiTokenInput;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see ReadUserByApiTokenInput
+ */
+public final class ReadUserByApiTokenOutput implements Output {
+
+    private final User user;
+
+    public ReadUserByApiTokenOutput(final User user) {
+        this.user = user;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+}
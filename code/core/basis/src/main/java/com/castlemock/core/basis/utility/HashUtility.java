@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.core.basis.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The {@link HashUtility} provides functionality to calculate strong
+ * content hashes, which can be used to identify content by its value.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class HashUtility {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private HashUtility() {
+
+    }
+
+    /**
+     * Calculate the SHA-256 hash for the provided value.
+     * @param value The value that will be hashed. The value is encoded as UTF-8.
+     * @return The hash as a lower case hex string.
+     */
+    public static String hash(final String value) {
+        return hash(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Calculate the SHA-256 hash for the provided bytes.
+     * @param value The bytes that will be hashed.
+     * @return The hash as a lower case hex string.
+     */
+    public static String hash(final byte[] value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance(ALGORITHM).digest(value);
+            final char[] result = new char[digest.length * 2];
+            for(int index = 0; index < digest.length; index++){
+                result[index * 2] = HEX[(digest[index] >> 4) & 0xF];
+                result[index * 2 + 1] = HEX[digest[index] & 0xF];
+            }
+            return new String(result);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to find the hash algorithm " + ALGORITHM, e);
+        }
+    }
+}
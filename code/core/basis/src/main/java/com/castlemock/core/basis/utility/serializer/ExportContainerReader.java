@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.utility.serializer;
+
+import com.castlemock.core.basis.model.ExportContainer;
+import org.apache.log4j.Logger;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The {@link ExportContainerReader} reads an {@link ExportContainer} from an {@link InputStream}
+ * one entity at a time. It is the counterpart of {@link ExportContainerWriter} and can read
+ * both streamed and serialized containers. Every element is visited through {@link #next()}, and
+ * an entity element can be read with {@link #read(Class)}. Elements that are not read are
+ * descended into, which means that the entities of list elements are visited as well.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see ExportContainerWriter
+ */
+public final class ExportContainerReader implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(ExportContainerReader.class);
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int PEEK_LIMIT = 8192;
+
+    static {
+        INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final XMLStreamReader reader;
+    private final Unmarshaller unmarshaller;
+    private boolean positioned;
+
+    /**
+     * Creates a new reader. The provided input stream will not be closed
+     * when the reader is closed.
+     * @param inputStream The input stream that the container will be read from.
+     * @param containerType The type of container that will be read.
+     */
+    public ExportContainerReader(final InputStream inputStream,
+                                 final Class<? extends ExportContainer> containerType){
+        Objects.requireNonNull(inputStream, "The input stream cannot be null");
+        Objects.requireNonNull(containerType, "The container type cannot be null");
+        try {
+            this.reader = INPUT_FACTORY.createXMLStreamReader(inputStream);
+            this.unmarshaller = ExportContainerSerializer.getContext(containerType).createUnmarshaller();
+        } catch (XMLStreamException | JAXBException e) {
+            LOGGER.error("Unable to start the import", e);
+            throw new IllegalStateException("Unable to start the import");
+        }
+    }
+
+    /**
+     * Moves the reader to the next element.
+     * @return The name of the next element, or null if there are no more elements.
+     */
+    public String next(){
+        try {
+            int event = this.positioned ? this.reader.getEventType() : this.reader.next();
+            this.positioned = false;
+            while(event != XMLStreamConstants.START_ELEMENT){
+                if(event == XMLStreamConstants.END_DOCUMENT){
+                    return null;
+                }
+                event = this.reader.next();
+            }
+            return this.reader.getLocalName();
+        } catch (XMLStreamException e) {
+            LOGGER.error("Unable to read the import", e);
+            throw new IllegalArgumentException("Unable to read the import");
+        }
+    }
+
+    /**
+     * Reads the current element as an entity. The reader will be positioned
+     * after the entity once it has been read.
+     * @param type The type of the entity.
+     * @param <T> The type of the entity.
+     * @return The read entity.
+     */
+    public <T> T read(final Class<T> type){
+        try {
+            final T entity = this.unmarshaller.unmarshal(this.reader, type).getValue();
+            this.positioned = true;
+            return entity;
+        } catch (JAXBException e) {
+            LOGGER.error("Unable to read " + type.getSimpleName(), e);
+            throw new IllegalArgumentException("Unable to read " + type.getSimpleName());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.reader.close();
+        } catch (XMLStreamException e) {
+            LOGGER.warn("Unable to close the import reader", e);
+        }
+    }
+
+    /**
+     * Wraps the provided input stream in a {@link GZIPInputStream} if the
+     * stream is gzip compressed.
+     * @param inputStream The input stream that might be compressed.
+     * @return An uncompressed input stream that supports mark and reset.
+     * @throws IOException If the input stream could not be read.
+     */
+    public static InputStream decompress(final InputStream inputStream) throws IOException {
+        final InputStream buffered = buffer(inputStream);
+        buffered.mark(2);
+        final int first = buffered.read();
+        final int second = buffered.read();
+        buffered.reset();
+        if(first != -1 && second != -1 && ((second << 8) | first) == GZIP_MAGIC){
+            return new BufferedInputStream(new GZIPInputStream(buffered));
+        }
+        return buffered;
+    }
+
+    /**
+     * Get the name of the root element without consuming the provided input stream.
+     * @param inputStream The input stream. It has to support mark and reset.
+     * @return The name of the root element, or null if no root element was found.
+     */
+    public static String peekRootElementName(final InputStream inputStream){
+        if(!inputStream.markSupported()){
+            throw new IllegalArgumentException("The input stream has to support mark and reset");
+        }
+        inputStream.mark(PEEK_LIMIT);
+        XMLStreamReader peekReader = null;
+        try {
+            peekReader = INPUT_FACTORY.createXMLStreamReader(new LimitedInputStream(inputStream, PEEK_LIMIT));
+            while(peekReader.hasNext()){
+                if(peekReader.next() == XMLStreamConstants.START_ELEMENT){
+                    return peekReader.getLocalName();
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            LOGGER.debug("Unable to find the root element", e);
+            return null;
+        } finally {
+            if(peekReader != null){
+                try {
+                    peekReader.close();
+                } catch (XMLStreamException e) {
+                    LOGGER.debug("Unable to close the peek reader", e);
+                }
+            }
+            try {
+                inputStream.reset();
+            } catch (IOException e) {
+                LOGGER.error("Unable to reset the input stream", e);
+                throw new IllegalStateException("Unable to reset the input stream");
+            }
+        }
+    }
+
+    private static InputStream buffer(final InputStream inputStream){
+        return inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+    }
+
+    /**
+     * Input stream that stops after a fixed number of bytes, which
+     * prevents a peek from reading past the marked limit.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private int remaining;
+
+        private LimitedInputStream(final InputStream inputStream, final int limit){
+            super(inputStream);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if(this.remaining <= 0){
+                return -1;
+            }
+            final int read = super.read();
+            if(read != -1){
+                this.remaining--;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            if(this.remaining <= 0){
+                return -1;
+            }
+            final int read = super.read(buffer, offset, Math.min(length, this.remaining));
+            if(read != -1){
+                this.remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() {
+            // The underlying stream is reset and read again by the caller
+        }
+    }
+
+}
@@ -25,6 +25,8 @@ import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 import java.io.ByteArrayInputStream;
 import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The {@link ExportContainerSerializer} is a utility class that provides functionality to
@@ -36,6 +38,7 @@ import java.io.StringWriter;
 public final class ExportContainerSerializer {
 
     private static final Logger LOGGER = Logger.getLogger(ExportContainerSerializer.class);
+    private static final Map<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
 
     private ExportContainerSerializer(){
 
@@ -43,7 +46,7 @@ public final class ExportContainerSerializer {
 
     public static <T extends ExportContainer> String serialize(T exportContainer){
         try {
-            final JAXBContext context = JAXBContext.newInstance(exportContainer.getClass());
+            final JAXBContext context = getContext(exportContainer.getClass());
             final Marshaller marshaller = context.createMarshaller();
             final StringWriter writer = new StringWriter();
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
@@ -59,7 +62,7 @@ public final class ExportContainerSerializer {
                                                             final Class<? extends ExportContainer> clazz){
         try {
             final ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream (raw.getBytes());
-            final JAXBContext jaxbContext = JAXBContext.newInstance(clazz);
+            final JAXBContext jaxbContext = getContext(clazz);
             final Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
             return (T) jaxbUnmarshaller.unmarshal(byteArrayInputStream);
         } catch (JAXBException e) {
@@ -68,4 +71,22 @@ public final class ExportContainerSerializer {
         }
     }
 
+    /**
+     * Get the {@link JAXBContext} for a container type. A context is expensive to create
+     * but thread-safe, so one context is created per type and reused.
+     * @param clazz The container type.
+     * @return The context for the container type.
+     * @throws JAXBException If the context could not be created.
+     * @since 1.38
+     */
+    static JAXBContext getContext(final Class<?> clazz) throws JAXBException {
+        final JAXBContext context = CONTEXTS.get(clazz);
+        if(context != null){
+            return context;
+        }
+        final JAXBContext created = JAXBContext.newInstance(clazz);
+        final JAXBContext existing = CONTEXTS.putIfAbsent(clazz, created);
+        return existing != null ? existing : created;
+    }
+
 }
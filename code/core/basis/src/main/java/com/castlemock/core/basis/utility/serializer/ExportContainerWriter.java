@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.utility.serializer;
+
+import com.castlemock.core.basis.model.ExportContainer;
+import org.apache.log4j.Logger;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.beans.Introspector;
+import java.io.Closeable;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The {@link ExportContainerWriter} writes an {@link ExportContainer} to an {@link OutputStream}
+ * one entity at a time. Unlike {@link ExportContainerSerializer#serialize(ExportContainer)}, the
+ * container never has to be assembled in memory, which keeps the memory usage bounded when
+ * exporting large projects. The written document has the same format as a serialized container.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see ExportContainerReader
+ */
+public final class ExportContainerWriter implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(ExportContainerWriter.class);
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final XMLStreamWriter writer;
+    private final Marshaller marshaller;
+
+    /**
+     * Creates a new writer and writes the root element of the provided container type.
+     * The provided output stream will not be closed when the writer is closed.
+     * @param outputStream The output stream that the container will be written to.
+     * @param containerType The type of container that will be written.
+     */
+    public ExportContainerWriter(final OutputStream outputStream,
+                                 final Class<? extends ExportContainer> containerType){
+        Objects.requireNonNull(outputStream, "The output stream cannot be null");
+        Objects.requireNonNull(containerType, "The container type cannot be null");
+        try {
+            this.writer = OUTPUT_FACTORY.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name());
+            this.marshaller = ExportContainerSerializer.getContext(containerType).createMarshaller();
+            this.marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+            this.writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            this.writer.writeStartElement(getRootElementName(containerType));
+        } catch (XMLStreamException | JAXBException e) {
+            LOGGER.error("Unable to start the export", e);
+            throw new IllegalStateException("Unable to start the export");
+        }
+    }
+
+    /**
+     * Starts a list element. All entities written until {@link #endList()} is
+     * called will be part of the list.
+     * @param name The name of the list element.
+     */
+    public void startList(final String name){
+        try {
+            this.writer.writeStartElement(name);
+        } catch (XMLStreamException e) {
+            LOGGER.error("Unable to write " + name, e);
+            throw new IllegalStateException("Unable to write " + name);
+        }
+    }
+
+    /**
+     * Ends the last started list element.
+     */
+    public void endList(){
+        try {
+            this.writer.writeEndElement();
+        } catch (XMLStreamException e) {
+            LOGGER.error("Unable to end list", e);
+            throw new IllegalStateException("Unable to end list");
+        }
+    }
+
+    /**
+     * Writes a single entity.
+     * @param name The element name of the entity.
+     * @param type The type of the entity.
+     * @param entity The entity that will be written.
+     * @param <T> The type of the entity.
+     */
+    public <T> void write(final String name, final Class<T> type, final T entity){
+        try {
+            this.marshaller.marshal(new JAXBElement<>(new QName(name), type, entity), this.writer);
+        } catch (JAXBException e) {
+            LOGGER.error("Unable to write " + name, e);
+            throw new IllegalStateException("Unable to write " + name);
+        }
+    }
+
+    /**
+     * Ends the root element and flushes the written document.
+     */
+    @Override
+    public void close() {
+        try {
+            this.writer.writeEndDocument();
+            this.writer.flush();
+            this.writer.close();
+        } catch (XMLStreamException e) {
+            LOGGER.error("Unable to end the export", e);
+            throw new IllegalStateException("Unable to end the export");
+        }
+    }
+
+    /**
+     * Get the name of the root element for a container type. The name is
+     * identical to the one JAXB uses when the container is marshalled.
+     * @param containerType The container type.
+     * @return The name of the root element.
+     */
+    static String getRootElementName(final Class<? extends ExportContainer> containerType){
+        final XmlRootElement rootElement = containerType.getAnnotation(XmlRootElement.class);
+        if(rootElement != null && !"##default".equals(rootElement.name())){
+            return rootElement.name();
+        }
+        return Introspector.decapitalize(containerType.getSimpleName());
+    }
+
+}
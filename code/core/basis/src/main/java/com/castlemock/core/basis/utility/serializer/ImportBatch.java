@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.core.basis.utility.serializer;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The {@link ImportBatch} collects the entities that are read by an {@link ExportContainerReader}
+ * and persists them in batches, which means that an import does not have to hold all the entities
+ * of a project in memory and does not have to persist them one by one.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @param <T> The type of the entities.
+ */
+public final class ImportBatch<T> {
+
+    private final int size;
+    private final Consumer<List<T>> saver;
+    private final List<T> entities = new ArrayList<>();
+
+    /**
+     * Creates a new batch.
+     * @param size The number of entities that will be collected before they are persisted.
+     * @param saver The function that persists the entities.
+     */
+    public ImportBatch(final int size, final Consumer<List<T>> saver){
+        Preconditions.checkArgument(size > 0, "The batch size has to be positive");
+        this.size = size;
+        this.saver = Preconditions.checkNotNull(saver, "The saver cannot be null");
+    }
+
+    /**
+     * Add an entity to the batch. The batch is persisted once it is full.
+     * @param entity The entity that will be added.
+     */
+    public void add(final T entity){
+        entities.add(entity);
+        if(entities.size() >= size){
+            flush();
+        }
+    }
+
+    /**
+     * Persist and clear the batch.
+     */
+    public void flush(){
+        if(entities.isEmpty()){
+            return;
+        }
+        saver.accept(new ArrayList<>(entities));
+        entities.clear();
+    }
+
+}
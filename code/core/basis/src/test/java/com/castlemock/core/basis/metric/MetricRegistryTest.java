@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.core.basis.metric;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class MetricRegistryTest {
+
+    @Test
+    public void testTimer() throws IOException {
+        final Timer timer = MetricRegistry.timer("test_timer_seconds", "phase", "identify");
+        timer.record(TimeUnit.MILLISECONDS.toNanos(250));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(250));
+
+        Assert.assertSame(timer, MetricRegistry.timer("test_timer_seconds", "phase", "identify"));
+        Assert.assertNotSame(timer, MetricRegistry.timer("test_timer_seconds", "phase", "select"));
+        Assert.assertEquals(2, timer.getCount());
+
+        final String output = write();
+        Assert.assertTrue(output.contains("# TYPE test_timer_seconds summary\n"));
+        Assert.assertTrue(output.contains("test_timer_seconds_count{phase=\"identify\"} 2\n"));
+        Assert.assertTrue(output.contains("test_timer_seconds_sum{phase=\"identify\"} 0.5\n"));
+    }
+
+    @Test
+    public void testCounter() throws IOException {
+        final Counter counter = MetricRegistry.counter("test_counter_total");
+        counter.increment();
+        counter.increment(2);
+
+        Assert.assertEquals(3, counter.getCount());
+        Assert.assertTrue(write().contains("# TYPE test_counter_total counter\ntest_counter_total 3\n"));
+    }
+
+    @Test
+    public void testGauge() throws IOException {
+        MetricRegistry.gauge("test_gauge", () -> 7, "name", "quote\"");
+        Assert.assertTrue(write().contains("test_gauge{name=\"quote\\\"\"} 7\n"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTypeMismatch(){
+        MetricRegistry.counter("test_mismatch");
+        MetricRegistry.timer("test_mismatch");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTags(){
+        MetricRegistry.counter("test_invalid_tags", "key");
+    }
+
+    private static String write() throws IOException {
+        final StringWriter writer = new StringWriter();
+        MetricRegistry.write(writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.core.basis.model.event.domain;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EventPolicyTest {
+
+    @Test
+    public void defaultPolicy() {
+        final EventPolicy policy = new EventPolicy();
+        Assert.assertTrue(policy.sample());
+        Assert.assertTrue(policy.captures(200));
+        Assert.assertEquals("Body", policy.capture("Body"));
+    }
+
+    @Test
+    public void sample() {
+        final EventPolicy policy = new EventPolicy();
+        policy.setSampleRate(0.0);
+        for(int index = 0; index < 100; index++){
+            Assert.assertFalse(policy.sample());
+        }
+        policy.setSampleRate(1.0);
+        Assert.assertTrue(policy.sample());
+    }
+
+    @Test
+    public void errorsOnly() {
+        final EventPolicy policy = new EventPolicy();
+        policy.setErrorsOnly(true);
+        Assert.assertFalse(policy.captures(200));
+        Assert.assertFalse(policy.captures(302));
+        Assert.assertTrue(policy.captures(404));
+        Assert.assertTrue(policy.captures(500));
+        Assert.assertTrue(policy.captures(null));
+    }
+
+    @Test
+    public void headersOnly() {
+        final EventPolicy policy = new EventPolicy();
+        policy.setHeadersOnly(true);
+        Assert.assertNull(policy.capture("Body"));
+    }
+
+    @Test
+    public void truncate() {
+        final EventPolicy policy = new EventPolicy();
+        policy.setMaxBodyBytes(4);
+        Assert.assertEquals("Body", policy.capture("Body"));
+        Assert.assertEquals("Body...[truncated 6 bytes]", policy.capture("Body123456"));
+    }
+
+    @Test
+    public void truncateMultiByteCharacter() {
+        final EventPolicy policy = new EventPolicy();
+        policy.setMaxBodyBytes(2);
+        // The second character is two bytes long and can't be split
+        Assert.assertEquals("A...[truncated 3 bytes]", policy.capture("AåB"));
+    }
+
+    @Test
+    public void truncateSurrogatePair() {
+        final EventPolicy policy = new EventPolicy();
+        policy.setMaxBodyBytes(3);
+        // The emoji is a surrogate pair, which is four bytes long and can't be split
+        Assert.assertEquals("AB...[truncated 5 bytes]", policy.capture("AB\uD83D\uDE00C"));
+        policy.setMaxBodyBytes(6);
+        Assert.assertEquals("AB\uD83D\uDE00...[truncated 1 bytes]", policy.capture("AB\uD83D\uDE00C"));
+    }
+
+    @Test
+    public void truncateLargeBody() {
+        final EventPolicy policy = new EventPolicy();
+        policy.setMaxBodyBytes(4);
+        final StringBuilder body = new StringBuilder("Body");
+        for(int index = 0; index < 100000; index++){
+            body.append('å');
+        }
+        Assert.assertEquals("Body...[truncated 200000 bytes]", policy.capture(body.toString()));
+    }
+
+    @Test
+    public void merge() {
+        final EventPolicy project = new EventPolicy();
+        project.setSampleRate(0.5);
+        project.setMaxBodyBytes(100);
+        project.setErrorsOnly(true);
+        final EventPolicy method = new EventPolicy();
+        method.setMaxBodyBytes(10);
+        method.setHeadersOnly(false);
+
+        final EventPolicy merged = EventPolicy.merge(method, project);
+        Assert.assertEquals(Double.valueOf(0.5), merged.getSampleRate());
+        Assert.assertEquals(Integer.valueOf(10), merged.getMaxBodyBytes());
+        Assert.assertEquals(Boolean.FALSE, merged.getHeadersOnly());
+        Assert.assertEquals(Boolean.TRUE, merged.getErrorsOnly());
+        Assert.assertEquals(Integer.valueOf(100), project.getMaxBodyBytes());
+
+        Assert.assertNotNull(EventPolicy.merge(null, null));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.event.domain;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+public class EventQueryTest {
+
+    @Test
+    public void parseCursor() {
+        final EventCursor cursor = EventCursor.parse("1000-abc-def");
+        Assert.assertEquals(1000L, cursor.getStartTime());
+        Assert.assertEquals("abc-def", cursor.getId());
+        Assert.assertEquals("1000-abc-def", cursor.toString());
+        Assert.assertEquals(cursor, EventCursor.parse(cursor.toString()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseInvalidCursor() {
+        EventCursor.parse("invalid");
+    }
+
+    @Test
+    public void newestFirst() {
+        final EventSummary oldest = summary("A", 1000L);
+        final EventSummary newest = summary("B", 3000L);
+        final EventSummary sameTimeLowId = summary("C", 2000L);
+        final EventSummary sameTimeHighId = summary("D", 2000L);
+        final List<EventSummary> summaries = new ArrayList<EventSummary>(
+                Arrays.asList(oldest, sameTimeLowId, newest, sameTimeHighId));
+        summaries.sort(EventCursor.NEWEST_FIRST);
+        Assert.assertEquals(Arrays.asList(newest, sameTimeHighId, sameTimeLowId, oldest), summaries);
+    }
+
+    @Test
+    public void matchesCursor() {
+        final EventQuery query = EventQuery.builder()
+                .cursor(EventCursor.of(summary("C", 2000L)))
+                .build();
+        Assert.assertFalse(query.matches(summary("D", 2000L)));
+        Assert.assertFalse(query.matches(summary("C", 2000L)));
+        Assert.assertTrue(query.matches(summary("B", 2000L)));
+        Assert.assertTrue(query.matches(summary("A", 1000L)));
+        Assert.assertFalse(query.matches(summary("E", 3000L)));
+    }
+
+    @Test
+    public void matchesFilters() {
+        final EventQuery query = EventQuery.builder()
+                .projectId("PROJECT")
+                .applicationId("")
+                .statusCode(500)
+                .from(new Date(1000L))
+                .to(new Date(2000L))
+                .build();
+        Assert.assertNull(query.getApplicationId());
+        final EventSummary summary = summary("A", 1500L);
+        summary.setProjectId("PROJECT");
+        summary.setStatusCode(500);
+        Assert.assertTrue(query.matches(summary));
+        summary.setStatusCode(200);
+        Assert.assertFalse(query.matches(summary));
+        summary.setStatusCode(500);
+        summary.setStartDate(new Date(2500L));
+        Assert.assertFalse(query.matches(summary));
+    }
+
+    @Test
+    public void limit() {
+        Assert.assertEquals(EventQuery.DEFAULT_LIMIT, EventQuery.builder().build().getLimit());
+        Assert.assertEquals(1, EventQuery.builder().limit(0).build().getLimit());
+        Assert.assertEquals(EventQuery.MAX_LIMIT, EventQuery.builder().limit(Integer.MAX_VALUE).build().getLimit());
+    }
+
+    private static EventSummary summary(final String id, final long startTime){
+        final EventSummary summary = new EventSummary();
+        summary.setId(id);
+        summary.setStartDate(new Date(startTime));
+        return summary;
+    }
+}
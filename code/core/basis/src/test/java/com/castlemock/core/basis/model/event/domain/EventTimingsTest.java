@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.model.event.domain;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EventTimingsTest {
+
+    @Test
+    public void add() {
+        final EventTimings timings = new EventTimings();
+        timings.add(EventPhase.SELECT, 100L);
+        timings.add(EventPhase.SELECT, 50L);
+        Assert.assertEquals(150L, timings.get(EventPhase.SELECT));
+        Assert.assertEquals(150L, timings.getSelectTime());
+        Assert.assertEquals(0L, timings.getRenderTime());
+    }
+
+    @Test
+    public void setReadTime() {
+        final EventTimings timings = new EventTimings();
+        timings.setReadTime(10L);
+        Assert.assertEquals(10L, timings.getReadTime());
+        Assert.assertEquals(10L, timings.get(EventPhase.READ));
+    }
+
+    @Test
+    public void setForwardTime() {
+        final EventTimings timings = new EventTimings();
+        timings.setForwardTime(20L);
+        Assert.assertEquals(20L, timings.getForwardTime());
+        Assert.assertEquals(20L, timings.get(EventPhase.FORWARD));
+    }
+
+    @Test
+    public void setWriteTime() {
+        final EventTimings timings = new EventTimings();
+        timings.setWriteTime(30L);
+        Assert.assertEquals(30L, timings.getWriteTime());
+        Assert.assertEquals(30L, timings.get(EventPhase.WRITE));
+    }
+
+    @Test
+    public void copyEvent() {
+        final EventTimings timings = new EventTimings();
+        final Event event = new Event("Resource");
+        event.setTimings(timings);
+        Assert.assertSame(timings, new Event(event).getTimings());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.basis.utility.serializer;
+
+import com.castlemock.core.basis.model.ExportContainer;
+import com.castlemock.core.basis.model.http.domain.HttpHeader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlElementWrapper;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+public class ExportContainerReaderTest {
+
+    @Test
+    public void testWriteAndDeserialize() {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try(ExportContainerWriter writer = new ExportContainerWriter(outputStream, HeaderContainer.class)){
+            writer.write("header", HttpHeader.class, header("Name", "Value"));
+            writer.startList("headers");
+            writer.write("header", HttpHeader.class, header("First", "1"));
+            writer.write("header", HttpHeader.class, header("Second", "2"));
+            writer.endList();
+        }
+
+        final String written = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        final HeaderContainer container = ExportContainerSerializer.deserialize(written, HeaderContainer.class);
+        Assert.assertEquals("Name", container.getHeader().getName());
+        Assert.assertEquals(2, container.getHeaders().size());
+        Assert.assertEquals("First", container.getHeaders().get(0).getName());
+        Assert.assertEquals("2", container.getHeaders().get(1).getValue());
+    }
+
+    @Test
+    public void testSerializeAndRead() {
+        final HeaderContainer container = new HeaderContainer();
+        container.setHeader(header("Name", "Value"));
+        container.setHeaders(Arrays.asList(header("First", "1"), header("Second", "2")));
+        final String serialized = ExportContainerSerializer.serialize(container);
+
+        final List<String> elements = new ArrayList<>();
+        final List<HttpHeader> headers = new ArrayList<>();
+        try(ExportContainerReader reader = new ExportContainerReader(
+                new ByteArrayInputStream(serialized.getBytes(StandardCharsets.UTF_8)), HeaderContainer.class)){
+            String element;
+            while((element = reader.next()) != null){
+                elements.add(element);
+                if("header".equals(element)){
+                    headers.add(reader.read(HttpHeader.class));
+                }
+            }
+        }
+
+        Assert.assertEquals(Arrays.asList("headerContainer", "header", "headers", "header", "header"), elements);
+        Assert.assertEquals(3, headers.size());
+        Assert.assertEquals("Name", headers.get(0).getName());
+        Assert.assertEquals("Second", headers.get(2).getName());
+    }
+
+    @Test
+    public void testDecompress() throws IOException {
+        final byte[] raw = "<headerContainer/>".getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try(GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)){
+            gzipOutputStream.write(raw);
+        }
+
+        final InputStream compressed = ExportContainerReader.decompress(new ByteArrayInputStream(outputStream.toByteArray()));
+        Assert.assertEquals("headerContainer", ExportContainerReader.peekRootElementName(compressed));
+        final InputStream uncompressed = ExportContainerReader.decompress(new ByteArrayInputStream(raw));
+        Assert.assertEquals("headerContainer", ExportContainerReader.peekRootElementName(uncompressed));
+        Assert.assertEquals('<', uncompressed.read());
+    }
+
+    private static HttpHeader header(final String name, final String value){
+        final HttpHeader header = new HttpHeader();
+        header.setName(name);
+        header.setValue(value);
+        return header;
+    }
+
+    @XmlRootElement
+    public static class HeaderContainer extends ExportContainer {
+
+        private HttpHeader header;
+        private List<HttpHeader> headers;
+
+        @XmlElement
+        public HttpHeader getHeader() {
+            return header;
+        }
+
+        public void setHeader(HttpHeader header) {
+            this.header = header;
+        }
+
+        @XmlElementWrapper(name = "headers")
+        @XmlElement(name = "header")
+        public List<HttpHeader> getHeaders() {
+            return headers;
+        }
+
+        public void setHeaders(List<HttpHeader> headers) {
+            this.headers = headers;
+        }
+    }
+
+}
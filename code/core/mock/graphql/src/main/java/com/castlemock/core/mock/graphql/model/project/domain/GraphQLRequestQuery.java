@@ -31,6 +31,7 @@ public class GraphQLRequestQuery {
 
     private String id;
     private String operationName;
+    private GraphQLOperationType operationType;
     private List<GraphQLRequestField> fields = new CopyOnWriteArrayList<GraphQLRequestField>();
     private List<GraphQLRequestArgument> arguments = new CopyOnWriteArrayList<GraphQLRequestArgument>();
 
@@ -52,6 +53,15 @@ public class GraphQLRequestQuery {
         this.operationName = operationName;
     }
 
+    @XmlElement
+    public GraphQLOperationType getOperationType() {
+        return operationType;
+    }
+
+    public void setOperationType(GraphQLOperationType operationType) {
+        this.operationType = operationType;
+    }
+
     @XmlElementWrapper(name = "fields")
     @XmlElement(name = "field")
     public List<GraphQLRequestField> getFields() {
@@ -19,6 +19,8 @@ package com.castlemock.core.mock.graphql.service.project.input;
 import com.castlemock.core.basis.model.Input;
 import com.castlemock.core.basis.model.validation.NotNull;
 
+import java.io.OutputStream;
+
 /**
  * @author Karl Dahlgren
  * @since 1.19
@@ -27,13 +29,34 @@ public final class ExportGraphQLProjectInput implements Input {
 
     @NotNull
     private final String graphQLProjectId;
+    private final OutputStream outputStream;
 
     public ExportGraphQLProjectInput(String graphQLProjectId) {
+        this(graphQLProjectId, null);
+    }
+
+    /**
+     * Creates an input that exports a project to an output stream.
+     * @param graphQLProjectId The id of the project that will be exported.
+     * @param outputStream The output stream that the project will be written to.
+     * @since 1.38
+     */
+    public ExportGraphQLProjectInput(String graphQLProjectId, OutputStream outputStream) {
         this.graphQLProjectId = graphQLProjectId;
+        this.outputStream = outputStream;
     }
 
     public String getGraphQLProjectId() {
         return graphQLProjectId;
     }
 
+    /**
+     * Get the output stream that the project will be written to.
+     * @return The output stream, or null if the project should be returned as a String.
+     * @since 1.38
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
 }
@@ -17,7 +17,8 @@
 package com.castlemock.core.mock.graphql.service.project.input;
 
 import com.castlemock.core.basis.model.Input;
-import com.castlemock.core.basis.model.validation.NotNull;
+
+import java.io.InputStream;
 
 /**
  * @author Karl Dahlgren
@@ -25,15 +26,35 @@ import com.castlemock.core.basis.model.validation.NotNull;
  */
 public final class ImportGraphQLProjectInput implements Input {
 
-    @NotNull
     private final String projectRaw;
+    private final InputStream projectStream;
 
     public ImportGraphQLProjectInput(String projectRaw) {
         this.projectRaw = projectRaw;
+        this.projectStream = null;
+    }
+
+    /**
+     * Creates an input that imports a project from an input stream.
+     * @param projectStream The stream that the project will be read from.
+     * @since 1.38
+     */
+    public ImportGraphQLProjectInput(InputStream projectStream) {
+        this.projectRaw = null;
+        this.projectStream = projectStream;
     }
 
     public String getProjectRaw() {
         return projectRaw;
     }
 
+    /**
+     * Get the stream that the project will be read from.
+     * @return The project stream, or null if the project is provided as a String.
+     * @since 1.38
+     */
+    public InputStream getProjectStream() {
+        return projectStream;
+    }
+
 }
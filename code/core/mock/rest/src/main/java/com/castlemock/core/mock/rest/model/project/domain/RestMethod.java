@@ -16,6 +16,7 @@
 
 package com.castlemock.core.mock.rest.model.project.domain;
 
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
 
 import javax.xml.bind.annotation.XmlElement;
@@ -42,6 +43,7 @@ public class RestMethod {
     private Integer currentResponseSequenceIndex = 0;
     private boolean simulateNetworkDelay;
     private long networkDelay;
+    private EventPolicy eventPolicy;
     @Deprecated
     private String defaultQueryMockResponseId;
     private String defaultMockResponseId;
@@ -171,6 +173,15 @@ public class RestMethod {
         this.networkDelay = networkDelay;
     }
 
+    @XmlElement
+    public EventPolicy getEventPolicy() {
+        return eventPolicy;
+    }
+
+    public void setEventPolicy(EventPolicy eventPolicy) {
+        this.eventPolicy = eventPolicy;
+    }
+
     @XmlElement
     @Deprecated
     public String getDefaultQueryMockResponseId() {
@@ -19,6 +19,7 @@ package com.castlemock.core.mock.rest.service.project.input;
 import com.castlemock.core.basis.model.Input;
 import com.castlemock.core.basis.model.validation.NotNull;
 
+import java.io.OutputStream;
 import java.util.Objects;
 
 /**
@@ -29,15 +30,26 @@ public final class ExportRestProjectInput implements Input {
 
     @NotNull
     private final String restProjectId;
+    private final OutputStream outputStream;
 
     private ExportRestProjectInput(final Builder builder) {
         this.restProjectId = Objects.requireNonNull(builder.restProjectId);
+        this.outputStream = builder.outputStream;
     }
 
     public String getRestProjectId() {
         return restProjectId;
     }
 
+    /**
+     * Get the output stream that the project will be written to.
+     * @return The output stream, or null if the project should be returned as a String.
+     * @since 1.38
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
     public static Builder builder(){
         return new Builder();
     }
@@ -45,12 +57,18 @@ public final class ExportRestProjectInput implements Input {
     public static final class Builder {
 
         private String restProjectId;
+        private OutputStream outputStream;
 
         public Builder restProjectId(final String restProjectId){
             this.restProjectId = restProjectId;
             return this;
         }
 
+        public Builder outputStream(final OutputStream outputStream){
+            this.outputStream = outputStream;
+            return this;
+        }
+
         public ExportRestProjectInput build(){
             return new ExportRestProjectInput(this);
         }
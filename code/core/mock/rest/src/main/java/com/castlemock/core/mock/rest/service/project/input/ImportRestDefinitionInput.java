@@ -17,6 +17,7 @@
 package com.castlemock.core.mock.rest.service.project.input;
 
 import com.castlemock.core.basis.model.Input;
+import com.castlemock.core.basis.model.job.domain.JobProgress;
 import com.castlemock.core.basis.model.validation.NotNull;
 import com.castlemock.core.mock.rest.model.RestDefinitionType;
 
@@ -39,6 +40,7 @@ public final class ImportRestDefinitionInput implements Input {
 
     private final List<File> files;
     private final String location;
+    private final JobProgress progress;
 
     private ImportRestDefinitionInput(final Builder builder) {
         this.restProjectId = Objects.requireNonNull(builder.restProjectId);
@@ -46,6 +48,7 @@ public final class ImportRestDefinitionInput implements Input {
         this.location = builder.location;
         this.generateResponse = builder.generateResponse;
         this.definitionType = Objects.requireNonNull(builder.definitionType);
+        this.progress = builder.progress != null ? builder.progress : JobProgress.NONE;
     }
 
     public String getRestProjectId() {
@@ -68,6 +71,15 @@ public final class ImportRestDefinitionInput implements Input {
         return definitionType;
     }
 
+    /**
+     * Get the progress that the import will be reported to.
+     * @return The progress of the import. {@link JobProgress#NONE} if the import is not run as a job.
+     * @since 1.38
+     */
+    public JobProgress getProgress() {
+        return progress;
+    }
+
     public static Builder builder(){
         return new Builder();
     }
@@ -79,6 +91,7 @@ public final class ImportRestDefinitionInput implements Input {
         private RestDefinitionType definitionType;
         private List<File> files;
         private String location;
+        private JobProgress progress;
 
         public Builder restProjectId(final String restProjectId){
             this.restProjectId = restProjectId;
@@ -105,6 +118,11 @@ public final class ImportRestDefinitionInput implements Input {
             return this;
         }
 
+        public Builder progress(final JobProgress progress){
+            this.progress = progress;
+            return this;
+        }
+
         public ImportRestDefinitionInput build(){
             return new ImportRestDefinitionInput(this);
         }
@@ -17,9 +17,8 @@
 package com.castlemock.core.mock.rest.service.project.input;
 
 import com.castlemock.core.basis.model.Input;
-import com.castlemock.core.basis.model.validation.NotNull;
 
-import java.util.Objects;
+import java.io.InputStream;
 
 /**
  * @author Karl Dahlgren
@@ -27,17 +26,30 @@ import java.util.Objects;
  */
 public final class ImportRestProjectInput implements Input {
 
-    @NotNull
     private final String projectRaw;
+    private final InputStream projectStream;
 
     private ImportRestProjectInput(final Builder builder) {
-        this.projectRaw = Objects.requireNonNull(builder.projectRaw);
+        if(builder.projectRaw == null && builder.projectStream == null){
+            throw new IllegalArgumentException("Either the raw project or the project stream has to be provided");
+        }
+        this.projectRaw = builder.projectRaw;
+        this.projectStream = builder.projectStream;
     }
 
     public String getProjectRaw() {
         return projectRaw;
     }
 
+    /**
+     * Get the stream that the project will be read from.
+     * @return The project stream, or null if the project is provided as a String.
+     * @since 1.38
+     */
+    public InputStream getProjectStream() {
+        return projectStream;
+    }
+
     public static Builder builder(){
         return new Builder();
     }
@@ -45,12 +57,18 @@ public final class ImportRestProjectInput implements Input {
     public static final class Builder {
 
         private String projectRaw;
+        private InputStream projectStream;
 
         public Builder projectRaw(final String projectRaw){
             this.projectRaw = projectRaw;
             return this;
         }
 
+        public Builder projectStream(final InputStream projectStream){
+            this.projectStream = projectStream;
+            return this;
+        }
+
         public ImportRestProjectInput build(){
             return new ImportRestProjectInput(this);
         }
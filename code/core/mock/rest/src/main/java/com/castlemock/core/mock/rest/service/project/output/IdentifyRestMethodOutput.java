@@ -17,6 +17,7 @@
 package com.castlemock.core.mock.rest.service.project.output;
 
 import com.castlemock.core.basis.model.Output;
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
 import com.castlemock.core.basis.model.validation.NotNull;
 import com.castlemock.core.mock.rest.model.project.domain.RestMethod;
 
@@ -46,15 +47,20 @@ public final class IdentifyRestMethodOutput implements Output{
     @NotNull
     private final Map<String, String> pathParameters;
 
+    @NotNull
+    private final EventPolicy eventPolicy;
+
     private IdentifyRestMethodOutput(final String restProjectId, final String restApplicationId,
                                     final String restResourceId, final String restMethodId,
-                                    final RestMethod restMethod, final Map<String, String> pathParameters) {
+                                    final RestMethod restMethod, final Map<String, String> pathParameters,
+                                    final EventPolicy eventPolicy) {
         this.restProjectId = restProjectId;
         this.restApplicationId = restApplicationId;
         this.restResourceId = restResourceId;
         this.restMethodId = restMethodId;
         this.restMethod = restMethod;
         this.pathParameters = pathParameters;
+        this.eventPolicy = eventPolicy == null ? new EventPolicy() : eventPolicy;
     }
 
     public RestMethod getRestMethod() {
@@ -81,6 +87,16 @@ public final class IdentifyRestMethodOutput implements Output{
         return pathParameters;
     }
 
+    /**
+     * Get the event policy that applies to the identified method. The policy
+     * is the policy of the method merged with the policy of the project.
+     * @return The event policy of the identified method.
+     * @since 1.38
+     */
+    public EventPolicy getEventPolicy() {
+        return eventPolicy;
+    }
+
 
     public static Builder builder(){
         return new Builder();
@@ -94,6 +110,7 @@ public final class IdentifyRestMethodOutput implements Output{
         private String restMethodId;
         private RestMethod restMethod;
         private Map<String, String> pathParameters;
+        private EventPolicy eventPolicy;
 
         public Builder restProjectId(final String restProjectId){
             this.restProjectId = restProjectId;
@@ -125,9 +142,15 @@ public final class IdentifyRestMethodOutput implements Output{
             return this;
         }
 
+        public Builder eventPolicy(final EventPolicy eventPolicy){
+            this.eventPolicy = eventPolicy;
+            return this;
+        }
+
         public IdentifyRestMethodOutput build(){
             return new IdentifyRestMethodOutput(this.restProjectId, this.restApplicationId,
-                    this.restResourceId, this.restMethodId, this.restMethod, this.pathParameters);
+                    this.restResourceId, this.restMethodId, this.restMethod, this.pathParameters,
+                    this.eventPolicy);
         }
 
     }
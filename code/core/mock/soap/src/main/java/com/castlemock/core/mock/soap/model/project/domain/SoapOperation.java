@@ -16,6 +16,7 @@
 
 package com.castlemock.core.mock.soap.model.project.domain;
 
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
 
 import javax.xml.bind.annotation.XmlElement;
@@ -45,12 +46,14 @@ public class SoapOperation {
     private String originalEndpoint;
     private Boolean simulateNetworkDelay;
     private Long networkDelay;
+    private EventPolicy eventPolicy;
     @Deprecated
     private String defaultXPathMockResponseId;
     private String defaultMockResponseId;
     private String portId;
     private Boolean mockOnFailure;
     private SoapOperationIdentifyStrategy identifyStrategy;
+    private String soapAction;
 
     private List<SoapMockResponse> mockResponses = new CopyOnWriteArrayList<SoapMockResponse>();
 
@@ -212,6 +215,15 @@ public class SoapOperation {
         this.networkDelay = networkDelay;
     }
 
+    @XmlElement
+    public EventPolicy getEventPolicy() {
+        return eventPolicy;
+    }
+
+    public void setEventPolicy(EventPolicy eventPolicy) {
+        this.eventPolicy = eventPolicy;
+    }
+
     @XmlElement
     @Deprecated
     public String getDefaultXPathMockResponseId() {
@@ -249,6 +261,15 @@ public class SoapOperation {
         this.identifyStrategy = identifyStrategy;
     }
 
+    @XmlElement
+    public String getSoapAction() {
+        return soapAction;
+    }
+
+    public void setSoapAction(String soapAction) {
+        this.soapAction = soapAction;
+    }
+
     @XmlElement
     public String getDefaultMockResponseId() {
         return defaultMockResponseId;
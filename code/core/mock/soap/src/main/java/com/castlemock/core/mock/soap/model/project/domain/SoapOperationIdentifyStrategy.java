@@ -28,6 +28,6 @@ import javax.xml.bind.annotation.XmlType;
 @XmlEnum(String.class)
 public enum SoapOperationIdentifyStrategy {
 
-    ELEMENT, ELEMENT_NAMESPACE
+    ELEMENT, ELEMENT_NAMESPACE, SOAP_ACTION
 
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.mock.soap.service.event.input;
+
+import com.castlemock.core.basis.model.Input;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.validation.NotNull;
+
+/**
+ * Read a page of SOAP event summaries that match a query
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class ReadSoapEventSummariesInput implements Input {
+
+    @NotNull
+    private final EventQuery query;
+
+    private ReadSoapEventSummariesInput(final EventQuery query) {
+        this.query = query;
+    }
+
+    public EventQuery getQuery() {
+        return query;
+    }
+
+    public static Builder builder(){
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private EventQuery query;
+
+        public Builder query(final EventQuery query){
+            this.query = query;
+            return this;
+        }
+
+        public ReadSoapEventSummariesInput build(){
+            return new ReadSoapEventSummariesInput(query);
+        }
+
+    }
+
+}
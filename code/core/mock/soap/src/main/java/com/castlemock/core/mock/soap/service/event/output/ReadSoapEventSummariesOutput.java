@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.core.mock.soap.service.event.output;
+
+import com.castlemock.core.basis.model.Output;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
+import com.castlemock.core.basis.model.validation.NotNull;
+
+import java.util.List;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class ReadSoapEventSummariesOutput implements Output {
+
+    @NotNull
+    private final List<EventSummary> events;
+
+    private ReadSoapEventSummariesOutput(final List<EventSummary> events) {
+        this.events = events;
+    }
+
+    public List<EventSummary> getEvents() {
+        return events;
+    }
+
+    public static Builder builder(){
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private List<EventSummary> events;
+
+        public Builder events(final List<EventSummary> events){
+            this.events = events;
+            return this;
+        }
+
+        public ReadSoapEventSummariesOutput build(){
+            return new ReadSoapEventSummariesOutput(this.events);
+        }
+
+    }
+
+}
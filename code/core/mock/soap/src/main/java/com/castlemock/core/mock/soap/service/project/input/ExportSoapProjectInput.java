@@ -19,6 +19,7 @@ package com.castlemock.core.mock.soap.service.project.input;
 import com.castlemock.core.basis.model.Input;
 import com.castlemock.core.basis.model.validation.NotNull;
 
+import java.io.OutputStream;
 import java.util.Objects;
 
 /**
@@ -29,21 +30,33 @@ public final class ExportSoapProjectInput implements Input {
 
     @NotNull
     private final String projectId;
+    private final OutputStream outputStream;
 
     private ExportSoapProjectInput(final Builder builder) {
         this.projectId = Objects.requireNonNull(builder.projectId);
+        this.outputStream = builder.outputStream;
     }
 
     public String getProjectId() {
         return projectId;
     }
 
+    /**
+     * Get the output stream that the project will be written to.
+     * @return The output stream, or null if the project should be returned as a String.
+     * @since 1.38
+     */
+    public OutputStream getOutputStream() {
+        return outputStream;
+    }
+
     public static Builder builder(){
         return new Builder();
     }
 
     public static class Builder {
         private String projectId;
+        private OutputStream outputStream;
 
         private Builder(){
 
@@ -54,6 +67,11 @@ public final class ExportSoapProjectInput implements Input {
             return this;
         }
 
+        public Builder outputStream(final OutputStream outputStream){
+            this.outputStream = outputStream;
+            return this;
+        }
+
         public ExportSoapProjectInput build(){
             return new ExportSoapProjectInput(this);
         }
@@ -23,8 +23,12 @@ import com.castlemock.core.mock.soap.model.project.domain.SoapOperationIdentifie
 import com.castlemock.core.mock.soap.model.project.domain.SoapVersion;
 
 import java.util.Objects;
+import java.util.Optional;
 
 /**
+ * The input used to identify a SOAP operation. The operation will be identified with the
+ * SOAP action if one is provided. The operation identifier will be used as a fallback, and
+ * it will be extracted from the body if no operation identifier has been provided.
  * @author Karl Dahlgren
  * @since 1.0
  */
@@ -32,8 +36,9 @@ public final class IdentifySoapOperationInput implements Input {
 
     @NotNull
     private final String projectId;
-    @NotNull
     private final SoapOperationIdentifier operationIdentifier;
+    private final String soapAction;
+    private final String body;
     @NotNull
     private final String uri;
     @NotNull
@@ -43,7 +48,9 @@ public final class IdentifySoapOperationInput implements Input {
 
     private IdentifySoapOperationInput(final Builder builder) {
         this.projectId = Objects.requireNonNull(builder.projectId);
-        this.operationIdentifier = Objects.requireNonNull(builder.operationIdentifier);
+        this.operationIdentifier = builder.operationIdentifier;
+        this.soapAction = builder.soapAction;
+        this.body = builder.body;
         this.uri = Objects.requireNonNull(builder.uri);
         this.httpMethod = Objects.requireNonNull(builder.httpMethod);
         this.type = Objects.requireNonNull(builder.type);
@@ -53,8 +60,16 @@ public final class IdentifySoapOperationInput implements Input {
         return projectId;
     }
 
-    public SoapOperationIdentifier getOperationIdentifier() {
-        return operationIdentifier;
+    public Optional<SoapOperationIdentifier> getOperationIdentifier() {
+        return Optional.ofNullable(operationIdentifier);
+    }
+
+    public Optional<String> getSoapAction() {
+        return Optional.ofNullable(soapAction);
+    }
+
+    public Optional<String> getBody() {
+        return Optional.ofNullable(body);
     }
 
     public String getUri() {
@@ -77,6 +92,8 @@ public final class IdentifySoapOperationInput implements Input {
 
         private String projectId;
         private SoapOperationIdentifier operationIdentifier;
+        private String soapAction;
+        private String body;
         private String uri;
         private HttpMethod httpMethod;
         private SoapVersion type;
@@ -95,6 +112,16 @@ public final class IdentifySoapOperationInput implements Input {
             return this;
         }
 
+        public Builder soapAction(final String soapAction){
+            this.soapAction = soapAction;
+            return this;
+        }
+
+        public Builder body(final String body){
+            this.body = body;
+            return this;
+        }
+
         public Builder uri(final String uri){
             this.uri = uri;
             return this;
@@ -17,9 +17,8 @@
 package com.castlemock.core.mock.soap.service.project.input;
 
 import com.castlemock.core.basis.model.Input;
-import com.castlemock.core.basis.model.validation.NotNull;
 
-import java.util.Objects;
+import java.io.InputStream;
 
 /**
  * @author Karl Dahlgren
@@ -27,23 +26,37 @@ import java.util.Objects;
  */
 public final class ImportSoapProjectInput implements Input {
 
-    @NotNull
     private final String projectRaw;
+    private final InputStream projectStream;
 
     private ImportSoapProjectInput(final Builder builder) {
-        this.projectRaw = Objects.requireNonNull(builder.projectRaw);
+        if(builder.projectRaw == null && builder.projectStream == null){
+            throw new IllegalArgumentException("Either the raw project or the project stream has to be provided");
+        }
+        this.projectRaw = builder.projectRaw;
+        this.projectStream = builder.projectStream;
     }
 
     public String getProjectRaw() {
         return projectRaw;
     }
 
+    /**
+     * Get the stream that the project will be read from.
+     * @return The project stream, or null if the project is provided as a String.
+     * @since 1.38
+     */
+    public InputStream getProjectStream() {
+        return projectStream;
+    }
+
     public static Builder builder(){
         return new Builder();
     }
 
     public static class Builder {
         private String projectRaw;
+        private InputStream projectStream;
 
         private Builder(){
 
@@ -54,6 +67,11 @@ public final class ImportSoapProjectInput implements Input {
             return this;
         }
 
+        public Builder projectStream(final InputStream projectStream){
+            this.projectStream = projectStream;
+            return this;
+        }
+
         public ImportSoapProjectInput build(){
             return new ImportSoapProjectInput(this);
         }
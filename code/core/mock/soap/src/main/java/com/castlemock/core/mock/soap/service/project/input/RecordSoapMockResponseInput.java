@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.core.mock.soap.service.project.input;
+
+import com.castlemock.core.basis.model.Input;
+import com.castlemock.core.basis.model.validation.NotNull;
+import com.castlemock.core.mock.soap.model.project.domain.SoapMockResponse;
+
+import java.util.Objects;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class RecordSoapMockResponseInput implements Input {
+
+    @NotNull
+    private final String projectId;
+    @NotNull
+    private final String portId;
+    @NotNull
+    private final String operationId;
+    @NotNull
+    private final SoapMockResponse mockResponse;
+    @NotNull
+    private final String fingerprint;
+
+    private RecordSoapMockResponseInput(final Builder builder) {
+        this.projectId = Objects.requireNonNull(builder.projectId);
+        this.portId = Objects.requireNonNull(builder.portId);
+        this.operationId = Objects.requireNonNull(builder.operationId);
+        this.mockResponse = Objects.requireNonNull(builder.mockResponse);
+        this.fingerprint = Objects.requireNonNull(builder.fingerprint);
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getPortId() {
+        return portId;
+    }
+
+    public String getOperationId() {
+        return operationId;
+    }
+
+    public SoapMockResponse getMockResponse() {
+        return mockResponse;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public static Builder builder(){
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String projectId;
+        private String portId;
+        private String operationId;
+        private SoapMockResponse mockResponse;
+        private String fingerprint;
+
+        private Builder(){
+
+        }
+
+        public Builder projectId(final String projectId){
+            this.projectId = projectId;
+            return this;
+        }
+
+        public Builder portId(final String portId){
+            this.portId = portId;
+            return this;
+        }
+
+        public Builder operationId(final String operationId){
+            this.operationId = operationId;
+            return this;
+        }
+
+        public Builder mockResponse(final SoapMockResponse mockResponse){
+            this.mockResponse = mockResponse;
+            return this;
+        }
+
+        public Builder fingerprint(final String fingerprint){
+            this.fingerprint = fingerprint;
+            return this;
+        }
+
+        public RecordSoapMockResponseInput build(){
+            return new RecordSoapMockResponseInput(this);
+        }
+    }
+
+}
@@ -18,8 +18,6 @@ package com.castlemock.core.mock.soap.service.project.output;
 
 import com.castlemock.core.basis.model.Output;
 
-import java.util.Objects;
-
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -29,9 +27,13 @@ public final class ExportSoapProjectOutput implements Output{
     private final String project;
 
     private ExportSoapProjectOutput(final Builder builder) {
-        this.project = Objects.requireNonNull(builder.project);
+        this.project = builder.project;
     }
 
+    /**
+     * Get the exported project.
+     * @return The exported project, or null if the project was written to an output stream.
+     */
     public String getProject() {
         return project;
     }
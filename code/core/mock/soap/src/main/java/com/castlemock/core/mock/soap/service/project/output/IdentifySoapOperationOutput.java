@@ -17,6 +17,7 @@
 package com.castlemock.core.mock.soap.service.project.output;
 
 import com.castlemock.core.basis.model.Output;
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
 import com.castlemock.core.basis.model.validation.NotNull;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
 
@@ -40,11 +41,15 @@ public final class IdentifySoapOperationOutput implements Output{
     @NotNull
     private final SoapOperation operation;
 
+    @NotNull
+    private final EventPolicy eventPolicy;
+
     private IdentifySoapOperationOutput(final Builder builder) {
         this.projectId = Objects.requireNonNull(builder.projectId);
         this.portId = Objects.requireNonNull(builder.portId);
         this.operationId = Objects.requireNonNull(builder.operationId);
         this.operation = Objects.requireNonNull(builder.operation);
+        this.eventPolicy = builder.eventPolicy == null ? new EventPolicy() : builder.eventPolicy;
 
     }
 
@@ -64,6 +69,16 @@ public final class IdentifySoapOperationOutput implements Output{
         return operationId;
     }
 
+    /**
+     * Get the event policy that applies to the identified operation. The policy
+     * is the policy of the operation merged with the policy of the project.
+     * @return The event policy of the identified operation.
+     * @since 1.38
+     */
+    public EventPolicy getEventPolicy() {
+        return eventPolicy;
+    }
+
     public static Builder builder(){
         return new Builder();
     }
@@ -73,6 +88,7 @@ public final class IdentifySoapOperationOutput implements Output{
         private String portId;
         private String operationId;
         private SoapOperation operation;
+        private EventPolicy eventPolicy;
 
         private Builder(){
 
@@ -98,6 +114,11 @@ public final class IdentifySoapOperationOutput implements Output{
             return this;
         }
 
+        public Builder eventPolicy(final EventPolicy eventPolicy){
+            this.eventPolicy = eventPolicy;
+            return this;
+        }
+
         public IdentifySoapOperationOutput build(){
             return new IdentifySoapOperationOutput(this);
         }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@link FileHeader} contains the parts of a file that are required to place the type it contains
+ * within its project, without loading the type itself. The header consists of the id of the parent of
+ * the type and the hashes of the bodies that the type references.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see FileRepositorySupport#loadHeaders(String, String, String)
+ */
+public class FileHeader {
+
+    private final String name;
+    private final String parentId;
+    private final List<String> bodyHashes;
+    private final boolean inlineBody;
+    private final long size;
+
+    public FileHeader(final String name, final String parentId, final List<String> bodyHashes,
+                      final boolean inlineBody, final long size) {
+        this.name = name;
+        this.parentId = parentId;
+        this.bodyHashes = Collections.unmodifiableList(bodyHashes);
+        this.inlineBody = inlineBody;
+        this.size = size;
+    }
+
+    /**
+     * Get the name of the file, without its directory.
+     * @return The name of the file.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the id of the parent of the type.
+     * @return The id of the parent, or <code>null</code> if the file does not contain a parent id.
+     */
+    public String getParentId() {
+        return parentId;
+    }
+
+    /**
+     * Get the hashes of the bodies that the type references.
+     * @return The body hashes.
+     */
+    public List<String> getBodyHashes() {
+        return bodyHashes;
+    }
+
+    /**
+     * Check if the type has a body stored inline. Such a type was saved before the bodies were
+     * moved to the body repository and it has to be loaded in order to move its body.
+     * @return <code>true</code> if the type has an inline body.
+     */
+    public boolean hasInlineBody() {
+        return inlineBody;
+    }
+
+    /**
+     * Get the size of the file.
+     * @return The size of the file in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+}
@@ -16,14 +16,26 @@
 
 package com.castlemock.repository.core.file;
 
+import com.castlemock.core.basis.metric.MetricRegistry;
+import com.castlemock.core.basis.metric.Timer;
 import com.castlemock.core.basis.model.Saveable;
 import com.castlemock.repository.Repository;
+import com.castlemock.repository.UpdatableField;
+import com.castlemock.repository.body.BodyRepository;
+import com.castlemock.repository.core.file.body.BodyReferenceFile;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Striped;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.log4j.Logger;
 import org.dozer.DozerBeanMapper;
 import org.dozer.Mapping;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -36,12 +48,18 @@ import java.io.File;
 import java.io.Serializable;
 import java.io.StringWriter;
 import java.lang.reflect.ParameterizedType;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * The abstract repository provides functionality to interact with the file system in order to manage a specific type.
@@ -61,6 +79,12 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
     protected DozerBeanMapper mapper;
     @Autowired
     protected FileRepositorySupport fileRepositorySupport;
+    @Autowired
+    protected BodyRepository bodyRepository;
+    @Autowired
+    private ProjectLoader projectLoader;
+    @Value("${file.snapshot.enabled:true}")
+    private boolean snapshotEnabled;
 
     private Class<T> entityClass;
 
@@ -68,10 +92,17 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
 
     protected Map<I, T> collection = new ConcurrentHashMap<I, T>();
 
-    private Map<I, Semaphore> writeLocks = new ConcurrentHashMap();
+    private final Striped<Semaphore> writeLocks = Striped.semaphore(WRITE_LOCK_STRIPES, 1);
 
     private JAXBContext jaxbContext;
 
+    private final Timer findOneTimer;
+    private final Timer findAllTimer;
+    private final Timer saveTimer;
+    private final Timer deleteTimer;
+
+    private static final String REPOSITORY_METRIC = "castlemock_repository_seconds";
+    private static final int WRITE_LOCK_STRIPES = 64;
     private static final Logger LOGGER = Logger.getLogger(FileRepository.class);
 
     /**
@@ -83,13 +114,19 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
         final ParameterizedType genericSuperclass = (ParameterizedType) getClass().getGenericSuperclass();
         this.entityClass = (Class<T>) genericSuperclass.getActualTypeArguments()[0];
         this.dtoClass = (Class<D>) genericSuperclass.getActualTypeArguments()[1];
+        this.findOneTimer = getTimer("findOne");
+        this.findAllTimer = getTimer("findAll");
+        this.saveTimer = getTimer("save");
+        this.deleteTimer = getTimer("delete");
     }
 
 
     /**
      * The initialize method is responsible for initiating the file repository. This procedure involves loading
-     * the types (TYPE) from the file system and store them in the collection.
+     * the types (TYPE) from the file system and store them in the collection. Types that belong to a project
+     * are only loaded once their project is requested, if the projects are loaded lazily.
      * @see #loadFiles()
+     * @see ProjectLoader
      * @see #postInitiate()
      */
     @Override
@@ -102,9 +139,22 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
             throw new IllegalStateException("Unable to create a new JAXB instance" , e);
         }
         LOGGER.debug("Start the initialize phase for the type " + entityClass.getSimpleName());
-        final Collection<T> loadedFiles = loadFiles();
-        for(T type : loadedFiles){
-            collection.put(type.getId(), type);
+        if(projectLoader != null && projectLoader.isEnabled()){
+            projectLoader.register(this);
+        }
+        if(isLoadedPerProject()){
+            final ProjectCollection projectCollection = new ProjectCollection();
+            projectCollection.loadHeaders();
+            this.collection = projectCollection;
+        } else {
+            final Collection<T> loadedFiles = loadFiles();
+            for(T type : loadedFiles){
+                if(migrate(type)){
+                    fileRepositorySupport.save(type, getFilename(type.getId()));
+                }
+                collection.put(type.getId(), type);
+                onLoaded(type);
+            }
         }
 
         postInitiate();
@@ -119,8 +169,11 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
     public D findOne(final I id) {
         Preconditions.checkNotNull(id, "The provided id cannot be null");
         LOGGER.debug("Retrieving " + entityClass.getSimpleName() + " with id " + id);
+        final long startTime = System.nanoTime();
         T type = collection.get(id);
-        return type != null ? mapper.map(type, dtoClass) : null;
+        final D dto = type != null ? mapper.map(type, dtoClass) : null;
+        findOneTimer.recordSince(startTime);
+        return dto;
     }
 
     /**
@@ -130,7 +183,10 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
     @Override
     public List<D> findAll() {
         LOGGER.debug("Retrieving all instances for " + entityClass.getSimpleName());
-        return toDtoList(collection.values(), dtoClass);
+        final long startTime = System.nanoTime();
+        final List<D> dtos = toDtoList(collection.values(), dtoClass);
+        findAllTimer.recordSince(startTime);
+        return dtos;
     }
 
     /**
@@ -146,6 +202,47 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
         return save(type);
     }
 
+    /**
+     * The save all method provides the functionality to save several instances to the file system.
+     * The write locks of all the instances are acquired once for the whole batch and an instance that
+     * occurs several times in the batch is only written once, with its latest version.
+     * @param dtos The types that will be saved to the file system.
+     * @return The types that were saved to the file system, in the same order as they were provided.
+     */
+    @Override
+    public List<D> saveAll(final List<D> dtos) {
+        Preconditions.checkNotNull(dtos, "The types cannot be null");
+        final long startTime = System.nanoTime();
+        final List<T> types = new ArrayList<T>(dtos.size());
+        final Map<I, T> batch = new LinkedHashMap<I, T>();
+        for(D dto : dtos){
+            final T type = mapper.map(dto, entityClass);
+            if(type.getId() == null){
+                I id;
+                do {
+                    id = (I)generateId();
+                } while (exists(id) || batch.containsKey(id));
+                type.setId(id);
+            }
+            checkType(type);
+            types.add(type);
+            batch.put(type.getId(), type);
+        }
+
+        try {
+            withWriteLocks(batch.keySet(), () -> {
+                for(T type : batch.values()){
+                    store(type);
+                }
+                return null;
+            });
+        } finally {
+            saveTimer.recordSince(startTime);
+        }
+        LOGGER.debug("Saved " + types.size() + " instances of " + entityClass.getSimpleName());
+        return toDtoList(types, dtoClass);
+    }
+
     /**
      * The save method provides the functionality to save an instance to the file system. The instance
      * should already exist on the file system and should be identified with the provided <code>id</code>.
@@ -167,6 +264,7 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
      *         have an identifier, then the method will generate a new identifier for the type.
      */
     protected D save(final T type){
+        final long startTime = System.nanoTime();
         I id = type.getId();
 
         if(id == null){
@@ -176,19 +274,16 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
             type.setId(id);
         }
         checkType(type);
-        final String filename = getFilename(id);
-
         final Semaphore writeLock = getWriteLock(id);
 
         try {
             writeLock.acquire();
-            fileRepositorySupport.save(type, filename);
-            collection.put(id, type);
-            return mapper.map(type, dtoClass);
+            return store(type);
         } catch (InterruptedException e) {
             throw new IllegalStateException("Unable to acquire the write lock", e);
         } finally {
             writeLock.release();
+            saveTimer.recordSince(startTime);
         }
     }
 
@@ -206,21 +301,258 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
     }
 
     /**
-     * The method is responsible for retrieving a new write lock.
-     * A new write lock will be created if a write lock already doesn't exist and is associated
-     * with the provided <code>id</code>.
+     * Updates a single field of several instances in one batch. The write locks of all the
+     * instances are acquired once for the whole batch. The field is updated on a copy of each
+     * instance, and the copy only replaces the cached instance once it has been written.
+     * @param ids The ids of the instances that will be updated.
+     * @param field The field that will be updated.
+     * @param value The new value of the field.
+     * @throws IllegalArgumentException If the managed type does not have the provided field
+     *                                  or if the value is not of the type of the field.
+     * @since 1.38
+     */
+    @Override
+    public void updateAll(final List<I> ids, final UpdatableField field, final Object value) {
+        Preconditions.checkNotNull(ids, "The ids cannot be null");
+        Preconditions.checkNotNull(field, "The field cannot be null");
+        Preconditions.checkArgument(value == null || field.getType().isInstance(value),
+                "The value of the field " + field.getName() + " has to be of type " + field.getType().getSimpleName());
+        Preconditions.checkArgument(BeanUtils.getPropertyDescriptor(entityClass, field.getName()) != null,
+                "The field " + field.getName() + " does not exist in " + entityClass.getSimpleName());
+        final long startTime = System.nanoTime();
+        try {
+            withWriteLocks(ids, () -> {
+                for(I id : ids){
+                    final T type = collection.get(id);
+                    if(type == null){
+                        continue;
+                    }
+                    final T copy = mapper.map(type, entityClass);
+                    PropertyAccessorFactory.forBeanPropertyAccess(copy).setPropertyValue(field.getName(), value);
+                    store(copy);
+                }
+                return null;
+            });
+        } catch (BeansException e) {
+            throw new IllegalArgumentException("Unable to update the field " + field.getName() + " in " + entityClass.getSimpleName(), e);
+        } finally {
+            saveTimer.recordSince(startTime);
+        }
+        LOGGER.debug("Updated the field " + field.getName() + " for " + ids.size() + " instances of " + entityClass.getSimpleName());
+    }
+
+    /**
+     * The method is responsible for retrieving the write lock for an id. The write locks are striped,
+     * which means that a fixed number of locks are shared among all the ids and that the same id
+     * is always associated with the same lock.
      * @param id The id is used as an identifier for the write lock
-     * @return Either a new write lock or an already existing write lock associated with the <code>id</code>.
+     * @return The write lock associated with the <code>id</code>.
      * @since 1.5
      */
-    private synchronized Semaphore getWriteLock(final I id){
-        Semaphore writeLock = writeLocks.get(id);
-        if(writeLock == null){
-            // Create a new write lock and only one is allowed to write to the file at a time.
-            writeLock = new Semaphore(1);
-            writeLocks.put(id, writeLock);
+    private Semaphore getWriteLock(final I id){
+        return writeLocks.get(id);
+    }
+
+    /**
+     * The method executes an action while holding the write locks of all the provided ids. The locks
+     * are always acquired in the same order, which prevents two concurrent batches from deadlocking.
+     * @param ids The ids that the action will write.
+     * @param action The action that will be executed.
+     * @param <R> The result type of the action.
+     * @return The result of the action.
+     * @since 1.38
+     */
+    private <R> R withWriteLocks(final Collection<I> ids, final Supplier<R> action){
+        final Set<Semaphore> locks = Sets.newLinkedHashSet(writeLocks.bulkGet(ids));
+        final List<Semaphore> acquired = new ArrayList<Semaphore>(locks.size());
+        try {
+            for(Semaphore lock : locks){
+                lock.acquire();
+                acquired.add(lock);
+            }
+            return action.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Unable to acquire the write locks", e);
+        } finally {
+            for(Semaphore lock : Lists.reverse(acquired)){
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * The method writes a type and replaces the previous version of it in the collection. The bodies
+     * that were referenced by the previous version are released. The write lock of the type has to
+     * be held by the caller.
+     * @param type The type that will be stored.
+     * @return The stored type.
+     * @since 1.38
+     */
+    private D store(final T type){
+        final T previous = collection.get(type.getId());
+        final List<String> previousBodyHashes = getBodyHashes(previous);
+        write(type);
+        collection.put(type.getId(), type);
+        releaseBodies(type.getId(), previousBodyHashes);
+        onStored(previous, type);
+        return mapper.map(type, dtoClass);
+    }
+
+    /**
+     * The method is invoked after a type has been stored, while the write lock of the type is still held.
+     * It is invoked for every stored type, regardless if the type was saved on its own, as part of a batch
+     * or by a partial update. Subclasses can override it in order to maintain their own indexes.
+     * @param previous The previous version of the type, or null if the type is new.
+     * @param stored The type that was stored.
+     * @since 1.38
+     */
+    protected void onStored(final T previous, final T stored){
+
+    }
+
+    /**
+     * The method is invoked after a type has been deleted, while the write lock of the type is still held.
+     * It is invoked for every deleted type, regardless if the type was deleted on its own or as part of a batch.
+     * Subclasses can override it in order to maintain their own indexes.
+     * @param deleted The type that was deleted.
+     * @since 1.38
+     */
+    protected void onDeleted(final T deleted){
+
+    }
+
+    /**
+     * The method is invoked after a type has been loaded from the file system, either when the repository
+     * is initialized or when the project of the type is loaded. Subclasses can override it in order to
+     * maintain their own indexes.
+     * @param type The type that was loaded.
+     * @since 1.38
+     */
+    protected void onLoaded(final T type){
+
+    }
+
+    /**
+     * The method is invoked after a type has been unloaded, because its project has not been requested
+     * for a while. The type is still stored on the file system. Subclasses can override it in order to
+     * maintain their own indexes.
+     * @param type The type that was unloaded.
+     * @since 1.38
+     */
+    protected void onUnloaded(final T type){
+
+    }
+
+    /**
+     * The method migrates a type that has been loaded from the file system and that was saved by
+     * an older version. A migrated type is written to the file system again.
+     * @param type The type that was loaded.
+     * @return <code>true</code> if the type was migrated. The default implementation returns <code>false</code>.
+     * @since 1.38
+     */
+    protected boolean migrate(final T type){
+        return false;
+    }
+
+    /**
+     * The method returns the class of the repository of the parent of the type. The types of a repository
+     * with a parent belong to a project and are loaded per project, if the projects are loaded lazily.
+     * @return The class of the parent repository, or <code>null</code> if the type does not have a parent.
+     * @since 1.38
+     * @see ProjectLoader
+     */
+    protected Class<? extends FileRepository<?, ?, String>> getParentRepositoryClass(){
+        return null;
+    }
+
+    /**
+     * The method returns the name of the element that contains the id of the parent
+     * in the files of the type.
+     * @return The name of the element, or <code>null</code> if the type does not have a parent.
+     * @since 1.38
+     */
+    protected String getParentElement(){
+        return null;
+    }
+
+    /**
+     * The method returns the id of the parent of a type.
+     * @param type The type.
+     * @return The id of the parent, or <code>null</code> if the type does not have a parent.
+     * @since 1.38
+     */
+    protected String getParentId(final T type){
+        return null;
+    }
+
+    /**
+     * The method resolves the project that a type belongs to, by following the parents of the type.
+     * @param id The id of the type.
+     * @return The id of the project, or <code>null</code> if the type is not loaded per project.
+     * @since 1.38
+     */
+    protected String resolveProjectId(final I id){
+        if(collection instanceof FileRepository.ProjectCollection){
+            return ((ProjectCollection) collection).getProjectId(id);
+        }
+        return null;
+    }
+
+    /**
+     * The method returns all the types that have the provided parent. Only the project of
+     * the parent is loaded, if the types are loaded per project.
+     * @param parentId The id of the parent.
+     * @return The types with the provided parent.
+     * @since 1.38
+     */
+    protected List<T> findWithParentId(final String parentId){
+        if(collection instanceof FileRepository.ProjectCollection){
+            return ((ProjectCollection) collection).findWithParentId(parentId);
+        }
+        return collection.values().stream()
+                .filter(type -> parentId.equals(getParentId(type)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The method loads the project of a parent, which makes sure that all the types with
+     * the provided parent are loaded. The types are always loaded if they are not loaded per project.
+     * @param parentId The id of the parent.
+     * @since 1.38
+     */
+    protected void loadParentProject(final String parentId){
+        if(collection instanceof FileRepository.ProjectCollection){
+            ((ProjectCollection) collection).loadParentProject(parentId);
+        }
+    }
+
+    /**
+     * Load all the types that belong to a project.
+     * @param projectId The id of the project.
+     * @return The total size of the files of the loaded types in bytes.
+     * @see ProjectLoader#load(String)
+     */
+    long loadProject(final String projectId){
+        if(collection instanceof FileRepository.ProjectCollection){
+            return ((ProjectCollection) collection).loadProject(projectId);
+        }
+        return 0;
+    }
+
+    /**
+     * Unload all the types that belong to a project.
+     * @param projectId The id of the project.
+     * @see ProjectLoader#unload()
+     */
+    void unloadProject(final String projectId){
+        if(collection instanceof FileRepository.ProjectCollection){
+            ((ProjectCollection) collection).unloadProject(projectId);
         }
-        return writeLock;
+    }
+
+    private boolean isLoadedPerProject(){
+        return projectLoader != null && projectLoader.isEnabled() && getParentRepositoryClass() != null;
     }
 
     /**
@@ -239,19 +571,59 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
     @Override
     public D delete(final I id) {
         Preconditions.checkNotNull(id, "The provided id cannot be null");
-        final String filename = getFilename(id);
         LOGGER.debug("Start the deletion of " + entityClass.getSimpleName() + " with id " + id);
+        final long startTime = System.nanoTime();
         Semaphore writeLock = getWriteLock(id);
         try {
             writeLock.acquire();
-            fileRepositorySupport.delete(filename);
+            // The type is loaded before its file is erased, in case it has not been loaded yet
+            collection.get(id);
+            erase(id);
             T type = collection.remove(id);
+            releaseBodies(id, getBodyHashes(type));
+            if(type != null){
+                onDeleted(type);
+            }
             LOGGER.debug("Deletion of " + entityClass.getSimpleName() + " with id " + id + " was successfully completed");
             return mapper.map(type, dtoClass);
         } catch (InterruptedException e) {
             throw new IllegalStateException("Unable to accuire the write lock", e);
         } finally {
             writeLock.release();
+            deleteTimer.recordSince(startTime);
+        }
+    }
+
+    /**
+     * The delete all method provides the functionality to delete several instances in one batch.
+     * The write locks of all the instances are acquired once for the whole batch.
+     * @param ids The ids of the instances that will be deleted.
+     * @return The instances that were deleted.
+     * @since 1.38
+     */
+    @Override
+    public List<D> deleteAll(final List<I> ids) {
+        Preconditions.checkNotNull(ids, "The ids cannot be null");
+        final long startTime = System.nanoTime();
+        try {
+            final List<T> deleted = withWriteLocks(ids, () -> {
+                final List<T> types = new ArrayList<T>(ids.size());
+                for(I id : ids){
+                    if(collection.get(id) == null){
+                        continue;
+                    }
+                    erase(id);
+                    final T type = collection.remove(id);
+                    releaseBodies(id, getBodyHashes(type));
+                    onDeleted(type);
+                    types.add(type);
+                }
+                return types;
+            });
+            LOGGER.debug("Deleted " + deleted.size() + " instances of " + entityClass.getSimpleName());
+            return toDtoList(deleted, dtoClass);
+        } finally {
+            deleteTimer.recordSince(startTime);
         }
     }
 
@@ -367,7 +739,9 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
 
     /**
      * The method is responsible for loading specific files from the file system. The files are identified by the
-     * file name extension and from which directory that are stored in.
+     * file name extension and from which directory that are stored in. The bodies of the loaded types are
+     * registered in the {@link BodyRepository}. The files are read with the help of a {@link FileSnapshot}
+     * if snapshots have been enabled.
      * @return A collection with the loaded types retrieved from the file system
      * @throws IllegalStateException The FileException is thrown in case of creation of the
      *                                                       folder fails (If it does not exist) or if the directory
@@ -376,10 +750,203 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
      * @see #getFileDirectory()
      * @see #getFileExtension()
      */
-    private Collection<T> loadFiles(){
+    protected Collection<T> loadFiles(){
         final String directory = getFileDirectory();
         final String postfix = getFileExtension();
-        return fileRepositorySupport.load(entityClass, directory, postfix);
+        final Collection<T> loadedFiles = snapshotEnabled ?
+                fileRepositorySupport.loadSnapshot(entityClass, directory, postfix) :
+                fileRepositorySupport.load(entityClass, directory, postfix);
+        for(T type : loadedFiles){
+            if(!referenceBodies(type)){
+                fileRepositorySupport.save(type, getFilename(type.getId()));
+            }
+        }
+        return loadedFiles;
+    }
+
+    /**
+     * The method writes a type to the file system. The bodies of the type are stored in
+     * the {@link BodyRepository} and the type is written with references to them.
+     * @param type The type that will be written.
+     * @since 1.38
+     * @see #writeFile(Saveable)
+     */
+    private void write(final T type){
+        saveBodies(type);
+        try {
+            writeFile(type);
+        } catch (RuntimeException e) {
+            // The bodies are not referenced by any file, since the type could not be written
+            deleteBodies(getBodyHashes(type));
+            throw e;
+        }
+    }
+
+    /**
+     * The method writes a type, whose bodies have already been stored in the {@link BodyRepository},
+     * to the file system. The default implementation writes the type to a file of its own.
+     * @param type The type that will be written.
+     * @since 1.38
+     */
+    protected void writeFile(final T type){
+        fileRepositorySupport.save(type, getFilename(type.getId()));
+    }
+
+    /**
+     * The method removes a type from the file system. The default implementation
+     * deletes the file of the type.
+     * @param id The id of the type that will be removed.
+     * @since 1.38
+     */
+    protected void erase(final I id){
+        fileRepositorySupport.delete(getFilename(id));
+    }
+
+    /**
+     * Get the class of the type that the repository is managing.
+     * @return The class of the managed type.
+     * @since 1.38
+     */
+    protected Class<T> getEntityClass(){
+        return entityClass;
+    }
+
+    /**
+     * The method returns all the bodies that belongs to the provided type. The bodies are stored in the
+     * {@link BodyRepository} and the type only keeps a reference to them. The method should be overridden
+     * by every repository which type carries a request or response body.
+     * @param type The type that the bodies belongs to.
+     * @return The bodies that belongs to the provided type. The default implementation returns an empty list.
+     * @since 1.38
+     */
+    protected List<BodyReferenceFile> getBodyReferences(final T type){
+        return Collections.emptyList();
+    }
+
+    /**
+     * The method registers the bodies of a loaded type in the {@link BodyRepository}.
+     * Types that were saved before the body repository was introduced have their body
+     * inline and the body will be moved to the body repository. The type is bound to the
+     * body repository, which means that the bodies are only read when they are requested.
+     * A reference to a body that no longer exists is removed from the type, since the
+     * body can not be restored.
+     * @param type The loaded type.
+     * @return <code>true</code> if all the referenced bodies exist. <code>false</code> if a
+     *         reference has been removed and the type has to be written again.
+     * @since 1.38
+     */
+    protected boolean referenceBodies(final T type){
+        boolean referenced = true;
+        for(BodyReferenceFile reference : getBodyReferences(type)){
+            if(reference.getBodyHash() != null){
+                if(bodyRepository.reference(reference.getBodyHash())){
+                    reference.bind(bodyRepository);
+                } else {
+                    LOGGER.error("Removing the reference to the missing body " + reference.getBodyHash() +
+                            " from the following " + entityClass.getSimpleName() + ": " + type.getId());
+                    reference.setBodyHash(null);
+                    reference.setBody(null);
+                    referenced = false;
+                }
+            } else if(reference.getBody() != null){
+                final String bodyHash = bodyRepository.save(reference.getBody());
+                reference.setBodyHash(bodyHash);
+                reference.bind(bodyRepository);
+            }
+        }
+        return referenced;
+    }
+
+    /**
+     * The method adds a reference to each of the provided bodies. No references are added if
+     * one of the bodies does not exist.
+     * @param bodyHashes The hashes of the bodies.
+     * @return <code>true</code> if all the bodies exist and have been referenced.
+     */
+    private boolean referenceBodies(final List<String> bodyHashes){
+        final List<String> referenced = new ArrayList<String>(bodyHashes.size());
+        for(String bodyHash : bodyHashes){
+            if(!bodyRepository.reference(bodyHash)){
+                deleteBodies(referenced);
+                return false;
+            }
+            referenced.add(bodyHash);
+        }
+        return true;
+    }
+
+    /**
+     * The method binds the bodies of a type that is loaded together with its project. The
+     * references to the bodies have already been registered when the headers were loaded.
+     * @param type The loaded type.
+     */
+    private void bindBodies(final T type){
+        for(BodyReferenceFile reference : getBodyReferences(type)){
+            if(reference.getBodyHash() != null){
+                reference.bind(bodyRepository);
+            }
+        }
+    }
+
+    /**
+     * The method stores the bodies of a type in the {@link BodyRepository}. The type will be
+     * bound to the body repository and read the shared instance stored in the body repository.
+     * @param type The type that is about to be saved.
+     */
+    private void saveBodies(final T type){
+        for(BodyReferenceFile reference : getBodyReferences(type)){
+            final String body = reference.getBody();
+            if(body != null){
+                final String bodyHash = bodyRepository.save(body);
+                reference.setBodyHash(bodyHash);
+                reference.bind(bodyRepository);
+            } else {
+                reference.setBodyHash(null);
+            }
+        }
+    }
+
+    /**
+     * The method removes a reference for each of the provided body hashes once the file of the type
+     * has been written. The previous version of the file may still reference the bodies until then.
+     * @param id The id of the type that no longer references the bodies.
+     * @param bodyHashes The hashes of the bodies that are no longer referenced.
+     * @see FileRepositorySupport#afterWrite(String, Runnable)
+     */
+    private void releaseBodies(final I id, final List<String> bodyHashes){
+        if(!bodyHashes.isEmpty()){
+            fileRepositorySupport.afterWrite(getFilename(id), () -> deleteBodies(bodyHashes));
+        }
+    }
+
+    /**
+     * The method removes a reference for each of the provided body hashes.
+     * @param bodyHashes The hashes of the bodies that are no longer referenced.
+     */
+    private void deleteBodies(final List<String> bodyHashes){
+        for(String bodyHash : bodyHashes){
+            bodyRepository.delete(bodyHash);
+        }
+    }
+
+    private Timer getTimer(final String operation){
+        return MetricRegistry.timer(REPOSITORY_METRIC,
+                "profile", "file",
+                "type", dtoClass.getSimpleName(),
+                "operation", operation);
+    }
+
+    private List<String> getBodyHashes(final T type){
+        if(type == null){
+            return Collections.emptyList();
+        }
+        final List<String> bodyHashes = new ArrayList<String>();
+        for(BodyReferenceFile reference : getBodyReferences(type)){
+            if(reference.getBodyHash() != null){
+                bodyHashes.add(reference.getBodyHash());
+            }
+        }
+        return bodyHashes;
     }
 
     /**
@@ -461,4 +1028,305 @@ public abstract class FileRepository<T extends Saveable<I>, D, I extends Seriali
         }
     }
 
+    @XmlRootElement(name = "eventPolicy")
+    protected static class EventPolicyFile {
+
+        @Mapping("sampleRate")
+        private Double sampleRate;
+        @Mapping("maxBodyBytes")
+        private Integer maxBodyBytes;
+        @Mapping("headersOnly")
+        private Boolean headersOnly;
+        @Mapping("errorsOnly")
+        private Boolean errorsOnly;
+
+        @XmlElement
+        public Double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(Double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        @XmlElement
+        public Integer getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(Integer maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @XmlElement
+        public Boolean getHeadersOnly() {
+            return headersOnly;
+        }
+
+        public void setHeadersOnly(Boolean headersOnly) {
+            this.headersOnly = headersOnly;
+        }
+
+        @XmlElement
+        public Boolean getErrorsOnly() {
+            return errorsOnly;
+        }
+
+        public void setErrorsOnly(Boolean errorsOnly) {
+            this.errorsOnly = errorsOnly;
+        }
+    }
+
+
+    /**
+     * The project collection contains the types of a repository whose types are loaded per project.
+     * The headers of all the types are loaded when the repository is initialized, while the types
+     * themselves are only loaded once their project is requested. Iterating over all the types
+     * will load all the projects.
+     * <p>
+     * The types of a project are only read and written through {@link ProjectLoader#withProject(String, Supplier)},
+     * which prevents the project from being unloaded while its types are being accessed.
+     * @since 1.38
+     */
+    private final class ProjectCollection extends AbstractMap<I, T> {
+
+        private final Map<I, Header> headers = new ConcurrentHashMap<I, Header>();
+        private final Map<I, T> loaded = new ConcurrentHashMap<I, T>();
+        private final Map<String, Set<I>> members = new ConcurrentHashMap<String, Set<I>>();
+
+        /**
+         * Load the headers of all the types. The bodies referenced by the types are registered and
+         * types with an inline body are loaded, in order to move their body to the body repository.
+         */
+        @SuppressWarnings("unchecked")
+        private void loadHeaders(){
+            final String postfix = getFileExtension();
+            for(FileHeader fileHeader : fileRepositorySupport.loadHeaders(getFileDirectory(), postfix, getParentElement())){
+                final I id = (I) fileHeader.getName().substring(0, fileHeader.getName().length() - postfix.length());
+                if(fileHeader.hasInlineBody() || !referenceBodies(fileHeader.getBodyHashes())){
+                    // The type is written again with its bodies moved to the body
+                    // repository, and without references to missing bodies
+                    final T type = fileRepositorySupport.load(entityClass, getFilename(id));
+                    if(type != null){
+                        referenceBodies(type);
+                        fileRepositorySupport.save(type, getFilename(id));
+                        headers.put(id, new Header(getParentId(type), fileHeader.getSize()));
+                    }
+                    continue;
+                }
+                headers.put(id, new Header(fileHeader.getParentId(), fileHeader.getSize()));
+            }
+            LOGGER.debug("Loaded " + headers.size() + " headers for the type " + entityClass.getSimpleName());
+        }
+
+        private String getProjectId(final Object id){
+            final Header header = headers.get(id);
+            if(header == null){
+                return null;
+            }
+            if(header.projectId == null && header.parentId != null){
+                header.projectId = projectLoader.resolveProjectId(getParentRepositoryClass(), header.parentId);
+            }
+            return header.projectId;
+        }
+
+        private long loadProject(final String projectId){
+            final Set<I> ids = members.computeIfAbsent(projectId, key -> ConcurrentHashMap.newKeySet());
+            long size = 0;
+            for(Map.Entry<I, Header> entry : headers.entrySet()){
+                final I id = entry.getKey();
+                if(!projectId.equals(getProjectId(id))){
+                    continue;
+                }
+                ids.add(id);
+                size += entry.getValue().size;
+                if(!loaded.containsKey(id)){
+                    load(id);
+                }
+            }
+            return size;
+        }
+
+        private void unloadProject(final String projectId){
+            final Set<I> ids = members.remove(projectId);
+            if(ids == null){
+                return;
+            }
+            for(I id : ids){
+                final T type = loaded.remove(id);
+                if(type != null){
+                    onUnloaded(type);
+                }
+            }
+        }
+
+        private void loadParentProject(final String parentId){
+            final String projectId = projectLoader.resolveProjectId(getParentRepositoryClass(), parentId);
+            if(projectId != null){
+                projectLoader.load(projectId);
+            }
+        }
+
+        private List<T> findWithParentId(final String parentId){
+            final String projectId = projectLoader.resolveProjectId(getParentRepositoryClass(), parentId);
+            if(projectId != null){
+                return projectLoader.withProject(projectId, () -> findWithParentIdLoaded(parentId));
+            }
+            return findWithParentIdLoaded(parentId);
+        }
+
+        private List<T> findWithParentIdLoaded(final String parentId){
+            final List<T> types = new ArrayList<T>();
+            for(Map.Entry<I, Header> entry : headers.entrySet()){
+                if(parentId.equals(entry.getValue().parentId)){
+                    final T type = get(entry.getKey());
+                    if(type != null){
+                        types.add(type);
+                    }
+                }
+            }
+            return types;
+        }
+
+        private T load(final I id){
+            final T type = fileRepositorySupport.load(entityClass, getFilename(id));
+            if(type == null){
+                LOGGER.warn("Unable to find the file of the " + entityClass.getSimpleName() + " with id " + id);
+                return null;
+            }
+            bindBodies(type);
+            if(migrate(type)){
+                fileRepositorySupport.save(type, getFilename(id));
+            }
+            final T previous = loaded.putIfAbsent(id, type);
+            if(previous != null){
+                return previous;
+            }
+            onLoaded(type);
+            return type;
+        }
+
+        /**
+         * Load all the types. The returned map is a snapshot, since the
+         * projects are free to be unloaded again once they have been read.
+         * @return All the types.
+         */
+        private Map<I, T> loadAll(){
+            final Map<I, T> types = new LinkedHashMap<I, T>();
+            for(I id : headers.keySet()){
+                final T type = get(id);
+                if(type != null){
+                    types.put(id, type);
+                }
+            }
+            return types;
+        }
+
+        @Override
+        public T get(final Object key){
+            final String projectId = getProjectId(key);
+            if(projectId != null){
+                return projectLoader.withProject(projectId, () -> getLoaded(projectId, key));
+            }
+            return getLoaded(null, key);
+        }
+
+        @SuppressWarnings("unchecked")
+        private T getLoaded(final String projectId, final Object key){
+            final T type = loaded.get(key);
+            if(type != null || !headers.containsKey(key)){
+                return type;
+            }
+            if(projectId != null){
+                // The type was not part of its project when the project was loaded
+                members.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add((I) key);
+            }
+            return load((I) key);
+        }
+
+        @Override
+        public T put(final I key, final T value){
+            final Header previous = headers.get(key);
+            headers.put(key, new Header(getParentId(value), previous != null ? previous.size : 0));
+            final String projectId = getProjectId(key);
+            if(projectId != null){
+                return projectLoader.withProject(projectId, () -> {
+                    members.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add(key);
+                    return loaded.put(key, value);
+                });
+            }
+            return loaded.put(key, value);
+        }
+
+        @Override
+        public T remove(final Object key){
+            final String projectId = getProjectId(key);
+            if(projectId != null){
+                return projectLoader.withProject(projectId, () -> {
+                    final T type = removeLoaded(projectId, key);
+                    final Set<I> ids = members.get(projectId);
+                    if(ids != null){
+                        ids.remove(key);
+                    }
+                    return type;
+                });
+            }
+            return removeLoaded(null, key);
+        }
+
+        private T removeLoaded(final String projectId, final Object key){
+            final T type = getLoaded(projectId, key);
+            headers.remove(key);
+            loaded.remove(key);
+            return type;
+        }
+
+        @Override
+        public boolean containsKey(final Object key){
+            return headers.containsKey(key);
+        }
+
+        @Override
+        public int size(){
+            return headers.size();
+        }
+
+        @Override
+        public void clear(){
+            headers.clear();
+            loaded.clear();
+            members.clear();
+        }
+
+        @Override
+        public Set<I> keySet(){
+            return Collections.unmodifiableSet(headers.keySet());
+        }
+
+        @Override
+        public Collection<T> values(){
+            return Collections.unmodifiableCollection(loadAll().values());
+        }
+
+        @Override
+        public Set<Map.Entry<I, T>> entrySet(){
+            return Collections.unmodifiableSet(loadAll().entrySet());
+        }
+    }
+
+    /**
+     * The header of a type that is loaded per project. The id of the
+     * project is resolved the first time it is requested.
+     */
+    private static final class Header {
+
+        private final String parentId;
+        private final long size;
+        private volatile String projectId;
+
+        private Header(final String parentId, final long size){
+            this.parentId = parentId;
+            this.size = size;
+        }
+    }
 }
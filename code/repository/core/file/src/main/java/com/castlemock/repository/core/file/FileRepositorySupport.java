@@ -16,22 +16,55 @@
 
 package com.castlemock.repository.core.file;
 
+import com.castlemock.repository.core.file.codec.FileCodec;
+import com.castlemock.repository.core.file.codec.XmlFileCodec;
 import com.google.common.base.Preconditions;
 import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
+ * The file repository support reads and writes the files of the file repositories. A file is always
+ * written to a temporary file first, which then replaces the original file with an atomic rename.
+ * This means that an interrupted write never leaves a truncated file behind.
+ * <p>
+ * Types can optionally be written behind. Every save or delete of a file is then recorded and only
+ * the latest change of each file is written by a background writer, which flushes the changes
+ * periodically and once more when the application is shut down. A type is encoded when it is saved,
+ * which means that later modifications of the type are not written until it is saved again. A change
+ * that could not be written is kept and retried with an increasing delay.
+ * <p>
+ * Types are written as formatted XML by default. Another {@link FileCodec} can be configured, and
+ * the codec of every file is detected when the file is read.
  * @author Karl Dahlgren
  * @since 1.4
  */
@@ -39,6 +72,143 @@ import java.util.Collection;
 public class FileRepositorySupport {
 
     private static final Logger LOGGER = Logger.getLogger(FileRepositorySupport.class);
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final long MAX_RETRY_DELAY_MILLIS = 60000;
+    private static final String BODY_ELEMENT = "body";
+    private static final String BODY_HASH_ELEMENT = "bodyHash";
+
+    @Value(value = "${file.write.behind.enabled:false}")
+    private boolean writeBehind;
+    @Value(value = "${file.write.behind.interval.millis:1000}")
+    private long flushIntervalMillis;
+    @Value(value = "${file.fsync.policy:NEVER}")
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.NEVER;
+    @Value(value = "${file.codec:xml}")
+    private String codec = XmlFileCodec.NAME;
+
+    private final Map<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<Class<?>, JAXBContext>();
+    private final Map<String, Change> pending = new ConcurrentHashMap<String, Change>();
+    private ScheduledExecutorService writer;
+
+    /**
+     * The method starts the background writer if the write behind mode has been enabled.
+     * @since 1.38
+     */
+    @PostConstruct
+    public void initialize(){
+        if(writeBehind){
+            this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "castlemock-file-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.writer.scheduleWithFixedDelay(() -> flush(false), flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            LOGGER.info("Writing files behind with a flush interval of " + flushIntervalMillis + " ms");
+        }
+    }
+
+    /**
+     * The method stops the background writer and writes all the changes that have not been written yet.
+     * @since 1.38
+     */
+    @PreDestroy
+    public void destroy(){
+        if(writer != null){
+            writer.shutdown();
+            try {
+                writer.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Write all the changes that have been recorded in write behind mode. Only the latest
+     * change of each file is written.
+     * @since 1.38
+     */
+    public void flush(){
+        flush(true);
+    }
+
+    /**
+     * Register an action that is executed once the latest change of a file has been written.
+     * The action is executed immediately if there is no change of the file that has not been
+     * written yet. It is used to postpone the removal of state that the previous version of
+     * the file depends on.
+     * @param filename The name of the file.
+     * @param action The action that will be executed.
+     * @since 1.38
+     */
+    public void afterWrite(final String filename, final Runnable action){
+        final Change change = pending.computeIfPresent(filename, (key, current) -> {
+            current.actions.add(action);
+            return current;
+        });
+        if(change == null){
+            action.run();
+        }
+    }
+
+    /**
+     * Write the recorded changes. A change is only removed once it has been written, unless
+     * it has been replaced by a newer change in the meantime. A change that could not be written
+     * is retried with an increasing delay.
+     * @param force <code>true</code> if all changes should be written, regardless of their retry delay.
+     */
+    private synchronized void flush(final boolean force){
+        int flushed = 0;
+        final long now = System.currentTimeMillis();
+        for(Map.Entry<String, Change> entry : pending.entrySet()){
+            final String filename = entry.getKey();
+            final Change change = entry.getValue();
+            if(!force && change.retryAt > now){
+                continue;
+            }
+            try {
+                if(change.content == null){
+                    Files.deleteIfExists(new File(filename).toPath());
+                } else {
+                    replace(new File(filename), output -> output.write(change.content));
+                }
+            } catch (Exception e) {
+                change.attempts++;
+                change.retryAt = now + Math.min(MAX_RETRY_DELAY_MILLIS, flushIntervalMillis << Math.min(change.attempts, 16));
+                LOGGER.error("Unable to write the following file (attempt " + change.attempts + "): " + filename, e);
+                continue;
+            }
+            if(pending.remove(filename, change)){
+                runActions(filename, change);
+            }
+            flushed++;
+        }
+        if(flushed > 0){
+            LOGGER.debug("Flushed " + flushed + " files");
+        }
+    }
+
+    /**
+     * Check if the types are persisted. Repositories that keep additional state of their own
+     * should only write it to the file system if the types are persisted.
+     * @return <code>true</code> if the types are persisted.
+     * @since 1.38
+     */
+    public boolean isPersistent(){
+        return true;
+    }
+
+    /**
+     * Check if a file exists.
+     * @param directory The directory of the file.
+     * @param filename The name of the file.
+     * @return <code>true</code> if the file exists.
+     * @since 1.38
+     */
+    public boolean exists(final String directory, final String filename){
+        return new File(directory, filename).isFile();
+    }
 
     public String read(File file){
         Preconditions.checkNotNull(file, "The file cannot be null");
@@ -70,73 +240,204 @@ public class FileRepositorySupport {
         this.createDirectory(path);
 
         final File file = new File(directory, filename);
-
-        BufferedWriter writer = null;
         try {
-            writer = new BufferedWriter(new FileWriter(file));
-            writer.write(data);
+            replace(file, output -> output.write(data.getBytes()));
         } catch (Exception e) {
             LOGGER.error("Unable to save the following file: " + filename, e);
             throw new IllegalStateException("Unable to save the following file: " + filename);
-        } finally {
-            try {
-                writer.close();
-            } catch (IOException e) {
-                LOGGER.error("Unable to close the writer", e);
-            }
         }
     }
 
 
     public <T> Collection<T> load(Class<T> entityClass, String directory, String postfix){
         final Collection<T> loadedTypes = new ArrayList<T>();
-        final Path path = FileSystems.getDefault().getPath(directory);
-        this.createDirectory(path);
+        try {
+            LOGGER.debug("Start loading files for the following type: " + entityClass.getSimpleName());
+            final Unmarshaller jaxbUnmarshaller = getContext(entityClass).createUnmarshaller();
+            for (final File file : listFiles(directory, postfix)) {
+                T type = (T) decode(jaxbUnmarshaller, Files.readAllBytes(file.toPath()));
+                loadedTypes.add(type);
+                LOGGER.debug("\tLoaded " + file.getName());
+            }
+        } catch (JAXBException | IOException e) {
+            LOGGER.error("Unable to parse files for type " + entityClass.getSimpleName(), e);
+        }
+        return loadedTypes;
+    }
 
-        final File folder = new File(directory);
+    /**
+     * Load all the files of a type with the help of a {@link FileSnapshot}. A type is taken from
+     * the snapshot as long as its file has not been modified since the snapshot was taken,
+     * and only the files that are new or have been modified are read from the file system. The snapshot
+     * is written again if it does not match the files.
+     * @param entityClass The class of the type.
+     * @param directory The directory that the files are stored in.
+     * @param postfix The file extension of the files.
+     * @return The loaded types.
+     * @since 1.38
+     */
+    public <T> Collection<T> loadSnapshot(final Class<T> entityClass, final String directory, final String postfix){
+        final Collection<T> loadedTypes = new ArrayList<T>();
+        final List<File> files = listFiles(directory, postfix);
+        final File snapshotFile = new File(directory, entityClass.getSimpleName() + FileSnapshot.SNAPSHOT_EXTENSION);
+        final List<FileSnapshot.Entry<T>> entries = new ArrayList<FileSnapshot.Entry<T>>();
+        final JAXBContext context;
+        final Map<String, FileSnapshot.Entry<T>> snapshot;
+        int modified = 0;
         try {
             LOGGER.debug("Start loading files for the following type: " + entityClass.getSimpleName());
-            for (final File file : folder.listFiles()) {
-                if (file.isFile() && file.getName().endsWith(postfix)) {
-                    JAXBContext jaxbContext = JAXBContext.newInstance(entityClass);
-                    Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
-                    T type = (T) jaxbUnmarshaller.unmarshal(file);
-                    loadedTypes.add(type);
-                    LOGGER.debug("\tLoaded " + file.getName());
+            context = getContext(entityClass);
+            snapshot = FileSnapshot.read(snapshotFile, entityClass, context);
+            final Unmarshaller unmarshaller = context.createUnmarshaller();
+            for (final File file : files) {
+                final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+                final long lastModified = attributes.lastModifiedTime().toMillis();
+                FileSnapshot.Entry<T> entry = snapshot.remove(file.getName());
+                if(entry == null || !entry.matches(lastModified, attributes.size())){
+                    final T type = (T) decode(unmarshaller, Files.readAllBytes(file.toPath()));
+                    entry = new FileSnapshot.Entry<T>(file.getName(), lastModified, attributes.size(), type);
+                    modified++;
                 }
+                loadedTypes.add(entry.getType());
+                entries.add(entry);
             }
-        } catch (JAXBException e) {
+        } catch (JAXBException | IOException e) {
             LOGGER.error("Unable to parse files for type " + entityClass.getSimpleName(), e);
+            return loadedTypes;
+        }
+
+        LOGGER.debug("Loaded " + (entries.size() - modified) + " of " + entries.size() +
+                " files from the snapshot for the following type: " + entityClass.getSimpleName());
+        if(modified > 0 || !snapshot.isEmpty()){
+            try {
+                replace(snapshotFile, output -> FileSnapshot.write(output, entityClass, context, entries));
+            } catch (IOException e) {
+                LOGGER.warn("Unable to write the snapshot for the following type: " + entityClass.getSimpleName(), e);
+            }
         }
         return loadedTypes;
     }
 
+    /**
+     * Load the headers of all the files of a type. Only the parent id and the body hashes are read
+     * from the files, which means that the types themselves are not created.
+     * @param directory The directory that the files are stored in.
+     * @param postfix The file extension of the files.
+     * @param parentElement The name of the element that contains the id of the parent of a type.
+     * @return The headers of the files.
+     * @since 1.38
+     * @see FileHeader
+     */
+    public Collection<FileHeader> loadHeaders(final String directory, final String postfix, final String parentElement){
+        final Collection<FileHeader> headers = new ArrayList<FileHeader>();
+        for(File file : listFiles(directory, postfix)){
+            try {
+                final byte[] raw = Files.readAllBytes(file.toPath());
+                headers.add(readHeader(file.getName(), FileCodec.detect(raw).decode(raw), parentElement, raw.length));
+            } catch (IOException | XMLStreamException e) {
+                LOGGER.error("Unable to read the header of the following file: " + file.getName(), e);
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Load a single file of a type. A change of the file that has not been written yet
+     * takes precedence over the content of the file.
+     * @param entityClass The class of the type.
+     * @param filename The name of the file.
+     * @return The loaded type, or <code>null</code> if the file does not exist.
+     * @since 1.38
+     */
+    public <T> T load(final Class<T> entityClass, final String filename){
+        final Change change = pending.get(filename);
+        if(change != null){
+            return change.content == null ? null : unmarshal(entityClass, change.content);
+        }
+
+        final File file = new File(filename);
+        if(!file.isFile()){
+            return null;
+        }
+        try {
+            return entityClass.cast(decode(getContext(entityClass).createUnmarshaller(), Files.readAllBytes(file.toPath())));
+        } catch (JAXBException | IOException e) {
+            LOGGER.error("Unable to load the following file: " + filename, e);
+            throw new IllegalStateException("Unable to load the following file: " + filename);
+        }
+    }
+
+    /**
+     * Check if the types can be loaded one by one, with {@link #loadHeaders(String, String, String)}
+     * and {@link #load(Class, String)}, rather than all at once.
+     * @return <code>true</code> if the types can be loaded one by one.
+     * @since 1.38
+     */
+    public boolean isPartialLoadingSupported(){
+        return true;
+    }
+
     public <T> void save(T type, String filename){
-        Writer writer = null;
+        if(writeBehind){
+            enqueue(filename, encode(type));
+            return;
+        }
+        write(type, filename);
+    }
+
+    /**
+     * Convert a type into XML without any formatting.
+     * @param type The type that will be converted.
+     * @return The type as UTF-8 encoded XML.
+     * @since 1.38
+     */
+    public <T> byte[] marshal(final T type){
         try {
-            JAXBContext context = JAXBContext.newInstance(type.getClass());
-            Marshaller marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            writer = new FileWriter(filename);
-            marshaller.marshal(type, writer);
+            return toXml(type, false);
         } catch (JAXBException e) {
-            LOGGER.error("Unable to parse file: " + filename, e);
-            throw new IllegalStateException("Unable to parse the following file: " + filename);
-        } catch (IOException e) {
-            LOGGER.error("Unable to read file: " + filename, e);
-            throw new IllegalStateException("Unable to read the following file: " + filename);
-        } finally {
-            if (writer != null) {
-                try {
-                    writer.close();
-                } catch (IOException e) {
-                    LOGGER.error("Unable to close file writer for type " + type.getClass().getSimpleName(), e);
-                }
-            }
+            LOGGER.error("Unable to marshal type " + type.getClass().getSimpleName(), e);
+            throw new IllegalStateException("Unable to marshal type " + type.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Convert a type into XML and encode it with the configured {@link FileCodec}.
+     * @param type The type that will be converted.
+     * @return The encoded type.
+     * @since 1.38
+     */
+    public <T> byte[] encode(final T type){
+        try {
+            final FileCodec fileCodec = getCodec();
+            return fileCodec.encode(toXml(type, fileCodec.isFormatted()));
+        } catch (JAXBException | IOException e) {
+            LOGGER.error("Unable to encode type " + type.getClass().getSimpleName(), e);
+            throw new IllegalStateException("Unable to encode type " + type.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Convert XML into a type. The XML may have been encoded with any {@link FileCodec}.
+     * @param entityClass The class of the type.
+     * @param raw The type as UTF-8 encoded XML, or as encoded by a {@link FileCodec}.
+     * @return The converted type.
+     * @since 1.38
+     */
+    public <T> T unmarshal(final Class<T> entityClass, final byte[] raw){
+        try {
+            final Unmarshaller unmarshaller = getContext(entityClass).createUnmarshaller();
+            return (T) decode(unmarshaller, raw);
+        } catch (JAXBException | IOException e) {
+            LOGGER.error("Unable to unmarshal type " + entityClass.getSimpleName(), e);
+            throw new IllegalStateException("Unable to unmarshal type " + entityClass.getSimpleName());
         }
     }
 
     public void delete(String filename){
+        if(writeBehind){
+            enqueue(filename, null);
+            return;
+        }
         File file = new File(filename);
         if(!file.delete()){
             LOGGER.error("Unable to delete the following file: " + filename);
@@ -176,6 +477,207 @@ public class FileRepositorySupport {
     }
 
 
+    /**
+     * Record a change of a file in write behind mode. The actions of a change that has not been
+     * written yet are transferred to the new change, since the new change replaces it.
+     * @param filename The name of the file.
+     * @param content The encoded content of the file, or <code>null</code> if the file is deleted.
+     */
+    private void enqueue(final String filename, final byte[] content){
+        pending.compute(filename, (key, previous) -> {
+            final Change change = new Change(content);
+            if(previous != null){
+                change.actions.addAll(previous.actions);
+            }
+            return change;
+        });
+    }
+
+    private void runActions(final String filename, final Change change){
+        for(Runnable action : change.actions){
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOGGER.error("Unable to complete an action after writing the following file: " + filename, e);
+            }
+        }
+    }
+
+    /**
+     * Write a type to a file.
+     * @param type The type that will be written.
+     * @param filename The name of the file.
+     */
+    private void write(final Object type, final String filename){
+        try {
+            final FileCodec fileCodec = getCodec();
+            final byte[] raw = fileCodec.encode(toXml(type, fileCodec.isFormatted()));
+            replace(new File(filename), output -> output.write(raw));
+        } catch (JAXBException e) {
+            LOGGER.error("Unable to parse file: " + filename, e);
+            throw new IllegalStateException("Unable to parse the following file: " + filename);
+        } catch (IOException e) {
+            LOGGER.error("Unable to write file: " + filename, e);
+            throw new IllegalStateException("Unable to write the following file: " + filename);
+        }
+    }
+
+    /**
+     * Convert a type into XML.
+     * @param type The type that will be converted.
+     * @param formatted <code>true</code> if the XML should be formatted.
+     * @return The type as UTF-8 encoded XML.
+     * @throws JAXBException If the type could not be converted.
+     */
+    private byte[] toXml(final Object type, final boolean formatted) throws JAXBException {
+        final Marshaller marshaller = getContext(type.getClass()).createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formatted);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        marshaller.marshal(type, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * Convert the content of a file into a type. The codec of the content is detected
+     * by its header.
+     * @param unmarshaller The unmarshaller that will convert the XML.
+     * @param raw The content of the file.
+     * @return The converted type.
+     * @throws JAXBException If the XML could not be converted.
+     * @throws IOException If the content could not be decoded.
+     */
+    private Object decode(final Unmarshaller unmarshaller, final byte[] raw) throws JAXBException, IOException {
+        final byte[] xml = FileCodec.detect(raw).decode(raw);
+        return unmarshaller.unmarshal(new ByteArrayInputStream(xml));
+    }
+
+    private FileCodec getCodec(){
+        return FileCodec.getCodec(codec);
+    }
+
+    /**
+     * Replace a file. The content is written to a temporary file next to the file, which
+     * is then renamed to the file. The temporary file and the directory are synchronized
+     * with the storage device according to the configured {@link FsyncPolicy}.
+     * @param file The file that will be replaced.
+     * @param content The content that will be written to the file.
+     * @throws IOException If the file could not be written.
+     */
+    private void replace(final File file, final Content content) throws IOException {
+        final File temporary = new File(file.getPath() + TEMPORARY_EXTENSION);
+        try (FileOutputStream output = new FileOutputStream(temporary)){
+            final BufferedOutputStream buffer = new BufferedOutputStream(output);
+            content.write(buffer);
+            buffer.flush();
+            if(fsyncPolicy != FsyncPolicy.NEVER){
+                output.getFD().sync();
+            }
+        }
+        try {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if(fsyncPolicy == FsyncPolicy.DIRECTORY){
+            try (FileChannel directory = FileChannel.open(file.getAbsoluteFile().getParentFile().toPath(), StandardOpenOption.READ)){
+                directory.force(true);
+            } catch (IOException e) {
+                LOGGER.debug("Unable to synchronize the directory of " + file, e);
+            }
+        }
+    }
+
+    /**
+     * List all the files of a type. Temporary files left behind by an interrupted write
+     * are deleted, since the original file is still intact.
+     * @param directory The directory that the files are stored in.
+     * @param postfix The file extension of the files.
+     * @return The files of the type.
+     */
+    private List<File> listFiles(final String directory, final String postfix){
+        this.createDirectory(FileSystems.getDefault().getPath(directory));
+        final List<File> files = new ArrayList<File>();
+        final File[] candidates = new File(directory).listFiles();
+        if(candidates == null){
+            return files;
+        }
+        for(File file : candidates){
+            if(file.isFile() && file.getName().endsWith(postfix + TEMPORARY_EXTENSION)){
+                LOGGER.warn("Deleting the following incomplete file: " + file.getName());
+                try {
+                    Files.deleteIfExists(file.toPath());
+                } catch (IOException e) {
+                    LOGGER.warn("Unable to delete the following incomplete file: " + file.getName(), e);
+                }
+            } else if(file.isFile() && file.getName().endsWith(postfix)){
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Read the header of a file.
+     * @param name The name of the file.
+     * @param xml The decoded content of the file.
+     * @param parentElement The name of the element that contains the id of the parent.
+     * @param size The size of the file.
+     * @return The header of the file.
+     * @throws XMLStreamException If the content of the file is not valid XML.
+     */
+    private FileHeader readHeader(final String name, final byte[] xml, final String parentElement,
+                                  final long size) throws XMLStreamException {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        final XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(xml));
+        String parentId = null;
+        boolean inlineBody = false;
+        final List<String> bodyHashes = new ArrayList<String>();
+        try {
+            int depth = 0;
+            while(reader.hasNext()){
+                final int event = reader.next();
+                if(event == XMLStreamConstants.END_ELEMENT){
+                    depth--;
+                } else if(event == XMLStreamConstants.START_ELEMENT){
+                    depth++;
+                    final String element = reader.getLocalName();
+                    if(depth == 2 && element.equals(parentElement)){
+                        parentId = reader.getElementText();
+                        depth--;
+                    } else if(element.equals(BODY_HASH_ELEMENT)){
+                        bodyHashes.add(reader.getElementText());
+                        depth--;
+                    } else if(element.equals(BODY_ELEMENT)){
+                        inlineBody |= !reader.getElementText().isEmpty();
+                        depth--;
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return new FileHeader(name, parentId, bodyHashes, inlineBody, size);
+    }
+
+    /**
+     * Get the JAXB context for a class. Creating a JAXB context is expensive, which is why the
+     * context is created once per class and then reused. A JAXB context is thread safe, unlike
+     * the marshallers and unmarshallers that are created from it.
+     * @param entityClass The class that the context is created for.
+     * @return The JAXB context for the provided class.
+     * @throws JAXBException If the context could not be created.
+     */
+    private JAXBContext getContext(final Class<?> entityClass) throws JAXBException {
+        JAXBContext context = contexts.get(entityClass);
+        if(context == null){
+            context = JAXBContext.newInstance(entityClass);
+            contexts.putIfAbsent(entityClass, context);
+        }
+        return context;
+    }
+
     private void createDirectory(Path path){
         if(!Files.exists(path)){
             try {
@@ -191,4 +693,46 @@ public class FileRepositorySupport {
         }
     }
 
+    /**
+     * The fsync policy decides how the written files are synchronized with the storage device.
+     * @since 1.38
+     */
+    public enum FsyncPolicy {
+        /**
+         * The files are never synchronized. The operating system decides when they are written.
+         */
+        NEVER,
+        /**
+         * Every file is synchronized before it replaces the original file.
+         */
+        FILE,
+        /**
+         * Every file is synchronized, and the directory is synchronized after the file has been replaced.
+         */
+        DIRECTORY
+    }
+
+    /**
+     * A change of a file that has not been written yet. The content is
+     * <code>null</code> if the file has been deleted.
+     */
+    private static final class Change {
+
+        private final byte[] content;
+        private final List<Runnable> actions = new CopyOnWriteArrayList<Runnable>();
+        private int attempts;
+        private long retryAt;
+
+        private Change(final byte[] content) {
+            this.content = content;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Content {
+
+        void write(OutputStream output) throws IOException;
+
+    }
+
 }
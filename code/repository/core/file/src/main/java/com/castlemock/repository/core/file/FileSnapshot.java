@@ -0,0 +1,294 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.repository.core.file;
+
+import com.google.common.base.Preconditions;
+import org.apache.log4j.Logger;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * The file snapshot contains all the types of a file repository in a single file. The snapshot
+ * is read in one pass when a repository is initialized, instead of reading and converting each
+ * file on its own. The snapshot consists of a manifest and the types. The manifest records the
+ * name, the modification time and the size of every file that a type was taken from, and a type
+ * is only used as long as its file has not been changed.
+ * <p>
+ * The snapshot starts with a header that contains a magic number, the version of the format, the
+ * type of the files, the time the snapshot was taken and the manifest. The header is followed by
+ * a checksum and a single XML document that contains the types in the same order as the manifest.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class FileSnapshot {
+
+    public static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+    private static final Logger LOGGER = Logger.getLogger(FileSnapshot.class);
+    private static final int MAGIC = 0x434D5353;
+    private static final int VERSION = 2;
+    private static final long MODIFICATION_RESOLUTION = 2000;
+    private static final String ROOT_ELEMENT = "snapshot";
+
+    private FileSnapshot(){
+
+    }
+
+    /**
+     * Read a snapshot. An empty snapshot is returned if the snapshot does not exist, if it has been
+     * written with another version of the format, if it contains another type or if it is corrupt.
+     * @param file The snapshot file.
+     * @param entityClass The class of the types in the snapshot.
+     * @param context The context that will be used to convert the types.
+     * @return The entries of the snapshot, mapped by the name of the file.
+     */
+    public static <T> Map<String, Entry<T>> read(final File file,
+                                                 final Class<T> entityClass,
+                                                 final JAXBContext context){
+        Preconditions.checkNotNull(file, "The file cannot be null");
+        final Map<String, Entry<T>> entries = new HashMap<String, Entry<T>>();
+        if(!file.isFile()){
+            return entries;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)){
+            if(channel.size() > Integer.MAX_VALUE){
+                LOGGER.warn("Ignoring the following snapshot since it is too large: " + file);
+                return entries;
+            }
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION ||
+                    !entityClass.getName().equals(readString(buffer))){
+                LOGGER.warn("Ignoring the following snapshot since it has an unknown format: " + file);
+                return entries;
+            }
+            buffer.getLong();
+            final int count = buffer.getInt();
+            final List<Entry<T>> manifest = new ArrayList<Entry<T>>(count);
+            for(int index = 0; index < count; index++){
+                manifest.add(new Entry<T>(readString(buffer), buffer.getLong(), buffer.getLong(), null));
+            }
+
+            final int checksum = buffer.getInt();
+            final ByteBuffer types = buffer.slice();
+            if(checksum != checksum(types.duplicate())){
+                LOGGER.warn("Ignoring the following snapshot since its checksum does not match: " + file);
+                return entries;
+            }
+
+            final XMLStreamReader reader = createInputFactory().createXMLStreamReader(new BufferInputStream(types));
+            try {
+                // Move past the root element
+                reader.nextTag();
+                reader.next();
+                final Unmarshaller unmarshaller = context.createUnmarshaller();
+                for(Entry<T> entry : manifest){
+                    while(reader.getEventType() != XMLStreamConstants.START_ELEMENT){
+                        if(!reader.hasNext()){
+                            throw new XMLStreamException("The snapshot is missing types");
+                        }
+                        reader.next();
+                    }
+                    final T type = unmarshaller.unmarshal(reader, entityClass).getValue();
+                    entries.put(entry.name, new Entry<T>(entry.name, entry.lastModified, entry.length, type));
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | JAXBException | XMLStreamException |
+                BufferUnderflowException | IllegalArgumentException | IllegalStateException e) {
+            LOGGER.warn("Ignoring the following snapshot since it could not be read: " + file, e);
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * Write a snapshot. Entries of files that were modified shortly before the snapshot is
+     * taken are left out, since a later change of such a file might not change its modification time.
+     * @param output The output that the snapshot will be written to.
+     * @param entityClass The class of the types in the snapshot.
+     * @param context The context that will be used to convert the types.
+     * @param entries The entries that will be written to the snapshot.
+     * @throws IOException If the snapshot could not be written.
+     */
+    public static <T> void write(final OutputStream output,
+                                 final Class<T> entityClass,
+                                 final JAXBContext context,
+                                 final Collection<Entry<T>> entries) throws IOException {
+        final long created = System.currentTimeMillis();
+        final long modifiedBefore = created - MODIFICATION_RESOLUTION;
+        final List<Entry<T>> included = entries.stream()
+                .filter(entry -> entry.lastModified < modifiedBefore)
+                .collect(Collectors.toList());
+
+        final ByteArrayOutputStream types = new ByteArrayOutputStream();
+        try {
+            final XMLStreamWriter writer = XMLOutputFactory.newInstance()
+                    .createXMLStreamWriter(types, StandardCharsets.UTF_8.name());
+            final Marshaller marshaller = context.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeStartElement(ROOT_ELEMENT);
+            for(Entry<T> entry : included){
+                marshaller.marshal(entry.type, writer);
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (JAXBException | XMLStreamException e) {
+            throw new IOException("Unable to convert the types of the snapshot", e);
+        }
+
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        writeString(data, entityClass.getName());
+        data.writeLong(created);
+        data.writeInt(included.size());
+        for(Entry<T> entry : included){
+            writeString(data, entry.name);
+            data.writeLong(entry.lastModified);
+            data.writeLong(entry.length);
+        }
+        final byte[] content = types.toByteArray();
+        data.writeInt(checksum(ByteBuffer.wrap(content)));
+        data.write(content);
+        data.flush();
+    }
+
+    private static XMLInputFactory createInputFactory(){
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static String readString(final ByteBuffer buffer){
+        final byte[] raw = new byte[buffer.getInt()];
+        buffer.get(raw);
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream data, final String value) throws IOException {
+        final byte[] raw = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(raw.length);
+        data.write(raw);
+    }
+
+    private static int checksum(final ByteBuffer content){
+        final CRC32 crc = new CRC32();
+        crc.update(content);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * An entry contains a type together with the modification time and the size
+     * of the file that it was read from.
+     */
+    public static final class Entry<T> {
+
+        private final String name;
+        private final long lastModified;
+        private final long length;
+        private final T type;
+
+        /**
+         * Create a new entry for a file.
+         * @param name The name of the file.
+         * @param lastModified The modification time of the file in milliseconds.
+         * @param length The size of the file.
+         * @param type The type that was read from the file.
+         */
+        public Entry(final String name, final long lastModified, final long length, final T type) {
+            this.name = name;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.type = type;
+        }
+
+        public T getType() {
+            return type;
+        }
+
+        /**
+         * Check if the entry can be used instead of reading the file.
+         * @param lastModified The current modification time of the file in milliseconds.
+         * @param length The current size of the file.
+         * @return <code>true</code> if the file has not been changed since the entry was taken.
+         */
+        public boolean matches(final long lastModified, final long length){
+            return this.lastModified == lastModified &&
+                    this.length == length;
+        }
+    }
+
+    /**
+     * An input stream that reads the content of a buffer.
+     */
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int offset, final int length) {
+            if(!buffer.hasRemaining()){
+                return -1;
+            }
+            final int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file;
+
+import com.castlemock.repository.Profiles;
+import com.google.common.base.Preconditions;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * The project loader loads the projects of the file repositories lazily. Only the projects themselves
+ * and the headers of the types that belong to them are loaded when the repositories are initialized.
+ * All the types of a project, such as its ports, operations and mock responses, are loaded the first
+ * time any of them is requested, and concurrent requests for the same project will only load it once.
+ * <p>
+ * Projects that have not been requested for a configurable amount of time are unloaded again as long
+ * as the total size of the loaded projects exceeds the heap budget. An unloaded project is loaded again
+ * the next time it is requested.
+ * <p>
+ * Every project has a read/write lock. The types of a project are only accessed through
+ * {@link #withProject(String, Supplier)}, which holds the read lock, while a project is only unloaded
+ * while its write lock is held. A project can therefore never be unloaded while one of its types is
+ * being read or written. The unloader skips projects that are in use rather than waiting for them.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see FileRepository
+ */
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
+@Component
+public class ProjectLoader {
+
+    @Autowired
+    private FileRepositorySupport fileRepositorySupport;
+    @Value(value = "${file.project.lazy.enabled:true}")
+    private boolean lazy;
+    @Value(value = "${file.project.unload.idle.millis:600000}")
+    private long idleMillis;
+    @Value(value = "${file.project.unload.budget.bytes:134217728}")
+    private long budgetBytes;
+
+    private final Map<Class<?>, FileRepository<?, ?, ?>> repositories = new ConcurrentHashMap<Class<?>, FileRepository<?, ?, ?>>();
+    private final Map<String, ProjectState> projects = new ConcurrentHashMap<String, ProjectState>();
+    private final AtomicLong loadedBytes = new AtomicLong();
+    private ScheduledExecutorService unloader;
+
+    private static final Logger LOGGER = Logger.getLogger(ProjectLoader.class);
+
+    /**
+     * The method starts the background unloader if the projects are loaded lazily.
+     */
+    @PostConstruct
+    public void initialize(){
+        if(isEnabled()){
+            final long interval = Math.max(1000, idleMillis / 2);
+            this.unloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "castlemock-project-unloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.unloader.scheduleWithFixedDelay(this::unload, interval, interval, TimeUnit.MILLISECONDS);
+            LOGGER.info("Loading projects lazily with a heap budget of " + budgetBytes + " bytes");
+        }
+    }
+
+    /**
+     * The method stops the background unloader.
+     */
+    @PreDestroy
+    public void destroy(){
+        if(unloader != null){
+            unloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Check if the projects are loaded lazily. The projects can only be loaded lazily if
+     * the files can be loaded one by one.
+     * @return <code>true</code> if the projects are loaded lazily.
+     * @see FileRepositorySupport#isPartialLoadingSupported()
+     */
+    public boolean isEnabled(){
+        return lazy && fileRepositorySupport.isPartialLoadingSupported();
+    }
+
+    /**
+     * Register a repository. The types of the repository are loaded per project
+     * if the repository has a parent repository.
+     * @param repository The repository that will be registered.
+     * @see FileRepository#getParentRepositoryClass()
+     */
+    void register(final FileRepository<?, ?, ?> repository){
+        repositories.put(repository.getClass(), repository);
+    }
+
+    /**
+     * Resolve the project that a type belongs to.
+     * @param repositoryClass The class of the repository of the type.
+     * @param id The id of the type.
+     * @return The id of the project, or <code>null</code> if the project could not be resolved.
+     */
+    @SuppressWarnings("unchecked")
+    String resolveProjectId(final Class<?> repositoryClass, final String id){
+        final FileRepository<?, ?, String> repository = (FileRepository<?, ?, String>) repositories.get(repositoryClass);
+        return repository != null ? repository.resolveProjectId(id) : null;
+    }
+
+    /**
+     * Perform an action on the types of a project. The project is loaded before the action is
+     * performed, and it will not be unloaded until the action has been completed.
+     * @param projectId The id of the project.
+     * @param action The action that will be performed.
+     * @param <R> The result of the action.
+     * @return The result of the action.
+     */
+    <R> R withProject(final String projectId, final Supplier<R> action){
+        Preconditions.checkNotNull(projectId, "The project id cannot be null");
+        final ProjectState state = projects.computeIfAbsent(projectId, key -> new ProjectState());
+        state.lock.readLock().lock();
+        try {
+            load(projectId, state);
+            return action.get();
+        } finally {
+            state.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Load a project. The types of the project are loaded by all the registered repositories,
+     * unless the project has already been loaded. Concurrent requests for the same project
+     * will wait for the first one to load it.
+     * @param projectId The id of the project.
+     */
+    void load(final String projectId){
+        withProject(projectId, () -> null);
+    }
+
+    private void load(final String projectId, final ProjectState state){
+        state.lastAccess = System.currentTimeMillis();
+        if(state.loaded){
+            return;
+        }
+        synchronized (state){
+            if(state.loaded){
+                return;
+            }
+            final long startTime = System.currentTimeMillis();
+            long size = 0;
+            for(FileRepository<?, ?, ?> repository : repositories.values()){
+                size += repository.loadProject(projectId);
+            }
+            state.size = size;
+            state.loaded = true;
+            loadedBytes.addAndGet(size);
+            LOGGER.debug("Loaded the project " + projectId + " (" + size + " bytes) in " +
+                    (System.currentTimeMillis() - startTime) + " ms");
+        }
+    }
+
+    /**
+     * Unload the projects that have not been requested within the idle time. The least recently
+     * requested projects are unloaded first and the unloading stops as soon as the total size of
+     * the loaded projects is within the heap budget.
+     * @return The number of projects that were unloaded.
+     */
+    public int unload(){
+        if(loadedBytes.get() <= budgetBytes){
+            return 0;
+        }
+        final long idleSince = System.currentTimeMillis() - idleMillis;
+        final List<Map.Entry<String, ProjectState>> candidates = projects.entrySet().stream()
+                .filter(entry -> entry.getValue().loaded && entry.getValue().lastAccess < idleSince)
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                .collect(Collectors.toList());
+        int unloaded = 0;
+        for(Map.Entry<String, ProjectState> candidate : candidates){
+            if(loadedBytes.get() <= budgetBytes){
+                break;
+            }
+            final ProjectState state = candidate.getValue();
+            // A project that is in use is not idle and is skipped
+            if(!state.lock.writeLock().tryLock()){
+                continue;
+            }
+            try {
+                if(!state.loaded || state.lastAccess >= idleSince){
+                    continue;
+                }
+                for(FileRepository<?, ?, ?> repository : repositories.values()){
+                    repository.unloadProject(candidate.getKey());
+                }
+                state.loaded = false;
+                loadedBytes.addAndGet(-state.size);
+                unloaded++;
+            } finally {
+                state.lock.writeLock().unlock();
+            }
+        }
+        if(unloaded > 0){
+            LOGGER.debug("Unloaded " + unloaded + " idle projects");
+        }
+        return unloaded;
+    }
+
+    /**
+     * Get the total size of the projects that are currently loaded.
+     * @return The total size of the files of the loaded projects in bytes.
+     */
+    public long getLoadedSize(){
+        return loadedBytes.get();
+    }
+
+    /**
+     * The project state keeps track of if a project is loaded,
+     * how large it is and when it was last requested.
+     */
+    private static class ProjectState {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private volatile boolean loaded;
+        private volatile long lastAccess;
+        private long size;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.repository.core.file.body;
+
+import com.castlemock.core.basis.utility.HashUtility;
+import com.castlemock.repository.Profiles;
+import com.castlemock.repository.body.BodyRepository;
+import com.castlemock.repository.core.file.FileRepositorySupport;
+import com.google.common.base.Preconditions;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * The body file repository stores each distinct body as a separate file, named after the hash of
+ * its content. The reference counts are kept in memory and are rebuilt when the referencing
+ * repositories load their entities. Every stored body is kept as a single shared instance in memory.
+ * <p>
+ * The bodies can be loaded lazily, in which case only the references are registered when the
+ * entities are loaded and a body is read from the file system the first time it is requested.
+ * Bodies that have not been requested for a configurable amount of time are unloaded again
+ * as long as the total size of the loaded bodies exceeds the heap budget.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see BodyRepository
+ */
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
+@Component("bodyRepository")
+public class BodyFileRepository implements BodyRepository {
+
+    @Autowired
+    private FileRepositorySupport fileRepositorySupport;
+    @Value(value = "${body.file.directory}")
+    private String bodyFileDirectory;
+    @Value(value = "${body.file.extension}")
+    private String bodyFileExtension;
+    @Value(value = "${body.lazy.enabled:true}")
+    private boolean lazy;
+    @Value(value = "${body.unload.idle.millis:600000}")
+    private long idleMillis;
+    @Value(value = "${body.unload.budget.bytes:67108864}")
+    private long budgetBytes;
+
+    private final Map<String, BodyReference> references = new ConcurrentHashMap<String, BodyReference>();
+    private final AtomicLong loadedBytes = new AtomicLong();
+    private ScheduledExecutorService unloader;
+
+    private static final Logger LOGGER = Logger.getLogger(BodyFileRepository.class);
+
+    /**
+     * The method starts the background unloader if the bodies are loaded lazily.
+     * @since 1.38
+     */
+    @PostConstruct
+    public void initialize(){
+        if(lazy && fileRepositorySupport.isPersistent()){
+            final long interval = Math.max(1000, idleMillis / 2);
+            this.unloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "castlemock-body-unloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.unloader.scheduleWithFixedDelay(this::unload, interval, interval, TimeUnit.MILLISECONDS);
+            LOGGER.info("Loading bodies lazily with a heap budget of " + budgetBytes + " bytes");
+        }
+    }
+
+    /**
+     * The method stops the background unloader.
+     * @since 1.38
+     */
+    @PreDestroy
+    public void destroy(){
+        if(unloader != null){
+            unloader.shutdownNow();
+        }
+    }
+
+    /**
+     * Store the provided body. A new reference is added to the stored body if an identical
+     * body has already been stored.
+     * @param body The body that will be stored.
+     * @return The hash that identifies the stored body.
+     */
+    @Override
+    public String save(final String body) {
+        Preconditions.checkNotNull(body, "The body cannot be null");
+        final String hash = HashUtility.hash(body);
+        this.references.compute(hash, (key, reference) -> {
+            if(reference == null){
+                final String filename = getFilename(hash);
+                if(!fileRepositorySupport.exists(bodyFileDirectory, filename)){
+                    fileRepositorySupport.save(bodyFileDirectory, filename, body);
+                }
+                reference = new BodyReference();
+            }
+            if(reference.body == null){
+                reference.body = body;
+                loadedBytes.addAndGet(body.length());
+            }
+            reference.lastAccess = System.currentTimeMillis();
+            reference.count++;
+            return reference;
+        });
+        return hash;
+    }
+
+    /**
+     * Add a reference to an already stored body. The method is used when an entity that
+     * references a body is loaded. The body itself is not read when the bodies are loaded lazily.
+     * @param hash The hash of the stored body.
+     * @return <code>true</code> if a body matches the provided hash.
+     */
+    @Override
+    public boolean reference(final String hash) {
+        Preconditions.checkNotNull(hash, "The hash cannot be null");
+        final BodyReference result = this.references.compute(hash, (key, reference) -> {
+            if(reference == null){
+                final String filename = getFilename(hash);
+                if(!fileRepositorySupport.exists(bodyFileDirectory, filename)){
+                    LOGGER.error("Unable to find the body with the following hash: " + hash);
+                    return null;
+                }
+                reference = new BodyReference();
+                if(!lazy){
+                    reference.body = fileRepositorySupport.load(bodyFileDirectory, filename);
+                    loadedBytes.addAndGet(reference.body.length());
+                }
+            }
+            reference.count++;
+            return reference;
+        });
+        return result != null;
+    }
+
+    /**
+     * Find a stored body. A body that has not been loaded yet, or that has been unloaded, is read
+     * from the file system. Concurrent requests for the same body will only read it once.
+     * @param hash The hash of the stored body.
+     * @return The stored body or <code>null</code> if no body matches the provided hash,
+     * or if the file of the body could not be read.
+     */
+    @Override
+    public String findOne(final String hash) {
+        Preconditions.checkNotNull(hash, "The hash cannot be null");
+        final BodyReference reference = this.references.get(hash);
+        if(reference == null){
+            return null;
+        }
+        reference.lastAccess = System.currentTimeMillis();
+        final String body = reference.body;
+        if(body != null){
+            return body;
+        }
+        final String[] loaded = new String[1];
+        this.references.computeIfPresent(hash, (key, current) -> {
+            if(current.body == null){
+                try {
+                    current.body = fileRepositorySupport.load(bodyFileDirectory, getFilename(hash));
+                } catch (IllegalStateException e){
+                    LOGGER.error("Unable to read the body with the following hash: " + hash, e);
+                    return current;
+                }
+                loadedBytes.addAndGet(current.body.length());
+            }
+            current.lastAccess = System.currentTimeMillis();
+            loaded[0] = current.body;
+            return current;
+        });
+        return loaded[0];
+    }
+
+    /**
+     * Remove a reference to a stored body. The body will be deleted when it is
+     * no longer referenced.
+     * @param hash The hash of the stored body.
+     */
+    @Override
+    public void delete(final String hash) {
+        Preconditions.checkNotNull(hash, "The hash cannot be null");
+        this.references.computeIfPresent(hash, (key, reference) -> {
+            reference.count--;
+            if(reference.count > 0){
+                return reference;
+            }
+            LOGGER.debug("Deleting the body with the following hash: " + hash);
+            fileRepositorySupport.delete(bodyFileDirectory, getFilename(hash));
+            if(reference.body != null){
+                loadedBytes.addAndGet(-reference.body.length());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Unload the bodies that have not been requested within the idle time. The least recently
+     * requested bodies are unloaded first and the unloading stops as soon as the total size of
+     * the loaded bodies is within the heap budget. An unloaded body is read from the file system
+     * again the next time it is requested.
+     * @return The number of bodies that were unloaded.
+     * @since 1.38
+     */
+    public int unload(){
+        if(loadedBytes.get() <= budgetBytes){
+            return 0;
+        }
+        final long idleSince = System.currentTimeMillis() - idleMillis;
+        final List<String> candidates = this.references.entrySet().stream()
+                .filter(entry -> entry.getValue().body != null && entry.getValue().lastAccess < idleSince)
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        int unloaded = 0;
+        for(String hash : candidates){
+            if(loadedBytes.get() <= budgetBytes){
+                break;
+            }
+            final BodyReference reference = this.references.computeIfPresent(hash, (key, current) -> {
+                if(current.body != null && current.lastAccess < idleSince){
+                    loadedBytes.addAndGet(-current.body.length());
+                    current.body = null;
+                }
+                return current;
+            });
+            if(reference != null && reference.body == null){
+                unloaded++;
+            }
+        }
+        if(unloaded > 0){
+            LOGGER.debug("Unloaded " + unloaded + " idle bodies");
+        }
+        return unloaded;
+    }
+
+    /**
+     * Get the total size of the bodies that are currently loaded.
+     * @return The number of characters of the loaded bodies.
+     * @since 1.38
+     */
+    public long getLoadedSize(){
+        return loadedBytes.get();
+    }
+
+    private String getFilename(final String hash){
+        return hash + bodyFileExtension;
+    }
+
+    /**
+     * The body reference contains the stored body and the number
+     * of entities that are currently referencing it. The body is
+     * <code>null</code> while it is not loaded.
+     */
+    private static class BodyReference {
+
+        private volatile String body;
+        private volatile long lastAccess;
+        private int count;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.repository.core.file.body;
+
+import com.castlemock.repository.body.BodyRepository;
+import org.dozer.Mapping;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlTransient;
+
+/**
+ * The body reference file is the base class for all files that carries a body. The body itself is
+ * stored in the {@link com.castlemock.repository.body.BodyRepository} and the file only contains
+ * the hash of the body. Files that were written before the body repository was introduced contain
+ * the body inline and are still readable. A file that has been bound to the body repository does
+ * not keep the body itself, but reads it from the body repository every time it is requested.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public abstract class BodyReferenceFile {
+
+    private String body;
+    private String bodyHash;
+    private transient BodyRepository bodyRepository;
+
+    @XmlTransient
+    @Mapping("body")
+    public String getBody() {
+        if(body == null && bodyHash != null && bodyRepository != null){
+            return bodyRepository.findOne(bodyHash);
+        }
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+        this.bodyRepository = null;
+    }
+
+    /**
+     * Bind the file to the body repository. The body will no longer be kept by the file
+     * and is instead read from the body repository when it is requested.
+     * @param bodyRepository The body repository that stores the body of the file.
+     * @since 1.38
+     */
+    public void bind(final BodyRepository bodyRepository) {
+        this.bodyRepository = bodyRepository;
+        this.body = null;
+    }
+
+    @XmlElement
+    public String getBodyHash() {
+        return bodyHash;
+    }
+
+    public void setBodyHash(String bodyHash) {
+        this.bodyHash = bodyHash;
+    }
+
+    @XmlElement(name = "body")
+    public String getInlineBody() {
+        return bodyHash == null ? body : null;
+    }
+
+    public void setInlineBody(String body) {
+        this.body = body;
+    }
+}
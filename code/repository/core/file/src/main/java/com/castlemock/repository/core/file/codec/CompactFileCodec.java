@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The compact codec writes unformatted XML compressed with deflate. The content starts
+ * with a magic header, which is how files written with the codec are detected.
+ * <p>
+ * The codec reduces the size of the files on disk. It does not make reading or writing
+ * a type faster, since the content is still converted with JAXB and has to be inflated
+ * or deflated as well.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class CompactFileCodec implements FileCodec {
+
+    public static final String NAME = "compact";
+
+    private static final byte[] MAGIC = {'C', 'M', 'Z', 1};
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isFormatted() {
+        return false;
+    }
+
+    @Override
+    public boolean matches(final byte[] raw) {
+        if(raw.length < MAGIC.length){
+            return false;
+        }
+        for(int index = 0; index < MAGIC.length; index++){
+            if(raw[index] != MAGIC[index]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] encode(final byte[] xml) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(xml);
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(xml.length / 4 + MAGIC.length);
+            output.write(MAGIC, 0, MAGIC.length);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while(!deflater.finished()){
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public byte[] decode(final byte[] raw) throws IOException {
+        if(!matches(raw)){
+            throw new IOException("The content has not been encoded with the compact codec");
+        }
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(raw, MAGIC.length, raw.length - MAGIC.length);
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(raw.length * 4);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while(!inflater.finished()){
+                final int inflated = inflater.inflate(buffer);
+                if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())){
+                    throw new IOException("The compressed content is incomplete");
+                }
+                output.write(buffer, 0, inflated);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("The compressed content is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file.codec;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The file codec decides how the XML of a type is encoded when it is written to a file.
+ * The codec of a file is detected when the file is read, which means that files written with
+ * different codecs can be mixed in the same directory.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public interface FileCodec {
+
+    /**
+     * The available codecs. The codecs are tried in order when the codec of a file is detected,
+     * and the XML codec accepts any content that is not accepted by another codec.
+     */
+    List<FileCodec> CODECS = Collections.unmodifiableList(Arrays.asList(new CompactFileCodec(), new XmlFileCodec()));
+
+    /**
+     * Get the name of the codec, which is used to select the codec in the configuration.
+     * @return The name of the codec.
+     */
+    String getName();
+
+    /**
+     * Check if the XML should be formatted before it is encoded.
+     * @return <code>true</code> if the XML should be formatted.
+     */
+    boolean isFormatted();
+
+    /**
+     * Check if content has been encoded with the codec.
+     * @param raw The content of a file.
+     * @return <code>true</code> if the content has been encoded with the codec.
+     */
+    boolean matches(byte[] raw);
+
+    /**
+     * Encode XML.
+     * @param xml The XML that will be encoded.
+     * @return The encoded XML.
+     * @throws IOException If the XML could not be encoded.
+     */
+    byte[] encode(byte[] xml) throws IOException;
+
+    /**
+     * Decode content that has been encoded with the codec.
+     * @param raw The encoded content.
+     * @return The decoded XML.
+     * @throws IOException If the content could not be decoded.
+     */
+    byte[] decode(byte[] raw) throws IOException;
+
+    /**
+     * Get a codec by its name.
+     * @param name The name of the codec.
+     * @return The codec with the provided name.
+     * @throws IllegalArgumentException If there is no codec with the provided name.
+     */
+    static FileCodec getCodec(final String name){
+        return CODECS.stream()
+                .filter(codec -> codec.getName().equalsIgnoreCase(name.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown file codec: " + name));
+    }
+
+    /**
+     * Detect the codec that has been used to encode content.
+     * @param raw The content of a file.
+     * @return The codec that has been used to encode the content.
+     */
+    static FileCodec detect(final byte[] raw){
+        for(FileCodec codec : CODECS){
+            if(codec.matches(raw)){
+                return codec;
+            }
+        }
+        throw new IllegalStateException("Unable to detect the codec");
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file.codec;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The file codec converter is an offline command that converts the files in a directory,
+ * and all its subdirectories, from one {@link FileCodec} to another. Only the files with the
+ * provided extensions are converted, and Castle Mock should not be running during the conversion.
+ * The XML is formatted when the files are converted to a codec that writes formatted XML,
+ * which means that converted files look the same as files written by Castle Mock.
+ * <p>
+ * Usage: FileCodecConverter &lt;directory&gt; &lt;codec&gt; &lt;extension&gt;...
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class FileCodecConverter {
+
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private FileCodecConverter(){
+
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if(args.length < 3){
+            System.err.println("Usage: FileCodecConverter <directory> <codec> <extension>...");
+            System.exit(1);
+        }
+        final FileCodec codec = FileCodec.getCodec(args[1]);
+        final List<String> extensions = Arrays.asList(Arrays.copyOfRange(args, 2, args.length));
+        final int converted = convert(Paths.get(args[0]), codec, extensions);
+        System.out.println("Converted " + converted + " files to the codec " + codec.getName());
+    }
+
+    /**
+     * Convert the files in a directory and its subdirectories.
+     * @param directory The directory that contains the files.
+     * @param codec The codec that the files will be converted to.
+     * @param extensions The extensions of the files that will be converted.
+     * @return The number of files that were converted.
+     * @throws IOException If a file could not be converted.
+     */
+    public static int convert(final Path directory, final FileCodec codec, final List<String> extensions) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)){
+            files = paths.filter(Files::isRegularFile)
+                    .filter(path -> extensions.stream().anyMatch(extension -> path.toString().endsWith(extension)))
+                    .collect(Collectors.toList());
+        }
+
+        int converted = 0;
+        for(Path file : files){
+            final byte[] raw = Files.readAllBytes(file);
+            final FileCodec current = FileCodec.detect(raw);
+            if(current.getName().equals(codec.getName())){
+                continue;
+            }
+            final byte[] xml = current.decode(raw);
+            if(!isXml(xml)){
+                System.err.println("Skipping the following file since it does not contain XML: " + file);
+                continue;
+            }
+            final Path temporary = Paths.get(file.toString() + TEMPORARY_EXTENSION);
+            Files.write(temporary, codec.encode(codec.isFormatted() && !current.isFormatted() ? format(xml) : xml));
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            converted++;
+        }
+        return converted;
+    }
+
+    /**
+     * Format XML with the same indentation as the formatted output of JAXB.
+     * @param xml The unformatted XML.
+     * @return The formatted XML.
+     * @throws IOException If the XML could not be formatted.
+     */
+    private static byte[] format(final byte[] xml) throws IOException {
+        try {
+            final TransformerFactory factory = TransformerFactory.newInstance();
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_STYLESHEET, "");
+            final Transformer transformer = factory.newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.setOutputProperty(OutputKeys.STANDALONE, "yes");
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(xml.length * 2);
+            transformer.transform(new StreamSource(new ByteArrayInputStream(xml)), new StreamResult(output));
+            return output.toByteArray();
+        } catch (TransformerException | IllegalArgumentException e) {
+            throw new IOException("Unable to format the XML", e);
+        }
+    }
+
+    private static boolean isXml(final byte[] raw){
+        for(byte value : raw){
+            if(!Character.isWhitespace(value)){
+                return value == '<';
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file.codec;
+
+/**
+ * The XML codec writes the formatted XML as is.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class XmlFileCodec implements FileCodec {
+
+    public static final String NAME = "xml";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isFormatted() {
+        return true;
+    }
+
+    @Override
+    public boolean matches(final byte[] raw) {
+        return true;
+    }
+
+    @Override
+    public byte[] encode(final byte[] xml) {
+        return xml;
+    }
+
+    @Override
+    public byte[] decode(final byte[] raw) {
+        return raw;
+    }
+}
@@ -43,7 +43,7 @@ import java.util.List;
  * @since 1.0
  */
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class ConfigurationFileRepository extends FileRepository<ConfigurationFileRepository.ConfigurationGroupFile, ConfigurationGroup, String> implements ConfigurationRepository {
 
     @Value(value = "${configuration.file.directory}")
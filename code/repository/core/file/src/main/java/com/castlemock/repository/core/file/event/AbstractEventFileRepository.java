@@ -1,14 +1,407 @@
 package com.castlemock.repository.core.file.event;
 
 import com.castlemock.core.basis.model.Saveable;
+import com.castlemock.core.basis.model.event.domain.EventCursor;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.repository.core.file.FileRepository;
+import com.castlemock.repository.core.file.FileRepositorySupport;
+import com.castlemock.repository.core.file.body.BodyReferenceFile;
+import com.castlemock.repository.event.EventRepository;
+import org.apache.log4j.Logger;
 import org.dozer.Mapping;
+import org.springframework.beans.factory.annotation.Value;
 
+import javax.annotation.PreDestroy;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
-public abstract class AbstractEventFileRepository<T extends AbstractEventFileRepository.EventFile, D> extends FileRepository<T, D, String> {
+/**
+ * The abstract event file repository stores the events in append-only segment files instead of
+ * one file per event. The events are kept in memory and indexed on their start date, project,
+ * application and operation. The request and response bodies of an event are stored in the
+ * {@link com.castlemock.repository.body.BodyRepository} and the segments only contain references
+ * to them. Events that were stored as separate files are moved into the segments upon initialization.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see EventSegmentStore
+ */
+public abstract class AbstractEventFileRepository<T extends AbstractEventFileRepository.EventFile, D> extends FileRepository<T, D, String> implements EventRepository<D> {
+
+    private static final Logger LOGGER = Logger.getLogger(AbstractEventFileRepository.class);
+
+    @Value(value = "${event.file.segment.size:4194304}")
+    private long segmentSize;
+
+    private EventSegmentStore store;
+
+    /**
+     * The timeline contains the ids of all the events ordered by their start date,
+     * with the newest event first. It is used to query the events page by page.
+     */
+    private final NavigableMap<EventCursor, String> timeline = new ConcurrentSkipListMap<EventCursor, String>();
+
+    /**
+     * The secondary indexes map a project, application or operation id to the ids of its events.
+     * The events are ordered in the same way as in the timeline, which means that the latest events
+     * for a specific operation can be retrieved without traversing the events of other operations.
+     */
+    private final Map<String, NavigableMap<EventCursor, String>> projectIndex =
+            new ConcurrentHashMap<String, NavigableMap<EventCursor, String>>();
+    private final Map<String, NavigableMap<EventCursor, String>> applicationIndex =
+            new ConcurrentHashMap<String, NavigableMap<EventCursor, String>>();
+    private final Map<String, NavigableMap<EventCursor, String>> operationIndex =
+            new ConcurrentHashMap<String, NavigableMap<EventCursor, String>>();
+
+    /**
+     * The initialize method is responsible for initiating the file repository. The events
+     * are indexed once they have been loaded from the file system.
+     */
+    @Override
+    public void initialize(){
+        super.initialize();
+        for(T event : collection.values()){
+            index(event);
+        }
+    }
+
+    /**
+     * The method closes the event segments.
+     */
+    @PreDestroy
+    public void destroy(){
+        if(store != null){
+            store.close();
+        }
+    }
+
+    /**
+     * The method loads the events from the event segments and registers the bodies that they reference.
+     * Events that are still stored as separate files are appended to the segments and their files are
+     * deleted afterwards. The events are only kept in memory if the {@link FileRepositorySupport} is not persistent.
+     * @return A collection with all the stored events.
+     */
+    @Override
+    protected Collection<T> loadFiles(){
+        if(!fileRepositorySupport.isPersistent()){
+            return Collections.emptyList();
+        }
+        this.store = new EventSegmentStore(new File(getFileDirectory()), segmentSize);
+        final Map<String, T> events = new LinkedHashMap<String, T>();
+        for(Map.Entry<String, byte[]> record : store.open().entrySet()){
+            final T event;
+            try {
+                event = fileRepositorySupport.unmarshal(getEntityClass(), record.getValue());
+            } catch (IllegalStateException e) {
+                LOGGER.error("Unable to load the event " + record.getKey(), e);
+                continue;
+            }
+            // Events with inline bodies are written again with references to the body repository
+            final boolean inline = hasInlineBody(event);
+            if(!referenceBodies(event) || inline){
+                writeFile(event);
+            }
+            events.put(record.getKey(), event);
+        }
+        for(T event : migrate()){
+            // An event file that could not be deleted is migrated again and replaces its previous record
+            releaseBodies(events.put(event.getId(), event));
+        }
+        return events.values();
+    }
+
+    /**
+     * The method writes an event to the active event segment. The bodies of the
+     * event have already been stored in the body repository.
+     * @param type The event that will be written.
+     */
+    @Override
+    protected void writeFile(final T type){
+        if(store != null){
+            store.put(type.getId(), fileRepositorySupport.marshal(type));
+        }
+    }
+
+    /**
+     * The method appends a deletion of an event to the active event segment.
+     * @param id The id of the event that will be removed.
+     */
+    @Override
+    protected void erase(final String id){
+        if(store != null){
+            store.delete(id);
+        }
+    }
+
+    /**
+     * The method removes all the events and truncates the event segments. The references
+     * to the bodies of the removed events are released.
+     * @since 1.38
+     */
+    protected void clear(){
+        if(store != null){
+            store.clear();
+        }
+        for(T event : collection.values()){
+            releaseBodies(event);
+        }
+        collection.clear();
+        timeline.clear();
+        projectIndex.clear();
+        applicationIndex.clear();
+        operationIndex.clear();
+    }
+
+    /**
+     * Find a page of event summaries that match the provided query. The events are traversed
+     * from the newest to the oldest, starting from the cursor or the end of the time range
+     * of the query, and the traversal stops as soon as a full page has been found or the
+     * beginning of the time range has been reached. The most selective index is used for
+     * the traversal, so only the events of the requested operation, application or project
+     * will be traversed.
+     * @param query The query that the events have to match.
+     * @return A list with the event summaries that match the query.
+     * @since 1.38
+     */
+    @Override
+    public List<EventSummary> findSummaries(final EventQuery query){
+        EventCursor start = null;
+        boolean inclusive = true;
+        if(query.getTo() != null){
+            start = new EventCursor(query.getTo().getTime(), null);
+        }
+        if(query.getCursor() != null && (start == null || query.getCursor().compareTo(start) > 0)){
+            start = query.getCursor();
+            inclusive = false;
+        }
+
+        final NavigableMap<EventCursor, String> index = getIndex(query);
+        final NavigableMap<EventCursor, String> events = start == null ? index : index.tailMap(start, inclusive);
+        final List<EventSummary> summaries = new ArrayList<EventSummary>();
+        for(String id : events.values()){
+            final T event = collection.get(id);
+            if(event == null){
+                continue;
+            }
+            if(query.getFrom() != null && event.getStartDate().before(query.getFrom())){
+                break;
+            }
+            final EventSummary summary = toSummary(event);
+            if(query.matches(summary)){
+                summaries.add(summary);
+                if(summaries.size() >= query.getLimit()){
+                    break;
+                }
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * The method updates the indexes with a stored event.
+     * @param previous The previous version of the event, or null if the event is new.
+     * @param stored The event that was stored.
+     */
+    @Override
+    protected void onStored(final T previous, final T stored){
+        if(previous != null){
+            unindex(previous);
+        }
+        index(stored);
+    }
+
+    /**
+     * The method removes a deleted event from the indexes.
+     * @param deleted The event that was deleted.
+     */
+    @Override
+    protected void onDeleted(final T deleted){
+        unindex(deleted);
+    }
+
+    /**
+     * Find all the events that belong to a specific operation.
+     * @param operationId The id of the REST method or SOAP operation.
+     * @return The events that belong to the operation, ordered with the newest event first.
+     * @since 1.38
+     */
+    protected List<T> findByOperationId(final String operationId){
+        final NavigableMap<EventCursor, String> events = operationIndex.get(operationId);
+        if(events == null){
+            return Collections.emptyList();
+        }
+        final List<T> result = new ArrayList<T>();
+        for(String id : events.values()){
+            final T event = collection.get(id);
+            if(event != null){
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find the oldest event in the repository.
+     * @return The oldest event, or <code>null</code> if the repository does not contain any events.
+     * @since 1.38
+     */
+    protected T findOldest(){
+        Map.Entry<EventCursor, String> entry = timeline.lastEntry();
+        while(entry != null){
+            final T event = collection.get(entry.getValue());
+            if(event != null){
+                return event;
+            }
+            entry = timeline.lowerEntry(entry.getKey());
+        }
+        return null;
+    }
+
+    /**
+     * Move the events that are stored as separate files into the event segments. The references
+     * to the bodies of the events are registered and kept in the segments, while references to
+     * missing bodies are removed.
+     * @return The events that were moved into the segments.
+     */
+    private Collection<T> migrate(){
+        final Collection<T> events = fileRepositorySupport.load(getEntityClass(), getFileDirectory(), getFileExtension());
+        for(T event : events){
+            referenceBodies(event);
+            writeFile(event);
+            try {
+                fileRepositorySupport.delete(getFileDirectory(), event.getId() + getFileExtension());
+            } catch (IllegalStateException e) {
+                LOGGER.warn("Unable to delete the migrated event file for the event " + event.getId());
+            }
+        }
+        if(!events.isEmpty()){
+            LOGGER.info("Moved " + events.size() + " events into the event segments in " + getFileDirectory());
+        }
+        return events;
+    }
+
+    private boolean hasInlineBody(final T event){
+        for(BodyReferenceFile reference : getBodyReferences(event)){
+            if(reference.getBodyHash() == null && reference.getBody() != null){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Release the references to the bodies of an event.
+     * @param event The event that no longer references its bodies.
+     */
+    private void releaseBodies(final T event){
+        if(event == null){
+            return;
+        }
+        for(BodyReferenceFile reference : getBodyReferences(event)){
+            if(reference.getBodyHash() != null){
+                bodyRepository.delete(reference.getBodyHash());
+            }
+        }
+    }
+
+    /**
+     * Get the most selective index for a query.
+     * @param query The query that will be executed.
+     * @return The index that contains the fewest events that could match the query.
+     */
+    private NavigableMap<EventCursor, String> getIndex(final EventQuery query){
+        final NavigableMap<EventCursor, String> index;
+        if(query.getOperationId() != null){
+            index = operationIndex.get(query.getOperationId());
+        } else if(query.getApplicationId() != null){
+            index = applicationIndex.get(query.getApplicationId());
+        } else if(query.getProjectId() != null){
+            index = projectIndex.get(query.getProjectId());
+        } else {
+            index = timeline;
+        }
+        return index == null ? Collections.emptyNavigableMap() : index;
+    }
+
+    private void index(final T event){
+        final EventCursor cursor = EventCursor.of(event.getStartDate(), event.getId());
+        final EventSummary summary = toSummary(event);
+        timeline.put(cursor, event.getId());
+        index(projectIndex, summary.getProjectId(), cursor, event.getId());
+        index(applicationIndex, summary.getApplicationId(), cursor, event.getId());
+        index(operationIndex, summary.getOperationId(), cursor, event.getId());
+    }
+
+    private void unindex(final T event){
+        final EventCursor cursor = EventCursor.of(event.getStartDate(), event.getId());
+        final EventSummary summary = toSummary(event);
+        timeline.remove(cursor);
+        unindex(projectIndex, summary.getProjectId(), cursor);
+        unindex(applicationIndex, summary.getApplicationId(), cursor);
+        unindex(operationIndex, summary.getOperationId(), cursor);
+    }
+
+    private static void index(final Map<String, NavigableMap<EventCursor, String>> index,
+                              final String key,
+                              final EventCursor cursor,
+                              final String id){
+        if(key == null){
+            return;
+        }
+        index.compute(key, (k, events) -> {
+            final NavigableMap<EventCursor, String> result = events == null ?
+                    new ConcurrentSkipListMap<EventCursor, String>() : events;
+            result.put(cursor, id);
+            return result;
+        });
+    }
+
+    private static void unindex(final Map<String, NavigableMap<EventCursor, String>> index,
+                                final String key,
+                                final EventCursor cursor){
+        if(key == null){
+            return;
+        }
+        index.computeIfPresent(key, (k, events) -> {
+            events.remove(cursor);
+            return events.isEmpty() ? null : events;
+        });
+    }
+
+    /**
+     * Create a summary of an event. The summary should not contain any bodies and
+     * it should be created without mapping the whole event.
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    protected abstract EventSummary toSummary(T event);
+
+    /**
+     * Create a summary that contains the common values of all the events.
+     * @param event The event that the summary will be based on.
+     * @return A summary that contains the id, resource name and dates of the event.
+     * @since 1.38
+     */
+    protected EventSummary createSummary(final T event){
+        final EventSummary summary = new EventSummary();
+        summary.setId(event.getId());
+        summary.setResourceName(event.getResourceName());
+        summary.setStartDate(event.getStartDate());
+        summary.setEndDate(event.getEndDate());
+        return summary;
+    }
 
     @XmlRootElement(name = "event")
     public static abstract class EventFile implements Saveable<String> {
@@ -21,6 +414,8 @@ public abstract class AbstractEventFileRepository<T extends AbstractEventFileRep
         private Date startDate;
         @Mapping("endDate")
         private Date endDate;
+        @Mapping("timings")
+        private EventTimingsFile timings;
 
         public EventFile() {
         }
@@ -62,6 +457,96 @@ public abstract class AbstractEventFileRepository<T extends AbstractEventFileRep
         public void setEndDate(Date endDate) {
             this.endDate = endDate;
         }
+
+        @XmlElement
+        public EventTimingsFile getTimings() {
+            return timings;
+        }
+
+        public void setTimings(EventTimingsFile timings) {
+            this.timings = timings;
+        }
+    }
+
+    @XmlRootElement(name = "timings")
+    public static class EventTimingsFile {
+        @Mapping("readTime")
+        private long readTime;
+        @Mapping("identifyTime")
+        private long identifyTime;
+        @Mapping("selectTime")
+        private long selectTime;
+        @Mapping("renderTime")
+        private long renderTime;
+        @Mapping("forwardTime")
+        private long forwardTime;
+        @Mapping("delayTime")
+        private long delayTime;
+        @Mapping("writeTime")
+        private long writeTime;
+
+        @XmlElement
+        public long getReadTime() {
+            return readTime;
+        }
+
+        public void setReadTime(long readTime) {
+            this.readTime = readTime;
+        }
+
+        @XmlElement
+        public long getIdentifyTime() {
+            return identifyTime;
+        }
+
+        public void setIdentifyTime(long identifyTime) {
+            this.identifyTime = identifyTime;
+        }
+
+        @XmlElement
+        public long getSelectTime() {
+            return selectTime;
+        }
+
+        public void setSelectTime(long selectTime) {
+            this.selectTime = selectTime;
+        }
+
+        @XmlElement
+        public long getRenderTime() {
+            return renderTime;
+        }
+
+        public void setRenderTime(long renderTime) {
+            this.renderTime = renderTime;
+        }
+
+        @XmlElement
+        public long getForwardTime() {
+            return forwardTime;
+        }
+
+        public void setForwardTime(long forwardTime) {
+            this.forwardTime = forwardTime;
+        }
+
+        @XmlElement
+        public long getDelayTime() {
+            return delayTime;
+        }
+
+        public void setDelayTime(long delayTime) {
+            this.delayTime = delayTime;
+        }
+
+        @XmlElement
+        public long getWriteTime() {
+            return writeTime;
+        }
+
+        public void setWriteTime(long writeTime) {
+            this.writeTime = writeTime;
+        }
     }
 
 }
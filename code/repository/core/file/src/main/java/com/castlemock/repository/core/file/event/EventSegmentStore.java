@@ -0,0 +1,499 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file.event;
+
+import com.google.common.base.Preconditions;
+import org.apache.log4j.Logger;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The event segment store persists events in append-only segment files. Every saved or deleted
+ * event is appended as a record to the active segment, and a new segment is started once the
+ * active segment has reached the configured size. The payload of each record is compressed on
+ * its own, which means that a record can be read without reading the rest of the segment.
+ * <p>
+ * The store keeps an in-memory index that maps the id of every stored event to the segment
+ * that contains its latest record. A segment is deleted as a whole once neither it nor any
+ * older segment contains a live event. The segments are always dropped from the oldest one,
+ * which guarantees that a deleted event can never be restored from an older segment.
+ * <p>
+ * A record is written with a single write and it contains a checksum. A record at the end of
+ * the latest segment that is incomplete or corrupt, which is the result of an interrupted write,
+ * is truncated when the store is opened.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class EventSegmentStore implements Closeable {
+
+    public static final String SEGMENT_EXTENSION = ".segment";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    private static final Logger LOGGER = Logger.getLogger(EventSegmentStore.class);
+    private static final int MAGIC = 0x434D4553;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 8;
+    private static final int RECORD_HEADER_LENGTH = 8;
+    private static final int MAX_RECORD_LENGTH = 256 * 1024 * 1024;
+    private static final byte PUT = 'P';
+    private static final byte DELETE = 'D';
+
+    private final File directory;
+    private final long segmentSize;
+    private final NavigableMap<Long, Segment> segments = new TreeMap<Long, Segment>();
+    private final Map<String, Segment> index = new HashMap<String, Segment>();
+    private Segment active;
+    private FileChannel channel;
+
+    /**
+     * Create a new event segment store.
+     * @param directory The directory that the segments are stored in.
+     * @param segmentSize The size in bytes that a segment is allowed to reach before a new segment is started.
+     */
+    public EventSegmentStore(final File directory, final long segmentSize) {
+        Preconditions.checkNotNull(directory, "The directory cannot be null");
+        Preconditions.checkArgument(segmentSize > 0, "The segment size has to be positive");
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Open the store and read all the segments. The latest segment will be recovered
+     * if it ends with an incomplete or corrupt record.
+     * @return The payloads of all the live events, in the order that they were saved.
+     */
+    public synchronized Map<String, byte[]> open(){
+        if(!directory.isDirectory() && !directory.mkdirs()){
+            throw new IllegalStateException("Unable to create the following directory: " + directory);
+        }
+        final File[] temporaryFiles = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_EXTENSION + TEMPORARY_EXTENSION));
+        for(File file : temporaryFiles == null ? new File[0] : temporaryFiles){
+            LOGGER.warn("Deleting the following incomplete event segment: " + file.getName());
+            if(!file.delete()){
+                LOGGER.warn("Unable to delete the following incomplete event segment: " + file.getName());
+            }
+        }
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_EXTENSION));
+        final List<Segment> found = new ArrayList<Segment>();
+        for(File file : files == null ? new File[0] : files){
+            final String name = file.getName();
+            try {
+                found.add(new Segment(Long.parseLong(name.substring(0, name.length() - SEGMENT_EXTENSION.length())), file));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring the following file in the event directory: " + name);
+            }
+        }
+        found.sort(Comparator.comparingLong(segment -> segment.sequence));
+
+        final Map<String, byte[]> records = new LinkedHashMap<String, byte[]>();
+        for(int position = 0; position < found.size(); position++){
+            final Segment segment = found.get(position);
+            segments.put(segment.sequence, segment);
+            read(segment, records, position == found.size() - 1);
+        }
+
+        if(segments.isEmpty()){
+            active = create(1);
+        } else {
+            active = segments.lastEntry().getValue();
+            channel = openChannel(active);
+        }
+        drop();
+        LOGGER.debug("Loaded " + records.size() + " events from " + segments.size() + " segments in " + directory);
+        return records;
+    }
+
+    /**
+     * Append a record for a saved event.
+     * @param id The id of the event.
+     * @param payload The serialized event.
+     */
+    public synchronized void put(final String id, final byte[] payload){
+        Preconditions.checkNotNull(id, "The id cannot be null");
+        Preconditions.checkNotNull(payload, "The payload cannot be null");
+        append(PUT, id, payload);
+        release(index.put(id, active));
+        active.live++;
+        drop();
+    }
+
+    /**
+     * Append a record for a deleted event.
+     * @param id The id of the event that has been deleted.
+     */
+    public synchronized void delete(final String id){
+        final Segment segment = index.remove(id);
+        if(segment == null){
+            return;
+        }
+        append(DELETE, id, null);
+        release(segment);
+        drop();
+    }
+
+    /**
+     * Remove all the events. All the segments except the active one are deleted,
+     * and the active segment is truncated.
+     */
+    public synchronized void clear(){
+        index.clear();
+        for(Segment segment : new ArrayList<Segment>(segments.values())){
+            if(segment != active){
+                deleteSegment(segment);
+            }
+        }
+        try {
+            channel.truncate(HEADER_LENGTH);
+            active.live = 0;
+            active.size = HEADER_LENGTH;
+        } catch (IOException e) {
+            LOGGER.error("Unable to truncate the event segment " + active.file, e);
+            throw new IllegalStateException("Unable to truncate the event segment " + active.file);
+        }
+    }
+
+    /**
+     * Get the number of segments that are currently stored.
+     * @return The number of segments.
+     */
+    public synchronized int getSegmentCount(){
+        return segments.size();
+    }
+
+    /**
+     * Close the active segment.
+     */
+    @Override
+    public synchronized void close(){
+        if(channel == null){
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.error("Unable to close the event segment " + active.file, e);
+        } finally {
+            channel = null;
+        }
+    }
+
+    /**
+     * Read all the records in a segment. A segment that ends with an incomplete or
+     * corrupt record is truncated after the last valid record, but only if it is the
+     * latest segment. Older segments are never modified.
+     */
+    private void read(final Segment segment, final Map<String, byte[]> records, final boolean latest){
+        long offset = 0;
+        long length = segment.file.length();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(segment.file)))){
+            if(length < HEADER_LENGTH || input.readInt() != MAGIC || input.readInt() != VERSION){
+                LOGGER.warn("The event segment " + segment.file + " has an invalid header");
+                if(latest){
+                    reset(segment);
+                } else {
+                    segment.unreadable = true;
+                }
+                return;
+            }
+            offset = HEADER_LENGTH;
+            while(offset < length){
+                final Record record = readRecord(input, length - offset);
+                if(record == null){
+                    break;
+                }
+                offset += RECORD_HEADER_LENGTH + record.length;
+                if(record.type == PUT){
+                    records.remove(record.id);
+                    records.put(record.id, record.payload);
+                    release(index.put(record.id, segment));
+                    segment.live++;
+                } else {
+                    records.remove(record.id);
+                    release(index.remove(record.id));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to read the event segment " + segment.file, e);
+        }
+        segment.size = Math.max(offset, HEADER_LENGTH);
+        if(offset < length){
+            LOGGER.warn("The event segment " + segment.file + " contains " + (length - offset) +
+                    " bytes that could not be read");
+            if(latest){
+                truncate(segment, offset);
+            } else {
+                segment.unreadable = true;
+            }
+        }
+    }
+
+    private Record readRecord(final DataInputStream input, final long remaining) throws IOException {
+        if(remaining < RECORD_HEADER_LENGTH){
+            return null;
+        }
+        final int length = input.readInt();
+        final int checksum = input.readInt();
+        if(length <= 0 || length > MAX_RECORD_LENGTH || length > remaining - RECORD_HEADER_LENGTH){
+            return null;
+        }
+        final byte[] data = new byte[length];
+        input.readFully(data);
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        if((int) crc.getValue() != checksum){
+            return null;
+        }
+        try (DataInputStream recordInput = new DataInputStream(new ByteArrayInputStream(data))){
+            final byte type = recordInput.readByte();
+            final String id = recordInput.readUTF();
+            if(type == PUT){
+                final int payloadLength = recordInput.readInt();
+                final byte[] compressed = new byte[recordInput.available()];
+                recordInput.readFully(compressed);
+                return new Record(type, id, inflate(compressed, payloadLength), length);
+            } else if(type == DELETE){
+                return new Record(type, id, null, length);
+            }
+            return null;
+        } catch (DataFormatException e) {
+            LOGGER.error("Unable to decompress an event record", e);
+            return null;
+        }
+    }
+
+    private void append(final byte type, final String id, final byte[] payload){
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(data)){
+            output.writeByte(type);
+            output.writeUTF(id);
+            if(payload != null){
+                output.writeInt(payload.length);
+                output.write(deflate(payload));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize the event record", e);
+        }
+        final byte[] bytes = data.toByteArray();
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_LENGTH + bytes.length);
+        buffer.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+
+        if(active.size > HEADER_LENGTH && active.size + buffer.remaining() > segmentSize){
+            close();
+            active = create(active.sequence + 1);
+        }
+        try {
+            while(buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+            active.size += RECORD_HEADER_LENGTH + bytes.length;
+        } catch (IOException e) {
+            LOGGER.error("Unable to write to the event segment " + active.file, e);
+            throw new IllegalStateException("Unable to write to the event segment " + active.file);
+        }
+    }
+
+    /**
+     * Delete the oldest segments as long as they don't contain any live events.
+     * The active segment is never deleted. The active segment is synchronized with
+     * the storage device before a segment is deleted, since the records that replaced
+     * the events in the deleted segment could otherwise be lost.
+     */
+    private void drop(){
+        boolean forced = false;
+        while(!segments.isEmpty()){
+            final Segment oldest = segments.firstEntry().getValue();
+            if(oldest == active || oldest.live > 0){
+                return;
+            }
+            if(!forced){
+                force();
+                forced = true;
+            }
+            if(oldest.unreadable){
+                LOGGER.error("Deleting the event segment " + oldest.file + ", which contains records that could not be read");
+            }
+            deleteSegment(oldest);
+        }
+    }
+
+    private void force(){
+        if(channel == null){
+            return;
+        }
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            LOGGER.error("Unable to synchronize the event segment " + active.file, e);
+            throw new IllegalStateException("Unable to synchronize the event segment " + active.file);
+        }
+    }
+
+    private void release(final Segment segment){
+        if(segment != null){
+            segment.live--;
+        }
+    }
+
+    private Segment create(final long sequence){
+        final Segment segment = new Segment(sequence, new File(directory, String.format("%020d", sequence) + SEGMENT_EXTENSION));
+        segments.put(sequence, segment);
+        reset(segment);
+        channel = openChannel(segment);
+        return segment;
+    }
+
+    /**
+     * Replace a segment with an empty segment. The header is written to a temporary file,
+     * which is synchronized with the storage device and then renamed to the segment.
+     */
+    private void reset(final Segment segment){
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        final File temporary = new File(segment.file.getPath() + TEMPORARY_EXTENSION);
+        try {
+            try (FileChannel output = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+                while(header.hasRemaining()){
+                    output.write(header);
+                }
+                output.force(true);
+            }
+            try {
+                Files.move(temporary.toPath(), segment.file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary.toPath(), segment.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to create the event segment " + segment.file, e);
+            throw new IllegalStateException("Unable to create the event segment " + segment.file);
+        }
+        segment.size = HEADER_LENGTH;
+    }
+
+    private void truncate(final Segment segment, final long offset){
+        try (FileChannel output = FileChannel.open(segment.file.toPath(), StandardOpenOption.WRITE)){
+            output.truncate(offset);
+            LOGGER.info("Recovered the event segment " + segment.file + " by truncating it at " + offset + " bytes");
+        } catch (IOException e) {
+            LOGGER.error("Unable to recover the event segment " + segment.file, e);
+            throw new IllegalStateException("Unable to recover the event segment " + segment.file);
+        }
+    }
+
+    private FileChannel openChannel(final Segment segment){
+        try {
+            return FileChannel.open(segment.file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOGGER.error("Unable to open the event segment " + segment.file, e);
+            throw new IllegalStateException("Unable to open the event segment " + segment.file);
+        }
+    }
+
+    private void deleteSegment(final Segment segment){
+        segments.remove(segment.sequence);
+        try {
+            Files.deleteIfExists(segment.file.toPath());
+            LOGGER.debug("Deleted the event segment " + segment.file);
+        } catch (IOException e) {
+            LOGGER.error("Unable to delete the event segment " + segment.file, e);
+        }
+    }
+
+    private static byte[] deflate(final byte[] payload){
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, payload.length / 4));
+            final byte[] buffer = new byte[8192];
+            while(!deflater.finished()){
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(final byte[] compressed, final int length) throws DataFormatException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            final byte[] payload = new byte[length];
+            int offset = 0;
+            while(offset < length && !inflater.finished()){
+                final int inflated = inflater.inflate(payload, offset, length - offset);
+                if(inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())){
+                    throw new DataFormatException("The event record is incomplete");
+                }
+                offset += inflated;
+            }
+            if(offset != length){
+                throw new DataFormatException("The event record has an invalid length");
+            }
+            return payload;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * A segment file and the number of live events that it contains.
+     */
+    private static final class Segment {
+
+        private final long sequence;
+        private final File file;
+        private long size;
+        private int live;
+        private boolean unreadable;
+
+        private Segment(final long sequence, final File file) {
+            this.sequence = sequence;
+            this.file = file;
+        }
+    }
+
+    private static final class Record {
+
+        private final byte type;
+        private final String id;
+        private final byte[] payload;
+        private final int length;
+
+        private Record(final byte type, final String id, final byte[] payload, final int length) {
+            this.type = type;
+            this.id = id;
+            this.payload = payload;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file.memory;
+
+import com.castlemock.repository.Profiles;
+import com.castlemock.repository.core.file.FileRepositorySupport;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The memory repository support replaces the {@link FileRepositorySupport} in the memory profile.
+ * The file repositories keep all their types in memory, and in the memory profile nothing is
+ * written to or read from the file system. Every repository starts out empty, and the raw files
+ * that are written by the repositories, such as SOAP resources, are only kept in memory.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@Primary
+@Component
+@Profile(Profiles.MEMORY)
+public class MemoryRepositorySupport extends FileRepositorySupport {
+
+    private final Map<String, String> files = new ConcurrentHashMap<String, String>();
+
+    @Override
+    public boolean isPersistent() {
+        return false;
+    }
+
+    @Override
+    public boolean isPartialLoadingSupported() {
+        return false;
+    }
+
+    @Override
+    public <T> Collection<T> load(final Class<T> entityClass, final String directory, final String postfix) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public <T> Collection<T> loadSnapshot(final Class<T> entityClass, final String directory, final String postfix) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public <T> void save(final T type, final String filename) {
+        // The types are only kept in memory by the repositories
+    }
+
+    @Override
+    public void delete(final String filename) {
+        // The types are only kept in memory by the repositories
+    }
+
+    @Override
+    public boolean exists(final String directory, final String filename) {
+        return files.containsKey(getPath(directory, filename));
+    }
+
+    @Override
+    public String load(final String directory, final String filename) {
+        final String data = files.get(getPath(directory, filename));
+        if(data == null){
+            throw new IllegalStateException("Unable to find the following file: " + filename);
+        }
+        return data;
+    }
+
+    @Override
+    public void save(final String directory, final String filename, final String data) {
+        files.put(getPath(directory, filename), data);
+    }
+
+    @Override
+    public void delete(final String directory, final String filename) {
+        files.remove(getPath(directory, filename));
+    }
+
+    @Override
+    public void moveAllFiles(final String oldDirectory, final String newDirectory, final String postfix) {
+        // There are no files to move
+    }
+
+    private static String getPath(final String directory, final String filename){
+        return new File(directory, filename).getPath();
+    }
+}
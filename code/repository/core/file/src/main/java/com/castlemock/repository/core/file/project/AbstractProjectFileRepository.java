@@ -10,6 +10,18 @@ import java.util.Date;
 
 public abstract class AbstractProjectFileRepository<T extends AbstractProjectFileRepository.ProjectFile, D> extends FileRepository<T, D, String> {
 
+    /**
+     * The projects are the roots of the types that are loaded per project. The projects
+     * themselves are always loaded, which is why a project belongs to itself.
+     * @param id The id of the project.
+     * @return The id of the project, or <code>null</code> if the project does not exist.
+     * @since 1.38
+     */
+    @Override
+    protected String resolveProjectId(final String id) {
+        return exists(id) ? id : null;
+    }
+
     @XmlRootElement(name = "project")
     public static abstract class ProjectFile implements Saveable<String> {
 
@@ -28,6 +40,9 @@ public abstract class AbstractProjectFileRepository<T extends AbstractProjectFil
         @Mapping("created")
         private Date created;
 
+        @Mapping("eventPolicy")
+        private EventPolicyFile eventPolicy;
+
         @XmlElement
         @Override
         public String getId() {
@@ -75,6 +90,15 @@ public abstract class AbstractProjectFileRepository<T extends AbstractProjectFil
             this.created = created;
         }
 
+        @XmlElement
+        public EventPolicyFile getEventPolicy() {
+            return eventPolicy;
+        }
+
+        public void setEventPolicy(EventPolicyFile eventPolicy) {
+            this.eventPolicy = eventPolicy;
+        }
+
     }
 
 
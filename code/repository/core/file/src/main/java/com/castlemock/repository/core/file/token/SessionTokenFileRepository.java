@@ -1,14 +1,17 @@
 package com.castlemock.repository.core.file.token;
 
 import com.castlemock.repository.Profiles;
+import com.castlemock.repository.core.file.FileRepositorySupport;
 import com.castlemock.repository.token.SessionTokenRepository;
 import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
@@ -16,41 +19,106 @@ import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlSeeAlso;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.Writer;
-import java.nio.file.FileSystems;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The session token repository is responsible for managing all the ongoing sessions and their corresponding
  * tokens. The repository is also responsible for providing the functionality to both save and load all the
  * tokens to and from the local file system.
+ * <p>
+ * The tokens are kept in memory and every change is appended to a journal file next to the token file.
+ * The journal is compacted into the token file once it has reached a configurable number of entries,
+ * which means that a login only has to append a single line instead of rewriting all the tokens.
+ * The tokens are indexed on their username, and expired tokens are removed in the background.
+ * The tokens are only kept in memory if the {@link FileRepositorySupport} is not persistent.
  * @author Karl Dahlgren
  * @since 1.0
  * @see SessionToken
  * @see SessionTokenList
  */
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 @Component("tokenRepository")
 public class SessionTokenFileRepository implements SessionTokenRepository {
 
+    @Autowired
+    private FileRepositorySupport fileRepositorySupport;
     @Value(value = "${token.file.directory}")
     private String tokenDirectory;
     @Value(value = "${token.file.name}")
     private String tokenFileName;
+    @Value(value = "${token.validity.seconds}")
+    private long tokenValiditySeconds;
+    @Value(value = "${token.journal.compaction.threshold:1000}")
+    private int compactionThreshold;
+    @Value(value = "${token.sweep.interval.seconds:3600}")
+    private long sweepIntervalSeconds;
+
     private static final Logger LOGGER = Logger.getLogger(SessionTokenFileRepository.class);
-    private final Map<String, PersistentRememberMeToken> seriesTokens = new HashMap();
+    private static final String JOURNAL_EXTENSION = ".journal";
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+    private static final String PUT = "P";
+    private static final String DELETE = "D";
+    private static final char SEPARATOR = '\t';
+
+    private final Map<String, PersistentRememberMeToken> seriesTokens = new ConcurrentHashMap<String, PersistentRememberMeToken>();
+    private final Map<String, Set<String>> usernameSeries = new ConcurrentHashMap<String, Set<String>>();
+    private final Object journalLock = new Object();
+    private JAXBContext context;
+    private Writer journal;
+    private int journalEntries;
+    private ScheduledExecutorService sweeper;
 
     /**
      * The initialize method is responsible for initiating the token repository and load
-     * all the stored tokens
+     * all the stored tokens. The journal is replayed on top of the token file and then compacted,
+     * and the background sweep of expired tokens is started.
      */
     public void initialize(){
-        loadTokens();
+        try {
+            this.context = JAXBContext.newInstance(SessionTokenList.class);
+        } catch (JAXBException e) {
+            LOGGER.error("Unable to create context for type " + SessionTokenList.class.getSimpleName(), e);
+            throw new IllegalStateException("Unable to create context for type " + SessionTokenList.class.getSimpleName());
+        }
+        if(fileRepositorySupport.isPersistent()){
+            synchronized (journalLock){
+                loadTokens();
+                replayJournal();
+                removeExpiredTokens();
+                compact();
+            }
+        }
+        if(sweepIntervalSeconds > 0){
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "castlemock-token-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * The method stops the background sweep and closes the journal.
+     * @since 1.38
+     */
+    @PreDestroy
+    public void destroy(){
+        if(sweeper != null){
+            sweeper.shutdownNow();
+        }
+        synchronized (journalLock){
+            closeJournal();
+        }
     }
 
     /**
@@ -58,13 +126,14 @@ public class SessionTokenFileRepository implements SessionTokenRepository {
      * @param token The token that will be stored in the token repository
      */
     @Override
-    public synchronized void createNewToken(PersistentRememberMeToken token) {
-        PersistentRememberMeToken current = this.seriesTokens.get(token.getSeries());
-        if(current != null) {
-            throw new DataIntegrityViolationException("Series Id \'" + token.getSeries() + "\' already exists!");
-        } else {
-            this.seriesTokens.put(token.getSeries(), token);
-            saveTokens();
+    public void createNewToken(PersistentRememberMeToken token) {
+        synchronized (journalLock){
+            PersistentRememberMeToken current = this.seriesTokens.get(token.getSeries());
+            if(current != null) {
+                throw new DataIntegrityViolationException("Series Id \'" + token.getSeries() + "\' already exists!");
+            }
+            putToken(token);
+            append(PUT, token.getSeries(), token.getUsername(), token.getTokenValue(), String.valueOf(token.getDate().getTime()));
         }
     }
 
@@ -75,11 +144,17 @@ public class SessionTokenFileRepository implements SessionTokenRepository {
      * @param lastUsed Date for when it was last used
      */
     @Override
-    public synchronized void updateToken(String series, String tokenValue, Date lastUsed) {
-        PersistentRememberMeToken token = this.getTokenForSeries(series);
-        PersistentRememberMeToken newToken = new PersistentRememberMeToken(token.getUsername(), series, tokenValue, new Date());
-        this.seriesTokens.put(series, newToken);
-        saveTokens();
+    public void updateToken(String series, String tokenValue, Date lastUsed) {
+        synchronized (journalLock){
+            PersistentRememberMeToken token = this.getTokenForSeries(series);
+            if(token == null){
+                LOGGER.debug("Unable to update the token. The series " + series + " does not exist");
+                return;
+            }
+            PersistentRememberMeToken newToken = new PersistentRememberMeToken(token.getUsername(), series, tokenValue, new Date());
+            putToken(newToken);
+            append(PUT, series, newToken.getUsername(), tokenValue, String.valueOf(newToken.getDate().getTime()));
+        }
     }
 
     /**
@@ -89,18 +164,18 @@ public class SessionTokenFileRepository implements SessionTokenRepository {
      * @param oldUsername The old username. It is used to identify the token
      * @param newUsername The new username. It will replace the old username
      */
-    public synchronized void updateToken(String oldUsername, String newUsername) {
-        final List<PersistentRememberMeToken> tokens = new LinkedList<PersistentRememberMeToken>();
-        for(PersistentRememberMeToken token : seriesTokens.values()){
-            if(token.getUsername().equalsIgnoreCase(oldUsername)){
+    public void updateToken(String oldUsername, String newUsername) {
+        synchronized (journalLock){
+            for(String series : getSeries(oldUsername)){
+                final PersistentRememberMeToken token = seriesTokens.get(series);
+                if(token == null || !token.getUsername().equalsIgnoreCase(oldUsername)){
+                    continue;
+                }
                 PersistentRememberMeToken newToken = new PersistentRememberMeToken(newUsername, token.getSeries(), token.getTokenValue(), token.getDate());
-                tokens.add(newToken);
+                putToken(newToken);
+                append(PUT, series, newUsername, token.getTokenValue(), String.valueOf(token.getDate().getTime()));
             }
         }
-        for(PersistentRememberMeToken token : tokens){
-           seriesTokens.put(token.getSeries(), token);
-        }
-        saveTokens();
     }
 
     /**
@@ -110,7 +185,7 @@ public class SessionTokenFileRepository implements SessionTokenRepository {
      * the provided series id
      */
     @Override
-    public synchronized PersistentRememberMeToken getTokenForSeries(String seriesId) {
+    public PersistentRememberMeToken getTokenForSeries(String seriesId) {
         return this.seriesTokens.get(seriesId);
     }
 
@@ -119,46 +194,255 @@ public class SessionTokenFileRepository implements SessionTokenRepository {
      * @param username The token that matches this user name will be removed
      */
     @Override
-    public synchronized void removeUserTokens(String username) {
-        Iterator series = this.seriesTokens.keySet().iterator();
-
-        while(series.hasNext()) {
-            String seriesId = (String)series.next();
-            PersistentRememberMeToken token = this.seriesTokens.get(seriesId);
-            if(username.equals(token.getUsername())) {
-                series.remove();
+    public void removeUserTokens(String username) {
+        synchronized (journalLock){
+            for(String series : getSeries(username)){
+                final PersistentRememberMeToken token = seriesTokens.get(series);
+                if(token != null && username.equals(token.getUsername())) {
+                    removeToken(series);
+                    append(DELETE, series);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all the expired tokens and compact the journal. The method is
+     * executed periodically in the background.
+     * @since 1.38
+     */
+    protected void sweep(){
+        try {
+            synchronized (journalLock){
+                final int removed = removeExpiredTokens();
+                if(removed > 0 || journalEntries > 0){
+                    compact();
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.error("Unable to sweep the expired tokens", e);
+        }
+    }
+
+    /**
+     * Get all the series that belong to a specific username.
+     * @param username The username that the series belongs to. The username is case insensitive.
+     * @return A copy of the series that belongs to the username.
+     */
+    private List<String> getSeries(final String username){
+        final Set<String> series = usernameSeries.get(username.toLowerCase());
+        return series == null ? Collections.<String>emptyList() : new ArrayList<String>(series);
+    }
+
+    /**
+     * Add or replace a token and update the username index.
+     * @param token The token that will be added.
+     */
+    private void putToken(final PersistentRememberMeToken token){
+        final PersistentRememberMeToken existing = seriesTokens.put(token.getSeries(), token);
+        if(existing != null){
+            unindex(existing);
+        }
+        usernameSeries.computeIfAbsent(token.getUsername().toLowerCase(), username -> ConcurrentHashMap.newKeySet())
+                .add(token.getSeries());
+    }
+
+    /**
+     * Remove a token and update the username index.
+     * @param series The series of the token that will be removed.
+     */
+    private void removeToken(final String series){
+        final PersistentRememberMeToken existing = seriesTokens.remove(series);
+        if(existing != null){
+            unindex(existing);
+        }
+    }
+
+    private void unindex(final PersistentRememberMeToken token){
+        final String username = token.getUsername().toLowerCase();
+        final Set<String> series = usernameSeries.get(username);
+        if(series != null){
+            series.remove(token.getSeries());
+            if(series.isEmpty()){
+                usernameSeries.remove(username);
+            }
+        }
+    }
+
+    /**
+     * Remove all the tokens that have not been used within the token validity.
+     * @return The number of removed tokens.
+     */
+    private int removeExpiredTokens(){
+        if(tokenValiditySeconds <= 0){
+            return 0;
+        }
+        final long expired = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(tokenValiditySeconds);
+        int removed = 0;
+        for(PersistentRememberMeToken token : new ArrayList<PersistentRememberMeToken>(seriesTokens.values())){
+            if(token.getDate() == null || token.getDate().getTime() < expired){
+                removeToken(token.getSeries());
+                removed++;
             }
         }
+        if(removed > 0){
+            LOGGER.debug("Removed " + removed + " expired tokens");
+        }
+        return removed;
+    }
+
+    /**
+     * Append a change to the journal. The journal will be compacted into the token
+     * file once it has reached the compaction threshold.
+     * @param type The type of change.
+     * @param values The values of the change.
+     */
+    private void append(final String type, final String... values){
+        if(!fileRepositorySupport.isPersistent()){
+            return;
+        }
+        final StringBuilder builder = new StringBuilder(type);
+        for(String value : values){
+            builder.append(SEPARATOR).append(encode(value));
+        }
+        builder.append('\n');
+        try {
+            if(journal == null){
+                journal = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(getJournalFile(), true), StandardCharsets.UTF_8));
+            }
+            journal.write(builder.toString());
+            journal.flush();
+        } catch (IOException e) {
+            LOGGER.error("Unable to write to the token journal", e);
+            throw new IllegalStateException("Unable to write to the token journal");
+        }
+        if(++journalEntries >= compactionThreshold){
+            compact();
+        }
+    }
+
+    /**
+     * Replay the journal on top of the tokens that were loaded from the token file. An incomplete
+     * entry at the end of the journal, which is the result of an interrupted write, will be ignored.
+     * A corrupt entry is logged and skipped, and the replay continues with the next entry.
+     */
+    private void replayJournal(){
+        final File file = getJournalFile();
+        if(!file.isFile()){
+            return;
+        }
+        int entries = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))){
+            String line;
+            while((line = reader.readLine()) != null){
+                if(line.isEmpty()){
+                    continue;
+                }
+                final String[] values = line.split(String.valueOf(SEPARATOR), -1);
+                try {
+                    if(PUT.equals(values[0]) && values.length == 5){
+                        putToken(new PersistentRememberMeToken(decode(values[2]), decode(values[1]),
+                                decode(values[3]), new Date(Long.parseLong(values[4]))));
+                    } else if(DELETE.equals(values[0]) && values.length == 2){
+                        removeToken(decode(values[1]));
+                    } else {
+                        LOGGER.warn("Ignoring incomplete entry in the token journal");
+                        continue;
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Covers both an invalid date and an invalid encoding
+                    LOGGER.warn("Ignoring corrupt entry in the token journal", e);
+                    continue;
+                }
+                entries++;
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to read the token journal", e);
+        }
+        LOGGER.debug("\tReplayed " + entries + " entries from " + file.getName());
+    }
+
+    /**
+     * Write all the tokens into the token file and truncate the journal. The token
+     * file is replaced atomically, which means that the tokens can always be restored
+     * from the token file together with the journal.
+     */
+    private void compact(){
+        if(!fileRepositorySupport.isPersistent()){
+            return;
+        }
         saveTokens();
+        closeJournal();
+        try {
+            Files.deleteIfExists(getJournalFile().toPath());
+        } catch (IOException e) {
+            LOGGER.error("Unable to delete the token journal", e);
+            throw new IllegalStateException("Unable to delete the token journal");
+        }
+        journalEntries = 0;
+    }
+
+    private void closeJournal(){
+        if(journal == null){
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            LOGGER.error("Unable to close the token journal", e);
+        } finally {
+            journal = null;
+        }
+    }
+
+    private File getJournalFile(){
+        return new File(tokenDirectory + File.separator + tokenFileName + JOURNAL_EXTENSION);
+    }
+
+    private static String encode(final String value){
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String decode(final String value){
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     /**
      * Saves all the tokens into the file system
      */
-    private synchronized void saveTokens(){
+    private void saveTokens(){
         final SessionTokenList tokens = getTokens();
-        final String filename = tokenDirectory + File.separator +  tokenFileName;
-        Writer writer = null;
-        try {
-            JAXBContext context = JAXBContext.newInstance(SessionTokenList.class);
+        final Path path = FileSystems.getDefault().getPath(tokenDirectory, tokenFileName);
+        final Path temporaryPath = FileSystems.getDefault().getPath(tokenDirectory, tokenFileName + TEMPORARY_EXTENSION);
+        try (Writer writer = Files.newBufferedWriter(temporaryPath, StandardCharsets.UTF_8)) {
             Marshaller marshaller = context.createMarshaller();
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            writer = new FileWriter(filename);
             marshaller.marshal(tokens, writer);
         } catch (JAXBException e) {
             LOGGER.error("Unable to parse the following file: " + tokenFileName, e);
             throw new IllegalStateException("Unable to parse the following file: " + tokenFileName);
         } catch (IOException e) {
-            LOGGER.error("Unable to read file: " + tokenFileName, e);
-            throw new IllegalStateException("Unable to read the following file: " + tokenFileName);
-        } finally {
-            if (writer != null) {
-                try {
-                    writer.close();
-                } catch (IOException e) {
-                    LOGGER.error("Unable to close file writer for type " + tokens.getClass().getSimpleName(), e);
-                }
+            LOGGER.error("Unable to write file: " + tokenFileName, e);
+            throw new IllegalStateException("Unable to write the following file: " + tokenFileName);
+        }
+        try {
+            try {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
             }
+        } catch (IOException e) {
+            LOGGER.error("Unable to replace file: " + tokenFileName, e);
+            throw new IllegalStateException("Unable to replace the following file: " + tokenFileName);
         }
     }
 
@@ -183,12 +467,11 @@ public class SessionTokenFileRepository implements SessionTokenRepository {
         final File file = new File(tokenDirectory + File.separator +  tokenFileName);
         try {
             if (file.isFile()) {
-                JAXBContext jaxbContext = JAXBContext.newInstance(SessionTokenList.class);
-                Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
+                Unmarshaller jaxbUnmarshaller = context.createUnmarshaller();
                 SessionTokenList tokens = (SessionTokenList) jaxbUnmarshaller.unmarshal(file);
                 for(SessionToken token : tokens){
                     PersistentRememberMeToken persistentRememberMeToken = new PersistentRememberMeToken(token.getUsername(), token.getSeries(), token.getTokenValue(), token.getDate());
-                    seriesTokens.put(persistentRememberMeToken.getSeries(), persistentRememberMeToken);
+                    putToken(persistentRememberMeToken);
                 }
                 LOGGER.debug("\tLoaded " + file.getName());
             }
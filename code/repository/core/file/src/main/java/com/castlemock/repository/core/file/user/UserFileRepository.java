@@ -50,7 +50,7 @@ import java.util.List;
  * @see User
  */
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class UserFileRepository extends FileRepository<UserFileRepository.UserFile, User, String> implements UserRepository {
 
     @Value(value = "${user.file.directory}")
@@ -152,6 +152,8 @@ public class UserFileRepository extends FileRepository<UserFileRepository.UserFi
         private Status status;
         @Mapping("role")
         private Role role;
+        @Mapping("apiTokenHash")
+        private String apiTokenHash;
 
         /**
          * Default constructor for the User class. The constructor will set the current time to both the created
@@ -301,6 +303,23 @@ public class UserFileRepository extends FileRepository<UserFileRepository.UserFi
             this.role = role;
         }
 
+        /**
+         * Get the hash of the user API token
+         * @return The SHA-256 hash of the API token
+         */
+        @XmlElement
+        public String getApiTokenHash() {
+            return apiTokenHash;
+        }
+
+        /**
+         * Set a new API token hash for the user
+         * @param apiTokenHash The SHA-256 hash of the new API token
+         */
+        public void setApiTokenHash(String apiTokenHash) {
+            this.apiTokenHash = apiTokenHash;
+        }
+
     }
 
 }
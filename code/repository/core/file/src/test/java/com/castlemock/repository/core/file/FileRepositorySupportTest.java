@@ -0,0 +1,316 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file;
+
+import com.castlemock.repository.core.file.codec.CompactFileCodec;
+import com.castlemock.repository.core.file.codec.FileCodecConverter;
+import com.castlemock.repository.core.file.codec.XmlFileCodec;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class FileRepositorySupportTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileRepositorySupport fileRepositorySupport;
+    private File directory;
+
+    private static final String EXTENSION = ".test";
+
+    @Before
+    public void setup() throws IOException {
+        this.fileRepositorySupport = new FileRepositorySupport();
+        this.directory = folder.newFolder("files");
+    }
+
+    @Test
+    public void testSave(){
+        final String filename = new File(directory, "A" + EXTENSION).getPath();
+        fileRepositorySupport.save(new TestFile("A"), filename);
+        fileRepositorySupport.save(new TestFile("B"), filename);
+
+        final Collection<TestFile> loaded = fileRepositorySupport.load(TestFile.class, directory.getPath(), EXTENSION);
+        Assert.assertEquals(1, loaded.size());
+        Assert.assertEquals("B", loaded.iterator().next().getValue());
+        Assert.assertEquals(1, directory.listFiles().length);
+    }
+
+    @Test
+    public void testLoadDeletesIncompleteFiles() throws IOException {
+        fileRepositorySupport.save(new TestFile("A"), new File(directory, "A" + EXTENSION).getPath());
+        final File incomplete = new File(directory, "B" + EXTENSION + ".tmp");
+        Files.write(incomplete.toPath(), "<testFile><val".getBytes());
+
+        final Collection<TestFile> loaded = fileRepositorySupport.load(TestFile.class, directory.getPath(), EXTENSION);
+        Assert.assertEquals(1, loaded.size());
+        Assert.assertFalse(incomplete.exists());
+    }
+
+    @Test
+    public void testWriteBehind(){
+        ReflectionTestUtils.setField(fileRepositorySupport, "writeBehind", true);
+        final File file = new File(directory, "A" + EXTENSION);
+        fileRepositorySupport.save(new TestFile("A"), file.getPath());
+        fileRepositorySupport.save(new TestFile("B"), file.getPath());
+        Assert.assertFalse(file.exists());
+
+        fileRepositorySupport.flush();
+        final Collection<TestFile> loaded = fileRepositorySupport.load(TestFile.class, directory.getPath(), EXTENSION);
+        Assert.assertEquals("B", loaded.iterator().next().getValue());
+
+        fileRepositorySupport.save(new TestFile("C"), file.getPath());
+        fileRepositorySupport.delete(file.getPath());
+        Assert.assertTrue(file.exists());
+        fileRepositorySupport.destroy();
+        Assert.assertFalse(file.exists());
+    }
+
+    @Test
+    public void testWriteBehindDeleteUnwrittenFile(){
+        ReflectionTestUtils.setField(fileRepositorySupport, "writeBehind", true);
+        final File file = new File(directory, "A" + EXTENSION);
+        fileRepositorySupport.save(new TestFile("A"), file.getPath());
+        fileRepositorySupport.delete(file.getPath());
+        fileRepositorySupport.flush();
+        Assert.assertFalse(file.exists());
+        Assert.assertEquals(new ArrayList<TestFile>(),
+                new ArrayList<TestFile>(fileRepositorySupport.load(TestFile.class, directory.getPath(), EXTENSION)));
+    }
+
+    @Test
+    public void testWriteBehindEncodesOnSave(){
+        ReflectionTestUtils.setField(fileRepositorySupport, "writeBehind", true);
+        final File file = new File(directory, "A" + EXTENSION);
+        final TestFile testFile = new TestFile("A");
+        fileRepositorySupport.save(testFile, file.getPath());
+        testFile.setValue("B");
+
+        Assert.assertEquals("A", fileRepositorySupport.load(TestFile.class, file.getPath()).getValue());
+        fileRepositorySupport.flush();
+        Assert.assertEquals("A", fileRepositorySupport.load(TestFile.class, file.getPath()).getValue());
+    }
+
+    @Test
+    public void testWriteBehindRetry() throws IOException {
+        ReflectionTestUtils.setField(fileRepositorySupport, "writeBehind", true);
+        final File missing = new File(directory, "missing");
+        final File file = new File(missing, "A" + EXTENSION);
+        final List<String> actions = new ArrayList<String>();
+        fileRepositorySupport.save(new TestFile("A"), file.getPath());
+        fileRepositorySupport.afterWrite(file.getPath(), () -> actions.add("A"));
+
+        fileRepositorySupport.flush();
+        Assert.assertFalse(file.exists());
+        Assert.assertEquals("A", fileRepositorySupport.load(TestFile.class, file.getPath()).getValue());
+        Assert.assertTrue(actions.isEmpty());
+
+        Assert.assertTrue(missing.mkdir());
+        fileRepositorySupport.flush();
+        Assert.assertTrue(file.exists());
+        Assert.assertEquals(Collections.singletonList("A"), actions);
+    }
+
+    @Test
+    public void testAfterWrite(){
+        final File file = new File(directory, "A" + EXTENSION);
+        final List<String> actions = new ArrayList<String>();
+        fileRepositorySupport.afterWrite(file.getPath(), () -> actions.add("A"));
+        Assert.assertEquals(Collections.singletonList("A"), actions);
+
+        ReflectionTestUtils.setField(fileRepositorySupport, "writeBehind", true);
+        fileRepositorySupport.save(new TestFile("A"), file.getPath());
+        fileRepositorySupport.afterWrite(file.getPath(), () -> actions.add("B"));
+        fileRepositorySupport.save(new TestFile("B"), file.getPath());
+        fileRepositorySupport.afterWrite(file.getPath(), () -> actions.add("C"));
+        Assert.assertEquals(Collections.singletonList("A"), actions);
+
+        fileRepositorySupport.flush();
+        Assert.assertEquals(Arrays.asList("A", "B", "C"), actions);
+    }
+
+    @Test
+    public void testFsync(){
+        ReflectionTestUtils.setField(fileRepositorySupport, "fsyncPolicy", FileRepositorySupport.FsyncPolicy.DIRECTORY);
+        final String filename = new File(directory, "A" + EXTENSION).getPath();
+        fileRepositorySupport.save(new TestFile("A"), filename);
+        Assert.assertEquals("A", fileRepositorySupport.load(TestFile.class, directory.getPath(), EXTENSION)
+                .iterator().next().getValue());
+    }
+
+    @Test
+    public void testLoadSnapshot() throws IOException {
+        final File a = new File(directory, "A" + EXTENSION);
+        final File b = new File(directory, "B" + EXTENSION);
+        final File snapshot = new File(directory, TestFile.class.getSimpleName() + FileSnapshot.SNAPSHOT_EXTENSION);
+        final long lastModified = System.currentTimeMillis() - 60000;
+        fileRepositorySupport.save(new TestFile("A"), a.getPath());
+        fileRepositorySupport.save(new TestFile("B"), b.getPath());
+        Assert.assertTrue(a.setLastModified(lastModified));
+        Assert.assertTrue(b.setLastModified(lastModified));
+
+        Assert.assertEquals(2, fileRepositorySupport.loadSnapshot(TestFile.class, directory.getPath(), EXTENSION).size());
+        Assert.assertTrue(snapshot.exists());
+
+        // An unchanged file is read from the snapshot
+        fileRepositorySupport.save(new TestFile("C"), a.getPath());
+        Assert.assertTrue(a.setLastModified(lastModified));
+        Assert.assertEquals(Arrays.asList("A", "B"), loadSnapshot());
+
+        // A modified file is read from the file system
+        Assert.assertTrue(a.setLastModified(lastModified + 1000));
+        Assert.assertEquals(Arrays.asList("B", "C"), loadSnapshot());
+
+        // A deleted file is not restored from the snapshot
+        fileRepositorySupport.delete(b.getPath());
+        Assert.assertEquals(Collections.singletonList("C"), loadSnapshot());
+    }
+
+    @Test
+    public void testLoadCorruptSnapshot() throws IOException {
+        final File a = new File(directory, "A" + EXTENSION);
+        final File snapshot = new File(directory, TestFile.class.getSimpleName() + FileSnapshot.SNAPSHOT_EXTENSION);
+        fileRepositorySupport.save(new TestFile("A"), a.getPath());
+        Files.write(snapshot.toPath(), new byte[]{0x43, 0x4D, 0x53});
+
+        Assert.assertEquals(Collections.singletonList("A"), loadSnapshot());
+        Assert.assertTrue(snapshot.length() > 3);
+    }
+
+    @Test
+    public void testLoadSnapshotChecksum() throws IOException {
+        final File a = new File(directory, "A" + EXTENSION);
+        final File snapshot = new File(directory, TestFile.class.getSimpleName() + FileSnapshot.SNAPSHOT_EXTENSION);
+        final long lastModified = System.currentTimeMillis() - 60000;
+        fileRepositorySupport.save(new TestFile("A"), a.getPath());
+        Assert.assertTrue(a.setLastModified(lastModified));
+        Assert.assertEquals(Collections.singletonList("A"), loadSnapshot());
+
+        // A snapshot with a damaged type is not used
+        final byte[] content = Files.readAllBytes(snapshot.toPath());
+        final int index = new String(content, StandardCharsets.ISO_8859_1).lastIndexOf("A</");
+        content[index] = 'C';
+        Files.write(snapshot.toPath(), content);
+        Assert.assertEquals(Collections.singletonList("A"), loadSnapshot());
+    }
+
+    @Test
+    public void testLoadIncompleteFile() throws IOException {
+        final File a = new File(directory, "A" + EXTENSION);
+        final File incomplete = new File(directory, "B" + EXTENSION + ".tmp");
+        fileRepositorySupport.save(new TestFile("A"), a.getPath());
+
+        Files.write(incomplete.toPath(), new byte[]{0x3C});
+        Assert.assertEquals(Collections.singletonList("A"), load());
+        Assert.assertFalse(incomplete.exists());
+
+        Files.write(incomplete.toPath(), new byte[]{0x3C});
+        Assert.assertEquals(Collections.singletonList("A"), loadSnapshot());
+        Assert.assertFalse(incomplete.exists());
+    }
+
+    @Test
+    public void testCompactCodec() throws IOException {
+        final File a = new File(directory, "A" + EXTENSION);
+        final File b = new File(directory, "B" + EXTENSION);
+        fileRepositorySupport.save(new TestFile("A"), a.getPath());
+        ReflectionTestUtils.setField(fileRepositorySupport, "codec", CompactFileCodec.NAME);
+        fileRepositorySupport.save(new TestFile("B"), b.getPath());
+
+        Assert.assertTrue(new CompactFileCodec().matches(Files.readAllBytes(b.toPath())));
+        Assert.assertFalse(new CompactFileCodec().matches(Files.readAllBytes(a.toPath())));
+        Assert.assertEquals(Arrays.asList("A", "B"), load());
+        Assert.assertEquals(Arrays.asList("A", "B"), loadSnapshot());
+        Assert.assertEquals("B", fileRepositorySupport.unmarshal(TestFile.class,
+                fileRepositorySupport.encode(new TestFile("B"))).getValue());
+
+        Assert.assertEquals(1, FileCodecConverter.convert(directory.toPath(), new CompactFileCodec(),
+                Collections.singletonList(EXTENSION)));
+        Assert.assertTrue(new CompactFileCodec().matches(Files.readAllBytes(a.toPath())));
+        Assert.assertEquals(2, FileCodecConverter.convert(directory.toPath(), new XmlFileCodec(),
+                Collections.singletonList(EXTENSION)));
+        Assert.assertEquals('<', Files.readAllBytes(b.toPath())[0]);
+        // A converted file is formatted in the same way as a file written with the XML codec
+        final File c = new File(directory, "C" + EXTENSION);
+        ReflectionTestUtils.setField(fileRepositorySupport, "codec", XmlFileCodec.NAME);
+        fileRepositorySupport.save(new TestFile("B"), c.getPath());
+        Assert.assertEquals(new String(Files.readAllBytes(c.toPath()), StandardCharsets.UTF_8),
+                new String(Files.readAllBytes(b.toPath()), StandardCharsets.UTF_8));
+        Files.delete(c.toPath());
+        Assert.assertEquals(Arrays.asList("A", "B"), load());
+    }
+
+    private List<String> load(){
+        return fileRepositorySupport.load(TestFile.class, directory.getPath(), EXTENSION)
+                .stream()
+                .map(TestFile::getValue)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private List<String> loadSnapshot(){
+        return fileRepositorySupport.loadSnapshot(TestFile.class, directory.getPath(), EXTENSION)
+                .stream()
+                .map(TestFile::getValue)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    @XmlRootElement(name = "testFile")
+    public static class TestFile {
+
+        private String value;
+
+        public TestFile() {
+        }
+
+        private TestFile(final String value) {
+            this.value = value;
+        }
+
+        @XmlElement
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.repository.core.file;
+
+import com.castlemock.core.basis.model.SearchQuery;
+import com.castlemock.core.basis.model.Saveable;
+import com.castlemock.repository.body.BodyRepository;
+import com.castlemock.repository.core.file.body.BodyReferenceFile;
+import org.dozer.DozerBeanMapper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class FileRepositoryTest {
+
+    private static final String EXTENSION = ".message";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileRepositorySupport fileRepositorySupport;
+    private BodyRepository bodyRepository;
+    private TestMessageFileRepository repository;
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+        this.directory = folder.newFolder("message");
+        this.fileRepositorySupport = Mockito.spy(new FileRepositorySupport());
+        this.bodyRepository = Mockito.mock(BodyRepository.class);
+        this.repository = new TestMessageFileRepository(directory);
+        ReflectionTestUtils.setField(repository, "mapper", new DozerBeanMapper());
+        ReflectionTestUtils.setField(repository, "fileRepositorySupport", fileRepositorySupport);
+        ReflectionTestUtils.setField(repository, "bodyRepository", bodyRepository);
+        ReflectionTestUtils.setField(repository, "snapshotEnabled", false);
+    }
+
+    @Test
+    public void testSaveFailure(){
+        repository.initialize();
+        Mockito.when(bodyRepository.save("Body")).thenReturn("Hash");
+        Mockito.doThrow(new IllegalStateException("Unable to save the file"))
+                .when(fileRepositorySupport).save(Mockito.any(MessageFile.class), Mockito.anyString());
+
+        final Message message = new Message();
+        message.setId("A");
+        message.setBody("Body");
+        try {
+            repository.save(message);
+            Assert.fail("The save should have failed");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+        Mockito.verify(bodyRepository, Mockito.times(1)).delete("Hash");
+        Assert.assertFalse(repository.exists("A"));
+    }
+
+    @Test
+    public void testLoadMissingBody(){
+        final String filename = new File(directory, "A" + EXTENSION).getPath();
+        final MessageFile messageFile = new MessageFile();
+        messageFile.setId("A");
+        messageFile.setBodyHash("Missing");
+        fileRepositorySupport.save(messageFile, filename);
+        Mockito.when(bodyRepository.reference("Missing")).thenReturn(false);
+
+        repository.initialize();
+
+        Assert.assertNull(repository.findOne("A").getBody());
+        Assert.assertNull(fileRepositorySupport.load(MessageFile.class, filename).getBodyHash());
+        Mockito.verify(bodyRepository, Mockito.never()).delete(Mockito.anyString());
+    }
+
+    private static class TestMessageFileRepository extends FileRepository<MessageFile, Message, String> {
+
+        private final File directory;
+
+        private TestMessageFileRepository(final File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected String getFileDirectory() {
+            return directory.getPath();
+        }
+
+        @Override
+        protected String getFileExtension() {
+            return EXTENSION;
+        }
+
+        @Override
+        protected void checkType(final MessageFile type) {
+
+        }
+
+        @Override
+        protected List<BodyReferenceFile> getBodyReferences(final MessageFile type) {
+            return Collections.singletonList(type);
+        }
+
+        @Override
+        public List<Message> search(final SearchQuery query) {
+            return Collections.emptyList();
+        }
+    }
+
+    @XmlRootElement(name = "message")
+    public static class MessageFile extends BodyReferenceFile implements Saveable<String> {
+
+        private String id;
+
+        @Override
+        @XmlElement
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+
+    public static class Message {
+
+        private String id;
+        private String body;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public void setBody(String body) {
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file;
+
+import com.castlemock.core.basis.model.SearchQuery;
+import com.castlemock.core.basis.model.Saveable;
+import com.castlemock.repository.body.BodyRepository;
+import org.dozer.DozerBeanMapper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class ProjectLoaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileRepositorySupport fileRepositorySupport;
+    private ProjectLoader projectLoader;
+    private TestProjectFileRepository projectRepository;
+    private TestChildFileRepository childRepository;
+    private File projectDirectory;
+    private File childDirectory;
+
+    private static final String PROJECT_EXTENSION = ".project";
+    private static final String CHILD_EXTENSION = ".child";
+
+    @Before
+    public void setup() throws IOException {
+        this.fileRepositorySupport = new FileRepositorySupport();
+        this.projectDirectory = folder.newFolder("project");
+        this.childDirectory = folder.newFolder("child");
+
+        this.projectLoader = new ProjectLoader();
+        ReflectionTestUtils.setField(projectLoader, "fileRepositorySupport", fileRepositorySupport);
+        ReflectionTestUtils.setField(projectLoader, "lazy", true);
+        ReflectionTestUtils.setField(projectLoader, "idleMillis", -1000L);
+        ReflectionTestUtils.setField(projectLoader, "budgetBytes", Long.MAX_VALUE);
+
+        this.projectRepository = new TestProjectFileRepository(projectDirectory);
+        this.childRepository = new TestChildFileRepository(childDirectory);
+        for(FileRepository<?, ?, ?> repository : new FileRepository<?, ?, ?>[]{projectRepository, childRepository}){
+            ReflectionTestUtils.setField(repository, "mapper", new DozerBeanMapper());
+            ReflectionTestUtils.setField(repository, "fileRepositorySupport", fileRepositorySupport);
+            ReflectionTestUtils.setField(repository, "bodyRepository", Mockito.mock(BodyRepository.class));
+            ReflectionTestUtils.setField(repository, "projectLoader", projectLoader);
+            ReflectionTestUtils.setField(repository, "snapshotEnabled", false);
+        }
+
+        saveProject("A");
+        saveProject("B");
+        saveChild("A1", "A");
+        saveChild("A2", "A");
+        saveChild("B1", "B");
+        projectRepository.initialize();
+        childRepository.initialize();
+    }
+
+    @Test
+    public void testInitialize(){
+        Assert.assertEquals(0, projectLoader.getLoadedSize());
+        Assert.assertEquals(Integer.valueOf(3), childRepository.count());
+        Assert.assertTrue(childRepository.exists("A1"));
+        Assert.assertEquals(0, projectLoader.getLoadedSize());
+    }
+
+    @Test
+    public void testLoadProject(){
+        final Child child = childRepository.findOne("A1");
+        Assert.assertNotNull(child);
+        Assert.assertEquals("A", child.getProjectId());
+        Assert.assertEquals(getSize("A1") + getSize("A2"), projectLoader.getLoadedSize());
+
+        Assert.assertEquals(Collections.singletonList("B1"), getIds(childRepository.findWithProjectId("B")));
+        Assert.assertEquals(getSize("A1") + getSize("A2") + getSize("B1"), projectLoader.getLoadedSize());
+    }
+
+    @Test
+    public void testUnload(){
+        childRepository.findWithProjectId("A");
+        childRepository.findWithProjectId("B");
+        Assert.assertEquals(0, projectLoader.unload());
+
+        ReflectionTestUtils.setField(projectLoader, "budgetBytes", getSize("B1"));
+        Assert.assertEquals(1, projectLoader.unload());
+        Assert.assertEquals(getSize("B1"), projectLoader.getLoadedSize());
+
+        Assert.assertEquals(2, childRepository.findWithProjectId("A").size());
+        Assert.assertEquals(getSize("A1") + getSize("A2") + getSize("B1"), projectLoader.getLoadedSize());
+    }
+
+    @Test
+    public void testSave(){
+        final Child child = new Child();
+        child.setId("A3");
+        child.setProjectId("A");
+        childRepository.save(child);
+
+        Assert.assertEquals(3, childRepository.findWithProjectId("A").size());
+        Assert.assertTrue(new File(childDirectory, "A3" + CHILD_EXTENSION).isFile());
+    }
+
+    @Test
+    public void testDelete(){
+        childRepository.delete("A1");
+
+        Assert.assertEquals(Collections.singletonList("A2"), getIds(childRepository.findWithProjectId("A")));
+        Assert.assertFalse(childRepository.exists("A1"));
+        Assert.assertFalse(new File(childDirectory, "A1" + CHILD_EXTENSION).isFile());
+    }
+
+    @Test
+    public void testFindAll(){
+        Assert.assertEquals(3, childRepository.findAll().size());
+        Assert.assertEquals(getSize("A1") + getSize("A2") + getSize("B1"), projectLoader.getLoadedSize());
+    }
+
+    @Test
+    public void testUnloadWhileAccessing() throws Exception {
+        ReflectionTestUtils.setField(projectLoader, "budgetBytes", 0L);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            final Future<?> unloader = executor.submit(() -> {
+                while(running.get()){
+                    projectLoader.unload();
+                }
+            });
+            final Future<?> reader = executor.submit(() -> {
+                for(int index = 0; index < 2000; index++){
+                    Assert.assertNotNull(childRepository.findOne("A1"));
+                    Assert.assertEquals(1, childRepository.findWithProjectId("B").size());
+                }
+            });
+            final Future<?> writer = executor.submit(() -> {
+                for(int index = 0; index < 500; index++){
+                    final Child child = new Child();
+                    child.setId("A" + (index + 3));
+                    child.setProjectId("A");
+                    childRepository.save(child);
+                    Assert.assertNotNull(childRepository.findOne(child.getId()));
+                }
+            });
+            reader.get(1, TimeUnit.MINUTES);
+            writer.get(1, TimeUnit.MINUTES);
+            running.set(false);
+            unloader.get(1, TimeUnit.MINUTES);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        // Every loaded type is tracked by its project and is unloaded with it
+        projectLoader.unload();
+        Assert.assertEquals(0, projectLoader.getLoadedSize());
+        Assert.assertTrue(getLoadedTypes(childRepository).isEmpty());
+        Assert.assertEquals(502, childRepository.findWithProjectId("A").size());
+    }
+
+    private void saveProject(final String id){
+        final ProjectFile project = new ProjectFile();
+        project.setId(id);
+        fileRepositorySupport.save(project, new File(projectDirectory, id + PROJECT_EXTENSION).getPath());
+    }
+
+    private void saveChild(final String id, final String projectId){
+        final ChildFile child = new ChildFile();
+        child.setId(id);
+        child.setProjectId(projectId);
+        fileRepositorySupport.save(child, new File(childDirectory, id + CHILD_EXTENSION).getPath());
+    }
+
+    private long getSize(final String childId){
+        return new File(childDirectory, childId + CHILD_EXTENSION).length();
+    }
+
+    /**
+     * Get the loaded types of a repository. The fields are read directly, since the
+     * collection would load all the projects if it was printed by a debug log.
+     */
+    private static Map<?, ?> getLoadedTypes(final FileRepository<?, ?, ?> repository) throws ReflectiveOperationException {
+        final Field collectionField = FileRepository.class.getDeclaredField("collection");
+        collectionField.setAccessible(true);
+        final Object collection = collectionField.get(repository);
+        final Field loadedField = collection.getClass().getDeclaredField("loaded");
+        loadedField.setAccessible(true);
+        return (Map<?, ?>) loadedField.get(collection);
+    }
+
+    private static List<String> getIds(final List<Child> children){
+        return children.stream()
+                .map(Child::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static class TestProjectFileRepository extends FileRepository<ProjectFile, Project, String> {
+
+        private final File directory;
+
+        private TestProjectFileRepository(final File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected String getFileDirectory() {
+            return directory.getPath();
+        }
+
+        @Override
+        protected String getFileExtension() {
+            return PROJECT_EXTENSION;
+        }
+
+        @Override
+        protected void checkType(final ProjectFile type) {
+
+        }
+
+        @Override
+        protected String resolveProjectId(final String id) {
+            return exists(id) ? id : null;
+        }
+
+        @Override
+        public List<Project> search(final SearchQuery query) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class TestChildFileRepository extends FileRepository<ChildFile, Child, String> {
+
+        private final File directory;
+
+        private TestChildFileRepository(final File directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        protected String getFileDirectory() {
+            return directory.getPath();
+        }
+
+        @Override
+        protected String getFileExtension() {
+            return CHILD_EXTENSION;
+        }
+
+        @Override
+        protected void checkType(final ChildFile type) {
+
+        }
+
+        @Override
+        protected Class<TestProjectFileRepository> getParentRepositoryClass() {
+            return TestProjectFileRepository.class;
+        }
+
+        @Override
+        protected String getParentElement() {
+            return "projectId";
+        }
+
+        @Override
+        protected String getParentId(final ChildFile type) {
+            return type.getProjectId();
+        }
+
+        @Override
+        public List<Child> search(final SearchQuery query) {
+            return Collections.emptyList();
+        }
+
+        private List<Child> findWithProjectId(final String projectId){
+            return findWithParentId(projectId).stream()
+                    .map(child -> mapper.map(child, Child.class))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @XmlRootElement(name = "project")
+    public static class ProjectFile implements Saveable<String> {
+
+        private String id;
+
+        @Override
+        @XmlElement
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+
+    @XmlRootElement(name = "child")
+    public static class ChildFile implements Saveable<String> {
+
+        private String id;
+        private String projectId;
+
+        @Override
+        @XmlElement
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        @XmlElement
+        public String getProjectId() {
+            return projectId;
+        }
+
+        public void setProjectId(String projectId) {
+            this.projectId = projectId;
+        }
+    }
+
+    public static class Project {
+
+        private String id;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+
+    public static class Child {
+
+        private String id;
+        private String projectId;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getProjectId() {
+            return projectId;
+        }
+
+        public void setProjectId(String projectId) {
+            this.projectId = projectId;
+        }
+    }
+}
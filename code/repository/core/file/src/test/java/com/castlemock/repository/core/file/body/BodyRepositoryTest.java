@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.repository.core.file.body;
+
+import com.castlemock.core.basis.utility.HashUtility;
+import com.castlemock.repository.core.file.FileRepositorySupport;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class BodyRepositoryTest {
+
+    @Mock
+    private FileRepositorySupport fileRepositorySupport;
+    @InjectMocks
+    private BodyFileRepository repository;
+
+    private static final String DIRECTORY = "/directory";
+    private static final String EXTENSION = ".extension";
+    private static final String BODY = "<response>Body</response>";
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(repository, "bodyFileDirectory", DIRECTORY);
+        ReflectionTestUtils.setField(repository, "bodyFileExtension", EXTENSION);
+    }
+
+    @Test
+    public void testSave(){
+        final String hash = repository.save(BODY);
+        Assert.assertEquals(HashUtility.hash(BODY), hash);
+        Assert.assertEquals(BODY, repository.findOne(hash));
+        Mockito.verify(fileRepositorySupport, Mockito.times(1)).save(DIRECTORY, hash + EXTENSION, BODY);
+    }
+
+    @Test
+    public void testSaveIdenticalBody(){
+        final String hash = repository.save(BODY);
+        final String otherHash = repository.save(new String(BODY));
+        Assert.assertEquals(hash, otherHash);
+        Assert.assertSame(repository.findOne(hash), repository.findOne(otherHash));
+        Mockito.verify(fileRepositorySupport, Mockito.times(1)).save(DIRECTORY, hash + EXTENSION, BODY);
+    }
+
+    @Test
+    public void testDelete(){
+        final String hash = repository.save(BODY);
+        repository.save(BODY);
+        repository.delete(hash);
+        Assert.assertEquals(BODY, repository.findOne(hash));
+        Mockito.verify(fileRepositorySupport, Mockito.never()).delete(DIRECTORY, hash + EXTENSION);
+
+        repository.delete(hash);
+        Assert.assertNull(repository.findOne(hash));
+        Mockito.verify(fileRepositorySupport, Mockito.times(1)).delete(DIRECTORY, hash + EXTENSION);
+    }
+
+    @Test
+    public void testReferenceLazily(){
+        final String hash = HashUtility.hash(BODY);
+        ReflectionTestUtils.setField(repository, "lazy", true);
+        Mockito.when(fileRepositorySupport.exists(DIRECTORY, hash + EXTENSION)).thenReturn(true);
+        Mockito.when(fileRepositorySupport.load(DIRECTORY, hash + EXTENSION)).thenReturn(BODY);
+
+        Assert.assertTrue(repository.reference(hash));
+        Assert.assertEquals(0, repository.getLoadedSize());
+        Mockito.verify(fileRepositorySupport, Mockito.never()).load(DIRECTORY, hash + EXTENSION);
+
+        Assert.assertEquals(BODY, repository.findOne(hash));
+        Assert.assertEquals(BODY, repository.findOne(hash));
+        Assert.assertEquals(BODY.length(), repository.getLoadedSize());
+        Mockito.verify(fileRepositorySupport, Mockito.times(1)).load(DIRECTORY, hash + EXTENSION);
+    }
+
+    @Test
+    public void testUnload(){
+        final String hash = repository.save(BODY);
+        Mockito.when(fileRepositorySupport.load(DIRECTORY, hash + EXTENSION)).thenReturn(BODY);
+
+        ReflectionTestUtils.setField(repository, "idleMillis", -1000L);
+        ReflectionTestUtils.setField(repository, "budgetBytes", (long) BODY.length());
+        Assert.assertEquals(0, repository.unload());
+
+        ReflectionTestUtils.setField(repository, "budgetBytes", 0L);
+        Assert.assertEquals(1, repository.unload());
+        Assert.assertEquals(0, repository.getLoadedSize());
+
+        Assert.assertEquals(BODY, repository.findOne(hash));
+        Mockito.verify(fileRepositorySupport, Mockito.times(1)).load(DIRECTORY, hash + EXTENSION);
+    }
+
+    @Test
+    public void testFindOneMissingFile(){
+        final String hash = HashUtility.hash(BODY);
+        ReflectionTestUtils.setField(repository, "lazy", true);
+        Mockito.when(fileRepositorySupport.exists(DIRECTORY, hash + EXTENSION)).thenReturn(true);
+        Mockito.when(fileRepositorySupport.load(DIRECTORY, hash + EXTENSION))
+                .thenThrow(new IllegalStateException("Unable to find the following file: " + hash + EXTENSION))
+                .thenReturn(BODY);
+
+        Assert.assertTrue(repository.reference(hash));
+        Assert.assertNull(repository.findOne(hash));
+        Assert.assertEquals(0, repository.getLoadedSize());
+        Assert.assertEquals(BODY, repository.findOne(hash));
+    }
+
+}
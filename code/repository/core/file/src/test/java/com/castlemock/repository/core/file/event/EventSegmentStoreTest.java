@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file.event;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class EventSegmentStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+        this.directory = folder.newFolder("events");
+    }
+
+    @Test
+    public void testReopen(){
+        final EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024);
+        Assert.assertTrue(store.open().isEmpty());
+        store.put("A", payload("A"));
+        store.put("B", payload("B"));
+        store.put("C", payload("C"));
+        store.delete("B");
+        store.put("A", payload("A2"));
+        store.close();
+
+        final Map<String, byte[]> records = new EventSegmentStore(directory, 1024 * 1024).open();
+        Assert.assertEquals(Arrays.asList("C", "A"), Arrays.asList(records.keySet().toArray()));
+        Assert.assertArrayEquals(payload("A2"), records.get("A"));
+        Assert.assertArrayEquals(payload("C"), records.get("C"));
+    }
+
+    @Test
+    public void testDropSegments(){
+        final EventSegmentStore store = new EventSegmentStore(directory, 64);
+        store.open();
+        for(int index = 0; index < 10; index++){
+            store.put("E" + index, payload("Event " + index));
+        }
+        Assert.assertEquals(10, store.getSegmentCount());
+        for(int index = 0; index < 5; index++){
+            store.delete("E" + index);
+        }
+        Assert.assertEquals(6, oldestSegment());
+        Assert.assertEquals(store.getSegmentCount(), segmentFiles().length);
+
+        // A segment in the middle is kept until all the older segments have been dropped
+        store.delete("E7");
+        Assert.assertEquals(6, oldestSegment());
+        store.delete("E5");
+        store.delete("E6");
+        Assert.assertEquals(9, oldestSegment());
+        store.close();
+
+        final Map<String, byte[]> records = new EventSegmentStore(directory, 64).open();
+        Assert.assertEquals(Arrays.asList("E8", "E9"), Arrays.asList(records.keySet().toArray()));
+    }
+
+    @Test
+    public void testClear(){
+        final EventSegmentStore store = new EventSegmentStore(directory, 64);
+        store.open();
+        for(int index = 0; index < 5; index++){
+            store.put("E" + index, payload("Event " + index));
+        }
+        store.clear();
+        Assert.assertEquals(1, segmentFiles().length);
+        store.put("F", payload("F"));
+        store.close();
+
+        final Map<String, byte[]> records = new EventSegmentStore(directory, 64).open();
+        Assert.assertEquals(1, records.size());
+        Assert.assertArrayEquals(payload("F"), records.get("F"));
+    }
+
+    @Test
+    public void testRecoverIncompleteRecord() throws IOException {
+        final EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024);
+        store.open();
+        store.put("A", payload("A"));
+        store.put("B", payload("B"));
+        store.close();
+
+        final File segment = segmentFiles()[0];
+        final long length = segment.length();
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")){
+            file.setLength(length - 3);
+        }
+
+        final EventSegmentStore recovered = new EventSegmentStore(directory, 1024 * 1024);
+        final Map<String, byte[]> records = recovered.open();
+        Assert.assertEquals(1, records.size());
+        Assert.assertTrue(records.containsKey("A"));
+        Assert.assertTrue(segment.length() < length - 3);
+
+        // New records are appended after the last valid record
+        recovered.put("C", payload("C"));
+        recovered.close();
+        Assert.assertEquals(Arrays.asList("A", "C"),
+                Arrays.asList(new EventSegmentStore(directory, 1024 * 1024).open().keySet().toArray()));
+    }
+
+    @Test
+    public void testRecoverCorruptRecord() throws IOException {
+        final EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024);
+        store.open();
+        store.put("A", payload("A"));
+        store.close();
+
+        final File segment = segmentFiles()[0];
+        try (FileOutputStream output = new FileOutputStream(segment, true)){
+            output.write(new byte[]{0, 0, 0, 4, 1, 2, 3, 4, 5, 6, 7, 8});
+        }
+
+        final Map<String, byte[]> records = new EventSegmentStore(directory, 1024 * 1024).open();
+        Assert.assertEquals(1, records.size());
+        Assert.assertArrayEquals(payload("A"), records.get("A"));
+    }
+
+    @Test
+    public void testDropUnreadableSegment() throws IOException {
+        final EventSegmentStore store = new EventSegmentStore(directory, 64);
+        store.open();
+        store.put("A", payload("Event A"));
+        store.put("B", payload("Event B"));
+        store.close();
+        Assert.assertEquals(2, segmentFiles().length);
+
+        final File oldest = segmentFiles()[0].getName().compareTo(segmentFiles()[1].getName()) < 0 ?
+                segmentFiles()[0] : segmentFiles()[1];
+        try (FileOutputStream output = new FileOutputStream(oldest)){
+            output.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        }
+
+        final Map<String, byte[]> records = new EventSegmentStore(directory, 64).open();
+        Assert.assertEquals(Arrays.asList("B"), Arrays.asList(records.keySet().toArray()));
+        Assert.assertFalse(oldest.exists());
+    }
+
+    @Test
+    public void testDeleteIncompleteSegment() throws IOException {
+        final File incomplete = new File(directory, String.format("%020d", 2) +
+                EventSegmentStore.SEGMENT_EXTENSION + ".tmp");
+        Assert.assertTrue(incomplete.createNewFile());
+
+        final EventSegmentStore store = new EventSegmentStore(directory, 1024 * 1024);
+        Assert.assertTrue(store.open().isEmpty());
+        Assert.assertFalse(incomplete.exists());
+        Assert.assertEquals(1, segmentFiles().length);
+    }
+
+    private File[] segmentFiles(){
+        return directory.listFiles((dir, name) -> name.endsWith(EventSegmentStore.SEGMENT_EXTENSION));
+    }
+
+    private long oldestSegment(){
+        final String name = Arrays.stream(segmentFiles()).map(File::getName).sorted().findFirst().get();
+        return Long.parseLong(name.substring(0, name.length() - EventSegmentStore.SEGMENT_EXTENSION.length()));
+    }
+
+    private static byte[] payload(final String value){
+        return ("<event><id>" + value + "</id></event>").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file.memory;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class MemoryRepositorySupportTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MemoryRepositorySupport support = new MemoryRepositorySupport();
+
+    @Test
+    public void testTypes(){
+        final File directory = new File(folder.getRoot(), "types");
+        support.save("Type", new File(directory, "A.type").getPath());
+        Assert.assertTrue(support.load(String.class, directory.getPath(), ".type").isEmpty());
+        Assert.assertTrue(support.loadSnapshot(String.class, directory.getPath(), ".type").isEmpty());
+        support.delete(new File(directory, "A.type").getPath());
+        Assert.assertFalse(directory.exists());
+        Assert.assertFalse(support.isPersistent());
+    }
+
+    @Test
+    public void testFiles(){
+        final String directory = new File(folder.getRoot(), "files").getPath();
+        Assert.assertFalse(support.exists(directory, "A.body"));
+        support.save(directory, "A.body", "Body");
+        Assert.assertTrue(support.exists(directory, "A.body"));
+        Assert.assertEquals("Body", support.load(directory, "A.body"));
+        Assert.assertFalse(new File(directory).exists());
+
+        support.delete(directory, "A.body");
+        Assert.assertFalse(support.exists(directory, "A.body"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLoadMissingFile(){
+        support.load(folder.getRoot().getPath(), "A.body");
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.file.token;
+
+import com.castlemock.repository.core.file.FileRepositorySupport;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class SessionTokenRepositoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SessionTokenFileRepository repository;
+
+    private static final String FILE_NAME = "tokens.token";
+    private static final long VALIDITY = TimeUnit.DAYS.toSeconds(1);
+
+    @Before
+    public void setup() {
+        repository = createRepository(1000);
+    }
+
+    @After
+    public void teardown() {
+        repository.destroy();
+    }
+
+    @Test
+    public void testCreateAndRestore(){
+        repository.createNewToken(new PersistentRememberMeToken("Username", "Series1", "Value1", new Date()));
+        repository.createNewToken(new PersistentRememberMeToken("Username", "Series2", "Value2", new Date()));
+        repository.updateToken("Series1", "Value3", new Date());
+        Assert.assertTrue(getJournal().isFile());
+
+        final SessionTokenFileRepository restored = createRepository(1000);
+        Assert.assertEquals("Value3", restored.getTokenForSeries("Series1").getTokenValue());
+        Assert.assertEquals("Value2", restored.getTokenForSeries("Series2").getTokenValue());
+        Assert.assertEquals("Username", restored.getTokenForSeries("Series1").getUsername());
+        Assert.assertFalse(getJournal().isFile());
+        restored.destroy();
+    }
+
+    @Test
+    public void testUpdateUsernameAndRemove(){
+        repository.createNewToken(new PersistentRememberMeToken("Username", "Series1", "Value1", new Date()));
+        repository.createNewToken(new PersistentRememberMeToken("Other", "Series2", "Value2", new Date()));
+        repository.updateToken("username", "NewUsername");
+        Assert.assertEquals("NewUsername", repository.getTokenForSeries("Series1").getUsername());
+        Assert.assertEquals("Other", repository.getTokenForSeries("Series2").getUsername());
+
+        repository.removeUserTokens("NewUsername");
+        Assert.assertNull(repository.getTokenForSeries("Series1"));
+        Assert.assertNotNull(repository.getTokenForSeries("Series2"));
+
+        final SessionTokenFileRepository restored = createRepository(1000);
+        Assert.assertNull(restored.getTokenForSeries("Series1"));
+        Assert.assertEquals("Other", restored.getTokenForSeries("Series2").getUsername());
+        restored.destroy();
+    }
+
+    @Test
+    public void testCompaction(){
+        repository.destroy();
+        repository = createRepository(2);
+        repository.createNewToken(new PersistentRememberMeToken("Username", "Series1", "Value1", new Date()));
+        Assert.assertTrue(getJournal().isFile());
+        repository.createNewToken(new PersistentRememberMeToken("Username", "Series2", "Value2", new Date()));
+        Assert.assertFalse(getJournal().isFile());
+        Assert.assertTrue(new File(folder.getRoot(), FILE_NAME).isFile());
+
+        final SessionTokenFileRepository restored = createRepository(2);
+        Assert.assertNotNull(restored.getTokenForSeries("Series1"));
+        Assert.assertNotNull(restored.getTokenForSeries("Series2"));
+        restored.destroy();
+    }
+
+    @Test
+    public void testSweep(){
+        final Date expired = new Date(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(VALIDITY) - 1000);
+        repository.createNewToken(new PersistentRememberMeToken("Username", "Series1", "Value1", expired));
+        repository.createNewToken(new PersistentRememberMeToken("Username", "Series2", "Value2", new Date()));
+        repository.sweep();
+        Assert.assertNull(repository.getTokenForSeries("Series1"));
+        Assert.assertNotNull(repository.getTokenForSeries("Series2"));
+        Assert.assertFalse(getJournal().isFile());
+    }
+
+    @Test
+    public void testRestoreWithCorruptJournalEntry() throws Exception {
+        repository.createNewToken(new PersistentRememberMeToken("Username", "Series1", "Value1", new Date()));
+        Files.write(getJournal().toPath(), Arrays.asList("P\tSeries2\tUsername\tValue2\tCorrupt",
+                        "P\tSeries3\tUsername\t%zz\t" + System.currentTimeMillis(),
+                        "P\tSeries4\tUsername\tValue4\t" + System.currentTimeMillis()),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        final SessionTokenFileRepository restored = createRepository(1000);
+        Assert.assertEquals("Value1", restored.getTokenForSeries("Series1").getTokenValue());
+        Assert.assertNull(restored.getTokenForSeries("Series2"));
+        Assert.assertNull(restored.getTokenForSeries("Series3"));
+        Assert.assertEquals("Value4", restored.getTokenForSeries("Series4").getTokenValue());
+        restored.destroy();
+    }
+
+    private SessionTokenFileRepository createRepository(final int compactionThreshold){
+        final SessionTokenFileRepository repository = new SessionTokenFileRepository();
+        ReflectionTestUtils.setField(repository, "tokenDirectory", folder.getRoot().getAbsolutePath());
+        ReflectionTestUtils.setField(repository, "tokenFileName", FILE_NAME);
+        ReflectionTestUtils.setField(repository, "tokenValiditySeconds", VALIDITY);
+        ReflectionTestUtils.setField(repository, "compactionThreshold", compactionThreshold);
+        ReflectionTestUtils.setField(repository, "sweepIntervalSeconds", 0L);
+        ReflectionTestUtils.setField(repository, "fileRepositorySupport", new FileRepositorySupport());
+        repository.initialize();
+        return repository;
+    }
+
+    private File getJournal(){
+        return new File(folder.getRoot(), FILE_NAME + ".journal");
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.log;
+
+import com.castlemock.repository.Profiles;
+import com.castlemock.repository.core.file.FileRepositorySupport;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The log repository support replaces the {@link FileRepositorySupport} in the log profile. Instead of
+ * writing every type to a file of its own, all the types are stored in a single {@link LogStore}. The
+ * file repositories are used as is, which means that the log profile supports the same repositories
+ * as the file profile.
+ * <p>
+ * A type is stored with its file name, relative to the base directory, as key. The files of a type are
+ * imported into the log when the log has been created, which makes it possible to switch from the
+ * file profile to the log profile. The import of each directory is completed by a marker record, and
+ * an import that was interrupted is resumed when the application is started again.
+ * <p>
+ * Bodies, SOAP resources, events and session tokens are not stored in the log. They are written by
+ * their own stores, which keep using files in the log profile, and are therefore not imported.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@Primary
+@Component
+@Profile(Profiles.LOG)
+public class LogRepositorySupport extends FileRepositorySupport {
+
+    private static final Logger LOGGER = Logger.getLogger(LogRepositorySupport.class);
+    private static final char SEPARATOR = '/';
+    private static final String IMPORT_KEY = ".import";
+
+    @Value(value = "${base.file.directory}")
+    private String baseFileDirectory;
+    @Value(value = "${log.file.name:castlemock.log}")
+    private String logFileName;
+    @Value(value = "${log.fsync.enabled:false}")
+    private boolean sync;
+    @Value(value = "${log.compaction.interval.millis:60000}")
+    private long compactionIntervalMillis;
+    @Value(value = "${log.compaction.garbage.ratio:0.5}")
+    private double compactionGarbageRatio;
+    @Value(value = "${log.compaction.min.size:1048576}")
+    private long compactionMinSize;
+
+    private LogStore store;
+    private Path basePath;
+    private ScheduledExecutorService compactor;
+
+    /**
+     * The method opens the log and starts the background compaction.
+     */
+    @PostConstruct
+    public void open(){
+        this.basePath = Paths.get(baseFileDirectory).toAbsolutePath().normalize();
+        final File logFile = new File(baseFileDirectory, logFileName);
+        final boolean created = !logFile.exists();
+        this.store = new LogStore(logFile, sync);
+        this.store.open();
+        if(created){
+            // The files are imported as long as the log contains the import record
+            this.store.put(IMPORT_KEY, new byte[0]);
+        }
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "castlemock-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.compactor.scheduleWithFixedDelay(this::compact, compactionIntervalMillis,
+                compactionIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The method stops the background compaction and closes the log.
+     */
+    @PreDestroy
+    public void close(){
+        if(compactor != null){
+            compactor.shutdownNow();
+        }
+        if(store != null){
+            store.close();
+        }
+    }
+
+    /**
+     * Compact the log if the share of replaced and deleted records has reached the configured ratio.
+     */
+    public void compact(){
+        try {
+            final long garbage = store.getGarbage();
+            if(garbage >= compactionMinSize && garbage >= store.getSize() * compactionGarbageRatio){
+                store.compact();
+            }
+        } catch (Exception e) {
+            LOGGER.error("Unable to compact the log", e);
+        }
+    }
+
+    @Override
+    public <T> Collection<T> load(final Class<T> entityClass, final String directory, final String postfix){
+        final String prefix = getKey(directory) + SEPARATOR;
+        if(store.contains(IMPORT_KEY)){
+            importFiles(directory, postfix);
+        }
+        final Map<String, byte[]> values = store.read(key -> key.startsWith(prefix) &&
+                key.indexOf(SEPARATOR, prefix.length()) < 0 &&
+                key.endsWith(postfix));
+        final Collection<T> loadedTypes = new ArrayList<T>();
+        for(byte[] value : values.values()){
+            loadedTypes.add(unmarshal(entityClass, value));
+        }
+        LOGGER.debug("Loaded " + loadedTypes.size() + " " + entityClass.getSimpleName() + " from the log");
+        return loadedTypes;
+    }
+
+    @Override
+    public boolean isPartialLoadingSupported(){
+        return false;
+    }
+
+    @Override
+    public <T> Collection<T> loadSnapshot(final Class<T> entityClass, final String directory, final String postfix){
+        return load(entityClass, directory, postfix);
+    }
+
+    @Override
+    public <T> void save(final T type, final String filename){
+        store.put(getKey(filename), encode(type));
+    }
+
+    @Override
+    public void delete(final String filename){
+        store.delete(getKey(filename));
+    }
+
+    @Override
+    public void delete(final String directory, final String filename){
+        store.delete(getKey(new File(directory, filename).getPath()));
+        super.delete(directory, filename);
+    }
+
+    /**
+     * Import all the files of a type into the log. The import is marked as completed once all
+     * the files have been imported. An interrupted import is resumed, in which case the files
+     * that have already been imported are skipped.
+     * @param directory The directory that the files are stored in.
+     * @param postfix The file extension of the files.
+     */
+    private void importFiles(final String directory, final String postfix){
+        final String marker = IMPORT_KEY + SEPARATOR + getKey(directory) + SEPARATOR + postfix;
+        if(store.contains(marker)){
+            return;
+        }
+        final File[] files = new File(directory).listFiles((dir, name) -> name.endsWith(postfix));
+        int imported = 0;
+        if(files != null){
+            for(File file : files){
+                final String key = getKey(file.getPath());
+                if(store.contains(key)){
+                    continue;
+                }
+                try {
+                    store.put(key, Files.readAllBytes(file.toPath()));
+                    imported++;
+                } catch (IOException e) {
+                    LOGGER.error("Unable to import the following file: " + file, e);
+                    return;
+                }
+            }
+        }
+        store.put(marker, new byte[0]);
+        if(imported > 0){
+            LOGGER.info("Imported " + imported + " files from " + directory + " into the log");
+        }
+    }
+
+    /**
+     * Get the key of a file. The key is the path of the file relative to the base directory.
+     * @param filename The name of the file.
+     * @return The key of the file.
+     */
+    private String getKey(final String filename){
+        final Path path = Paths.get(filename).toAbsolutePath().normalize();
+        final Path key = path.startsWith(basePath) ? basePath.relativize(path) : path;
+        return key.toString().replace(File.separatorChar, SEPARATOR);
+    }
+}
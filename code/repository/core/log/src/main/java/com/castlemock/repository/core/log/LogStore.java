@@ -0,0 +1,466 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.log;
+
+import com.google.common.base.Preconditions;
+import org.apache.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * The log store persists values in a single append-only data file. Every put or delete of a value
+ * is appended as a record to the end of the file, and an in-memory hash index maps the key of every
+ * live value to the position of its latest record.
+ * <p>
+ * Records that have been replaced or deleted remain in the file until the store is compacted. A
+ * compaction writes all the live records to a new file, which then replaces the data file with an
+ * atomic rename. The live records are copied without blocking the store, and only the records that
+ * were appended during the copy, together with a delete record for every copied value that was deleted
+ * during the copy, are written while the store is locked.
+ * <p>
+ * Every record contains a checksum. A record at the end of the file that is incomplete or corrupt,
+ * which is the result of an interrupted write, is truncated when the store is opened.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class LogStore implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(LogStore.class);
+    private static final int MAGIC = 0x434D4C53;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 8;
+    private static final int RECORD_HEADER_LENGTH = 8;
+    private static final int MAX_RECORD_LENGTH = 256 * 1024 * 1024;
+    private static final String COMPACTION_EXTENSION = ".compact";
+    private static final byte PUT = 'P';
+    private static final byte DELETE = 'D';
+
+    private final File file;
+    private final boolean sync;
+    private final Map<String, Location> index = new HashMap<String, Location>();
+    private final Object compactionLock = new Object();
+    private FileChannel channel;
+    private long size;
+    private long garbage;
+
+    /**
+     * Create a new log store.
+     * @param file The data file of the store.
+     * @param sync <code>true</code> if every record should be synchronized with the storage device.
+     */
+    public LogStore(final File file, final boolean sync) {
+        Preconditions.checkNotNull(file, "The file cannot be null");
+        this.file = file;
+        this.sync = sync;
+    }
+
+    /**
+     * Open the store and build the index by scanning the data file. The data file is
+     * created if it does not exist, and it is truncated after the last complete record.
+     */
+    public synchronized void open(){
+        final File directory = file.getAbsoluteFile().getParentFile();
+        if(!directory.isDirectory() && !directory.mkdirs()){
+            throw new IllegalStateException("Unable to create the following directory: " + directory);
+        }
+        try {
+            Files.deleteIfExists(new File(file.getPath() + COMPACTION_EXTENSION).toPath());
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if(channel.size() < HEADER_LENGTH){
+                channel.truncate(0);
+                writeHeader(channel);
+            }
+            scan();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to open the following log: " + file, e);
+        }
+        LOGGER.debug("Loaded " + index.size() + " values from " + file);
+    }
+
+    /**
+     * Read all the live values which keys match the provided filter.
+     * @param filter The filter that the keys have to match.
+     * @return The matching values mapped by their keys, in the order that they were written.
+     */
+    public synchronized Map<String, byte[]> read(final Predicate<String> filter){
+        final Map<String, byte[]> values = new LinkedHashMap<String, byte[]>();
+        try {
+            for(Map.Entry<String, Location> entry : ordered()){
+                if(filter.test(entry.getKey())){
+                    values.put(entry.getKey(), readValue(entry.getValue()));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the following log: " + file, e);
+        }
+        return values;
+    }
+
+    /**
+     * Check if the store contains a live value.
+     * @param key The key of the value.
+     * @return <code>true</code> if the store contains a value for the key.
+     */
+    public synchronized boolean contains(final String key){
+        return index.containsKey(key);
+    }
+
+    /**
+     * Append a record for a value.
+     * @param key The key of the value.
+     * @param value The value.
+     */
+    public synchronized void put(final String key, final byte[] value){
+        Preconditions.checkNotNull(key, "The key cannot be null");
+        Preconditions.checkNotNull(value, "The value cannot be null");
+        final long position = append(PUT, key, value);
+        release(index.put(key, new Location(position, (int) (size - position))));
+    }
+
+    /**
+     * Append a record for a deleted value. Nothing is appended if the key does not exist.
+     * @param key The key of the value that has been deleted.
+     */
+    public synchronized void delete(final String key){
+        final Location location = index.remove(key);
+        if(location == null){
+            return;
+        }
+        final long position = append(DELETE, key, new byte[0]);
+        release(location);
+        garbage += size - position;
+    }
+
+    /**
+     * Get the number of bytes in the data file that are occupied by records that have been
+     * replaced or deleted.
+     * @return The number of bytes that a compaction would reclaim.
+     */
+    public synchronized long getGarbage(){
+        return garbage;
+    }
+
+    /**
+     * Get the size of the data file.
+     * @return The size of the data file in bytes.
+     */
+    public synchronized long getSize(){
+        return size;
+    }
+
+    /**
+     * Compact the store by writing all the live records to a new data file, which replaces the current one.
+     * The records that are live when the compaction starts are copied without holding the lock of the store,
+     * which means that values can be read and written during the copy. The records that were appended during
+     * the copy are transferred once the copy is done, right before the new data file replaces the current one.
+     * A value that was deleted during the copy gets a delete record in the new data file, since its copied
+     * record would otherwise bring it back the next time the store is opened.
+     */
+    public void compact(){
+        synchronized (compactionLock){
+            final File compacted = new File(file.getPath() + COMPACTION_EXTENSION);
+            final FileChannel source;
+            final long end;
+            final List<Map.Entry<String, Location>> live;
+            synchronized (this){
+                if(channel == null){
+                    return;
+                }
+                source = channel;
+                end = size;
+                live = ordered();
+            }
+
+            try (FileChannel target = FileChannel.open(compacted.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)){
+                writeHeader(target);
+                target.position(HEADER_LENGTH);
+                final Map<String, Location> locations = new HashMap<String, Location>();
+                long position = HEADER_LENGTH;
+                for(Map.Entry<String, Location> entry : live){
+                    position = transfer(source, entry.getValue(), target, position);
+                    locations.put(entry.getKey(), new Location(position - entry.getValue().length, entry.getValue().length));
+                }
+                target.force(true);
+                copied();
+
+                synchronized (this){
+                    if(channel != source){
+                        return;
+                    }
+                    // Transfer the records that were appended during the copy
+                    final Map<String, Location> compactedIndex = new HashMap<String, Location>();
+                    long compactedGarbage = 0;
+                    for(Map.Entry<String, Location> entry : ordered()){
+                        final Location location = entry.getValue();
+                        if(location.position < end){
+                            compactedIndex.put(entry.getKey(), locations.get(entry.getKey()));
+                        } else {
+                            position = transfer(source, location, target, position);
+                            compactedIndex.put(entry.getKey(), new Location(position - location.length, location.length));
+                            final Location copied = locations.get(entry.getKey());
+                            if(copied != null){
+                                compactedGarbage += copied.length;
+                            }
+                        }
+                    }
+                    // Write a delete record for the copied values that were deleted during the copy
+                    for(Map.Entry<String, Location> entry : locations.entrySet()){
+                        if(!compactedIndex.containsKey(entry.getKey())){
+                            final ByteBuffer record = record(DELETE, entry.getKey(), new byte[0]);
+                            final int length = record.remaining();
+                            while(record.hasRemaining()){
+                                position += target.write(record, position);
+                            }
+                            compactedGarbage += entry.getValue().length + length;
+                        }
+                    }
+                    target.force(true);
+                    swap(compacted, compactedIndex, compactedGarbage);
+                }
+            } catch (IOException e) {
+                LOGGER.error("Unable to compact the following log: " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Invoked by a compaction once the live records have been copied, right before the store
+     * is locked to transfer the records that were appended during the copy.
+     */
+    void copied(){
+    }
+
+    private void swap(final File compacted, final Map<String, Location> compactedIndex, final long compactedGarbage){
+        try {
+            channel.close();
+            try {
+                Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            final long previousSize = size;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.size = channel.size();
+            this.garbage = compactedGarbage;
+            this.index.clear();
+            this.index.putAll(compactedIndex);
+            LOGGER.info("Compacted " + file + " from " + previousSize + " to " + size + " bytes");
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to compact the following log: " + file, e);
+        }
+    }
+
+    private static long transfer(final FileChannel source, final Location location,
+                                 final FileChannel target, final long position) throws IOException {
+        long transferred = 0;
+        while(transferred < location.length){
+            transferred += source.transferTo(location.position + transferred,
+                    location.length - transferred, target);
+        }
+        return position + location.length;
+    }
+
+    /**
+     * Close the store.
+     */
+    @Override
+    public synchronized void close(){
+        if(channel == null){
+            return;
+        }
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to close the following log: " + file, e);
+        }
+        channel = null;
+    }
+
+    private void scan() throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        readFully(header, 0);
+        header.flip();
+        if(header.getInt() != MAGIC || header.getInt() != VERSION){
+            throw new IllegalStateException("The following file is not a log: " + file);
+        }
+
+        final long length = channel.size();
+        long position = HEADER_LENGTH;
+        final ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+        while(position + RECORD_HEADER_LENGTH <= length){
+            recordHeader.clear();
+            readFully(recordHeader, position);
+            recordHeader.flip();
+            final int recordLength = recordHeader.getInt();
+            final int checksum = recordHeader.getInt();
+            if(recordLength <= 0 || recordLength > MAX_RECORD_LENGTH ||
+                    position + RECORD_HEADER_LENGTH + recordLength > length){
+                break;
+            }
+            final ByteBuffer body = ByteBuffer.allocate(recordLength);
+            readFully(body, position + RECORD_HEADER_LENGTH);
+            if(checksum(body.array()) != checksum){
+                break;
+            }
+            body.flip();
+            final byte type = body.get();
+            final String key = readKey(body);
+            final Location location = new Location(position, RECORD_HEADER_LENGTH + recordLength);
+            if(type == PUT){
+                release(index.put(key, location));
+            } else {
+                release(index.remove(key));
+                garbage += location.length;
+            }
+            position += location.length;
+        }
+
+        if(position < length){
+            LOGGER.warn("Truncating " + (length - position) + " bytes at the end of the following log: " + file);
+            channel.truncate(position);
+            channel.force(true);
+        }
+        this.size = position;
+    }
+
+    private List<Map.Entry<String, Location>> ordered(){
+        final List<Map.Entry<String, Location>> entries = new ArrayList<Map.Entry<String, Location>>(index.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().position));
+        return entries;
+    }
+
+    private long append(final byte type, final String key, final byte[] value){
+        try {
+            final ByteBuffer record = record(type, key, value);
+            final long position = size;
+            while(record.hasRemaining()){
+                size += channel.write(record, size);
+            }
+            if(sync){
+                channel.force(false);
+            }
+            return position;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write to the following log: " + file, e);
+        }
+    }
+
+    private static ByteBuffer record(final byte type, final String key, final byte[] value) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(value.length + key.length() + 16);
+        final DataOutputStream body = new DataOutputStream(output);
+        body.writeByte(type);
+        final byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+        body.writeInt(rawKey.length);
+        body.write(rawKey);
+        body.write(value);
+        body.flush();
+        final byte[] raw = output.toByteArray();
+        Preconditions.checkArgument(raw.length <= MAX_RECORD_LENGTH, "The value is too large");
+
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_LENGTH + raw.length);
+        record.putInt(raw.length);
+        record.putInt(checksum(raw));
+        record.put(raw);
+        record.flip();
+        return record;
+    }
+
+    private byte[] readValue(final Location location) throws IOException {
+        final ByteBuffer record = ByteBuffer.allocate(location.length - RECORD_HEADER_LENGTH);
+        readFully(record, location.position + RECORD_HEADER_LENGTH);
+        record.flip();
+        record.get();
+        readKey(record);
+        final byte[] value = new byte[record.remaining()];
+        record.get(value);
+        return value;
+    }
+
+    private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+        long offset = position;
+        while(buffer.hasRemaining()){
+            final int read = channel.read(buffer, offset);
+            if(read < 0){
+                throw new IOException("Unexpected end of the following log: " + file);
+            }
+            offset += read;
+        }
+    }
+
+    private void release(final Location location){
+        if(location != null){
+            garbage += location.length;
+        }
+    }
+
+    private static String readKey(final ByteBuffer buffer){
+        final byte[] rawKey = new byte[buffer.getInt()];
+        buffer.get(rawKey);
+        return new String(rawKey, StandardCharsets.UTF_8);
+    }
+
+    private static void writeHeader(final FileChannel channel) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.flip();
+        while(header.hasRemaining()){
+            channel.write(header, HEADER_LENGTH - header.remaining());
+        }
+        channel.force(true);
+    }
+
+    private static int checksum(final byte[] raw){
+        final CRC32 crc = new CRC32();
+        crc.update(raw);
+        return (int) crc.getValue();
+    }
+
+    private static final class Location {
+
+        private final long position;
+        private final int length;
+
+        private Location(final long position, final int length) {
+            this.position = position;
+            this.length = length;
+        }
+    }
+}
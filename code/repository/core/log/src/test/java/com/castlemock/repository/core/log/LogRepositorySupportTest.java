@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.repository.core.log;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class LogRepositorySupportTest {
+
+    private static final String LOG_FILE_NAME = "castlemock.log";
+    private static final String EXTENSION = ".test";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File base;
+    private File directory;
+    private LogRepositorySupport logRepositorySupport;
+
+    @Before
+    public void setup() throws IOException {
+        this.base = folder.newFolder("base");
+        this.directory = new File(base, "test" + File.separator + "v1");
+        Assert.assertTrue(directory.mkdirs());
+        write("A");
+        write("B");
+    }
+
+    @After
+    public void tearDown(){
+        if(logRepositorySupport != null){
+            logRepositorySupport.close();
+        }
+    }
+
+    @Test
+    public void testImport(){
+        open();
+        Assert.assertEquals(Arrays.asList("A", "B"), load());
+        logRepositorySupport.delete(new File(directory, "B" + EXTENSION).getPath());
+        logRepositorySupport.close();
+
+        // The files are only imported once
+        open();
+        Assert.assertEquals(Collections.singletonList("A"), load());
+    }
+
+    @Test
+    public void testResumeImport(){
+        // The import was interrupted after the first file had been imported and changed
+        final LogStore store = new LogStore(new File(base, LOG_FILE_NAME), false);
+        store.open();
+        store.put(".import", new byte[0]);
+        store.put("test/v1/A" + EXTENSION, xml("C"));
+        store.close();
+
+        open();
+        Assert.assertEquals(Arrays.asList("B", "C"), load());
+    }
+
+    @Test
+    public void testExistingLog(){
+        // A log without an import record is never imported into
+        final LogStore store = new LogStore(new File(base, LOG_FILE_NAME), false);
+        store.open();
+        store.close();
+
+        open();
+        Assert.assertTrue(load().isEmpty());
+    }
+
+    private void open(){
+        this.logRepositorySupport = new LogRepositorySupport();
+        ReflectionTestUtils.setField(logRepositorySupport, "baseFileDirectory", base.getPath());
+        ReflectionTestUtils.setField(logRepositorySupport, "logFileName", LOG_FILE_NAME);
+        ReflectionTestUtils.setField(logRepositorySupport, "compactionIntervalMillis", 60000L);
+        ReflectionTestUtils.setField(logRepositorySupport, "compactionGarbageRatio", 0.5);
+        ReflectionTestUtils.setField(logRepositorySupport, "compactionMinSize", 1048576L);
+        logRepositorySupport.open();
+    }
+
+    private List<String> load(){
+        return logRepositorySupport.load(TestFile.class, directory.getPath(), EXTENSION)
+                .stream()
+                .map(TestFile::getValue)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private void write(final String value) throws IOException {
+        Files.write(new File(directory, value + EXTENSION).toPath(), xml(value));
+    }
+
+    private static byte[] xml(final String value){
+        return ("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>" +
+                "<testFile><value>" + value + "</value></testFile>").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @XmlRootElement(name = "testFile")
+    public static class TestFile {
+
+        private String value;
+
+        @XmlElement
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.core.log;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class LogStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        this.file = new File(folder.newFolder("log"), "castlemock.log");
+    }
+
+    @Test
+    public void testPutAndDelete(){
+        final LogStore store = open();
+        store.put("project/A", bytes("A"));
+        store.put("project/B", bytes("B"));
+        store.put("user/C", bytes("C"));
+        store.put("project/A", bytes("D"));
+        store.delete("project/B");
+        store.delete("project/E");
+
+        final Map<String, byte[]> values = store.read(key -> key.startsWith("project/"));
+        Assert.assertEquals(1, values.size());
+        Assert.assertEquals("D", string(values.get("project/A")));
+        store.close();
+
+        final LogStore reopened = open();
+        final Map<String, byte[]> reloaded = reopened.read(key -> true);
+        Assert.assertEquals(Arrays.asList("user/C", "project/A"), Arrays.asList(reloaded.keySet().toArray()));
+        Assert.assertEquals("C", string(reloaded.get("user/C")));
+        Assert.assertEquals("D", string(reloaded.get("project/A")));
+        Assert.assertTrue(reopened.getGarbage() > 0);
+        reopened.close();
+    }
+
+    @Test
+    public void testRecover() throws IOException {
+        final LogStore store = open();
+        store.put("project/A", bytes("A"));
+        store.put("project/B", bytes("B"));
+        final long size = store.getSize();
+        store.close();
+
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")){
+            raw.seek(size - 1);
+            raw.write('X');
+            raw.seek(size);
+            raw.write(new byte[]{0, 0, 0, 100, 1, 2});
+        }
+
+        final LogStore recovered = open();
+        final Map<String, byte[]> values = recovered.read(key -> true);
+        Assert.assertEquals(1, values.size());
+        Assert.assertEquals("A", string(values.get("project/A")));
+        Assert.assertTrue(recovered.getSize() < size);
+        Assert.assertEquals(recovered.getSize(), file.length());
+
+        recovered.put("project/C", bytes("C"));
+        recovered.close();
+        Assert.assertEquals(2, open().read(key -> true).size());
+    }
+
+    @Test
+    public void testCompact(){
+        final LogStore store = open();
+        for(int index = 0; index < 100; index++){
+            store.put("project/A", bytes("A" + index));
+            store.put("project/B" + index, bytes("B"));
+            store.delete("project/B" + index);
+        }
+        store.put("project/C", bytes("C"));
+        final long size = store.getSize();
+
+        store.compact();
+        Assert.assertEquals(0, store.getGarbage());
+        Assert.assertTrue(store.getSize() < size);
+        Assert.assertEquals(store.getSize(), file.length());
+        Assert.assertEquals("A99", string(store.read(key -> key.equals("project/A")).get("project/A")));
+
+        store.put("project/D", bytes("D"));
+        store.close();
+
+        final Map<String, byte[]> values = open().read(key -> true);
+        Assert.assertEquals(Arrays.asList("project/A", "project/C", "project/D"), Arrays.asList(values.keySet().toArray()));
+        Assert.assertEquals("A99", string(values.get("project/A")));
+    }
+
+    @Test
+    public void testCompactWhileWriting() throws InterruptedException {
+        final LogStore store = open();
+        for(int index = 0; index < 1000; index++){
+            store.put("project/A" + index, bytes("A"));
+            store.put("project/A" + index, bytes("B" + index));
+        }
+
+        final Thread writer = new Thread(() -> {
+            for(int index = 0; index < 1000; index++){
+                store.put("project/C" + index, bytes("C" + index));
+                if(index % 2 == 0){
+                    store.delete("project/A" + index);
+                }
+            }
+        });
+        writer.start();
+        store.compact();
+        writer.join();
+        store.close();
+
+        final Map<String, byte[]> values = open().read(key -> true);
+        Assert.assertEquals(1500, values.size());
+        for(int index = 0; index < 1000; index++){
+            Assert.assertEquals("C" + index, string(values.get("project/C" + index)));
+            if(index % 2 == 0){
+                Assert.assertFalse(values.containsKey("project/A" + index));
+            } else {
+                Assert.assertEquals("B" + index, string(values.get("project/A" + index)));
+            }
+        }
+    }
+
+    @Test
+    public void testDeleteDuringCompaction(){
+        final LogStore store = new LogStore(file, false){
+            @Override
+            void copied() {
+                // The values are deleted after they have been copied to the compacted file
+                for(int index = 0; index < 100; index++){
+                    delete("project/A" + index);
+                }
+                put("project/B", bytes("B"));
+            }
+        };
+        store.open();
+        for(int index = 0; index < 200; index++){
+            store.put("project/A" + index, bytes("A" + index));
+        }
+
+        store.compact();
+        Assert.assertEquals(101, store.read(key -> true).size());
+        Assert.assertTrue(store.getGarbage() > 0);
+        store.close();
+
+        final Map<String, byte[]> values = open().read(key -> true);
+        Assert.assertEquals(101, values.size());
+        Assert.assertEquals("B", string(values.get("project/B")));
+        for(int index = 0; index < 200; index++){
+            Assert.assertEquals(index >= 100, values.containsKey("project/A" + index));
+        }
+    }
+
+    private LogStore open(){
+        final LogStore store = new LogStore(file, false);
+        store.open();
+        return store;
+    }
+
+    private static byte[] bytes(final String value){
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(final byte[] value){
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -4,4 +4,6 @@ public interface Profiles {
 
     String FILE = "file";
     String MONGODB = "mongodb";
+    String LOG = "log";
+    String MEMORY = "memory";
 }
@@ -66,12 +66,31 @@ public interface Repository<D, I extends Serializable> {
      */
     D save(D type);
 
+    /**
+     * The save all method provides the functionality to save several instances in one batch.
+     * @param types The types that will be saved.
+     * @return The types that were saved, in the same order as they were provided.
+     * @since 1.38
+     * @see #save(Object)
+     */
+    List<D> saveAll(List<D> types);
+
     /**
      * Delete an instance that match the provided id
      * @param id The instance that matches the provided id will be deleted in the database
      */
     D delete(I id);
 
+    /**
+     * The delete all method provides the functionality to delete several instances in one batch.
+     * Ids that do not match any instance are ignored.
+     * @param ids The ids of the instances that will be deleted.
+     * @return The instances that were deleted.
+     * @since 1.38
+     * @see #delete(Serializable)
+     */
+    List<D> deleteAll(List<I> ids);
+
     /**
      * Updates an instance that matches the provided id.
      * @param id The id of the instance that will be updated.
@@ -81,6 +100,18 @@ public interface Repository<D, I extends Serializable> {
      */
     D update(I id, D type);
 
+    /**
+     * Updates a single field of several instances in one batch, without replacing
+     * the instances. Ids that do not match any instance are ignored.
+     * @param ids The ids of the instances that will be updated.
+     * @param field The field that will be updated.
+     * @param value The new value of the field.
+     * @throws IllegalArgumentException If the managed type does not have the provided field
+     *                                  or if the value is not of the type of the field.
+     * @since 1.38
+     */
+    void updateAll(List<I> ids, UpdatableField field, Object value);
+
     /**
      * Count all the stored entities for the repository
      * @return The count of entities
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository;
+
+/**
+ * The {@link UpdatableField} represents a field of a managed type that can be updated
+ * for several instances at once with {@link Repository#updateAll}. Repositories that support
+ * partial updates expose their fields as an enum implementing this interface.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public interface UpdatableField {
+
+    /**
+     * Returns the name of the property that the field represents.
+     * @return The name of the property.
+     */
+    String getName();
+
+    /**
+     * Returns the type of the values that the field accepts.
+     * @return The type of the field.
+     */
+    Class<?> getType();
+
+}
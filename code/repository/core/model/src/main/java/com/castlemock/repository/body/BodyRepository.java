@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.repository.body;
+
+/**
+ * The body repository is a content addressed store for request and response bodies. Each distinct
+ * body is stored once and is identified by the hash of its content. Entities, such as mock responses
+ * and events, reference the stored body by its hash. The repository keeps track of the number of
+ * references for each body and a body is removed as soon as it is no longer referenced.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public interface BodyRepository {
+
+    /**
+     * Store the provided body. A new reference is added to the stored body if an identical
+     * body has already been stored.
+     * @param body The body that will be stored.
+     * @return The hash that identifies the stored body.
+     */
+    String save(String body);
+
+    /**
+     * Add a reference to an already stored body. The method is used when an entity that
+     * references a body is loaded. The body itself is not necessarily read until it is requested.
+     * @param hash The hash of the stored body.
+     * @return <code>true</code> if a body matches the provided hash.
+     */
+    boolean reference(String hash);
+
+    /**
+     * Find a stored body.
+     * @param hash The hash of the stored body.
+     * @return The stored body or <code>null</code> if no body matches the provided hash.
+     */
+    String findOne(String hash);
+
+    /**
+     * Remove a reference to a stored body. The body will be deleted when it is
+     * no longer referenced.
+     * @param hash The hash of the stored body.
+     */
+    void delete(String hash);
+
+}
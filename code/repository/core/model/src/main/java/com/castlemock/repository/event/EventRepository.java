@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.event;
+
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
+import com.castlemock.repository.Repository;
+
+import java.util.List;
+
+/**
+ * The event repository is the base repository for all the event repositories. It provides
+ * the functionality to query events without loading their request and response bodies.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see Repository
+ */
+public interface EventRepository<D> extends Repository<D, String> {
+
+    /**
+     * Find a page of event summaries that match the provided query. The summaries are returned
+     * with the newest event first and the request and response bodies are never loaded.
+     * The type of the query is not taken into consideration by the repository.
+     * @param query The query that the events have to match.
+     * @return A list with at most {@link EventQuery#getLimit()} summaries that match the query
+     *         and that come after the cursor of the query.
+     */
+    List<EventSummary> findSummaries(EventQuery query);
+
+}
@@ -1,22 +1,34 @@
 package com.castlemock.repository.core.mongodb;
 
+import com.castlemock.core.basis.metric.MetricRegistry;
+import com.castlemock.core.basis.metric.Timer;
 import com.castlemock.core.basis.model.Saveable;
 import com.castlemock.core.basis.model.SearchQuery;
 import com.castlemock.repository.Repository;
+import com.castlemock.repository.UpdatableField;
+import com.castlemock.repository.body.BodyRepository;
+import com.castlemock.repository.core.mongodb.body.BodyReferenceDocument;
 import com.google.common.base.Preconditions;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.UpdateOptions;
 import org.apache.log4j.Logger;
+import org.bson.types.ObjectId;
 import org.dozer.DozerBeanMapper;
 import org.dozer.Mapping;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static org.springframework.data.mongodb.core.query.Criteria.where;
@@ -40,11 +52,19 @@ public abstract class MongoRepository<T extends Saveable<I>, D, I extends Serial
     protected DozerBeanMapper mapper;
     @Autowired
     protected MongoOperations mongoOperations;
+    @Autowired
+    protected BodyRepository bodyRepository;
 
     private final Class<T> entityClass;
 
     private final Class<D> dtoClass;
 
+    private final Timer findOneTimer;
+    private final Timer findAllTimer;
+    private final Timer saveTimer;
+    private final Timer deleteTimer;
+
+    private static final String REPOSITORY_METRIC = "castlemock_repository_seconds";
     private static final Logger LOGGER = Logger.getLogger(MongoRepository.class);
 
     /**
@@ -56,6 +76,10 @@ public abstract class MongoRepository<T extends Saveable<I>, D, I extends Serial
         final ParameterizedType genericSuperclass = (ParameterizedType) getClass().getGenericSuperclass();
         this.entityClass = (Class<T>) genericSuperclass.getActualTypeArguments()[0];
         this.dtoClass = (Class<D>) genericSuperclass.getActualTypeArguments()[1];
+        this.findOneTimer = getTimer("findOne");
+        this.findAllTimer = getTimer("findAll");
+        this.saveTimer = getTimer("save");
+        this.deleteTimer = getTimer("delete");
     }
 
     /**
@@ -79,8 +103,11 @@ public abstract class MongoRepository<T extends Saveable<I>, D, I extends Serial
     public D findOne(final I id) {
         Preconditions.checkNotNull(id, "The provided id cannot be null");
         LOGGER.debug("Retrieving " + entityClass.getSimpleName() + " with id " + id);
+        final long startTime = System.nanoTime();
         T type = mongoOperations.findById(id, entityClass);
-        return type != null ? mapper.map(type, dtoClass) : null;
+        final D dto = type != null ? toDto(type) : null;
+        findOneTimer.recordSince(startTime);
+        return dto;
     }
 
     /**
@@ -91,7 +118,10 @@ public abstract class MongoRepository<T extends Saveable<I>, D, I extends Serial
     @Override
     public List<D> findAll() {
         LOGGER.debug("Retrieving all instances for " + entityClass.getSimpleName());
-        return toDtoList(mongoOperations.find(new Query(), entityClass), dtoClass);
+        final long startTime = System.nanoTime();
+        final List<D> dtos = toDtoList(mongoOperations.find(new Query(), entityClass), dtoClass);
+        findAllTimer.recordSince(startTime);
+        return dtos;
     }
 
     /**
@@ -104,10 +134,94 @@ public abstract class MongoRepository<T extends Saveable<I>, D, I extends Serial
      */
     @Override
     public D save(final D dto) {
+        final long startTime = System.nanoTime();
         T type = mapper.map(dto, entityClass);
         checkType(type);
-        mongoOperations.save(type);
-        return mapper.map(type, dtoClass);
+        try {
+            if (getBodyReferences(type).isEmpty()) {
+                mongoOperations.save(type);
+                return mapper.map(type, dtoClass);
+            }
+
+            final T previous = type.getId() != null ? mongoOperations.findById(type.getId(), entityClass) : null;
+            final List<String> previousBodyHashes = getBodyHashes(previous);
+            saveBodies(type);
+            try {
+                mongoOperations.save(type);
+            } catch (RuntimeException e) {
+                deleteBodies(getBodyHashes(type));
+                throw e;
+            }
+            deleteBodies(previousBodyHashes);
+            return mapper.map(type, dtoClass);
+        } finally {
+            saveTimer.recordSince(startTime);
+        }
+    }
+
+    /**
+     * The save all method provides the functionality to save several instances to mongodb.
+     * Instances without an id are assigned a new one and the bodies of all instances are
+     * stored before the instances themselves are replaced, or inserted, in a single ordered
+     * bulk write. The bodies that were referenced by the replaced instances are released
+     * once the bulk write has completed.
+     *
+     * @param dtos The types that will be saved to mongodb.
+     * @return The types that were saved to mongodb, in the same order as they were provided.
+     */
+    @Override
+    public List<D> saveAll(final List<D> dtos) {
+        Preconditions.checkNotNull(dtos, "The types cannot be null");
+        if(dtos.isEmpty()){
+            return Collections.emptyList();
+        }
+        final long startTime = System.nanoTime();
+        try {
+            final List<T> types = new ArrayList<T>(dtos.size());
+            final List<I> ids = new ArrayList<I>(dtos.size());
+            for(D dto : dtos){
+                final T type = mapper.map(dto, entityClass);
+                checkType(type);
+                if(type.getId() == null){
+                    type.setId(generateId());
+                }
+                types.add(type);
+                ids.add(type.getId());
+            }
+
+            final List<String> previousBodyHashes = new ArrayList<String>();
+            for(T previous : mongoOperations.find(query(where("id").in(ids)), entityClass)){
+                previousBodyHashes.addAll(getBodyHashes(previous));
+            }
+
+            final List<String> savedBodyHashes = new ArrayList<String>();
+            final List<ReplaceOneModel<org.bson.Document>> replacements = new ArrayList<ReplaceOneModel<org.bson.Document>>(types.size());
+            try {
+                for(T type : types){
+                    saveBodies(type);
+                    savedBodyHashes.addAll(getBodyHashes(type));
+                    final org.bson.Document document = new org.bson.Document();
+                    mongoOperations.getConverter().write(type, document);
+                    replacements.add(new ReplaceOneModel<org.bson.Document>(new org.bson.Document("_id", document.get("_id")),
+                            document, new UpdateOptions().upsert(true)));
+                }
+                mongoOperations.getCollection(mongoOperations.getCollectionName(entityClass))
+                        .bulkWrite(replacements, new BulkWriteOptions().ordered(true));
+            } catch (RuntimeException e) {
+                deleteBodies(savedBodyHashes);
+                throw e;
+            }
+            deleteBodies(previousBodyHashes);
+
+            final List<D> saved = new ArrayList<D>(types.size());
+            for(T type : types){
+                saved.add(mapper.map(type, dtoClass));
+            }
+            LOGGER.debug("Saved " + saved.size() + " instances of " + entityClass.getSimpleName());
+            return saved;
+        } finally {
+            saveTimer.recordSince(startTime);
+        }
     }
 
     /**
@@ -122,6 +236,33 @@ public abstract class MongoRepository<T extends Saveable<I>, D, I extends Serial
         return save(type);
     }
 
+    /**
+     * Updates a single field of several instances with a single update operation.
+     *
+     * @param ids   The ids of the instances that will be updated.
+     * @param field The field that will be updated.
+     * @param value The new value of the field.
+     * @throws IllegalArgumentException If the managed type does not have the provided field
+     *                                  or if the value is not of the type of the field.
+     */
+    @Override
+    public void updateAll(final List<I> ids, final UpdatableField field, final Object value) {
+        Preconditions.checkNotNull(ids, "The ids cannot be null");
+        Preconditions.checkNotNull(field, "The field cannot be null");
+        Preconditions.checkArgument(value == null || field.getType().isInstance(value),
+                "The value of the field " + field.getName() + " has to be of type " + field.getType().getSimpleName());
+        Preconditions.checkArgument(BeanUtils.getPropertyDescriptor(entityClass, field.getName()) != null,
+                "The field " + field.getName() + " does not exist in " + entityClass.getSimpleName());
+        final long startTime = System.nanoTime();
+        try {
+            if(!ids.isEmpty()){
+                mongoOperations.updateMulti(query(where("id").in(ids)), new Update().set(field.getName(), value), entityClass);
+            }
+        } finally {
+            saveTimer.recordSince(startTime);
+        }
+    }
+
     /**
      * Count all the stored entities for the repository
      *
@@ -141,9 +282,68 @@ public abstract class MongoRepository<T extends Saveable<I>, D, I extends Serial
     public D delete(final I id) {
         Preconditions.checkNotNull(id, "The provided id cannot be null");
         LOGGER.debug("Start the deletion of " + entityClass.getSimpleName() + " with id " + id);
-        T type = mongoOperations.findAndRemove(getIdQuery(id), entityClass);
+        final long startTime = System.nanoTime();
+        final D type = findAndRemove(getIdQuery(id));
+        deleteTimer.recordSince(startTime);
         LOGGER.debug("Deletion of " + entityClass.getSimpleName() + " with id " + id + " was successfully completed");
-        return mapper.map(type, dtoClass);
+        return type;
+    }
+
+    /**
+     * Delete all the instances that match the provided ids with a single remove operation.
+     *
+     * @param ids The ids of the instances that will be deleted.
+     * @return The instances that were deleted.
+     */
+    @Override
+    public List<D> deleteAll(final List<I> ids) {
+        Preconditions.checkNotNull(ids, "The ids cannot be null");
+        if(ids.isEmpty()){
+            return Collections.emptyList();
+        }
+        final long startTime = System.nanoTime();
+        try {
+            final List<T> types = mongoOperations.findAllAndRemove(query(where("id").in(ids)), entityClass);
+            final List<D> dtos = toDtoList(types, dtoClass);
+            for (T type : types) {
+                deleteBodies(getBodyHashes(type));
+            }
+            return dtos;
+        } finally {
+            deleteTimer.recordSince(startTime);
+        }
+    }
+
+    /**
+     * Delete the first instance that matches the provided query. The bodies referenced
+     * by the deleted instance will be released.
+     *
+     * @param query The query that the instance has to match in order to be deleted.
+     * @return The deleted instance or <code>null</code> if no instance matched the query.
+     */
+    protected D findAndRemove(final Query query) {
+        final T type = mongoOperations.findAndRemove(query, entityClass);
+        if (type == null) {
+            return null;
+        }
+        final D dto = toDto(type);
+        deleteBodies(getBodyHashes(type));
+        return dto;
+    }
+
+    /**
+     * Delete all the instances that match the provided query. The bodies referenced
+     * by the deleted instances will be released.
+     *
+     * @param query The query that the instances have to match in order to be deleted.
+     * @return The deleted instances.
+     */
+    protected List<T> findAllAndRemove(final Query query) {
+        final List<T> types = mongoOperations.findAllAndRemove(query, entityClass);
+        for (T type : types) {
+            deleteBodies(getBodyHashes(type));
+        }
+        return types;
     }
 
 
@@ -210,11 +410,123 @@ public abstract class MongoRepository<T extends Saveable<I>, D, I extends Serial
     protected <T, D> List<D> toDtoList(final Collection<T> types, Class<D> clazz) {
         final List<D> dtos = new ArrayList<D>();
         for (T type : types) {
+            if (entityClass.isInstance(type)) {
+                loadBodies(entityClass.cast(type));
+            }
             dtos.add(mapper.map(type, clazz));
         }
         return dtos;
     }
 
+    /**
+     * The method converts a type into its DTO version. The bodies referenced by the
+     * type will be loaded from the {@link BodyRepository} before the conversion.
+     *
+     * @param type The type that will be converted.
+     * @return The DTO version of the provided type.
+     */
+    protected D toDto(final T type) {
+        loadBodies(type);
+        return mapper.map(type, dtoClass);
+    }
+
+    /**
+     * The method returns the class of the type that the repository is managing.
+     *
+     * @return The class of the type.
+     * @since 1.38
+     */
+    protected Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * The method returns all the parts of a type that carries a body. The bodies are stored in the
+     * {@link BodyRepository} and the type only keeps a reference to them. The method should be overridden
+     * by subclasses that manage types with bodies.
+     *
+     * @param type The type that the body references will be extracted from.
+     * @return A list of all the body references of the type.
+     */
+    protected List<BodyReferenceDocument> getBodyReferences(final T type) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * The method loads the bodies of a type from the {@link BodyRepository}. Documents that were saved
+     * before the body repository was introduced have their body stored inline.
+     *
+     * @param type The type whose bodies will be loaded.
+     */
+    private void loadBodies(final T type) {
+        for (BodyReferenceDocument reference : getBodyReferences(type)) {
+            if (reference.getBodyHash() != null) {
+                reference.setBody(bodyRepository.findOne(reference.getBodyHash()));
+            } else {
+                reference.setBody(reference.getInlineBody());
+            }
+        }
+    }
+
+    /**
+     * The method stores the bodies of a type in the {@link BodyRepository}.
+     *
+     * @param type The type that is about to be saved.
+     */
+    private void saveBodies(final T type) {
+        for (BodyReferenceDocument reference : getBodyReferences(type)) {
+            reference.setInlineBody(null);
+            reference.setBodyHash(reference.getBody() != null ? bodyRepository.save(reference.getBody()) : null);
+        }
+    }
+
+    /**
+     * The method removes a reference for each of the provided body hashes.
+     *
+     * @param bodyHashes The hashes of the bodies that are no longer referenced.
+     */
+    private void deleteBodies(final List<String> bodyHashes) {
+        for (String bodyHash : bodyHashes) {
+            bodyRepository.delete(bodyHash);
+        }
+    }
+
+    /**
+     * The method generates a new identifier for a type that is about to be saved without one.
+     * The identifier has the same format as the ones generated by mongodb.
+     *
+     * @return A new identifier.
+     * @throws IllegalArgumentException If identifiers can not be generated for the id type.
+     */
+    @SuppressWarnings("unchecked")
+    private I generateId() {
+        final Class<?> idClass = mongoOperations.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(entityClass).getRequiredIdProperty().getType();
+        Preconditions.checkArgument(String.class.equals(idClass),
+                "Unable to generate an id of type " + idClass.getSimpleName() + " for " + entityClass.getSimpleName());
+        return (I) new ObjectId().toHexString();
+    }
+
+    private Timer getTimer(final String operation) {
+        return MetricRegistry.timer(REPOSITORY_METRIC,
+                "profile", "mongodb",
+                "type", dtoClass.getSimpleName(),
+                "operation", operation);
+    }
+
+    private List<String> getBodyHashes(final T type) {
+        if (type == null) {
+            return Collections.emptyList();
+        }
+        final List<String> bodyHashes = new ArrayList<String>();
+        for (BodyReferenceDocument reference : getBodyReferences(type)) {
+            if (reference.getBodyHash() != null) {
+                bodyHashes.add(reference.getBodyHash());
+            }
+        }
+        return bodyHashes;
+    }
+
     /**
      * Case-insensitive contains search.
      *
@@ -274,6 +586,51 @@ public abstract class MongoRepository<T extends Saveable<I>, D, I extends Serial
         }
     }
 
+    @Document(collection = "eventPolicy")
+    protected static class EventPolicyDocument {
+
+        @Mapping("sampleRate")
+        private Double sampleRate;
+        @Mapping("maxBodyBytes")
+        private Integer maxBodyBytes;
+        @Mapping("headersOnly")
+        private Boolean headersOnly;
+        @Mapping("errorsOnly")
+        private Boolean errorsOnly;
+
+        public Double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(Double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public Integer getMaxBodyBytes() {
+            return maxBodyBytes;
+        }
+
+        public void setMaxBodyBytes(Integer maxBodyBytes) {
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        public Boolean getHeadersOnly() {
+            return headersOnly;
+        }
+
+        public void setHeadersOnly(Boolean headersOnly) {
+            this.headersOnly = headersOnly;
+        }
+
+        public Boolean getErrorsOnly() {
+            return errorsOnly;
+        }
+
+        public void setErrorsOnly(Boolean errorsOnly) {
+            this.errorsOnly = errorsOnly;
+        }
+    }
+
     private Query getIdQuery(Object id) {
         return new Query(getIdCriteria(id));
     }
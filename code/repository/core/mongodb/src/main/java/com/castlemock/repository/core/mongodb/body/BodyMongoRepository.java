@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.repository.core.mongodb.body;
+
+import com.castlemock.core.basis.utility.HashUtility;
+import com.castlemock.repository.Profiles;
+import com.castlemock.repository.body.BodyRepository;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * The body mongo repository stores each distinct body as a single document, identified by the hash
+ * of its content. The number of references is stored together with the body and is updated atomically.
+ * Recently used bodies are cached, since a stored body never changes.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see BodyRepository
+ */
+@Profile(Profiles.MONGODB)
+@Component("bodyRepository")
+public class BodyMongoRepository implements BodyRepository {
+
+    private static final String REFERENCES = "references";
+    private static final String BODY = "body";
+    private static final int CACHE_MAXIMUM_WEIGHT = 32 * 1024 * 1024;
+    private static final Logger LOGGER = Logger.getLogger(BodyMongoRepository.class);
+
+    @Autowired
+    protected MongoOperations mongoOperations;
+
+    private final Cache<String, String> cache = CacheBuilder.newBuilder()
+            .maximumWeight(CACHE_MAXIMUM_WEIGHT)
+            .weigher((String hash, String body) -> body.length())
+            .build();
+
+    /**
+     * Store the provided body. A new reference is added to the stored body if an identical
+     * body has already been stored.
+     * @param body The body that will be stored.
+     * @return The hash that identifies the stored body.
+     */
+    @Override
+    public String save(final String body) {
+        Preconditions.checkNotNull(body, "The body cannot be null");
+        final String hash = HashUtility.hash(body);
+        mongoOperations.upsert(getHashQuery(hash),
+                new Update().setOnInsert(BODY, body).inc(REFERENCES, 1),
+                BodyDocument.class);
+        cache.put(hash, body);
+        return hash;
+    }
+
+    /**
+     * Add a reference to an already stored body.
+     * @param hash The hash of the stored body.
+     * @return <code>true</code> if a body matches the provided hash.
+     */
+    @Override
+    public boolean reference(final String hash) {
+        Preconditions.checkNotNull(hash, "The hash cannot be null");
+        final BodyDocument document = mongoOperations.findAndModify(getHashQuery(hash),
+                new Update().inc(REFERENCES, 1),
+                BodyDocument.class);
+        if(document == null){
+            LOGGER.error("Unable to find the body with the following hash: " + hash);
+            return false;
+        }
+        cache.put(hash, document.body);
+        return true;
+    }
+
+    /**
+     * Find a stored body.
+     * @param hash The hash of the stored body.
+     * @return The stored body or <code>null</code> if no body matches the provided hash.
+     */
+    @Override
+    public String findOne(final String hash) {
+        Preconditions.checkNotNull(hash, "The hash cannot be null");
+        final String cached = cache.getIfPresent(hash);
+        if(cached != null){
+            return cached;
+        }
+        final BodyDocument document = mongoOperations.findById(hash, BodyDocument.class);
+        if(document == null){
+            LOGGER.error("Unable to find the body with the following hash: " + hash);
+            return null;
+        }
+        cache.put(hash, document.body);
+        return document.body;
+    }
+
+    /**
+     * Remove a reference to a stored body. The body will be deleted when it is
+     * no longer referenced.
+     * @param hash The hash of the stored body.
+     */
+    @Override
+    public void delete(final String hash) {
+        Preconditions.checkNotNull(hash, "The hash cannot be null");
+        final BodyDocument document = mongoOperations.findAndModify(getHashQuery(hash),
+                new Update().inc(REFERENCES, -1),
+                FindAndModifyOptions.options().returnNew(true),
+                BodyDocument.class);
+        if(document != null && document.references <= 0){
+            LOGGER.debug("Deleting the body with the following hash: " + hash);
+            mongoOperations.remove(query(where("id").is(hash).and(REFERENCES).lte(0)), BodyDocument.class);
+            cache.invalidate(hash);
+        }
+    }
+
+    private Query getHashQuery(final String hash){
+        return query(where("id").is(hash));
+    }
+
+    @Document(collection = "body")
+    private static class BodyDocument {
+
+        @Id
+        private String id;
+        private String body;
+        private int references;
+
+    }
+}
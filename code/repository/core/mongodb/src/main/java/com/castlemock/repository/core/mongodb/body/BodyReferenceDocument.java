@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.repository.core.mongodb.body;
+
+import org.dozer.Mapping;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * The body reference document is the base class for all documents that carries a body. The body itself is
+ * stored in the {@link com.castlemock.repository.body.BodyRepository} and the document only contains
+ * the hash of the body. Documents that were written before the body repository was introduced contain
+ * the body inline and are still readable.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public abstract class BodyReferenceDocument {
+
+    @Transient
+    @Mapping("body")
+    private String body;
+    private String bodyHash;
+    @Field("body")
+    private String inlineBody;
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public String getBodyHash() {
+        return bodyHash;
+    }
+
+    public void setBodyHash(String bodyHash) {
+        this.bodyHash = bodyHash;
+    }
+
+    public String getInlineBody() {
+        return inlineBody;
+    }
+
+    public void setInlineBody(String inlineBody) {
+        this.inlineBody = inlineBody;
+    }
+}
@@ -1,16 +1,163 @@
 package com.castlemock.repository.core.mongodb.event;
 
 import com.castlemock.core.basis.model.Saveable;
+import com.castlemock.core.basis.model.event.domain.EventCursor;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.repository.core.mongodb.MongoRepository;
+import com.castlemock.repository.event.EventRepository;
 import org.dozer.Mapping;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
 
 /**
  * @author Mohammad Hewedy
  * @since 1.35
  */
-public abstract class AbstractEventMongoRepository<T extends AbstractEventMongoRepository.EventDocument, D> extends MongoRepository<T, D, String> {
+public abstract class AbstractEventMongoRepository<T extends AbstractEventMongoRepository.EventDocument, D> extends MongoRepository<T, D, String> implements EventRepository<D> {
+
+    private static final String ID = "_id";
+    private static final String RESOURCE_NAME = "resourceName";
+    private static final String START_DATE = "startDate";
+    private static final String END_DATE = "endDate";
+    private static final String PROJECT_ID = "projectId";
+    private static final String STATUS_CODE = "response.httpStatusCode";
+    private static final String MOCK_RESPONSE_NAME = "response.mockResponseName";
+
+    /**
+     * The initialize method is responsible for initiating the repository. The indexes that
+     * are used to query the events are created if they do not already exist.
+     * @since 1.38
+     */
+    @Override
+    public void initialize() {
+        final IndexOperations indexOperations = mongoOperations.indexOps(getEntityClass());
+        indexOperations.ensureIndex(new Index().on(START_DATE, Sort.Direction.DESC).on(ID, Sort.Direction.DESC));
+        indexOperations.ensureIndex(new Index().on(PROJECT_ID, Sort.Direction.ASC).on(START_DATE, Sort.Direction.DESC));
+        indexOperations.ensureIndex(new Index().on(getApplicationIdField(), Sort.Direction.ASC).on(START_DATE, Sort.Direction.DESC));
+        if(getOperationIdField() != null){
+            indexOperations.ensureIndex(new Index().on(getOperationIdField(), Sort.Direction.ASC).on(START_DATE, Sort.Direction.DESC));
+        }
+        super.initialize();
+    }
+
+    /**
+     * Find a page of event summaries that match the provided query. Only the fields that are
+     * part of the summary are retrieved, and the bodies are never loaded.
+     * @param query The query that the events have to match.
+     * @return A list with the event summaries that match the query.
+     * @since 1.38
+     */
+    @Override
+    public List<EventSummary> findSummaries(final EventQuery query) {
+        final List<Criteria> criteria = new ArrayList<Criteria>();
+        if(query.getProjectId() != null){
+            criteria.add(where(PROJECT_ID).is(query.getProjectId()));
+        }
+        if(query.getApplicationId() != null){
+            criteria.add(where(getApplicationIdField()).is(query.getApplicationId()));
+        }
+        if(query.getOperationId() != null){
+            if(getOperationIdField() == null){
+                return new ArrayList<EventSummary>();
+            }
+            criteria.add(where(getOperationIdField()).is(query.getOperationId()));
+        }
+        if(query.getStatusCode() != null){
+            criteria.add(where(STATUS_CODE).is(query.getStatusCode()));
+        }
+        if(query.getFrom() != null){
+            criteria.add(where(START_DATE).gte(query.getFrom()));
+        }
+        if(query.getTo() != null){
+            criteria.add(where(START_DATE).lte(query.getTo()));
+        }
+        if(query.getCursor() != null){
+            final EventCursor cursor = query.getCursor();
+            final Date cursorDate = new Date(cursor.getStartTime());
+            criteria.add(new Criteria().orOperator(
+                    where(START_DATE).lt(cursorDate),
+                    new Criteria().andOperator(where(START_DATE).is(cursorDate), where(ID).lt(cursor.getId()))));
+        }
+
+        final Query mongoQuery = criteria.isEmpty() ? new Query() :
+                new Query(new Criteria().andOperator(criteria.toArray(new Criteria[criteria.size()])));
+        mongoQuery.with(Sort.by(Sort.Direction.DESC, START_DATE, ID)).limit(query.getLimit());
+        mongoQuery.fields()
+                .include(ID)
+                .include(RESOURCE_NAME)
+                .include(START_DATE)
+                .include(END_DATE)
+                .include(PROJECT_ID)
+                .include(STATUS_CODE)
+                .include(MOCK_RESPONSE_NAME);
+        for(String field : getSummaryFields()){
+            mongoQuery.fields().include(field);
+        }
+
+        final List<EventSummary> summaries = new ArrayList<EventSummary>();
+        for(T event : mongoOperations.find(mongoQuery, getEntityClass())){
+            summaries.add(toSummary(event));
+        }
+        return summaries;
+    }
+
+    /**
+     * Create a summary that contains the common values of all the events.
+     * @param event The event that the summary will be based on.
+     * @return A summary that contains the id, resource name and dates of the event.
+     * @since 1.38
+     */
+    protected EventSummary createSummary(final T event){
+        final EventSummary summary = new EventSummary();
+        summary.setId(event.getId());
+        summary.setResourceName(event.getResourceName());
+        summary.setStartDate(event.getStartDate());
+        summary.setEndDate(event.getEndDate());
+        return summary;
+    }
+
+    /**
+     * Create a summary of an event that only contains the fields that are part of the summary.
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    protected abstract EventSummary toSummary(T event);
+
+    /**
+     * The name of the field that contains the application id, such as the REST application
+     * id or the SOAP port id.
+     * @return The name of the application id field.
+     * @since 1.38
+     */
+    protected abstract String getApplicationIdField();
+
+    /**
+     * The name of the field that contains the operation id, such as the REST method id
+     * or the SOAP operation id.
+     * @return The name of the operation id field, or <code>null</code> if the events
+     *         do not belong to an operation.
+     * @since 1.38
+     */
+    protected abstract String getOperationIdField();
+
+    /**
+     * The fields, besides the common event fields, that are required in order to create a summary.
+     * @return The names of the fields that are required by {@link #toSummary(EventDocument)}.
+     * @since 1.38
+     */
+    protected abstract List<String> getSummaryFields();
 
     public static abstract class EventDocument implements Saveable<String> {
 
@@ -22,6 +169,8 @@ public abstract class AbstractEventMongoRepository<T extends AbstractEventMongoR
         private Date startDate;
         @Mapping("endDate")
         private Date endDate;
+        @Mapping("timings")
+        private EventTimingsDocument timings;
 
         public EventDocument() {
         }
@@ -59,6 +208,88 @@ public abstract class AbstractEventMongoRepository<T extends AbstractEventMongoR
         public void setEndDate(Date endDate) {
             this.endDate = endDate;
         }
+
+        public EventTimingsDocument getTimings() {
+            return timings;
+        }
+
+        public void setTimings(EventTimingsDocument timings) {
+            this.timings = timings;
+        }
+    }
+
+    @Document(collection = "eventTimings")
+    public static class EventTimingsDocument {
+        @Mapping("readTime")
+        private long readTime;
+        @Mapping("identifyTime")
+        private long identifyTime;
+        @Mapping("selectTime")
+        private long selectTime;
+        @Mapping("renderTime")
+        private long renderTime;
+        @Mapping("forwardTime")
+        private long forwardTime;
+        @Mapping("delayTime")
+        private long delayTime;
+        @Mapping("writeTime")
+        private long writeTime;
+
+        public long getReadTime() {
+            return readTime;
+        }
+
+        public void setReadTime(long readTime) {
+            this.readTime = readTime;
+        }
+
+        public long getIdentifyTime() {
+            return identifyTime;
+        }
+
+        public void setIdentifyTime(long identifyTime) {
+            this.identifyTime = identifyTime;
+        }
+
+        public long getSelectTime() {
+            return selectTime;
+        }
+
+        public void setSelectTime(long selectTime) {
+            this.selectTime = selectTime;
+        }
+
+        public long getRenderTime() {
+            return renderTime;
+        }
+
+        public void setRenderTime(long renderTime) {
+            this.renderTime = renderTime;
+        }
+
+        public long getForwardTime() {
+            return forwardTime;
+        }
+
+        public void setForwardTime(long forwardTime) {
+            this.forwardTime = forwardTime;
+        }
+
+        public long getDelayTime() {
+            return delayTime;
+        }
+
+        public void setDelayTime(long delayTime) {
+            this.delayTime = delayTime;
+        }
+
+        public long getWriteTime() {
+            return writeTime;
+        }
+
+        public void setWriteTime(long writeTime) {
+            this.writeTime = writeTime;
+        }
     }
 
 }
@@ -29,6 +29,9 @@ public abstract class AbstractProjectMongoRepository<T extends AbstractProjectMo
         @Mapping("created")
         private Date created;
 
+        @Mapping("eventPolicy")
+        private EventPolicyDocument eventPolicy;
+
         @Override
         public String getId() {
             return id;
@@ -71,5 +74,13 @@ public abstract class AbstractProjectMongoRepository<T extends AbstractProjectMo
             this.created = created;
         }
 
+        public EventPolicyDocument getEventPolicy() {
+            return eventPolicy;
+        }
+
+        public void setEventPolicy(EventPolicyDocument eventPolicy) {
+            this.eventPolicy = eventPolicy;
+        }
+
     }
 }
@@ -128,6 +128,8 @@ public class UserMongoRepository extends MongoRepository<UserMongoRepository.Use
         private Status status;
         @Mapping("role")
         private Role role;
+        @Mapping("apiTokenHash")
+        private String apiTokenHash;
 
         /**
          * Default constructor for the User class. The constructor will set the current time to both the created
@@ -285,6 +287,24 @@ public class UserMongoRepository extends MongoRepository<UserMongoRepository.Use
             this.role = role;
         }
 
+        /**
+         * Get the hash of the user API token
+         *
+         * @return The SHA-256 hash of the API token
+         */
+        public String getApiTokenHash() {
+            return apiTokenHash;
+        }
+
+        /**
+         * Set a new API token hash for the user
+         *
+         * @param apiTokenHash The SHA-256 hash of the new API token
+         */
+        public void setApiTokenHash(String apiTokenHash) {
+            this.apiTokenHash = apiTokenHash;
+        }
+
     }
 
 }
@@ -17,12 +17,14 @@
 package com.castlemock.repository.graphql.file.event;
 
 import com.castlemock.core.basis.model.SearchQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.basis.model.http.domain.ContentEncoding;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
 import com.castlemock.core.mock.graphql.model.event.domain.GraphQLEvent;
 import com.castlemock.core.mock.graphql.model.project.domain.GraphQLRequestQuery;
 import com.castlemock.repository.Profiles;
 import com.castlemock.repository.core.file.FileRepository;
+import com.castlemock.repository.core.file.body.BodyReferenceFile;
 import com.castlemock.repository.core.file.event.AbstractEventFileRepository;
 import com.castlemock.repository.graphql.event.GraphQLEventRepository;
 import com.google.common.base.Preconditions;
@@ -34,11 +36,11 @@ import org.springframework.stereotype.Repository;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class GraphQLEventFileRepository extends AbstractEventFileRepository<GraphQLEventFileRepository.GraphQLEventFile, GraphQLEvent> implements GraphQLEventRepository {
 
     @Value(value = "${graphql.event.file.directory}")
@@ -95,15 +97,7 @@ public class GraphQLEventFileRepository extends AbstractEventFileRepository<Grap
      */
     @Override
     public GraphQLEvent getOldestEvent() {
-        GraphQLEventFile oldestEvent = null;
-        for(GraphQLEventFile event : collection.values()){
-            if(oldestEvent == null){
-                oldestEvent = event;
-            } else if(event.getStartDate().before(oldestEvent.getStartDate())){
-                oldestEvent = event;
-            }
-        }
-
+        final GraphQLEventFile oldestEvent = findOldest();
         return oldestEvent == null ? null : mapper.map(oldestEvent, GraphQLEvent.class);
     }
 
@@ -135,11 +129,43 @@ public class GraphQLEventFileRepository extends AbstractEventFileRepository<Grap
      */
     @Override
     public void clearAll() {
-        Iterator<GraphQLEventFile> iterator = collection.values().iterator();
-        while(iterator.hasNext()){
-            GraphQLEventFile soapEvent = iterator.next();
-            delete(soapEvent.getId());
+        clear();
+    }
+
+    /**
+     * Create a summary of an event without mapping the request and the response.
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    @Override
+    protected EventSummary toSummary(final GraphQLEventFile event) {
+        final EventSummary summary = createSummary(event);
+        summary.setProjectId(event.getProjectId());
+        summary.setApplicationId(event.getApplicationId());
+        if(event.getResponse() != null){
+            summary.setStatusCode(event.getResponse().getHttpStatusCode());
+        }
+        return summary;
+    }
+
+    /**
+     * The method returns the request and response body of the provided event. The bodies
+     * are stored in the {@link com.castlemock.repository.body.BodyRepository}.
+     * @param type The event that the bodies belongs to.
+     * @return A list that contains the request and the response of the event.
+     * @since 1.38
+     */
+    @Override
+    protected List<BodyReferenceFile> getBodyReferences(final GraphQLEventFile type) {
+        final List<BodyReferenceFile> references = new ArrayList<BodyReferenceFile>();
+        if(type.getRequest() != null){
+            references.add(type.getRequest());
         }
+        if(type.getResponse() != null){
+            references.add(type.getResponse());
+        }
+        return references;
     }
 
     @XmlRootElement(name = "graphQLEvent")
@@ -193,10 +219,8 @@ public class GraphQLEventFileRepository extends AbstractEventFileRepository<Grap
     }
 
     @XmlRootElement(name = "graphQLRequest")
-    protected static class GraphQLRequestFile {
+    protected static class GraphQLRequestFile extends BodyReferenceFile {
 
-        @Mapping("body")
-        private String body;
         @Mapping("contentType")
         private String contentType;
         @Mapping("uri")
@@ -208,15 +232,6 @@ public class GraphQLEventFileRepository extends AbstractEventFileRepository<Grap
         @Mapping("httpHeaders")
         private List<FileRepository.HttpHeaderFile> httpHeaders;
 
-        @XmlElement
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         @XmlElement
         public String getContentType() {
             return contentType;
@@ -268,10 +283,8 @@ public class GraphQLEventFileRepository extends AbstractEventFileRepository<Grap
     }
 
     @XmlRootElement(name = "graphQLResponse")
-    protected static class GraphQLResponseFile {
+    protected static class GraphQLResponseFile extends BodyReferenceFile {
 
-        @Mapping("body")
-        private String body;
         @Mapping("httpStatusCode")
         private Integer httpStatusCode;
         @Mapping("contentType")
@@ -281,15 +294,6 @@ public class GraphQLEventFileRepository extends AbstractEventFileRepository<Grap
         @Mapping("contentEncodings")
         private List<ContentEncoding> contentEncodings;
 
-        @XmlElement
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         @XmlElement
         public Integer getHttpStatusCode() {
             return httpStatusCode;
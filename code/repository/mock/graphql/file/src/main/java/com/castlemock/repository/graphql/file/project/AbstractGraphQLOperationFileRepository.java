@@ -15,6 +15,27 @@ import java.util.concurrent.CopyOnWriteArrayList;
 
 public abstract class AbstractGraphQLOperationFileRepository<T extends AbstractGraphQLOperationFileRepository.GraphQLOperationFile, D> extends FileRepository<T, D, String> {
 
+    /**
+     * The method returns the class of the repository of the parent of the type.
+     * The operations are loaded together with the project of their application.
+     * @return The class of the parent repository.
+     * @since 1.38
+     */
+    @Override
+    protected Class<GraphQLApplicationFileRepository> getParentRepositoryClass() {
+        return GraphQLApplicationFileRepository.class;
+    }
+
+    @Override
+    protected String getParentElement() {
+        return "applicationId";
+    }
+
+    @Override
+    protected String getParentId(final T type) {
+        return type.getApplicationId();
+    }
+
     /**
      * @author Karl Dahlgren
      * @since 1.19
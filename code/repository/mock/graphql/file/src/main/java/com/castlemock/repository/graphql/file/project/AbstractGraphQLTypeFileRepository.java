@@ -9,6 +9,27 @@ import javax.xml.bind.annotation.XmlRootElement;
 
 public abstract class AbstractGraphQLTypeFileRepository<T extends AbstractGraphQLTypeFileRepository.GraphQLTypeFile, D> extends FileRepository<T, D, String> {
 
+    /**
+     * The method returns the class of the repository of the parent of the type.
+     * The types are loaded together with the project of their application.
+     * @return The class of the parent repository.
+     * @since 1.38
+     */
+    @Override
+    protected Class<GraphQLApplicationFileRepository> getParentRepositoryClass() {
+        return GraphQLApplicationFileRepository.class;
+    }
+
+    @Override
+    protected String getParentElement() {
+        return "applicationId";
+    }
+
+    @Override
+    protected String getParentId(final T type) {
+        return type.getApplicationId();
+    }
+
     @XmlRootElement(name = "graphQLType")
     protected static abstract class GraphQLTypeFile implements Saveable<String> {
 
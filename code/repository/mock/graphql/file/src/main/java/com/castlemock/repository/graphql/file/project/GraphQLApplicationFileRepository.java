@@ -35,12 +35,12 @@ import org.springframework.stereotype.Repository;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class GraphQLApplicationFileRepository extends FileRepository<GraphQLApplicationFileRepository.GraphQLApplicationFile, GraphQLApplication, String> implements GraphQLApplicationRepository {
 
     @Autowired
@@ -90,6 +90,27 @@ public class GraphQLApplicationFileRepository extends FileRepository<GraphQLAppl
 
     }
 
+    /**
+     * The method returns the class of the repository of the parent of the type.
+     * The applications are loaded together with their {@link GraphQLProject}.
+     * @return The class of the parent repository.
+     * @since 1.38
+     */
+    @Override
+    protected Class<GraphQLProjectRepositoryFile> getParentRepositoryClass() {
+        return GraphQLProjectRepositoryFile.class;
+    }
+
+    @Override
+    protected String getParentElement() {
+        return "projectId";
+    }
+
+    @Override
+    protected String getParentId(final GraphQLApplicationFile type) {
+        return type.getProjectId();
+    }
+
     /**
      * The method provides the functionality to search in the repository with a {@link SearchQuery}
      *
@@ -111,24 +132,18 @@ public class GraphQLApplicationFileRepository extends FileRepository<GraphQLAppl
     @Override
     public List<GraphQLApplication> findWithProjectId(final String projectId) {
         final List<GraphQLApplication> applications = new ArrayList<>();
-        for(GraphQLApplicationFile applicationFile : this.collection.values()){
-            if(applicationFile.getProjectId().equals(projectId)){
-                GraphQLApplication application = this.mapper.map(applicationFile, GraphQLApplication.class);
-                applications.add(application);
-            }
+        for(GraphQLApplicationFile applicationFile : this.findWithParentId(projectId)){
+            GraphQLApplication application = this.mapper.map(applicationFile, GraphQLApplication.class);
+            applications.add(application);
         }
         return applications;
     }
 
     @Override
     public void deleteWithProjectId(final String projectId) {
-        Iterator<GraphQLApplicationFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            GraphQLApplicationFile application = iterator.next();
-            if(application.getProjectId().equals(projectId)){
-                delete(application.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(projectId).stream()
+                .map(GraphQLApplicationFile::getId)
+                .collect(Collectors.toList()));
     }
 
     /**
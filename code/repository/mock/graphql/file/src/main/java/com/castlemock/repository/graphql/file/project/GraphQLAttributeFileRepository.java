@@ -37,13 +37,13 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class GraphQLAttributeFileRepository extends FileRepository<GraphQLAttributeFileRepository.GraphQLAttributeFile, GraphQLAttribute, String> implements GraphQLAttributeRepository {
 
     @Autowired
@@ -93,6 +93,27 @@ public class GraphQLAttributeFileRepository extends FileRepository<GraphQLAttrib
 
     }
 
+    /**
+     * The method returns the class of the repository of the parent of the type.
+     * The attributes are loaded together with the project of their object type.
+     * @return The class of the parent repository.
+     * @since 1.38
+     */
+    @Override
+    protected Class<GraphQLObjectTypeFileRepository> getParentRepositoryClass() {
+        return GraphQLObjectTypeFileRepository.class;
+    }
+
+    @Override
+    protected String getParentElement() {
+        return "objectTypeId";
+    }
+
+    @Override
+    protected String getParentId(final GraphQLAttributeFile type) {
+        return type.getObjectTypeId();
+    }
+
     /**
      * Updates an instance that matches the provided id.
      *
@@ -130,24 +151,18 @@ public class GraphQLAttributeFileRepository extends FileRepository<GraphQLAttrib
     @Override
     public List<GraphQLAttribute> findWithObjectTypeId(final String projectId) {
         final List<GraphQLAttribute> attributes = new ArrayList<>();
-        for(GraphQLAttributeFile attribute : this.collection.values()){
-            if(attribute.getObjectTypeId().equals(projectId)){
-                GraphQLAttribute application = this.mapper.map(attribute, GraphQLAttribute.class);
-                attributes.add(application);
-            }
+        for(GraphQLAttributeFile attribute : this.findWithParentId(projectId)){
+            GraphQLAttribute application = this.mapper.map(attribute, GraphQLAttribute.class);
+            attributes.add(application);
         }
         return attributes;
     }
 
     @Override
     public void deleteWithObjectTypeId(final String objectTypeId) {
-        Iterator<GraphQLAttributeFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            GraphQLAttributeFile attribute = iterator.next();
-            if(attribute.getObjectTypeId().equals(objectTypeId)){
-                delete(attribute.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(objectTypeId).stream()
+                .map(GraphQLAttributeFile::getId)
+                .collect(Collectors.toList()));
     }
 
     @XmlRootElement(name = "graphQLAttribute")
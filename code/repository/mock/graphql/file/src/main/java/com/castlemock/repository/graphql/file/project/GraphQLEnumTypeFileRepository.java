@@ -34,13 +34,13 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class GraphQLEnumTypeFileRepository extends AbstractGraphQLTypeFileRepository<GraphQLEnumTypeFileRepository.GraphQLEnumTypeFile, GraphQLEnumType> implements GraphQLEnumTypeRepository {
 
     @Autowired
@@ -111,24 +111,18 @@ public class GraphQLEnumTypeFileRepository extends AbstractGraphQLTypeFileReposi
     @Override
     public List<GraphQLEnumType> findWithApplicationId(final String projectId) {
         final List<GraphQLEnumType> enumTypes = new ArrayList<>();
-        for(GraphQLEnumTypeFile enumType : this.collection.values()){
-            if(enumType.getApplicationId().equals(projectId)){
-                GraphQLEnumType application = this.mapper.map(enumType, GraphQLEnumType.class);
-                enumTypes.add(application);
-            }
+        for(GraphQLEnumTypeFile enumType : this.findWithParentId(projectId)){
+            GraphQLEnumType application = this.mapper.map(enumType, GraphQLEnumType.class);
+            enumTypes.add(application);
         }
         return enumTypes;
     }
 
     @Override
     public void deleteWithApplicationId(final String applicationId) {
-        Iterator<GraphQLEnumTypeFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            GraphQLEnumTypeFile enumType = iterator.next();
-            if(enumType.getApplicationId().equals(applicationId)){
-                delete(enumType.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(applicationId).stream()
+                .map(GraphQLEnumTypeFile::getId)
+                .collect(Collectors.toList()));
     }
 
     @XmlRootElement(name = "graphQLEnumType")
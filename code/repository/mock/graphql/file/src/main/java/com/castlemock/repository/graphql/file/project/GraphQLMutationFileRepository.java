@@ -30,12 +30,12 @@ import org.springframework.stereotype.Repository;
 
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class GraphQLMutationFileRepository extends AbstractGraphQLOperationFileRepository<GraphQLMutationFileRepository.GraphQLMutationFile, GraphQLMutation> implements GraphQLMutationRepository {
 
     @Autowired
@@ -106,24 +106,18 @@ public class GraphQLMutationFileRepository extends AbstractGraphQLOperationFileR
     @Override
     public List<GraphQLMutation> findWithApplicationId(final String projectId) {
         final List<GraphQLMutation> mutations = new ArrayList<>();
-        for(GraphQLMutationFile mutation : this.collection.values()){
-            if(mutation.getApplicationId().equals(projectId)){
-                GraphQLMutation application = this.mapper.map(mutation, GraphQLMutation.class);
-                mutations.add(application);
-            }
+        for(GraphQLMutationFile mutation : this.findWithParentId(projectId)){
+            GraphQLMutation application = this.mapper.map(mutation, GraphQLMutation.class);
+            mutations.add(application);
         }
         return mutations;
     }
 
     @Override
     public void deleteWithApplicationId(final String applicationId) {
-        Iterator<GraphQLMutationFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            GraphQLMutationFile mutation = iterator.next();
-            if(mutation.getApplicationId().equals(applicationId)){
-                delete(mutation.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(applicationId).stream()
+                .map(GraphQLMutationFile::getId)
+                .collect(Collectors.toList()));
     }
 
     /**
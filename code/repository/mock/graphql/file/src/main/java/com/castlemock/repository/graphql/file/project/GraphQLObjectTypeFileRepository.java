@@ -30,12 +30,12 @@ import org.springframework.stereotype.Repository;
 
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class GraphQLObjectTypeFileRepository extends AbstractGraphQLTypeFileRepository<GraphQLObjectTypeFileRepository.GraphQLObjectTypeFile, GraphQLObjectType> implements GraphQLObjectTypeRepository {
 
     @Autowired
@@ -106,24 +106,18 @@ public class GraphQLObjectTypeFileRepository extends AbstractGraphQLTypeFileRepo
     @Override
     public List<GraphQLObjectType> findWithApplicationId(final String projectId) {
         final List<GraphQLObjectType> objectTypes = new ArrayList<>();
-        for(GraphQLObjectTypeFile objectType : this.collection.values()){
-            if(objectType.getApplicationId().equals(projectId)){
-                GraphQLObjectType application = this.mapper.map(objectType, GraphQLObjectType.class);
-                objectTypes.add(application);
-            }
+        for(GraphQLObjectTypeFile objectType : this.findWithParentId(projectId)){
+            GraphQLObjectType application = this.mapper.map(objectType, GraphQLObjectType.class);
+            objectTypes.add(application);
         }
         return objectTypes;
     }
 
     @Override
     public void deleteWithApplicationId(final String applicationId) {
-        Iterator<GraphQLObjectTypeFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            GraphQLObjectTypeFile objectType = iterator.next();
-            if(objectType.getApplicationId().equals(applicationId)){
-                delete(objectType.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(applicationId).stream()
+                .map(GraphQLObjectTypeFile::getId)
+                .collect(Collectors.toList()));
     }
 
     @XmlRootElement(name = "graphQLObjectType")
@@ -44,7 +44,7 @@ import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class GraphQLProjectRepositoryFile extends AbstractProjectFileRepository<GraphQLProjectRepositoryFile.GraphQLProjectFile, GraphQLProject> implements GraphQLProjectRepository {
 
     @Autowired
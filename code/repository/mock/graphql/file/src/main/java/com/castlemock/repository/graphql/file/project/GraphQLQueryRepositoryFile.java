@@ -30,12 +30,12 @@ import org.springframework.stereotype.Repository;
 
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class GraphQLQueryRepositoryFile extends AbstractGraphQLOperationFileRepository<GraphQLQueryRepositoryFile.GraphQLQueryFile, GraphQLQuery> implements GraphQLQueryRepository {
 
     @Autowired
@@ -106,24 +106,18 @@ public class GraphQLQueryRepositoryFile extends AbstractGraphQLOperationFileRepo
     @Override
     public List<GraphQLQuery> findWithApplicationId(final String projectId) {
         final List<GraphQLQuery> queries = new ArrayList<>();
-        for(GraphQLQueryFile query : this.collection.values()){
-            if(query.getApplicationId().equals(projectId)){
-                GraphQLQuery application = this.mapper.map(query, GraphQLQuery.class);
-                queries.add(application);
-            }
+        for(GraphQLQueryFile query : this.findWithParentId(projectId)){
+            GraphQLQuery application = this.mapper.map(query, GraphQLQuery.class);
+            queries.add(application);
         }
         return queries;
     }
 
     @Override
     public void deleteWithApplicationId(final String applicationId) {
-        Iterator<GraphQLQueryFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            GraphQLQueryFile query = iterator.next();
-            if(query.getApplicationId().equals(applicationId)){
-                delete(query.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(applicationId).stream()
+                .map(GraphQLQueryFile::getId)
+                .collect(Collectors.toList()));
     }
 
 
@@ -30,12 +30,12 @@ import org.springframework.stereotype.Repository;
 
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class GraphQLSubscriptionFileRepository extends AbstractGraphQLOperationFileRepository<GraphQLSubscriptionFileRepository.GraphQLSubscriptionFile, GraphQLSubscription> implements GraphQLSubscriptionRepository {
 
     @Autowired
@@ -106,24 +106,18 @@ public class GraphQLSubscriptionFileRepository extends AbstractGraphQLOperationF
     @Override
     public List<GraphQLSubscription> findWithApplicationId(final String projectId) {
         final List<GraphQLSubscription> subscriptions = new ArrayList<>();
-        for(GraphQLSubscriptionFile subscription : this.collection.values()){
-            if(subscription.getApplicationId().equals(projectId)){
-                GraphQLSubscription application = this.mapper.map(subscription, GraphQLSubscription.class);
-                subscriptions.add(application);
-            }
+        for(GraphQLSubscriptionFile subscription : this.findWithParentId(projectId)){
+            GraphQLSubscription application = this.mapper.map(subscription, GraphQLSubscription.class);
+            subscriptions.add(application);
         }
         return subscriptions;
     }
 
     @Override
     public void deleteWithApplicationId(final String applicationId) {
-        Iterator<GraphQLSubscriptionFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            GraphQLSubscriptionFile subscription = iterator.next();
-            if(subscription.getApplicationId().equals(applicationId)){
-                delete(subscription.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(applicationId).stream()
+                .map(GraphQLSubscriptionFile::getId)
+                .collect(Collectors.toList()));
     }
 
     /**
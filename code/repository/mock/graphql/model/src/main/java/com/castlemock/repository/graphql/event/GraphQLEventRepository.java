@@ -17,9 +17,9 @@
 package com.castlemock.repository.graphql.event;
 
 import com.castlemock.core.mock.graphql.model.event.domain.GraphQLEvent;
-import com.castlemock.repository.Repository;
+import com.castlemock.repository.event.EventRepository;
 
-public interface GraphQLEventRepository extends Repository<GraphQLEvent, String> {
+public interface GraphQLEventRepository extends EventRepository<GraphQLEvent> {
     
     /**
      * The service finds the oldest event
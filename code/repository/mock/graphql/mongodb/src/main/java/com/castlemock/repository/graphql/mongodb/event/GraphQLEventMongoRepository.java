@@ -17,12 +17,14 @@
 package com.castlemock.repository.graphql.mongodb.event;
 
 import com.castlemock.core.basis.model.SearchQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.basis.model.http.domain.ContentEncoding;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
 import com.castlemock.core.mock.graphql.model.event.domain.GraphQLEvent;
 import com.castlemock.core.mock.graphql.model.project.domain.GraphQLRequestQuery;
 import com.castlemock.repository.Profiles;
 import com.castlemock.repository.core.mongodb.MongoRepository;
+import com.castlemock.repository.core.mongodb.body.BodyReferenceDocument;
 import com.castlemock.repository.core.mongodb.event.AbstractEventMongoRepository;
 import com.castlemock.repository.graphql.event.GraphQLEventRepository;
 import com.google.common.base.Preconditions;
@@ -33,6 +35,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -71,7 +75,7 @@ public class GraphQLEventMongoRepository extends AbstractEventMongoRepository<Gr
     public GraphQLEvent getOldestEvent() {
         GraphQLEventDocument oldestEvent =
                 mongoOperations.findOne(getOldestStartDateQuery(), GraphQLEventDocument.class);
-        return oldestEvent == null ? null : mapper.map(oldestEvent, GraphQLEvent.class);
+        return oldestEvent == null ? null : toDto(oldestEvent);
     }
 
     /**
@@ -92,9 +96,58 @@ public class GraphQLEventMongoRepository extends AbstractEventMongoRepository<Gr
      */
     @Override
     public synchronized GraphQLEvent deleteOldestEvent() {
-        GraphQLEventDocument oldestEvent =
-                mongoOperations.findAndRemove(getOldestStartDateQuery(), GraphQLEventDocument.class);
-        return oldestEvent == null ? null : mapper.map(oldestEvent, GraphQLEvent.class);
+        return findAndRemove(getOldestStartDateQuery());
+    }
+
+    /**
+     * Create a summary of an event that only contains the fields that are part of the summary.
+     *
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    @Override
+    protected EventSummary toSummary(final GraphQLEventDocument event) {
+        final EventSummary summary = createSummary(event);
+        summary.setProjectId(event.getProjectId());
+        summary.setApplicationId(event.getApplicationId());
+        if (event.getResponse() != null) {
+            summary.setStatusCode(event.getResponse().getHttpStatusCode());
+        }
+        return summary;
+    }
+
+    @Override
+    protected String getApplicationIdField() {
+        return "applicationId";
+    }
+
+    @Override
+    protected String getOperationIdField() {
+        return null;
+    }
+
+    @Override
+    protected List<String> getSummaryFields() {
+        return Arrays.asList("applicationId");
+    }
+
+    /**
+     * The method returns the request and response of the provided event, since both of them carries a body.
+     *
+     * @param event The event that the body references will be extracted from.
+     * @return A list of the body references of the event.
+     */
+    @Override
+    protected List<BodyReferenceDocument> getBodyReferences(final GraphQLEventDocument event) {
+        final List<BodyReferenceDocument> references = new ArrayList<BodyReferenceDocument>();
+        if (event.getRequest() != null) {
+            references.add(event.getRequest());
+        }
+        if (event.getResponse() != null) {
+            references.add(event.getResponse());
+        }
+        return references;
     }
 
     /**
@@ -104,8 +157,7 @@ public class GraphQLEventMongoRepository extends AbstractEventMongoRepository<Gr
      */
     @Override
     public void clearAll() {
-        //drop vs remove => https://stackoverflow.com/q/12147783
-        mongoOperations.dropCollection(GraphQLEventDocument.class);
+        findAllAndRemove(new Query());
     }
 
     @Document(collection = "graphQLEvent")
@@ -155,10 +207,8 @@ public class GraphQLEventMongoRepository extends AbstractEventMongoRepository<Gr
     }
 
     @Document(collection = "graphQLRequest")
-    protected static class GraphQLRequestDocument {
+    protected static class GraphQLRequestDocument extends BodyReferenceDocument {
 
-        @Mapping("body")
-        private String body;
         @Mapping("contentType")
         private String contentType;
         @Mapping("uri")
@@ -170,14 +220,6 @@ public class GraphQLEventMongoRepository extends AbstractEventMongoRepository<Gr
         @Mapping("httpHeaders")
         private List<MongoRepository.HttpHeaderDocument> httpHeaders;
 
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         public String getContentType() {
             return contentType;
         }
@@ -221,10 +263,8 @@ public class GraphQLEventMongoRepository extends AbstractEventMongoRepository<Gr
     }
 
     @Document(collection = "graphQLResponse")
-    protected static class GraphQLResponseDocument {
+    protected static class GraphQLResponseDocument extends BodyReferenceDocument {
 
-        @Mapping("body")
-        private String body;
         @Mapping("httpStatusCode")
         private Integer httpStatusCode;
         @Mapping("contentType")
@@ -234,14 +274,6 @@ public class GraphQLEventMongoRepository extends AbstractEventMongoRepository<Gr
         @Mapping("contentEncodings")
         private List<ContentEncoding> contentEncodings;
 
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         public Integer getHttpStatusCode() {
             return httpStatusCode;
         }
@@ -17,12 +17,14 @@
 package com.castlemock.repository.rest.file.event;
 
 import com.castlemock.core.basis.model.SearchQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.basis.model.SearchResult;
 import com.castlemock.core.basis.model.http.domain.ContentEncoding;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
 import com.castlemock.core.mock.rest.model.event.domain.RestEvent;
 import com.castlemock.repository.Profiles;
 import com.castlemock.repository.core.file.FileRepository;
+import com.castlemock.repository.core.file.body.BodyReferenceFile;
 import com.castlemock.repository.core.file.event.AbstractEventFileRepository;
 import com.castlemock.repository.rest.event.RestEventRepository;
 import com.google.common.base.Preconditions;
@@ -35,20 +37,19 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
  * The class is an implementation of the REST event repository and provides the functionality to interact with the file system.
- * The repository is responsible for loading and saving rest events from the file system. Each rest event is stored as
- * a separate file. The class also contains the directory and the filename extension for the rest event.
+ * The repository is responsible for loading and saving rest events from the file system. The rest events are stored
+ * in append-only event segments. The class also contains the directory and the filename extension for the rest event.
  * @author Karl Dahlgren
  * @since 1.0
  * @see RestEventFileRepository
  * @see FileRepository
  */
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class RestEventFileRepository extends AbstractEventFileRepository<RestEventFileRepository.RestEventFile, RestEvent> implements RestEventRepository {
 
     @Value(value = "${rest.event.file.directory}")
@@ -118,32 +119,19 @@ public class RestEventFileRepository extends AbstractEventFileRepository<RestEve
      */
     @Override
     public RestEvent getOldestEvent() {
-        RestEventFile oldestEvent = null;
-        for(RestEventFile event : collection.values()){
-            if(oldestEvent == null){
-                oldestEvent = event;
-            } else if(event.getStartDate().before(oldestEvent.getStartDate())){
-                oldestEvent = event;
-            }
-        }
-
+        final RestEventFile oldestEvent = findOldest();
         return oldestEvent == null ? null : mapper.map(oldestEvent, RestEvent.class);
     }
 
     /**
      * Find events by REST method ID
      * @param restMethodId The id of the REST method
-     * @return A list of {@link RestEvent} that matches the provided <code>restMethodId</code>
+     * @return A list of {@link RestEvent} that matches the provided <code>restMethodId</code>,
+     *         ordered with the newest event first
      */
     @Override
     public List<RestEvent> findEventsByMethodId(final String restMethodId) {
-        final List<RestEventFile> events = new ArrayList<RestEventFile>();
-        for(RestEventFile event : collection.values()){
-            if(event.getMethodId().equals(restMethodId)){
-                events.add(event);
-            }
-        }
-        return toDtoList(events, RestEvent.class);
+        return toDtoList(findByOperationId(restMethodId), RestEvent.class);
     }
 
     /**
@@ -174,11 +162,46 @@ public class RestEventFileRepository extends AbstractEventFileRepository<RestEve
      */
     @Override
     public void clearAll() {
-        Iterator<RestEventFile> iterator = collection.values().iterator();
-        while(iterator.hasNext()){
-            RestEventFile restEvent = iterator.next();
-            delete(restEvent.getId());
+        clear();
+    }
+
+    /**
+     * Create a summary of an event without mapping the request and the response.
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    @Override
+    protected EventSummary toSummary(final RestEventFile event) {
+        final EventSummary summary = createSummary(event);
+        summary.setProjectId(event.getProjectId());
+        summary.setApplicationId(event.getApplicationId());
+        summary.setResourceId(event.getResourceId());
+        summary.setOperationId(event.getMethodId());
+        if(event.getResponse() != null){
+            summary.setStatusCode(event.getResponse().getHttpStatusCode());
+            summary.setMockResponseName(event.getResponse().getMockResponseName());
+        }
+        return summary;
+    }
+
+    /**
+     * The method returns the request and response body of the provided event. The bodies
+     * are stored in the {@link com.castlemock.repository.body.BodyRepository}.
+     * @param type The event that the bodies belongs to.
+     * @return A list that contains the request and the response of the event.
+     * @since 1.38
+     */
+    @Override
+    protected List<BodyReferenceFile> getBodyReferences(final RestEventFile type) {
+        final List<BodyReferenceFile> references = new ArrayList<BodyReferenceFile>();
+        if(type.getRequest() != null){
+            references.add(type.getRequest());
+        }
+        if(type.getResponse() != null){
+            references.add(type.getResponse());
         }
+        return references;
     }
 
     @XmlRootElement(name = "restEvent")
@@ -247,10 +270,8 @@ public class RestEventFileRepository extends AbstractEventFileRepository<RestEve
     }
 
     @XmlRootElement(name = "restRequest")
-    protected static class RestRequestFile {
+    protected static class RestRequestFile extends BodyReferenceFile {
 
-        @Mapping("body")
-        private String body;
         @Mapping("contentType")
         private String contentType;
         @Mapping("uri")
@@ -262,15 +283,6 @@ public class RestEventFileRepository extends AbstractEventFileRepository<RestEve
         @Mapping("httpHeaders")
         private List<FileRepository.HttpHeaderFile> httpHeaders;
 
-        @XmlElement
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         @XmlElement
         public String getContentType() {
             return contentType;
@@ -320,10 +332,8 @@ public class RestEventFileRepository extends AbstractEventFileRepository<RestEve
     }
 
     @XmlRootElement(name = "restResponse")
-    protected static class RestResponseFile {
+    protected static class RestResponseFile extends BodyReferenceFile {
 
-        @Mapping("body")
-        private String body;
         @Mapping("mockResponseName")
         private String mockResponseName;
         @Mapping("httpStatusCode")
@@ -335,15 +345,6 @@ public class RestEventFileRepository extends AbstractEventFileRepository<RestEve
         @Mapping("contentEncodings")
         private List<ContentEncoding> contentEncodings;
 
-        @XmlElement
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         @XmlElement
         public String getMockResponseName() {
             return mockResponseName;
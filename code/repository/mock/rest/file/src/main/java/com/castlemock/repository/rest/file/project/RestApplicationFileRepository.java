@@ -33,12 +33,12 @@ import org.springframework.stereotype.Repository;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class RestApplicationFileRepository extends FileRepository<RestApplicationFileRepository.RestApplicationFile, RestApplication, String> implements RestApplicationRepository {
 
     @Value(value = "${rest.application.file.directory}")
@@ -87,6 +87,27 @@ public class RestApplicationFileRepository extends FileRepository<RestApplicatio
 
     }
 
+    /**
+     * The method returns the class of the repository of the parent of the type.
+     * The applications are loaded together with their {@link RestProject}.
+     * @return The class of the parent repository.
+     * @since 1.38
+     */
+    @Override
+    protected Class<RestProjectFileRepository> getParentRepositoryClass() {
+        return RestProjectFileRepository.class;
+    }
+
+    @Override
+    protected String getParentElement() {
+        return "projectId";
+    }
+
+    @Override
+    protected String getParentId(final RestApplicationFile type) {
+        return type.getProjectId();
+    }
+
     /**
      * The method provides the functionality to search in the repository with a {@link SearchQuery}
      *
@@ -113,13 +134,9 @@ public class RestApplicationFileRepository extends FileRepository<RestApplicatio
      */
     @Override
     public void deleteWithProjectId(String projectId) {
-        Iterator<RestApplicationFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            RestApplicationFile application = iterator.next();
-            if(application.getProjectId().equals(projectId)){
-                delete(application.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(projectId).stream()
+                .map(RestApplicationFile::getId)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -132,11 +149,9 @@ public class RestApplicationFileRepository extends FileRepository<RestApplicatio
     @Override
     public List<RestApplication> findWithProjectId(String projectId) {
         final List<RestApplication> applications = new ArrayList<>();
-        for(RestApplicationFile applicationFile : this.collection.values()){
-            if(applicationFile.getProjectId().equals(projectId)){
-                RestApplication application = this.mapper.map(applicationFile, RestApplication.class);
-                applications.add(application);
-            }
+        for(RestApplicationFile applicationFile : this.findWithParentId(projectId)){
+            RestApplication application = this.mapper.map(applicationFile, RestApplication.class);
+            applications.add(application);
         }
         return applications;
     }
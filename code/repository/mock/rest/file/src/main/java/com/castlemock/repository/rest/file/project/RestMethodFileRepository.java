@@ -37,12 +37,12 @@ import org.springframework.stereotype.Repository;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class RestMethodFileRepository extends FileRepository<RestMethodFileRepository.RestMethodFile, RestMethod, String> implements RestMethodRepository {
 
     @Value(value = "${rest.method.file.directory}")
@@ -91,23 +91,40 @@ public class RestMethodFileRepository extends FileRepository<RestMethodFileRepos
     }
 
     /**
-     * The post initialize method can be used to run functionality for a specific service. The method is called when
-     * the method {@link #initialize} has finished successful.
-     *
-     * The method is responsible to validate the imported types and make certain that all the collections are
-     * initialized.
-     * @see #initialize
-     * @since 1.35
+     * The method returns the class of the repository of the parent of the type.
+     * The methods are loaded together with the project of their {@link RestResource}.
+     * @return The class of the parent repository.
+     * @since 1.38
+     */
+    @Override
+    protected Class<RestResourceFileRepository> getParentRepositoryClass() {
+        return RestResourceFileRepository.class;
+    }
+
+    @Override
+    protected String getParentElement() {
+        return "resourceId";
+    }
+
+    @Override
+    protected String getParentId(final RestMethodFile type) {
+        return type.getResourceId();
+    }
+
+    /**
+     * The method migrates methods that were saved with a legacy default query mock response.
+     * @param restMethod The method that was loaded.
+     * @return <code>true</code> if the method was migrated.
+     * @since 1.38
      */
     @Override
-    protected void postInitiate() {
-        collection.values().stream()
-                .filter(restMethod -> !Strings.isNullOrEmpty(restMethod.getDefaultQueryMockResponseId()))
-                .forEach(restMethod -> {
-                    restMethod.setDefaultMockResponseId(restMethod.getDefaultQueryMockResponseId());
-                    restMethod.setDefaultQueryMockResponseId(null);
-                    save(restMethod);
-                });
+    protected boolean migrate(final RestMethodFile restMethod) {
+        if(Strings.isNullOrEmpty(restMethod.getDefaultQueryMockResponseId())){
+            return false;
+        }
+        restMethod.setDefaultMockResponseId(restMethod.getDefaultQueryMockResponseId());
+        restMethod.setDefaultQueryMockResponseId(null);
+        return true;
     }
 
     /**
@@ -151,13 +168,9 @@ public class RestMethodFileRepository extends FileRepository<RestMethodFileRepos
      */
     @Override
     public void deleteWithResourceId(String resourceId) {
-        Iterator<RestMethodFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            RestMethodFile method = iterator.next();
-            if(method.getResourceId().equals(resourceId)){
-                delete(method.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(resourceId).stream()
+                .map(RestMethodFile::getId)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -171,11 +184,9 @@ public class RestMethodFileRepository extends FileRepository<RestMethodFileRepos
     @Override
     public List<RestMethod> findWithResourceId(String resourceId) {
         final List<RestMethod> methods = new ArrayList<>();
-        for(RestMethodFile methodFile : this.collection.values()){
-            if(methodFile.getResourceId().equals(resourceId)){
-                RestMethod method = this.mapper.map(methodFile, RestMethod.class);
-                methods.add(method);
-            }
+        for(RestMethodFile methodFile : this.findWithParentId(resourceId)){
+            RestMethod method = this.mapper.map(methodFile, RestMethod.class);
+            methods.add(method);
         }
         return methods;
     }
@@ -191,10 +202,8 @@ public class RestMethodFileRepository extends FileRepository<RestMethodFileRepos
     @Override
     public List<String> findIdsWithResourceId(String resourceId) {
         final List<String> ids = new ArrayList<>();
-        for(RestMethodFile methodFile : this.collection.values()){
-            if(methodFile.getResourceId().equals(resourceId)){
-                ids.add(methodFile.getId());
-            }
+        for(RestMethodFile methodFile : this.findWithParentId(resourceId)){
+            ids.add(methodFile.getId());
         }
         return ids;
     }
@@ -242,6 +251,8 @@ public class RestMethodFileRepository extends FileRepository<RestMethodFileRepos
         private boolean simulateNetworkDelay;
         @Mapping("networkDelay")
         private long networkDelay;
+        @Mapping("eventPolicy")
+        private EventPolicyFile eventPolicy;
         @Mapping("defaultQueryMockResponseId")
         @Deprecated
         private String defaultQueryMockResponseId;
@@ -349,6 +360,15 @@ public class RestMethodFileRepository extends FileRepository<RestMethodFileRepos
             this.networkDelay = networkDelay;
         }
 
+        @XmlElement
+        public EventPolicyFile getEventPolicy() {
+            return eventPolicy;
+        }
+
+        public void setEventPolicy(EventPolicyFile eventPolicy) {
+            this.eventPolicy = eventPolicy;
+        }
+
         @XmlElement
         @Deprecated
         public String getDefaultQueryMockResponseId() {
@@ -28,6 +28,7 @@ import com.castlemock.core.mock.rest.model.project.domain.RestMockResponseStatus
 import com.castlemock.core.mock.rest.model.project.domain.RestParameterHeaderExpression;
 import com.castlemock.repository.Profiles;
 import com.castlemock.repository.core.file.FileRepository;
+import com.castlemock.repository.core.file.body.BodyReferenceFile;
 import com.castlemock.repository.rest.project.RestMockResponseRepository;
 import org.dozer.Mapping;
 import org.springframework.beans.factory.annotation.Value;
@@ -37,14 +38,15 @@ import org.springframework.stereotype.Repository;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import java.util.Collections;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class RestMockResponseFileRepository extends FileRepository<RestMockResponseFileRepository.RestMockResponseFile, RestMockResponse, String> implements RestMockResponseRepository {
 
     @Value(value = "${rest.response.file.directory}")
@@ -93,23 +95,41 @@ public class RestMockResponseFileRepository extends FileRepository<RestMockRespo
     }
 
     /**
-     * The post initialize method can be used to run functionality for a specific service. The method is called when
-     * the method {@link #initialize} has finished successful.
-     *
-     * The method is responsible to validate the imported types and make certain that all the collections are
-     * initialized.
-     * @see #initialize
-     * @since 1.4
+     * The method returns the class of the repository of the parent of the type.
+     * The mock responses are loaded together with the project of their {@link RestMethod}.
+     * @return The class of the parent repository.
+     * @since 1.38
      */
     @Override
-    protected void postInitiate() {
-        for(RestMockResponseFile restMockResponse : collection.values()) {
-            if(restMockResponse.getParameterQueries() == null){
-                List<RestParameterQueryFile> parameterQueries = new CopyOnWriteArrayList<RestParameterQueryFile>();
-                restMockResponse.setParameterQueries(parameterQueries);
-                save(restMockResponse);
-            }
+    protected Class<RestMethodFileRepository> getParentRepositoryClass() {
+        return RestMethodFileRepository.class;
+    }
+
+    @Override
+    protected String getParentElement() {
+        return "methodId";
+    }
+
+    @Override
+    protected String getParentId(final RestMockResponseFile type) {
+        return type.getMethodId();
+    }
+
+    /**
+     * The method is responsible to validate the loaded types and make certain that all the collections are
+     * initialized. The initialized collections are not written to the file system, since an empty
+     * collection is stored in the same way as a missing one.
+     * @param restMockResponse The mock response that was loaded.
+     * @return <code>false</code>, since the mock response is never changed on the file system.
+     * @since 1.38
+     */
+    @Override
+    protected boolean migrate(final RestMockResponseFile restMockResponse) {
+        if(restMockResponse.getParameterQueries() == null){
+            List<RestParameterQueryFile> parameterQueries = new CopyOnWriteArrayList<RestParameterQueryFile>();
+            restMockResponse.setParameterQueries(parameterQueries);
         }
+        return false;
     }
 
     /**
@@ -138,13 +158,9 @@ public class RestMockResponseFileRepository extends FileRepository<RestMockRespo
      */
     @Override
     public void deleteWithMethodId(String methodId) {
-        Iterator<RestMockResponseFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            RestMockResponseFile response = iterator.next();
-            if(response.getMethodId().equals(methodId)){
-                delete(response.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(methodId).stream()
+                .map(RestMockResponseFile::getId)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -157,11 +173,9 @@ public class RestMockResponseFileRepository extends FileRepository<RestMockRespo
     @Override
     public List<RestMockResponse> findWithMethodId(String methodId) {
         final List<RestMockResponse> applications = new ArrayList<>();
-        for(RestMockResponseFile responseFile : this.collection.values()){
-            if(responseFile.getMethodId().equals(methodId)){
-                RestMockResponse response = this.mapper.map(responseFile, RestMockResponse.class);
-                applications.add(response);
-            }
+        for(RestMockResponseFile responseFile : this.findWithParentId(methodId)){
+            RestMockResponse response = this.mapper.map(responseFile, RestMockResponse.class);
+            applications.add(response);
         }
         return applications;
     }
@@ -185,15 +199,25 @@ public class RestMockResponseFileRepository extends FileRepository<RestMockRespo
     }
 
 
+    /**
+     * The method returns the body of the provided mock response. The body
+     * is stored in the {@link com.castlemock.repository.body.BodyRepository}.
+     * @param type The mock response that the body belongs to.
+     * @return A list that contains the provided mock response.
+     * @since 1.38
+     */
+    @Override
+    protected List<BodyReferenceFile> getBodyReferences(final RestMockResponseFile type) {
+        return Collections.singletonList(type);
+    }
+
     @XmlRootElement(name = "restMockResponse")
-    protected static class RestMockResponseFile implements Saveable<String> {
+    protected static class RestMockResponseFile extends BodyReferenceFile implements Saveable<String> {
 
         @Mapping("id")
         private String id;
         @Mapping("name")
         private String name;
-        @Mapping("body")
-        private String body;
         @Mapping("methodId")
         private String methodId;
         @Mapping("status")
@@ -235,15 +259,6 @@ public class RestMockResponseFileRepository extends FileRepository<RestMockRespo
             this.name = name;
         }
 
-        @XmlElement
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         @XmlElement
         public String getMethodId() {
             return methodId;
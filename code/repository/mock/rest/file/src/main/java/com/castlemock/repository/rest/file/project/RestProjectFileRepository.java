@@ -41,7 +41,7 @@ import java.util.List;
  * @see RestProjectRepository
  */
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class RestProjectFileRepository extends AbstractProjectFileRepository<RestProjectFileRepository.RestProjectFile, RestProject> implements RestProjectRepository {
 
     @Value(value = "${rest.project.file.directory}")
@@ -34,12 +34,12 @@ import org.springframework.stereotype.Repository;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class RestResourceFileRepository extends FileRepository<RestResourceFileRepository.RestResourceFile, RestResource, String> implements RestResourceRepository {
 
     @Value(value = "${rest.resource.file.directory}")
@@ -87,6 +87,27 @@ public class RestResourceFileRepository extends FileRepository<RestResourceFileR
 
     }
 
+    /**
+     * The method returns the class of the repository of the parent of the type.
+     * The resources are loaded together with the {@link RestProject} of their application.
+     * @return The class of the parent repository.
+     * @since 1.38
+     */
+    @Override
+    protected Class<RestApplicationFileRepository> getParentRepositoryClass() {
+        return RestApplicationFileRepository.class;
+    }
+
+    @Override
+    protected String getParentElement() {
+        return "applicationId";
+    }
+
+    @Override
+    protected String getParentId(final RestResourceFile type) {
+        return type.getApplicationId();
+    }
+
     /**
      * The method provides the functionality to search in the repository with a {@link SearchQuery}
      *
@@ -113,13 +134,9 @@ public class RestResourceFileRepository extends FileRepository<RestResourceFileR
      */
     @Override
     public void deleteWithApplicationId(String applicationId) {
-        Iterator<RestResourceFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            RestResourceFile resource = iterator.next();
-            if(resource.getApplicationId().equals(applicationId)){
-                delete(resource.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(applicationId).stream()
+                .map(RestResourceFile::getId)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -133,11 +150,9 @@ public class RestResourceFileRepository extends FileRepository<RestResourceFileR
     @Override
     public List<RestResource> findWithApplicationId(String applicationId) {
         final List<RestResource> resources = new ArrayList<>();
-        for(RestResourceFile resourceFile : this.collection.values()){
-            if(resourceFile.getApplicationId().equals(applicationId)){
-                RestResource resource = this.mapper.map(resourceFile, RestResource.class);
-                resources.add(resource);
-            }
+        for(RestResourceFile resourceFile : this.findWithParentId(applicationId)){
+            RestResource resource = this.mapper.map(resourceFile, RestResource.class);
+            resources.add(resource);
         }
         return resources;
     }
@@ -153,10 +168,8 @@ public class RestResourceFileRepository extends FileRepository<RestResourceFileR
     @Override
     public List<String> findIdsWithApplicationId(String applicationId) {
         final List<String> ids = new ArrayList<>();
-        for(RestResourceFile resourceFile : this.collection.values()){
-            if(resourceFile.getApplicationId().equals(applicationId)){
-                ids.add(resourceFile.getId());
-            }
+        for(RestResourceFile resourceFile : this.findWithParentId(applicationId)){
+            ids.add(resourceFile.getId());
         }
         return ids;
     }
@@ -173,9 +186,8 @@ public class RestResourceFileRepository extends FileRepository<RestResourceFileR
      */
     @Override
     public RestResource findRestResourceByUri(String applicationId, String resourceUri) {
-        for(RestResourceFile resourceFile : this.collection.values()){
-            if(resourceFile.getApplicationId().equals(applicationId) &&
-                    resourceUri.equalsIgnoreCase(resourceFile.getUri())){
+        for(RestResourceFile resourceFile : this.findWithParentId(applicationId)){
+            if(resourceUri.equalsIgnoreCase(resourceFile.getUri())){
                 RestResource resource = this.mapper.map(resourceFile, RestResource.class);
                 return resource;
 
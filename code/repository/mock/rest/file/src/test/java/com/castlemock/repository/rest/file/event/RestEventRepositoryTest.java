@@ -17,18 +17,26 @@
 package com.castlemock.repository.rest.file.event;
 
 
+import com.castlemock.core.basis.model.event.domain.EventCursor;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.mock.rest.model.event.RestEventGenerator;
 import com.castlemock.core.mock.rest.model.event.domain.RestEvent;
+import com.castlemock.repository.body.BodyRepository;
 import com.castlemock.repository.core.file.FileRepositorySupport;
 import org.dozer.DozerBeanMapper;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.*;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -37,30 +45,104 @@ import java.util.List;
  */
 public class RestEventRepositoryTest {
 
-    @Mock
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    @Spy
     private FileRepositorySupport fileRepositorySupport;
+    @Mock
+    private BodyRepository bodyRepository;
     @Spy
     private DozerBeanMapper mapper;
     @InjectMocks
     private RestEventFileRepository repository;
-    private static final String DIRECTORY = "/directory";
+    private String directory;
     private static final String EXTENSION = ".extension";
 
     @Before
-    public void setup() {
+    public void setup() throws IOException {
         MockitoAnnotations.initMocks(this);
-        ReflectionTestUtils.setField(repository, "restEventFileDirectory", DIRECTORY);
-        ReflectionTestUtils.setField(repository, "restEventFileExtension", EXTENSION);
+        this.directory = folder.newFolder("events").getPath();
+        configure(repository);
+        repository.initialize();
     }
 
     @Test
     public void testInitialize(){
-        List<RestEvent> restEvents = new ArrayList<RestEvent>();
-        RestEvent restEvent = RestEventGenerator.generateRestEvent();
-        restEvents.add(restEvent);
-        Mockito.when(fileRepositorySupport.load(RestEvent.class, DIRECTORY, EXTENSION)).thenReturn(restEvents);
-        repository.initialize();
-        Mockito.verify(fileRepositorySupport, Mockito.times(1)).load(RestEventFileRepository.RestEventFile.class, DIRECTORY, EXTENSION);
+        final RestEvent restEvent = save();
+        repository.destroy();
+
+        final RestEventFileRepository reloaded = new RestEventFileRepository();
+        configure(reloaded);
+        reloaded.initialize();
+        Assert.assertEquals(Integer.valueOf(1), reloaded.count());
+        Assert.assertEquals(restEvent.getResourceName(), reloaded.findOne(restEvent.getId()).getResourceName());
+        Mockito.verify(fileRepositorySupport, Mockito.times(2)).load(RestEventFileRepository.RestEventFile.class, directory, EXTENSION);
+    }
+
+    @Test
+    public void testMigrate(){
+        final RestEvent restEvent = RestEventGenerator.generateRestEvent();
+        fileRepositorySupport.save(mapper.map(restEvent, RestEventFileRepository.RestEventFile.class),
+                directory + File.separator + restEvent.getId() + EXTENSION);
+
+        final RestEventFileRepository reloaded = new RestEventFileRepository();
+        configure(reloaded);
+        reloaded.initialize();
+        Assert.assertEquals(Integer.valueOf(1), reloaded.count());
+        Assert.assertNotNull(reloaded.findOne(restEvent.getId()));
+        Assert.assertFalse(new File(directory, restEvent.getId() + EXTENSION).exists());
+        reloaded.destroy();
+
+        final RestEventFileRepository migrated = new RestEventFileRepository();
+        configure(migrated);
+        migrated.initialize();
+        Assert.assertEquals(Integer.valueOf(1), migrated.count());
+    }
+
+    @Test
+    public void testMigrateKeepsBodyReferences(){
+        final RestEvent restEvent = RestEventGenerator.generateRestEvent();
+        final RestEventFileRepository.RestEventFile eventFile = mapper.map(restEvent, RestEventFileRepository.RestEventFile.class);
+        eventFile.getRequest().setBodyHash("hash");
+        fileRepositorySupport.save(eventFile, directory + File.separator + restEvent.getId() + EXTENSION);
+        Mockito.when(bodyRepository.reference("hash")).thenReturn(true);
+        Mockito.when(bodyRepository.findOne("hash")).thenReturn("Body");
+
+        final RestEventFileRepository reloaded = new RestEventFileRepository();
+        configure(reloaded);
+        reloaded.initialize();
+        Assert.assertEquals("Body", reloaded.findOne(restEvent.getId()).getRequest().getBody());
+        Mockito.verify(bodyRepository, Mockito.times(1)).reference("hash");
+        reloaded.destroy();
+
+        final RestEventFileRepository migrated = new RestEventFileRepository();
+        configure(migrated);
+        migrated.initialize();
+        Assert.assertEquals("Body", migrated.findOne(restEvent.getId()).getRequest().getBody());
+        Mockito.verify(bodyRepository, Mockito.times(2)).reference("hash");
+        Mockito.verify(bodyRepository, Mockito.never()).delete("hash");
+        migrated.destroy();
+    }
+
+    @Test
+    public void testSaveReferencesBodies(){
+        Mockito.when(bodyRepository.save(Mockito.anyString())).thenReturn("hash");
+        Mockito.when(bodyRepository.reference("hash")).thenReturn(true);
+        Mockito.when(bodyRepository.findOne("hash")).thenReturn("Body");
+        final RestEvent restEvent = save();
+        Mockito.verify(bodyRepository, Mockito.times(2)).save(Mockito.anyString());
+        repository.destroy();
+
+        final RestEventFileRepository reloaded = new RestEventFileRepository();
+        configure(reloaded);
+        reloaded.initialize();
+        Assert.assertEquals("Body", reloaded.findOne(restEvent.getId()).getResponse().getBody());
+        Mockito.verify(bodyRepository, Mockito.times(2)).reference("hash");
+        Mockito.verify(bodyRepository, Mockito.times(2)).save(Mockito.anyString());
+
+        reloaded.delete(restEvent.getId());
+        Mockito.verify(bodyRepository, Mockito.times(2)).delete("hash");
+        reloaded.destroy();
     }
 
     @Test
@@ -89,14 +171,34 @@ public class RestEventRepositoryTest {
     @Test
     public void testSave(){
         final RestEvent restEvent = save();
-        Mockito.verify(fileRepositorySupport, Mockito.times(1)).save(Mockito.any(RestEvent.class), Mockito.anyString());
+        Mockito.verify(fileRepositorySupport, Mockito.times(1)).marshal(Mockito.any(RestEventFileRepository.RestEventFile.class));
+        Mockito.verify(fileRepositorySupport, Mockito.never()).save(Mockito.any(RestEvent.class), Mockito.anyString());
     }
 
     @Test
     public void testDelete(){
         final RestEvent restEvent = save();
         repository.delete(restEvent.getId());
-        Mockito.verify(fileRepositorySupport, Mockito.times(1)).delete(DIRECTORY + File.separator + restEvent.getId() + EXTENSION);
+        repository.destroy();
+
+        final RestEventFileRepository reloaded = new RestEventFileRepository();
+        configure(reloaded);
+        reloaded.initialize();
+        Assert.assertEquals(Integer.valueOf(0), reloaded.count());
+    }
+
+    @Test
+    public void testClearAll(){
+        save();
+        save();
+        repository.clearAll();
+        Assert.assertEquals(Integer.valueOf(0), repository.count());
+        repository.destroy();
+
+        final RestEventFileRepository reloaded = new RestEventFileRepository();
+        configure(reloaded);
+        reloaded.initialize();
+        Assert.assertEquals(Integer.valueOf(0), reloaded.count());
     }
 
     @Test
@@ -106,10 +208,75 @@ public class RestEventRepositoryTest {
         Assert.assertEquals(new Integer(1), count);
     }
 
+    @Test
+    public void testFindEventsByMethodId(){
+        save("EVENT1", "METHOD1", 1000L);
+        save("EVENT2", "METHOD2", 2000L);
+        save("EVENT3", "METHOD1", 3000L);
+        final List<RestEvent> restEvents = repository.findEventsByMethodId("METHOD1");
+        Assert.assertEquals(2, restEvents.size());
+        Assert.assertEquals("EVENT3", restEvents.get(0).getId());
+        Assert.assertEquals("EVENT1", restEvents.get(1).getId());
+
+        repository.delete("EVENT3");
+        Assert.assertEquals(1, repository.findEventsByMethodId("METHOD1").size());
+        Assert.assertTrue(repository.findEventsByMethodId("METHOD3").isEmpty());
+    }
+
+    @Test
+    public void testFindSummariesByMethodId(){
+        for(int index = 0; index < 5; index++){
+            save("EVENT" + index, "METHOD" + (index % 2), index * 1000L);
+        }
+        final EventQuery query = EventQuery.builder()
+                .operationId("METHOD0")
+                .limit(2)
+                .build();
+        final List<EventSummary> firstPage = repository.findSummaries(query);
+        Assert.assertEquals(2, firstPage.size());
+        Assert.assertEquals("EVENT4", firstPage.get(0).getId());
+        Assert.assertEquals("EVENT2", firstPage.get(1).getId());
+
+        final List<EventSummary> secondPage = repository.findSummaries(
+                query.withCursor(EventCursor.of(firstPage.get(1))));
+        Assert.assertEquals(1, secondPage.size());
+        Assert.assertEquals("EVENT0", secondPage.get(0).getId());
+    }
+
+    @Test
+    public void testGetOldestEvent(){
+        save("EVENT1", "METHOD1", 2000L);
+        save("EVENT2", "METHOD1", 1000L);
+        save("EVENT3", "METHOD1", 3000L);
+        Assert.assertEquals("EVENT2", repository.getOldestEvent().getId());
+        repository.deleteOldestEvent();
+        Assert.assertEquals("EVENT1", repository.getOldestEvent().getId());
+    }
+
+    private RestEvent save(final String id, final String methodId, final long startTime){
+        final RestEvent restEvent = RestEventGenerator.generateRestEvent();
+        restEvent.setId(id);
+        restEvent.setMethodId(methodId);
+        restEvent.setStartDate(new Date(startTime));
+        restEvent.setEndDate(new Date(startTime));
+        repository.save(restEvent);
+        return restEvent;
+    }
+
     private RestEvent save(){
         final RestEvent restEvent = RestEventGenerator.generateRestEvent();
         repository.save(restEvent);
         return restEvent;
     }
 
+    private void configure(final RestEventFileRepository repository){
+        ReflectionTestUtils.setField(repository, "fileRepositorySupport", fileRepositorySupport);
+        ReflectionTestUtils.setField(repository, "bodyRepository", bodyRepository);
+        ReflectionTestUtils.setField(repository, "mapper", mapper);
+        ReflectionTestUtils.setField(repository, "restEventFileDirectory", directory);
+        ReflectionTestUtils.setField(repository, "restEventFileExtension", EXTENSION);
+        ReflectionTestUtils.setField(repository, "restEventLegacyV1FileDirectory", directory + File.separator + "legacy");
+        ReflectionTestUtils.setField(repository, "segmentSize", 1024L * 1024L);
+    }
+
 }
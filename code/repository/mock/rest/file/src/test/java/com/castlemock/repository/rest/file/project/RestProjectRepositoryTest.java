@@ -88,6 +88,20 @@ public class RestProjectRepositoryTest {
         Mockito.verify(fileRepositorySupport, Mockito.times(1)).save(Mockito.any(RestProject.class), Mockito.anyString());
     }
 
+    @Test
+    public void testSaveAll(){
+        final List<RestProject> restProjects = new ArrayList<RestProject>();
+        restProjects.add(RestProjectGenerator.generateFullRestProject());
+        restProjects.add(RestProjectGenerator.generateFullRestProject());
+        restProjects.get(1).setId("REST PROJECT 2");
+        final List<RestProject> savedRestProjects = repository.saveAll(restProjects);
+        Assert.assertEquals(2, savedRestProjects.size());
+        Assert.assertEquals(restProjects.get(0).getId(), savedRestProjects.get(0).getId());
+        Assert.assertEquals(restProjects.get(1).getId(), savedRestProjects.get(1).getId());
+        Assert.assertEquals(new Integer(2), repository.count());
+        Mockito.verify(fileRepositorySupport, Mockito.times(2)).save(Mockito.any(RestProject.class), Mockito.anyString());
+    }
+
     @Test
     public void testDelete(){
         final RestProject restProject = save();
@@ -18,6 +18,7 @@ package com.castlemock.repository.rest.event;
 
 import com.castlemock.core.mock.rest.model.event.domain.RestEvent;
 import com.castlemock.repository.Repository;
+import com.castlemock.repository.event.EventRepository;
 
 import java.util.List;
 
@@ -29,7 +30,7 @@ import java.util.List;
  * @since 1.0
  * @see Repository
  */
-public interface RestEventRepository extends Repository<RestEvent, String> {
+public interface RestEventRepository extends EventRepository<RestEvent> {
 
     /**
      * Find events by REST method ID
@@ -17,12 +17,41 @@
 package com.castlemock.repository.rest.project;
 
 import com.castlemock.core.mock.rest.model.project.domain.RestMethod;
+import com.castlemock.core.mock.rest.model.project.domain.RestMethodStatus;
 import com.castlemock.repository.Repository;
+import com.castlemock.repository.UpdatableField;
 
 import java.util.List;
 
 public interface RestMethodRepository extends Repository<RestMethod, String> {
 
+    /**
+     * The fields of a {@link RestMethod} that can be updated in a batch.
+     * @since 1.38
+     */
+    enum Field implements UpdatableField {
+        STATUS("status", RestMethodStatus.class),
+        FORWARDED_ENDPOINT("forwardedEndpoint", String.class);
+
+        private final String name;
+        private final Class<?> type;
+
+        Field(final String name, final Class<?> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return type;
+        }
+    }
+
     /**
      * Updates the current response sequence index.
      * @param restMethodId The method id.
@@ -31,6 +60,26 @@ public interface RestMethodRepository extends Repository<RestMethod, String> {
      */
     void setCurrentResponseSequenceIndex(String restMethodId, Integer index);
 
+    /**
+     * Updates the status of several {@link RestMethod} in one batch.
+     * @param restMethodIds The ids of the methods.
+     * @param status The new status.
+     * @since 1.38
+     */
+    default void updateStatus(List<String> restMethodIds, RestMethodStatus status){
+        updateAll(restMethodIds, Field.STATUS, status);
+    }
+
+    /**
+     * Updates the forwarded endpoint of several {@link RestMethod} in one batch.
+     * @param restMethodIds The ids of the methods.
+     * @param forwardedEndpoint The new forwarded endpoint.
+     * @since 1.38
+     */
+    default void updateForwardedEndpoint(List<String> restMethodIds, String forwardedEndpoint){
+        updateAll(restMethodIds, Field.FORWARDED_ENDPOINT, forwardedEndpoint);
+    }
+
 
     /**
      * Delete all {@link RestMethod} that matches the provided
@@ -17,12 +17,14 @@
 package com.castlemock.repository.rest.mongo.event;
 
 import com.castlemock.core.basis.model.SearchQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.basis.model.SearchResult;
 import com.castlemock.core.basis.model.http.domain.ContentEncoding;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
 import com.castlemock.core.mock.rest.model.event.domain.RestEvent;
 import com.castlemock.repository.Profiles;
 import com.castlemock.repository.core.mongodb.MongoRepository;
+import com.castlemock.repository.core.mongodb.body.BodyReferenceDocument;
 import com.castlemock.repository.core.mongodb.event.AbstractEventMongoRepository;
 import com.castlemock.repository.rest.event.RestEventRepository;
 import com.google.common.base.Preconditions;
@@ -33,6 +35,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.springframework.data.mongodb.core.query.Criteria.where;
@@ -78,7 +82,7 @@ public class RestEventMongoRepository extends AbstractEventMongoRepository<RestE
     public RestEvent getOldestEvent() {
         RestEventDocument oldestEvent =
                 mongoOperations.findOne(getOldestStartDateQuery(), RestEventDocument.class);
-        return oldestEvent == null ? null : mapper.map(oldestEvent, RestEvent.class);
+        return oldestEvent == null ? null : toDto(oldestEvent);
     }
 
     /**
@@ -113,9 +117,61 @@ public class RestEventMongoRepository extends AbstractEventMongoRepository<RestE
      */
     @Override
     public RestEvent deleteOldestEvent() {
-        RestEventDocument oldestEvent =
-                mongoOperations.findAndRemove(getOldestStartDateQuery(), RestEventDocument.class);
-        return oldestEvent == null ? null : mapper.map(oldestEvent, RestEvent.class);
+        return findAndRemove(getOldestStartDateQuery());
+    }
+
+    /**
+     * Create a summary of an event that only contains the fields that are part of the summary.
+     *
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    @Override
+    protected EventSummary toSummary(final RestEventDocument event) {
+        final EventSummary summary = createSummary(event);
+        summary.setProjectId(event.getProjectId());
+        summary.setApplicationId(event.getApplicationId());
+        summary.setResourceId(event.getResourceId());
+        summary.setOperationId(event.getMethodId());
+        if (event.getResponse() != null) {
+            summary.setStatusCode(event.getResponse().getHttpStatusCode());
+            summary.setMockResponseName(event.getResponse().getMockResponseName());
+        }
+        return summary;
+    }
+
+    @Override
+    protected String getApplicationIdField() {
+        return "applicationId";
+    }
+
+    @Override
+    protected String getOperationIdField() {
+        return "methodId";
+    }
+
+    @Override
+    protected List<String> getSummaryFields() {
+        return Arrays.asList("applicationId", "resourceId", "methodId");
+    }
+
+    /**
+     * The method returns the request and response of the provided event, since both of them carries a body.
+     *
+     * @param event The event that the body references will be extracted from.
+     * @return A list of the body references of the event.
+     */
+    @Override
+    protected List<BodyReferenceDocument> getBodyReferences(final RestEventDocument event) {
+        final List<BodyReferenceDocument> references = new ArrayList<BodyReferenceDocument>();
+        if (event.getRequest() != null) {
+            references.add(event.getRequest());
+        }
+        if (event.getResponse() != null) {
+            references.add(event.getResponse());
+        }
+        return references;
     }
 
     /**
@@ -123,8 +179,7 @@ public class RestEventMongoRepository extends AbstractEventMongoRepository<RestE
      */
     @Override
     public void clearAll() {
-        //drop vs remove => https://stackoverflow.com/q/12147783
-        mongoOperations.dropCollection(RestEventDocument.class);
+        findAllAndRemove(new Query());
     }
 
     @Document(collection = "restEvent")
@@ -193,10 +248,8 @@ public class RestEventMongoRepository extends AbstractEventMongoRepository<RestE
     }
 
     @Document(collection = "restRequest")
-    protected static class RestRequestDocument {
+    protected static class RestRequestDocument extends BodyReferenceDocument {
 
-        @Mapping("body")
-        private String body;
         @Mapping("contentType")
         private String contentType;
         @Mapping("uri")
@@ -208,14 +261,6 @@ public class RestEventMongoRepository extends AbstractEventMongoRepository<RestE
         @Mapping("httpHeaders")
         private List<MongoRepository.HttpHeaderDocument> httpHeaders;
 
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         public String getContentType() {
             return contentType;
         }
@@ -258,10 +303,8 @@ public class RestEventMongoRepository extends AbstractEventMongoRepository<RestE
     }
 
     @Document(collection = "restResponse")
-    protected static class RestResponseDocument {
+    protected static class RestResponseDocument extends BodyReferenceDocument {
 
-        @Mapping("body")
-        private String body;
         @Mapping("mockResponseName")
         private String mockResponseName;
         @Mapping("httpStatusCode")
@@ -273,14 +316,6 @@ public class RestEventMongoRepository extends AbstractEventMongoRepository<RestE
         @Mapping("contentEncodings")
         private List<ContentEncoding> contentEncodings;
 
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         public String getMockResponseName() {
             return mockResponseName;
         }
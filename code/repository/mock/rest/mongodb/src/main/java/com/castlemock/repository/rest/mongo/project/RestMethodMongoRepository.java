@@ -182,6 +182,8 @@ public class RestMethodMongoRepository extends MongoRepository<RestMethodMongoRe
         private boolean simulateNetworkDelay;
         @Mapping("networkDelay")
         private long networkDelay;
+        @Mapping("eventPolicy")
+        private EventPolicyDocument eventPolicy;
         @Mapping("defaultQueryMockResponseId")
         private String defaultMockResponseId;
 
@@ -275,6 +277,14 @@ public class RestMethodMongoRepository extends MongoRepository<RestMethodMongoRe
             this.networkDelay = networkDelay;
         }
 
+        public EventPolicyDocument getEventPolicy() {
+            return eventPolicy;
+        }
+
+        public void setEventPolicy(EventPolicyDocument eventPolicy) {
+            this.eventPolicy = eventPolicy;
+        }
+
         public String getDefaultMockResponseId() {
             return defaultMockResponseId;
         }
@@ -26,6 +26,7 @@ import com.castlemock.core.mock.rest.model.project.domain.RestMockResponse;
 import com.castlemock.core.mock.rest.model.project.domain.RestMockResponseStatus;
 import com.castlemock.repository.Profiles;
 import com.castlemock.repository.core.mongodb.MongoRepository;
+import com.castlemock.repository.core.mongodb.body.BodyReferenceDocument;
 import com.castlemock.repository.rest.project.RestMockResponseRepository;
 import org.dozer.Mapping;
 import org.springframework.context.annotation.Profile;
@@ -105,7 +106,7 @@ public class RestMockResponseMongoRepository extends MongoRepository<RestMockRes
      */
     @Override
     public void deleteWithMethodId(String methodId) {
-        mongoOperations.remove(getMethodIdQuery(methodId), RestMockResponseDocument.class);
+        findAllAndRemove(getMethodIdQuery(methodId));
     }
 
     /**
@@ -139,16 +140,25 @@ public class RestMockResponseMongoRepository extends MongoRepository<RestMockRes
         return mockResponse.getMethodId();
     }
 
+    /**
+     * The method returns the provided mock response, since the mock response carries a body.
+     *
+     * @param mockResponse The mock response that the body references will be extracted from.
+     * @return A list that only contains the mock response.
+     */
+    @Override
+    protected List<BodyReferenceDocument> getBodyReferences(final RestMockResponseDocument mockResponse) {
+        return Collections.singletonList(mockResponse);
+    }
+
 
     @Document(collection = "restMockResponse")
-    protected static class RestMockResponseDocument implements Saveable<String> {
+    protected static class RestMockResponseDocument extends BodyReferenceDocument implements Saveable<String> {
 
         @Mapping("id")
         private String id;
         @Mapping("name")
         private String name;
-        @Mapping("body")
-        private String body;
         @Mapping("methodId")
         private String methodId;
         @Mapping("status")
@@ -186,14 +196,6 @@ public class RestMockResponseMongoRepository extends MongoRepository<RestMockRes
             this.name = name;
         }
 
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         public String getMethodId() {
             return methodId;
         }
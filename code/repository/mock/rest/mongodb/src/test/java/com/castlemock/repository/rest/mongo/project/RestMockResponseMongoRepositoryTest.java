@@ -12,6 +12,7 @@ import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -43,6 +44,25 @@ public class RestMockResponseMongoRepositoryTest {
         assertThat(searchResults).noneMatch(it -> it.getName().equals("aaefg"));
     }
 
+    @Test
+    public void testSaveAll() {
+        final RestMockResponse existing = restMockResponseMongoRepository.save(createrestMockResponse("existing"));
+        existing.setName("updated");
+        existing.setBody("updated body");
+        final RestMockResponse created = createrestMockResponse("created");
+        created.setBody("created body");
+
+        final List<RestMockResponse> saved = restMockResponseMongoRepository.saveAll(Arrays.asList(existing, created));
+
+        assertThat(saved).hasSize(2);
+        assertThat(saved.get(0).getId()).isEqualTo(existing.getId());
+        assertThat(saved.get(1).getId()).isNotNull();
+        assertThat(restMockResponseMongoRepository.count()).isEqualTo(2);
+        assertThat(restMockResponseMongoRepository.findOne(existing.getId()).getName()).isEqualTo("updated");
+        assertThat(restMockResponseMongoRepository.findOne(existing.getId()).getBody()).isEqualTo("updated body");
+        assertThat(restMockResponseMongoRepository.findOne(saved.get(1).getId()).getBody()).isEqualTo("created body");
+    }
+
     @After
     public void after() {
         mongoOperations.dropCollection("restMockResponse");
@@ -17,6 +17,7 @@
 package com.castlemock.repository.soap.file.event;
 
 import com.castlemock.core.basis.model.SearchQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.basis.model.SearchResult;
 import com.castlemock.core.basis.model.http.domain.ContentEncoding;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
@@ -24,6 +25,7 @@ import com.castlemock.core.mock.soap.model.event.domain.SoapEvent;
 import com.castlemock.core.mock.soap.model.project.domain.SoapVersion;
 import com.castlemock.repository.Profiles;
 import com.castlemock.repository.core.file.FileRepository;
+import com.castlemock.repository.core.file.body.BodyReferenceFile;
 import com.castlemock.repository.core.file.event.AbstractEventFileRepository;
 import com.castlemock.repository.soap.event.SoapEventRepository;
 import com.google.common.base.Preconditions;
@@ -36,20 +38,19 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
  * The class is an implementation of the file repository and provides the functionality to interact with the file system.
- * The repository is responsible for loading and saving soap events from the file system. Each soap event is stored as
- * a separate file. The class also contains the directory and the filename extension for the soap event.
+ * The repository is responsible for loading and saving soap events from the file system. The soap events are stored
+ * in append-only event segments. The class also contains the directory and the filename extension for the soap event.
  * @author Karl Dahlgren
  * @since 1.0
  * @see SoapEventFileRepository
  * @see FileRepository
  */
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class SoapEventFileRepository extends AbstractEventFileRepository<SoapEventFileRepository.SoapEventFile, SoapEvent> implements SoapEventRepository {
 
     @Value(value = "${soap.event.file.directory}")
@@ -115,17 +116,11 @@ public class SoapEventFileRepository extends AbstractEventFileRepository<SoapEve
     /**
      * The events for a specific operation id
      * @param operationId The id of the operation that the event belongs to
-     * @return Returns a list of events
+     * @return Returns a list of events, ordered with the newest event first
      */
     @Override
     public List<SoapEvent> findEventsByOperationId(String operationId) {
-        final List<SoapEventFile> events = new ArrayList<SoapEventFile>();
-        for(SoapEventFile event : collection.values()){
-            if(event.getOperationId().equals(operationId)){
-                events.add(event);
-            }
-        }
-        return toDtoList(events, SoapEvent.class);
+        return toDtoList(findByOperationId(operationId), SoapEvent.class);
     }
 
     /**
@@ -134,15 +129,7 @@ public class SoapEventFileRepository extends AbstractEventFileRepository<SoapEve
      */
     @Override
     public SoapEvent getOldestEvent() {
-        EventFile oldestEvent = null;
-        for(EventFile event : collection.values()){
-            if(oldestEvent == null){
-                oldestEvent = event;
-            } else if(event.getStartDate().before(oldestEvent.getStartDate())){
-                oldestEvent = event;
-            }
-        }
-
+        final SoapEventFile oldestEvent = findOldest();
         return oldestEvent == null ? null : mapper.map(oldestEvent, SoapEvent.class);
     }
 
@@ -174,11 +161,45 @@ public class SoapEventFileRepository extends AbstractEventFileRepository<SoapEve
      */
     @Override
     public void clearAll() {
-        Iterator<SoapEventFile> iterator = collection.values().iterator();
-        while(iterator.hasNext()){
-            SoapEventFile soapEvent = iterator.next();
-            delete(soapEvent.getId());
+        clear();
+    }
+
+    /**
+     * Create a summary of an event without mapping the request and the response.
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    @Override
+    protected EventSummary toSummary(final SoapEventFile event) {
+        final EventSummary summary = createSummary(event);
+        summary.setProjectId(event.getProjectId());
+        summary.setApplicationId(event.getPortId());
+        summary.setOperationId(event.getOperationId());
+        if(event.getResponse() != null){
+            summary.setStatusCode(event.getResponse().getHttpStatusCode());
+            summary.setMockResponseName(event.getResponse().getMockResponseName());
+        }
+        return summary;
+    }
+
+    /**
+     * The method returns the request and response body of the provided event. The bodies
+     * are stored in the {@link com.castlemock.repository.body.BodyRepository}.
+     * @param type The event that the bodies belongs to.
+     * @return A list that contains the request and the response of the event.
+     * @since 1.38
+     */
+    @Override
+    protected List<BodyReferenceFile> getBodyReferences(final SoapEventFile type) {
+        final List<BodyReferenceFile> references = new ArrayList<BodyReferenceFile>();
+        if(type.getRequest() != null){
+            references.add(type.getRequest());
+        }
+        if(type.getResponse() != null){
+            references.add(type.getResponse());
         }
+        return references;
     }
 
     @XmlRootElement(name = "soapEvent")
@@ -245,10 +266,8 @@ public class SoapEventFileRepository extends AbstractEventFileRepository<SoapEve
     }
 
     @XmlRootElement(name = "soapRequest")
-    protected static class SoapRequestFile {
+    protected static class SoapRequestFile extends BodyReferenceFile {
 
-        @Mapping("body")
-        private String body;
         @Mapping("contentType")
         private String contentType;
         @Mapping("uri")
@@ -264,15 +283,6 @@ public class SoapEventFileRepository extends AbstractEventFileRepository<SoapEve
         @Mapping("httpHeaders")
         private List<FileRepository.HttpHeaderFile> httpHeaders;
 
-        @XmlElement
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         @XmlElement
         public String getContentType() {
             return contentType;
@@ -340,10 +350,8 @@ public class SoapEventFileRepository extends AbstractEventFileRepository<SoapEve
 
 
     @XmlRootElement(name = "soapResponse")
-    protected static class SoapResponseFile {
+    protected static class SoapResponseFile extends BodyReferenceFile {
 
-        @Mapping("body")
-        private String body;
         @Mapping("mockResponseName")
         private String mockResponseName;
         @Mapping("httpStatusCode")
@@ -355,15 +363,6 @@ public class SoapEventFileRepository extends AbstractEventFileRepository<SoapEve
         @Mapping("contentEncodings")
         private List<ContentEncoding> contentEncodings;
 
-        @XmlElement
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         @XmlElement
         public String getMockResponseName() {
             return mockResponseName;
@@ -28,6 +28,7 @@ import com.castlemock.core.mock.soap.model.project.domain.SoapMockResponseStatus
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
 import com.castlemock.repository.Profiles;
 import com.castlemock.repository.core.file.FileRepository;
+import com.castlemock.repository.core.file.body.BodyReferenceFile;
 import com.castlemock.repository.soap.project.SoapMockResponseRepository;
 import com.google.common.base.Strings;
 import org.dozer.Mapping;
@@ -38,14 +39,15 @@ import org.springframework.stereotype.Repository;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import java.util.Collections;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class SoapMockResponseFileRepository extends FileRepository<SoapMockResponseFileRepository.SoapMockResponseFile, SoapMockResponse, String> implements SoapMockResponseRepository {
 
     @Value(value = "${soap.response.file.directory}")
@@ -95,39 +97,56 @@ public class SoapMockResponseFileRepository extends FileRepository<SoapMockRespo
 
 
     /**
-     * The post initialize method can be used to run functionality for a specific service. The method is called when
-     * the method {@link #initialize} has finished successful.
-     *
-     * The method is responsible to validate the imported types and make certain that all the collections are
-     * initialized.
-     * @see #initialize
-     * @since 1.4
+     * The method returns the class of the repository of the parent of the type. The mock
+     * responses are loaded together with the project of their operation.
+     * @return The class of the parent repository.
+     * @since 1.38
      */
     @Override
-    protected void postInitiate() {
-        for(SoapMockResponseFile soapMockResponse : collection.values()) {
-            List<HttpHeader> httpHeaders = new CopyOnWriteArrayList<HttpHeader>();
-            if (soapMockResponse.getHttpHeaders() != null) {
-                httpHeaders.addAll(soapMockResponse.getHttpHeaders());
-            }
-            soapMockResponse.setHttpHeaders(httpHeaders);
+    protected Class<SoapOperationFileRepository> getParentRepositoryClass() {
+        return SoapOperationFileRepository.class;
+    }
 
-            List<ContentEncoding> contentEncodings = new CopyOnWriteArrayList<ContentEncoding>();
-            if (soapMockResponse.getContentEncodings() != null) {
-                contentEncodings.addAll(soapMockResponse.getContentEncodings());
-            }
+    @Override
+    protected String getParentElement() {
+        return "operationId";
+    }
 
-            soapMockResponse.setContentEncodings(contentEncodings);
+    @Override
+    protected String getParentId(final SoapMockResponseFile type) {
+        return type.getOperationId();
+    }
 
-            if(!Strings.isNullOrEmpty(soapMockResponse.getXpathExpression())){
-                final SoapXPathExpressionFile xPathExpression = new SoapXPathExpressionFile();
-                xPathExpression.setExpression(soapMockResponse.getXpathExpression());
-                soapMockResponse.getXpathExpressions().add(xPathExpression);
-                soapMockResponse.setXpathExpression(null);
-            }
+    /**
+     * The method is responsible to validate the loaded types and make certain that all the collections are
+     * initialized. Mock responses with a legacy XPath expression are migrated.
+     * @param soapMockResponse The mock response that was loaded.
+     * @return <code>true</code> if the mock response was migrated.
+     * @since 1.38
+     */
+    @Override
+    protected boolean migrate(final SoapMockResponseFile soapMockResponse) {
+        List<HttpHeader> httpHeaders = new CopyOnWriteArrayList<HttpHeader>();
+        if (soapMockResponse.getHttpHeaders() != null) {
+            httpHeaders.addAll(soapMockResponse.getHttpHeaders());
+        }
+        soapMockResponse.setHttpHeaders(httpHeaders);
+
+        List<ContentEncoding> contentEncodings = new CopyOnWriteArrayList<ContentEncoding>();
+        if (soapMockResponse.getContentEncodings() != null) {
+            contentEncodings.addAll(soapMockResponse.getContentEncodings());
+        }
 
-            save(soapMockResponse);
+        soapMockResponse.setContentEncodings(contentEncodings);
+
+        if(!Strings.isNullOrEmpty(soapMockResponse.getXpathExpression())){
+            final SoapXPathExpressionFile xPathExpression = new SoapXPathExpressionFile();
+            xPathExpression.setExpression(soapMockResponse.getXpathExpression());
+            soapMockResponse.getXpathExpressions().add(xPathExpression);
+            soapMockResponse.setXpathExpression(null);
+            return true;
         }
+        return false;
     }
 
 
@@ -151,23 +170,17 @@ public class SoapMockResponseFileRepository extends FileRepository<SoapMockRespo
 
     @Override
     public void deleteWithOperationId(String operationId) {
-        Iterator<SoapMockResponseFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            SoapMockResponseFile mockResponse = iterator.next();
-            if(mockResponse.getOperationId().equals(operationId)){
-                delete(mockResponse.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(operationId).stream()
+                .map(SoapMockResponseFile::getId)
+                .collect(Collectors.toList()));
     }
 
     @Override
     public List<SoapMockResponse> findWithOperationId(String operationId) {
         final List<SoapMockResponse> mockResponses = new ArrayList<>();
-        for(SoapMockResponseFile mockResponse : this.collection.values()){
-            if(mockResponse.getOperationId().equals(operationId)){
-                SoapMockResponse operation = this.mapper.map(mockResponse, SoapMockResponse.class);
-                mockResponses.add(operation);
-            }
+        for(SoapMockResponseFile mockResponse : this.findWithParentId(operationId)){
+            SoapMockResponse operation = this.mapper.map(mockResponse, SoapMockResponse.class);
+            mockResponses.add(operation);
         }
         return mockResponses;
     }
@@ -190,15 +203,25 @@ public class SoapMockResponseFileRepository extends FileRepository<SoapMockRespo
         return mockResponse.getOperationId();
     }
 
+    /**
+     * The method returns the body of the provided mock response. The body
+     * is stored in the {@link com.castlemock.repository.body.BodyRepository}.
+     * @param type The mock response that the body belongs to.
+     * @return A list that contains the provided mock response.
+     * @since 1.38
+     */
+    @Override
+    protected List<BodyReferenceFile> getBodyReferences(final SoapMockResponseFile type) {
+        return Collections.singletonList(type);
+    }
+
     @XmlRootElement(name = "soapMockResponse")
-    protected static class SoapMockResponseFile implements Saveable<String> {
+    protected static class SoapMockResponseFile extends BodyReferenceFile implements Saveable<String> {
 
         @Mapping("id")
         private String id;
         @Mapping("name")
         private String name;
-        @Mapping("body")
-        private String body;
         @Mapping("operationId")
         private String operationId;
         @Mapping("status")
@@ -237,15 +260,6 @@ public class SoapMockResponseFileRepository extends FileRepository<SoapMockRespo
             this.name = name;
         }
 
-        @XmlElement
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         @XmlElement
         public String getOperationId() {
             return operationId;
@@ -35,19 +35,26 @@ import org.springframework.stereotype.Repository;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class SoapOperationFileRepository extends FileRepository<SoapOperationFileRepository.SoapOperationFile, SoapOperation, String> implements SoapOperationRepository {
 
+    private static final String SOAP_ACTION_KEY_SEPARATOR = "\n";
+
     @Value(value = "${soap.operation.file.directory}")
     private String fileDirectory;
     @Value(value = "${soap.operation.file.extension}")
     private String fileExtension;
 
+    private final Map<String, Set<String>> soapActionIndex = new ConcurrentHashMap<String, Set<String>>();
+
     /**
      * The method returns the directory for the specific file repository. The directory will be used to indicate
      * where files should be saved and loaded from. The method is abstract and every subclass is responsible for
@@ -89,41 +96,101 @@ public class SoapOperationFileRepository extends FileRepository<SoapOperationFil
     }
 
     /**
-     * The post initialize method can be used to run functionality for a specific service. The method is called when
-     * the method {@link #initialize} has finished successful. The method does not contain any functionality and the
-     * whole idea is the it should be overridden by subclasses, but only if certain functionality is required to
-     * run after the {@link #initialize} method has completed.
-     * @see #initialize
+     * The method returns the class of the repository of the parent of the type.
+     * The operations are loaded together with the {@link SoapProject} of their port.
+     * @return The class of the parent repository.
+     * @since 1.38
      */
     @Override
-    public void postInitiate(){
-        for(SoapOperationFile soapOperation : this.collection.values()){
-            if(soapOperation.getOperationIdentifier() == null){
-                SoapOperationIdentifierFile operationIdentifier =
-                        new SoapOperationIdentifierFile();
-                operationIdentifier.setName(soapOperation.getIdentifier());
-
-                soapOperation.setOperationIdentifier(operationIdentifier);
-                soapOperation.setIdentifier(null);
-                save(soapOperation);
-            }
+    protected Class<SoapPortFileRepository> getParentRepositoryClass() {
+        return SoapPortFileRepository.class;
+    }
 
-            if(soapOperation.getIdentifyStrategy() == null){
-                soapOperation.setIdentifyStrategy(SoapOperationIdentifyStrategy.ELEMENT_NAMESPACE);
-                save(soapOperation);
-            }
+    @Override
+    protected String getParentElement() {
+        return "portId";
+    }
 
-            if(soapOperation.getCurrentResponseSequenceIndex() == null){
-                soapOperation.setCurrentResponseSequenceIndex(0);
-                save(soapOperation);
-            }
+    @Override
+    protected String getParentId(final SoapOperationFile type) {
+        return type.getPortId();
+    }
 
-            if(!Strings.isNullOrEmpty(soapOperation.getDefaultXPathMockResponseId())){
-                soapOperation.setDefaultMockResponseId(soapOperation.getDefaultXPathMockResponseId());
-                soapOperation.setDefaultXPathMockResponseId(null);
-                save(soapOperation);
-            }
+    /**
+     * The method migrates operations that were saved by an older version.
+     * @param soapOperation The operation that was loaded.
+     * @return <code>true</code> if the operation was migrated.
+     * @since 1.38
+     */
+    @Override
+    protected boolean migrate(final SoapOperationFile soapOperation){
+        boolean migrated = false;
+        if(soapOperation.getOperationIdentifier() == null){
+            SoapOperationIdentifierFile operationIdentifier =
+                    new SoapOperationIdentifierFile();
+            operationIdentifier.setName(soapOperation.getIdentifier());
+
+            soapOperation.setOperationIdentifier(operationIdentifier);
+            soapOperation.setIdentifier(null);
+            migrated = true;
+        }
+
+        if(soapOperation.getIdentifyStrategy() == null){
+            soapOperation.setIdentifyStrategy(SoapOperationIdentifyStrategy.ELEMENT_NAMESPACE);
+            migrated = true;
+        }
+
+        if(soapOperation.getCurrentResponseSequenceIndex() == null){
+            soapOperation.setCurrentResponseSequenceIndex(0);
+            migrated = true;
+        }
+
+        if(!Strings.isNullOrEmpty(soapOperation.getDefaultXPathMockResponseId())){
+            soapOperation.setDefaultMockResponseId(soapOperation.getDefaultXPathMockResponseId());
+            soapOperation.setDefaultXPathMockResponseId(null);
+            migrated = true;
+        }
+        return migrated;
+    }
+
+    /**
+     * The method adds a loaded operation to the SOAP action index.
+     * @param loaded The operation that was loaded.
+     */
+    @Override
+    protected void onLoaded(final SoapOperationFile loaded) {
+        addToSoapActionIndex(loaded.getPortId(), loaded.getSoapAction(), loaded.getId());
+    }
+
+    /**
+     * The method removes an unloaded operation from the SOAP action index.
+     * @param unloaded The operation that was unloaded.
+     */
+    @Override
+    protected void onUnloaded(final SoapOperationFile unloaded) {
+        removeFromSoapActionIndex(unloaded.getPortId(), unloaded.getSoapAction(), unloaded.getId());
+    }
+
+    /**
+     * The method updates the SOAP action index with the SOAP action of a stored operation.
+     * @param previous The previous version of the operation, or null if the operation is new.
+     * @param stored The operation that was stored.
+     */
+    @Override
+    protected void onStored(final SoapOperationFile previous, final SoapOperationFile stored) {
+        if(previous != null){
+            removeFromSoapActionIndex(previous.getPortId(), previous.getSoapAction(), previous.getId());
         }
+        addToSoapActionIndex(stored.getPortId(), stored.getSoapAction(), stored.getId());
+    }
+
+    /**
+     * The method removes a deleted operation from the SOAP action index.
+     * @param deleted The operation that was deleted.
+     */
+    @Override
+    protected void onDeleted(final SoapOperationFile deleted) {
+        removeFromSoapActionIndex(deleted.getPortId(), deleted.getSoapAction(), deleted.getId());
     }
 
     /**
@@ -146,24 +213,18 @@ public class SoapOperationFileRepository extends FileRepository<SoapOperationFil
 
     @Override
     public void deleteWithPortId(String portId) {
-        Iterator<SoapOperationFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            SoapOperationFile operation = iterator.next();
-            if(operation.getPortId().equals(portId)){
-                delete(operation.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(portId).stream()
+                .map(SoapOperationFile::getId)
+                .collect(Collectors.toList()));
     }
 
 
     @Override
     public List<SoapOperation> findWithPortId(String portId) {
         final List<SoapOperation> operations = new ArrayList<>();
-        for(SoapOperationFile operationFile : this.collection.values()){
-            if(operationFile.getPortId().equals(portId)){
-                SoapOperation operation = this.mapper.map(operationFile, SoapOperation.class);
-                operations.add(operation);
-            }
+        for(SoapOperationFile operationFile : this.findWithParentId(portId)){
+            SoapOperation operation = this.mapper.map(operationFile, SoapOperation.class);
+            operations.add(operation);
         }
         return operations;
     }
@@ -177,9 +238,8 @@ public class SoapOperationFileRepository extends FileRepository<SoapOperationFil
     @Override
     public SoapOperation findWithName(final String soapPortId,
                                       final String soapOperationName){
-        for(SoapOperationFile soapOperation : this.collection.values()){
-            if(soapOperation.getPortId().equals(soapPortId) &&
-                    soapOperation.getName().equals(soapOperationName)){
+        for(SoapOperationFile soapOperation : this.findWithParentId(soapPortId)){
+            if(soapOperation.getName().equals(soapOperationName)){
                 return mapper.map(soapOperation, SoapOperation.class);
             }
         }
@@ -199,9 +259,8 @@ public class SoapOperationFileRepository extends FileRepository<SoapOperationFil
     public SoapOperation findWithMethodAndVersionAndIdentifier(final String portId, final HttpMethod method,
                                                                final SoapVersion version,
                                                                final SoapOperationIdentifier operationIdentifier) {
-        for(SoapOperationFile soapOperation : this.collection.values()){
-            if(soapOperation.getPortId().equals(portId) &&
-                    soapOperation.getHttpMethod().equals(method) &&
+        for(SoapOperationFile soapOperation : this.findWithParentId(portId)){
+            if(soapOperation.getHttpMethod().equals(method) &&
                     soapOperation.getSoapVersion().equals(version)){
 
                 final SoapOperationIdentifierFile operationIdentifierFile =
@@ -224,6 +283,49 @@ public class SoapOperationFileRepository extends FileRepository<SoapOperationFil
         return null;
     }
 
+    /**
+     * Find a {@link SoapOperation} with a provided {@link HttpMethod}, {@link SoapVersion}
+     * and SOAP action. Only operations that are identified with the
+     * {@link SoapOperationIdentifyStrategy#SOAP_ACTION} strategy will be matched. The operations are
+     * looked up in the SOAP action index, which is populated when the operations are loaded and saved.
+     * The project of the port is loaded before the index is used.
+     *
+     * @param portId     The id of the port
+     * @param method     The HTTP method
+     * @param version    The SOAP version
+     * @param soapAction The SOAP action
+     * @return A {@link SoapOperation} that matches the provided search criteria. Null will be returned
+     * if no operation or more than one operation matches the SOAP action.
+     * @since 1.38
+     */
+    @Override
+    public SoapOperation findWithMethodAndVersionAndSoapAction(final String portId, final HttpMethod method,
+                                                               final SoapVersion version,
+                                                               final String soapAction) {
+        loadParentProject(portId);
+        final Set<String> operationIds = this.soapActionIndex.get(getSoapActionKey(portId, soapAction));
+        if(operationIds == null){
+            return null;
+        }
+
+        SoapOperationFile match = null;
+        for(String operationId : operationIds){
+            final SoapOperationFile soapOperation = this.collection.get(operationId);
+            if(soapOperation != null &&
+                    soapOperation.getIdentifyStrategy() == SoapOperationIdentifyStrategy.SOAP_ACTION &&
+                    soapOperation.getHttpMethod().equals(method) &&
+                    soapOperation.getSoapVersion().equals(version)){
+                if(match != null){
+                    // The SOAP action is shared between multiple operations and
+                    // can't be used to identify the operation.
+                    return null;
+                }
+                match = soapOperation;
+            }
+        }
+        return match == null ? null : this.mapper.map(match, SoapOperation.class);
+    }
+
     /**
      * Updates the current response sequence index.
      *
@@ -255,6 +357,28 @@ public class SoapOperationFileRepository extends FileRepository<SoapOperationFil
         return operationFile.getPortId();
     }
 
+    private void addToSoapActionIndex(final String portId, final String soapAction, final String operationId){
+        if(portId == null || Strings.isNullOrEmpty(soapAction)){
+            return;
+        }
+        this.soapActionIndex.computeIfAbsent(getSoapActionKey(portId, soapAction),
+                key -> ConcurrentHashMap.newKeySet()).add(operationId);
+    }
+
+    private void removeFromSoapActionIndex(final String portId, final String soapAction, final String operationId){
+        if(portId == null || Strings.isNullOrEmpty(soapAction)){
+            return;
+        }
+        this.soapActionIndex.computeIfPresent(getSoapActionKey(portId, soapAction), (key, operationIds) -> {
+            operationIds.remove(operationId);
+            return operationIds.isEmpty() ? null : operationIds;
+        });
+    }
+
+    private static String getSoapActionKey(final String portId, final String soapAction){
+        return portId + SOAP_ACTION_KEY_SEPARATOR + soapAction;
+    }
+
     @XmlRootElement(name = "soapOperation")
     protected static class SoapOperationFile implements Saveable<String> {
 
@@ -293,10 +417,14 @@ public class SoapOperationFileRepository extends FileRepository<SoapOperationFil
         private boolean simulateNetworkDelay;
         @Mapping("networkDelay")
         private long networkDelay;
+        @Mapping("eventPolicy")
+        private EventPolicyFile eventPolicy;
         @Mapping("mockOnFailure")
         private boolean mockOnFailure;
         @Mapping("identifyStrategy")
         private SoapOperationIdentifyStrategy identifyStrategy;
+        @Mapping("soapAction")
+        private String soapAction;
 
         @XmlElement
         @Override
@@ -435,6 +563,15 @@ public class SoapOperationFileRepository extends FileRepository<SoapOperationFil
             this.networkDelay = networkDelay;
         }
 
+        @XmlElement
+        public EventPolicyFile getEventPolicy() {
+            return eventPolicy;
+        }
+
+        public void setEventPolicy(EventPolicyFile eventPolicy) {
+            this.eventPolicy = eventPolicy;
+        }
+
         @XmlElement
         @Deprecated
         public String getDefaultXPathMockResponseId() {
@@ -463,6 +600,15 @@ public class SoapOperationFileRepository extends FileRepository<SoapOperationFil
             this.identifyStrategy = identifyStrategy;
         }
 
+        @XmlElement
+        public String getSoapAction() {
+            return soapAction;
+        }
+
+        public void setSoapAction(String soapAction) {
+            this.soapAction = soapAction;
+        }
+
         @XmlElement
         public String getDefaultMockResponseId() {
             return defaultMockResponseId;
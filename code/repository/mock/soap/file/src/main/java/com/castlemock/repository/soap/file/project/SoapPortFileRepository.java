@@ -34,12 +34,12 @@ import org.springframework.stereotype.Repository;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class SoapPortFileRepository extends FileRepository<SoapPortFileRepository.SoapPortFile, SoapPort, String> implements SoapPortRepository {
 
     @Value(value = "${soap.port.file.directory}")
@@ -87,6 +87,27 @@ public class SoapPortFileRepository extends FileRepository<SoapPortFileRepositor
 
     }
 
+    /**
+     * The method returns the class of the repository of the parent of the type.
+     * The ports are loaded together with their {@link SoapProject}.
+     * @return The class of the parent repository.
+     * @since 1.38
+     */
+    @Override
+    protected Class<SoapProjectFileRepository> getParentRepositoryClass() {
+        return SoapProjectFileRepository.class;
+    }
+
+    @Override
+    protected String getParentElement() {
+        return "projectId";
+    }
+
+    @Override
+    protected String getParentId(final SoapPortFile type) {
+        return type.getProjectId();
+    }
+
     /**
      * The method provides the functionality to search in the repository with a {@link SearchQuery}
      *
@@ -107,23 +128,17 @@ public class SoapPortFileRepository extends FileRepository<SoapPortFileRepositor
 
     @Override
     public void deleteWithProjectId(String projectId) {
-        Iterator<SoapPortFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            SoapPortFile port = iterator.next();
-            if(port.getProjectId().equals(projectId)){
-                delete(port.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(projectId).stream()
+                .map(SoapPortFile::getId)
+                .collect(Collectors.toList()));
     }
 
     @Override
     public List<SoapPort> findWithProjectId(String projectId) {
         final List<SoapPort> ports = new ArrayList<>();
-        for(SoapPortFile portFile : this.collection.values()){
-            if(portFile.getProjectId().equals(projectId)){
-                SoapPort port = this.mapper.map(portFile, SoapPort.class);
-                ports.add(port);
-            }
+        for(SoapPortFile portFile : this.findWithParentId(projectId)){
+            SoapPort port = this.mapper.map(portFile, SoapPort.class);
+            ports.add(port);
         }
         return ports;
     }
@@ -135,9 +150,8 @@ public class SoapPortFileRepository extends FileRepository<SoapPortFileRepositor
      */
     @Override
     public SoapPort findWithName(final String projectId, final String soapPortName) {
-        for(SoapPortFile soapPort : collection.values()){
-            if(soapPort.getProjectId().equals(projectId) &&
-                    soapPort.getName().equals(soapPortName)){
+        for(SoapPortFile soapPort : findWithParentId(projectId)){
+            if(soapPort.getName().equals(soapPortName)){
                 return mapper.map(soapPort, SoapPort.class);
             }
         }
@@ -153,9 +167,8 @@ public class SoapPortFileRepository extends FileRepository<SoapPortFileRepositor
      */
     @Override
     public SoapPort findWithUri(String projectId, String uri) {
-        for(SoapPortFile soapPort : collection.values()){
-            if(soapPort.getProjectId().equals(projectId) &&
-                    soapPort.getUri().equals(uri)){
+        for(SoapPortFile soapPort : findWithParentId(projectId)){
+            if(soapPort.getUri().equals(uri)){
                 return mapper.map(soapPort, SoapPort.class);
             }
         }
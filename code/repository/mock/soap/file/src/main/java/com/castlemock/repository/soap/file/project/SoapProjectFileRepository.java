@@ -41,7 +41,7 @@ import java.util.List;
  * @see SoapProjectRepository
  */
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class SoapProjectFileRepository extends AbstractProjectFileRepository<SoapProjectFileRepository.SoapProjectFile, SoapProject> implements SoapProjectRepository {
 
     @Value(value = "${soap.project.file.directory}")
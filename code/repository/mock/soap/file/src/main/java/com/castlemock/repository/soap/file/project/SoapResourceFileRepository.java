@@ -40,9 +40,10 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import java.io.File;
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Repository
-@Profile(Profiles.FILE)
+@Profile({Profiles.FILE, Profiles.LOG, Profiles.MEMORY})
 public class SoapResourceFileRepository extends FileRepository<SoapResourceFileRepository.SoapResourceFile, SoapResource, String> implements SoapResourceRepository {
 
     private static final String WSDL_DIRECTORY = "wsdl";
@@ -97,6 +98,27 @@ public class SoapResourceFileRepository extends FileRepository<SoapResourceFileR
 
     }
 
+    /**
+     * The method returns the class of the repository of the parent of the type.
+     * The resources are loaded together with their {@link SoapProject}.
+     * @return The class of the parent repository.
+     * @since 1.38
+     */
+    @Override
+    protected Class<SoapProjectFileRepository> getParentRepositoryClass() {
+        return SoapProjectFileRepository.class;
+    }
+
+    @Override
+    protected String getParentElement() {
+        return "projectId";
+    }
+
+    @Override
+    protected String getParentId(final SoapResourceFile type) {
+        return type.getProjectId();
+    }
+
     /**
      * The method provides the functionality to search in the repository with a {@link SearchQuery}
      *
@@ -117,23 +139,17 @@ public class SoapResourceFileRepository extends FileRepository<SoapResourceFileR
 
     @Override
     public void deleteWithProjectId(String projectId) {
-        Iterator<SoapResourceFile> iterator = this.collection.values().iterator();
-        while (iterator.hasNext()){
-            SoapResourceFile resource = iterator.next();
-            if(resource.getProjectId().equals(projectId)){
-                delete(resource.getId());
-            }
-        }
+        deleteAll(this.findWithParentId(projectId).stream()
+                .map(SoapResourceFile::getId)
+                .collect(Collectors.toList()));
     }
 
     @Override
     public List<SoapResource> findWithProjectId(String projectId) {
         final List<SoapResource> resources = new ArrayList<>();
-        for(SoapResourceFile resourceFile : this.collection.values()){
-            if(resourceFile.getProjectId().equals(projectId)){
-                SoapResource resource = this.mapper.map(resourceFile, SoapResource.class);
-                resources.add(resource);
-            }
+        for(SoapResourceFile resourceFile : this.findWithParentId(projectId)){
+            SoapResource resource = this.mapper.map(resourceFile, SoapResource.class);
+            resources.add(resource);
         }
         return resources;
     }
@@ -228,6 +244,22 @@ public class SoapResourceFileRepository extends FileRepository<SoapResourceFileR
         return soapResource != null ? mapper.map(soapResource, SoapResource.class) : null;
     }
 
+    /**
+     * Delete all the instances that match the provided ids. The resources are
+     * stored in separate files and are therefore deleted one by one.
+     * @param ids The ids of the instances that will be deleted.
+     * @return The deleted resources.
+     * @since 1.38
+     */
+    @Override
+    public List<SoapResource> deleteAll(final List<String> ids) {
+        Preconditions.checkNotNull(ids, "The ids cannot be null");
+        return ids.stream()
+                .map(this::delete)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
 
     /**
      * The method returns a list of {@link SoapResource} that matches the
@@ -244,13 +276,11 @@ public class SoapResourceFileRepository extends FileRepository<SoapResourceFileR
         Preconditions.checkNotNull(soapProjectId, "Project id cannot be null");
 
         final List<SoapResource> soapResources = new ArrayList<>();
-        for(SoapResourceFile soapResourceFile : this.collection.values()){
-            if(soapResourceFile.getProjectId().equals(soapProjectId)){
-                for(SoapResourceType type : types){
-                    if(type.equals(soapResourceFile.getType())){
-                        SoapResource soapResource = mapper.map(soapResourceFile, SoapResource.class);
-                        soapResources.add(soapResource);
-                    }
+        for(SoapResourceFile soapResourceFile : this.findWithParentId(soapProjectId)){
+            for(SoapResourceType type : types){
+                if(type.equals(soapResourceFile.getType())){
+                    SoapResource soapResource = mapper.map(soapResourceFile, SoapResource.class);
+                    soapResources.add(soapResource);
                 }
             }
         }
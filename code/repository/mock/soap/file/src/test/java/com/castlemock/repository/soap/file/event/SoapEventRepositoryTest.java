@@ -18,15 +18,19 @@ package com.castlemock.repository.soap.file.event;
 
 import com.castlemock.core.mock.soap.model.event.SoapEventGenerator;
 import com.castlemock.core.mock.soap.model.event.domain.SoapEvent;
+import com.castlemock.repository.body.BodyRepository;
 import com.castlemock.repository.core.file.FileRepositorySupport;
 import org.dozer.DozerBeanMapper;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.*;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -36,30 +40,58 @@ import java.util.List;
  */
 public class SoapEventRepositoryTest {
 
-    @Mock
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    @Spy
     private FileRepositorySupport fileRepositorySupport;
+    @Mock
+    private BodyRepository bodyRepository;
     @Spy
     private DozerBeanMapper mapper;
     @InjectMocks
     private SoapEventFileRepository repository;
-    private static final String DIRECTORY = "/directory";
+    private String directory;
     private static final String EXTENSION = ".extension";
 
     @Before
-    public void setup() {
+    public void setup() throws IOException {
         MockitoAnnotations.initMocks(this);
-        ReflectionTestUtils.setField(repository, "soapEventFileDirectory", DIRECTORY);
-        ReflectionTestUtils.setField(repository, "soapEventFileExtension", EXTENSION);
+        this.directory = folder.newFolder("events").getPath();
+        configure(repository);
+        repository.initialize();
     }
 
     @Test
     public void testInitialize(){
-        List<SoapEvent> soapEvents = new ArrayList<SoapEvent>();
-        SoapEvent soapEvent = SoapEventGenerator.generateSoapEvent();
-        soapEvents.add(soapEvent);
-        Mockito.when(fileRepositorySupport.load(SoapEvent.class, DIRECTORY, EXTENSION)).thenReturn(soapEvents);
-        repository.initialize();
-        Mockito.verify(fileRepositorySupport, Mockito.times(1)).load(SoapEventFileRepository.SoapEventFile.class, DIRECTORY, EXTENSION);
+        final SoapEvent soapEvent = save();
+        repository.destroy();
+
+        final SoapEventFileRepository reloaded = new SoapEventFileRepository();
+        configure(reloaded);
+        reloaded.initialize();
+        Assert.assertEquals(Integer.valueOf(1), reloaded.count());
+        Assert.assertEquals(soapEvent.getResourceName(), reloaded.findOne(soapEvent.getId()).getResourceName());
+        Mockito.verify(fileRepositorySupport, Mockito.times(2)).load(SoapEventFileRepository.SoapEventFile.class, directory, EXTENSION);
+    }
+
+    @Test
+    public void testMigrate(){
+        final SoapEvent soapEvent = SoapEventGenerator.generateSoapEvent();
+        fileRepositorySupport.save(mapper.map(soapEvent, SoapEventFileRepository.SoapEventFile.class),
+                directory + File.separator + soapEvent.getId() + EXTENSION);
+
+        final SoapEventFileRepository reloaded = new SoapEventFileRepository();
+        configure(reloaded);
+        reloaded.initialize();
+        Assert.assertEquals(Integer.valueOf(1), reloaded.count());
+        Assert.assertNotNull(reloaded.findOne(soapEvent.getId()));
+        Assert.assertFalse(new File(directory, soapEvent.getId() + EXTENSION).exists());
+        reloaded.destroy();
+
+        final SoapEventFileRepository migrated = new SoapEventFileRepository();
+        configure(migrated);
+        migrated.initialize();
+        Assert.assertEquals(Integer.valueOf(1), migrated.count());
     }
 
     @Test
@@ -94,14 +126,34 @@ public class SoapEventRepositoryTest {
     @Test
     public void testSave(){
         final SoapEvent soapEvent = save();
-        Mockito.verify(fileRepositorySupport, Mockito.times(1)).save(Mockito.any(SoapEvent.class), Mockito.anyString());
+        Mockito.verify(fileRepositorySupport, Mockito.times(1)).marshal(Mockito.any(SoapEventFileRepository.SoapEventFile.class));
+        Mockito.verify(fileRepositorySupport, Mockito.never()).save(Mockito.any(SoapEvent.class), Mockito.anyString());
     }
 
     @Test
     public void testDelete(){
         final SoapEvent soapEvent = save();
         repository.delete(soapEvent.getId());
-        Mockito.verify(fileRepositorySupport, Mockito.times(1)).delete(DIRECTORY + File.separator + soapEvent.getId() + EXTENSION);
+        repository.destroy();
+
+        final SoapEventFileRepository reloaded = new SoapEventFileRepository();
+        configure(reloaded);
+        reloaded.initialize();
+        Assert.assertEquals(Integer.valueOf(0), reloaded.count());
+    }
+
+    @Test
+    public void testClearAll(){
+        save();
+        save();
+        repository.clearAll();
+        Assert.assertEquals(Integer.valueOf(0), repository.count());
+        repository.destroy();
+
+        final SoapEventFileRepository reloaded = new SoapEventFileRepository();
+        configure(reloaded);
+        reloaded.initialize();
+        Assert.assertEquals(Integer.valueOf(0), reloaded.count());
     }
 
     @Test
@@ -117,4 +169,14 @@ public class SoapEventRepositoryTest {
         return soapEvent;
     }
 
+    private void configure(final SoapEventFileRepository repository){
+        ReflectionTestUtils.setField(repository, "fileRepositorySupport", fileRepositorySupport);
+        ReflectionTestUtils.setField(repository, "bodyRepository", bodyRepository);
+        ReflectionTestUtils.setField(repository, "mapper", mapper);
+        ReflectionTestUtils.setField(repository, "soapEventFileDirectory", directory);
+        ReflectionTestUtils.setField(repository, "soapEventFileExtension", EXTENSION);
+        ReflectionTestUtils.setField(repository, "soapEventLegacyV1FileDirectory", directory + File.separator + "legacy");
+        ReflectionTestUtils.setField(repository, "segmentSize", 1024L * 1024L);
+    }
+
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.repository.soap.file.project;
+
+import com.castlemock.core.basis.model.http.domain.HttpMethod;
+import com.castlemock.core.mock.soap.model.project.SoapOperationGenerator;
+import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
+import com.castlemock.core.mock.soap.model.project.domain.SoapOperationIdentifyStrategy;
+import com.castlemock.core.mock.soap.model.project.domain.SoapOperationStatus;
+import com.castlemock.core.mock.soap.model.project.domain.SoapVersion;
+import com.castlemock.repository.core.file.FileRepositorySupport;
+import org.dozer.DozerBeanMapper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class SoapOperationRepositoryTest {
+
+    private static final String PORT_ID = "Port";
+    private static final String SOAP_ACTION = "urn:getCustomer";
+
+    @Mock
+    private FileRepositorySupport fileRepositorySupport;
+    @Spy
+    private DozerBeanMapper mapper;
+    @InjectMocks
+    private SoapOperationFileRepository repository;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        ReflectionTestUtils.setField(repository, "fileDirectory", "/directory");
+        ReflectionTestUtils.setField(repository, "fileExtension", ".extension");
+    }
+
+    @Test
+    public void testSaveAllUpdatesSoapActionIndex(){
+        final List<SoapOperation> saved = repository.saveAll(Arrays.asList(operation(null), operation("Other")));
+        final SoapOperation operation = repository.findWithMethodAndVersionAndSoapAction(PORT_ID, HttpMethod.POST,
+                SoapVersion.SOAP11, SOAP_ACTION);
+        Assert.assertNotNull(operation);
+        Assert.assertEquals(saved.get(0).getId(), operation.getId());
+        Assert.assertEquals(saved.get(1).getId(), repository.findWithMethodAndVersionAndSoapAction("Other", HttpMethod.POST,
+                SoapVersion.SOAP11, SOAP_ACTION).getId());
+    }
+
+    @Test
+    public void testUpdateAllKeepsSoapActionIndex(){
+        final SoapOperation saved = repository.save(operation(null));
+        repository.updateStatus(Arrays.asList(saved.getId()), SoapOperationStatus.DISABLED);
+        final SoapOperation operation = repository.findWithMethodAndVersionAndSoapAction(PORT_ID, HttpMethod.POST,
+                SoapVersion.SOAP11, SOAP_ACTION);
+        Assert.assertNotNull(operation);
+        Assert.assertEquals(SoapOperationStatus.DISABLED, operation.getStatus());
+    }
+
+    @Test
+    public void testDeleteAllUpdatesSoapActionIndex(){
+        final List<SoapOperation> saved = repository.saveAll(Arrays.asList(operation(null)));
+        repository.deleteAll(Arrays.asList(saved.get(0).getId()));
+        Assert.assertNull(repository.findWithMethodAndVersionAndSoapAction(PORT_ID, HttpMethod.POST,
+                SoapVersion.SOAP11, SOAP_ACTION));
+    }
+
+    private static SoapOperation operation(final String portId){
+        final SoapOperation operation = SoapOperationGenerator.generateSoapOperation();
+        operation.setId(null);
+        operation.setPortId(portId != null ? portId : PORT_ID);
+        operation.setSoapAction(SOAP_ACTION);
+        operation.setIdentifyStrategy(SoapOperationIdentifyStrategy.SOAP_ACTION);
+        return operation;
+    }
+
+}
@@ -19,6 +19,7 @@ package com.castlemock.repository.soap.file.project;
 
 import com.castlemock.core.mock.soap.model.project.SoapProjectGenerator;
 import com.castlemock.core.mock.soap.model.project.domain.SoapProject;
+import com.castlemock.repository.UpdatableField;
 import com.castlemock.repository.core.file.FileRepositorySupport;
 import org.dozer.DozerBeanMapper;
 import org.junit.Assert;
@@ -29,6 +30,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -97,6 +99,52 @@ public class SoapProjectRepositoryTest {
         Mockito.verify(fileRepositorySupport, Mockito.times(1)).delete(DIRECTORY + File.separator + soapProject.getId() + EXTENSION);
     }
 
+    @Test
+    public void testDeleteAll(){
+        final SoapProject soapProject = save();
+        final SoapProject otherSoapProject = SoapProjectGenerator.generateFullSoapProject();
+        otherSoapProject.setId("Other project");
+        repository.save(otherSoapProject);
+        final List<SoapProject> deleted = repository.deleteAll(Arrays.asList(soapProject.getId(), otherSoapProject.getId(), "Unknown"));
+        Assert.assertEquals(2, deleted.size());
+        Assert.assertEquals(new Integer(0), repository.count());
+        Mockito.verify(fileRepositorySupport, Mockito.times(1)).delete(DIRECTORY + File.separator + soapProject.getId() + EXTENSION);
+        Mockito.verify(fileRepositorySupport, Mockito.times(1)).delete(DIRECTORY + File.separator + otherSoapProject.getId() + EXTENSION);
+    }
+
+    @Test
+    public void testUpdateAll(){
+        final SoapProject soapProject = save();
+        repository.updateAll(Arrays.asList(soapProject.getId()), Field.DESCRIPTION, "Updated description");
+        Assert.assertEquals("Updated description", repository.findOne(soapProject.getId()).getDescription());
+        Mockito.verify(fileRepositorySupport, Mockito.times(2)).save(Mockito.any(SoapProject.class), Mockito.anyString());
+    }
+
+    @Test
+    public void testUpdateAllFailedWrite(){
+        final SoapProject soapProject = save();
+        Mockito.doThrow(new IllegalStateException("Unable to write")).when(fileRepositorySupport)
+                .save(Mockito.any(SoapProject.class), Mockito.anyString());
+        try {
+            repository.updateAll(Arrays.asList(soapProject.getId()), Field.DESCRIPTION, "Updated description");
+            Assert.fail("The update should fail when the write fails");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(soapProject.getDescription(), repository.findOne(soapProject.getId()).getDescription());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdateAllInvalidValue(){
+        final SoapProject soapProject = save();
+        repository.updateAll(Arrays.asList(soapProject.getId()), Field.DESCRIPTION, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUpdateAllUnknownField(){
+        final SoapProject soapProject = save();
+        repository.updateAll(Arrays.asList(soapProject.getId()), Field.UNKNOWN, "Value");
+    }
+
     @Test
     public void testCount(){
         final SoapProject soapProject = save();
@@ -110,4 +158,24 @@ public class SoapProjectRepositoryTest {
         return soapProject;
     }
 
+    private enum Field implements UpdatableField {
+        DESCRIPTION("description"),
+        UNKNOWN("unknown");
+
+        private final String name;
+
+        Field(final String name){
+            this.name = name;
+        }
+
+        @Override
+        public String getName(){
+            return name;
+        }
+
+        @Override
+        public Class<?> getType(){
+            return String.class;
+        }
+    }
 }
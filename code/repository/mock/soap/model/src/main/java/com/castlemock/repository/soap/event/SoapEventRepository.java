@@ -19,6 +19,7 @@ package com.castlemock.repository.soap.event;
 
 import com.castlemock.core.mock.soap.model.event.domain.SoapEvent;
 import com.castlemock.repository.Repository;
+import com.castlemock.repository.event.EventRepository;
 
 import java.util.List;
 
@@ -30,7 +31,7 @@ import java.util.List;
  * @since 1.0
  * @see Repository
  */
-public interface SoapEventRepository extends Repository<SoapEvent, String> {
+public interface SoapEventRepository extends EventRepository<SoapEvent> {
 
     /**
      * The events for a specific operation id
@@ -19,13 +19,42 @@ package com.castlemock.repository.soap.project;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperationIdentifier;
+import com.castlemock.core.mock.soap.model.project.domain.SoapOperationStatus;
 import com.castlemock.core.mock.soap.model.project.domain.SoapVersion;
 import com.castlemock.repository.Repository;
+import com.castlemock.repository.UpdatableField;
 
 import java.util.List;
 
 public interface SoapOperationRepository extends Repository<SoapOperation, String> {
 
+    /**
+     * The fields of a {@link SoapOperation} that can be updated in a batch.
+     * @since 1.38
+     */
+    enum Field implements UpdatableField {
+        STATUS("status", SoapOperationStatus.class),
+        FORWARDED_ENDPOINT("forwardedEndpoint", String.class);
+
+        private final String name;
+        private final Class<?> type;
+
+        Field(final String name, final Class<?> type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return type;
+        }
+    }
+
     void deleteWithPortId(String portId);
 
     List<SoapOperation> findWithPortId(String portId);
@@ -52,6 +81,23 @@ public interface SoapOperationRepository extends Repository<SoapOperation, Strin
                                                         SoapVersion version,
                                                         SoapOperationIdentifier operationIdentifier);
 
+    /**
+     * Find a {@link SoapOperation} with a provided {@link HttpMethod}, {@link SoapVersion}
+     * and SOAP action. Only operations that are identified with the
+     * {@link com.castlemock.core.mock.soap.model.project.domain.SoapOperationIdentifyStrategy#SOAP_ACTION}
+     * strategy will be matched.
+     * @param portId The id of the port
+     * @param method The HTTP method
+     * @param version The SOAP version
+     * @param soapAction The SOAP action
+     * @return A {@link SoapOperation} that matches the provided search criteria. Null will be returned
+     * if no operation or more than one operation matches the SOAP action.
+     * @since 1.38
+     */
+    SoapOperation findWithMethodAndVersionAndSoapAction(String portId, HttpMethod method,
+                                                        SoapVersion version,
+                                                        String soapAction);
+
     /**
      * Updates the current response sequence index.
      * @param soapOperationId The operation id.
@@ -70,4 +116,23 @@ public interface SoapOperationRepository extends Repository<SoapOperation, Strin
      */
     String getPortId(String operationId);
 
+    /**
+     * Updates the status of several {@link SoapOperation} in one batch.
+     * @param operationIds The ids of the operations.
+     * @param status The new status.
+     * @since 1.38
+     */
+    default void updateStatus(List<String> operationIds, SoapOperationStatus status){
+        updateAll(operationIds, Field.STATUS, status);
+    }
+
+    /**
+     * Updates the forwarded endpoint of several {@link SoapOperation} in one batch.
+     * @param operationIds The ids of the operations.
+     * @param forwardedEndpoint The new forwarded endpoint.
+     * @since 1.38
+     */
+    default void updateForwardedEndpoint(List<String> operationIds, String forwardedEndpoint){
+        updateAll(operationIds, Field.FORWARDED_ENDPOINT, forwardedEndpoint);
+    }
 }
@@ -17,6 +17,7 @@
 package com.castlemock.repository.soap.mongodb.event;
 
 import com.castlemock.core.basis.model.SearchQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.basis.model.SearchResult;
 import com.castlemock.core.basis.model.http.domain.ContentEncoding;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
@@ -24,6 +25,7 @@ import com.castlemock.core.mock.soap.model.event.domain.SoapEvent;
 import com.castlemock.core.mock.soap.model.project.domain.SoapVersion;
 import com.castlemock.repository.Profiles;
 import com.castlemock.repository.core.mongodb.MongoRepository;
+import com.castlemock.repository.core.mongodb.body.BodyReferenceDocument;
 import com.castlemock.repository.core.mongodb.event.AbstractEventMongoRepository;
 import com.castlemock.repository.soap.event.SoapEventRepository;
 import com.google.common.base.Preconditions;
@@ -34,6 +36,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.springframework.data.mongodb.core.query.Criteria.where;
@@ -94,7 +98,7 @@ public class SoapEventMongoRepository extends AbstractEventMongoRepository<SoapE
     public SoapEvent getOldestEvent() {
         SoapEventDocument oldestEvent =
                 mongoOperations.findOne(getOldestStartDateQuery(), SoapEventDocument.class);
-        return oldestEvent == null ? null : mapper.map(oldestEvent, SoapEvent.class);
+        return oldestEvent == null ? null : toDto(oldestEvent);
     }
 
     /**
@@ -115,9 +119,60 @@ public class SoapEventMongoRepository extends AbstractEventMongoRepository<SoapE
      */
     @Override
     public SoapEvent deleteOldestEvent() {
-        SoapEventDocument oldestEvent =
-                mongoOperations.findAndRemove(getOldestStartDateQuery(), SoapEventDocument.class);
-        return oldestEvent == null ? null : mapper.map(oldestEvent, SoapEvent.class);
+        return findAndRemove(getOldestStartDateQuery());
+    }
+
+    /**
+     * Create a summary of an event that only contains the fields that are part of the summary.
+     *
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    @Override
+    protected EventSummary toSummary(final SoapEventDocument event) {
+        final EventSummary summary = createSummary(event);
+        summary.setProjectId(event.getProjectId());
+        summary.setApplicationId(event.getPortId());
+        summary.setOperationId(event.getOperationId());
+        if (event.getResponse() != null) {
+            summary.setStatusCode(event.getResponse().getHttpStatusCode());
+            summary.setMockResponseName(event.getResponse().getMockResponseName());
+        }
+        return summary;
+    }
+
+    @Override
+    protected String getApplicationIdField() {
+        return "portId";
+    }
+
+    @Override
+    protected String getOperationIdField() {
+        return "operationId";
+    }
+
+    @Override
+    protected List<String> getSummaryFields() {
+        return Arrays.asList("portId", "operationId");
+    }
+
+    /**
+     * The method returns the request and response of the provided event, since both of them carries a body.
+     *
+     * @param event The event that the body references will be extracted from.
+     * @return A list of the body references of the event.
+     */
+    @Override
+    protected List<BodyReferenceDocument> getBodyReferences(final SoapEventDocument event) {
+        final List<BodyReferenceDocument> references = new ArrayList<BodyReferenceDocument>();
+        if (event.getRequest() != null) {
+            references.add(event.getRequest());
+        }
+        if (event.getResponse() != null) {
+            references.add(event.getResponse());
+        }
+        return references;
     }
 
     /**
@@ -125,8 +180,7 @@ public class SoapEventMongoRepository extends AbstractEventMongoRepository<SoapE
      */
     @Override
     public void clearAll() {
-        //drop vs remove => https://stackoverflow.com/q/12147783
-        mongoOperations.dropCollection(SoapEventDocument.class);
+        findAllAndRemove(new Query());
     }
 
     @Document(collection = "soapEvent")
@@ -185,10 +239,8 @@ public class SoapEventMongoRepository extends AbstractEventMongoRepository<SoapE
     }
 
     @Document(collection = "soapRequest")
-    protected static class SoapRequestDocument {
+    protected static class SoapRequestDocument extends BodyReferenceDocument {
 
-        @Mapping("body")
-        private String body;
         @Mapping("contentType")
         private String contentType;
         @Mapping("uri")
@@ -204,14 +256,6 @@ public class SoapEventMongoRepository extends AbstractEventMongoRepository<SoapE
         @Mapping("httpHeaders")
         private List<HttpHeaderDocument> httpHeaders;
 
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         public String getContentType() {
             return contentType;
         }
@@ -270,10 +314,8 @@ public class SoapEventMongoRepository extends AbstractEventMongoRepository<SoapE
     }
 
     @Document(collection = "soapResponse")
-    protected static class SoapResponseDocument {
+    protected static class SoapResponseDocument extends BodyReferenceDocument {
 
-        @Mapping("body")
-        private String body;
         @Mapping("mockResponseName")
         private String mockResponseName;
         @Mapping("httpStatusCode")
@@ -285,14 +327,6 @@ public class SoapEventMongoRepository extends AbstractEventMongoRepository<SoapE
         @Mapping("contentEncodings")
         private List<ContentEncoding> contentEncodings;
 
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         public String getMockResponseName() {
             return mockResponseName;
         }
@@ -27,6 +27,7 @@ import com.castlemock.core.mock.soap.model.project.domain.SoapMockResponseStatus
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
 import com.castlemock.repository.Profiles;
 import com.castlemock.repository.core.mongodb.MongoRepository;
+import com.castlemock.repository.core.mongodb.body.BodyReferenceDocument;
 import com.castlemock.repository.soap.project.SoapMockResponseRepository;
 import org.dozer.Mapping;
 import org.springframework.context.annotation.Profile;
@@ -35,6 +36,7 @@ import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -81,7 +83,7 @@ public class SoapMockResponseMongoRepository extends MongoRepository<SoapMockRes
 
     @Override
     public void deleteWithOperationId(String operationId) {
-        mongoOperations.remove(getOperationIdQuery(operationId), SoapMockResponseDocument.class);
+        findAllAndRemove(getOperationIdQuery(operationId));
     }
 
     @Override
@@ -108,15 +110,24 @@ public class SoapMockResponseMongoRepository extends MongoRepository<SoapMockRes
         return mockResponse.getOperationId();
     }
 
+    /**
+     * The method returns the provided mock response, since the mock response carries a body.
+     *
+     * @param mockResponse The mock response that the body references will be extracted from.
+     * @return A list that only contains the mock response.
+     */
+    @Override
+    protected List<BodyReferenceDocument> getBodyReferences(final SoapMockResponseDocument mockResponse) {
+        return Collections.singletonList(mockResponse);
+    }
+
     @Document(collection = "soapMockResponse")
-    protected static class SoapMockResponseDocument implements Saveable<String> {
+    protected static class SoapMockResponseDocument extends BodyReferenceDocument implements Saveable<String> {
 
         @Mapping("id")
         private String id;
         @Mapping("name")
         private String name;
-        @Mapping("body")
-        private String body;
         @Mapping("operationId")
         private String operationId;
         @Mapping("status")
@@ -153,14 +164,6 @@ public class SoapMockResponseMongoRepository extends MongoRepository<SoapMockRes
             this.name = name;
         }
 
-        public String getBody() {
-            return body;
-        }
-
-        public void setBody(String body) {
-            this.body = body;
-        }
-
         public String getOperationId() {
             return operationId;
         }
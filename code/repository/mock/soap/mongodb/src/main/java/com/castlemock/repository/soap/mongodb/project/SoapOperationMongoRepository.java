@@ -27,6 +27,7 @@ import com.castlemock.repository.core.mongodb.MongoRepository;
 import com.castlemock.repository.soap.project.SoapOperationRepository;
 import org.dozer.Mapping;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -143,6 +144,39 @@ public class SoapOperationMongoRepository extends MongoRepository<SoapOperationM
         return null;
     }
 
+    /**
+     * Find a {@link SoapOperation} with a provided {@link HttpMethod}, {@link SoapVersion}
+     * and SOAP action. Only operations that are identified with the
+     * {@link SoapOperationIdentifyStrategy#SOAP_ACTION} strategy will be matched.
+     *
+     * @param portId     The id of the port
+     * @param method     The HTTP method
+     * @param version    The SOAP version
+     * @param soapAction The SOAP action
+     * @return A {@link SoapOperation} that matches the provided search criteria. Null will be returned
+     * if no operation or more than one operation matches the SOAP action.
+     * @since 1.38
+     */
+    @Override
+    public SoapOperation findWithMethodAndVersionAndSoapAction(final String portId, final HttpMethod method,
+                                                               final SoapVersion version,
+                                                               final String soapAction) {
+        final Query soapActionQuery = query(where("portId").is(portId)
+                .and("soapAction").is(soapAction)
+                .and("httpMethod").is(method)
+                .and("soapVersion").is(version)
+                .and("identifyStrategy").is(SoapOperationIdentifyStrategy.SOAP_ACTION))
+                .limit(2);
+        final List<SoapOperationDocument> soapOperations =
+                mongoOperations.find(soapActionQuery, SoapOperationDocument.class);
+
+        if (soapOperations.size() != 1) {
+            // Either no operation or multiple operations share the SOAP action.
+            return null;
+        }
+        return this.mapper.map(soapOperations.get(0), SoapOperation.class);
+    }
+
     /**
      * Updates the current response sequence index.
      *
@@ -177,6 +211,7 @@ public class SoapOperationMongoRepository extends MongoRepository<SoapOperationM
     }
 
     @Document(collection = "soapOperation")
+    @CompoundIndex(name = "portId_soapAction", def = "{'portId': 1, 'soapAction': 1}")
     protected static class SoapOperationDocument implements Saveable<String> {
 
         @Mapping("id")
@@ -211,10 +246,14 @@ public class SoapOperationMongoRepository extends MongoRepository<SoapOperationM
         private boolean simulateNetworkDelay;
         @Mapping("networkDelay")
         private long networkDelay;
+        @Mapping("eventPolicy")
+        private EventPolicyDocument eventPolicy;
         @Mapping("mockOnFailure")
         private boolean mockOnFailure;
         @Mapping("identifyStrategy")
         private SoapOperationIdentifyStrategy identifyStrategy;
+        @Mapping("soapAction")
+        private String soapAction;
 
         @Override
         public String getId() {
@@ -338,6 +377,14 @@ public class SoapOperationMongoRepository extends MongoRepository<SoapOperationM
             this.networkDelay = networkDelay;
         }
 
+        public EventPolicyDocument getEventPolicy() {
+            return eventPolicy;
+        }
+
+        public void setEventPolicy(EventPolicyDocument eventPolicy) {
+            this.eventPolicy = eventPolicy;
+        }
+
         public String getDefaultMockResponseId() {
             return defaultMockResponseId;
         }
@@ -361,6 +408,14 @@ public class SoapOperationMongoRepository extends MongoRepository<SoapOperationM
         public void setIdentifyStrategy(SoapOperationIdentifyStrategy identifyStrategy) {
             this.identifyStrategy = identifyStrategy;
         }
+
+        public String getSoapAction() {
+            return soapAction;
+        }
+
+        public void setSoapAction(String soapAction) {
+            this.soapAction = soapAction;
+        }
     }
 
     @Document(collection = "soapOperationIdentifier")
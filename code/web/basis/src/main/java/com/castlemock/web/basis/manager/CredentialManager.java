@@ -0,0 +1,202 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.manager;
+
+import com.google.common.base.Preconditions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The credential manager keeps a short lived cache of verified credentials, which makes it possible
+ * to skip the expensive password verification for clients that authenticate on every request.
+ * The credentials are never stored as they are. Each entry is identified by a keyed hash (HMAC-SHA256)
+ * of the credentials, where the key is randomly generated when the application is started.
+ * The cache is bounded in size and the entries expire after a configurable time. All the entries
+ * for a user have to be invalidated when the user is updated, locked or deleted.
+ * <p>
+ * A verification that was started before an invalidation must not be cached, since it may have
+ * been based on the old state of the user. The manager therefore keeps a generation counter which
+ * is increased for every invalidation. The generation is read with {@link #getGeneration()} before
+ * the credentials are verified, and {@link #put(String, String, Authentication, long)} ignores the
+ * authentication if the user has been invalidated since then.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@Component
+public class CredentialManager {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int KEY_LENGTH = 32;
+
+    private final SecretKeySpec key;
+    private final long validityNanos;
+    private final Map<String, Credential> credentials;
+    private final Map<String, Long> invalidations = new HashMap<String, Long>();
+    private long generation;
+    private long invalidatedAll;
+
+    public CredentialManager(@Value("${security.credential.cache.seconds:60}") final long validitySeconds,
+                             @Value("${security.credential.cache.max:1000}") final int maxCredentials){
+        Preconditions.checkArgument(validitySeconds >= 0, "The credential validity cannot be negative");
+        Preconditions.checkArgument(maxCredentials >= 0, "The maximum number of credentials cannot be negative");
+        final byte[] secret = new byte[KEY_LENGTH];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.validityNanos = TimeUnit.SECONDS.toNanos(validitySeconds);
+        this.credentials = new LinkedHashMap<String, Credential>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Credential> eldest) {
+                return size() > maxCredentials;
+            }
+        };
+    }
+
+    /**
+     * Get a verified authentication for the provided credentials.
+     * @param principal The principal, such as the username, that identifies the user.
+     * @param secret The secret, such as the password, that was used to authenticate the user.
+     * @return The authentication that was created when the credentials were verified, or
+     *         <code>null</code> if the credentials have not been verified or if the verification has expired.
+     */
+    public Authentication get(final String principal, final String secret){
+        if(principal == null || secret == null){
+            return null;
+        }
+        final String credentialKey = getKey(principal, secret);
+        synchronized (credentials){
+            final Credential credential = credentials.get(credentialKey);
+            if(credential == null){
+                return null;
+            }
+            if(System.nanoTime() - credential.created > validityNanos){
+                credentials.remove(credentialKey);
+                return null;
+            }
+            return credential.authentication;
+        }
+    }
+
+    /**
+     * Get the current generation. The generation has to be read before the credentials are verified
+     * and then be provided when the verified authentication is registered.
+     * @return The current generation.
+     * @see #put(String, String, Authentication, long)
+     */
+    public long getGeneration(){
+        synchronized (credentials){
+            return generation;
+        }
+    }
+
+    /**
+     * Register a verified authentication for the provided credentials. The authentication will
+     * not be registered if the user has been invalidated after the provided generation was read.
+     * @param principal The principal, such as the username, that identifies the user.
+     * @param secret The secret, such as the password, that was used to authenticate the user.
+     * @param authentication The authentication that was created when the credentials were verified.
+     * @param generation The generation that was read before the credentials were verified.
+     * @return <code>true</code> if the authentication was registered and <code>false</code> otherwise.
+     */
+    public boolean put(final String principal, final String secret,
+                       final Authentication authentication, final long generation){
+        Preconditions.checkNotNull(authentication, "The authentication cannot be null");
+        if(principal == null || secret == null || validityNanos == 0){
+            return false;
+        }
+        final String username = authentication.getName();
+        final Credential credential = new Credential(username, authentication, System.nanoTime());
+        final String credentialKey = getKey(principal, secret);
+        synchronized (credentials){
+            final Long invalidated = username == null ? null : invalidations.get(username.toLowerCase());
+            if(generation < invalidatedAll || (invalidated != null && generation < invalidated)){
+                return false;
+            }
+            credentials.put(credentialKey, credential);
+            return true;
+        }
+    }
+
+    /**
+     * Invalidate all the verified credentials for a user.
+     * @param username The username of the user whose credentials will be invalidated.
+     */
+    public void invalidate(final String username){
+        if(username == null){
+            return;
+        }
+        synchronized (credentials){
+            invalidations.put(username.toLowerCase(), ++generation);
+            final Iterator<Credential> iterator = credentials.values().iterator();
+            while(iterator.hasNext()){
+                if(username.equalsIgnoreCase(iterator.next().username)){
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalidate all the verified credentials.
+     */
+    public void invalidateAll(){
+        synchronized (credentials){
+            invalidatedAll = ++generation;
+            invalidations.clear();
+            credentials.clear();
+        }
+    }
+
+    private String getKey(final String principal, final String secret){
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(principal.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(mac.doFinal(secret.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to calculate the credential key", e);
+        }
+    }
+
+    private static class Credential {
+
+        private final String username;
+        private final Authentication authentication;
+        private final long created;
+
+        private Credential(final String username, final Authentication authentication, final long created) {
+            this.username = username;
+            this.authentication = authentication;
+            this.created = created;
+        }
+    }
+
+}
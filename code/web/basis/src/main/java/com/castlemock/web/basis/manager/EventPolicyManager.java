@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.web.basis.manager;
+
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
+import com.google.common.base.Preconditions;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The event policy manager caches the event policies of the projects, which means that
+ * a project does not have to be read for every incoming request. The cached policy of a
+ * project has to be invalidated once the project has been updated or deleted.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see EventPolicy
+ */
+@Component
+public class EventPolicyManager {
+
+    private final Map<String, Optional<EventPolicy>> projectPolicies = new ConcurrentHashMap<String, Optional<EventPolicy>>();
+
+    /**
+     * Get the event policy of a project. The policy is read with the provided loader
+     * the first time it is requested.
+     * @param projectId The id of the project.
+     * @param loader The loader that reads the policy of the project. The loader should
+     *               return <code>null</code> if the project does not have a policy.
+     * @return The event policy of the project, or <code>null</code> if the project does not have a policy.
+     */
+    public EventPolicy getProjectPolicy(final String projectId, final Function<String, EventPolicy> loader){
+        Preconditions.checkNotNull(projectId, "The project id cannot be null");
+        Preconditions.checkNotNull(loader, "The loader cannot be null");
+        // The policy is read while the entry is locked, which means that an invalidation
+        // always waits for an ongoing read and removes the policy that it read
+        return projectPolicies.computeIfAbsent(projectId, id -> Optional.ofNullable(loader.apply(id)))
+                .orElse(null);
+    }
+
+    /**
+     * Invalidate the cached event policy of a project. The method should be invoked
+     * once the project has been updated or deleted.
+     * @param projectId The id of the project.
+     */
+    public void invalidate(final String projectId){
+        if(projectId != null){
+            projectPolicies.remove(projectId);
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.manager;
+
+import com.castlemock.core.basis.model.event.domain.EventCursor;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.log4j.Logger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The event stream sends the events of a subscription to a client as Server-Sent Events. The events
+ * are written with non-blocking I/O, which means that a client that has stopped reading never blocks
+ * the thread that delivers the events. The stream reports that it is not ready as long as the
+ * previous event has not been written, and it resumes the subscription once the client is able
+ * to receive more events.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see EventStreamManager
+ */
+final class EventStream implements EventStreamManager.Listener, WriteListener, AsyncListener {
+
+    private static final Logger LOGGER = Logger.getLogger(EventStream.class);
+    private static final String CONTENT_TYPE = "text/event-stream";
+    private static final String EVENT = "event";
+    private static final String DROPPED = "dropped";
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final ObjectMapper objectMapper;
+    private EventStreamManager eventStreamManager;
+    private EventStreamManager.Subscription subscription;
+    private AsyncContext asyncContext;
+    private ServletOutputStream output;
+    private boolean closed;
+
+    EventStream(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Start sending the events of a subscription.
+     * @param eventStreamManager The manager that the subscription belongs to.
+     * @param subscription The subscription whose events will be sent.
+     * @param asyncContext The asynchronous context of the request that subscribed to the events.
+     * @param timeout The time in milliseconds until the stream is closed.
+     * @throws IOException If the output stream of the response could not be opened.
+     */
+    synchronized void start(final EventStreamManager eventStreamManager,
+                            final EventStreamManager.Subscription subscription,
+                            final AsyncContext asyncContext,
+                            final long timeout) throws IOException {
+        this.eventStreamManager = eventStreamManager;
+        this.subscription = subscription;
+        this.asyncContext = asyncContext;
+        final ServletResponse response = asyncContext.getResponse();
+        response.setContentType(CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        asyncContext.setTimeout(timeout);
+        asyncContext.addListener(this);
+        this.output = response.getOutputStream();
+        this.output.setWriteListener(this);
+    }
+
+    @Override
+    public synchronized boolean isReady() {
+        return output != null && !closed && output.isReady();
+    }
+
+    @Override
+    public void onEvent(final EventSummary summary) throws Exception {
+        write("event:" + EVENT + "\nid:" + EventCursor.of(summary) +
+                "\ndata:" + objectMapper.writeValueAsString(summary) + "\n\n");
+    }
+
+    @Override
+    public void onDropped(final long dropped) throws Exception {
+        write("event:" + DROPPED + "\ndata:" + dropped + "\n\n");
+    }
+
+    @Override
+    public void onHeartbeat() throws Exception {
+        write(":" + HEARTBEAT + "\n\n");
+    }
+
+    @Override
+    public void onEvicted() {
+        close();
+    }
+
+    /**
+     * The method is invoked by the container once the client is able to receive more events.
+     * The response is committed the first time, in order to inform the client that it has subscribed.
+     * @throws IOException If the response could not be committed.
+     */
+    @Override
+    public void onWritePossible() throws IOException {
+        synchronized (this){
+            if(closed){
+                return;
+            }
+            if(!asyncContext.getResponse().isCommitted()){
+                output.flush();
+            }
+        }
+        eventStreamManager.resume(subscription);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        LOGGER.debug("Unable to send events to the subscriber", throwable);
+        eventStreamManager.unsubscribe(subscription);
+        close();
+    }
+
+    @Override
+    public void onComplete(final AsyncEvent event) {
+        eventStreamManager.unsubscribe(subscription);
+    }
+
+    @Override
+    public void onTimeout(final AsyncEvent event) {
+        eventStreamManager.unsubscribe(subscription);
+        close();
+    }
+
+    @Override
+    public void onError(final AsyncEvent event) {
+        onError(event.getThrowable());
+    }
+
+    @Override
+    public void onStartAsync(final AsyncEvent event) {
+
+    }
+
+    /**
+     * Write a message without blocking. The message is flushed as long as the client is able to receive
+     * it, and the remaining part of it is written by the container once the client has caught up.
+     * @param message The message that will be written.
+     * @throws IOException If the message could not be written. The stream will be closed.
+     */
+    private synchronized void write(final String message) throws IOException {
+        if(closed){
+            throw new IOException("The event stream has been closed");
+        }
+        try {
+            output.write(message.getBytes(StandardCharsets.UTF_8));
+            if(output.isReady()){
+                output.flush();
+            }
+        } catch (IOException | RuntimeException e){
+            close();
+            throw e;
+        }
+    }
+
+    private synchronized void close(){
+        if(closed){
+            return;
+        }
+        closed = true;
+        if(asyncContext != null){
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e){
+                LOGGER.debug("The event stream has already been completed", e);
+            }
+        }
+    }
+}
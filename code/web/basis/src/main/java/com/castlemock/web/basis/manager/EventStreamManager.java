@@ -0,0 +1,425 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.manager;
+
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Preconditions;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The event stream manager pushes the summaries of newly created events to the clients
+ * that are subscribing to them. Each subscriber has a bounded buffer, which means that
+ * a slow client will never block the creation of events. Events that do not fit in the
+ * buffer of a subscriber are dropped, and the subscriber is informed about how many events
+ * that have been dropped once it has caught up.
+ * <p>
+ * The events are delivered on a thread pool with a fixed number of threads, and the number of
+ * subscribers is limited. A subscriber is only sent an event once it is ready to receive it. The
+ * clients are sent the events with non-blocking I/O and are not ready as long as they have not
+ * received the previous event, which means that a stalled client never occupies a thread. A subscriber
+ * that has not been ready, or whose listener has been blocked, for longer than the send timeout is
+ * evicted, and the thread that is blocked by its listener is interrupted.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@Component
+public class EventStreamManager {
+
+    private static final Logger LOGGER = Logger.getLogger(EventStreamManager.class);
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeout;
+    private final long sendTimeoutNanos;
+    private final ObjectMapper objectMapper;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+
+    public EventStreamManager(@Value("${event.stream.buffer.size:256}") final int bufferSize,
+                              @Value("${event.stream.timeout.seconds:1800}") final long timeoutSeconds,
+                              @Value("${event.stream.heartbeat.seconds:15}") final long heartbeatSeconds,
+                              @Value("${event.stream.send.timeout.seconds:10}") final long sendTimeoutSeconds,
+                              @Value("${event.stream.threads:2}") final int threads,
+                              @Value("${event.stream.subscribers.max:100}") final int maxSubscribers,
+                              final ObjectMapper objectMapper){
+        Preconditions.checkArgument(bufferSize > 0, "The buffer size has to be positive");
+        Preconditions.checkArgument(heartbeatSeconds > 0, "The heartbeat interval has to be positive");
+        Preconditions.checkArgument(sendTimeoutSeconds > 0, "The send timeout has to be positive");
+        Preconditions.checkArgument(threads > 0, "The number of threads has to be positive");
+        Preconditions.checkArgument(maxSubscribers > 0, "The maximum number of subscribers has to be positive");
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.objectMapper = objectMapper;
+        this.timeout = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        this.sendTimeoutNanos = TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, "event-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // The queue is bounded by the number of subscribers, since
+        // a subscription is never scheduled more than once at a time
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        this.executor = executor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        this.scheduler.scheduleWithFixedDelay(this::evictStalled, sendTimeoutSeconds, sendTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Subscribe to the events that match a filter. The events will be sent to the client as
+     * Server-Sent Events until the client disconnects or the stream times out. The request is
+     * rejected with the status 503 if the maximum number of subscribers has been reached.
+     * @param filter The filter that the events have to match. Only the type, project,
+     *               application and operation of the filter will be used.
+     * @param request The request that subscribes to the events. The request is put into asynchronous mode.
+     * @param response The response that the events will be sent to.
+     * @throws IOException If the response could not be opened or the request could not be rejected.
+     */
+    public void subscribe(final EventQuery filter,
+                          final HttpServletRequest request,
+                          final HttpServletResponse response) throws IOException {
+        final EventStream stream = new EventStream(objectMapper);
+        final Subscription subscription;
+        try {
+            subscription = subscribe(filter, stream);
+        } catch (IllegalStateException e){
+            LOGGER.debug(e.getMessage());
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getMessage());
+            return;
+        }
+        try {
+            stream.start(this, subscription, request.startAsync(), timeout);
+        } catch (IOException | RuntimeException e){
+            unsubscribe(subscription);
+            throw e;
+        }
+    }
+
+    /**
+     * Subscribe to the events that match a filter.
+     * @param filter The filter that the events have to match. Only the type, project,
+     *               application and operation of the filter will be used.
+     * @param listener The listener that the events will be sent to. A listener
+     *                 will never be invoked concurrently.
+     * @return The subscription, which can be used to unsubscribe.
+     * @throws IllegalStateException If the maximum number of subscribers has been reached.
+     */
+    public Subscription subscribe(final EventQuery filter, final Listener listener){
+        Preconditions.checkNotNull(filter, "The filter cannot be null");
+        Preconditions.checkNotNull(listener, "The listener cannot be null");
+        final Subscription subscription = new Subscription(filter, listener, bufferSize);
+        synchronized (subscriptions){
+            if(subscriptions.size() >= maxSubscribers){
+                throw new IllegalStateException("The maximum number of event stream subscribers (" +
+                        maxSubscribers + ") has been reached");
+            }
+            subscriptions.add(subscription);
+        }
+        return subscription;
+    }
+
+    /**
+     * Resume the delivery to a subscriber that has not been ready to receive events.
+     * The method should be invoked by the listener once it is ready again.
+     * @param subscription The subscription whose events will be delivered.
+     * @see Listener#isReady()
+     */
+    public void resume(final Subscription subscription){
+        if(subscriptions.contains(subscription)){
+            schedule(subscription);
+        }
+    }
+
+    /**
+     * Remove a subscription. No more events will be sent to its listener.
+     * @param subscription The subscription that will be removed.
+     */
+    public void unsubscribe(final Subscription subscription){
+        subscriptions.remove(subscription);
+        subscription.buffer.clear();
+    }
+
+    /**
+     * Check if there are any subscribers. The method can be used to avoid creating
+     * summaries when no one is listening.
+     * @return <code>true</code> if there is at least one subscriber.
+     */
+    public boolean hasSubscribers(){
+        return !subscriptions.isEmpty();
+    }
+
+    /**
+     * Publish the summary of an event to all the subscribers whose filter matches
+     * the event. The method never blocks. If the buffer of a subscriber is full, the event
+     * will be dropped for that subscriber.
+     * @param summary The summary of the event that has been created.
+     */
+    public void publish(final EventSummary summary){
+        for(Subscription subscription : subscriptions){
+            if(!subscription.matches(summary)){
+                continue;
+            }
+            if(!subscription.buffer.offer(summary)){
+                subscription.dropped.incrementAndGet();
+            }
+            schedule(subscription);
+        }
+    }
+
+    /**
+     * Stop sending events and heartbeats.
+     */
+    @PreDestroy
+    public void destroy(){
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+        subscriptions.clear();
+    }
+
+    private void heartbeat(){
+        for(Subscription subscription : subscriptions){
+            subscription.heartbeat = true;
+            schedule(subscription);
+        }
+    }
+
+    private void evictStalled(){
+        final long now = System.nanoTime();
+        for(Subscription subscription : subscriptions){
+            final long sending = subscription.sending;
+            final long waiting = subscription.waiting;
+            if((sending != 0 && now - sending > sendTimeoutNanos) ||
+                    (waiting != 0 && now - waiting > sendTimeoutNanos)){
+                LOGGER.debug("The subscriber has not received an event within the send timeout and will be evicted");
+                unsubscribe(subscription);
+                subscription.interrupt();
+                try {
+                    subscription.listener.onEvicted();
+                } catch (RuntimeException e){
+                    LOGGER.debug("Unable to close the evicted subscriber", e);
+                }
+            }
+        }
+    }
+
+    private void schedule(final Subscription subscription){
+        if(subscription.scheduled.compareAndSet(false, true)){
+            try {
+                executor.execute(() -> drain(subscription));
+            } catch (RuntimeException e){
+                subscription.scheduled.set(false);
+                LOGGER.debug("Unable to schedule event stream delivery", e);
+            }
+        }
+    }
+
+    private void drain(final Subscription subscription){
+        subscription.claim();
+        final boolean ready;
+        try {
+            ready = deliver(subscription);
+        } catch (Exception e){
+            LOGGER.debug("Unable to send event to subscriber. The subscriber will be removed", e);
+            unsubscribe(subscription);
+            return;
+        } finally {
+            subscription.release();
+            subscription.scheduled.set(false);
+        }
+
+        if(!subscriptions.contains(subscription)){
+            return;
+        }
+        if(ready ? !subscription.buffer.isEmpty() || subscription.dropped.get() > 0 : isReady(subscription)){
+            // The subscriber may have become ready before the subscription could be scheduled again
+            schedule(subscription);
+        }
+    }
+
+    /**
+     * Deliver the pending events of a subscription, as long as its listener is ready to receive them.
+     * @param subscription The subscription whose events will be delivered.
+     * @return <code>true</code> if the pending events were delivered, or <code>false</code> if the
+     *         listener was not ready. The listener will resume the subscription once it is ready.
+     * @throws Exception If an event could not be delivered.
+     */
+    private boolean deliver(final Subscription subscription) throws Exception {
+        if(subscription.dropped.get() > 0){
+            if(!isReady(subscription)){
+                return false;
+            }
+            subscription.sending = System.nanoTime();
+            subscription.listener.onDropped(subscription.dropped.getAndSet(0));
+        }
+        while(!subscription.buffer.isEmpty()){
+            if(!isReady(subscription)){
+                return false;
+            }
+            final EventSummary summary = subscription.buffer.poll();
+            if(summary != null){
+                subscription.sending = System.nanoTime();
+                subscription.listener.onEvent(summary);
+            }
+        }
+        if(subscription.heartbeat){
+            if(!isReady(subscription)){
+                return false;
+            }
+            subscription.heartbeat = false;
+            subscription.sending = System.nanoTime();
+            subscription.listener.onHeartbeat();
+        }
+        return true;
+    }
+
+    private static boolean isReady(final Subscription subscription){
+        if(subscription.listener.isReady()){
+            subscription.waiting = 0;
+            return true;
+        }
+        if(subscription.waiting == 0){
+            subscription.waiting = System.nanoTime();
+        }
+        return false;
+    }
+
+    /**
+     * The listener receives the events of a subscription.
+     */
+    public interface Listener {
+
+        /**
+         * Receive the summary of an event that has been created.
+         * @param summary The summary of the event.
+         * @throws Exception If the event could not be delivered. The subscription will be removed.
+         */
+        void onEvent(EventSummary summary) throws Exception;
+
+        /**
+         * Receive the number of events that have been dropped since the subscriber was too slow.
+         * @param dropped The number of dropped events.
+         * @throws Exception If the notification could not be delivered. The subscription will be removed.
+         */
+        void onDropped(long dropped) throws Exception;
+
+        /**
+         * Receive a heartbeat, which is used to detect disconnected clients.
+         * @throws Exception If the heartbeat could not be delivered. The subscription will be removed.
+         */
+        void onHeartbeat() throws Exception;
+
+        /**
+         * Check if the listener is able to receive an event without blocking. A listener that is
+         * not ready has to resume its subscription once it is ready again.
+         * @return <code>true</code> if the listener is ready. The default implementation returns <code>true</code>.
+         * @see EventStreamManager#resume(Subscription)
+         */
+        default boolean isReady() {
+            return true;
+        }
+
+        /**
+         * Receive a notification that the subscription has been removed since the subscriber
+         * did not receive the events within the send timeout.
+         */
+        default void onEvicted() {
+        }
+    }
+
+    /**
+     * A subscription contains the filter and the buffer of a subscriber.
+     */
+    public static final class Subscription {
+
+        private final EventQuery filter;
+        private final Listener listener;
+        private final BlockingQueue<EventSummary> buffer;
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean heartbeat;
+        private volatile long sending;
+        private volatile long waiting;
+        private Thread sender;
+
+        private Subscription(final EventQuery filter, final Listener listener, final int bufferSize) {
+            this.filter = filter;
+            this.listener = listener;
+            this.buffer = new ArrayBlockingQueue<EventSummary>(bufferSize);
+        }
+
+        private synchronized void claim(){
+            this.sender = Thread.currentThread();
+        }
+
+        private synchronized void release(){
+            this.sender = null;
+            this.sending = 0;
+            // An interruption that was meant for this subscription must not affect the next one
+            Thread.interrupted();
+        }
+
+        private synchronized void interrupt(){
+            if(sender != null){
+                sender.interrupt();
+            }
+        }
+
+        private boolean matches(final EventSummary summary){
+            if(filter.getType() != null && (summary.getTypeIdentifier() == null ||
+                    !filter.getType().equalsIgnoreCase(summary.getTypeIdentifier().getTypeUrl()))){
+                return false;
+            }
+            return matches(filter.getProjectId(), summary.getProjectId()) &&
+                    matches(filter.getApplicationId(), summary.getApplicationId()) &&
+                    matches(filter.getOperationId(), summary.getOperationId()) &&
+                    (filter.getStatusCode() == null || filter.getStatusCode().equals(summary.getStatusCode()));
+        }
+
+        private static boolean matches(final String expected, final String actual){
+            return expected == null || expected.equals(actual);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.manager;
+
+import com.castlemock.core.basis.metric.MetricRegistry;
+import com.castlemock.core.basis.model.job.domain.Job;
+import com.castlemock.core.basis.model.job.domain.JobProgress;
+import com.castlemock.core.basis.model.job.domain.JobStatus;
+import com.google.common.base.Preconditions;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * The job manager runs long running tasks, such as importing definitions, in the background.
+ * Each task is represented by a {@link Job} that can be retrieved while the task is running
+ * in order to follow its progress. Finished jobs are kept for a limited time so that the
+ * outcome can be retrieved after the task has finished. The security context of the user
+ * that submitted a task is used when the task is run.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@Component
+public class JobManager {
+
+    private static final Logger LOGGER = Logger.getLogger(JobManager.class);
+    private static final String RUNNING_JOBS_METRIC = "castlemock_running_jobs";
+    private static final int ID_LENGTH = 12;
+
+    private final long retention;
+    private final Map<String, RunningJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final ExecutorService executor;
+
+    public JobManager(@Value("${job.threads:2}") final int threads,
+                      @Value("${job.retention.minutes:60}") final long retentionMinutes){
+        Preconditions.checkArgument(retentionMinutes >= 0, "The retention cannot be negative");
+        this.retention = TimeUnit.MINUTES.toMillis(retentionMinutes);
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            final Thread thread = new Thread(runnable, "job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        MetricRegistry.gauge(RUNNING_JOBS_METRIC, running::get);
+    }
+
+    /**
+     * Submit a task that will be run in the background.
+     * @param name The name of the job. It should describe what the task does.
+     * @param task The task that will be run. The task reports its progress to the provided {@link JobProgress}.
+     *             The job fails if the task throws an exception.
+     * @return A snapshot of the submitted job.
+     */
+    public Job submit(final String name, final Consumer<JobProgress> task){
+        Preconditions.checkNotNull(name, "The name cannot be null");
+        Preconditions.checkNotNull(task, "The task cannot be null");
+        evict();
+
+        String id;
+        RunningJob job;
+        do {
+            id = RandomStringUtils.random(ID_LENGTH, true, true);
+            job = new RunningJob(id, name);
+        } while (jobs.putIfAbsent(id, job) != null);
+
+        final RunningJob submitted = job;
+        executor.execute(new DelegatingSecurityContextRunnable(() -> run(submitted, task)));
+        LOGGER.debug("Submitted the job " + name + " (" + id + ")");
+        return submitted.snapshot();
+    }
+
+    /**
+     * Get a job.
+     * @param id The id of the job.
+     * @return A snapshot of the job, or null if no job with the provided id exists.
+     */
+    public Job getJob(final String id){
+        final RunningJob job = jobs.get(id);
+        return job != null ? job.snapshot() : null;
+    }
+
+    /**
+     * Get all the jobs that are either running or have recently finished.
+     * @return Snapshots of the jobs, with the most recently created job first.
+     */
+    public List<Job> getJobs(){
+        evict();
+        return jobs.values().stream()
+                .map(RunningJob::snapshot)
+                .sorted(Comparator.comparing(Job::getCreated).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void destroy(){
+        executor.shutdownNow();
+    }
+
+    private void run(final RunningJob job, final Consumer<JobProgress> task){
+        job.start();
+        running.incrementAndGet();
+        try {
+            task.accept(job);
+            job.finish(JobStatus.COMPLETED, null);
+            LOGGER.debug("Completed the job " + job.name + " (" + job.id + ")");
+        } catch (Exception e) {
+            LOGGER.error("The job " + job.name + " (" + job.id + ") failed", e);
+            job.finish(JobStatus.FAILED, e.getMessage());
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    /**
+     * Remove the jobs that finished longer ago than the retention.
+     */
+    private void evict(){
+        final long threshold = System.currentTimeMillis() - retention;
+        jobs.values().removeIf(job -> job.isFinishedBefore(threshold));
+    }
+
+    /**
+     * The mutable state of a job. It is updated by the thread running the task
+     * and read by the threads that retrieve snapshots of the job.
+     */
+    private static final class RunningJob implements JobProgress {
+
+        private final String id;
+        private final String name;
+        private final Date created = new Date();
+        private JobStatus status = JobStatus.QUEUED;
+        private int totalSteps;
+        private int completedSteps;
+        private String message;
+        private Date started;
+        private Date finished;
+
+        private RunningJob(final String id, final String name){
+            this.id = id;
+            this.name = name;
+        }
+
+        @Override
+        public synchronized void addTotal(final int steps) {
+            this.totalSteps += steps;
+        }
+
+        @Override
+        public synchronized void complete(final int steps) {
+            this.completedSteps += steps;
+        }
+
+        @Override
+        public synchronized void setMessage(final String message) {
+            this.message = message;
+        }
+
+        private synchronized void start(){
+            this.status = JobStatus.RUNNING;
+            this.started = new Date();
+        }
+
+        private synchronized void finish(final JobStatus status, final String message){
+            this.status = status;
+            this.finished = new Date();
+            if(message != null){
+                this.message = message;
+            }
+            if(status == JobStatus.COMPLETED){
+                this.completedSteps = this.totalSteps;
+            }
+        }
+
+        private synchronized boolean isFinishedBefore(final long threshold){
+            return this.finished != null && this.finished.getTime() < threshold;
+        }
+
+        private synchronized Job snapshot(){
+            final Job job = new Job();
+            job.setId(id);
+            job.setName(name);
+            job.setStatus(status);
+            job.setTotalSteps(totalSteps);
+            job.setCompletedSteps(completedSteps);
+            job.setMessage(message);
+            job.setCreated(created);
+            job.setStarted(started);
+            job.setFinished(finished);
+            return job;
+        }
+    }
+
+}
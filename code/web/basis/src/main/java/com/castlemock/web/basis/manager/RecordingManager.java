@@ -0,0 +1,226 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.web.basis.manager;
+
+import com.castlemock.core.basis.model.http.domain.HttpHeader;
+import com.castlemock.core.basis.model.http.domain.HttpMethod;
+import com.castlemock.core.basis.utility.HashUtility;
+import com.google.common.base.Preconditions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * The recording manager keeps track of the mock responses that have been recorded for
+ * each method or operation. A recorded response is identified by a fingerprint that is based
+ * on the request and the response, which makes it possible to skip recording identical responses.
+ * The recorded responses are kept in least recently used order, and the manager decides which
+ * recorded responses should be replaced once the maximum number of recordings has been reached.
+ * Only the recordings for the most recently used methods and operations are kept in memory,
+ * which means that a response might be recorded again for a method or operation that has been
+ * evicted.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@Component
+public class RecordingManager {
+
+    private static final String SEPARATOR = "\n";
+    private static final String EMPTY_HASH = "-";
+
+    @Value("${mock.response.record.fingerprint.headers:Content-Type}")
+    private String[] fingerprintHeaders;
+
+    @Value("${mock.response.record.keys.max:1000}")
+    private int maxKeys = 1000;
+
+    private final Map<String, Recordings> recordings = Collections.synchronizedMap(
+            new LinkedHashMap<String, Recordings>(16, 0.75f, true){
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Recordings> eldest) {
+                    return size() > maxKeys;
+                }
+            });
+    private final Set<String> recordOnce = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Create a fingerprint for a request and the response that was received for it.
+     * Only the configured fingerprint headers will be part of the fingerprint.
+     * @param httpMethod The HTTP method of the request.
+     * @param uri The URI of the request, including any query parameters.
+     * @param httpHeaders The headers of the request.
+     * @param requestBody The body of the request.
+     * @param httpStatusCode The HTTP status code of the response.
+     * @param responseBody The body of the response.
+     * @return A fingerprint that identifies the request and response.
+     */
+    public String fingerprint(final HttpMethod httpMethod,
+                              final String uri,
+                              final List<HttpHeader> httpHeaders,
+                              final String requestBody,
+                              final Integer httpStatusCode,
+                              final String responseBody){
+        final StringBuilder builder = new StringBuilder()
+                .append(httpMethod).append(SEPARATOR)
+                .append(uri).append(SEPARATOR);
+        for(String fingerprintHeader : fingerprintHeaders){
+            builder.append(fingerprintHeader.trim().toLowerCase()).append(':');
+            if(httpHeaders != null){
+                builder.append(httpHeaders.stream()
+                        .filter(httpHeader -> fingerprintHeader.trim().equalsIgnoreCase(httpHeader.getName()))
+                        .map(HttpHeader::getValue)
+                        .collect(Collectors.joining(",")));
+            }
+            builder.append(SEPARATOR);
+        }
+        builder.append(requestBody == null ? EMPTY_HASH : HashUtility.hash(requestBody)).append(SEPARATOR)
+                .append(httpStatusCode).append(SEPARATOR)
+                .append(responseBody == null ? EMPTY_HASH : HashUtility.hash(responseBody));
+        return HashUtility.hash(builder.toString());
+    }
+
+    /**
+     * Reserve a fingerprint for a method or operation. The reservation will fail if the fingerprint
+     * has already been recorded or reserved, in which case the existing recording is marked as
+     * the most recently used. Recordings whose mock response no longer exists are removed
+     * before the fingerprint is reserved.
+     * @param key The id of the method or operation that the response is recorded for.
+     * @param fingerprint The fingerprint of the request and response.
+     * @param mockResponseIds The ids of the mock responses that currently belong to the method or operation.
+     * @return <code>true</code> if the fingerprint was reserved and the response should be recorded.
+     *         <code>false</code> if an identical response has already been recorded.
+     */
+    public boolean reserve(final String key, final String fingerprint, final Set<String> mockResponseIds){
+        Preconditions.checkNotNull(key, "The key cannot be null");
+        Preconditions.checkNotNull(fingerprint, "The fingerprint cannot be null");
+        Preconditions.checkNotNull(mockResponseIds, "The mock response ids cannot be null");
+        final Recordings recordings = this.recordings.computeIfAbsent(key, k -> new Recordings());
+        synchronized (recordings){
+            // Reserved fingerprints have no mock response id yet and are kept
+            recordings.values().removeIf(mockResponseId ->
+                    mockResponseId != null && !mockResponseIds.contains(mockResponseId));
+            if(recordings.containsKey(fingerprint)){
+                recordings.get(fingerprint);
+                return false;
+            }
+            recordings.put(fingerprint, null);
+            return true;
+        }
+    }
+
+    /**
+     * Release a reserved fingerprint. The method is used when a reserved response could not be recorded.
+     * @param key The id of the method or operation that the response was reserved for.
+     * @param fingerprint The fingerprint of the request and response.
+     */
+    public void release(final String key, final String fingerprint){
+        final Recordings recordings = this.recordings.get(key);
+        if(recordings == null){
+            return;
+        }
+        synchronized (recordings){
+            if(recordings.containsKey(fingerprint) && recordings.get(fingerprint) == null){
+                recordings.remove(fingerprint);
+            }
+        }
+    }
+
+    /**
+     * Register a recorded mock response for a reserved fingerprint.
+     * @param key The id of the method or operation that the response was recorded for.
+     * @param fingerprint The fingerprint of the request and response.
+     * @param mockResponseId The id of the recorded mock response.
+     * @param maxRecordings The maximum number of recorded responses for the method or operation.
+     * @return The ids of the least recently used mock responses that should be replaced,
+     *         since the maximum number of recorded responses has been exceeded.
+     */
+    public List<String> register(final String key,
+                                 final String fingerprint,
+                                 final String mockResponseId,
+                                 final int maxRecordings){
+        Preconditions.checkNotNull(mockResponseId, "The mock response id cannot be null");
+        final Recordings recordings = this.recordings.computeIfAbsent(key, k -> new Recordings());
+        synchronized (recordings){
+            recordings.put(fingerprint, mockResponseId);
+            final List<String> replacedMockResponseIds = new ArrayList<String>();
+            final Iterator<Map.Entry<String, String>> iterator = recordings.entrySet().iterator();
+            while(recordings.size() > maxRecordings && iterator.hasNext()){
+                final Map.Entry<String, String> entry = iterator.next();
+                if(entry.getValue() != null){
+                    replacedMockResponseIds.add(entry.getValue());
+                    iterator.remove();
+                }
+            }
+            return replacedMockResponseIds;
+        }
+    }
+
+    /**
+     * Start recording a single response for a method or operation. Only one request at
+     * a time is allowed to record a response. The status is verified once the recording has
+     * been started, since the method or operation might already have been recorded by a
+     * request that has finished in the meantime.
+     * @param key The id of the method or operation.
+     * @param recordOnce Verifies that the persisted status of the method or operation
+     *                   is still record once.
+     * @return <code>true</code> if the response should be recorded by the current request.
+     *         <code>false</code> if another request is already recording a response, or if
+     *         the response has already been recorded.
+     * @see #finishRecordOnce(String)
+     */
+    public boolean startRecordOnce(final String key, final BooleanSupplier recordOnce){
+        Preconditions.checkNotNull(recordOnce, "The record once supplier cannot be null");
+        if(!this.recordOnce.add(key)){
+            return false;
+        }
+        boolean started = false;
+        try {
+            started = recordOnce.getAsBoolean();
+            return started;
+        } finally {
+            if(!started){
+                this.recordOnce.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Finish recording a single response for a method or operation.
+     * @param key The id of the method or operation.
+     * @see #startRecordOnce(String, BooleanSupplier)
+     */
+    public void finishRecordOnce(final String key){
+        recordOnce.remove(key);
+    }
+
+    /**
+     * The recordings map contains all the recorded fingerprints for a method or operation
+     * and the id of the mock response that was recorded for each of them. The map is kept in
+     * access order, which means that the least recently used recording will be first.
+     */
+    private static class Recordings extends LinkedHashMap<String, String> {
+
+        private Recordings() {
+            super(16, 0.75f, true);
+        }
+    }
+
+}
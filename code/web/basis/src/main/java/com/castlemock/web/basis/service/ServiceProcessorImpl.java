@@ -16,6 +16,7 @@
 
 package com.castlemock.web.basis.service;
 
+import com.castlemock.core.basis.metric.MetricRegistry;
 import com.castlemock.core.basis.model.*;
 import com.castlemock.core.basis.model.user.domain.User;
 import com.castlemock.core.basis.model.validation.validator.NotNullValidator;
@@ -31,6 +32,7 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The ServiceProcessor is responsible for processing input message and route them to the service responsible
@@ -47,9 +49,13 @@ public class ServiceProcessorImpl implements ServiceProcessor {
     private static final String UNKNOWN_USER = "Unknown";
     private static final Logger LOGGER = Logger.getLogger(ServiceProcessorImpl.class);
     private static final List<Validator> VALIDATORS = new ArrayList<Validator>();
+    private static final String SERVICE_METRIC = "castlemock_service_seconds";
+    private static final String ASYNC_TASKS_METRIC = "castlemock_async_tasks";
+    private static final AtomicLong ASYNC_TASKS = new AtomicLong();
 
     static {
         VALIDATORS.add(new NotNullValidator());
+        MetricRegistry.gauge(ASYNC_TASKS_METRIC, ASYNC_TASKS::get);
     }
 
     /**
@@ -73,7 +79,14 @@ public class ServiceProcessorImpl implements ServiceProcessor {
         serviceTask.setInput(input);
         serviceTask.setServiceConsumer(getLoggedInUsername());
         LOGGER.debug(getLoggedInUsername() + " is requesting " + service.getClass().getSimpleName() + " to process the following input message: " + input.getClass().getSimpleName());
-        final ServiceResult<O> serviceResult = service.process(serviceTask);
+        final long startTime = System.nanoTime();
+        final ServiceResult<O> serviceResult;
+        try {
+            serviceResult = service.process(serviceTask);
+        } finally {
+            MetricRegistry.timer(SERVICE_METRIC, "service", service.getClass().getSimpleName())
+                    .record(System.nanoTime() - startTime);
+        }
         validateMessage(serviceResult.getOutput());
         return serviceResult.getOutput();
     }
@@ -92,8 +105,13 @@ public class ServiceProcessorImpl implements ServiceProcessor {
     @Override
     @Async
     public <I extends Input, O extends Output> Future<O> processAsync(final I input) {
-        O output = process(input);
-        return new AsyncResult<O>(output);
+        ASYNC_TASKS.incrementAndGet();
+        try {
+            O output = process(input);
+            return new AsyncResult<O>(output);
+        } finally {
+            ASYNC_TASKS.decrementAndGet();
+        }
     }
 
     /**
@@ -17,8 +17,11 @@
 package com.castlemock.web.basis.service.event;
 
 import com.castlemock.core.basis.model.event.domain.Event;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.repository.Repository;
+import com.castlemock.web.basis.manager.EventStreamManager;
 import com.castlemock.web.basis.service.AbstractService;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * The event service provides the functionality that affects all events
@@ -27,4 +30,35 @@ import com.castlemock.web.basis.service.AbstractService;
  */
 public abstract class AbstractEventService<D extends Event, R extends Repository<D, String>> extends AbstractService<D,String, R> {
 
+    @Autowired
+    protected EventStreamManager eventStreamManager;
+
+    /**
+     * Publish a created event to the clients that are subscribing to the live event stream.
+     * The summary of the event will only be created if there are any subscribers.
+     * @param event The event that has been created.
+     * @since 1.38
+     */
+    protected void publish(final D event){
+        if(eventStreamManager.hasSubscribers()){
+            eventStreamManager.publish(toSummary(event));
+        }
+    }
+
+    /**
+     * Create a summary of an event. The summary contains the values that are shared
+     * among all the events. The method should be overridden to add the type specific values.
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    protected EventSummary toSummary(final D event){
+        final EventSummary summary = new EventSummary();
+        summary.setId(event.getId());
+        summary.setResourceName(event.getResourceName());
+        summary.setStartDate(event.getStartDate());
+        summary.setEndDate(event.getEndDate());
+        return summary;
+    }
+
 }
@@ -19,12 +19,18 @@ package com.castlemock.web.basis.service.event;
 import com.castlemock.core.basis.model.TypeIdentifiable;
 import com.castlemock.core.basis.model.TypeIdentifier;
 import com.castlemock.core.basis.model.event.domain.Event;
+import com.castlemock.core.basis.model.event.domain.EventCursor;
+import com.castlemock.core.basis.model.event.domain.EventPage;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
 import com.castlemock.core.basis.model.event.domain.EventStartDateComparator;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.basis.service.event.EventServiceAdapter;
 import com.castlemock.core.basis.service.event.EventServiceFacade;
 import com.castlemock.web.basis.service.ServiceFacadeImpl;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +72,30 @@ public class EventServiceFacadeImpl extends ServiceFacadeImpl<Event, String, Eve
         return events;
     }
 
+    /**
+     * The method retrieves a page of event summaries that match the provided query. Each event type
+     * returns at most one page of summaries, and the summaries are merged into a single page.
+     * @param query The query that the events have to match.
+     * @return A page of event summaries, with the newest event first.
+     * @since 1.38
+     */
+    @Override
+    public EventPage find(final EventQuery query){
+        final Collection<EventServiceAdapter<Event>> adapters = query.getType() == null ?
+                services.values() : Collections.singletonList(findByTypeUrl(query.getType()));
+        final List<EventSummary> summaries = new ArrayList<EventSummary>();
+        for(EventServiceAdapter<Event> adapter : adapters){
+            summaries.addAll(adapter.readSummaries(query));
+        }
+        summaries.sort(EventCursor.NEWEST_FIRST);
+
+        final List<EventSummary> events = summaries.size() > query.getLimit() ?
+                new ArrayList<EventSummary>(summaries.subList(0, query.getLimit())) : summaries;
+        final String nextCursor = events.size() == query.getLimit() ?
+                EventCursor.of(events.get(events.size() - 1)).toString() : null;
+        return new EventPage(events, nextCursor);
+    }
+
     public void clearAll(){
         for(Map.Entry<String, EventServiceAdapter<Event>> entry : services.entrySet()){
             EventServiceAdapter<Event> eventDtoEventServiceAdapter = entry.getValue();
@@ -23,11 +23,16 @@ import com.castlemock.core.basis.model.TypeIdentifier;
 import com.castlemock.core.basis.model.project.domain.Project;
 import com.castlemock.core.basis.service.project.ProjectServiceAdapter;
 import com.castlemock.core.basis.service.project.ProjectServiceFacade;
+import com.castlemock.core.basis.utility.serializer.ExportContainerReader;
 import com.castlemock.web.basis.service.ServiceFacadeImpl;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * The project service component is used to assembly all the project service layers and interact with them
@@ -78,6 +83,49 @@ public class ProjectServiceFacadeImpl extends ServiceFacadeImpl<Project, String,
         return service.importProject(rawProject);
     }
 
+    /**
+     * The method provides the functionality to export a project and write it to an output stream
+     * @param typeUrl The url for the specific type that the instance belongs to
+     * @param id The id of the project that will be exported
+     * @param outputStream The output stream that the project will be written to
+     * @param compress True if the project should be gzip compressed
+     * @since 1.38
+     */
+    @Override
+    public void exportProject(final String typeUrl, final String id, final OutputStream outputStream, final boolean compress) {
+        final ProjectServiceAdapter<Project> service = findByTypeUrl(typeUrl);
+        try {
+            if(compress){
+                final GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+                service.exportProject(id, gzipOutputStream);
+                gzipOutputStream.finish();
+            } else {
+                service.exportProject(id, outputStream);
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to export the project", e);
+        }
+    }
+
+    /**
+     * The method provides the functionality to import a project from an input stream.
+     * Gzip compressed projects are decompressed automatically.
+     * @param type The type value for the specific type that the instance belongs to
+     * @param inputStream The input stream that the project will be read from
+     * @return The imported project
+     * @since 1.38
+     */
+    @Override
+    public Project importProject(final String type, final InputStream inputStream) {
+        final ProjectServiceAdapter<Project> service = findByType(type);
+        try {
+            return service.importProject(ExportContainerReader.decompress(inputStream));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to import the project", e);
+        }
+    }
+
     /**
      * Searches for resources that matches the provided query. The matching resources will
      * be returned as a collection of {@link SearchResult}
@@ -83,7 +83,7 @@ public class GetSystemInformationService extends AbstractConfigurationGroupServi
                                     props.getMongoClientDatabase(), isMongoUsesUri(props)))
             );
         }
-        systemInformation.setShowCastleMockHomeDirectory(springEnvironment.acceptsProfiles(Profiles.FILE));
+        systemInformation.setShowCastleMockHomeDirectory(springEnvironment.acceptsProfiles(Profiles.FILE, Profiles.LOG));
         systemInformation.setShowMongoProperties(springEnvironment.acceptsProfiles(Profiles.MONGODB));
         final GetSystemInformationOutput output = new GetSystemInformationOutput(systemInformation);
         return createServiceResult(output);
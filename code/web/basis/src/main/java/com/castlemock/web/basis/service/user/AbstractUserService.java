@@ -19,8 +19,10 @@ package com.castlemock.web.basis.service.user;
 import com.castlemock.core.basis.model.user.domain.Role;
 import com.castlemock.core.basis.model.user.domain.Status;
 import com.castlemock.core.basis.model.user.domain.User;
+import com.castlemock.core.basis.utility.HashUtility;
 import com.castlemock.repository.token.SessionTokenRepository;
 import com.castlemock.repository.user.UserRepository;
+import com.castlemock.web.basis.manager.CredentialManager;
 import com.castlemock.web.basis.service.AbstractService;
 import com.google.common.base.Preconditions;
 import org.apache.log4j.Logger;
@@ -40,6 +42,8 @@ public abstract class AbstractUserService extends AbstractService<User, String,
 
     @Autowired
     private SessionTokenRepository sessionTokenRepository;
+    @Autowired
+    protected CredentialManager credentialManager;
 
     protected static final PasswordEncoder PASSWORD_ENCODER = new BCryptPasswordEncoder();
     private static final Logger LOGGER = Logger.getLogger(AbstractUserService.class);
@@ -83,6 +87,26 @@ public abstract class AbstractUserService extends AbstractService<User, String,
         return null;
     }
 
+    /**
+     * The method provides the functionality to find a user by an API token. Only the hash of the API token
+     * is stored, which means that the provided API token has to be hashed before it can be compared.
+     * @param apiToken The API token that the user has to match
+     * @return A user that has the same API token as the provided API token. Null will be returned if no user
+     *         matches the provided API token
+     * @throws NullPointerException Throws NullPointerException if provided API token is null
+     * @since 1.38
+     */
+    protected User findByApiToken(final String apiToken) {
+        Preconditions.checkNotNull(apiToken, "API token cannot be null");
+        final String apiTokenHash = HashUtility.hash(apiToken);
+        for (User user : findAll()) {
+            if(apiTokenHash.equals(user.getApiTokenHash())){
+                return user;
+            }
+        }
+        return null;
+    }
+
     /**
      * Update an already existing user
      * @param userId The id is used to identify which user should be updated
@@ -127,6 +151,8 @@ public abstract class AbstractUserService extends AbstractService<User, String,
         }
         User savedUser = super.save(user);
         sessionTokenRepository.updateToken(oldUsername, user.getUsername());
+        credentialManager.invalidate(oldUsername);
+        credentialManager.invalidate(user.getUsername());
         return savedUser;
     }
 
@@ -147,7 +173,9 @@ public abstract class AbstractUserService extends AbstractService<User, String,
         if(userDto.getRole().equals(Role.ADMIN) && findByRole(Role.ADMIN).size() == 1){
             throw new IllegalArgumentException("Unable to delete the last administrator");
         }
-        return super.delete(userId);
+        final User deletedUser = super.delete(userId);
+        credentialManager.invalidate(userDto.getUsername());
+        return deletedUser;
     }
 
 }
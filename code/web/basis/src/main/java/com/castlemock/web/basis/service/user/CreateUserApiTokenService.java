@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.service.user;
+
+import com.castlemock.core.basis.model.Service;
+import com.castlemock.core.basis.model.ServiceResult;
+import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.basis.model.user.domain.User;
+import com.castlemock.core.basis.service.user.input.CreateUserApiTokenInput;
+import com.castlemock.core.basis.service.user.output.CreateUserApiTokenOutput;
+import com.castlemock.core.basis.utility.HashUtility;
+import com.google.common.base.Preconditions;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * The service creates a new API token for a user. Only the hash of the API token is
+ * stored, which means that the API token can only be retrieved when it is created.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@org.springframework.stereotype.Service
+public class CreateUserApiTokenService extends AbstractUserService implements Service<CreateUserApiTokenInput, CreateUserApiTokenOutput> {
+
+    private static final int API_TOKEN_LENGTH = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * The process message is responsible for processing an incoming serviceTask and generate
+     * a response based on the incoming serviceTask input
+     * @param serviceTask The serviceTask that will be processed by the service
+     * @return A result based on the processed incoming serviceTask
+     * @see ServiceTask
+     * @see ServiceResult
+     */
+    @Override
+    public ServiceResult<CreateUserApiTokenOutput> process(final ServiceTask<CreateUserApiTokenInput> serviceTask) {
+        final CreateUserApiTokenInput input = serviceTask.getInput();
+        final User user = findByUsername(input.getUsername());
+        Preconditions.checkArgument(user != null, "Unable to find the user with the username " + input.getUsername());
+
+        final byte[] bytes = new byte[API_TOKEN_LENGTH];
+        RANDOM.nextBytes(bytes);
+        final String apiToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        user.setApiTokenHash(HashUtility.hash(apiToken));
+        user.setUpdated(new Date());
+        save(user);
+        credentialManager.invalidate(user.getUsername());
+        return createServiceResult(new CreateUserApiTokenOutput(apiToken));
+    }
+}
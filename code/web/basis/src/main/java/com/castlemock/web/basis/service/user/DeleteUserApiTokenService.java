@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.service.user;
+
+import com.castlemock.core.basis.model.Service;
+import com.castlemock.core.basis.model.ServiceResult;
+import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.basis.model.user.domain.User;
+import com.castlemock.core.basis.service.user.input.DeleteUserApiTokenInput;
+import com.castlemock.core.basis.service.user.output.DeleteUserApiTokenOutput;
+import com.google.common.base.Preconditions;
+
+import java.util.Date;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@org.springframework.stereotype.Service
+public class DeleteUserApiTokenService extends AbstractUserService implements Service<DeleteUserApiTokenInput, DeleteUserApiTokenOutput> {
+
+    /**
+     * The process message is responsible for processing an incoming serviceTask and generate
+     * a response based on the incoming serviceTask input
+     * @param serviceTask The serviceTask that will be processed by the service
+     * @return A result based on the processed incoming serviceTask
+     * @see ServiceTask
+     * @see ServiceResult
+     */
+    @Override
+    public ServiceResult<DeleteUserApiTokenOutput> process(final ServiceTask<DeleteUserApiTokenInput> serviceTask) {
+        final DeleteUserApiTokenInput input = serviceTask.getInput();
+        final User user = findByUsername(input.getUsername());
+        Preconditions.checkArgument(user != null, "Unable to find the user with the username " + input.getUsername());
+
+        if(user.getApiTokenHash() != null){
+            user.setApiTokenHash(null);
+            user.setUpdated(new Date());
+            save(user);
+        }
+        credentialManager.invalidate(user.getUsername());
+        return createServiceResult(new DeleteUserApiTokenOutput());
+    }
+}
@@ -20,7 +20,9 @@ import com.castlemock.core.basis.model.ServiceProcessor;
 import com.castlemock.core.basis.model.user.domain.Role;
 import com.castlemock.core.basis.model.user.domain.Status;
 import com.castlemock.core.basis.model.user.domain.User;
+import com.castlemock.core.basis.service.user.input.ReadUserByApiTokenInput;
 import com.castlemock.core.basis.service.user.input.ReadUserByUsernameInput;
+import com.castlemock.core.basis.service.user.output.ReadUserByApiTokenOutput;
 import com.castlemock.core.basis.service.user.output.ReadUserByUsernameOutput;
 import com.castlemock.web.basis.web.view.controller.user.UpdateCurrentUserController;
 import com.google.common.base.Preconditions;
@@ -71,6 +73,25 @@ public class UserDetailSecurityService implements UserDetailsService {
 
     }
 
+    /**
+     * Loads a user by an API token
+     * @param apiToken The user detail that will be loaded should have the provided API token
+     * @return User details that match the provided API token. Null will be returned if no user
+     *         has the provided API token.
+     * @throws NullPointerException Throws NullPointerException if provided API token is null
+     * @since 1.38
+     */
+    public UserDetails loadUserByApiToken(final String apiToken) {
+        Preconditions.checkNotNull(apiToken, "API token cannot be null");
+        final ReadUserByApiTokenOutput readUserByApiTokenOutput = serviceProcessor.process(new ReadUserByApiTokenInput(apiToken));
+        final User user = readUserByApiTokenOutput.getUser();
+        if(user == null){
+            return null;
+        }
+        final List<GrantedAuthority> authorities = buildUserAuthority(user.getRole());
+        return buildUserForAuthentication(user, authorities);
+    }
+
     /**
      * Builds a user for the authentication
      * @param user The user dto
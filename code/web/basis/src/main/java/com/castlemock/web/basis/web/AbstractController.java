@@ -16,7 +16,10 @@
 
 package com.castlemock.web.basis.web;
 
+import com.castlemock.core.basis.metric.MetricRegistry;
 import com.castlemock.core.basis.model.ServiceProcessor;
+import com.castlemock.core.basis.model.event.domain.EventPhase;
+import com.castlemock.core.basis.model.event.domain.EventTimings;
 import com.castlemock.core.basis.model.user.domain.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -28,6 +31,7 @@ import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.net.SocketException;
+import java.util.Arrays;
 import java.util.Enumeration;
 
 /**
@@ -71,8 +75,14 @@ public abstract class AbstractController {
 
     protected static final int DEFAULT_ECHO_RESPONSE_CODE = 200;
 
+    protected static final String MOCK_PHASE_METRIC = "castlemock_mock_phase_seconds";
+    protected static final String PHASE_TOTAL = "total";
+
     private static final String LOCAL_ADDRESS = "127.0.0.1";
     private static final String ANONYMOUS_USER = "Anonymous";
+    private static final String[] PHASE_NAMES = Arrays.stream(EventPhase.values())
+            .map(phase -> phase.name().toLowerCase())
+            .toArray(String[]::new);
     /**
      * Returns the current application context for Castle Mock. For example the /castlemock in http://localhost:8080/castlemock
      * @return The current application context
@@ -81,6 +91,48 @@ public abstract class AbstractController {
         return servletContext.getContextPath();
     }
 
+    /**
+     * Record the time of a phase when processing a mock request.
+     * @param protocol The protocol of the mock request, such as rest or soap.
+     * @param projectId The id of the project that the request belongs to.
+     * @param operationId The id of the method or operation that the request belongs to.
+     * @param phase The phase that was timed.
+     * @param time The time that the phase took in nanoseconds.
+     * @since 1.38
+     */
+    protected static void recordPhase(final String protocol,
+                                      final String projectId,
+                                      final String operationId,
+                                      final String phase,
+                                      final long time){
+        MetricRegistry.timer(MOCK_PHASE_METRIC,
+                "protocol", protocol,
+                "project", projectId,
+                "operation", operationId,
+                "phase", phase).record(time);
+    }
+
+    /**
+     * Record the time of a phase when processing a mock request. The time will both be
+     * added to the timings of the event and recorded as a metric.
+     * @param protocol The protocol of the mock request, such as rest or soap.
+     * @param projectId The id of the project that the request belongs to.
+     * @param operationId The id of the method or operation that the request belongs to.
+     * @param timings The timings of the event that represents the mock request.
+     * @param phase The phase that was timed.
+     * @param time The time that the phase took in nanoseconds.
+     * @since 1.38
+     */
+    protected static void recordPhase(final String protocol,
+                                      final String projectId,
+                                      final String operationId,
+                                      final EventTimings timings,
+                                      final EventPhase phase,
+                                      final long time){
+        timings.add(phase, time);
+        recordPhase(protocol, projectId, operationId, PHASE_NAMES[phase.ordinal()], time);
+    }
+
     /**
      * Get the current logged in user username
      * @return The username of the current logged in user
@@ -30,9 +30,10 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * The {@link CoreRestController} is the REST controller that provides
@@ -52,6 +53,8 @@ public class CoreRestController extends AbstractRestController {
     private ProjectServiceFacade projectServiceFacade;
 
     private static final Logger LOGGER = Logger.getLogger(CoreRestController.class);
+    private static final String APPLICATION_XML = "application/xml;charset=utf-8";
+    private static final String APPLICATION_GZIP = "application/gzip";
 
 
     /**
@@ -132,17 +135,9 @@ public class CoreRestController extends AbstractRestController {
         File file = null;
         try {
             file = fileManager.uploadFile(multipartFile);
-            final BufferedReader bufferedReader = new BufferedReader(new FileReader(file));
-            final StringBuilder stringBuilder = new StringBuilder();
-
-            String line;
-            while ((line = bufferedReader.readLine()) != null)
-            {
-                stringBuilder.append(line + "\n");
+            try(InputStream inputStream = new FileInputStream(file)){
+                return projectServiceFacade.importProject(type, inputStream);
             }
-
-            Project project = projectServiceFacade.importProject(type, stringBuilder.toString());
-            return project;
         } catch (Exception e) {
             LOGGER.error("Unable to import project", e);
             throw new RuntimeException(e);
@@ -152,12 +147,14 @@ public class CoreRestController extends AbstractRestController {
     }
 
     /**
-     * The REST operations exports a project.
+     * The REST operations exports a project. The project is written directly
+     * to the response and is never held in memory as a whole.
      * @param type The type of the project.
      * @param projectId The id of the project that will be exported.
+     * @param compress True if the exported project should be gzip compressed.
      * @param httpServletRequest The incoming HTTP servlet request.
      * @param httpServletResponse The outgoing HTTP servlet response.
-     * @return A HTTP response.
+     * @throws IOException If the exported project could not be written to the response.
      */
     @ApiOperation(value = "Export project",response = Project.class,
             notes = "Export project. Required authorization: Reader, Modifier or Admin.")
@@ -166,14 +163,18 @@ public class CoreRestController extends AbstractRestController {
     })
     @RequestMapping(method = RequestMethod.GET, value = "/project/{type}/{projectId}/export")
     @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
-    public @ResponseBody
-    String exportProject(
+    public void exportProject(
             @ApiParam(name = "type", value = "The type of the project", allowableValues = "rest,soap")
             @PathVariable("type") final String type,
             @ApiParam(name = "projectId", value = "The id of the project")
             @PathVariable("projectId") final String projectId,
+            @ApiParam(name = "compress", value = "True if the exported project should be gzip compressed")
+            @RequestParam(value = "compress", defaultValue = "false") final boolean compress,
             final HttpServletRequest httpServletRequest,
-            final HttpServletResponse httpServletResponse) {
-        return projectServiceFacade.exportProject(type, projectId);
+            final HttpServletResponse httpServletResponse) throws IOException {
+        httpServletResponse.setStatus(HttpServletResponse.SC_OK);
+        httpServletResponse.setContentType(compress ? APPLICATION_GZIP : APPLICATION_XML);
+        projectServiceFacade.exportProject(type, projectId, httpServletResponse.getOutputStream(), compress);
+        httpServletResponse.flushBuffer();
     }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.web.rest.controller;
+
+import com.castlemock.core.basis.model.event.domain.EventPage;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.web.basis.manager.EventStreamManager;
+import com.castlemock.web.basis.service.event.EventServiceFacadeImpl;
+import io.swagger.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * The {@link EventRestController} is the REST controller that provides
+ * the interface for querying the events of all the mock types.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@Controller
+@RequestMapping("/api/rest/core")
+@Api(value="Event", description="REST Operations for Castle Mock Event", tags = {"Event"})
+@ConditionalOnExpression("${server.mode.demo} == false")
+public class EventRestController extends AbstractRestController {
+
+    @Autowired
+    private EventServiceFacadeImpl eventServiceFacade;
+    @Autowired
+    private EventStreamManager eventStreamManager;
+
+    /**
+     * The REST operation retrieves a page of event summaries, newest first. The summaries
+     * do not contain the request and response bodies, which instead are retrieved by reading
+     * a specific event. The next page is retrieved by providing the returned cursor.
+     * @param type Optional filter on the event type, such as rest or soap.
+     * @param projectId Optional filter on the project id.
+     * @param applicationId Optional filter on the application or port id.
+     * @param operationId Optional filter on the method or operation id.
+     * @param statusCode Optional filter on the HTTP status code of the response.
+     * @param from Optional filter on the earliest start date.
+     * @param to Optional filter on the latest start date.
+     * @param cursor The cursor of the page, or <code>null</code> for the first page.
+     * @param limit The maximum number of events on the page.
+     * @return A page of event summaries.
+     */
+    @ApiOperation(value = "Get events",response = EventPage.class,
+            notes = "Get a page of event summaries. Required authorization: Reader, Modifier or Admin.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved events")
+    })
+    @RequestMapping(method = RequestMethod.GET, value = "/event")
+    @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
+    public @ResponseBody
+    ResponseEntity<EventPage> getEvents(
+            @ApiParam(name = "type", value = "The event type, such as rest or soap")
+            @RequestParam(value = "type", required = false) final String type,
+            @ApiParam(name = "projectId", value = "The id of the project")
+            @RequestParam(value = "projectId", required = false) final String projectId,
+            @ApiParam(name = "applicationId", value = "The id of the application or port")
+            @RequestParam(value = "applicationId", required = false) final String applicationId,
+            @ApiParam(name = "operationId", value = "The id of the method or operation")
+            @RequestParam(value = "operationId", required = false) final String operationId,
+            @ApiParam(name = "statusCode", value = "The HTTP status code of the response")
+            @RequestParam(value = "statusCode", required = false) final Integer statusCode,
+            @ApiParam(name = "from", value = "The earliest start date (ISO 8601)")
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Date from,
+            @ApiParam(name = "to", value = "The latest start date (ISO 8601)")
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Date to,
+            @ApiParam(name = "cursor", value = "The cursor returned by the previous page")
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @ApiParam(name = "limit", value = "The maximum number of events")
+            @RequestParam(value = "limit", required = false) final Integer limit) {
+        final EventPage page = eventServiceFacade.find(EventQuery.builder()
+                .type(type)
+                .projectId(projectId)
+                .applicationId(applicationId)
+                .operationId(operationId)
+                .statusCode(statusCode)
+                .from(from)
+                .to(to)
+                .cursor(cursor)
+                .limit(limit)
+                .build());
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    /**
+     * The REST operation streams the summaries of the events as they are created. The events
+     * are sent as Server-Sent Events named "event". If the client is too slow to receive the
+     * events, some events will be dropped and an event named "dropped" with the number of
+     * dropped events will be sent instead. The subscription is rejected if there are too many subscribers.
+     * @param type Optional filter on the event type, such as rest or soap.
+     * @param projectId Optional filter on the project id.
+     * @param applicationId Optional filter on the application or port id.
+     * @param operationId Optional filter on the method or operation id.
+     * @param statusCode Optional filter on the HTTP status code of the response.
+     * @param request The request that subscribes to the events.
+     * @param response The response that the event summaries will be sent to.
+     * @throws IOException If the response could not be opened.
+     */
+    @ApiOperation(value = "Stream events",
+            notes = "Stream the event summaries as Server-Sent Events. Required authorization: Reader, Modifier or Admin.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully subscribed to events"),
+            @ApiResponse(code = 503, message = "The maximum number of subscribers has been reached")
+    })
+    @RequestMapping(method = RequestMethod.GET, value = "/event/stream", produces = "text/event-stream")
+    @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
+    public void streamEvents(
+            @ApiParam(name = "type", value = "The event type, such as rest or soap")
+            @RequestParam(value = "type", required = false) final String type,
+            @ApiParam(name = "projectId", value = "The id of the project")
+            @RequestParam(value = "projectId", required = false) final String projectId,
+            @ApiParam(name = "applicationId", value = "The id of the application or port")
+            @RequestParam(value = "applicationId", required = false) final String applicationId,
+            @ApiParam(name = "operationId", value = "The id of the method or operation")
+            @RequestParam(value = "operationId", required = false) final String operationId,
+            @ApiParam(name = "statusCode", value = "The HTTP status code of the response")
+            @RequestParam(value = "statusCode", required = false) final Integer statusCode,
+            final HttpServletRequest request,
+            final HttpServletResponse response) throws IOException {
+        eventStreamManager.subscribe(EventQuery.builder()
+                .type(type)
+                .projectId(projectId)
+                .applicationId(applicationId)
+                .operationId(operationId)
+                .statusCode(statusCode)
+                .build(), request, response);
+    }
+
+}
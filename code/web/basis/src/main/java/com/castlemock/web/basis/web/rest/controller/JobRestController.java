@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.web.rest.controller;
+
+import com.castlemock.core.basis.model.job.domain.Job;
+import com.castlemock.web.basis.manager.JobManager;
+import io.swagger.annotations.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * The {@link JobRestController} is the REST controller that provides
+ * the interface for following the progress of background jobs, such as
+ * definition imports.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see JobManager
+ */
+@Controller
+@RequestMapping("/api/rest/core")
+@Api(value="Job", description="REST Operations for Castle Mock Jobs", tags = {"Job"})
+public class JobRestController extends AbstractRestController {
+
+    @Autowired
+    private JobManager jobManager;
+
+    /**
+     * The REST operation retrieves a job. The job can be polled in order to
+     * follow its progress until it has either completed or failed.
+     * @param jobId The id of the job.
+     * @return The job, or 404 if the job does not exist or has expired.
+     */
+    @ApiOperation(value = "Get job",response = Job.class,
+            notes = "Get job. Required authorization: Reader, Modifier or Admin.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved job"),
+            @ApiResponse(code = 404, message = "Unable to find job")
+    })
+    @RequestMapping(method = RequestMethod.GET, value = "/job/{jobId}")
+    @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
+    public @ResponseBody
+    ResponseEntity<Job> getJob(
+            @ApiParam(name = "jobId", value = "The id of the job")
+            @PathVariable("jobId") final String jobId) {
+        final Job job = jobManager.getJob(jobId);
+        if(job == null){
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+
+    /**
+     * The REST operation retrieves all jobs that are either running or have recently finished.
+     * @return The jobs, with the most recently created job first.
+     */
+    @ApiOperation(value = "Get jobs",response = Job.class, responseContainer = "List",
+            notes = "Get all running and recently finished jobs. Required authorization: Reader, Modifier or Admin.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved jobs")
+    })
+    @RequestMapping(method = RequestMethod.GET, value = "/job")
+    @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
+    public @ResponseBody
+    ResponseEntity<List<Job>> getJobs() {
+        return new ResponseEntity<>(jobManager.getJobs(), HttpStatus.OK);
+    }
+
+}
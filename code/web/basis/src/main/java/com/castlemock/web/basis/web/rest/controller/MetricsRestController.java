@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.web.basis.web.rest.controller;
+
+import com.castlemock.core.basis.metric.MetricRegistry;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * The {@link MetricsRestController} is the REST controller that exposes the
+ * collected metrics in the Prometheus text format.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see MetricRegistry
+ */
+@Controller
+@RequestMapping("/api/rest/core")
+@Api(value="Core", description="REST Operations for Castle Mock Core", tags = {"Core"})
+public class MetricsRestController extends AbstractRestController {
+
+    /**
+     * The REST operation writes all the collected metrics in the Prometheus text format.
+     * @param httpServletRequest The incoming HTTP servlet request.
+     * @param httpServletResponse The outgoing HTTP servlet response.
+     * @throws IOException If the metrics could not be written to the response.
+     */
+    @ApiOperation(value = "Get metrics",
+            notes = "Get metrics in the Prometheus text format. Required authorization: Reader, Modifier or Admin.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully retrieved metrics")
+    })
+    @RequestMapping(method = RequestMethod.GET, value = "/metrics")
+    @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
+    public void getMetrics(final HttpServletRequest httpServletRequest,
+                           final HttpServletResponse httpServletResponse) throws IOException {
+        httpServletResponse.setContentType(MetricRegistry.CONTENT_TYPE);
+        final Writer writer = httpServletResponse.getWriter();
+        MetricRegistry.write(writer);
+        writer.flush();
+    }
+}
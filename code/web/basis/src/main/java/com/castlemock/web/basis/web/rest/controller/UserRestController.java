@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.web.rest.controller;
+
+import com.castlemock.core.basis.service.user.input.CreateUserApiTokenInput;
+import com.castlemock.core.basis.service.user.input.DeleteUserApiTokenInput;
+import com.castlemock.core.basis.service.user.output.CreateUserApiTokenOutput;
+import io.swagger.annotations.*;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * The {@link UserRestController} is the REST controller that provides
+ * the interface for the operations on the logged in user.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@Controller
+@RequestMapping("/api/rest/core")
+@Api(value="User", description="REST Operations for Castle Mock User", tags = {"User"})
+@ConditionalOnExpression("${server.mode.demo} == false")
+public class UserRestController extends AbstractRestController {
+
+    /**
+     * The REST operation creates a new API token for the logged in user. The API token can be used
+     * as a bearer token instead of the username and password. Any existing API token for the
+     * user will be replaced. The API token is only returned once and cannot be retrieved later.
+     * @return The new API token.
+     */
+    @ApiOperation(value = "Create API token",response = String.class,
+            notes = "Create API token for the logged in user. Required authorization: Reader, Modifier or Admin.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully created API token")
+    })
+    @RequestMapping(method = RequestMethod.POST, value = "/user/token")
+    @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
+    public @ResponseBody
+    ResponseEntity<String> createApiToken() {
+        final CreateUserApiTokenOutput output =
+                serviceProcessor.process(new CreateUserApiTokenInput(getLoggedInUsername()));
+        return new ResponseEntity<>(output.getApiToken(), HttpStatus.OK);
+    }
+
+    /**
+     * The REST operation deletes the API token for the logged in user.
+     * @return A HTTP response.
+     */
+    @ApiOperation(value = "Delete API token",
+            notes = "Delete API token for the logged in user. Required authorization: Reader, Modifier or Admin.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully deleted API token")
+    })
+    @RequestMapping(method = RequestMethod.DELETE, value = "/user/token")
+    @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
+    public @ResponseBody
+    ResponseEntity<Void> deleteApiToken() {
+        serviceProcessor.process(new DeleteUserApiTokenInput(getLoggedInUsername()));
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+
+}
@@ -16,19 +16,26 @@
 
 package com.castlemock.web.basis.web.view.controller.event;
 
-import com.castlemock.core.basis.model.event.domain.Event;
+import com.castlemock.core.basis.model.event.domain.EventPage;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.web.basis.manager.EventStreamManager;
 import com.castlemock.web.basis.service.event.EventServiceFacadeImpl;
 import com.castlemock.web.basis.web.view.controller.AbstractViewController;
 import com.castlemock.web.basis.web.view.controller.MenuItem;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 
-import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
 
 /**
  * The controller LogController provides functionality to retrieve logged information
@@ -42,22 +49,90 @@ import java.util.List;
 public class EventOverviewController extends AbstractViewController {
 
     private static final String PAGE = "basis/event/eventOverview";
+    private static final String NEXT_CURSOR = "nextCursor";
 
     @Autowired
     private EventServiceFacadeImpl eventServiceFacade;
+    @Autowired
+    private EventStreamManager eventStreamManager;
 
     /**
-     * The method creates a view that displays all the logged information to the user
-     * @return View with all the logged information
+     * The method creates a view that displays a page of the logged information to the user.
+     * The events are displayed newest first, and the next page can be retrieved with the
+     * cursor that is provided in the model.
+     * @param type Optional filter on the event type, such as rest or soap
+     * @param projectId Optional filter on the project id
+     * @param applicationId Optional filter on the application or port id
+     * @param operationId Optional filter on the method or operation id
+     * @param statusCode Optional filter on the HTTP status code of the response
+     * @param from Optional filter on the earliest start date
+     * @param to Optional filter on the latest start date
+     * @param cursor The cursor of the page, or <code>null</code> for the first page
+     * @param limit The maximum number of events on the page
+     * @return View with a page of the logged information
      */
     @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
     @RequestMapping(method = RequestMethod.GET)
-    public ModelAndView defaultPage() {
-        final List<Event> events = eventServiceFacade.findAll();
+    public ModelAndView defaultPage(@RequestParam(value = "type", required = false) final String type,
+                                    @RequestParam(value = "projectId", required = false) final String projectId,
+                                    @RequestParam(value = "applicationId", required = false) final String applicationId,
+                                    @RequestParam(value = "operationId", required = false) final String operationId,
+                                    @RequestParam(value = "statusCode", required = false) final Integer statusCode,
+                                    @RequestParam(value = "from", required = false)
+                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Date from,
+                                    @RequestParam(value = "to", required = false)
+                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final Date to,
+                                    @RequestParam(value = "cursor", required = false) final String cursor,
+                                    @RequestParam(value = "limit", required = false) final Integer limit) {
+        final EventQuery query = EventQuery.builder()
+                .type(type)
+                .projectId(projectId)
+                .applicationId(applicationId)
+                .operationId(operationId)
+                .statusCode(statusCode)
+                .from(from)
+                .to(to)
+                .cursor(cursor)
+                .limit(limit)
+                .build();
+        final EventPage page = eventServiceFacade.find(query);
         final ModelAndView model = createPartialModelAndView(PAGE);
-        model.addObject(EVENTS, events);
+        model.addObject(EVENTS, page.getEvents());
+        model.addObject(NEXT_CURSOR, page.getNextCursor());
         model.addObject(SELECTED_MENU, MenuItem.EVENT);
         return model;
     }
 
-}
\ No newline at end of file
+    /**
+     * The method streams the summaries of the events as they are created. The events
+     * are sent as Server-Sent Events, which means that the overview can be kept up to date
+     * without reloading all the events.
+     * @param type Optional filter on the event type, such as rest or soap
+     * @param projectId Optional filter on the project id
+     * @param applicationId Optional filter on the application or port id
+     * @param operationId Optional filter on the method or operation id
+     * @param statusCode Optional filter on the HTTP status code of the response
+     * @param request The request that subscribes to the events
+     * @param response The response that the event summaries will be sent to
+     * @throws IOException If the response could not be opened
+     * @since 1.38
+     */
+    @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
+    @RequestMapping(value = "/stream", method = RequestMethod.GET)
+    public void stream(@RequestParam(value = "type", required = false) final String type,
+                       @RequestParam(value = "projectId", required = false) final String projectId,
+                       @RequestParam(value = "applicationId", required = false) final String applicationId,
+                       @RequestParam(value = "operationId", required = false) final String operationId,
+                       @RequestParam(value = "statusCode", required = false) final Integer statusCode,
+                       final HttpServletRequest request,
+                       final HttpServletResponse response) throws IOException {
+        eventStreamManager.subscribe(EventQuery.builder()
+                .type(type)
+                .projectId(projectId)
+                .applicationId(applicationId)
+                .operationId(operationId)
+                .statusCode(statusCode)
+                .build(), request, response);
+    }
+
+}
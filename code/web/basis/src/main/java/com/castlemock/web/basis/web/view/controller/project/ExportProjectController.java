@@ -21,13 +21,15 @@ import com.castlemock.web.basis.web.view.controller.AbstractViewController;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 
 /**
@@ -45,24 +47,29 @@ public class ExportProjectController extends AbstractViewController {
     private ProjectServiceFacade projectServiceFacade;
 
     private static final String TEXT_XML_UTF_8 = "text/xml;charset=utf-8";
+    private static final String APPLICATION_GZIP = "application/gzip";
 
     /**
-     * Creates and return a view that provides the required functionality
-     * to export a project.
+     * Exports a project and writes it directly to the response. The project is streamed
+     * and is never held in memory as a whole.
      * @param projectType The type of the project that should be exported
      * @param projectId The id of the project that should be exported
-     * @return A view that provides the required functionality to export a project
+     * @param compress True if the exported project should be gzip compressed
+     * @param response The response that the exported project will be written to
+     * @throws IOException If the exported project could not be written to the response
      */
     @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
     @RequestMapping(value = "{projectType}/project/{projectId}/export", method = RequestMethod.GET)
-    public ResponseEntity<String> defaultPage(@PathVariable final String projectType, @PathVariable final String projectId) {
-        final String exportedProject = projectServiceFacade.exportProject(projectType, projectId);
-
-        HttpHeaders respHeaders = new HttpHeaders();
-        respHeaders.set(HttpHeaders.CONTENT_TYPE, TEXT_XML_UTF_8);
-        respHeaders.setContentDispositionFormData("attachment", "project-" + projectType + "-" + projectId + ".xml");
-
-        return new ResponseEntity<String>(exportedProject, respHeaders, HttpStatus.OK);
+    public void defaultPage(@PathVariable final String projectType,
+                            @PathVariable final String projectId,
+                            @RequestParam(value = "compress", defaultValue = "false") final boolean compress,
+                            final HttpServletResponse response) throws IOException {
+        final String filename = "project-" + projectType + "-" + projectId + (compress ? ".xml.gz" : ".xml");
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader(HttpHeaders.CONTENT_TYPE, compress ? APPLICATION_GZIP : TEXT_XML_UTF_8);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "form-data; name=\"attachment\"; filename=\"" + filename + "\"");
+        projectServiceFacade.exportProject(projectType, projectId, response.getOutputStream(), compress);
+        response.flushBuffer();
     }
 
-}
\ No newline at end of file
+}
@@ -32,10 +32,10 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.ModelAndView;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -104,16 +104,9 @@ public class ImportProjectController extends AbstractViewController {
             files = fileManager.uploadFiles(multipartFiles);
 
             for(File file : files){
-                final BufferedReader bufferedReader = new BufferedReader(new FileReader(file));
-                final StringBuilder stringBuilder = new StringBuilder();
-
-                String line;
-                while ((line = bufferedReader.readLine()) != null)
-                {
-                    stringBuilder.append(line + "\n");
+                try(InputStream inputStream = new FileInputStream(file)){
+                    projectServiceFacade.importProject(type, inputStream);
                 }
-
-                projectServiceFacade.importProject(type, stringBuilder.toString());
             }
         } catch (IOException e) {
             LOGGER.error("Unable to import projects", e);
@@ -122,11 +122,9 @@ public class ProjectsOverviewController extends AbstractViewController {
 
                     final String projectTypeUrl = projectData[0];
                     final String projectId = projectData[1];
-                    final String exportedProject = projectServiceFacade.exportProject(projectTypeUrl, projectId);
-                    final byte[] data = exportedProject.getBytes();
                     final String filename = "exported-project-" + projectTypeUrl + "-" + projectId + ".xml";
                     zipOutputStream.putNextEntry(new ZipEntry(filename));
-                    zipOutputStream.write(data, 0, data.length);
+                    projectServiceFacade.exportProject(projectTypeUrl, projectId, zipOutputStream, false);
                     zipOutputStream.closeEntry();
                 }
                 zipOutputStream.close();
@@ -16,6 +16,7 @@
 
 package com.castlemock.web.basis.web.view.controller.project;
 
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
 import com.castlemock.core.basis.model.project.domain.Project;
 import com.castlemock.web.basis.service.project.ProjectServiceFacadeImpl;
 import com.castlemock.web.basis.web.view.controller.AbstractViewController;
@@ -59,6 +60,9 @@ public class UpdateProjectController extends AbstractViewController {
     @RequestMapping(value = "{projectType}/project/{projectId}/update", method = RequestMethod.GET)
     public ModelAndView defaultPage(@PathVariable final String projectType, @PathVariable final String projectId) {
         final Project projectDto = projectServiceComponent.findOne(projectType, projectId);
+        if(projectDto.getEventPolicy() == null){
+            projectDto.setEventPolicy(new EventPolicy());
+        }
         final ModelAndView model = createPartialModelAndView(PAGE);
         model.addObject(PROJECT, projectDto);
         return model;
@@ -31,20 +31,25 @@
                 <sec:authorize access="hasAuthority('ADMIN') or hasAuthority('MODIFIER')"><a class="btn btn-danger" href="<c:url value="/web/event/clear"/>"><i class="fas fa-trash"></i> <span><spring:message code="general.eventoverview.button.clearlogs"/></span></a></sec:authorize>
             </div>
         </div>
+        <div id="eventStreamDropped" class="alert alert-warning" style="display: none;">
+            <spring:message code="general.eventoverview.label.dropped"/> <a href="<c:url value="/web/event"/>"><spring:message code="general.eventoverview.button.reload"/></a>
+        </div>
         <div class="panel panel-primary table-panel">
             <div class="panel-heading table-panel-heading">
                 <h3 class="panel-title"><spring:message code="general.eventoverview.header.log"/></h3>
             </div>
-            <table class="table table-striped table-hover sortable">
-                <col width="10%">
-                <col width="30%">
+            <table id="eventTable" class="table table-striped table-hover sortable">
                 <col width="10%">
                 <col width="25%">
-                <col width="25%">
+                <col width="10%">
+                <col width="10%">
+                <col width="22%">
+                <col width="23%">
                 <tr>
                     <th><spring:message code="general.eventoverview.column.id"/></th>
                     <th><spring:message code="general.eventoverview.column.resourcename"/></th>
                     <th><spring:message code="general.eventoverview.column.type"/></th>
+                    <th><spring:message code="general.eventoverview.column.statuscode"/></th>
                     <th><spring:message code="general.eventoverview.column.startdate"/></th>
                     <th><spring:message code="general.eventoverview.column.enddate"/></th>
                 </tr>
@@ -53,11 +58,61 @@
                         <td><a href="<c:url value="/web/${event.typeIdentifier.typeUrl}/event/${event.id}"/>">${event.id}</a></td>
                         <td><a href="<c:url value="${event.resourceLink}"/>">${event.resourceName}</a></td>
                         <td><a href="<c:url value="/web/${event.typeIdentifier.typeUrl}/event/${event.id}"/>">${event.typeIdentifier.type}</a></td>
+                        <td><a href="<c:url value="/web/${event.typeIdentifier.typeUrl}/event/${event.id}"/>">${event.statusCode}</a></td>
                         <td><a href="<c:url value="/web/${event.typeIdentifier.typeUrl}/event/${event.id}"/>">${event.startDate}</a></td>
                         <td><a href="<c:url value="/web/${event.typeIdentifier.typeUrl}/event/${event.id}"/>">${event.endDate}</a></td>
                     </tr>
                 </c:forEach>
             </table>
         </div>
+        <c:if test="${not empty nextCursor}">
+            <c:url var="nextPageUrl" value="/web/event">
+                <c:if test="${not empty param.type}"><c:param name="type" value="${param.type}"/></c:if>
+                <c:if test="${not empty param.projectId}"><c:param name="projectId" value="${param.projectId}"/></c:if>
+                <c:if test="${not empty param.applicationId}"><c:param name="applicationId" value="${param.applicationId}"/></c:if>
+                <c:if test="${not empty param.operationId}"><c:param name="operationId" value="${param.operationId}"/></c:if>
+                <c:if test="${not empty param.statusCode}"><c:param name="statusCode" value="${param.statusCode}"/></c:if>
+                <c:if test="${not empty param.from}"><c:param name="from" value="${param.from}"/></c:if>
+                <c:if test="${not empty param.to}"><c:param name="to" value="${param.to}"/></c:if>
+                <c:if test="${not empty param.limit}"><c:param name="limit" value="${param.limit}"/></c:if>
+                <c:param name="cursor" value="${nextCursor}"/>
+            </c:url>
+            <div class="menu" align="right">
+                <a class="btn btn-primary" href="${nextPageUrl}"><span><spring:message code="general.eventoverview.button.nextpage"/></span> <i class="fas fa-chevron-right"></i></a>
+            </div>
+        </c:if>
     </section>
-</div>
\ No newline at end of file
+</div>
+<c:if test="${empty param.cursor and empty param.to}">
+    <c:url var="streamUrl" value="/web/event/stream">
+        <c:if test="${not empty param.type}"><c:param name="type" value="${param.type}"/></c:if>
+        <c:if test="${not empty param.projectId}"><c:param name="projectId" value="${param.projectId}"/></c:if>
+        <c:if test="${not empty param.applicationId}"><c:param name="applicationId" value="${param.applicationId}"/></c:if>
+        <c:if test="${not empty param.operationId}"><c:param name="operationId" value="${param.operationId}"/></c:if>
+        <c:if test="${not empty param.statusCode}"><c:param name="statusCode" value="${param.statusCode}"/></c:if>
+    </c:url>
+    <script>
+        if (window.EventSource) {
+            var context = "${context}";
+            var eventStream = new EventSource("${streamUrl}");
+            eventStream.addEventListener("event", function (message) {
+                var event = JSON.parse(message.data);
+                var eventLink = context + "/web/" + event.typeIdentifier.typeUrl + "/event/" + event.id;
+                var cell = function (text) {
+                    return $("<td>").append($("<a>").attr("href", eventLink).text(text === null || text === undefined ? "" : text));
+                };
+                $("<tr>")
+                    .append(cell(event.id))
+                    .append(cell(event.resourceName))
+                    .append(cell(event.typeIdentifier.type))
+                    .append(cell(event.statusCode))
+                    .append(cell(new Date(event.startDate).toString()))
+                    .append(cell(new Date(event.endDate).toString()))
+                    .insertAfter($("#eventTable tr:first"));
+            });
+            eventStream.addEventListener("dropped", function () {
+                $("#eventStreamDropped").show();
+            });
+        }
+    </script>
+</c:if>
@@ -38,6 +38,42 @@
                     <td class="column1"><spring:message code="general.updateproject.label.description"/></td>
                     <td class="column2"><form:textarea class="form-control" rows="4" path="description"></form:textarea></td>
                 </tr>
+                <c:if test="${project.typeIdentifier.typeUrl != 'graphql'}">
+                    <tr>
+                        <td class="column1"><form:label path="eventPolicy.sampleRate"><spring:message code="general.updateproject.label.eventsamplerate"/></form:label></td>
+                        <td class="column2"><form:input class="form-control" type="number" step="0.01" min="0" max="1" path="eventPolicy.sampleRate"/></td>
+                    </tr>
+                    <tr>
+                        <td class="column1"><form:label path="eventPolicy.maxBodyBytes"><spring:message code="general.updateproject.label.eventmaxbodybytes"/> (bytes)</form:label></td>
+                        <td class="column2"><form:input class="form-control" type="number" min="0" path="eventPolicy.maxBodyBytes"/></td>
+                    </tr>
+                    <tr>
+                        <td class="column1"><spring:message code="general.updateproject.label.eventheadersonly"/></td>
+                        <td>
+                            <form:select class="form-control" path="eventPolicy.headersOnly">
+                                <spring:message var="label" code="general.updateproject.dropdown.option.eventinherit"/>
+                                <form:option value="" label="${label}"/>
+                                <spring:message var="label" code="general.updateproject.dropdown.option.eventyes"/>
+                                <form:option value="true" label="${label}"/>
+                                <spring:message var="label" code="general.updateproject.dropdown.option.eventno"/>
+                                <form:option value="false" label="${label}"/>
+                            </form:select>
+                        </td>
+                    </tr>
+                    <tr>
+                        <td class="column1"><spring:message code="general.updateproject.label.eventerrorsonly"/></td>
+                        <td>
+                            <form:select class="form-control" path="eventPolicy.errorsOnly">
+                                <spring:message var="label" code="general.updateproject.dropdown.option.eventinherit"/>
+                                <form:option value="" label="${label}"/>
+                                <spring:message var="label" code="general.updateproject.dropdown.option.eventyes"/>
+                                <form:option value="true" label="${label}"/>
+                                <spring:message var="label" code="general.updateproject.dropdown.option.eventno"/>
+                                <form:option value="false" label="${label}"/>
+                            </form:select>
+                        </td>
+                    </tr>
+                </c:if>
             </table>
             <button class="btn btn-success"><i class="fas fa-check-circle"></i> <spring:message code="general.updateproject.button.updateproject"/></button>
             <a href="<c:url value="/web/${project.typeIdentifier.typeUrl}/project/${project.id}"/>" class="btn btn-primary"><i class="fas fa-times"></i> <spring:message code="general.updateproject.button.discardchanges"/></a>
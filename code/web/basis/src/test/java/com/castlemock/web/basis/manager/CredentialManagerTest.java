@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.manager;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.Collections;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class CredentialManagerTest {
+
+    private CredentialManager credentialManager;
+
+    @Before
+    public void setup(){
+        this.credentialManager = new CredentialManager(60, 10);
+    }
+
+    @Test
+    public void testPut(){
+        final Authentication authentication = createAuthentication("Admin");
+        final long generation = credentialManager.getGeneration();
+        Assert.assertTrue(credentialManager.put("Admin", "Password", authentication, generation));
+        Assert.assertSame(authentication, credentialManager.get("Admin", "Password"));
+        Assert.assertNull(credentialManager.get("Admin", "Other"));
+
+        credentialManager.invalidate("admin");
+        Assert.assertNull(credentialManager.get("Admin", "Password"));
+    }
+
+    @Test
+    public void testPutAfterInvalidate(){
+        final long generation = credentialManager.getGeneration();
+        credentialManager.invalidate("Admin");
+
+        Assert.assertFalse(credentialManager.put("Admin", "Password", createAuthentication("Admin"), generation));
+        Assert.assertNull(credentialManager.get("Admin", "Password"));
+
+        Assert.assertTrue(credentialManager.put("User", "Password", createAuthentication("User"), generation));
+        Assert.assertNotNull(credentialManager.get("User", "Password"));
+
+        Assert.assertTrue(credentialManager.put("Admin", "Password", createAuthentication("Admin"),
+                credentialManager.getGeneration()));
+        Assert.assertNotNull(credentialManager.get("Admin", "Password"));
+    }
+
+    @Test
+    public void testPutAfterInvalidateAll(){
+        final long generation = credentialManager.getGeneration();
+        credentialManager.invalidateAll();
+
+        Assert.assertFalse(credentialManager.put("User", "Password", createAuthentication("User"), generation));
+        Assert.assertNull(credentialManager.get("User", "Password"));
+    }
+
+    private static Authentication createAuthentication(final String username){
+        return new UsernamePasswordAuthenticationToken(username, null, Collections.emptyList());
+    }
+
+}
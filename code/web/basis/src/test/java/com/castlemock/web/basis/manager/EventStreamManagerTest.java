@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.manager;
+
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class EventStreamManagerTest {
+
+    private static final int BUFFER_SIZE = 2;
+    private static final int MAX_SUBSCRIBERS = 3;
+
+    private EventStreamManager eventStreamManager;
+
+    @Before
+    public void setup(){
+        this.eventStreamManager = new EventStreamManager(BUFFER_SIZE, 60, 3600, 1, 1, MAX_SUBSCRIBERS, new ObjectMapper());
+    }
+
+    @After
+    public void tearDown(){
+        this.eventStreamManager.destroy();
+    }
+
+    @Test
+    public void testPublishWithFilter() throws Exception {
+        final TestListener listener = new TestListener(1);
+        eventStreamManager.subscribe(EventQuery.builder()
+                .projectId("Project")
+                .operationId("Operation")
+                .build(), listener);
+        Assert.assertTrue(eventStreamManager.hasSubscribers());
+
+        eventStreamManager.publish(summary("Event1", "Project", "OtherOperation"));
+        eventStreamManager.publish(summary("Event2", "OtherProject", "Operation"));
+        eventStreamManager.publish(summary("Event3", "Project", "Operation"));
+
+        Assert.assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, listener.events.size());
+        Assert.assertEquals("Event3", listener.events.get(0).getId());
+    }
+
+    @Test
+    public void testDropWhenSlow() throws Exception {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final TestListener listener = new TestListener(1 + BUFFER_SIZE) {
+            @Override
+            public void onEvent(final EventSummary summary) throws Exception {
+                if(events.isEmpty()){
+                    blocked.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                super.onEvent(summary);
+            }
+        };
+        eventStreamManager.subscribe(EventQuery.builder().build(), listener);
+
+        eventStreamManager.publish(summary("Event0", "Project", "Operation"));
+        Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for(int index = 1; index <= BUFFER_SIZE + 3; index++){
+            eventStreamManager.publish(summary("Event" + index, "Project", "Operation"));
+        }
+        release.countDown();
+
+        Assert.assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+        for(int index = 0; index < 50 && listener.dropped.get() == 0; index++){
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(1 + BUFFER_SIZE, listener.events.size());
+        Assert.assertEquals(3L, listener.dropped.get());
+    }
+
+    @Test
+    public void testUnsubscribeOnFailure() throws Exception {
+        final CountDownLatch failed = new CountDownLatch(1);
+        eventStreamManager.subscribe(EventQuery.builder().build(), new TestListener(1) {
+            @Override
+            public void onEvent(final EventSummary summary) throws Exception {
+                failed.countDown();
+                throw new IllegalStateException("Client disconnected");
+            }
+        });
+
+        eventStreamManager.publish(summary("Event", "Project", "Operation"));
+        Assert.assertTrue(failed.await(5, TimeUnit.SECONDS));
+        for(int index = 0; index < 50 && eventStreamManager.hasSubscribers(); index++){
+            Thread.sleep(10);
+        }
+        Assert.assertFalse(eventStreamManager.hasSubscribers());
+    }
+
+    @Test
+    public void testEvictStalledSubscriber() throws Exception {
+        final CountDownLatch evicted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        eventStreamManager.subscribe(EventQuery.builder()
+                .projectId("Stalled")
+                .build(), new TestListener(1) {
+            @Override
+            public void onEvent(final EventSummary summary) throws Exception {
+                release.await(10, TimeUnit.SECONDS);
+            }
+
+            @Override
+            public void onEvicted() {
+                evicted.countDown();
+            }
+        });
+        final TestListener listener = new TestListener(1);
+        eventStreamManager.subscribe(EventQuery.builder()
+                .projectId("Project")
+                .build(), listener);
+
+        try {
+            eventStreamManager.publish(summary("Event1", "Stalled", "Operation"));
+            eventStreamManager.publish(summary("Event2", "Project", "Operation"));
+
+            Assert.assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+            Assert.assertTrue(evicted.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testRejectWhenTooManySubscribers(){
+        final List<EventStreamManager.Subscription> subscriptions = new CopyOnWriteArrayList<EventStreamManager.Subscription>();
+        for(int index = 0; index < MAX_SUBSCRIBERS; index++){
+            subscriptions.add(eventStreamManager.subscribe(EventQuery.builder().build(), new TestListener(1)));
+        }
+        try {
+            eventStreamManager.subscribe(EventQuery.builder().build(), new TestListener(1));
+            Assert.fail("The subscriber should have been rejected");
+        } catch (IllegalStateException e){
+            // Expected
+        }
+
+        eventStreamManager.unsubscribe(subscriptions.get(0));
+        Assert.assertNotNull(eventStreamManager.subscribe(EventQuery.builder().build(), new TestListener(1)));
+    }
+
+    @Test
+    public void testResumeWhenReady() throws Exception {
+        final AtomicBoolean ready = new AtomicBoolean();
+        final TestListener listener = new TestListener(2) {
+            @Override
+            public boolean isReady() {
+                return ready.get();
+            }
+        };
+        final EventStreamManager.Subscription subscription = eventStreamManager.subscribe(EventQuery.builder()
+                .projectId("Waiting")
+                .build(), listener);
+        final TestListener other = new TestListener(1);
+        eventStreamManager.subscribe(EventQuery.builder()
+                .projectId("Project")
+                .build(), other);
+
+        // The subscriber that is not ready does not occupy the only thread
+        eventStreamManager.publish(summary("Event1", "Waiting", "Operation"));
+        eventStreamManager.publish(summary("Event2", "Waiting", "Operation"));
+        eventStreamManager.publish(summary("Event3", "Project", "Operation"));
+        Assert.assertTrue(other.received.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(listener.events.isEmpty());
+
+        ready.set(true);
+        eventStreamManager.resume(subscription);
+        Assert.assertTrue(listener.received.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals("Event1", listener.events.get(0).getId());
+        Assert.assertEquals("Event2", listener.events.get(1).getId());
+    }
+
+    @Test
+    public void testEvictSubscriberThatIsNotReady() throws Exception {
+        final CountDownLatch evicted = new CountDownLatch(1);
+        eventStreamManager.subscribe(EventQuery.builder().build(), new TestListener(1) {
+            @Override
+            public boolean isReady() {
+                return false;
+            }
+
+            @Override
+            public void onEvicted() {
+                evicted.countDown();
+            }
+        });
+
+        eventStreamManager.publish(summary("Event", "Project", "Operation"));
+        Assert.assertTrue(evicted.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(eventStreamManager.hasSubscribers());
+    }
+
+    private static EventSummary summary(final String id, final String projectId, final String operationId){
+        final EventSummary summary = new EventSummary();
+        summary.setId(id);
+        summary.setProjectId(projectId);
+        summary.setOperationId(operationId);
+        summary.setStartDate(new Date());
+        return summary;
+    }
+
+    private static class TestListener implements EventStreamManager.Listener {
+
+        protected final List<EventSummary> events = new CopyOnWriteArrayList<EventSummary>();
+        protected final AtomicLong dropped = new AtomicLong();
+        protected final CountDownLatch received;
+
+        private TestListener(final int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onEvent(final EventSummary summary) throws Exception {
+            events.add(summary);
+            received.countDown();
+        }
+
+        @Override
+        public void onDropped(final long dropped) {
+            this.dropped.addAndGet(dropped);
+        }
+
+        @Override
+        public void onHeartbeat() {
+        }
+    }
+}
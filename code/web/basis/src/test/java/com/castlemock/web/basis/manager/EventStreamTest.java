@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.manager;
+
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class EventStreamTest {
+
+    private EventStreamManager eventStreamManager;
+    private AsyncContext asyncContext;
+    private TestOutputStream output;
+    private EventStream eventStream;
+    private EventStreamManager.Subscription subscription;
+
+    @Before
+    public void setup() throws IOException {
+        this.eventStreamManager = new EventStreamManager(2, 60, 3600, 1, 1, 1, new ObjectMapper());
+        this.output = new TestOutputStream();
+        final ServletResponse response = Mockito.mock(ServletResponse.class);
+        Mockito.when(response.getOutputStream()).thenReturn(output);
+        this.asyncContext = Mockito.mock(AsyncContext.class);
+        Mockito.when(asyncContext.getResponse()).thenReturn(response);
+
+        this.eventStream = new EventStream(new ObjectMapper());
+        this.subscription = eventStreamManager.subscribe(EventQuery.builder().build(), eventStream);
+        this.eventStream.start(eventStreamManager, subscription, asyncContext, 1000L);
+        Mockito.verify(response, Mockito.times(1)).setContentType("text/event-stream");
+        Mockito.verify(asyncContext, Mockito.times(1)).setTimeout(1000L);
+    }
+
+    @After
+    public void tearDown(){
+        this.eventStreamManager.destroy();
+    }
+
+    @Test
+    public void testSendWhenReady() throws Exception {
+        output.ready = false;
+        eventStreamManager.publish(summary("Event"));
+        Thread.sleep(100);
+        Assert.assertEquals("", output.getContent());
+
+        output.ready = true;
+        eventStream.onWritePossible();
+        for(int index = 0; index < 50 && !output.getContent().contains("\n\n"); index++){
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(output.getContent().startsWith("event:event\nid:"));
+        Assert.assertTrue(output.getContent().contains("\"id\":\"Event\""));
+        Assert.assertTrue(output.getContent().endsWith("\n\n"));
+    }
+
+    @Test
+    public void testCloseWhenEvicted() throws Exception {
+        output.ready = false;
+        eventStreamManager.publish(summary("Event"));
+        for(int index = 0; index < 300 && eventStreamManager.hasSubscribers(); index++){
+            Thread.sleep(10);
+        }
+        Assert.assertFalse(eventStreamManager.hasSubscribers());
+        Mockito.verify(asyncContext, Mockito.times(1)).complete();
+        Assert.assertFalse(eventStream.isReady());
+    }
+
+    private static EventSummary summary(final String id){
+        final EventSummary summary = new EventSummary();
+        summary.setId(id);
+        summary.setStartDate(new Date());
+        return summary;
+    }
+
+    private static class TestOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private volatile boolean ready = true;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+
+        }
+
+        @Override
+        public synchronized void write(final int value) {
+            content.write(value);
+        }
+
+        private synchronized String getContent(){
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.manager;
+
+import com.castlemock.core.basis.model.job.domain.Job;
+import com.castlemock.core.basis.model.job.domain.JobStatus;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class JobManagerTest {
+
+    private JobManager jobManager;
+
+    @Before
+    public void setup(){
+        this.jobManager = new JobManager(1, 60);
+    }
+
+    @After
+    public void tearDown(){
+        this.jobManager.destroy();
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+        final CountDownLatch reported = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final Job submitted = jobManager.submit("Import", progress -> {
+            progress.addTotal(4);
+            progress.complete(1);
+            progress.setMessage("Importing");
+            reported.countDown();
+            await(proceed);
+        });
+        Assert.assertNotNull(submitted.getId());
+        Assert.assertEquals("Import", submitted.getName());
+
+        Assert.assertTrue(reported.await(5, TimeUnit.SECONDS));
+        final Job running = jobManager.getJob(submitted.getId());
+        Assert.assertEquals(JobStatus.RUNNING, running.getStatus());
+        Assert.assertEquals(4, running.getTotalSteps());
+        Assert.assertEquals(1, running.getCompletedSteps());
+        Assert.assertEquals(25, running.getPercentage());
+        Assert.assertEquals("Importing", running.getMessage());
+        Assert.assertNotNull(running.getStarted());
+        Assert.assertNull(running.getFinished());
+
+        proceed.countDown();
+        final Job completed = awaitFinished(submitted.getId());
+        Assert.assertEquals(JobStatus.COMPLETED, completed.getStatus());
+        Assert.assertEquals(100, completed.getPercentage());
+        Assert.assertNotNull(completed.getFinished());
+        Assert.assertEquals(1, jobManager.getJobs().size());
+    }
+
+    @Test
+    public void testSubmitFailure() throws Exception {
+        final Job submitted = jobManager.submit("Import", progress -> {
+            throw new IllegalArgumentException("Unable to parse the file");
+        });
+
+        final Job failed = awaitFinished(submitted.getId());
+        Assert.assertEquals(JobStatus.FAILED, failed.getStatus());
+        Assert.assertEquals("Unable to parse the file", failed.getMessage());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        this.jobManager.destroy();
+        this.jobManager = new JobManager(1, 0);
+        final Job submitted = jobManager.submit("Import", progress -> {});
+        awaitFinished(submitted.getId());
+        Thread.sleep(5);
+
+        Assert.assertTrue(jobManager.getJobs().isEmpty());
+        Assert.assertNull(jobManager.getJob(submitted.getId()));
+    }
+
+    @Test
+    public void testGetUnknownJob(){
+        Assert.assertNull(jobManager.getJob("Unknown"));
+    }
+
+    private Job awaitFinished(final String id) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        Job job = jobManager.getJob(id);
+        while(!job.getStatus().isFinished() && System.currentTimeMillis() < deadline){
+            Thread.sleep(10);
+            job = jobManager.getJob(id);
+        }
+        Assert.assertTrue(job.getStatus().isFinished());
+        return job;
+    }
+
+    private static void await(final CountDownLatch latch){
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
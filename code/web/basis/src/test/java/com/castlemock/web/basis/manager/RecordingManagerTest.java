@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.web.basis.manager;
+
+import com.castlemock.core.basis.model.http.domain.HttpHeader;
+import com.castlemock.core.basis.model.http.domain.HttpMethod;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class RecordingManagerTest {
+
+    private static final String METHOD_ID = "MethodId";
+    private static final String URI = "/user/1";
+
+    private RecordingManager recordingManager;
+
+    @Before
+    public void setup(){
+        this.recordingManager = new RecordingManager();
+        ReflectionTestUtils.setField(recordingManager, "fingerprintHeaders", new String[]{"Content-Type"});
+    }
+
+    @Test
+    public void testFingerprint(){
+        final HttpHeader contentType = new HttpHeader();
+        contentType.setName("Content-Type");
+        contentType.setValue("application/json");
+        final HttpHeader requestId = new HttpHeader();
+        requestId.setName("X-Request-Id");
+        requestId.setValue("1");
+
+        final String fingerprint = recordingManager.fingerprint(HttpMethod.GET, URI,
+                Arrays.asList(contentType, requestId), null, 200, "{}");
+        requestId.setValue("2");
+        Assert.assertEquals(fingerprint, recordingManager.fingerprint(HttpMethod.GET, URI,
+                Arrays.asList(contentType, requestId), null, 200, "{}"));
+
+        contentType.setValue("application/xml");
+        Assert.assertNotEquals(fingerprint, recordingManager.fingerprint(HttpMethod.GET, URI,
+                Arrays.asList(contentType, requestId), null, 200, "{}"));
+        Assert.assertNotEquals(fingerprint, recordingManager.fingerprint(HttpMethod.GET, URI,
+                Collections.emptyList(), null, 500, "{}"));
+    }
+
+    @Test
+    public void testReserve(){
+        Assert.assertTrue(recordingManager.reserve(METHOD_ID, "Fingerprint", Collections.emptySet()));
+        Assert.assertFalse(recordingManager.reserve(METHOD_ID, "Fingerprint", Collections.emptySet()));
+        Assert.assertTrue(recordingManager.reserve("OtherMethodId", "Fingerprint", Collections.emptySet()));
+
+        recordingManager.release(METHOD_ID, "Fingerprint");
+        Assert.assertTrue(recordingManager.reserve(METHOD_ID, "Fingerprint", Collections.emptySet()));
+    }
+
+    @Test
+    public void testReserveDeletedMockResponse(){
+        final Set<String> mockResponseIds = new HashSet<String>(Arrays.asList("Response1", "Response2"));
+        recordingManager.reserve(METHOD_ID, "Fingerprint1", mockResponseIds);
+        recordingManager.register(METHOD_ID, "Fingerprint1", "Response1", 10);
+        recordingManager.reserve(METHOD_ID, "Fingerprint2", mockResponseIds);
+        recordingManager.register(METHOD_ID, "Fingerprint2", "Response2", 10);
+        Assert.assertFalse(recordingManager.reserve(METHOD_ID, "Fingerprint1", mockResponseIds));
+
+        // The first mock response has been deleted
+        mockResponseIds.remove("Response1");
+        Assert.assertTrue(recordingManager.reserve(METHOD_ID, "Fingerprint1", mockResponseIds));
+        Assert.assertFalse(recordingManager.reserve(METHOD_ID, "Fingerprint2", mockResponseIds));
+    }
+
+    @Test
+    public void testReserveMaxKeys(){
+        ReflectionTestUtils.setField(recordingManager, "maxKeys", 2);
+        final Set<String> mockResponseIds = Collections.singleton("Response");
+        recordingManager.reserve("MethodId1", "Fingerprint", mockResponseIds);
+        recordingManager.register("MethodId1", "Fingerprint", "Response", 10);
+        recordingManager.reserve("MethodId2", "Fingerprint", mockResponseIds);
+        recordingManager.register("MethodId2", "Fingerprint", "Response", 10);
+
+        // Mark the first method as the most recently used
+        Assert.assertFalse(recordingManager.reserve("MethodId1", "Fingerprint", mockResponseIds));
+        Assert.assertTrue(recordingManager.reserve("MethodId3", "Fingerprint", mockResponseIds));
+
+        Assert.assertFalse(recordingManager.reserve("MethodId1", "Fingerprint", mockResponseIds));
+        Assert.assertTrue(recordingManager.reserve("MethodId2", "Fingerprint", mockResponseIds));
+    }
+
+    @Test
+    public void testRegister(){
+        final Set<String> mockResponseIds = new HashSet<String>(Arrays.asList("Response1", "Response2", "Response3"));
+        recordingManager.reserve(METHOD_ID, "Fingerprint1", mockResponseIds);
+        Assert.assertTrue(recordingManager.register(METHOD_ID, "Fingerprint1", "Response1", 2).isEmpty());
+        recordingManager.reserve(METHOD_ID, "Fingerprint2", mockResponseIds);
+        Assert.assertTrue(recordingManager.register(METHOD_ID, "Fingerprint2", "Response2", 2).isEmpty());
+
+        // Mark the first recording as the most recently used
+        Assert.assertFalse(recordingManager.reserve(METHOD_ID, "Fingerprint1", mockResponseIds));
+
+        recordingManager.reserve(METHOD_ID, "Fingerprint3", mockResponseIds);
+        final List<String> replaced = recordingManager.register(METHOD_ID, "Fingerprint3", "Response3", 2);
+        Assert.assertEquals(Collections.singletonList("Response2"), replaced);
+        Assert.assertTrue(recordingManager.reserve(METHOD_ID, "Fingerprint2", mockResponseIds));
+    }
+
+    @Test
+    public void testRecordOnce(){
+        Assert.assertTrue(recordingManager.startRecordOnce(METHOD_ID, () -> true));
+        Assert.assertFalse(recordingManager.startRecordOnce(METHOD_ID, () -> true));
+        recordingManager.finishRecordOnce(METHOD_ID);
+        Assert.assertTrue(recordingManager.startRecordOnce(METHOD_ID, () -> true));
+    }
+
+    @Test
+    public void testRecordOnceAlreadyRecorded(){
+        Assert.assertFalse(recordingManager.startRecordOnce(METHOD_ID, () -> false));
+        // The key is released when the status is no longer record once
+        Assert.assertTrue(recordingManager.startRecordOnce(METHOD_ID, () -> true));
+    }
+
+}
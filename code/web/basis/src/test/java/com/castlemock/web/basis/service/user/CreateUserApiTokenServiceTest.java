@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.basis.service.user;
+
+import com.castlemock.core.basis.model.ServiceResult;
+import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.basis.model.user.domain.Role;
+import com.castlemock.core.basis.model.user.domain.Status;
+import com.castlemock.core.basis.model.user.domain.User;
+import com.castlemock.core.basis.service.user.input.CreateUserApiTokenInput;
+import com.castlemock.core.basis.service.user.output.CreateUserApiTokenOutput;
+import com.castlemock.core.basis.utility.HashUtility;
+import com.castlemock.repository.Repository;
+import com.castlemock.web.basis.manager.CredentialManager;
+import org.dozer.DozerBeanMapper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class CreateUserApiTokenServiceTest {
+
+    @Spy
+    private DozerBeanMapper mapper;
+
+    @Mock
+    private Repository repository;
+
+    @Mock
+    private CredentialManager credentialManager;
+
+    @InjectMocks
+    private CreateUserApiTokenService service;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testProcess(){
+        final List<User> users = new ArrayList<User>();
+        final User user = new User();
+        user.setId("UserId");
+        user.setUsername("Username");
+        user.setStatus(Status.ACTIVE);
+        user.setRole(Role.ADMIN);
+        users.add(user);
+
+        Mockito.when(repository.findAll()).thenReturn(users);
+        Mockito.when(repository.save(Mockito.any(User.class))).thenAnswer(invocation -> invocation.getArguments()[0]);
+        final ServiceTask<CreateUserApiTokenInput> serviceTask = new ServiceTask<CreateUserApiTokenInput>();
+        serviceTask.setInput(new CreateUserApiTokenInput("Username"));
+        final ServiceResult<CreateUserApiTokenOutput> serviceResult = service.process(serviceTask);
+        final String apiToken = serviceResult.getOutput().getApiToken();
+
+        Assert.assertNotNull(apiToken);
+        Assert.assertNotEquals(apiToken, user.getApiTokenHash());
+        Assert.assertEquals(HashUtility.hash(apiToken), user.getApiTokenHash());
+        Mockito.verify(repository, Mockito.times(1)).save(user);
+        Mockito.verify(credentialManager, Mockito.times(1)).invalidate("Username");
+    }
+
+}
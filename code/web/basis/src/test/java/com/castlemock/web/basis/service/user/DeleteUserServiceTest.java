@@ -23,6 +23,7 @@ import com.castlemock.core.basis.model.user.domain.User;
 import com.castlemock.core.basis.service.user.input.DeleteUserInput;
 import com.castlemock.core.basis.service.user.output.DeleteUserOutput;
 import com.castlemock.repository.Repository;
+import com.castlemock.web.basis.manager.CredentialManager;
 import org.dozer.DozerBeanMapper;
 import org.junit.Before;
 import org.junit.Test;
@@ -43,6 +44,9 @@ public class DeleteUserServiceTest {
     @Mock
     private Repository repository;
 
+    @Mock
+    private CredentialManager credentialManager;
+
     @InjectMocks
     private DeleteUserService service;
 
@@ -24,6 +24,7 @@ import com.castlemock.core.basis.model.user.domain.User;
 import com.castlemock.core.basis.service.user.input.UpdateCurrentUserInput;
 import com.castlemock.core.basis.service.user.output.UpdateCurrentUserOutput;
 import com.castlemock.repository.Repository;
+import com.castlemock.web.basis.manager.CredentialManager;
 import com.castlemock.repository.token.SessionTokenRepository;
 import org.dozer.DozerBeanMapper;
 import org.junit.Assert;
@@ -51,6 +52,9 @@ public class UpdateCurrentUserServiceTest {
     @Mock
     private SessionTokenRepository sessionTokenRepository;
 
+    @Mock
+    private CredentialManager credentialManager;
+
     @InjectMocks
     private UpdateCurrentUserService service;
 
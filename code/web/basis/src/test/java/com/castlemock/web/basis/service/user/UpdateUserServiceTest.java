@@ -24,6 +24,7 @@ import com.castlemock.core.basis.model.user.domain.User;
 import com.castlemock.core.basis.service.user.input.UpdateUserInput;
 import com.castlemock.core.basis.service.user.output.UpdateUserOutput;
 import com.castlemock.repository.Repository;
+import com.castlemock.web.basis.manager.CredentialManager;
 import com.castlemock.repository.token.SessionTokenRepository;
 import org.dozer.DozerBeanMapper;
 import org.junit.Assert;
@@ -46,6 +47,9 @@ public class UpdateUserServiceTest {
     @Mock
     private SessionTokenRepository sessionTokenRepository;
 
+    @Mock
+    private CredentialManager credentialManager;
+
     @InjectMocks
     private UpdateUserService service;
 
@@ -35,6 +35,9 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.when;
 
@@ -108,7 +111,11 @@ public class CoreRestControllerTest extends AbstractControllerTest {
         final String exported = "This is an exported project";
         final String serviceUrl = BASE_SERVICE_URL + "/project/rest/2/export";
 
-        when(projectServiceComponent.exportProject(Mockito.anyString(), Mockito.anyString())).thenReturn(exported);
+        Mockito.doAnswer(invocation -> {
+            ((OutputStream) invocation.getArguments()[2]).write(exported.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(projectServiceComponent).exportProject(Mockito.anyString(), Mockito.anyString(),
+                Mockito.any(OutputStream.class), Mockito.anyBoolean());
         final MockHttpServletRequestBuilder message = MockMvcRequestBuilders.get(serviceUrl);
         final MvcResult result = mockMvc.perform(message)
                 .andExpect(MockMvcResultMatchers.status().isOk())
@@ -117,7 +124,8 @@ public class CoreRestControllerTest extends AbstractControllerTest {
         final String content = result.getResponse().getContentAsString();
 
         assertEquals(exported, content);
-        Mockito.verify(projectServiceComponent, Mockito.times(1)).exportProject("rest", "2");
+        Mockito.verify(projectServiceComponent, Mockito.times(1)).exportProject(Mockito.eq("rest"), Mockito.eq("2"),
+                Mockito.any(OutputStream.class), Mockito.eq(false));
     }
 
 
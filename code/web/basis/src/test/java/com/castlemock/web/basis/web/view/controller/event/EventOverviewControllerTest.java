@@ -16,12 +16,15 @@
 
 package com.castlemock.web.basis.web.view.controller.event;
 
-import com.castlemock.core.basis.model.event.EventDtoGenerator;
-import com.castlemock.core.basis.model.event.domain.Event;
+import com.castlemock.core.basis.model.event.domain.EventPage;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.web.basis.config.TestApplication;
 import com.castlemock.web.basis.service.event.EventServiceFacadeImpl;
 import com.castlemock.web.basis.web.AbstractController;
 import com.castlemock.web.basis.web.AbstractControllerTest;
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -34,8 +37,11 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.when;
 
 /**
@@ -50,6 +56,7 @@ public class EventOverviewControllerTest extends AbstractControllerTest {
     private static final String SERVICE_URL = "/web/event";
     private static final String PAGE = "partial/basis/event/eventOverview.jsp";
     private static final String EVENTS = "events";
+    private static final String NEXT_CURSOR = "nextCursor";
     private static final Integer EVENT_COUNT = 5;
 
     @InjectMocks
@@ -64,18 +71,56 @@ public class EventOverviewControllerTest extends AbstractControllerTest {
 
     @Test
     public void testGetUserWithValidId() throws Exception {
-        List<Event> eventDtos = new ArrayList<Event>();
+        List<EventSummary> eventSummaries = new ArrayList<EventSummary>();
         for(int index = 0; index < EVENT_COUNT; index++){
-            eventDtos.add(EventDtoGenerator.generateEventDto());
+            final EventSummary eventSummary = new EventSummary();
+            eventSummary.setId("EVENT" + index);
+            eventSummary.setStartDate(new Date());
+            eventSummaries.add(eventSummary);
         }
-        when(eventServiceComponent.findAll()).thenReturn(eventDtos);
+        when(eventServiceComponent.find(any(EventQuery.class))).thenReturn(new EventPage(eventSummaries, null));
         final MockHttpServletRequestBuilder message = MockMvcRequestBuilders.get(SERVICE_URL);
         mockMvc.perform(message)
                 .andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(MockMvcResultMatchers.model().size(1 + GLOBAL_VIEW_MODEL_COUNT))
+                .andExpect(MockMvcResultMatchers.model().size(2 + GLOBAL_VIEW_MODEL_COUNT))
                 .andExpect(MockMvcResultMatchers.forwardedUrl(INDEX))
                 .andExpect(MockMvcResultMatchers.model().attribute(PARTIAL, PAGE))
-                .andExpect(MockMvcResultMatchers.model().attribute(EVENTS, eventDtos));
+                .andExpect(MockMvcResultMatchers.model().attribute(EVENTS, eventSummaries));
+    }
+
+    @Test
+    public void testGetEventsWithFilterAndCursor() throws Exception {
+        final List<EventSummary> eventSummaries = new ArrayList<EventSummary>();
+        when(eventServiceComponent.find(argThat(new BaseMatcher<EventQuery>() {
+            @Override
+            public boolean matches(final Object item) {
+                final EventQuery query = (EventQuery) item;
+                return "rest".equals(query.getType()) &&
+                        "PROJECT".equals(query.getProjectId()) &&
+                        query.getApplicationId() == null &&
+                        Integer.valueOf(500).equals(query.getStatusCode()) &&
+                        query.getCursor() != null &&
+                        query.getCursor().getStartTime() == 1000L &&
+                        "EVENT".equals(query.getCursor().getId()) &&
+                        query.getLimit() == 10;
+            }
+
+            @Override
+            public void describeTo(final Description description) {
+                description.appendText("event query");
+            }
+        }))).thenReturn(new EventPage(eventSummaries, "900-EVENT"));
+        final MockHttpServletRequestBuilder message = MockMvcRequestBuilders.get(SERVICE_URL)
+                .param("type", "rest")
+                .param("projectId", "PROJECT")
+                .param("applicationId", "")
+                .param("statusCode", "500")
+                .param("cursor", "1000-EVENT")
+                .param("limit", "10");
+        mockMvc.perform(message)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.model().attribute(EVENTS, eventSummaries))
+                .andExpect(MockMvcResultMatchers.model().attribute(NEXT_CURSOR, "900-EVENT"));
     }
 
 }
@@ -33,6 +33,8 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.OutputStream;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -55,15 +57,29 @@ public class ExportProjectControllerTest extends AbstractControllerTest {
     }
 
     private static final String TEXT_XML_UTF_8 = "text/xml;charset=utf-8";
+    private static final String APPLICATION_GZIP = "application/gzip";
 
     @Test
     public void testProjectExport() throws Exception {
-        Mockito.when(projectServiceFacade.exportProject(Mockito.anyString(), Mockito.anyString())).thenReturn("Project information");
         final String url = "/web/soap/project/0/export";
         final MockHttpServletRequestBuilder message = MockMvcRequestBuilders.get(url);
         mockMvc.perform(message)
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_TYPE, TEXT_XML_UTF_8));
+        Mockito.verify(projectServiceFacade, Mockito.times(1)).exportProject(Mockito.eq("soap"), Mockito.eq("0"),
+                Mockito.any(OutputStream.class), Mockito.eq(false));
+    }
+
+    @Test
+    public void testProjectExportCompressed() throws Exception {
+        final String url = "/web/soap/project/0/export";
+        final MockHttpServletRequestBuilder message = MockMvcRequestBuilders.get(url)
+                .param("compress", "true");
+        mockMvc.perform(message)
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_TYPE, APPLICATION_GZIP));
+        Mockito.verify(projectServiceFacade, Mockito.times(1)).exportProject(Mockito.eq("soap"), Mockito.eq("0"),
+                Mockito.any(OutputStream.class), Mockito.eq(true));
     }
 
 }
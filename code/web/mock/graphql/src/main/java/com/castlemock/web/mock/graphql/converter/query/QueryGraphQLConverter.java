@@ -1,5 +1,6 @@
 package com.castlemock.web.mock.graphql.converter.query;
 
+import com.castlemock.core.mock.graphql.model.project.domain.GraphQLOperationType;
 import com.castlemock.core.mock.graphql.model.project.domain.GraphQLRequestArgument;
 import com.castlemock.core.mock.graphql.model.project.domain.GraphQLRequestField;
 import com.castlemock.core.mock.graphql.model.project.domain.GraphQLRequestQuery;
@@ -18,30 +19,37 @@ public class QueryGraphQLConverter {
         Document document;
         try {
             document = parser.parseDocument(body);
-            document.getChildren();
+            final List<GraphQLRequestQuery> queries = new ArrayList<>();
 
             for(Definition definition : document.getDefinitions()){
 
                 if(definition instanceof OperationDefinition){
                     OperationDefinition operationDefinition = (OperationDefinition) definition;
-                    OperationDefinition.Operation operation = operationDefinition.getOperation();
-
-                    if(operation == OperationDefinition.Operation.QUERY){
-                        return getQuery(operationDefinition);
-                    }
-
+                    queries.addAll(getQuery(operationDefinition, getOperationType(operationDefinition.getOperation())));
                 }
 
             }
 
+            return queries;
         } catch (ParseCancellationException e) {
             System.out.println(e);
         }
         return null;
     }
 
+    private GraphQLOperationType getOperationType(final OperationDefinition.Operation operation){
+        switch (operation){
+            case MUTATION:
+                return GraphQLOperationType.MUTATION;
+            case SUBSCRIPTION:
+                return GraphQLOperationType.SUBSCRIPTION;
+            default:
+                return GraphQLOperationType.QUERY;
+        }
+    }
 
-    private List<GraphQLRequestQuery> getQuery(final OperationDefinition operationDefinition){
+    private List<GraphQLRequestQuery> getQuery(final OperationDefinition operationDefinition,
+                                               final GraphQLOperationType operationType){
         final List<GraphQLRequestQuery> queries = new ArrayList<>();
         for(Selection selection : operationDefinition.getSelectionSet().getSelections()){
             if(selection instanceof Field){
@@ -51,14 +59,17 @@ public class QueryGraphQLConverter {
                 final List<GraphQLRequestField> fields = new ArrayList<>();
                 final List<GraphQLRequestArgument> arguments = new ArrayList<>();
                 query.setOperationName(field.getName());
+                query.setOperationType(operationType);
                 query.setFields(fields);
                 query.setArguments(arguments);
 
-                for(Selection subSelection : field.getSelectionSet().getSelections()){
-                    if(subSelection instanceof Field){
-                        Field subField = (Field) subSelection;
-                        GraphQLRequestField subRequestField = getField(subField);
-                        fields.add(subRequestField);
+                if(field.getSelectionSet() != null && field.getSelectionSet().getSelections() != null){
+                    for(Selection subSelection : field.getSelectionSet().getSelections()){
+                        if(subSelection instanceof Field){
+                            Field subField = (Field) subSelection;
+                            GraphQLRequestField subRequestField = getField(subField);
+                            fields.add(subRequestField);
+                        }
                     }
                 }
 
@@ -33,7 +33,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SchemaGraphQLDefinitionConverter extends AbstractGraphQLDefinitionConverter {
 
@@ -71,9 +73,18 @@ public class SchemaGraphQLDefinitionConverter extends AbstractGraphQLDefinitionC
             }
         }
 
+        final Map<String, String> objectIds = new HashMap<>();
+        final Map<String, String> enumIds = new HashMap<>();
+        for(GraphQLObjectType objectType : objects){
+            objectIds.putIfAbsent(objectType.getName(), objectType.getId());
+        }
+        for(GraphQLEnumType enumType : enums){
+            enumIds.putIfAbsent(enumType.getName(), enumType.getId());
+        }
+
         for(GraphQLObjectType objectType : objects){
             for(GraphQLAttribute attribute : objectType.getAttributes()){
-                String typeId = getId(attribute.getTypeName(), attribute.getAttributeType(), objects, enums);
+                String typeId = getId(attribute.getTypeName(), attribute.getAttributeType(), objectIds, enumIds);
                 attribute.setTypeId(typeId);
             }
         }
@@ -83,7 +94,7 @@ public class SchemaGraphQLDefinitionConverter extends AbstractGraphQLDefinitionC
             List<GraphQLFieldDefinition> fieldQueries = graphQLSchema.getQueryType().getFieldDefinitions();
             for(GraphQLFieldDefinition fieldQuery : fieldQueries){
                 GraphQLQuery query = GraphQLObjectTypeFactory.query(fieldQuery);
-                mapTypes(query, objects, enums);
+                mapTypes(query, objectIds, enumIds);
                 queries.add(query);
             }
         }
@@ -92,7 +103,7 @@ public class SchemaGraphQLDefinitionConverter extends AbstractGraphQLDefinitionC
             List<GraphQLFieldDefinition> fieldMutations = graphQLSchema.getMutationType().getFieldDefinitions();
             for(GraphQLFieldDefinition fieldMutation : fieldMutations){
                 GraphQLMutation mutation = GraphQLObjectTypeFactory.mutation(fieldMutation);
-                mapTypes(mutation, objects, enums);
+                mapTypes(mutation, objectIds, enumIds);
                 mutations.add(mutation);
             }
         }
@@ -101,7 +112,7 @@ public class SchemaGraphQLDefinitionConverter extends AbstractGraphQLDefinitionC
             List<GraphQLFieldDefinition> fieldSubscriptions = graphQLSchema.getSubscriptionType().getFieldDefinitions();
             for(GraphQLFieldDefinition fieldSubscription : fieldSubscriptions){
                 GraphQLSubscription subscription = GraphQLObjectTypeFactory.subscription(fieldSubscription);
-                mapTypes(subscription, objects, enums);
+                mapTypes(subscription, objectIds, enumIds);
                 subscriptions.add(subscription);
             }
         }
@@ -117,14 +128,14 @@ public class SchemaGraphQLDefinitionConverter extends AbstractGraphQLDefinitionC
     }
 
     private void mapTypes(final GraphQLOperation operation,
-                          final List<GraphQLObjectType> objects,
-                          final List<GraphQLEnumType> enums){
+                          final Map<String, String> objectIds,
+                          final Map<String, String> enumIds){
         final GraphQLResult result = operation.getResult();
-        final String typeId = getId(result.getTypeName(), result.getAttributeType(), objects, enums);
+        final String typeId = getId(result.getTypeName(), result.getAttributeType(), objectIds, enumIds);
         result.setTypeId(typeId);
 
         for(GraphQLArgument argument : operation.getArguments()){
-            String argumentTypeId = getId(argument.getTypeName(), argument.getAttributeType(), objects, enums);
+            String argumentTypeId = getId(argument.getTypeName(), argument.getAttributeType(), objectIds, enumIds);
             argument.setTypeId(argumentTypeId);
         }
     }
@@ -132,20 +143,12 @@ public class SchemaGraphQLDefinitionConverter extends AbstractGraphQLDefinitionC
 
     private String getId(final String typeName,
                           final GraphQLAttributeType attributeType,
-                          final List<GraphQLObjectType> objects,
-                          final List<GraphQLEnumType> enums){
+                          final Map<String, String> objectIds,
+                          final Map<String, String> enumIds){
         if(GraphQLAttributeType.OBJECT_TYPE.equals(attributeType)){
-            for(GraphQLObjectType otherObjectType : objects){
-                if(typeName.equals(otherObjectType.getName())){
-                    return otherObjectType.getId();
-                }
-            }
+            return objectIds.get(typeName);
         } else if(GraphQLAttributeType.ENUM.equals(attributeType)){
-            for(GraphQLEnumType enumType : enums){
-                if(typeName.equals(enumType.getName())){
-                    return enumType.getId();
-                }
-            }
+            return enumIds.get(typeName);
         }
         return null;
     }
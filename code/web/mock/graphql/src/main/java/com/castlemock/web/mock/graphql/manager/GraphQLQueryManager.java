@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.mock.graphql.manager;
+
+import com.castlemock.core.basis.metric.Counter;
+import com.castlemock.core.basis.metric.MetricRegistry;
+import com.castlemock.core.basis.utility.HashUtility;
+import com.castlemock.core.mock.graphql.model.project.domain.GraphQLRequestQuery;
+import com.castlemock.web.mock.graphql.converter.query.QueryGraphQLConverter;
+import com.google.common.base.Preconditions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The GraphQL query manager is responsible for converting GraphQL query documents into
+ * {@link GraphQLRequestQuery} trees. Converted documents are kept in a bounded least recently
+ * used cache, which is keyed by the normalized query document. The returned trees are shared
+ * between requests and must not be modified.
+ * <p>
+ * The manager also supports persisted queries, where a client registers a query document together
+ * with its SHA-256 hash once and then only sends the hash.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@Component
+public class GraphQLQueryManager {
+
+    private static final String CACHE_HITS_METRIC = "castlemock_graphql_query_cache_hits_total";
+    private static final String CACHE_MISSES_METRIC = "castlemock_graphql_query_cache_misses_total";
+    private static final String CACHE_SIZE_METRIC = "castlemock_graphql_query_cache_size";
+
+    private final QueryGraphQLConverter queryConverter = new QueryGraphQLConverter();
+    private final Counter hits = MetricRegistry.counter(CACHE_HITS_METRIC);
+    private final Counter misses = MetricRegistry.counter(CACHE_MISSES_METRIC);
+    private final Map<String, List<GraphQLRequestQuery>> queries;
+    private final Map<String, String> persistedQueries;
+
+    public GraphQLQueryManager(@Value("${graphql.query.cache.max:1000}") final int maxQueries){
+        Preconditions.checkArgument(maxQueries > 0, "The maximum number of cached queries has to be positive");
+        this.queries = new LeastRecentlyUsedMap<List<GraphQLRequestQuery>>(maxQueries);
+        this.persistedQueries = new LeastRecentlyUsedMap<String>(maxQueries);
+        MetricRegistry.gauge(CACHE_SIZE_METRIC, this::size);
+    }
+
+    /**
+     * Get the queries for a query document. The document is only converted
+     * if it is not already present in the cache.
+     * @param document The query document.
+     * @return The queries in the query document.
+     */
+    public List<GraphQLRequestQuery> getQueries(final String document){
+        Preconditions.checkNotNull(document, "The query document cannot be null");
+        final String key = normalize(document);
+        List<GraphQLRequestQuery> result;
+        synchronized (queries){
+            result = queries.get(key);
+        }
+        if(result != null){
+            hits.increment();
+            return result;
+        }
+
+        misses.increment();
+        final List<GraphQLRequestQuery> converted = queryConverter.parseQuery(document);
+        if(converted == null){
+            return null;
+        }
+        result = Collections.unmodifiableList(converted);
+        synchronized (queries){
+            queries.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Get the queries for a persisted query document.
+     * @param hash The SHA-256 hash of the persisted query document.
+     * @return The queries in the persisted query document, or <code>null</code>
+     *         if no query document has been persisted with the provided hash.
+     * @see #persistQueries(String, String)
+     */
+    public List<GraphQLRequestQuery> getPersistedQueries(final String hash){
+        Preconditions.checkNotNull(hash, "The hash cannot be null");
+        final String document;
+        synchronized (persistedQueries){
+            document = persistedQueries.get(hash.toLowerCase());
+        }
+        if(document == null){
+            misses.increment();
+            return null;
+        }
+        return getQueries(document);
+    }
+
+    /**
+     * Persist a query document and get the queries in it.
+     * @param hash The SHA-256 hash of the query document.
+     * @param document The query document that will be persisted.
+     * @return The queries in the query document.
+     * @throws IllegalArgumentException If the hash does not match the query document.
+     */
+    public List<GraphQLRequestQuery> persistQueries(final String hash, final String document){
+        Preconditions.checkNotNull(hash, "The hash cannot be null");
+        Preconditions.checkNotNull(document, "The query document cannot be null");
+        Preconditions.checkArgument(HashUtility.hash(document).equalsIgnoreCase(hash),
+                "The hash does not match the query document");
+        synchronized (persistedQueries){
+            persistedQueries.put(hash.toLowerCase(), document);
+        }
+        return getQueries(document);
+    }
+
+    private long size(){
+        synchronized (queries){
+            return queries.size();
+        }
+    }
+
+    /**
+     * Normalize a query document by removing comments and collapsing
+     * insignificant whitespace. String values are kept as they are.
+     * @param document The query document that will be normalized.
+     * @return The normalized query document.
+     */
+    static String normalize(final String document){
+        final StringBuilder builder = new StringBuilder(document.length());
+        boolean string = false;
+        boolean whitespace = false;
+        for(int index = 0; index < document.length(); index++){
+            final char character = document.charAt(index);
+            if(string){
+                builder.append(character);
+                if(character == '\\' && index + 1 < document.length()){
+                    builder.append(document.charAt(++index));
+                } else if(character == '"'){
+                    string = false;
+                }
+            } else if(character == '#'){
+                while(index + 1 < document.length() && document.charAt(index + 1) != '\n'){
+                    index++;
+                }
+                whitespace = true;
+            } else if(Character.isWhitespace(character) || character == ','){
+                whitespace = true;
+            } else {
+                if(whitespace && builder.length() > 0){
+                    builder.append(' ');
+                }
+                whitespace = false;
+                builder.append(character);
+                string = character == '"';
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Map that keeps its entries in access order and removes the
+     * least recently used entry once the maximum size has been exceeded.
+     */
+    private static class LeastRecentlyUsedMap<V> extends LinkedHashMap<String, V> {
+
+        private final int maxSize;
+
+        private LeastRecentlyUsedMap(final int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+}
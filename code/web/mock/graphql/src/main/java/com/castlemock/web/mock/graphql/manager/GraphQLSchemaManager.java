@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.mock.graphql.manager;
+
+import com.castlemock.core.mock.graphql.model.project.domain.GraphQLApplication;
+import com.castlemock.web.mock.graphql.model.GraphQLSchemaIndex;
+import com.google.common.base.Preconditions;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The GraphQL schema manager keeps the compiled schema of each GraphQL application.
+ * A schema is compiled the first time it is requested and kept until the application
+ * or any part of its schema has been changed, at which point the schema has to be invalidated.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see GraphQLSchemaIndex
+ */
+@Component
+public class GraphQLSchemaManager {
+
+    private final Map<String, GraphQLSchemaIndex> schemas = new ConcurrentHashMap<String, GraphQLSchemaIndex>();
+
+    /**
+     * Get the compiled schema for an application. The schema will be compiled
+     * if the application has no compiled schema yet.
+     * @param application The application whose compiled schema will be returned.
+     * @return The compiled schema of the application.
+     */
+    public GraphQLSchemaIndex getSchema(final GraphQLApplication application){
+        Preconditions.checkNotNull(application, "The application cannot be null");
+        Preconditions.checkNotNull(application.getId(), "The application id cannot be null");
+        return schemas.computeIfAbsent(application.getId(), id -> new GraphQLSchemaIndex(application));
+    }
+
+    /**
+     * Get the compiled schema for an application. The application will be loaded
+     * and compiled if the application has no compiled schema yet.
+     * @param applicationId The id of the application whose compiled schema will be returned.
+     * @param loader The loader that is used to load the application if it has no compiled schema.
+     *               The loader should return <code>null</code> if the application does not exist.
+     * @return The compiled schema of the application, or <code>null</code> if the application does not exist.
+     */
+    public GraphQLSchemaIndex getSchema(final String applicationId,
+                                        final Function<String, GraphQLApplication> loader){
+        Preconditions.checkNotNull(applicationId, "The application id cannot be null");
+        Preconditions.checkNotNull(loader, "The loader cannot be null");
+        final GraphQLSchemaIndex schema = schemas.get(applicationId);
+        if(schema != null){
+            return schema;
+        }
+        return schemas.computeIfAbsent(applicationId, id -> {
+            final GraphQLApplication application = loader.apply(id);
+            return application == null ? null : new GraphQLSchemaIndex(application);
+        });
+    }
+
+    /**
+     * Invalidate the compiled schema for an application. The schema
+     * will be recompiled the next time it is requested.
+     * @param applicationId The id of the application whose schema has been changed.
+     */
+    public void invalidate(final String applicationId){
+        if(applicationId != null){
+            schemas.remove(applicationId);
+        }
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.mock.graphql.model;
+
+import com.castlemock.core.mock.graphql.model.project.domain.*;
+import com.google.common.base.Preconditions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The GraphQLSchemaIndex is a compiled version of the schema of a {@link GraphQLApplication}.
+ * All the operations, types and attributes are indexed by their names, which makes it
+ * possible to resolve them without iterating over the application schema.
+ * An index is immutable and has to be recompiled when the schema of the application changes.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public final class GraphQLSchemaIndex {
+
+    private final GraphQLApplication application;
+    private final Map<String, GraphQLQuery> queries;
+    private final Map<String, GraphQLMutation> mutations;
+    private final Map<String, GraphQLSubscription> subscriptions;
+    private final Map<String, GraphQLObjectType> objects;
+    private final Map<String, GraphQLEnumType> enums;
+    private final Map<String, Map<String, GraphQLAttribute>> attributes;
+
+    /**
+     * Compile the schema of the provided application.
+     * @param application The application whose schema will be compiled.
+     */
+    public GraphQLSchemaIndex(final GraphQLApplication application){
+        this.application = Preconditions.checkNotNull(application, "The application cannot be null");
+        final Map<String, GraphQLQuery> queries = new HashMap<String, GraphQLQuery>();
+        final Map<String, GraphQLMutation> mutations = new HashMap<String, GraphQLMutation>();
+        final Map<String, GraphQLSubscription> subscriptions = new HashMap<String, GraphQLSubscription>();
+        final Map<String, GraphQLObjectType> objects = new HashMap<String, GraphQLObjectType>();
+        final Map<String, GraphQLEnumType> enums = new HashMap<String, GraphQLEnumType>();
+        final Map<String, Map<String, GraphQLAttribute>> attributes = new HashMap<String, Map<String, GraphQLAttribute>>();
+
+        for(GraphQLQuery query : application.getQueries()){
+            queries.putIfAbsent(query.getName(), query);
+        }
+        for(GraphQLMutation mutation : application.getMutations()){
+            mutations.putIfAbsent(mutation.getName(), mutation);
+        }
+        for(GraphQLSubscription subscription : application.getSubscriptions()){
+            subscriptions.putIfAbsent(subscription.getName(), subscription);
+        }
+        for(GraphQLObjectType objectType : application.getObjects()){
+            if(objects.putIfAbsent(objectType.getName(), objectType) != null){
+                continue;
+            }
+            final Map<String, GraphQLAttribute> objectAttributes = new HashMap<String, GraphQLAttribute>();
+            for(GraphQLAttribute attribute : objectType.getAttributes()){
+                objectAttributes.putIfAbsent(attribute.getName(), attribute);
+            }
+            attributes.put(objectType.getName(), objectAttributes);
+        }
+        for(GraphQLEnumType enumType : application.getEnums()){
+            enums.putIfAbsent(enumType.getName(), enumType);
+        }
+
+        this.queries = Collections.unmodifiableMap(queries);
+        this.mutations = Collections.unmodifiableMap(mutations);
+        this.subscriptions = Collections.unmodifiableMap(subscriptions);
+        this.objects = Collections.unmodifiableMap(objects);
+        this.enums = Collections.unmodifiableMap(enums);
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    public GraphQLApplication getApplication() {
+        return application;
+    }
+
+    /**
+     * Get a query by its name.
+     * @param name The name of the query.
+     * @return The query with the provided name, or <code>null</code> if there is no such query.
+     */
+    public GraphQLQuery getQuery(final String name){
+        return queries.get(name);
+    }
+
+    /**
+     * Get an operation by its type and name.
+     * @param type The type of the operation. Operations without a type are treated as queries.
+     * @param name The name of the operation.
+     * @return The operation with the provided type and name, or <code>null</code> if there is no such operation.
+     */
+    public GraphQLOperation getOperation(final GraphQLOperationType type, final String name){
+        if(type == GraphQLOperationType.MUTATION){
+            return mutations.get(name);
+        } else if(type == GraphQLOperationType.SUBSCRIPTION){
+            return subscriptions.get(name);
+        }
+        return queries.get(name);
+    }
+
+    /**
+     * Get an object type by its name.
+     * @param name The name of the object type.
+     * @return The object type with the provided name, or <code>null</code> if there is no such type.
+     */
+    public GraphQLObjectType getObject(final String name){
+        return objects.get(name);
+    }
+
+    /**
+     * Get an enum type by its name.
+     * @param name The name of the enum type.
+     * @return The enum type with the provided name, or <code>null</code> if there is no such type.
+     */
+    public GraphQLEnumType getEnum(final String name){
+        return enums.get(name);
+    }
+
+    /**
+     * Get an attribute of an object type by its name.
+     * @param objectType The object type that the attribute belongs to.
+     * @param name The name of the attribute.
+     * @return The attribute with the provided name, or <code>null</code> if the
+     *         object type has no such attribute.
+     */
+    public GraphQLAttribute getAttribute(final GraphQLObjectType objectType, final String name){
+        final Map<String, GraphQLAttribute> objectAttributes = attributes.get(objectType.getName());
+        return objectAttributes == null ? null : objectAttributes.get(name);
+    }
+
+}
@@ -17,9 +17,11 @@
 package com.castlemock.web.mock.graphql.service.event;
 
 
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.mock.graphql.model.event.domain.GraphQLEvent;
 import com.castlemock.repository.graphql.event.GraphQLEventRepository;
 import com.castlemock.web.basis.service.event.AbstractEventService;
+import com.castlemock.web.mock.graphql.model.GraphQLTypeIdentifier;
 
 /**
  * The GraphQL event service is responsible for all the functionality related to the GraphQL events.
@@ -28,5 +30,25 @@ import com.castlemock.web.basis.service.event.AbstractEventService;
  */
 public class AbstractGraphQLEventService extends AbstractEventService<GraphQLEvent, GraphQLEventRepository> {
 
-}
+    private static final GraphQLTypeIdentifier TYPE_IDENTIFIER = new GraphQLTypeIdentifier();
+
+    /**
+     * Create a summary of a GraphQL event without the request and the response.
+     * The summary does not contain a resource link.
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    @Override
+    protected EventSummary toSummary(final GraphQLEvent event){
+        final EventSummary summary = super.toSummary(event);
+        summary.setTypeIdentifier(TYPE_IDENTIFIER);
+        summary.setProjectId(event.getProjectId());
+        summary.setApplicationId(event.getApplicationId());
+        if(event.getResponse() != null){
+            summary.setStatusCode(event.getResponse().getHttpStatusCode());
+        }
+        return summary;
+    }
 
+}
@@ -46,6 +46,7 @@ public class CreateGraphQLEventService extends AbstractGraphQLEventService imple
             repository.deleteOldestEvent();
         }
         final GraphQLEvent createdGraphQLEvent = save(soapEvent);
+        publish(createdGraphQLEvent);
         return createServiceResult(new CreateGraphQLEventOutput(createdGraphQLEvent));
     }
 }
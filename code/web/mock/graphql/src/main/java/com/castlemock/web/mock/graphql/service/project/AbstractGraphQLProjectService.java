@@ -20,6 +20,7 @@ import com.castlemock.core.mock.graphql.model.project.domain.GraphQLApplication;
 import com.castlemock.core.mock.graphql.model.project.domain.GraphQLObjectType;
 import com.castlemock.core.mock.graphql.model.project.domain.GraphQLProject;
 import com.castlemock.repository.graphql.project.*;
+import com.castlemock.web.mock.graphql.manager.GraphQLSchemaManager;
 import com.castlemock.web.basis.service.AbstractService;
 import com.google.common.base.Preconditions;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +47,8 @@ public abstract class AbstractGraphQLProjectService extends AbstractService<Grap
     protected GraphQLEnumTypeRepository enumTypeRepository;
     @Autowired
     protected GraphQLAttributeRepository attributeRepository;
+    @Autowired
+    protected GraphQLSchemaManager schemaManager;
 
     protected GraphQLProject deleteProject(final String projectId){
         final List<GraphQLApplication> applications = applicationRepository.findWithProjectId(projectId);
@@ -74,6 +77,8 @@ public abstract class AbstractGraphQLProjectService extends AbstractService<Grap
             this.attributeRepository.deleteWithObjectTypeId(objectType.getId());
         }
 
+        this.schemaManager.invalidate(applicationId);
+
         return application;
     }
 
@@ -19,13 +19,15 @@ package com.castlemock.web.mock.graphql.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
-import com.castlemock.core.basis.utility.serializer.ExportContainerSerializer;
+import com.castlemock.core.basis.utility.serializer.ExportContainerWriter;
 import com.castlemock.core.mock.graphql.model.GraphQLExportContainer;
 import com.castlemock.core.mock.graphql.model.project.domain.*;
 import com.castlemock.core.mock.graphql.service.project.input.ExportGraphQLProjectInput;
 import com.castlemock.core.mock.graphql.service.project.output.ExportGraphQLProjectOutput;
 
-import java.util.ArrayList;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -35,6 +37,20 @@ import java.util.List;
 @org.springframework.stereotype.Service
 public class ExportGraphQLProjectService extends AbstractGraphQLProjectService implements Service<ExportGraphQLProjectInput, ExportGraphQLProjectOutput> {
 
+    static final String PROJECT = "project";
+    static final String APPLICATIONS = "applications";
+    static final String APPLICATION = "application";
+    static final String OBJECT_TYPES = "objectTypes";
+    static final String OBJECT_TYPE = "objectType";
+    static final String ENUM_TYPES = "enumTypes";
+    static final String ENUM_TYPE = "enumType";
+    static final String QUERIES = "queries";
+    static final String QUERY = "query";
+    static final String MUTATIONS = "mutations";
+    static final String MUTATION = "mutation";
+    static final String SUBSCRIPTIONS = "subscriptions";
+    static final String SUBSCRIPTION = "subscription";
+
     /**
      * The process message is responsible for processing an incoming serviceTask and generate
      * a response based on the incoming serviceTask input
@@ -46,41 +62,78 @@ public class ExportGraphQLProjectService extends AbstractGraphQLProjectService i
     @Override
     public ServiceResult<ExportGraphQLProjectOutput> process(final ServiceTask<ExportGraphQLProjectInput> serviceTask) {
         final ExportGraphQLProjectInput input = serviceTask.getInput();
-        final GraphQLProject project = repository.findOne(input.getGraphQLProjectId());
-        final List<GraphQLApplication> applications = this.applicationRepository.findWithProjectId(input.getGraphQLProjectId());
+        if(input.getOutputStream() != null){
+            exportProject(input.getGraphQLProjectId(), input.getOutputStream());
+            return createServiceResult(new ExportGraphQLProjectOutput(null));
+        }
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportProject(input.getGraphQLProjectId(), outputStream);
+        return createServiceResult(new ExportGraphQLProjectOutput(
+                new String(outputStream.toByteArray(), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Write a project to an output stream. The project is written entity by entity
+     * and the entities are only loaded for one application at a time.
+     * @param projectId The id of the project that will be exported.
+     * @param outputStream The output stream that the project will be written to.
+     */
+    private void exportProject(final String projectId, final OutputStream outputStream){
+        final GraphQLProject project = repository.findOne(projectId);
+        if(project == null){
+            throw new IllegalArgumentException("Unable to find a project with the following id: " + projectId);
+        }
 
-        final List<GraphQLObjectType> objectTypes = new ArrayList<>();
-        final List<GraphQLEnumType> enumTypes = new ArrayList<>();
-        final List<GraphQLQuery> queries = new ArrayList<>();
-        final List<GraphQLMutation> mutations = new ArrayList<>();
-        final List<GraphQLSubscription> subscriptions = new ArrayList<>();
+        final List<GraphQLApplication> applications = this.applicationRepository.findWithProjectId(projectId);
+        try(ExportContainerWriter writer = new ExportContainerWriter(outputStream, GraphQLExportContainer.class)){
+            writer.write(PROJECT, GraphQLProject.class, project);
 
+            writer.startList(APPLICATIONS);
+            for(GraphQLApplication application : applications){
+                writer.write(APPLICATION, GraphQLApplication.class, application);
+            }
+            writer.endList();
 
+            writer.startList(OBJECT_TYPES);
+            for(GraphQLApplication application : applications){
+                for(GraphQLObjectType objectType : this.objectTypeRepository.findWithApplicationId(application.getId())){
+                    writer.write(OBJECT_TYPE, GraphQLObjectType.class, objectType);
+                }
+            }
+            writer.endList();
 
-        for(GraphQLApplication application : applications){
-            List<GraphQLObjectType> tempObjectTypes = this.objectTypeRepository.findWithApplicationId(application.getId());
-            List<GraphQLEnumType> tempEnumTypes = this.enumTypeRepository.findWithApplicationId(application.getId());
-            List<GraphQLQuery> tempQueries = this.queryRepository.findWithApplicationId(application.getId());
-            List<GraphQLMutation> tempMutations = this.mutationRepository.findWithApplicationId(application.getId());
-            List<GraphQLSubscription> tempSubscriptions = this.subscriptionRepository.findWithApplicationId(application.getId());
+            writer.startList(ENUM_TYPES);
+            for(GraphQLApplication application : applications){
+                for(GraphQLEnumType enumType : this.enumTypeRepository.findWithApplicationId(application.getId())){
+                    writer.write(ENUM_TYPE, GraphQLEnumType.class, enumType);
+                }
+            }
+            writer.endList();
 
-            objectTypes.addAll(tempObjectTypes);
-            enumTypes.addAll(tempEnumTypes);
-            queries.addAll(tempQueries);
-            mutations.addAll(tempMutations);
-            subscriptions.addAll(tempSubscriptions);
-        }
+            writer.startList(QUERIES);
+            for(GraphQLApplication application : applications){
+                for(GraphQLQuery query : this.queryRepository.findWithApplicationId(application.getId())){
+                    writer.write(QUERY, GraphQLQuery.class, query);
+                }
+            }
+            writer.endList();
 
-        final GraphQLExportContainer exportContainer = new GraphQLExportContainer();
-        exportContainer.setProject(project);
-        exportContainer.setApplications(applications);
-        exportContainer.setObjectTypes(objectTypes);
-        exportContainer.setEnumTypes(enumTypes);
-        exportContainer.setQueries(queries);
-        exportContainer.setMutations(mutations);
-        exportContainer.setSubscriptions(subscriptions);
+            writer.startList(MUTATIONS);
+            for(GraphQLApplication application : applications){
+                for(GraphQLMutation mutation : this.mutationRepository.findWithApplicationId(application.getId())){
+                    writer.write(MUTATION, GraphQLMutation.class, mutation);
+                }
+            }
+            writer.endList();
 
-        final String serialized = ExportContainerSerializer.serialize(exportContainer);
-        return createServiceResult(new ExportGraphQLProjectOutput(serialized));
+            writer.startList(SUBSCRIPTIONS);
+            for(GraphQLApplication application : applications){
+                for(GraphQLSubscription subscription : this.subscriptionRepository.findWithApplicationId(application.getId())){
+                    writer.write(SUBSCRIPTION, GraphQLSubscription.class, subscription);
+                }
+            }
+            writer.endList();
+        }
     }
 }
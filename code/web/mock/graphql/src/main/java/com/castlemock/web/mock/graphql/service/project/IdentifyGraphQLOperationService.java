@@ -21,11 +21,15 @@ package com.castlemock.web.mock.graphql.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.mock.graphql.model.project.domain.GraphQLApplication;
+import com.castlemock.core.mock.graphql.model.project.domain.GraphQLObjectType;
 import com.castlemock.core.mock.graphql.model.project.domain.GraphQLOperation;
 import com.castlemock.core.mock.graphql.model.project.domain.GraphQLRequestQuery;
 import com.castlemock.core.mock.graphql.service.project.input.IdentifyGraphQLOperationInput;
 import com.castlemock.core.mock.graphql.service.project.output.IdentifyGraphQLOperationOutput;
+import com.castlemock.web.mock.graphql.model.GraphQLSchemaIndex;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -49,32 +53,44 @@ public class IdentifyGraphQLOperationService extends AbstractGraphQLProjectServi
     @Override
     public ServiceResult<IdentifyGraphQLOperationOutput> process(ServiceTask<IdentifyGraphQLOperationInput> serviceTask) {
         final IdentifyGraphQLOperationInput input = serviceTask.getInput();
-        /*
-        final GraphQLApplication application =
-                repository.findGraphQLApplication(input.getGraphQLProjectId(), input.getGraphQLApplicationId());
-        final List<GraphQLRequestQuery> requestQueries = input.getQueries();
-        final Map<GraphQLRequestQuery, GraphQLOperation> mapping = new HashMap<>();
+        final GraphQLSchemaIndex schema = this.schemaManager.getSchema(input.getGraphQLApplicationId(), this::loadApplication);
+        if(schema == null || !input.getGraphQLProjectId().equals(schema.getApplication().getProjectId())){
+            return createServiceResult(new IdentifyGraphQLOperationOutput(null, new LinkedHashMap<>()));
+        }
 
-        mapOperations(requestQueries, application.getQueries(), mapping);
-        mapOperations(requestQueries, application.getMutations(), mapping);
-        mapOperations(requestQueries, application.getSubscriptions(), mapping);
+        final Map<GraphQLRequestQuery, GraphQLOperation> mapping = new LinkedHashMap<>();
+        for(GraphQLRequestQuery requestQuery : input.getQueries()){
+            final GraphQLOperation operation =
+                    schema.getOperation(requestQuery.getOperationType(), requestQuery.getOperationName());
+            if(operation != null){
+                mapping.put(requestQuery, operation);
+            }
+        }
 
-        final IdentifyGraphQLOperationOutput output = new IdentifyGraphQLOperationOutput(application, mapping);
-        return createServiceResult(output);
-        */
-        return null;
+        return createServiceResult(new IdentifyGraphQLOperationOutput(schema.getApplication(), mapping));
     }
 
-    private void mapOperations(final List<GraphQLRequestQuery> requestQueries,
-                               final List<? extends GraphQLOperation> operations,
-                               final Map<GraphQLRequestQuery, GraphQLOperation> mapping){
-        for(GraphQLRequestQuery requestQuery : requestQueries){
-            for(GraphQLOperation operation : operations){
-                if(requestQuery.getOperationName().equals(operation.getName())){
-                    mapping.put(requestQuery, operation);
-                    break;
-                }
-            }
+    /**
+     * The method loads an application together with its complete schema.
+     * @param applicationId The id of the application that will be loaded.
+     * @return The application with its schema, or <code>null</code> if the application does not exist.
+     */
+    private GraphQLApplication loadApplication(final String applicationId){
+        final GraphQLApplication application = this.applicationRepository.findOne(applicationId);
+        if(application == null){
+            return null;
+        }
+
+        final List<GraphQLObjectType> objectTypes = this.objectTypeRepository.findWithApplicationId(applicationId);
+        for(GraphQLObjectType objectType : objectTypes){
+            objectType.setAttributes(this.attributeRepository.findWithObjectTypeId(objectType.getId()));
         }
+
+        application.setQueries(this.queryRepository.findWithApplicationId(applicationId));
+        application.setMutations(this.mutationRepository.findWithApplicationId(applicationId));
+        application.setSubscriptions(this.subscriptionRepository.findWithApplicationId(applicationId));
+        application.setObjects(objectTypes);
+        application.setEnums(this.enumTypeRepository.findWithApplicationId(applicationId));
+        return application;
     }
 }
@@ -25,9 +25,12 @@ import com.castlemock.core.mock.graphql.service.project.output.ImportGraphQLDefi
 import com.castlemock.web.mock.graphql.converter.GraphQLDefinitionConverter;
 import com.castlemock.web.mock.graphql.converter.GraphQLDefinitionConverterFactory;
 import com.castlemock.web.mock.graphql.converter.GraphQLDefinitionConverterResult;
+import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Karl Dahlgren
@@ -36,6 +39,8 @@ import java.io.File;
 @org.springframework.stereotype.Service
 public class ImportGraphQLDefinitionService extends AbstractGraphQLProjectService implements Service<ImportGraphQLDefinitionInput, ImportGraphQLDefinitionOutput> {
 
+    private static final Logger LOGGER = Logger.getLogger(ImportGraphQLDefinitionService.class);
+
     @Autowired
     private GraphQLDefinitionConverterFactory definitionConverterFactory;
 
@@ -53,6 +58,7 @@ public class ImportGraphQLDefinitionService extends AbstractGraphQLProjectServic
         final String projectId = input.getGraphQLProjectId();
         final String applicationId = input.getGraphQLApplicationId();
         final GraphQLDefinitionConverter graphQLDefinitionConverter = definitionConverterFactory.getConverter(input.getDefinitionType());
+        final long startTime = System.currentTimeMillis();
 
         GraphQLDefinitionConverterResult result = null;
 
@@ -66,36 +72,46 @@ public class ImportGraphQLDefinitionService extends AbstractGraphQLProjectServic
             }
         }
 
+        final long convertTime = System.currentTimeMillis();
+        final List<GraphQLAttribute> attributes = new ArrayList<>();
         for(GraphQLObjectType objectType : result.getObjects()){
             objectType.setApplicationId(applicationId);
-            this.objectTypeRepository.save(objectType);
-
             for(GraphQLAttribute attribute : objectType.getAttributes()){
                 attribute.setObjectTypeId(objectType.getId());
-                attributeRepository.save(attribute);
+                attributes.add(attribute);
             }
         }
-
         for(GraphQLEnumType enumType : result.getEnums()){
             enumType.setApplicationId(applicationId);
-            this.enumTypeRepository.save(enumType);
         }
-
         for(GraphQLQuery query : result.getQueries()){
             query.setApplicationId(applicationId);
-            this.queryRepository.save(query);
         }
-
         for(GraphQLMutation mutation : result.getMutations()){
             mutation.setApplicationId(applicationId);
-            this.mutationRepository.save(mutation);
         }
-
         for(GraphQLSubscription subscription : result.getSubscriptions()){
             subscription.setApplicationId(applicationId);
-            this.subscriptionRepository.save(subscription);
         }
 
+        this.objectTypeRepository.saveAll(result.getObjects());
+        this.attributeRepository.saveAll(attributes);
+        this.enumTypeRepository.saveAll(result.getEnums());
+        this.queryRepository.saveAll(result.getQueries());
+        this.mutationRepository.saveAll(result.getMutations());
+        this.subscriptionRepository.saveAll(result.getSubscriptions());
+        final long saveTime = System.currentTimeMillis();
+
+        LOGGER.info("Imported GraphQL definition for application " + applicationId + ": " +
+                result.getObjects().size() + " object types, " +
+                attributes.size() + " attributes, " +
+                result.getEnums().size() + " enums, " +
+                (result.getQueries().size() + result.getMutations().size() + result.getSubscriptions().size()) +
+                " operations. Converted in " + (convertTime - startTime) + " ms and saved in " +
+                (saveTime - convertTime) + " ms");
+
+        this.schemaManager.invalidate(applicationId);
+
         return createServiceResult(new ImportGraphQLDefinitionOutput());
     }
 
@@ -19,11 +19,19 @@ package com.castlemock.web.mock.graphql.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
-import com.castlemock.core.basis.utility.serializer.ExportContainerSerializer;
+import com.castlemock.core.basis.utility.serializer.ExportContainerReader;
+import com.castlemock.core.basis.utility.serializer.ImportBatch;
 import com.castlemock.core.mock.graphql.model.GraphQLExportContainer;
 import com.castlemock.core.mock.graphql.model.project.domain.*;
 import com.castlemock.core.mock.graphql.service.project.input.ImportGraphQLProjectInput;
 import com.castlemock.core.mock.graphql.service.project.output.ImportGraphQLProjectOutput;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * @author Karl Dahlgren
@@ -32,6 +40,11 @@ import com.castlemock.core.mock.graphql.service.project.output.ImportGraphQLProj
 @org.springframework.stereotype.Service
 public class ImportGraphQLProjectService extends AbstractGraphQLProjectService implements Service<ImportGraphQLProjectInput, ImportGraphQLProjectOutput> {
 
+    @Value("${graphql.import.batch.size:100}")
+    private int batchSize = 100;
+
+    private static final Logger LOGGER = Logger.getLogger(ImportGraphQLProjectService.class);
+
     /**
      * The process message is responsible for processing an incoming serviceTask and generate
      * a response based on the incoming serviceTask input
@@ -43,65 +56,109 @@ public class ImportGraphQLProjectService extends AbstractGraphQLProjectService i
     @Override
     public ServiceResult<ImportGraphQLProjectOutput> process(final ServiceTask<ImportGraphQLProjectInput> serviceTask) {
         final ImportGraphQLProjectInput input = serviceTask.getInput();
-
-        GraphQLExportContainer exportContainer = ExportContainerSerializer.deserialize(input.getProjectRaw(), GraphQLExportContainer.class);
-
-        GraphQLProject project = exportContainer.getProject();
-
-        if(this.repository.exists(project.getId())){
-            throw new IllegalArgumentException("A project with the following key already exists: " + project.getId());
+        if(input.getProjectStream() == null && input.getProjectRaw() == null){
+            throw new IllegalArgumentException("Either the raw project or the project stream has to be provided");
         }
-
-        this.repository.save(project);
-
-        for(GraphQLApplication application : exportContainer.getApplications()){
-            if(this.applicationRepository.exists(application.getId())){
-                throw new IllegalArgumentException("An application with the following key already exists: " + application.getId());
-            }
-
-            this.applicationRepository.save(application);
+        final InputStream inputStream = input.getProjectStream() != null ?
+                input.getProjectStream() :
+                new ByteArrayInputStream(input.getProjectRaw().getBytes(StandardCharsets.UTF_8));
+
+        final GraphQLProject project;
+        try {
+            project = importProject(ExportContainerReader.decompress(inputStream));
+        } catch (IOException e) {
+            LOGGER.error("Unable to import the project", e);
+            throw new IllegalArgumentException("Unable to import the project");
         }
 
-        for(GraphQLQuery query : exportContainer.getQueries()){
-            if(this.queryRepository.exists(query.getId())){
-                throw new IllegalArgumentException("A query with the following key already exists: " + query.getId());
-            }
-
-            this.queryRepository.save(query);
-        }
-
-        for(GraphQLSubscription subscription : exportContainer.getSubscriptions()){
-            if(this.subscriptionRepository.exists(subscription.getId())){
-                throw new IllegalArgumentException("A subscription with the following key already exists: " + subscription.getId());
-            }
-
-            this.subscriptionRepository.save(subscription);
-        }
-
-        for(GraphQLMutation mutation : exportContainer.getMutations()){
-            if(this.mutationRepository.exists(mutation.getId())){
-                throw new IllegalArgumentException("A mutation with the following key already exists: " + mutation.getId());
-            }
-
-            this.mutationRepository.save(mutation);
-        }
+        return createServiceResult(new ImportGraphQLProjectOutput(project));
+    }
 
-        for(GraphQLObjectType objectType : exportContainer.getObjectTypes()){
-            if(this.objectTypeRepository.exists(objectType.getId())){
-                throw new IllegalArgumentException("An object with the following key already exists: " + objectType.getId());
+    /**
+     * Import a project from an input stream. The project is read and persisted
+     * entity by entity in batches, which means that the memory usage is
+     * independent of the size of the project.
+     * @param inputStream The input stream that the project will be read from.
+     * @return The imported project.
+     */
+    private GraphQLProject importProject(final InputStream inputStream) {
+        final ImportBatch<GraphQLApplication> applications = new ImportBatch<>(this.batchSize, this.applicationRepository::saveAll);
+        final ImportBatch<GraphQLObjectType> objectTypes = new ImportBatch<>(this.batchSize, this.objectTypeRepository::saveAll);
+        final ImportBatch<GraphQLEnumType> enumTypes = new ImportBatch<>(this.batchSize, this.enumTypeRepository::saveAll);
+        final ImportBatch<GraphQLQuery> queries = new ImportBatch<>(this.batchSize, this.queryRepository::saveAll);
+        final ImportBatch<GraphQLMutation> mutations = new ImportBatch<>(this.batchSize, this.mutationRepository::saveAll);
+        final ImportBatch<GraphQLSubscription> subscriptions = new ImportBatch<>(this.batchSize, this.subscriptionRepository::saveAll);
+        GraphQLProject project = null;
+        try(ExportContainerReader reader = new ExportContainerReader(inputStream, GraphQLExportContainer.class)){
+            String element;
+            while((element = reader.next()) != null){
+                switch (element) {
+                    case ExportGraphQLProjectService.PROJECT:
+                        project = reader.read(GraphQLProject.class);
+                        if(this.repository.exists(project.getId())){
+                            throw new IllegalArgumentException("A project with the following key already exists: " + project.getId());
+                        }
+                        this.repository.save(project);
+                        break;
+                    case ExportGraphQLProjectService.APPLICATION:
+                        final GraphQLApplication application = reader.read(GraphQLApplication.class);
+                        if(this.applicationRepository.exists(application.getId())){
+                            throw new IllegalArgumentException("An application with the following key already exists: " + application.getId());
+                        }
+                        applications.add(application);
+                        break;
+                    case ExportGraphQLProjectService.OBJECT_TYPE:
+                        final GraphQLObjectType objectType = reader.read(GraphQLObjectType.class);
+                        if(this.objectTypeRepository.exists(objectType.getId())){
+                            throw new IllegalArgumentException("An object with the following key already exists: " + objectType.getId());
+                        }
+                        objectTypes.add(objectType);
+                        break;
+                    case ExportGraphQLProjectService.ENUM_TYPE:
+                        final GraphQLEnumType enumType = reader.read(GraphQLEnumType.class);
+                        if(this.enumTypeRepository.exists(enumType.getId())){
+                            throw new IllegalArgumentException("An enum with the following key already exists: " + enumType.getId());
+                        }
+                        enumTypes.add(enumType);
+                        break;
+                    case ExportGraphQLProjectService.QUERY:
+                        final GraphQLQuery query = reader.read(GraphQLQuery.class);
+                        if(this.queryRepository.exists(query.getId())){
+                            throw new IllegalArgumentException("A query with the following key already exists: " + query.getId());
+                        }
+                        queries.add(query);
+                        break;
+                    case ExportGraphQLProjectService.MUTATION:
+                        final GraphQLMutation mutation = reader.read(GraphQLMutation.class);
+                        if(this.mutationRepository.exists(mutation.getId())){
+                            throw new IllegalArgumentException("A mutation with the following key already exists: " + mutation.getId());
+                        }
+                        mutations.add(mutation);
+                        break;
+                    case ExportGraphQLProjectService.SUBSCRIPTION:
+                        final GraphQLSubscription subscription = reader.read(GraphQLSubscription.class);
+                        if(this.subscriptionRepository.exists(subscription.getId())){
+                            throw new IllegalArgumentException("A subscription with the following key already exists: " + subscription.getId());
+                        }
+                        subscriptions.add(subscription);
+                        break;
+                    default:
+                        // The root element and the list elements
+                        break;
+                }
             }
-
-            this.objectTypeRepository.save(objectType);
         }
 
-        for(GraphQLEnumType enumType : exportContainer.getEnumTypes()){
-            if(this.enumTypeRepository.exists(enumType.getId())){
-                throw new IllegalArgumentException("An enum with the following key already exists: " + enumType.getId());
-            }
+        applications.flush();
+        objectTypes.flush();
+        enumTypes.flush();
+        queries.flush();
+        mutations.flush();
+        subscriptions.flush();
 
-            this.enumTypeRepository.save(enumType);
+        if(project == null){
+            throw new IllegalArgumentException("The imported file does not contain a project");
         }
-
-        return createServiceResult(new ImportGraphQLProjectOutput(project));
+        return project;
     }
 }
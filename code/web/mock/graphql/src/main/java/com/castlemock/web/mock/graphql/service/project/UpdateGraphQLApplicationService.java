@@ -42,6 +42,7 @@ public class UpdateGraphQLApplicationService extends AbstractGraphQLProjectServi
     public ServiceResult<UpdateGraphQLApplicationOutput> process(final ServiceTask<UpdateGraphQLApplicationInput> serviceTask) {
         final UpdateGraphQLApplicationInput input = serviceTask.getInput();
         final GraphQLApplication updatedGraphQLApplication = applicationRepository.save(input.getGraphQLApplication());
+        this.schemaManager.invalidate(updatedGraphQLApplication.getId());
         return createServiceResult(new UpdateGraphQLApplicationOutput(updatedGraphQLApplication));
     }
 }
@@ -48,6 +48,7 @@ public class UpdateGraphQLObjectTypeService extends AbstractGraphQLProjectServic
         for(GraphQLAttribute attribute : objectType.getAttributes()) {
             this.attributeRepository.update(attribute.getId(), attribute);
         }
+        this.schemaManager.invalidate(input.getApplicationId());
         return this.createServiceResult(new UpdateGraphQLObjectTypeOutput());
     }
 }
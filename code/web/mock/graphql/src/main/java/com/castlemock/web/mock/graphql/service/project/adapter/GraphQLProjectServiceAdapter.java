@@ -29,6 +29,8 @@ import com.castlemock.web.mock.graphql.model.GraphQLTypeIdentifier;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -151,6 +153,31 @@ public class GraphQLProjectServiceAdapter implements ProjectServiceAdapter<Graph
         return output.getProject();
     }
 
+    /**
+     * The method provides the functionality to export a project and write it to an output stream.
+     * The project is written entity by entity and is never held in memory as a whole.
+     * @param id The id of the project that will be exported
+     * @param outputStream The output stream that the project will be written to
+     * @since 1.38
+     */
+    @Override
+    public void exportProject(final String id, final OutputStream outputStream) {
+        serviceProcessor.process(new ExportGraphQLProjectInput(id, outputStream));
+    }
+
+    /**
+     * The method provides the functionality to import a project from an input stream.
+     * The project is read and persisted entity by entity and is never held in memory as a whole.
+     * @param inputStream The input stream that the project will be read from
+     * @return The imported project
+     * @since 1.38
+     */
+    @Override
+    public GraphQLProject importProject(final InputStream inputStream) {
+        final ImportGraphQLProjectOutput output = serviceProcessor.process(new ImportGraphQLProjectInput(inputStream));
+        return output.getProject();
+    }
+
     /**
      * Searches for resources that matches the provided query. The matching resources will
      * be returned as a collection of {@link SearchResult}
@@ -16,6 +16,8 @@
 
 package com.castlemock.web.mock.graphql.web.graphql.controller;
 
+import com.castlemock.core.basis.model.event.domain.EventPhase;
+import com.castlemock.core.basis.model.event.domain.EventTimings;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
 import com.castlemock.core.basis.model.http.domain.HttpHeader;
 import com.castlemock.core.mock.graphql.model.event.domain.GraphQLEvent;
@@ -30,19 +32,26 @@ import com.castlemock.core.mock.graphql.service.project.input.IdentifyGraphQLOpe
 import com.castlemock.core.mock.graphql.service.project.output.IdentifyGraphQLOperationOutput;
 import com.castlemock.web.basis.support.HttpMessageSupport;
 import com.castlemock.web.basis.web.AbstractController;
-import com.castlemock.web.mock.graphql.converter.query.QueryGraphQLConverter;
+import com.castlemock.web.mock.graphql.manager.GraphQLQueryManager;
+import com.castlemock.web.mock.graphql.manager.GraphQLSchemaManager;
 import com.castlemock.web.mock.graphql.model.GraphQLException;
+import com.castlemock.web.mock.graphql.model.GraphQLSchemaIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Preconditions;
 import org.apache.log4j.Logger;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -50,10 +59,16 @@ import java.util.Map;
 public abstract class AbstractGraphQLServiceController extends AbstractController {
 
     private static final String GRAPHQL = "graphql";
+    private static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
     private static final Logger LOGGER = Logger.getLogger(AbstractGraphQLServiceController.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
-    private final QueryGraphQLConverter queryConverter = new QueryGraphQLConverter();
     private final GraphQLResponseGenerator generator = new GraphQLResponseGenerator();
+
+    @Autowired
+    private GraphQLSchemaManager schemaManager;
+    @Autowired
+    private GraphQLQueryManager queryManager;
     
     protected ResponseEntity process(final String projectId,
                                      final String applicationId,
@@ -62,13 +77,23 @@ public abstract class AbstractGraphQLServiceController extends AbstractControlle
         try{
             Preconditions.checkNotNull(projectId, "THe project id cannot be null");
             Preconditions.checkNotNull(httpServletRequest, "The HTTP Servlet Request cannot be null");
+            final long startTime = System.nanoTime();
             final GraphQLRequest request = prepareRequest(projectId, httpServletRequest);
+            final long readTime = System.nanoTime();
 
             final IdentifyGraphQLOperationOutput output =
                     serviceProcessor.process(new IdentifyGraphQLOperationInput(projectId, applicationId, request.getQueries()));
+            final long identifyTime = System.nanoTime();
+            final EventTimings timings = new EventTimings();
+            recordPhase(GRAPHQL, projectId, applicationId, timings, EventPhase.READ, readTime - startTime);
+            recordPhase(GRAPHQL, projectId, applicationId, timings, EventPhase.IDENTIFY, identifyTime - readTime);
             final GraphQLApplication application = output.getGraphQLApplication();
             final Map<GraphQLRequestQuery, GraphQLOperation> operations = output.getOperation();
-            return process(projectId, application, operations, request, httpServletResponse);
+            try {
+                return process(projectId, application, operations, request, timings, httpServletResponse);
+            } finally {
+                recordPhase(GRAPHQL, projectId, applicationId, PHASE_TOTAL, System.nanoTime() - startTime);
+            }
         }catch(Exception exception){
             LOGGER.debug("GraphQL service exception: " + exception.getMessage(), exception);
             throw new GraphQLException(exception.getMessage());
@@ -81,12 +106,13 @@ public abstract class AbstractGraphQLServiceController extends AbstractControlle
      * @param projectId The id of the project that the incoming request belongs to
      * @param httpServletRequest The incoming request
      * @return A new created project
+     * @throws IOException If a JSON request body could not be parsed
      */
-    private GraphQLRequest prepareRequest(final String projectId, final HttpServletRequest httpServletRequest) {
+    private GraphQLRequest prepareRequest(final String projectId, final HttpServletRequest httpServletRequest) throws IOException {
         final GraphQLRequest request = new GraphQLRequest();
         final String body = HttpMessageSupport.getBody(httpServletRequest);
 
-        final List<GraphQLRequestQuery> queries = queryConverter.parseQuery(body);
+        final List<GraphQLRequestQuery> queries = getQueries(body, httpServletRequest.getContentType());
         final String serviceUri = httpServletRequest
                 .getRequestURI()
                 .replace(getContext() + SLASH + MOCK + SLASH + GRAPHQL +
@@ -102,20 +128,59 @@ public abstract class AbstractGraphQLServiceController extends AbstractControlle
         return request;
     }
 
+    /**
+     * The method extracts the queries from a request body. The body can either be a
+     * GraphQL query document or a JSON document with a <code>query</code> field.
+     * A JSON document can also identify a persisted query with the hash in
+     * <code>extensions.persistedQuery.sha256Hash</code>, in which case the query
+     * document is only required the first time the hash is used.
+     * @param body The body of the incoming request
+     * @param contentType The content type of the incoming request
+     * @return The queries in the request body
+     * @throws IOException If a JSON request body could not be parsed
+     */
+    private List<GraphQLRequestQuery> getQueries(final String body, final String contentType) throws IOException {
+        if(contentType == null || !contentType.toLowerCase().contains("json")){
+            return queryManager.getQueries(body);
+        }
+
+        final JsonNode node = OBJECT_MAPPER.readTree(body);
+        final String query = node.path("query").textValue();
+        final String hash = node.path("extensions").path("persistedQuery").path("sha256Hash").textValue();
+        if(hash == null){
+            if(query == null){
+                throw new GraphQLException("The request does not contain a query");
+            }
+            return queryManager.getQueries(query);
+        }
+        if(query != null){
+            return queryManager.persistQueries(hash, query);
+        }
+
+        final List<GraphQLRequestQuery> queries = queryManager.getPersistedQueries(hash);
+        if(queries == null){
+            throw new GraphQLException(PERSISTED_QUERY_NOT_FOUND);
+        }
+        return queries;
+    }
+
     /**
      * The process method is responsible for processing the incoming request and
      * finding the appropriate response. The method is also responsible for creating
      * events and storing them.
      * @param application The operation that contain the appropriate mocked response
      * @param request The incoming request
+     * @param timings The timings of the event that represents the incoming request
      * @param httpServletResponse The outgoing HTTP servlet response
-     * @return Returns the response as an String
+     * @return Returns <code>null</code>, since the response has already been written to the HTTP servlet response
+     * @throws IOException If the response could not be written to the HTTP servlet response
      */
     private ResponseEntity process(final String projectId,
                                      final GraphQLApplication application,
                                      final Map<GraphQLRequestQuery, GraphQLOperation> operations,
                                      final GraphQLRequest request,
-                                     final HttpServletResponse httpServletResponse){
+                                     final EventTimings timings,
+                                     final HttpServletResponse httpServletResponse) throws IOException {
         Preconditions.checkNotNull(request, "Request cannot be null");
         if(application == null){
             throw new GraphQLException("GraphQL project could not be found");
@@ -132,18 +197,18 @@ public abstract class AbstractGraphQLServiceController extends AbstractControlle
             }
             */
 
-            response = mockResponse(request, application, operations);
+            final GraphQLSchemaIndex schema = schemaManager.getSchema(application);
             event = new GraphQLEvent(request, projectId, application.getId());
+            event.setTimings(timings);
 
-            HttpHeaders responseHeaders = new HttpHeaders();
-            for(HttpHeader httpHeader : response.getHttpHeaders()){
-                List<String> headerValues = new LinkedList<String>();
-                headerValues.add(httpHeader.getValue());
-                responseHeaders.put(httpHeader.getName(), headerValues);
-            }
+            final long renderTime = System.nanoTime();
+            response = mockResponse(request, schema, operations, httpServletResponse);
+            recordPhase(GRAPHQL, projectId, application.getId(), timings, EventPhase.RENDER, System.nanoTime() - renderTime);
 
-            return new ResponseEntity<String>(response.getBody(), responseHeaders,
-                    HttpStatus.valueOf(response.getHttpStatusCode()));
+            final long writeTime = System.nanoTime();
+            httpServletResponse.flushBuffer();
+            recordPhase(GRAPHQL, projectId, application.getId(), timings, EventPhase.WRITE, System.nanoTime() - writeTime);
+            return null;
         } finally{
             if(event != null){
                 event.finish(response);
@@ -164,24 +229,63 @@ public abstract class AbstractGraphQLServiceController extends AbstractControlle
 
 
     /**
-     * The method is responsible for retrieving and returning a mocked response for the provided operation
+     * The method is responsible for generating a mocked response for the provided operations.
+     * The response is streamed directly to the HTTP servlet response.
      *
-     * @param request
-     * @param application The GraphQL application that is being executed. The response is based on
-     *                         the provided GraphQL operation.
-     * @return A mocked response based on the provided GraphQL operation
+     * @param request The incoming request
+     * @param schema The compiled schema of the GraphQL application that is being executed.
+     *               The response is based on the provided GraphQL operations.
+     * @param operations The operations that the response will be generated for
+     * @param httpServletResponse The outgoing HTTP servlet response that the response will be written to
+     * @return A mocked response based on the provided GraphQL operations
+     * @throws IOException If the response could not be written to the HTTP servlet response
      */
     private GraphQLResponse mockResponse(final GraphQLRequest request,
-                                         final GraphQLApplication application,
-                                         final Map<GraphQLRequestQuery, GraphQLOperation> operations){
-        final String output = generator.getResponse(application, new ArrayList<>(operations.keySet()));
-
+                                         final GraphQLSchemaIndex schema,
+                                         final Map<GraphQLRequestQuery, GraphQLOperation> operations,
+                                         final HttpServletResponse httpServletResponse) throws IOException {
         final GraphQLResponse response = new GraphQLResponse();
-        response.setBody(output);
         response.setContentType("application/json");
         response.setHttpStatusCode(200);
         response.setHttpHeaders(new ArrayList<>());
+
+        httpServletResponse.setStatus(response.getHttpStatusCode());
+        httpServletResponse.setContentType(response.getContentType());
+        httpServletResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        for(HttpHeader httpHeader : response.getHttpHeaders()){
+            httpServletResponse.addHeader(httpHeader.getName(), httpHeader.getValue());
+        }
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        generator.writeResponse(schema, new ArrayList<>(operations.keySet()),
+                new CopyingOutputStream(httpServletResponse.getOutputStream(), body));
+        response.setBody(new String(body.toByteArray(), StandardCharsets.UTF_8));
         return response;
+    }
 
+    /**
+     * Output stream that writes to a target output stream and keeps a copy
+     * of everything that has been written, which is used for the event body.
+     */
+    private static class CopyingOutputStream extends FilterOutputStream {
+
+        private final OutputStream copy;
+
+        private CopyingOutputStream(final OutputStream target, final OutputStream copy) {
+            super(target);
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            copy.write(b, off, len);
+        }
     }
 }
@@ -17,70 +17,75 @@
 package com.castlemock.web.mock.graphql.web.graphql.controller;
 
 import com.castlemock.core.mock.graphql.model.project.domain.*;
+import com.castlemock.web.mock.graphql.model.GraphQLSchemaIndex;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Random;
 
 
 public class GraphQLResponseGenerator {
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     private Random random = new Random();
 
     public String getResponse(final GraphQLApplication application,
                               final List<GraphQLRequestQuery> queries){
-        OutputStream output = new OutputStream()
-        {
-            private StringBuilder string = new StringBuilder();
-            @Override
-            public void write(int b) {
-                this.string.append((char) b );
-            }
-
-            public String toString(){
-                return this.string.toString();
-            }
-        };
-
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
         try {
-            JsonFactory factory = new JsonFactory();
-            JsonGenerator generator = factory.createGenerator(output);
-            generator.setPrettyPrinter(new DefaultPrettyPrinter());
-
-            generator.writeStartObject();
-            generator.writeObjectFieldStart("data");
-
-            for(GraphQLRequestQuery query : queries){
-                printQuery(query, application, generator);
-            }
-
-            generator.writeEndObject();
-            generator.writeEndObject();
-
-            generator.flush();
-            generator.close();
-            return output.toString();
+            writeResponse(new GraphQLSchemaIndex(application), queries, output);
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
         } catch (IOException e) {
             e.printStackTrace();
         }
 
+        return null;
+    }
+
+    /**
+     * The method generates a response for the provided queries and writes it
+     * as UTF-8 encoded JSON to the provided output stream.
+     * @param schema The compiled schema of the application that the queries belong to.
+     * @param queries The queries that the response will be generated for.
+     * @param output The output stream that the response will be written to. The output stream
+     *               will not be closed.
+     * @throws IOException If the response could not be written to the output stream.
+     */
+    public void writeResponse(final GraphQLSchemaIndex schema,
+                              final List<GraphQLRequestQuery> queries,
+                              final OutputStream output) throws IOException {
+        final JsonGenerator generator = JSON_FACTORY.createGenerator(output, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setPrettyPrinter(new DefaultPrettyPrinter());
 
+        generator.writeStartObject();
+        generator.writeObjectFieldStart("data");
 
+        for(GraphQLRequestQuery query : queries){
+            printQuery(query, schema, generator);
+        }
 
-        return null;
+        generator.writeEndObject();
+        generator.writeEndObject();
+
+        generator.close();
     }
 
     private void printQuery(final GraphQLRequestQuery query,
-                            final GraphQLApplication application,
+                            final GraphQLSchemaIndex schema,
                             final JsonGenerator generator) throws IOException {
 
-        GraphQLQuery operation = getQuery(query.getOperationName(), application);
+        GraphQLOperation operation = schema.getOperation(query.getOperationType(), query.getOperationName());
         GraphQLResult result = operation.getResult();
-        GraphQLType type = getObject(result.getTypeName(), application);
+        GraphQLType type = schema.getObject(result.getTypeName());
 
 
         generator.writeFieldName(query.getOperationName());
@@ -89,7 +94,7 @@ public class GraphQLResponseGenerator {
         }
 
         generator.writeStartObject();
-        printType(type, query.getFields(), application, generator);
+        printType(type, query.getFields(), schema, generator);
         generator.writeEndObject();
 
         if(result.getListable()){
@@ -101,12 +106,12 @@ public class GraphQLResponseGenerator {
 
     private void printType(final GraphQLType type,
                            final List<GraphQLRequestField> fields,
-                           final GraphQLApplication application,
+                           final GraphQLSchemaIndex schema,
                            final JsonGenerator generator) throws IOException {
 
         if(type instanceof GraphQLObjectType){
             GraphQLObjectType objectType = (GraphQLObjectType) type;
-            printObjectType(objectType, fields, application, generator);
+            printObjectType(objectType, fields, schema, generator);
         } else if(type instanceof GraphQLEnumType){
             GraphQLEnumType enumType = (GraphQLEnumType) type;
             printEnumType(enumType, generator);
@@ -115,16 +120,16 @@ public class GraphQLResponseGenerator {
 
     private void printObjectType(final GraphQLObjectType type,
                                  final List<GraphQLRequestField> fields,
-                                 final GraphQLApplication application,
+                                 final GraphQLSchemaIndex schema,
                                  final JsonGenerator generator) throws IOException{
         if(fields != null && !fields.isEmpty()){
             for(GraphQLRequestField field : fields){
-                GraphQLAttribute attribute = getAttribute(field.getName(), type);
-                printAttribute(attribute, field.getFields(), application, generator);
+                GraphQLAttribute attribute = schema.getAttribute(type, field.getName());
+                printAttribute(attribute, field.getFields(), schema, generator);
             }
         } else {
             for(GraphQLAttribute attribute : type.getAttributes()){
-                printAttribute(attribute, null, application, generator);
+                printAttribute(attribute, null, schema, generator);
             }
         }
 
@@ -143,31 +148,31 @@ public class GraphQLResponseGenerator {
 
     private void printAttribute(final GraphQLAttribute attribute,
                                final List<GraphQLRequestField> fields,
-                                final GraphQLApplication application,
+                                final GraphQLSchemaIndex schema,
                             final JsonGenerator generator) throws IOException {
         GraphQLAttributeType type = attribute.getAttributeType();
 
         switch (type){
             case OBJECT_TYPE:
-                printObjectType(attribute, fields, application, generator);
+                printObjectType(attribute, fields, schema, generator);
                 break;
             case STRING:
-                printString(attribute, application, generator);
+                printString(attribute, schema, generator);
                 break;
             case ID:
-                printId(attribute, application, generator);
+                printId(attribute, schema, generator);
                 break;
             case INT:
-                printInt(attribute, application, generator);
+                printInt(attribute, schema, generator);
                 break;
             case FLOAT:
-                printFloat(attribute, application, generator);
+                printFloat(attribute, schema, generator);
                 break;
             case BOOLEAN:
-                printBoolean(attribute, application, generator);
+                printBoolean(attribute, schema, generator);
                 break;
             case ENUM:
-                printEnum(attribute, application, generator);
+                printEnum(attribute, schema, generator);
                 break;
         }
     }
@@ -190,9 +195,9 @@ public class GraphQLResponseGenerator {
 
     private void printObjectType(final GraphQLAttribute attribute,
                                  final List<GraphQLRequestField> fields,
-                                 final GraphQLApplication application,
+                                 final GraphQLSchemaIndex schema,
                                  final JsonGenerator generator) throws IOException {
-        GraphQLType type = getObject(attribute.getTypeName(),application);
+        GraphQLType type = schema.getObject(attribute.getTypeName());
 
         if(!(type instanceof GraphQLObjectType)){
             throw new IllegalArgumentException("Invalid type");
@@ -202,13 +207,13 @@ public class GraphQLResponseGenerator {
 
         printStartType(attribute, generator);
         generator.writeStartObject();
-        printObjectType(objectType, fields, application, generator);
+        printObjectType(objectType, fields, schema, generator);
         generator.writeEndObject();
         printEndType(attribute, generator);
     }
 
     private void printString(final GraphQLAttribute attribute,
-                             final GraphQLApplication application,
+                             final GraphQLSchemaIndex schema,
                                  final JsonGenerator generator) throws IOException {
         printStartType(attribute, generator);
         generator.writeObject("String");
@@ -216,7 +221,7 @@ public class GraphQLResponseGenerator {
     }
 
     private void printId(final GraphQLAttribute attribute,
-                         final GraphQLApplication application,
+                         final GraphQLSchemaIndex schema,
                                  final JsonGenerator generator) throws IOException {
         printStartType(attribute, generator);
         generator.writeObject("Id");
@@ -224,7 +229,7 @@ public class GraphQLResponseGenerator {
     }
 
     private void printInt(final GraphQLAttribute attribute,
-                          final GraphQLApplication application,
+                          final GraphQLSchemaIndex schema,
                                  final JsonGenerator generator) throws IOException {
         printStartType(attribute, generator);
         generator.writeObject("Int");
@@ -232,7 +237,7 @@ public class GraphQLResponseGenerator {
     }
 
     private void printFloat(final GraphQLAttribute attribute,
-                            final GraphQLApplication application,
+                            final GraphQLSchemaIndex schema,
                                  final JsonGenerator generator) throws IOException {
         printStartType(attribute, generator);
         generator.writeObject("Float");
@@ -240,7 +245,7 @@ public class GraphQLResponseGenerator {
     }
 
     private void printBoolean(final GraphQLAttribute attribute,
-                                 final GraphQLApplication application,
+                                 final GraphQLSchemaIndex schema,
                                  final JsonGenerator generator) throws IOException {
         printStartType(attribute, generator);
         generator.writeObject("Boolean");
@@ -248,57 +253,12 @@ public class GraphQLResponseGenerator {
     }
 
     private void printEnum(final GraphQLAttribute attribute,
-                                 final GraphQLApplication application,
+                                 final GraphQLSchemaIndex schema,
                                  final JsonGenerator generator) throws IOException {
-        GraphQLEnumType type = getEnum(attribute.getTypeName(),application);
+        GraphQLEnumType type = schema.getEnum(attribute.getTypeName());
         printStartType(attribute, generator);
         printEnumType(type, generator);
         printEndType(attribute, generator);
     }
 
-
-    private GraphQLQuery getQuery(final String queryName,
-                                  final GraphQLApplication application){
-        for(GraphQLQuery query : application.getQueries()){
-            if(query.getName().equals(queryName)){
-                return query;
-            }
-        }
-
-        return null;
-    }
-
-    private GraphQLType getObject(final String typeName,
-                                  final GraphQLApplication application){
-        for(GraphQLObjectType type : application.getObjects()){
-            if(type.getName().equals(typeName)){
-                return type;
-            }
-        }
-
-        return null;
-    }
-
-    private GraphQLEnumType getEnum(final String typeName,
-                                    final GraphQLApplication application){
-        for(GraphQLEnumType type : application.getEnums()){
-            if(type.getName().equals(typeName)){
-                return type;
-            }
-        }
-
-        return null;
-    }
-
-    private GraphQLAttribute getAttribute(final String attributeName,
-                                          final GraphQLObjectType type){
-        for(GraphQLAttribute attribute : type.getAttributes()){
-            if(attribute.getName().equals(attributeName)){
-                return attribute;
-            }
-        }
-
-        return null;
-    }
-
 }
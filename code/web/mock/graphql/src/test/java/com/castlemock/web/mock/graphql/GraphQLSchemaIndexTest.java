@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.mock.graphql;
+
+import com.castlemock.core.mock.graphql.model.project.domain.GraphQLApplication;
+import com.castlemock.core.mock.graphql.model.project.domain.GraphQLObjectType;
+import com.castlemock.web.mock.graphql.converter.GraphQLDefinitionConverterResult;
+import com.castlemock.web.mock.graphql.converter.schema.SchemaGraphQLDefinitionConverter;
+import com.castlemock.web.mock.graphql.model.GraphQLSchemaIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GraphQLSchemaIndexTest {
+
+    private static final String SCHEMA = "type Film {\n" +
+            "  id: ID\n" +
+            "  title: String\n" +
+            "}\n" +
+            "enum Status {\n" +
+            "  ACTIVE \n" +
+            "  INACTIVE\n" +
+            "}\n" +
+            "type Query {\n" +
+            "  film(id: Int): Film\n" +
+            "}";
+
+    @Test
+    public void testIndex(){
+        final SchemaGraphQLDefinitionConverter schemaConverter = new SchemaGraphQLDefinitionConverter(null);
+        final GraphQLDefinitionConverterResult result = schemaConverter.convertRaw(SCHEMA);
+        final GraphQLApplication application = new GraphQLApplication();
+        application.setQueries(result.getQueries());
+        application.setObjects(result.getObjects());
+        application.setEnums(result.getEnums());
+
+        final GraphQLSchemaIndex schema = new GraphQLSchemaIndex(application);
+        final GraphQLObjectType film = schema.getObject("Film");
+
+        Assert.assertNotNull(film);
+        Assert.assertEquals("film", schema.getQuery("film").getName());
+        Assert.assertEquals("Status", schema.getEnum("Status").getName());
+        Assert.assertEquals("title", schema.getAttribute(film, "title").getName());
+        Assert.assertNull(schema.getAttribute(film, "actor"));
+        Assert.assertNull(schema.getQuery("actor"));
+        Assert.assertNull(schema.getObject("Actor"));
+    }
+
+}
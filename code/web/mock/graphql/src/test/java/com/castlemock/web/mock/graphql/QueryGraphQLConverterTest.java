@@ -17,6 +17,7 @@
 
 package com.castlemock.web.mock.graphql;
 
+import com.castlemock.core.mock.graphql.model.project.domain.GraphQLOperationType;
 import com.castlemock.core.mock.graphql.model.project.domain.GraphQLRequestQuery;
 import com.castlemock.web.mock.graphql.converter.query.QueryGraphQLConverter;
 import org.junit.Assert;
@@ -48,4 +49,25 @@ public class QueryGraphQLConverterTest {
         Assert.assertNotNull(queries);
     }
 
+    @Test
+    public void testQueryParserSeveralOperations(){
+        final QueryGraphQLConverter converter = new QueryGraphQLConverter();
+        final List<GraphQLRequestQuery> queries = converter.parseQuery("query Films {\n" +
+                "  film(id: 3){\n" +
+                "    title\n" +
+                "  }\n" +
+                "}\n" +
+                "mutation AddFilm {\n" +
+                "  addFilm(title: \"Film\"){\n" +
+                "    id\n" +
+                "  }\n" +
+                "}");
+
+        Assert.assertEquals(2, queries.size());
+        Assert.assertEquals("film", queries.get(0).getOperationName());
+        Assert.assertEquals(GraphQLOperationType.QUERY, queries.get(0).getOperationType());
+        Assert.assertEquals("addFilm", queries.get(1).getOperationName());
+        Assert.assertEquals(GraphQLOperationType.MUTATION, queries.get(1).getOperationType());
+    }
+
 }
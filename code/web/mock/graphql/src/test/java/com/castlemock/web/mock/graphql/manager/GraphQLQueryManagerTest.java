@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.mock.graphql.manager;
+
+import com.castlemock.core.basis.utility.HashUtility;
+import com.castlemock.core.mock.graphql.model.project.domain.GraphQLRequestQuery;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class GraphQLQueryManagerTest {
+
+    private static final String QUERY = "{\n" +
+            "  film(id: 3){\n" +
+            "    title\n" +
+            "  }\n" +
+            "}";
+
+    @Test
+    public void testGetQueries(){
+        final GraphQLQueryManager manager = new GraphQLQueryManager(10);
+        final List<GraphQLRequestQuery> queries = manager.getQueries(QUERY);
+
+        Assert.assertEquals(1, queries.size());
+        Assert.assertEquals("film", queries.get(0).getOperationName());
+        Assert.assertSame(queries, manager.getQueries(QUERY));
+        Assert.assertSame(queries, manager.getQueries("{ film(id: 3){ title } # Comment\n}"));
+    }
+
+    @Test
+    public void testGetQueriesEvicted(){
+        final GraphQLQueryManager manager = new GraphQLQueryManager(1);
+        final List<GraphQLRequestQuery> queries = manager.getQueries(QUERY);
+        manager.getQueries("{ actor { name } }");
+
+        Assert.assertNotSame(queries, manager.getQueries(QUERY));
+    }
+
+    @Test
+    public void testPersistedQueries(){
+        final GraphQLQueryManager manager = new GraphQLQueryManager(10);
+        final String hash = HashUtility.hash(QUERY);
+
+        Assert.assertNull(manager.getPersistedQueries(hash));
+        final List<GraphQLRequestQuery> queries = manager.persistQueries(hash, QUERY);
+        Assert.assertSame(queries, manager.getPersistedQueries(hash));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPersistQueriesInvalidHash(){
+        final GraphQLQueryManager manager = new GraphQLQueryManager(10);
+        manager.persistQueries(HashUtility.hash("{ actor { name } }"), QUERY);
+    }
+
+    @Test
+    public void testNormalize(){
+        Assert.assertEquals("{ film(id: 3) { title } }", GraphQLQueryManager.normalize(QUERY.replace("){", ") {")));
+        Assert.assertEquals("{ film(name: \"a  b\") }", GraphQLQueryManager.normalize("{ film(name:   \"a  b\")\n}"));
+        Assert.assertEquals("{ film }", GraphQLQueryManager.normalize("# Comment\n{ film, # Comment\n}"));
+    }
+
+}
@@ -16,9 +16,11 @@
 
 package com.castlemock.web.mock.rest.service.event;
 
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.mock.rest.model.event.domain.RestEvent;
 import com.castlemock.repository.rest.event.RestEventRepository;
 import com.castlemock.web.basis.service.event.AbstractEventService;
+import com.castlemock.web.mock.rest.model.RestTypeIdentifier;
 import org.springframework.stereotype.Service;
 
 /**
@@ -29,6 +31,28 @@ import org.springframework.stereotype.Service;
 @Service
 public class AbstractRestEventService extends AbstractEventService<RestEvent, RestEventRepository> {
 
+    private static final RestTypeIdentifier TYPE_IDENTIFIER = new RestTypeIdentifier();
 
-}
+    /**
+     * Create a summary of a REST event without the request and the response.
+     * The summary does not contain a resource link.
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    @Override
+    protected EventSummary toSummary(final RestEvent event){
+        final EventSummary summary = super.toSummary(event);
+        summary.setTypeIdentifier(TYPE_IDENTIFIER);
+        summary.setProjectId(event.getProjectId());
+        summary.setApplicationId(event.getApplicationId());
+        summary.setResourceId(event.getResourceId());
+        summary.setOperationId(event.getMethodId());
+        if(event.getResponse() != null){
+            summary.setStatusCode(event.getResponse().getHttpStatusCode());
+            summary.setMockResponseName(event.getResponse().getMockResponseName());
+        }
+        return summary;
+    }
 
+}
@@ -49,6 +49,7 @@ public class CreateRestEventService extends AbstractRestEventService implements
             repository.deleteOldestEvent();
         }
         final RestEvent createdRestEvent = save(input.getRestEvent());
+        publish(createdRestEvent);
         return createServiceResult(CreateRestEventOutput.builder()
                 .createdRestEvent(createdRestEvent)
                 .build());
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.castlemock.web.mock.rest.service.event;
+
+import com.castlemock.core.basis.model.Service;
+import com.castlemock.core.basis.model.ServiceResult;
+import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
+import com.castlemock.core.mock.rest.service.event.input.ReadRestEventSummariesInput;
+import com.castlemock.core.mock.rest.service.event.output.ReadRestEventSummariesOutput;
+
+import java.util.List;
+
+/**
+ * The service provides the functionality to retrieve a page of REST event summaries. The
+ * summaries do not contain the request and response bodies.
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+@org.springframework.stereotype.Service
+public class ReadRestEventSummariesService extends AbstractRestEventService implements Service<ReadRestEventSummariesInput, ReadRestEventSummariesOutput> {
+
+    /**
+     * The process message is responsible for processing an incoming serviceTask and generate
+     * a response based on the incoming serviceTask input
+     * @param serviceTask The serviceTask that will be processed by the service
+     * @return A result based on the processed incoming serviceTask
+     * @see ServiceTask
+     * @see ServiceResult
+     */
+    @Override
+    public ServiceResult<ReadRestEventSummariesOutput> process(final ServiceTask<ReadRestEventSummariesInput> serviceTask) {
+        final ReadRestEventSummariesInput input = serviceTask.getInput();
+        final List<EventSummary> events = repository.findSummaries(input.getQuery());
+        return createServiceResult(ReadRestEventSummariesOutput.builder()
+                .events(events)
+                .build());
+    }
+}
@@ -19,12 +19,16 @@ package com.castlemock.web.mock.rest.service.event.adapter;
 import com.castlemock.core.basis.model.ServiceProcessor;
 import com.castlemock.core.basis.model.TypeIdentifier;
 import com.castlemock.core.basis.model.event.domain.Event;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.basis.service.event.EventServiceAdapter;
 import com.castlemock.core.mock.rest.model.event.domain.RestEvent;
 import com.castlemock.core.mock.rest.service.event.input.ClearAllRestEventInput;
 import com.castlemock.core.mock.rest.service.event.input.ReadAllRestEventInput;
+import com.castlemock.core.mock.rest.service.event.input.ReadRestEventSummariesInput;
 import com.castlemock.core.mock.rest.service.event.input.ReadRestEventInput;
 import com.castlemock.core.mock.rest.service.event.output.ReadAllRestEventOutput;
+import com.castlemock.core.mock.rest.service.event.output.ReadRestEventSummariesOutput;
 import com.castlemock.core.mock.rest.service.event.output.ReadRestEventOutput;
 import com.castlemock.web.mock.rest.model.RestTypeIdentifier;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -159,6 +163,33 @@ public class RestEventServiceAdapter implements EventServiceAdapter<RestEvent> {
         return SLASH + WEB + SLASH + REST + SLASH + PROJECT + SLASH + restEvent.getProjectId() + SLASH + APPLICATION + SLASH + restEvent.getApplicationId() + SLASH + RESOURCE + SLASH + restEvent.getResourceId() + SLASH + METHOD + SLASH + restEvent.getMethodId();
     }
 
+    /**
+     * The method retrieves a page of event summaries that match the provided query.
+     * @param query The query that the events have to match.
+     * @return A list of event summaries, with the newest event first.
+     * @since 1.38
+     */
+    @Override
+    public List<EventSummary> readSummaries(final EventQuery query) {
+        final ReadRestEventSummariesOutput output = serviceProcessor.process(ReadRestEventSummariesInput.builder()
+                .query(query)
+                .build());
+        for(EventSummary summary : output.getEvents()){
+            summary.setTypeIdentifier(getTypeIdentifier());
+            summary.setResourceLink(generateResourceLink(summary));
+        }
+        return output.getEvents();
+    }
+
+    /**
+     * The method generates the resource link for an event summary.
+     * @param summary The event summary which will be used to generate the resource link
+     * @return The resource link generated based on the event summary
+     */
+    private String generateResourceLink(final EventSummary summary) {
+        return SLASH + WEB + SLASH + REST + SLASH + PROJECT + SLASH + summary.getProjectId() + SLASH + APPLICATION + SLASH + summary.getApplicationId() + SLASH + RESOURCE + SLASH + summary.getResourceId() + SLASH + METHOD + SLASH + summary.getOperationId();
+    }
+
     /**
      * The method will clear and remove all previous events.
      * @since 1.7
@@ -18,15 +18,18 @@ package com.castlemock.web.mock.rest.service.project;
 
 import com.castlemock.core.mock.rest.model.project.domain.*;
 import com.castlemock.repository.rest.project.*;
+import com.castlemock.web.basis.manager.EventPolicyManager;
 import com.castlemock.web.basis.service.AbstractService;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 /**
@@ -43,51 +46,100 @@ public abstract class AbstractRestProjectService extends AbstractService<RestPro
     protected RestMethodRepository methodRepository;
     @Autowired
     protected RestMockResponseRepository mockResponseRepository;
+    @Autowired
+    protected EventPolicyManager eventPolicyManager;
 
 
     protected RestProject deleteProject(final String projectId){
-        final List<RestApplication> applications = this.applicationRepository.findWithProjectId(projectId);
-
-        applications.stream()
+        final List<String> applicationIds = this.applicationRepository.findWithProjectId(projectId).stream()
                 .map(RestApplication::getId)
-                .forEach(this::deleteApplication);
+                .collect(toList());
 
-        return this.repository.delete(projectId);
+        deleteApplications(applicationIds);
+        final RestProject project = this.repository.delete(projectId);
+        this.eventPolicyManager.invalidate(projectId);
+        return project;
     }
 
     protected RestApplication deleteApplication(final String applicationId){
-        final List<RestResource> resources = this.resourceRepository.findWithApplicationId(applicationId);
-
-        resources.stream()
-                .map(RestResource::getId)
-                .forEach(this::deleteResource);
-
+        deleteResources(findResourceIds(Collections.singletonList(applicationId)));
         return this.applicationRepository.delete(applicationId);
     }
 
-    protected RestResource deleteResource(final String resourceId){
-        final List<RestMethod> methods = this.methodRepository.findWithResourceId(resourceId);
+    /**
+     * Delete several applications together with their resources, methods and mock responses.
+     * Each level of the hierarchy is deleted in a single batch.
+     * @param applicationIds The ids of the applications that will be deleted.
+     * @return The deleted applications.
+     * @since 1.38
+     */
+    protected List<RestApplication> deleteApplications(final List<String> applicationIds){
+        deleteResources(findResourceIds(applicationIds));
+        return this.applicationRepository.deleteAll(applicationIds);
+    }
 
-        methods.stream()
-                .map(RestMethod::getId)
-                .forEach(this::deleteMethod);
+    protected RestResource deleteResource(final String resourceId){
+        deleteMethods(findMethodIds(Collections.singletonList(resourceId)));
         return this.resourceRepository.delete(resourceId);
     }
 
-    protected RestMethod deleteMethod(final String methodId){
-        final List<RestMockResponse> responses = this.mockResponseRepository.findWithMethodId(methodId);
-
-        responses.stream()
-                .map(RestMockResponse::getId)
-                .forEach(this::deleteMockResponse);
+    /**
+     * Delete several resources together with their methods and mock responses.
+     * Each level of the hierarchy is deleted in a single batch.
+     * @param resourceIds The ids of the resources that will be deleted.
+     * @return The deleted resources.
+     * @since 1.38
+     */
+    protected List<RestResource> deleteResources(final List<String> resourceIds){
+        deleteMethods(findMethodIds(resourceIds));
+        return this.resourceRepository.deleteAll(resourceIds);
+    }
 
+    protected RestMethod deleteMethod(final String methodId){
+        this.mockResponseRepository.deleteAll(findMockResponseIds(Collections.singletonList(methodId)));
         return this.methodRepository.delete(methodId);
     }
 
+    /**
+     * Delete several methods together with their mock responses.
+     * Each level of the hierarchy is deleted in a single batch.
+     * @param methodIds The ids of the methods that will be deleted.
+     * @return The deleted methods.
+     * @since 1.38
+     */
+    protected List<RestMethod> deleteMethods(final List<String> methodIds){
+        this.mockResponseRepository.deleteAll(findMockResponseIds(methodIds));
+        return this.methodRepository.deleteAll(methodIds);
+    }
+
     protected RestMockResponse deleteMockResponse(final String mockReponseId){
         return this.mockResponseRepository.delete(mockReponseId);
     }
 
+    private List<String> findResourceIds(final List<String> applicationIds){
+        return applicationIds.stream()
+                .map(this.resourceRepository::findWithApplicationId)
+                .flatMap(List::stream)
+                .map(RestResource::getId)
+                .collect(toList());
+    }
+
+    private List<String> findMethodIds(final List<String> resourceIds){
+        return resourceIds.stream()
+                .map(this.methodRepository::findWithResourceId)
+                .flatMap(List::stream)
+                .map(RestMethod::getId)
+                .collect(toList());
+    }
+
+    private List<String> findMockResponseIds(final List<String> methodIds){
+        return methodIds.stream()
+                .map(this.mockResponseRepository::findWithMethodId)
+                .flatMap(List::stream)
+                .map(RestMockResponse::getId)
+                .collect(toList());
+    }
+
 
     /**
      * Updates a project with new information
@@ -105,7 +157,10 @@ public abstract class AbstractRestProjectService extends AbstractService<RestPro
         final RestProject project = find(restProjectId);
         project.setName(updatedProject.getName());
         project.setDescription(updatedProject.getDescription());
-        return super.save(project);
+        project.setEventPolicy(updatedProject.getEventPolicy());
+        final RestProject savedProject = super.save(project);
+        this.eventPolicyManager.invalidate(restProjectId);
+        return savedProject;
     }
 
 
@@ -23,6 +23,8 @@ import com.castlemock.core.mock.rest.model.project.domain.RestApplication;
 import com.castlemock.core.mock.rest.service.project.input.DeleteRestApplicationsInput;
 import com.castlemock.core.mock.rest.service.project.output.DeleteRestApplicationsOutput;
 
+import java.util.stream.Collectors;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -41,9 +43,9 @@ public class DeleteRestApplicationsService extends AbstractRestProjectService im
     @Override
     public ServiceResult<DeleteRestApplicationsOutput> process(final ServiceTask<DeleteRestApplicationsInput> serviceTask) {
         final DeleteRestApplicationsInput input = serviceTask.getInput();
-        for(RestApplication restApplication : input.getRestApplications()){
-            this.deleteApplication(restApplication.getId());
-        }
+        this.deleteApplications(input.getRestApplications().stream()
+                .map(RestApplication::getId)
+                .collect(Collectors.toList()));
         return createServiceResult(DeleteRestApplicationsOutput.builder().build());
     }
 }
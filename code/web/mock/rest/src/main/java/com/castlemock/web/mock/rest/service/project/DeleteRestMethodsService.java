@@ -23,6 +23,8 @@ import com.castlemock.core.mock.rest.model.project.domain.RestMethod;
 import com.castlemock.core.mock.rest.service.project.input.DeleteRestMethodsInput;
 import com.castlemock.core.mock.rest.service.project.output.DeleteRestMethodsOutput;
 
+import java.util.stream.Collectors;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -41,9 +43,9 @@ public class DeleteRestMethodsService extends AbstractRestProjectService impleme
     @Override
     public ServiceResult<DeleteRestMethodsOutput> process(final ServiceTask<DeleteRestMethodsInput> serviceTask) {
         final DeleteRestMethodsInput input = serviceTask.getInput();
-        for(RestMethod restMethod : input.getRestMethods()){
-            this.deleteMethod(restMethod.getId());
-        }
+        this.deleteMethods(input.getRestMethods().stream()
+                .map(RestMethod::getId)
+                .collect(Collectors.toList()));
         return createServiceResult(DeleteRestMethodsOutput.builder().build());
     }
 }
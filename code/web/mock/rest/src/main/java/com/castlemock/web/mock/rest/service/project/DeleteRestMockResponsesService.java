@@ -23,6 +23,8 @@ import com.castlemock.core.mock.rest.model.project.domain.RestMockResponse;
 import com.castlemock.core.mock.rest.service.project.input.DeleteRestMockResponsesInput;
 import com.castlemock.core.mock.rest.service.project.output.DeleteRestMockResponsesOutput;
 
+import java.util.stream.Collectors;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -41,9 +43,9 @@ public class DeleteRestMockResponsesService extends AbstractRestProjectService i
     @Override
     public ServiceResult<DeleteRestMockResponsesOutput> process(final ServiceTask<DeleteRestMockResponsesInput> serviceTask) {
         final DeleteRestMockResponsesInput input = serviceTask.getInput();
-        for(RestMockResponse restMockResponse : input.getRestMockResponses()){
-            this.deleteMockResponse(restMockResponse.getId());
-        }
+        this.mockResponseRepository.deleteAll(input.getRestMockResponses().stream()
+                .map(RestMockResponse::getId)
+                .collect(Collectors.toList()));
         return createServiceResult(DeleteRestMockResponsesOutput.builder().build());
     }
 }
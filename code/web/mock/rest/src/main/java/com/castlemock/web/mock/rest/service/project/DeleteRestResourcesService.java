@@ -23,6 +23,8 @@ import com.castlemock.core.mock.rest.model.project.domain.RestResource;
 import com.castlemock.core.mock.rest.service.project.input.DeleteRestResourcesInput;
 import com.castlemock.core.mock.rest.service.project.output.DeleteRestResourcesOutput;
 
+import java.util.stream.Collectors;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -41,9 +43,9 @@ public class DeleteRestResourcesService extends AbstractRestProjectService imple
     @Override
     public ServiceResult<DeleteRestResourcesOutput> process(final ServiceTask<DeleteRestResourcesInput> serviceTask) {
         final DeleteRestResourcesInput input = serviceTask.getInput();
-        for(RestResource restResource : input.getRestResources()){
-            this.deleteResource(restResource.getId());
-        }
+        this.deleteResources(input.getRestResources().stream()
+                .map(RestResource::getId)
+                .collect(Collectors.toList()));
         return createServiceResult(DeleteRestResourcesOutput.builder().build());
     }
 }
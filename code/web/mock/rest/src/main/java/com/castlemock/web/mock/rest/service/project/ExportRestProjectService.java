@@ -19,11 +19,15 @@ package com.castlemock.web.mock.rest.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
-import com.castlemock.core.basis.utility.serializer.ExportContainerSerializer;
+import com.castlemock.core.basis.utility.serializer.ExportContainerWriter;
 import com.castlemock.core.mock.rest.model.RestExportContainer;
 import com.castlemock.core.mock.rest.model.project.domain.*;
 import com.castlemock.core.mock.rest.service.project.input.ExportRestProjectInput;
 import com.castlemock.core.mock.rest.service.project.output.ExportRestProjectOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +38,16 @@ import java.util.List;
 @org.springframework.stereotype.Service
 public class ExportRestProjectService extends AbstractRestProjectService implements Service<ExportRestProjectInput, ExportRestProjectOutput> {
 
+    static final String PROJECT = "project";
+    static final String APPLICATIONS = "applications";
+    static final String APPLICATION = "application";
+    static final String RESOURCES = "resources";
+    static final String RESOURCE = "resource";
+    static final String METHODS = "methods";
+    static final String METHOD = "method";
+    static final String MOCK_RESPONSES = "mockResponses";
+    static final String MOCK_RESPONSE = "mockResponse";
+
     /**
      * The process message is responsible for processing an incoming serviceTask and generate
      * a response based on the incoming serviceTask input
@@ -45,38 +59,68 @@ public class ExportRestProjectService extends AbstractRestProjectService impleme
     @Override
     public ServiceResult<ExportRestProjectOutput> process(final ServiceTask<ExportRestProjectInput> serviceTask) {
         final ExportRestProjectInput input = serviceTask.getInput();
-        final RestProject project = repository.findOne(input.getRestProjectId());
-        final List<RestApplication> applications = this.applicationRepository.findWithProjectId(input.getRestProjectId());
-        final List<RestResource> resources = new ArrayList<>();
-        final List<RestMethod> methods = new ArrayList<>();
-        final List<RestMockResponse> mockResponses = new ArrayList<>();
+        if(input.getOutputStream() != null){
+            exportProject(input.getRestProjectId(), input.getOutputStream());
+            return createServiceResult(ExportRestProjectOutput.builder().build());
+        }
 
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportProject(input.getRestProjectId(), outputStream);
+        return createServiceResult(ExportRestProjectOutput.builder()
+                .exportedProject(new String(outputStream.toByteArray(), StandardCharsets.UTF_8))
+                .build());
+    }
 
-        for(RestApplication application : applications){
-            List<RestResource> tempResources = this.resourceRepository.findWithApplicationId(application.getId());
-            resources.addAll(tempResources);
+    /**
+     * Write a project to an output stream. The project is written entity by entity and
+     * the mock responses, which contain the response bodies, are only loaded for one
+     * method at a time.
+     * @param projectId The id of the project that will be exported.
+     * @param outputStream The output stream that the project will be written to.
+     */
+    private void exportProject(final String projectId, final OutputStream outputStream){
+        final RestProject project = repository.findOne(projectId);
+        if(project == null){
+            throw new IllegalArgumentException("Unable to find a project with the following id: " + projectId);
+        }
 
-            for(RestResource tempResource : tempResources){
-                List<RestMethod> tempMethods = this.methodRepository.findWithResourceId(tempResource.getId());
-                methods.addAll(tempMethods);
+        final List<RestApplication> applications = this.applicationRepository.findWithProjectId(projectId);
+        final List<String> resourceIds = new ArrayList<>();
+        final List<String> methodIds = new ArrayList<>();
+        try(ExportContainerWriter writer = new ExportContainerWriter(outputStream, RestExportContainer.class)){
+            writer.write(PROJECT, RestProject.class, project);
 
-                for(RestMethod tempMethod : tempMethods){
-                    List<RestMockResponse> tempMockResponses = this.mockResponseRepository.findWithMethodId(tempMethod.getId());
-                    mockResponses.addAll(tempMockResponses);
+            writer.startList(APPLICATIONS);
+            for(RestApplication application : applications){
+                writer.write(APPLICATION, RestApplication.class, application);
+            }
+            writer.endList();
+
+            writer.startList(RESOURCES);
+            for(RestApplication application : applications){
+                for(RestResource resource : this.resourceRepository.findWithApplicationId(application.getId())){
+                    writer.write(RESOURCE, RestResource.class, resource);
+                    resourceIds.add(resource.getId());
                 }
             }
-        }
+            writer.endList();
 
-        final RestExportContainer exportContainer = new RestExportContainer();
-        exportContainer.setProject(project);
-        exportContainer.setApplications(applications);
-        exportContainer.setResources(resources);
-        exportContainer.setMethods(methods);
-        exportContainer.setMockResponses(mockResponses);
+            writer.startList(METHODS);
+            for(String resourceId : resourceIds){
+                for(RestMethod method : this.methodRepository.findWithResourceId(resourceId)){
+                    writer.write(METHOD, RestMethod.class, method);
+                    methodIds.add(method.getId());
+                }
+            }
+            writer.endList();
 
-        final String serialized = ExportContainerSerializer.serialize(exportContainer);
-        return createServiceResult(ExportRestProjectOutput.builder()
-                .exportedProject(serialized)
-                .build());
+            writer.startList(MOCK_RESPONSES);
+            for(String methodId : methodIds){
+                for(RestMockResponse mockResponse : this.mockResponseRepository.findWithMethodId(methodId)){
+                    writer.write(MOCK_RESPONSE, RestMockResponse.class, mockResponse);
+                }
+            }
+            writer.endList();
+        }
     }
 }
@@ -19,9 +19,11 @@ package com.castlemock.web.mock.rest.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
 import com.castlemock.core.basis.utility.compare.UrlUtility;
 import com.castlemock.core.mock.rest.model.project.domain.RestMethod;
 import com.castlemock.core.mock.rest.model.project.domain.RestMockResponse;
+import com.castlemock.core.mock.rest.model.project.domain.RestProject;
 import com.castlemock.core.mock.rest.model.project.domain.RestResource;
 import com.castlemock.core.mock.rest.service.project.input.IdentifyRestMethodInput;
 import com.castlemock.core.mock.rest.service.project.output.IdentifyRestMethodOutput;
@@ -73,6 +75,10 @@ public class IdentifyRestMethodService extends AbstractRestProjectService implem
 
         final List<RestMockResponse> mockResponses = this.mockResponseRepository.findWithMethodId(foundRestMethod.getId());
         foundRestMethod.setMockResponses(mockResponses);
+        final EventPolicy projectPolicy = this.eventPolicyManager.getProjectPolicy(input.getRestProjectId(), projectId -> {
+            final RestProject restProject = this.repository.findOne(projectId);
+            return restProject == null ? null : restProject.getEventPolicy();
+        });
 
         return createServiceResult(IdentifyRestMethodOutput.builder()
                         .restProjectId(input.getRestProjectId())
@@ -81,6 +87,7 @@ public class IdentifyRestMethodService extends AbstractRestProjectService implem
                         .restMethodId(foundRestMethod.getId())
                         .restMethod(foundRestMethod)
                         .pathParameters(pathParameters)
+                        .eventPolicy(EventPolicy.merge(foundRestMethod.getEventPolicy(), projectPolicy))
                         .build());
     }
 
@@ -19,6 +19,7 @@ package com.castlemock.web.mock.rest.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.basis.model.job.domain.JobProgress;
 import com.castlemock.core.mock.rest.model.project.domain.RestApplication;
 import com.castlemock.core.mock.rest.model.project.domain.RestMethod;
 import com.castlemock.core.mock.rest.model.project.domain.RestMockResponse;
@@ -26,14 +27,22 @@ import com.castlemock.core.mock.rest.model.project.domain.RestResource;
 import com.castlemock.core.mock.rest.service.project.input.ImportRestDefinitionInput;
 import com.castlemock.core.mock.rest.service.project.output.ImportRestDefinitionOutput;
 import com.castlemock.web.basis.manager.FileManager;
-import com.castlemock.web.mock.rest.converter.RestDefinitionConverter;
 import com.castlemock.web.mock.rest.converter.RestDefinitionConverterFactory;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * @author Karl Dahlgren
@@ -44,6 +53,10 @@ public class ImportRestDefinitionService extends AbstractRestProjectService impl
 
     @Autowired
     private FileManager fileManager;
+    @Value("${rest.definition.import.threads:4}")
+    private int threads = 4;
+    @Value("${rest.definition.import.batch.size:500}")
+    private int batchSize = 500;
 
     /**
      * The process message is responsible for processing an incoming serviceTask and generate
@@ -56,25 +69,10 @@ public class ImportRestDefinitionService extends AbstractRestProjectService impl
     @Override
     public ServiceResult<ImportRestDefinitionOutput> process(final ServiceTask<ImportRestDefinitionInput> serviceTask) {
         final ImportRestDefinitionInput input = serviceTask.getInput();
-        final String projectId = input.getRestProjectId();
-
-        final RestDefinitionConverter restDefinitionConverter =
-                RestDefinitionConverterFactory.getConverter(input.getDefinitionType(), fileManager);
-
-        List<RestApplication> newRestApplications = new ArrayList<>();
-
-        if(input.getLocation() != null){
-            List<RestApplication> result = restDefinitionConverter.convert(input.getLocation(), input.isGenerateResponse());
-            newRestApplications.addAll(result);
-        }
+        final JobProgress progress = input.getProgress();
 
         // Parse all incoming files and convert them to REST applications
-        if(input.getFiles() != null){
-            for(File file : input.getFiles()){
-                List<RestApplication> result = restDefinitionConverter.convert(file, input.isGenerateResponse());
-                newRestApplications.addAll(result);
-            }
-        }
+        final List<RestApplication> newRestApplications = convert(input, progress);
 
         final List<RestApplication> existingRestApplications =
                 this.applicationRepository.findWithProjectId(input.getRestProjectId());
@@ -91,36 +89,170 @@ public class ImportRestDefinitionService extends AbstractRestProjectService impl
         // list of REST applications
         restApplications.addAll(existingRestApplications);
 
-        for(RestApplication application : restApplications){
-            application.setProjectId(projectId);
-            RestApplication savedApplication = this.applicationRepository.save(application);
+        save(input.getRestProjectId(), restApplications, progress);
 
-            for(RestResource restResource : application.getResources()){
-                restResource.setApplicationId(savedApplication.getId());
-                RestResource savedResource = this.resourceRepository.save(restResource);
+        // Set the last version of the REST application
+        return createServiceResult(ImportRestDefinitionOutput.builder().build());
+    }
 
-                for(RestMethod method : restResource.getMethods()){
-                    method.setResourceId(savedResource.getId());
+    /**
+     * Convert the location and the files of an import to REST applications. Each location and file
+     * is converted by its own converter, and several files are converted in parallel.
+     * @param input The input of the import.
+     * @param progress The progress that the conversion will be reported to.
+     * @return The converted REST applications, in the same order as the location and the files.
+     * @since 1.38
+     */
+    private List<RestApplication> convert(final ImportRestDefinitionInput input, final JobProgress progress){
+        final List<Callable<List<RestApplication>>> conversions = new ArrayList<>();
+        if(input.getLocation() != null){
+            conversions.add(() -> RestDefinitionConverterFactory.getConverter(input.getDefinitionType(), fileManager)
+                    .convert(input.getLocation(), input.isGenerateResponse()));
+        }
+        if(input.getFiles() != null){
+            for(File file : input.getFiles()){
+                conversions.add(() -> RestDefinitionConverterFactory.getConverter(input.getDefinitionType(), fileManager)
+                        .convert(file, input.isGenerateResponse()));
+            }
+        }
+
+        progress.setMessage("Converting definitions");
+        progress.addTotal(conversions.size());
+        final List<RestApplication> restApplications = new ArrayList<>();
+        if(conversions.size() <= 1 || this.threads <= 1){
+            for(Callable<List<RestApplication>> conversion : conversions){
+                restApplications.addAll(call(conversion));
+                progress.complete(1);
+            }
+            return restApplications;
+        }
 
-                    if(!Strings.isNullOrEmpty(method.getDefaultQueryMockResponseId())){
-                        method.setDefaultMockResponseId(method.getDefaultQueryMockResponseId());
-                        method.setDefaultQueryMockResponseId(null);
-                    }
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.threads, conversions.size()), runnable -> {
+            final Thread thread = new Thread(runnable, "rest-definition-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<List<RestApplication>>> futures = new ArrayList<>();
+            for(Callable<List<RestApplication>> conversion : conversions){
+                futures.add(executor.submit(() -> {
+                    final List<RestApplication> result = conversion.call();
+                    progress.complete(1);
+                    return result;
+                }));
+            }
+            for(Future<List<RestApplication>> future : futures){
+                restApplications.addAll(future.get());
+            }
+            return restApplications;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The definition import was interrupted");
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException){
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Unable to convert the definition", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-                    RestMethod savedMethod = this.methodRepository.save(method);
+    /**
+     * Save REST applications together with their resources, methods and mock responses.
+     * Each level is saved in batches, and the ids of a saved level are assigned to the
+     * level below before it is saved.
+     * @param projectId The id of the project that the REST applications belong to.
+     * @param restApplications The REST applications that will be saved.
+     * @param progress The progress that the saves will be reported to.
+     * @since 1.38
+     */
+    private void save(final String projectId,
+                      final List<RestApplication> restApplications,
+                      final JobProgress progress){
+        final List<RestResource> restResources = new ArrayList<>();
+        final List<RestMethod> restMethods = new ArrayList<>();
+        final List<RestMockResponse> mockResponses = new ArrayList<>();
+        for(RestApplication application : restApplications){
+            application.setProjectId(projectId);
+            for(RestResource restResource : application.getResources()){
+                restResources.add(restResource);
+                for(RestMethod method : restResource.getMethods()){
+                    restMethods.add(method);
+                    mockResponses.addAll(method.getMockResponses());
+                }
+            }
+        }
+        progress.addTotal(restApplications.size() + restResources.size() + restMethods.size() + mockResponses.size());
+
+        progress.setMessage("Saving applications");
+        final List<RestApplication> savedApplications =
+                saveAll(restApplications, this.applicationRepository::saveAll, progress);
+        for(int index = 0; index < restApplications.size(); index++){
+            final String applicationId = savedApplications.get(index).getId();
+            for(RestResource restResource : restApplications.get(index).getResources()){
+                restResource.setApplicationId(applicationId);
+            }
+        }
 
-                    for(RestMockResponse mockResponse : method.getMockResponses()){
-                        mockResponse.setMethodId(savedMethod.getId());
-                        this.mockResponseRepository.save(mockResponse);
-                    }
+        progress.setMessage("Saving resources");
+        final List<RestResource> savedResources =
+                saveAll(restResources, this.resourceRepository::saveAll, progress);
+        for(int index = 0; index < restResources.size(); index++){
+            final String resourceId = savedResources.get(index).getId();
+            for(RestMethod method : restResources.get(index).getMethods()){
+                method.setResourceId(resourceId);
+                if(!Strings.isNullOrEmpty(method.getDefaultQueryMockResponseId())){
+                    method.setDefaultMockResponseId(method.getDefaultQueryMockResponseId());
+                    method.setDefaultQueryMockResponseId(null);
                 }
             }
         }
 
-        // Set the last version of the REST application
-        return createServiceResult(ImportRestDefinitionOutput.builder().build());
+        progress.setMessage("Saving methods");
+        final List<RestMethod> savedMethods =
+                saveAll(restMethods, this.methodRepository::saveAll, progress);
+        for(int index = 0; index < restMethods.size(); index++){
+            final String methodId = savedMethods.get(index).getId();
+            for(RestMockResponse mockResponse : restMethods.get(index).getMockResponses()){
+                mockResponse.setMethodId(methodId);
+            }
+        }
+
+        progress.setMessage("Saving mock responses");
+        saveAll(mockResponses, this.mockResponseRepository::saveAll, progress);
     }
 
+    /**
+     * Save entities in batches.
+     * @param entities The entities that will be saved.
+     * @param saver The function that saves a batch.
+     * @param progress The progress that the saves will be reported to.
+     * @param <T> The type of the entities.
+     * @return The saved entities, in the same order as they were provided.
+     * @since 1.38
+     */
+    private <T> List<T> saveAll(final List<T> entities,
+                                final Function<List<T>, List<T>> saver,
+                                final JobProgress progress){
+        final List<T> saved = new ArrayList<>(entities.size());
+        for(List<T> batch : Lists.partition(entities, Math.max(1, this.batchSize))){
+            saved.addAll(saver.apply(batch));
+            progress.complete(batch.size());
+        }
+        return saved;
+    }
+
+    private static List<RestApplication> call(final Callable<List<RestApplication>> conversion){
+        try {
+            return conversion.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to convert the definition", e);
+        }
+    }
 
     /**
      * The method will add a new {@link RestApplication} and update an already existing {@link RestApplication}.
@@ -19,15 +19,22 @@ package com.castlemock.web.mock.rest.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
-import com.castlemock.core.basis.utility.serializer.ExportContainerSerializer;
+import com.castlemock.core.basis.utility.serializer.ExportContainerReader;
+import com.castlemock.core.basis.utility.serializer.ImportBatch;
 import com.castlemock.core.mock.rest.model.RestExportContainer;
 import com.castlemock.core.mock.rest.model.project.domain.*;
 import com.castlemock.core.mock.rest.service.project.input.ImportRestProjectInput;
 import com.castlemock.core.mock.rest.service.project.output.ImportRestProjectOutput;
 import com.castlemock.repository.rest.file.project.legacy.RestProjectV1LegacyRepository;
+import com.google.common.io.ByteStreams;
+import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
-import java.util.List;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
@@ -40,6 +47,12 @@ public class ImportRestProjectService extends AbstractRestProjectService impleme
     @Autowired
     private RestProjectV1LegacyRepository legacyRepository;
 
+    @Value("${rest.import.batch.size:100}")
+    private int batchSize = 100;
+
+    private static final Logger LOGGER = Logger.getLogger(ImportRestProjectService.class);
+    private static final String LEGACY_ROOT_ELEMENT = "restProject";
+
     /**
      * The process message is responsible for processing an incoming serviceTask and generate
      * a response based on the incoming serviceTask input
@@ -51,61 +64,110 @@ public class ImportRestProjectService extends AbstractRestProjectService impleme
     @Override
     public ServiceResult<ImportRestProjectOutput> process(final ServiceTask<ImportRestProjectInput> serviceTask) {
         final ImportRestProjectInput input = serviceTask.getInput();
-        // Try to import the project as a legacy project first.
-        RestProject project = this.legacyRepository.importOne(input.getProjectRaw());
-
-        if(project == null){
-            // Unable to load the project as a legacy project.
-            RestExportContainer exportContainer = ExportContainerSerializer.deserialize(input.getProjectRaw(), RestExportContainer.class);
-
-            project = exportContainer.getProject();
-
-            if(this.repository.exists(project.getId())){
-                throw new IllegalArgumentException("A project with the following key already exists: " + project.getId());
-            }
-
-            this.repository.save(project);
-
-            for(RestApplication application : exportContainer.getApplications()){
-                if(this.applicationRepository.exists(application.getId())){
-                    throw new IllegalArgumentException("An application with the following key already exists: " + application.getId());
-                }
-
-                this.applicationRepository.save(application);
-            }
+        final InputStream inputStream = input.getProjectStream() != null ?
+                input.getProjectStream() :
+                new ByteArrayInputStream(input.getProjectRaw().getBytes(StandardCharsets.UTF_8));
+
+        final RestProject project;
+        try {
+            project = importProject(ExportContainerReader.decompress(inputStream), input.getProjectRaw());
+        } catch (IOException e) {
+            LOGGER.error("Unable to import the project", e);
+            throw new IllegalArgumentException("Unable to import the project");
+        }
 
-            for(RestResource resource : exportContainer.getResources()){
-                if(this.resourceRepository.exists(resource.getId())){
-                    throw new IllegalArgumentException("A resource with the following key already exists: " + resource.getId());
-                }
+        return createServiceResult(ImportRestProjectOutput.builder()
+                .project(project)
+                .build());
+    }
 
-                this.resourceRepository.save(resource);
+    /**
+     * Import a project from an input stream. Projects that have been exported as a
+     * {@link RestExportContainer} are read and persisted entity by entity in batches,
+     * which means that the mock responses and their bodies are never held in memory all at once.
+     * Legacy projects are read as a whole and imported with the legacy repository.
+     * @param inputStream The input stream that the project will be read from. It has to support mark and reset.
+     * @param projectRaw The project as a String, or null if it was only provided as a stream.
+     * @return The imported project.
+     * @throws IOException If the input stream could not be read.
+     */
+    private RestProject importProject(final InputStream inputStream,
+                                      final String projectRaw) throws IOException {
+        final String rootElementName = ExportContainerReader.peekRootElementName(inputStream);
+        if(LEGACY_ROOT_ELEMENT.equals(rootElementName)){
+            final String legacyRaw = projectRaw != null ? projectRaw :
+                    new String(ByteStreams.toByteArray(inputStream), StandardCharsets.UTF_8);
+            final RestProject project = this.legacyRepository.importOne(legacyRaw);
+            if(project == null){
+                throw new IllegalArgumentException("Unable to import the legacy project");
             }
+            return project;
+        }
 
-            for(RestMethod method : exportContainer.getMethods()){
-                if(this.methodRepository.exists(method.getId())){
-                    throw new IllegalArgumentException("A method with the following key already exists: " + method.getId());
+        final ImportBatch<RestApplication> applications = new ImportBatch<>(this.batchSize, this.applicationRepository::saveAll);
+        final ImportBatch<RestResource> resources = new ImportBatch<>(this.batchSize, this.resourceRepository::saveAll);
+        final ImportBatch<RestMethod> methods = new ImportBatch<>(this.batchSize, this.methodRepository::saveAll);
+        final ImportBatch<RestMockResponse> mockResponses = new ImportBatch<>(this.batchSize, this.mockResponseRepository::saveAll);
+        RestProject project = null;
+        try(ExportContainerReader reader = new ExportContainerReader(inputStream, RestExportContainer.class)){
+            String element;
+            while((element = reader.next()) != null){
+                switch (element) {
+                    case ExportRestProjectService.PROJECT:
+                        project = reader.read(RestProject.class);
+                        if(this.repository.exists(project.getId())){
+                            throw new IllegalArgumentException("A project with the following key already exists: " + project.getId());
+                        }
+                        this.repository.save(project);
+                        this.eventPolicyManager.invalidate(project.getId());
+                        break;
+                    case ExportRestProjectService.APPLICATION:
+                        final RestApplication application = reader.read(RestApplication.class);
+                        if(this.applicationRepository.exists(application.getId())){
+                            throw new IllegalArgumentException("An application with the following key already exists: " + application.getId());
+                        }
+                        applications.add(application);
+                        break;
+                    case ExportRestProjectService.RESOURCE:
+                        final RestResource resource = reader.read(RestResource.class);
+                        if(this.resourceRepository.exists(resource.getId())){
+                            throw new IllegalArgumentException("A resource with the following key already exists: " + resource.getId());
+                        }
+                        resources.add(resource);
+                        break;
+                    case ExportRestProjectService.METHOD:
+                        final RestMethod method = reader.read(RestMethod.class);
+                        if(this.methodRepository.exists(method.getId())){
+                            throw new IllegalArgumentException("A method with the following key already exists: " + method.getId());
+                        }
+                        method.setCurrentResponseSequenceIndex(0);
+                        methods.add(method);
+                        break;
+                    case ExportRestProjectService.MOCK_RESPONSE:
+                        final RestMockResponse mockResponse = reader.read(RestMockResponse.class);
+                        if(this.mockResponseRepository.exists(mockResponse.getId())){
+                            throw new IllegalArgumentException("A mocked response with the following key already exists: " + mockResponse.getId());
+                        }
+                        if(mockResponse.getParameterQueries() == null){
+                            mockResponse.setParameterQueries(new CopyOnWriteArrayList<RestParameterQuery>());
+                        }
+                        mockResponses.add(mockResponse);
+                        break;
+                    default:
+                        // The root element and the list elements
+                        break;
                 }
-
-                method.setCurrentResponseSequenceIndex(0);
-                this.methodRepository.save(method);
             }
+        }
 
-            for(RestMockResponse mockResponse : exportContainer.getMockResponses()){
-                if(this.mockResponseRepository.exists(mockResponse.getId())){
-                    throw new IllegalArgumentException("A mocked response with the following key already exists: " + mockResponse.getId());
-                }
-
-                if(mockResponse.getParameterQueries() == null){
-                    List<RestParameterQuery> parameterQueries = new CopyOnWriteArrayList<RestParameterQuery>();
-                    mockResponse.setParameterQueries(parameterQueries);
-                }
+        applications.flush();
+        resources.flush();
+        methods.flush();
+        mockResponses.flush();
 
-                this.mockResponseRepository.save(mockResponse);
-            }
+        if(project == null){
+            throw new IllegalArgumentException("The imported file does not contain a project");
         }
-        return createServiceResult(ImportRestProjectOutput.builder()
-                .project(project)
-                .build());
+        return project;
     }
 }
@@ -26,6 +26,7 @@ import com.castlemock.core.mock.rest.service.project.input.UpdateRestApplication
 import com.castlemock.core.mock.rest.service.project.output.UpdateRestApplicationsForwardedEndpointOutput;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author Karl Dahlgren
@@ -45,16 +46,16 @@ public class UpdateRestApplicationsForwardedEndpointService extends AbstractRest
     @Override
     public ServiceResult<UpdateRestApplicationsForwardedEndpointOutput> process(final ServiceTask<UpdateRestApplicationsForwardedEndpointInput> serviceTask) {
         final UpdateRestApplicationsForwardedEndpointInput input = serviceTask.getInput();
-        for(RestApplication restApplication : input.getRestApplications()){
-            List<RestResource> resources = this.resourceRepository.findWithApplicationId(restApplication.getId());
-            for(RestResource restResource : resources){
-                List<RestMethod> methods = this.methodRepository.findWithResourceId(restResource.getId());
-                for(RestMethod restMethod : methods){
-                    restMethod.setForwardedEndpoint(input.getForwardedEndpoint());
-                    this.methodRepository.update(restMethod.getId(), restMethod);
-                }
-            }
-        }
+        final List<String> methodIds = input.getRestApplications().stream()
+                .map(RestApplication::getId)
+                .map(this.resourceRepository::findWithApplicationId)
+                .flatMap(List::stream)
+                .map(RestResource::getId)
+                .map(this.methodRepository::findWithResourceId)
+                .flatMap(List::stream)
+                .map(RestMethod::getId)
+                .collect(Collectors.toList());
+        this.methodRepository.updateForwardedEndpoint(methodIds, input.getForwardedEndpoint());
         return createServiceResult(UpdateRestApplicationsForwardedEndpointOutput.builder().build());
     }
 }
@@ -25,6 +25,7 @@ import com.castlemock.core.mock.rest.service.project.input.UpdateRestApplication
 import com.castlemock.core.mock.rest.service.project.output.UpdateRestApplicationsStatusOutput;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author Karl Dahlgren
@@ -44,14 +45,13 @@ public class UpdateRestApplicationsStatusService extends AbstractRestProjectServ
     @Override
     public ServiceResult<UpdateRestApplicationsStatusOutput> process(final ServiceTask<UpdateRestApplicationsStatusInput> serviceTask) {
         final UpdateRestApplicationsStatusInput input = serviceTask.getInput();
-        final List<RestResource> resources = this.resourceRepository.findWithApplicationId(input.getRestApplicationId());
-        for(RestResource restResource : resources){
-            final List<RestMethod> methods = this.methodRepository.findWithResourceId(restResource.getId());
-            for(RestMethod restMethod : methods){
-                restMethod.setStatus(input.getRestMethodStatus());
-                this.methodRepository.update(restMethod.getId(), restMethod);
-            }
-        }
+        final List<String> methodIds = this.resourceRepository.findWithApplicationId(input.getRestApplicationId()).stream()
+                .map(RestResource::getId)
+                .map(this.methodRepository::findWithResourceId)
+                .flatMap(List::stream)
+                .map(RestMethod::getId)
+                .collect(Collectors.toList());
+        this.methodRepository.updateStatus(methodIds, input.getRestMethodStatus());
         return createServiceResult(UpdateRestApplicationsStatusOutput.builder().build());
     }
 }
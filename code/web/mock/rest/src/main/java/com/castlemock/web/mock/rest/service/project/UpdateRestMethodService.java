@@ -51,6 +51,7 @@ public class UpdateRestMethodService extends AbstractRestProjectService implemen
         existing.setForwardedEndpoint(updatedRestMethod.getForwardedEndpoint());
         existing.setNetworkDelay(updatedRestMethod.getNetworkDelay());
         existing.setSimulateNetworkDelay(updatedRestMethod.getSimulateNetworkDelay());
+        existing.setEventPolicy(updatedRestMethod.getEventPolicy());
         existing.setDefaultMockResponseId(updatedRestMethod.getDefaultMockResponseId());
 
 
@@ -23,6 +23,8 @@ import com.castlemock.core.mock.rest.model.project.domain.RestMethod;
 import com.castlemock.core.mock.rest.service.project.input.UpdateRestMethodsForwardedEndpointInput;
 import com.castlemock.core.mock.rest.service.project.output.UpdateRestMethodsForwardedEndpointOutput;
 
+import java.util.stream.Collectors;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -41,11 +43,9 @@ public class UpdateRestMethodsForwardedEndpointService extends AbstractRestProje
     @Override
     public ServiceResult<UpdateRestMethodsForwardedEndpointOutput> process(final ServiceTask<UpdateRestMethodsForwardedEndpointInput> serviceTask) {
         final UpdateRestMethodsForwardedEndpointInput input = serviceTask.getInput();
-        for(RestMethod inputRestMethod : input.getRestMethods()){
-            final RestMethod restMethod = this.methodRepository.findOne(inputRestMethod.getId());
-            restMethod.setForwardedEndpoint(input.getForwardedEndpoint());
-            this.methodRepository.update(restMethod.getId(), restMethod);
-        }
+        this.methodRepository.updateForwardedEndpoint(input.getRestMethods().stream()
+                .map(RestMethod::getId)
+                .collect(Collectors.toList()), input.getForwardedEndpoint());
         return createServiceResult(UpdateRestMethodsForwardedEndpointOutput.builder().build());
     }
 }
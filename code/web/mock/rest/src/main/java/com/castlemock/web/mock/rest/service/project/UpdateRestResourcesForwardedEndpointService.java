@@ -19,11 +19,13 @@ package com.castlemock.web.mock.rest.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.mock.rest.model.project.domain.RestMethod;
 import com.castlemock.core.mock.rest.model.project.domain.RestResource;
 import com.castlemock.core.mock.rest.service.project.input.UpdateRestResourcesForwardedEndpointInput;
 import com.castlemock.core.mock.rest.service.project.output.UpdateRestResourcesForwardedEndpointOutput;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author Karl Dahlgren
@@ -43,15 +45,13 @@ public class UpdateRestResourcesForwardedEndpointService extends AbstractRestPro
     @Override
     public ServiceResult<UpdateRestResourcesForwardedEndpointOutput> process(final ServiceTask<UpdateRestResourcesForwardedEndpointInput> serviceTask) {
         final UpdateRestResourcesForwardedEndpointInput input = serviceTask.getInput();
-        final List<RestResource> resources = this.resourceRepository.findWithApplicationId(input.getRestApplicationId());
-        resources.stream()
+        final List<String> methodIds = this.resourceRepository.findWithApplicationId(input.getRestApplicationId()).stream()
                 .map(RestResource::getId)
                 .map(this.methodRepository::findWithResourceId)
                 .flatMap(List::stream)
-                .forEach(restMethod -> {
-                    restMethod.setForwardedEndpoint(input.getForwardedEndpoint());
-                    this.methodRepository.update(restMethod.getId(), restMethod);
-                });
+                .map(RestMethod::getId)
+                .collect(Collectors.toList());
+        this.methodRepository.updateForwardedEndpoint(methodIds, input.getForwardedEndpoint());
         return createServiceResult(UpdateRestResourcesForwardedEndpointOutput.builder().build());
     }
 }
@@ -29,6 +29,8 @@ import com.castlemock.web.mock.rest.model.RestTypeIdentifier;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -165,6 +167,36 @@ public class RestProjectServiceAdapter implements ProjectServiceAdapter<RestProj
         return output.getProject();
     }
 
+    /**
+     * The method provides the functionality to export a project and write it to an output stream.
+     * The project is written entity by entity and is never held in memory as a whole.
+     * @param id The id of the project that will be exported
+     * @param outputStream The output stream that the project will be written to
+     * @since 1.38
+     */
+    @Override
+    public void exportProject(final String id, final OutputStream outputStream) {
+        serviceProcessor.process(ExportRestProjectInput.builder()
+                .restProjectId(id)
+                .outputStream(outputStream)
+                .build());
+    }
+
+    /**
+     * The method provides the functionality to import a project from an input stream.
+     * The project is read and persisted entity by entity and is never held in memory as a whole.
+     * @param inputStream The input stream that the project will be read from
+     * @return The imported project
+     * @since 1.38
+     */
+    @Override
+    public RestProject importProject(final InputStream inputStream) {
+        final ImportRestProjectOutput output = serviceProcessor.process(ImportRestProjectInput.builder()
+                .projectStream(inputStream)
+                .build());
+        return output.getProject();
+    }
+
     /**
      * Searches for resources that matches the provided query. The matching resources will
      * be returned as a collection of {@link SearchResult}
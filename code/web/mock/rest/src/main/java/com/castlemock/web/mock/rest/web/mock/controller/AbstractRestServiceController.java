@@ -16,6 +16,9 @@
 
 package com.castlemock.web.mock.rest.web.mock.controller;
 
+import com.castlemock.core.basis.model.event.domain.EventPhase;
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
+import com.castlemock.core.basis.model.event.domain.EventTimings;
 import com.castlemock.core.basis.model.http.domain.ContentEncoding;
 import com.castlemock.core.basis.model.http.domain.HttpHeader;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
@@ -34,11 +37,14 @@ import com.castlemock.core.mock.rest.model.event.domain.RestRequest;
 import com.castlemock.core.mock.rest.model.event.domain.RestResponse;
 import com.castlemock.core.mock.rest.model.project.domain.*;
 import com.castlemock.core.mock.rest.service.event.input.CreateRestEventInput;
-import com.castlemock.core.mock.rest.service.project.input.CreateRestMockResponseInput;
 import com.castlemock.core.mock.rest.service.project.input.IdentifyRestMethodInput;
+import com.castlemock.core.mock.rest.service.project.input.ReadRestMethodInput;
+import com.castlemock.core.mock.rest.service.project.input.RecordRestMockResponseInput;
 import com.castlemock.core.mock.rest.service.project.input.UpdateCurrentRestMockResponseSequenceIndexInput;
 import com.castlemock.core.mock.rest.service.project.input.UpdateRestMethodInput;
 import com.castlemock.core.mock.rest.service.project.output.IdentifyRestMethodOutput;
+import com.castlemock.core.mock.rest.service.project.output.ReadRestMethodOutput;
+import com.castlemock.web.basis.manager.RecordingManager;
 import com.castlemock.web.basis.support.CharsetUtility;
 import com.castlemock.web.basis.support.HttpMessageSupport;
 import com.castlemock.web.basis.web.AbstractController;
@@ -48,6 +54,7 @@ import com.castlemock.web.mock.rest.utility.compare.RestMockResponseNameComparat
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -59,6 +66,7 @@ import java.net.HttpURLConnection;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * The abstract REST controller is a base class shared among all the REST service classes.
@@ -79,6 +87,9 @@ public abstract class AbstractRestServiceController extends AbstractController {
     private static final RestMockResponseNameComparator MOCK_RESPONSE_NAME_COMPARATOR =
             new RestMockResponseNameComparator();
 
+    @Autowired
+    private RecordingManager recordingManager;
+
     /**
      * @param projectId           The id of the project which the incoming request and mocked response belongs to
      * @param applicationId       The id of the application which the incoming and mocked response belongs to
@@ -98,7 +109,9 @@ public abstract class AbstractRestServiceController extends AbstractController {
             Preconditions.checkNotNull(httpMethod, "The REST method cannot be null");
             Preconditions.checkNotNull(httpServletRequest, "The HTTP Servlet Request cannot be null");
             Preconditions.checkNotNull(httpServletResponse, "The HTTP Servlet Response cannot be null");
+            final long startTime = System.nanoTime();
             final RestRequest restRequest = prepareRequest(projectId, applicationId, httpMethod, httpServletRequest);
+            final long readTime = System.nanoTime();
 
             final IdentifyRestMethodOutput output = serviceProcessor.process(IdentifyRestMethodInput.builder()
                     .restProjectId(projectId)
@@ -107,10 +120,20 @@ public abstract class AbstractRestServiceController extends AbstractController {
                     .httpMethod(httpMethod)
                     .httpParameters(restRequest.getHttpParameters())
                     .build());
+            final long identifyTime = System.nanoTime();
             final String resourceId = output.getRestResourceId();
-
-            return process(restRequest, projectId, applicationId, resourceId,
-                    output.getRestMethod(), output.getPathParameters(), httpServletResponse);
+            final String methodId = output.getRestMethod().getId();
+            final EventTimings timings = new EventTimings();
+            recordPhase(REST, projectId, methodId, timings, EventPhase.READ, readTime - startTime);
+            recordPhase(REST, projectId, methodId, timings, EventPhase.IDENTIFY, identifyTime - readTime);
+
+            try {
+                return process(restRequest, projectId, applicationId, resourceId,
+                        output.getRestMethod(), output.getPathParameters(), output.getEventPolicy(),
+                        timings, httpServletResponse);
+            } finally {
+                recordPhase(REST, projectId, methodId, PHASE_TOTAL, System.nanoTime() - startTime);
+            }
         } catch (Exception exception) {
             LOGGER.debug("REST service exception: " + exception.getMessage(), exception);
             throw new RestException(exception.getMessage());
@@ -157,6 +180,8 @@ public abstract class AbstractRestServiceController extends AbstractController {
      * @param applicationId       The id of the application that the incoming request belongs to
      * @param resourceId          The id of the resource that the incoming request belongs to
      * @param restMethod          The REST method which the incoming request belongs to
+     * @param eventPolicy         The policy that decides if and how the incoming request is captured as an event
+     * @param timings             The timings of the event that represents the incoming request
      * @param httpServletResponse The HTTP servlet response
      * @return A response in String format
      */
@@ -166,46 +191,61 @@ public abstract class AbstractRestServiceController extends AbstractController {
                                              final String resourceId,
                                              final RestMethod restMethod,
                                              final Map<String, String> pathParameters,
+                                             final EventPolicy eventPolicy,
+                                             final EventTimings timings,
                                              final HttpServletResponse httpServletResponse) {
         Preconditions.checkNotNull(restRequest, "Rest request cannot be null");
         RestEvent event = null;
         RestResponse response = null;
         try {
-            event = new RestEvent(restMethod.getName(), restRequest, projectId, applicationId, resourceId, restMethod.getId());
+            if (eventPolicy.sample()) {
+                event = new RestEvent(restMethod.getName(), restRequest, projectId, applicationId, resourceId, restMethod.getId());
+                event.setTimings(timings);
+            }
             if (RestMethodStatus.DISABLED.equals(restMethod.getStatus())) {
                 throw new RestException("The requested REST method, " + restMethod.getName() + ", is disabled");
             } else if (RestMethodStatus.FORWARDED.equals(restMethod.getStatus())) {
-                response = forwardRequest(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters);
+                response = forwardRequest(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters, timings);
             } else if (RestMethodStatus.RECORDING.equals(restMethod.getStatus())) {
-                response = forwardRequestAndRecordResponse(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters);
+                response = forwardRequestAndRecordResponse(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters, timings);
             } else if (RestMethodStatus.RECORD_ONCE.equals(restMethod.getStatus())) {
-                response = forwardRequestAndRecordResponseOnce(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters);
+                response = forwardRequestAndRecordResponseOnce(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters, timings);
             } else if (RestMethodStatus.ECHO.equals(restMethod.getStatus())) {
                 response = echoResponse(restRequest);
             } else { // Status.MOCKED
-                response = mockResponse(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters);
-            }
-
-            HttpHeaders responseHeaders = new HttpHeaders();
-            for (HttpHeader httpHeader : response.getHttpHeaders()) {
-                List<String> headerValues = new LinkedList<String>();
-                headerValues.add(httpHeader.getValue());
-                responseHeaders.put(httpHeader.getName(), headerValues);
+                response = mockResponse(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters, timings);
             }
 
             if (restMethod.getSimulateNetworkDelay() &&
                     restMethod.getNetworkDelay() >= 0) {
+                final long delayTime = System.nanoTime();
                 try {
                     Thread.sleep(restMethod.getNetworkDelay());
                 } catch (InterruptedException e) {
                     LOGGER.error("Unable to simulate network delay", e);
                 }
+                recordPhase(REST, projectId, restMethod.getId(), timings, EventPhase.DELAY, System.nanoTime() - delayTime);
+            }
+
+            final long writeTime = System.nanoTime();
+            HttpHeaders responseHeaders = new HttpHeaders();
+            for (HttpHeader httpHeader : response.getHttpHeaders()) {
+                List<String> headerValues = new LinkedList<String>();
+                headerValues.add(httpHeader.getValue());
+                responseHeaders.put(httpHeader.getName(), headerValues);
             }
 
-            return new ResponseEntity<String>(response.getBody(), responseHeaders, HttpStatus.valueOf(response.getHttpStatusCode()));
+            final ResponseEntity<String> responseEntity = new ResponseEntity<String>(response.getBody(),
+                    responseHeaders, HttpStatus.valueOf(response.getHttpStatusCode()));
+            recordPhase(REST, projectId, restMethod.getId(), timings, EventPhase.WRITE, System.nanoTime() - writeTime);
+            return responseEntity;
         } finally {
-            if (event != null) {
+            if (event != null && eventPolicy.captures(response == null ? null : response.getHttpStatusCode())) {
                 event.finish(response);
+                restRequest.setBody(eventPolicy.capture(restRequest.getBody()));
+                if (response != null) {
+                    response.setBody(eventPolicy.capture(response.getBody()));
+                }
                 serviceProcessor.processAsync(CreateRestEventInput.builder()
                         .restEvent(event)
                         .build());
@@ -225,14 +265,16 @@ public abstract class AbstractRestServiceController extends AbstractController {
                                           final String applicationId,
                                           final String resourceId,
                                           final RestMethod restMethod,
-                                          final Map<String, String> pathParameters) {
+                                          final Map<String, String> pathParameters,
+                                          final EventTimings timings) {
         if (demoMode) {
             // If the application is configured to run in demo mode, then use mocked response instead
-            return mockResponse(request, projectId, applicationId, resourceId, restMethod, pathParameters);
+            return mockResponse(request, projectId, applicationId, resourceId, restMethod, pathParameters, timings);
         }
 
 
         final RestResponse response = new RestResponse();
+        final long forwardTime = System.nanoTime();
         HttpURLConnection connection = null;
         try {
 
@@ -270,6 +312,7 @@ public abstract class AbstractRestServiceController extends AbstractController {
             if (connection != null) {
                 connection.disconnect();
             }
+            recordPhase(REST, projectId, restMethod.getId(), timings, EventPhase.FORWARD, System.nanoTime() - forwardTime);
         }
     }
 
@@ -286,8 +329,22 @@ public abstract class AbstractRestServiceController extends AbstractController {
                                                            final String applicationId,
                                                            final String resourceId,
                                                            final RestMethod restMethod,
-                                                           final Map<String, String> pathParameters) {
-        final RestResponse response = forwardRequest(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters);
+                                                           final Map<String, String> pathParameters,
+                                                           final EventTimings timings) {
+        final RestResponse response = forwardRequest(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters, timings);
+        final String fingerprint = recordingManager.fingerprint(restRequest.getHttpMethod(),
+                restRequest.getUri() + HttpMessageSupport.buildParameterUri(restRequest.getHttpParameters()),
+                restRequest.getHttpHeaders(), restRequest.getBody(),
+                response.getHttpStatusCode(), response.getBody());
+        final Set<String> mockResponseIds = restMethod.getMockResponses() == null ? Collections.emptySet() :
+                restMethod.getMockResponses().stream()
+                        .map(RestMockResponse::getId)
+                        .collect(Collectors.toSet());
+        if (!recordingManager.reserve(restMethod.getId(), fingerprint, mockResponseIds)) {
+            LOGGER.debug("An identical response has already been recorded for the REST method " + restMethod.getName());
+            return response;
+        }
+
         final RestMockResponse mockResponse = new RestMockResponse();
         final Date date = new Date();
         mockResponse.setBody(response.getBody());
@@ -295,12 +352,13 @@ public abstract class AbstractRestServiceController extends AbstractController {
         mockResponse.setHttpHeaders(response.getHttpHeaders());
         mockResponse.setName(RECORDED_RESPONSE_NAME + SPACE + DATE_FORMAT.format(date));
         mockResponse.setHttpStatusCode(response.getHttpStatusCode());
-        serviceProcessor.processAsync(CreateRestMockResponseInput.builder()
+        serviceProcessor.processAsync(RecordRestMockResponseInput.builder()
                 .projectId(projectId)
                 .applicationId(applicationId)
                 .resourceId(resourceId)
                 .methodId(restMethod.getId())
                 .mockResponse(mockResponse)
+                .fingerprint(fingerprint)
                 .build());
         return response;
     }
@@ -308,7 +366,8 @@ public abstract class AbstractRestServiceController extends AbstractController {
     /**
      * The method provides the functionality to forward a request to another endpoint. The response
      * will be recorded and can later be used as a mocked response. The REST method status will be updated
-     * to mocked.
+     * to mocked. Only one request at a time will record a response for the REST method. Concurrent
+     * requests will only be forwarded.
      *
      * @param restRequest   The incoming request
      * @param projectId     The id of the project that the incoming request belongs to
@@ -322,19 +381,29 @@ public abstract class AbstractRestServiceController extends AbstractController {
                                                                final String applicationId,
                                                                final String resourceId,
                                                                final RestMethod restMethod,
-                                                               final Map<String, String> pathParameters) {
-        final RestResponse response =
-                forwardRequestAndRecordResponse(restRequest, projectId,
-                        applicationId, resourceId, restMethod, pathParameters);
-        restMethod.setStatus(RestMethodStatus.MOCKED);
-        serviceProcessor.process(UpdateRestMethodInput.builder()
-                .restProjectId(projectId)
-                .restApplicationId(applicationId)
-                .restResourceId(resourceId)
-                .restMethodId(restMethod.getId())
-                .restMethod(restMethod)
-                .build());
-        return response;
+                                                               final Map<String, String> pathParameters,
+                                                               final EventTimings timings) {
+        if (!recordingManager.startRecordOnce(restMethod.getId(),
+                () -> isRecordOnce(projectId, applicationId, resourceId, restMethod.getId()))) {
+            return forwardRequest(restRequest, projectId, applicationId, resourceId, restMethod, pathParameters, timings);
+        }
+
+        try {
+            final RestResponse response =
+                    forwardRequestAndRecordResponse(restRequest, projectId,
+                            applicationId, resourceId, restMethod, pathParameters, timings);
+            restMethod.setStatus(RestMethodStatus.MOCKED);
+            serviceProcessor.process(UpdateRestMethodInput.builder()
+                    .restProjectId(projectId)
+                    .restApplicationId(applicationId)
+                    .restResourceId(resourceId)
+                    .restMethodId(restMethod.getId())
+                    .restMethod(restMethod)
+                    .build());
+            return response;
+        } finally {
+            recordingManager.finishRecordOnce(restMethod.getId());
+        }
     }
 
     /**
@@ -373,7 +442,9 @@ public abstract class AbstractRestServiceController extends AbstractController {
                                         final String applicationId,
                                         final String resourceId,
                                         final RestMethod restMethod,
-                                        final Map<String, String> pathParameters) {
+                                        final Map<String, String> pathParameters,
+                                        final EventTimings timings) {
+        final long selectTime = System.nanoTime();
         // Extract the accept header value.
         final Collection<String> acceptHeaderValues = getHeaderValues(ACCEPT_HEADER, restRequest.getHttpHeaders());
 
@@ -488,6 +559,8 @@ public abstract class AbstractRestServiceController extends AbstractController {
             throw new RestException("No mocked response created for operation " + restMethod.getName());
         }
 
+        final long renderTime = System.nanoTime();
+        recordPhase(REST, projectId, restMethod.getId(), timings, EventPhase.SELECT, renderTime - selectTime);
         String body = mockResponse.getBody();
         if (mockResponse.isUsingExpressions()) {
             final ExpressionArgumentMap pathParametersArgument = new ExpressionArgumentMap();
@@ -512,6 +585,7 @@ public abstract class AbstractRestServiceController extends AbstractController {
             // Parse the text and apply expression functionality if
             // the mock response is configured to use expressions
             body = TextParser.parse(body, externalInput);
+            recordPhase(REST, projectId, restMethod.getId(), timings, EventPhase.RENDER, System.nanoTime() - renderTime);
         }
         final RestResponse response = new RestResponse();
         response.setBody(body);
@@ -538,6 +612,31 @@ public abstract class AbstractRestServiceController extends AbstractController {
         return Optional.empty();
     }
 
+    /**
+     * The method verifies that the persisted status of a REST method is still record once.
+     * The status might have been changed by a concurrent request that recorded a response.
+     *
+     * @param projectId     The id of the project that the REST method belongs to
+     * @param applicationId The id of the application that the REST method belongs to
+     * @param resourceId    The id of the resource that the REST method belongs to
+     * @param methodId      The id of the REST method
+     * @return <code>true</code> if the REST method status is still record once.
+     * @since 1.38
+     */
+    private boolean isRecordOnce(final String projectId,
+                                 final String applicationId,
+                                 final String resourceId,
+                                 final String methodId) {
+        final ReadRestMethodOutput output = serviceProcessor.process(ReadRestMethodInput.builder()
+                .restProjectId(projectId)
+                .restApplicationId(applicationId)
+                .restResourceId(resourceId)
+                .restMethodId(methodId)
+                .build());
+        return output != null && output.getRestMethod() != null &&
+                RestMethodStatus.RECORD_ONCE.equals(output.getRestMethod().getStatus());
+    }
+
     /**
      * The method returns a list of values for a header ({@link HttpHeader}).
      *
@@ -16,8 +16,9 @@
 
 package com.castlemock.web.mock.rest.web.view.controller.method;
 
-import com.castlemock.core.mock.rest.service.event.input.ReadRestEventWithMethodIdInput;
-import com.castlemock.core.mock.rest.service.event.output.ReadRestEventWithMethodIdOutput;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.mock.rest.service.event.input.ReadRestEventSummariesInput;
+import com.castlemock.core.mock.rest.service.event.output.ReadRestEventSummariesOutput;
 import com.castlemock.core.mock.rest.model.project.domain.RestMockResponseStatus;
 import com.castlemock.core.mock.rest.model.project.domain.RestMethod;
 import com.castlemock.core.mock.rest.model.project.domain.RestMockResponse;
@@ -92,8 +93,10 @@ public class RestMethodController extends AbstractRestViewController {
                 .build());
         final RestResource restResource = readRestResourceOutput.getRestResource();
         final RestMethod restMethod = restMethodOutput.getRestMethod();
-        final ReadRestEventWithMethodIdOutput readRestEventWithMethodIdOutput = serviceProcessor.process(ReadRestEventWithMethodIdInput.builder()
-                .restMethodId(restMethodId)
+        final ReadRestEventSummariesOutput readRestEventSummariesOutput = serviceProcessor.process(ReadRestEventSummariesInput.builder()
+                .query(EventQuery.builder()
+                        .operationId(restMethodId)
+                        .build())
                 .build());
 
         final String protocol = getProtocol(request);
@@ -106,7 +109,7 @@ public class RestMethodController extends AbstractRestViewController {
         model.addObject(REST_RESOURCE_ID, restResourceId);
         model.addObject(REST_METHOD, restMethod);
         model.addObject(REST_MOCK_RESPONSE_STATUSES, RestMockResponseStatus.values());
-        model.addObject(REST_EVENTS, readRestEventWithMethodIdOutput.getRestEvents());
+        model.addObject(REST_EVENTS, readRestEventSummariesOutput.getEvents());
         model.addObject(REST_MOCK_RESPONSE_MODIFIER_COMMAND, new RestMockResponseModifierCommand());
         return model;
     }
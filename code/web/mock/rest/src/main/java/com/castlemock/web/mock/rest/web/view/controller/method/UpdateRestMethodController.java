@@ -16,6 +16,7 @@
 
 package com.castlemock.web.mock.rest.web.view.controller.method;
 
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
 import com.castlemock.core.mock.rest.model.project.domain.RestResponseStrategy;
 import com.castlemock.core.mock.rest.model.project.domain.RestMethod;
@@ -60,6 +61,9 @@ public class UpdateRestMethodController extends AbstractRestViewController {
                 .restResourceId(restResourceId)
                 .restMethodId(restMethodId)
                 .build());
+        if(output.getRestMethod().getEventPolicy() == null){
+            output.getRestMethod().setEventPolicy(new EventPolicy());
+        }
         final ModelAndView model = createPartialModelAndView(PAGE);
         model.addObject(REST_METHOD, output.getRestMethod());
         model.addObject(REST_PROJECT_ID, restProjectId);
@@ -16,9 +16,11 @@
 
 package com.castlemock.web.mock.rest.web.view.controller.project;
 
+import com.castlemock.core.basis.model.job.domain.Job;
 import com.castlemock.core.mock.rest.model.RestDefinitionType;
 import com.castlemock.core.mock.rest.service.project.input.ImportRestDefinitionInput;
 import com.castlemock.web.basis.manager.FileManager;
+import com.castlemock.web.basis.manager.JobManager;
 import com.castlemock.web.mock.rest.web.view.command.project.RestDefinitionFileUploadForm;
 import com.castlemock.web.mock.rest.web.view.controller.AbstractRestViewController;
 import org.apache.log4j.Logger;
@@ -53,6 +55,8 @@ public class RestImportDefinitionController extends AbstractRestViewController {
 
     @Autowired
     private FileManager fileManager;
+    @Autowired
+    private JobManager jobManager;
 
     /**
      * The method returns a view which is used to upload a WADL file for a specific project
@@ -72,7 +76,8 @@ public class RestImportDefinitionController extends AbstractRestViewController {
 
     /**
      * The method provides functionality to upload a new WADL file. Resources will be created
-     * based on the uploaded WADL file.
+     * based on the uploaded WADL file. The import is run as a background job, and the user is
+     * redirected to the main page for the project, where the progress of the job is shown.
      * @param projectId The id of the project that will get the new WADL
      * @param type The upload type. It is used to determine if a WADL file should be uploaded or downloaded from a
      *             provided URL.
@@ -82,35 +87,41 @@ public class RestImportDefinitionController extends AbstractRestViewController {
     @PreAuthorize("hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
     @RequestMapping(value="/{projectId}/import", method=RequestMethod.POST)
     public ModelAndView uploadWADL(@PathVariable final String projectId, @RequestParam final String type, @ModelAttribute("uploadForm") final RestDefinitionFileUploadForm uploadForm) throws IOException {
-         List<File> files = null;
-
-        if(TYPE_FILE.equals(type)){
-            files = fileManager.uploadFiles(uploadForm.getFiles());
-        }
+        final List<File> files = TYPE_FILE.equals(type) ? fileManager.uploadFiles(uploadForm.getFiles()) : null;
 
         try {
-            serviceProcessor.process(ImportRestDefinitionInput.builder()
-                    .restProjectId(projectId)
-                    .files(files)
-                    .location(uploadForm.getLink())
-                    .generateResponse(uploadForm.isGenerateResponse())
-                    .definitionType(uploadForm.getDefinitionType())
-                    .build());
-            return redirect("/rest/project/" + projectId + "?upload=success");
+            final Job job = jobManager.submit("Import " + uploadForm.getDefinitionType() + " definition", progress -> {
+                try {
+                    serviceProcessor.process(ImportRestDefinitionInput.builder()
+                            .restProjectId(projectId)
+                            .files(files)
+                            .location(uploadForm.getLink())
+                            .generateResponse(uploadForm.isGenerateResponse())
+                            .definitionType(uploadForm.getDefinitionType())
+                            .progress(progress)
+                            .build());
+                } finally {
+                    deleteFiles(files);
+                }
+            });
+            return redirect("/rest/project/" + projectId + "?upload=started&job=" + job.getId());
         } catch (Exception e){
+            deleteFiles(files);
             return redirect("/rest/project/" + projectId + "?upload=error");
-        } finally {
-            if(files != null){
-                for(File uploadedFile : files){
-                    boolean deletionResult = fileManager.deleteFile(uploadedFile);
-                    if(deletionResult){
-                        LOGGER.debug("Deleted the following WADL file: " + uploadedFile.getName());
-                    } else {
-                        LOGGER.warn("Unable to delete the following WADL file: " + uploadedFile.getName());
-                    }
+        }
+    }
 
-                }
+    private void deleteFiles(final List<File> files){
+        if(files == null){
+            return;
+        }
+        for(File uploadedFile : files){
+            boolean deletionResult = fileManager.deleteFile(uploadedFile);
+            if(deletionResult){
+                LOGGER.debug("Deleted the following WADL file: " + uploadedFile.getName());
+            } else {
+                LOGGER.warn("Unable to delete the following WADL file: " + uploadedFile.getName());
             }
         }
     }
-}
\ No newline at end of file
+}
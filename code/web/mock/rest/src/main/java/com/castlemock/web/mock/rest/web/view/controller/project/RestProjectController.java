@@ -57,6 +57,8 @@ public class RestProjectController extends AbstractRestViewController {
     private static final String UPLOAD = "upload";
     private static final String UPLOAD_OUTCOME_SUCCESS = "success";
     private static final String UPLOAD_OUTCOME_ERROR = "error";
+    private static final String UPLOAD_OUTCOME_STARTED = "started";
+    private static final String JOB = "job";
 
     private static final Logger LOGGER = Logger.getLogger(RestProjectController.class);
     /**
@@ -66,7 +68,9 @@ public class RestProjectController extends AbstractRestViewController {
      */
     @PreAuthorize("hasAuthority('READER') or hasAuthority('MODIFIER') or hasAuthority('ADMIN')")
     @RequestMapping(value = "/{projectId}", method = RequestMethod.GET)
-    public ModelAndView getProject(@PathVariable final String projectId, @RequestParam(value = UPLOAD, required = false) final String upload) {
+    public ModelAndView getProject(@PathVariable final String projectId,
+                                   @RequestParam(value = UPLOAD, required = false) final String upload,
+                                   @RequestParam(value = JOB, required = false) final String job) {
         final ReadRestProjectOutput output =  serviceProcessor.process(ReadRestProjectInput.builder()
                 .restProjectId(projectId)
                 .build());
@@ -82,6 +86,10 @@ public class RestProjectController extends AbstractRestViewController {
         } else if(UPLOAD_OUTCOME_ERROR.equals(upload)){
             LOGGER.debug("Upload unsuccessful");
             model.addObject(UPLOAD, UPLOAD_OUTCOME_ERROR);
+        } else if(UPLOAD_OUTCOME_STARTED.equals(upload) && job != null){
+            LOGGER.debug("Upload started");
+            model.addObject(UPLOAD, UPLOAD_OUTCOME_STARTED);
+            model.addObject(JOB, job);
         }
 
         return model;
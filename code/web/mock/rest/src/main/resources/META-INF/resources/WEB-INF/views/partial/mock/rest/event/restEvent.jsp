@@ -58,6 +58,9 @@
                 <ul class="nav nav-tabs">
                     <li class="active"><a data-toggle="tab" href="#request"><spring:message code="rest.event.header.request"/></a></li>
                     <li><a data-toggle="tab" href="#response"><spring:message code="rest.event.header.response"/></a></li>
+                    <c:if test="${event.timings != null}">
+                        <li><a data-toggle="tab" href="#timings"><spring:message code="rest.event.header.timings"/></a></li>
+                    </c:if>
                 </ul>
             </div>
             <div class="panel-body">
@@ -139,6 +142,47 @@
                             </c:when>
                         </c:choose>
                     </div>
+
+                    <c:if test="${event.timings != null}">
+                        <div id="timings" class="tab-pane fade">
+                            <div class="table-responsive">
+                                <table class="table table-striped table-hover">
+                                    <tr>
+                                        <th><spring:message code="rest.event.column.phase"/></th>
+                                        <th><spring:message code="rest.event.column.time"/></th>
+                                    </tr>
+                                    <tr>
+                                        <td><spring:message code="general.type.eventphase.READ"/></td>
+                                        <td><fmt:formatNumber value="${event.timings.readTime / 1000000}" minFractionDigits="3" maxFractionDigits="3"/></td>
+                                    </tr>
+                                    <tr>
+                                        <td><spring:message code="general.type.eventphase.IDENTIFY"/></td>
+                                        <td><fmt:formatNumber value="${event.timings.identifyTime / 1000000}" minFractionDigits="3" maxFractionDigits="3"/></td>
+                                    </tr>
+                                    <tr>
+                                        <td><spring:message code="general.type.eventphase.SELECT"/></td>
+                                        <td><fmt:formatNumber value="${event.timings.selectTime / 1000000}" minFractionDigits="3" maxFractionDigits="3"/></td>
+                                    </tr>
+                                    <tr>
+                                        <td><spring:message code="general.type.eventphase.RENDER"/></td>
+                                        <td><fmt:formatNumber value="${event.timings.renderTime / 1000000}" minFractionDigits="3" maxFractionDigits="3"/></td>
+                                    </tr>
+                                    <tr>
+                                        <td><spring:message code="general.type.eventphase.FORWARD"/></td>
+                                        <td><fmt:formatNumber value="${event.timings.forwardTime / 1000000}" minFractionDigits="3" maxFractionDigits="3"/></td>
+                                    </tr>
+                                    <tr>
+                                        <td><spring:message code="general.type.eventphase.DELAY"/></td>
+                                        <td><fmt:formatNumber value="${event.timings.delayTime / 1000000}" minFractionDigits="3" maxFractionDigits="3"/></td>
+                                    </tr>
+                                    <tr>
+                                        <td><spring:message code="general.type.eventphase.WRITE"/></td>
+                                        <td><fmt:formatNumber value="${event.timings.writeTime / 1000000}" minFractionDigits="3" maxFractionDigits="3"/></td>
+                                    </tr>
+                                </table>
+                            </div>
+                        </div>
+                    </c:if>
                 </div>
             </div>
         </div>
@@ -150,13 +150,16 @@
                             <c:forEach items="${restEvents}" var="event" varStatus="loopStatus">
                                 <tr>
                                     <td><a href="<c:url value="/web/rest/event/${event.id}"/>">${event.id}</a></td>
-                                    <td><a href="<c:url value="/web/rest/event/${event.id}"/>">${event.response.mockResponseName}</a></td>
+                                    <td><a href="<c:url value="/web/rest/event/${event.id}"/>">${event.mockResponseName}</a></td>
                                     <td><a href="<c:url value="/web/rest/event/${event.id}"/>">${event.startDate}</a></td>
                                     <td><a href="<c:url value="/web/rest/event/${event.id}"/>">${event.endDate}</a></td>
                                 </tr>
                             </c:forEach>
                         </table>
                     </div>
+                    <div class="menu" align="right">
+                        <a class="btn btn-primary" href="<c:url value="/web/event?type=rest&operationId=${restMethod.id}"/>"><span><spring:message code="rest.restmethod.button.allevents"/></span></a>
+                    </div>
                 </c:when>
                 <c:otherwise>
                     <spring:message code="rest.restmethod.label.noevent"/>
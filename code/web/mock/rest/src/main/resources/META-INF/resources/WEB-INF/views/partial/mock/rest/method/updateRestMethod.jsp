@@ -83,6 +83,40 @@
                     <td class="column1"><label path="name"><spring:message code="rest.updatemethod.label.networkdelay"/> (ms)</label></td>
                     <td class="column2"><form:input class="form-control" type="number" path="networkDelay" value="${restMethod.networkDelay}"/></td>
                 </tr>
+                <tr>
+                    <td class="column1"><form:label path="eventPolicy.sampleRate"><spring:message code="rest.updatemethod.label.eventsamplerate"/></form:label></td>
+                    <td class="column2"><form:input class="form-control" type="number" step="0.01" min="0" max="1" path="eventPolicy.sampleRate"/></td>
+                </tr>
+                <tr>
+                    <td class="column1"><form:label path="eventPolicy.maxBodyBytes"><spring:message code="rest.updatemethod.label.eventmaxbodybytes"/> (bytes)</form:label></td>
+                    <td class="column2"><form:input class="form-control" type="number" min="0" path="eventPolicy.maxBodyBytes"/></td>
+                </tr>
+                <tr>
+                    <td class="column1"><spring:message code="rest.updatemethod.label.eventheadersonly"/></td>
+                    <td>
+                        <form:select class="form-control" path="eventPolicy.headersOnly">
+                            <spring:message var="label" code="rest.updatemethod.dropdown.option.eventinherit"/>
+                            <form:option value="" label="${label}"/>
+                            <spring:message var="label" code="rest.updatemethod.dropdown.option.eventyes"/>
+                            <form:option value="true" label="${label}"/>
+                            <spring:message var="label" code="rest.updatemethod.dropdown.option.eventno"/>
+                            <form:option value="false" label="${label}"/>
+                        </form:select>
+                    </td>
+                </tr>
+                <tr>
+                    <td class="column1"><spring:message code="rest.updatemethod.label.eventerrorsonly"/></td>
+                    <td>
+                        <form:select class="form-control" path="eventPolicy.errorsOnly">
+                            <spring:message var="label" code="rest.updatemethod.dropdown.option.eventinherit"/>
+                            <form:option value="" label="${label}"/>
+                            <spring:message var="label" code="rest.updatemethod.dropdown.option.eventyes"/>
+                            <form:option value="true" label="${label}"/>
+                            <spring:message var="label" code="rest.updatemethod.dropdown.option.eventno"/>
+                            <form:option value="false" label="${label}"/>
+                        </form:select>
+                    </td>
+                </tr>
                 <tr>
                     <td class="column1"><spring:message code="rest.updatemethod.label.defaultresponse"/></td>
                     <td>
@@ -38,6 +38,32 @@
                     <strong><spring:message code="rest.restimportdefinition.message.error.title"/></strong> <spring:message code="rest.restimportdefinition.message.error.body"/>
                 </div>
             </c:if>
+            <c:if test="${upload == 'started'}">
+                <div class="alert alert-info" role="alert" id="importJob">
+                    <strong><spring:message code="rest.restimportdefinition.message.started.title"/></strong> <spring:message code="rest.restimportdefinition.message.started.body"/>
+                    <div class="progress">
+                        <div class="progress-bar" role="progressbar" id="importJobProgress" style="width: 0%;"></div>
+                    </div>
+                    <span id="importJobMessage"></span>
+                </div>
+                <script>
+                    (function pollImportJob() {
+                        $.getJSON("<c:url value="/api/rest/core/job/${job}"/>", function(job) {
+                            $("#importJobProgress").css("width", job.percentage + "%");
+                            $("#importJobMessage").text(job.message || "");
+                            if (job.status === "COMPLETED") {
+                                window.location.replace("<c:url value="/web/rest/project/${restProject.id}?upload=success"/>");
+                            } else if (job.status === "FAILED") {
+                                window.location.replace("<c:url value="/web/rest/project/${restProject.id}?upload=error"/>");
+                            } else {
+                                setTimeout(pollImportJob, 1000);
+                            }
+                        }).fail(function() {
+                            window.location.replace("<c:url value="/web/rest/project/${restProject.id}?upload=error"/>");
+                        });
+                    })();
+                </script>
+            </c:if>
         </c:if>
 
         <div class="content-top">
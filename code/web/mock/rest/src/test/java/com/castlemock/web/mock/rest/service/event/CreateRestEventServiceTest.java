@@ -18,11 +18,13 @@ package com.castlemock.web.mock.rest.service.event;
 
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.mock.rest.model.event.RestEventGenerator;
 import com.castlemock.core.mock.rest.model.event.domain.RestEvent;
 import com.castlemock.core.mock.rest.service.event.input.CreateRestEventInput;
 import com.castlemock.core.mock.rest.service.event.output.CreateRestEventOutput;
 import com.castlemock.repository.rest.event.RestEventRepository;
+import com.castlemock.web.basis.manager.EventStreamManager;
 import org.dozer.DozerBeanMapper;
 import org.junit.Assert;
 import org.junit.Before;
@@ -42,6 +44,9 @@ public class CreateRestEventServiceTest {
     @Mock
     private RestEventRepository repository;
 
+    @Mock
+    private EventStreamManager eventStreamManager;
+
     @InjectMocks
     private CreateRestEventService service;
 
@@ -87,4 +92,21 @@ public class CreateRestEventServiceTest {
         Assert.assertEquals(restEvent.getProjectId(), returnedSoapEvent.getProjectId());
     }
 
+    @Test
+    public void testPublish(){
+        final RestEvent restEvent = RestEventGenerator.generateRestEvent();
+        Mockito.when(repository.save(Mockito.any(RestEvent.class))).thenReturn(restEvent);
+        Mockito.when(eventStreamManager.hasSubscribers()).thenReturn(true);
+
+        final CreateRestEventInput input = CreateRestEventInput.builder().restEvent(restEvent).build();
+        service.process(new ServiceTask<CreateRestEventInput>(input));
+
+        final ArgumentCaptor<EventSummary> captor = ArgumentCaptor.forClass(EventSummary.class);
+        Mockito.verify(eventStreamManager, Mockito.times(1)).publish(captor.capture());
+        Assert.assertEquals(restEvent.getId(), captor.getValue().getId());
+        Assert.assertEquals(restEvent.getMethodId(), captor.getValue().getOperationId());
+        Assert.assertEquals(restEvent.getResponse().getHttpStatusCode(), captor.getValue().getStatusCode());
+        Assert.assertEquals("rest", captor.getValue().getTypeIdentifier().getTypeUrl());
+    }
+
 }
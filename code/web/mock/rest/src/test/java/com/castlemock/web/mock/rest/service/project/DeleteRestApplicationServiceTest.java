@@ -85,9 +85,9 @@ public class DeleteRestApplicationServiceTest {
         final ServiceResult<DeleteRestApplicationOutput> serviceResult = service.process(serviceTask);
 
         Mockito.verify(applicationRepository, Mockito.times(1)).delete(applicationId);
-        Mockito.verify(resourceRepository, Mockito.times(1)).delete(resource.getId());
-        Mockito.verify(methodRepository, Mockito.times(1)).delete(method.getId());
-        Mockito.verify(mockResponseRepository, Mockito.times(1)).delete(mockResponse.getId());
+        Mockito.verify(resourceRepository, Mockito.times(1)).deleteAll(Arrays.asList(resource.getId()));
+        Mockito.verify(methodRepository, Mockito.times(1)).deleteAll(Arrays.asList(method.getId()));
+        Mockito.verify(mockResponseRepository, Mockito.times(1)).deleteAll(Arrays.asList(mockResponse.getId()));
 
         Mockito.verify(resourceRepository, Mockito.times(1)).findWithApplicationId(applicationId);
         Mockito.verify(methodRepository, Mockito.times(1)).findWithResourceId(resource.getId());
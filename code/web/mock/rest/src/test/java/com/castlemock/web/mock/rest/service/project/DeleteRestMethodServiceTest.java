@@ -73,7 +73,7 @@ public class DeleteRestMethodServiceTest {
         final ServiceResult<DeleteRestMethodOutput> serviceResult = service.process(serviceTask);
 
         Mockito.verify(methodRepository, Mockito.times(1)).delete(methodId);
-        Mockito.verify(mockResponseRepository, Mockito.times(1)).delete(mockResponse.getId());
+        Mockito.verify(mockResponseRepository, Mockito.times(1)).deleteAll(Arrays.asList(mockResponse.getId()));
 
         Mockito.verify(mockResponseRepository, Mockito.times(1)).findWithMethodId(methodId);
     }
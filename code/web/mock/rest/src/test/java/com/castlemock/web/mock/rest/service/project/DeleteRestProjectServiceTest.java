@@ -23,12 +23,14 @@ import com.castlemock.core.mock.rest.model.project.domain.*;
 import com.castlemock.core.mock.rest.service.project.input.DeleteRestProjectInput;
 import com.castlemock.core.mock.rest.service.project.output.DeleteRestProjectOutput;
 import com.castlemock.repository.rest.project.*;
+import com.castlemock.web.basis.manager.EventPolicyManager;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.util.Arrays;
 
@@ -53,6 +55,9 @@ public class DeleteRestProjectServiceTest {
     @Mock
     private RestMockResponseRepository mockResponseRepository;
 
+    @Spy
+    private EventPolicyManager eventPolicyManager = new EventPolicyManager();
+
     @InjectMocks
     private DeleteRestProjectService service;
 
@@ -81,10 +86,10 @@ public class DeleteRestProjectServiceTest {
         final ServiceResult<DeleteRestProjectOutput> serviceResult = service.process(serviceTask);
 
         Mockito.verify(repository, Mockito.times(1)).delete(project.getId());
-        Mockito.verify(applicationRepository, Mockito.times(1)).delete(application.getId());
-        Mockito.verify(resourceRepository, Mockito.times(1)).delete(resource.getId());
-        Mockito.verify(methodRepository, Mockito.times(1)).delete(method.getId());
-        Mockito.verify(mockResponseRepository, Mockito.times(1)).delete(mockResponse.getId());
+        Mockito.verify(applicationRepository, Mockito.times(1)).deleteAll(Arrays.asList(application.getId()));
+        Mockito.verify(resourceRepository, Mockito.times(1)).deleteAll(Arrays.asList(resource.getId()));
+        Mockito.verify(methodRepository, Mockito.times(1)).deleteAll(Arrays.asList(method.getId()));
+        Mockito.verify(mockResponseRepository, Mockito.times(1)).deleteAll(Arrays.asList(mockResponse.getId()));
 
         Mockito.verify(applicationRepository, Mockito.times(1)).findWithProjectId(project.getId());
         Mockito.verify(resourceRepository, Mockito.times(1)).findWithApplicationId(application.getId());
@@ -79,8 +79,8 @@ public class DeleteRestResourceServiceTest {
         final ServiceResult<DeleteRestResourceOutput> serviceResult = service.process(serviceTask);
 
         Mockito.verify(resourceRepository, Mockito.times(1)).delete(resourceId);
-        Mockito.verify(methodRepository, Mockito.times(1)).delete(method.getId());
-        Mockito.verify(mockResponseRepository, Mockito.times(1)).delete(mockResponse.getId());
+        Mockito.verify(methodRepository, Mockito.times(1)).deleteAll(Arrays.asList(method.getId()));
+        Mockito.verify(mockResponseRepository, Mockito.times(1)).deleteAll(Arrays.asList(mockResponse.getId()));
 
         Mockito.verify(methodRepository, Mockito.times(1)).findWithResourceId(resourceId);
         Mockito.verify(mockResponseRepository, Mockito.times(1)).findWithMethodId(method.getId());
@@ -28,7 +28,9 @@ import com.castlemock.core.mock.rest.service.project.input.IdentifyRestMethodInp
 import com.castlemock.core.mock.rest.service.project.output.IdentifyRestMethodOutput;
 import com.castlemock.repository.rest.project.RestMethodRepository;
 import com.castlemock.repository.rest.project.RestMockResponseRepository;
+import com.castlemock.repository.rest.project.RestProjectRepository;
 import com.castlemock.repository.rest.project.RestResourceRepository;
+import com.castlemock.web.basis.manager.EventPolicyManager;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -36,6 +38,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -46,6 +49,9 @@ import java.util.Arrays;
  */
 public class IdentifyRestMethodServiceTest {
 
+    @Mock
+    private RestProjectRepository repository;
+
     @Mock
     private RestResourceRepository resourceRepository;
 
@@ -55,6 +61,9 @@ public class IdentifyRestMethodServiceTest {
     @Mock
     private RestMockResponseRepository mockResponseRepository;
 
+    @Spy
+    private EventPolicyManager eventPolicyManager = new EventPolicyManager();
+
     @InjectMocks
     private IdentifyRestMethodService service;
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.web.mock.rest.service.project;
+
+import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.mock.rest.model.project.RestApplicationGenerator;
+import com.castlemock.core.mock.rest.model.project.RestMethodGenerator;
+import com.castlemock.core.mock.rest.model.project.RestMockResponseGenerator;
+import com.castlemock.core.mock.rest.model.project.RestProjectGenerator;
+import com.castlemock.core.mock.rest.model.project.RestResourceGenerator;
+import com.castlemock.core.mock.rest.model.project.domain.*;
+import com.castlemock.core.mock.rest.service.project.input.ExportRestProjectInput;
+import com.castlemock.core.mock.rest.service.project.input.ImportRestProjectInput;
+import com.castlemock.core.mock.rest.service.project.output.ImportRestProjectOutput;
+import com.castlemock.repository.Repository;
+import com.castlemock.repository.rest.file.project.legacy.RestProjectV1LegacyRepository;
+import com.castlemock.repository.rest.project.*;
+import com.castlemock.web.basis.manager.EventPolicyManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class ImportRestProjectServiceTest {
+
+    private static final int METHODS = 3;
+    private static final int MOCK_RESPONSES = 2;
+
+    @Mock
+    private RestProjectRepository repository;
+
+    @Mock
+    private RestApplicationRepository applicationRepository;
+
+    @Mock
+    private RestResourceRepository resourceRepository;
+
+    @Mock
+    private RestMethodRepository methodRepository;
+
+    @Mock
+    private RestMockResponseRepository mockResponseRepository;
+
+    @Mock
+    private RestProjectV1LegacyRepository legacyRepository;
+
+    @Spy
+    private EventPolicyManager eventPolicyManager = new EventPolicyManager();
+
+    @InjectMocks
+    private ImportRestProjectService service;
+
+    @InjectMocks
+    private ExportRestProjectService exportService;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+        // A small batch size makes sure that the entities are saved in several batches
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+    }
+
+    @Test
+    public void testExportAndImport(){
+        final RestProject project = RestProjectGenerator.generateRestProject();
+        final RestApplication application = RestApplicationGenerator.generateRestApplication();
+        application.setProjectId(project.getId());
+        final RestResource resource = RestResourceGenerator.generateRestResource();
+        resource.setApplicationId(application.getId());
+        final List<RestMethod> methods = new ArrayList<>();
+        final List<RestMockResponse> mockResponses = new ArrayList<>();
+        for(int methodIndex = 0; methodIndex < METHODS; methodIndex++){
+            final RestMethod method = RestMethodGenerator.generateRestMethod();
+            method.setId("Method" + methodIndex);
+            method.setResourceId(resource.getId());
+            method.setCurrentResponseSequenceIndex(0);
+            methods.add(method);
+            for(int responseIndex = 0; responseIndex < MOCK_RESPONSES; responseIndex++){
+                final RestMockResponse mockResponse = RestMockResponseGenerator.generateRestMockResponse();
+                mockResponse.setId(method.getId() + "Response" + responseIndex);
+                mockResponse.setMethodId(method.getId());
+                mockResponse.setBody("{\"response\": \"" + mockResponse.getId() + "\"}");
+                mockResponses.add(mockResponse);
+            }
+        }
+
+        final String exported = export(project, Arrays.asList(application), Arrays.asList(resource), methods, mockResponses);
+
+        final ImportRestProjectOutput output = service.process(new ServiceTask<>(ImportRestProjectInput.builder()
+                .projectStream(new ByteArrayInputStream(exported.getBytes(StandardCharsets.UTF_8)))
+                .build())).getOutput();
+        Assert.assertEquals(project.getId(), output.getProject().getId());
+        Mockito.verify(legacyRepository, Mockito.never()).importOne(Mockito.anyString());
+
+        final ArgumentCaptor<RestProject> projectCaptor = ArgumentCaptor.forClass(RestProject.class);
+        Mockito.verify(repository).save(projectCaptor.capture());
+        final List<RestApplication> importedApplications = captureAll(applicationRepository);
+        final List<RestResource> importedResources = captureAll(resourceRepository);
+        final List<RestMethod> importedMethods = captureAll(methodRepository);
+        final List<RestMockResponse> importedMockResponses = captureAll(mockResponseRepository);
+
+        Assert.assertEquals(METHODS, importedMethods.size());
+        Assert.assertEquals(METHODS * MOCK_RESPONSES, importedMockResponses.size());
+        Assert.assertEquals(exported, export(projectCaptor.getValue(), importedApplications, importedResources,
+                importedMethods, importedMockResponses));
+    }
+
+    private String export(final RestProject project,
+                          final List<RestApplication> applications,
+                          final List<RestResource> resources,
+                          final List<RestMethod> methods,
+                          final List<RestMockResponse> mockResponses){
+        Mockito.when(repository.findOne(project.getId())).thenReturn(project);
+        Mockito.when(applicationRepository.findWithProjectId(project.getId())).thenReturn(applications);
+        Mockito.when(resourceRepository.findWithApplicationId(applications.get(0).getId())).thenReturn(resources);
+        Mockito.when(methodRepository.findWithResourceId(resources.get(0).getId())).thenReturn(methods);
+        for(RestMethod method : methods){
+            final List<RestMockResponse> methodMockResponses = new ArrayList<>();
+            for(RestMockResponse mockResponse : mockResponses){
+                if(method.getId().equals(mockResponse.getMethodId())){
+                    methodMockResponses.add(mockResponse);
+                }
+            }
+            Mockito.when(mockResponseRepository.findWithMethodId(method.getId())).thenReturn(methodMockResponses);
+        }
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportService.process(new ServiceTask<>(ExportRestProjectInput.builder()
+                .restProjectId(project.getId())
+                .outputStream(outputStream)
+                .build()));
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> captureAll(final Repository<T, String> repository){
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(repository, Mockito.atLeastOnce()).saveAll(captor.capture());
+        final List<T> entities = new ArrayList<>();
+        for(List<T> batch : captor.getAllValues()){
+            entities.addAll(batch);
+        }
+        return entities;
+    }
+
+}
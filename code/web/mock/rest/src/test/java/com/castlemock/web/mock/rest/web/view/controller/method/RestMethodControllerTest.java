@@ -17,14 +17,14 @@
 package com.castlemock.web.mock.rest.web.view.controller.method;
 
 import com.castlemock.core.basis.model.ServiceProcessor;
-import com.castlemock.core.mock.rest.model.event.domain.RestEvent;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.mock.rest.model.project.RestApplicationGenerator;
 import com.castlemock.core.mock.rest.model.project.RestMethodGenerator;
 import com.castlemock.core.mock.rest.model.project.RestProjectGenerator;
 import com.castlemock.core.mock.rest.model.project.RestResourceGenerator;
 import com.castlemock.core.mock.rest.model.project.domain.*;
-import com.castlemock.core.mock.rest.service.event.input.ReadRestEventWithMethodIdInput;
-import com.castlemock.core.mock.rest.service.event.output.ReadRestEventWithMethodIdOutput;
+import com.castlemock.core.mock.rest.service.event.input.ReadRestEventSummariesInput;
+import com.castlemock.core.mock.rest.service.event.output.ReadRestEventSummariesOutput;
 import com.castlemock.core.mock.rest.service.project.input.*;
 import com.castlemock.core.mock.rest.service.project.output.ReadRestMethodOutput;
 import com.castlemock.core.mock.rest.service.project.output.ReadRestMockResponseOutput;
@@ -90,8 +90,8 @@ public class RestMethodControllerTest extends AbstractRestControllerTest {
         when(serviceProcessor.process(isA(ReadRestMethodInput.class))).thenReturn(ReadRestMethodOutput.builder()
                 .restMethod(restMethod)
                 .build());
-        when(serviceProcessor.process(isA(ReadRestEventWithMethodIdInput.class))).thenReturn(ReadRestEventWithMethodIdOutput.builder()
-                .restEvents(new ArrayList<RestEvent>())
+        when(serviceProcessor.process(isA(ReadRestEventSummariesInput.class))).thenReturn(ReadRestEventSummariesOutput.builder()
+                .events(new ArrayList<EventSummary>())
                 .build());
         final MockHttpServletRequestBuilder message = MockMvcRequestBuilders.get(SERVICE_URL + PROJECT + SLASH + restProject.getId() + SLASH + APPLICATION + SLASH + restApplication.getId() + SLASH + RESOURCE + SLASH + restResource.getId() + SLASH + METHOD + SLASH + restMethod.getId());
         mockMvc.perform(message)
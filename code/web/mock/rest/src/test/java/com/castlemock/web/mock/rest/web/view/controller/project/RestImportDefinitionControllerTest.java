@@ -17,11 +17,13 @@
 package com.castlemock.web.mock.rest.web.view.controller.project;
 
 import com.castlemock.core.basis.model.ServiceProcessor;
+import com.castlemock.core.basis.model.job.domain.Job;
 import com.castlemock.core.mock.rest.model.project.RestProjectGenerator;
 import com.castlemock.core.mock.rest.model.project.domain.RestProject;
 import com.castlemock.core.mock.rest.service.project.input.ReadRestProjectInput;
 import com.castlemock.core.mock.rest.service.project.output.ReadRestProjectOutput;
 import com.castlemock.web.basis.manager.FileManager;
+import com.castlemock.web.basis.manager.JobManager;
 import com.castlemock.web.basis.web.AbstractController;
 import com.castlemock.web.mock.rest.config.TestApplication;
 import com.castlemock.web.mock.rest.web.view.command.project.RestDefinitionFileUploadForm;
@@ -66,6 +68,7 @@ public class RestImportDefinitionControllerTest extends AbstractRestControllerTe
     private static final String WADL = "WADL";
     private static final String SWAGGER = "SWAGGER";
     private static final String RAML = "RAML";
+    private static final String JOB_ID = "JobId";
 
 
     @InjectMocks
@@ -77,6 +80,9 @@ public class RestImportDefinitionControllerTest extends AbstractRestControllerTe
     @Mock
     private FileManager fileManager;
 
+    @Mock
+    private JobManager jobManager;
+
     @Override
     protected AbstractController getController() {
         return restImportDefinitionController;
@@ -148,12 +154,15 @@ public class RestImportDefinitionControllerTest extends AbstractRestControllerTe
                 .restProject(restProject)
                 .build());
         when(fileManager.uploadFiles(anyListOf(MultipartFile.class))).thenReturn(files);
+        when(jobManager.submit(anyString(), any())).thenReturn(job());
         final MockHttpServletRequestBuilder message = MockMvcRequestBuilders.post(SERVICE_URL + SLASH +
                 PROJECT + SLASH + restProject.getId() + SLASH + IMPORT).param(TYPE_PARAMETER, FILE)
                 .requestAttr("uploadForm", uploadForm);
         mockMvc.perform(message)
                 .andExpect(MockMvcResultMatchers.status().isFound())
-                .andExpect(MockMvcResultMatchers.model().size(1));
+                .andExpect(MockMvcResultMatchers.model().size(1))
+                .andExpect(MockMvcResultMatchers.redirectedUrl("/web/rest/project/" + restProject.getId() + "?upload=started&job=" + JOB_ID));
+        Mockito.verify(jobManager, times(1)).submit(anyString(), any());
         Mockito.verify(fileManager, times(1)).uploadFiles(anyListOf(MultipartFile.class));
     }
 
@@ -169,13 +178,20 @@ public class RestImportDefinitionControllerTest extends AbstractRestControllerTe
                 .restProject(restProject)
                 .build());
         when(fileManager.uploadFiles(anyString())).thenReturn(files);
+        when(jobManager.submit(anyString(), any())).thenReturn(job());
         final MockHttpServletRequestBuilder message = MockMvcRequestBuilders.post(SERVICE_URL + SLASH + PROJECT + SLASH + restProject.getId() + SLASH + IMPORT).param(TYPE_PARAMETER, LING).requestAttr("uploadForm", uploadForm);
         mockMvc.perform(message)
                 .andExpect(MockMvcResultMatchers.status().isFound())
-                .andExpect(MockMvcResultMatchers.model().size(1));
+                .andExpect(MockMvcResultMatchers.model().size(1))
+                .andExpect(MockMvcResultMatchers.redirectedUrl("/web/rest/project/" + restProject.getId() + "?upload=started&job=" + JOB_ID));
+        Mockito.verify(jobManager, times(1)).submit(anyString(), any());
         Mockito.verify(fileManager, times(0)).uploadFiles(anyString());
     }
 
-
+    private static Job job(){
+        final Job job = new Job();
+        job.setId(JOB_ID);
+        return job;
+    }
 
 }
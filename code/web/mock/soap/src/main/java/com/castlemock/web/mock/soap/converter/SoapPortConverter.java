@@ -223,6 +223,17 @@ public class SoapPortConverter {
                         servicePort.getAddress()))
                 .collect(Collectors.toList());
 
+        // Operations with a unique SOAP action can be identified by the SOAPAction header
+        // (SOAP 1.1) or the action parameter (SOAP 1.2) instead of parsing the request body.
+        final Map<String, Long> soapActionCount = operations.stream()
+                .map(SoapOperation::getSoapAction)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(soapAction -> soapAction, Collectors.counting()));
+        operations.stream()
+                .filter(operation -> operation.getSoapAction() != null)
+                .filter(operation -> soapActionCount.get(operation.getSoapAction()) == 1)
+                .forEach(operation -> operation.setIdentifyStrategy(SoapOperationIdentifyStrategy.SOAP_ACTION));
+
         final SoapPort soapPort = new SoapPort();
         soapPort.setName(servicePort.getName());
         soapPort.setOperations(operations);
@@ -287,6 +298,7 @@ public class SoapPortConverter {
         soapOperation.setDefaultBody(generateDefaultBody(operationResponseIdentifier));
         soapOperation.setCurrentResponseSequenceIndex(DEFAULT_RESPONSE_SEQUENCE_INDEX);
         soapOperation.setIdentifyStrategy(SoapOperationIdentifyStrategy.ELEMENT_NAMESPACE);
+        soapOperation.setSoapAction(bindingOperation.getSoapAction().orElse(null));
 
         return soapOperation;
     }
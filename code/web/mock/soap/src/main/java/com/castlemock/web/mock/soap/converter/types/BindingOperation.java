@@ -17,17 +17,20 @@
 package com.castlemock.web.mock.soap.converter.types;
 
 import java.util.Objects;
+import java.util.Optional;
 
 public final class BindingOperation {
 
     private final String name;
     private final BindingOperationInput input;
     private final BindingOperationOutput output;
+    private final String soapAction;
 
     private BindingOperation(final Builder builder){
         this.name = Objects.requireNonNull(builder.name);
         this.input = Objects.requireNonNull(builder.input);
         this.output = Objects.requireNonNull(builder.output);
+        this.soapAction = builder.soapAction;
     }
 
     public String getName() {
@@ -42,6 +45,10 @@ public final class BindingOperation {
         return output;
     }
 
+    public Optional<String> getSoapAction() {
+        return Optional.ofNullable(soapAction);
+    }
+
     public static Builder builder(){
         return new Builder();
     }
@@ -51,6 +58,7 @@ public final class BindingOperation {
         private String name;
         private BindingOperationInput input;
         private BindingOperationOutput output;
+        private String soapAction;
 
         private Builder(){
 
@@ -71,6 +79,11 @@ public final class BindingOperation {
             return this;
         }
 
+        public Builder soapAction(final String soapAction){
+            this.soapAction = soapAction;
+            return this;
+        }
+
         public BindingOperation build(){
             return new BindingOperation(this);
         }
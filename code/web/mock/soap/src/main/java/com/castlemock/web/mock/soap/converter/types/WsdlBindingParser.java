@@ -39,6 +39,7 @@ public final class WsdlBindingParser extends WsdlParser {
     private static final String OUTPUT_NAMESPACE = "output";
     private static final String BODY_NAMESPACE = "body";
     private static final String TYPE_NAMESPACE = "type";
+    private static final String SOAP_ACTION_NAMESPACE = "soapAction";
 
     public Set<Binding> parseBindings(final Document document){
         final List<Element> bindingElements =
@@ -73,9 +74,20 @@ public final class WsdlBindingParser extends WsdlParser {
                 .name(name)
                 .input(parseInput(operationElement))
                 .output(parseOutput(operationElement))
+                .soapAction(parseSoapAction(operationElement).orElse(null))
                 .build();
     }
 
+    private Optional<String> parseSoapAction(final Element operationElement){
+        // The SOAP action is commonly an URI and should not be split on the namespace prefix divider.
+        final Optional<Element> soapOperationElement =
+                DocumentUtility.getElement(operationElement, SOAP_11_NAMESPACE, OPERATION_NAMESPACE);
+        return (soapOperationElement.isPresent() ? soapOperationElement :
+                DocumentUtility.getElement(operationElement, SOAP_12_NAMESPACE, OPERATION_NAMESPACE))
+                .map(element -> element.getAttribute(SOAP_ACTION_NAMESPACE))
+                .filter(soapAction -> !soapAction.isEmpty());
+    }
+
     private BindingOperationInput parseInput(final Element operationElement){
         final Optional<Element> inputElement =
                 DocumentUtility.getElement(operationElement, WSDL_NAMESPACE, INPUT_NAMESPACE);
@@ -17,9 +17,11 @@
 package com.castlemock.web.mock.soap.service.event;
 
 
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.mock.soap.model.event.domain.SoapEvent;
 import com.castlemock.repository.soap.event.SoapEventRepository;
 import com.castlemock.web.basis.service.event.AbstractEventService;
+import com.castlemock.web.mock.soap.model.SoapTypeIdentifier;
 
 /**
  * The SOAP event service is responsible for all the functionality related to the SOAP events.
@@ -28,5 +30,27 @@ import com.castlemock.web.basis.service.event.AbstractEventService;
  */
 public class AbstractSoapEventService extends AbstractEventService<SoapEvent, SoapEventRepository> {
 
-}
+    private static final SoapTypeIdentifier TYPE_IDENTIFIER = new SoapTypeIdentifier();
+
+    /**
+     * Create a summary of a SOAP event without the request and the response.
+     * The summary does not contain a resource link.
+     * @param event The event that the summary will be based on.
+     * @return A summary of the provided event.
+     * @since 1.38
+     */
+    @Override
+    protected EventSummary toSummary(final SoapEvent event){
+        final EventSummary summary = super.toSummary(event);
+        summary.setTypeIdentifier(TYPE_IDENTIFIER);
+        summary.setProjectId(event.getProjectId());
+        summary.setApplicationId(event.getPortId());
+        summary.setOperationId(event.getOperationId());
+        if(event.getResponse() != null){
+            summary.setStatusCode(event.getResponse().getHttpStatusCode());
+            summary.setMockResponseName(event.getResponse().getMockResponseName());
+        }
+        return summary;
+    }
 
+}
@@ -51,6 +51,7 @@ public class CreateSoapEventService extends AbstractSoapEventService implements
             repository.deleteOldestEvent();
         }
         final SoapEvent createdSoapEvent = save(soapEvent);
+        publish(createdSoapEvent);
         return createServiceResult(CreateSoapEventOutput.builder()
                 .createdSoapEvent(createdSoapEvent)
                 .build());
@@ -19,13 +19,17 @@ package com.castlemock.web.mock.soap.service.event.adapter;
 import com.castlemock.core.basis.model.ServiceProcessor;
 import com.castlemock.core.basis.model.TypeIdentifier;
 import com.castlemock.core.basis.model.event.domain.Event;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
 import com.castlemock.core.basis.service.event.EventServiceAdapter;
 import com.castlemock.core.basis.service.event.EventServiceFacade;
 import com.castlemock.core.mock.soap.model.event.domain.SoapEvent;
 import com.castlemock.core.mock.soap.service.event.input.ClearAllSoapEventInput;
 import com.castlemock.core.mock.soap.service.event.input.ReadAllSoapEventInput;
+import com.castlemock.core.mock.soap.service.event.input.ReadSoapEventSummariesInput;
 import com.castlemock.core.mock.soap.service.event.input.ReadSoapEventInput;
 import com.castlemock.core.mock.soap.service.event.output.ReadAllSoapEventOutput;
+import com.castlemock.core.mock.soap.service.event.output.ReadSoapEventSummariesOutput;
 import com.castlemock.core.mock.soap.service.event.output.ReadSoapEventOutput;
 import com.castlemock.web.mock.soap.model.SoapTypeIdentifier;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -162,6 +166,34 @@ public class SoapEventServiceAdapter implements EventServiceAdapter<SoapEvent> {
                 soapEvent.getPortId() + SLASH + OPERATION + SLASH + soapEvent.getOperationId();
     }
 
+    /**
+     * The method retrieves a page of event summaries that match the provided query.
+     * @param query The query that the events have to match.
+     * @return A list of event summaries, with the newest event first.
+     * @since 1.38
+     */
+    @Override
+    public List<EventSummary> readSummaries(final EventQuery query) {
+        final ReadSoapEventSummariesOutput output = serviceProcessor.process(ReadSoapEventSummariesInput.builder()
+                .query(query)
+                .build());
+        for(EventSummary summary : output.getEvents()){
+            summary.setTypeIdentifier(getTypeIdentifier());
+            summary.setResourceLink(generateResourceLink(summary));
+        }
+        return output.getEvents();
+    }
+
+    /**
+     * The method generates the resource link for an event summary.
+     * @param summary The event summary which will be used to generate the resource link
+     * @return The resource link generated based on the event summary
+     */
+    private String generateResourceLink(final EventSummary summary) {
+        return SLASH + WEB + SLASH + SOAP + SLASH + PROJECT + SLASH + summary.getProjectId() + SLASH + PORT + SLASH +
+                summary.getApplicationId() + SLASH + OPERATION + SLASH + summary.getOperationId();
+    }
+
     /**
      * The method will clear and remove all previous events.
      * @since 1.7
@@ -18,13 +18,17 @@ package com.castlemock.web.mock.soap.service.project;
 
 import com.castlemock.core.mock.soap.model.project.domain.*;
 import com.castlemock.repository.soap.project.*;
+import com.castlemock.web.basis.manager.EventPolicyManager;
 import com.castlemock.web.basis.service.AbstractService;
 import com.google.common.base.Preconditions;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
+import static java.util.stream.Collectors.toList;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -39,30 +43,58 @@ public abstract class AbstractSoapProjectService extends AbstractService<SoapPro
     protected SoapMockResponseRepository mockResponseRepository;
     @Autowired
     protected SoapResourceRepository resourceRepository;
+    @Autowired
+    protected EventPolicyManager eventPolicyManager;
 
     protected SoapProject deleteProject(final String projectId){
-        final List<SoapPort> ports = this.portRepository.findWithProjectId(projectId);
-        final List<SoapResource> resources = this.resourceRepository.findWithProjectId(projectId);
-        ports.forEach(port -> this.deletePort(port.getId()));
-        resources.forEach(resource -> this.deleteResource(resource.getId()));
-
-        return this.repository.delete(projectId);
+        final List<String> portIds = this.portRepository.findWithProjectId(projectId).stream()
+                .map(SoapPort::getId)
+                .collect(toList());
+        final List<String> resourceIds = this.resourceRepository.findWithProjectId(projectId).stream()
+                .map(SoapResource::getId)
+                .collect(toList());
+        deletePorts(portIds);
+        this.resourceRepository.deleteAll(resourceIds);
+
+        final SoapProject project = this.repository.delete(projectId);
+        this.eventPolicyManager.invalidate(projectId);
+        return project;
     }
 
     protected SoapPort deletePort(final String portId){
-        final List<SoapOperation> operations = this.operationRepository.findWithPortId(portId);
-        operations.forEach(operation -> this.deleteOperation(operation.getId()));
-
+        deleteOperations(findOperationIds(Collections.singletonList(portId)));
         return this.portRepository.delete(portId);
     }
 
-    protected SoapOperation deleteOperation(final String operationId){
-        final List<SoapMockResponse> responses = this.mockResponseRepository.findWithOperationId(operationId);
-        responses.forEach(response -> this.deleteMockResponse(response.getId()));
+    /**
+     * Delete several ports together with their operations and mock responses.
+     * Each level of the hierarchy is deleted in a single batch.
+     * @param portIds The ids of the ports that will be deleted.
+     * @return The deleted ports.
+     * @since 1.38
+     */
+    protected List<SoapPort> deletePorts(final List<String> portIds){
+        deleteOperations(findOperationIds(portIds));
+        return this.portRepository.deleteAll(portIds);
+    }
 
+    protected SoapOperation deleteOperation(final String operationId){
+        this.mockResponseRepository.deleteAll(findMockResponseIds(Collections.singletonList(operationId)));
         return this.operationRepository.delete(operationId);
     }
 
+    /**
+     * Delete several operations together with their mock responses.
+     * Each level of the hierarchy is deleted in a single batch.
+     * @param operationIds The ids of the operations that will be deleted.
+     * @return The deleted operations.
+     * @since 1.38
+     */
+    protected List<SoapOperation> deleteOperations(final List<String> operationIds){
+        this.mockResponseRepository.deleteAll(findMockResponseIds(operationIds));
+        return this.operationRepository.deleteAll(operationIds);
+    }
+
     protected SoapMockResponse deleteMockResponse(final String mockReponseId){
         return this.mockResponseRepository.delete(mockReponseId);
     }
@@ -71,6 +103,22 @@ public abstract class AbstractSoapProjectService extends AbstractService<SoapPro
         return this.resourceRepository.delete(resourceId);
     }
 
+    private List<String> findOperationIds(final List<String> portIds){
+        return portIds.stream()
+                .map(this.operationRepository::findWithPortId)
+                .flatMap(List::stream)
+                .map(SoapOperation::getId)
+                .collect(toList());
+    }
+
+    private List<String> findMockResponseIds(final List<String> operationIds){
+        return operationIds.stream()
+                .map(this.mockResponseRepository::findWithOperationId)
+                .flatMap(List::stream)
+                .map(SoapMockResponse::getId)
+                .collect(toList());
+    }
+
 
     /**
      * The save method saves a project to the database
@@ -104,7 +152,10 @@ public abstract class AbstractSoapProjectService extends AbstractService<SoapPro
         final SoapProject project = find(soapProjectId);
         project.setName(updatedProject.getName());
         project.setDescription(updatedProject.getDescription());
-        return super.save(project);
+        project.setEventPolicy(updatedProject.getEventPolicy());
+        final SoapProject savedProject = super.save(project);
+        this.eventPolicyManager.invalidate(soapProjectId);
+        return savedProject;
     }
 
 }
@@ -93,6 +93,7 @@ public class CreateSoapPortsService extends AbstractSoapProjectService implement
                     if(existingSoapOperation != null){
                         existingSoapOperation.setOriginalEndpoint(newSoapOperation.getOriginalEndpoint());
                         existingSoapOperation.setSoapVersion(newSoapOperation.getSoapVersion());
+                        existingSoapOperation.setSoapAction(newSoapOperation.getSoapAction());
                         this.operationRepository.update(existingSoapOperation.getId(), existingSoapOperation);
                     } else {
                         newSoapOperation.setPortId(existingSoapPort.getId());
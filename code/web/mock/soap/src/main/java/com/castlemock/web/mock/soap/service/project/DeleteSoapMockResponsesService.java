@@ -23,6 +23,8 @@ import com.castlemock.core.mock.soap.model.project.domain.SoapMockResponse;
 import com.castlemock.core.mock.soap.service.project.input.DeleteSoapMockResponsesInput;
 import com.castlemock.core.mock.soap.service.project.output.DeleteSoapMockResponsesOutput;
 
+import java.util.stream.Collectors;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -41,9 +43,9 @@ public class DeleteSoapMockResponsesService extends AbstractSoapProjectService i
     @Override
     public ServiceResult<DeleteSoapMockResponsesOutput> process(final ServiceTask<DeleteSoapMockResponsesInput> serviceTask) {
         final DeleteSoapMockResponsesInput input = serviceTask.getInput();
-        input.getMockResponses().stream()
+        this.mockResponseRepository.deleteAll(input.getMockResponses().stream()
                 .map(SoapMockResponse::getId)
-                .forEach(this::deleteMockResponse);
+                .collect(Collectors.toList()));
         return createServiceResult(DeleteSoapMockResponsesOutput.builder().build());
     }
 }
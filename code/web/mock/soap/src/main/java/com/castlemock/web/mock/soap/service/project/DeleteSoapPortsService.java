@@ -23,6 +23,8 @@ import com.castlemock.core.mock.soap.model.project.domain.SoapPort;
 import com.castlemock.core.mock.soap.service.project.input.DeleteSoapPortsInput;
 import com.castlemock.core.mock.soap.service.project.output.DeleteSoapPortsOutput;
 
+import java.util.stream.Collectors;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -41,9 +43,9 @@ public class DeleteSoapPortsService extends AbstractSoapProjectService implement
     @Override
     public ServiceResult<DeleteSoapPortsOutput> process(final ServiceTask<DeleteSoapPortsInput> serviceTask) {
         final DeleteSoapPortsInput input = serviceTask.getInput();
-        input.getPorts().stream()
+        this.deletePorts(input.getPorts().stream()
                 .map(SoapPort::getId)
-                .forEach(this::deletePort);
+                .collect(Collectors.toList()));
         return createServiceResult(DeleteSoapPortsOutput.builder().build());
     }
 }
@@ -19,12 +19,15 @@ package com.castlemock.web.mock.soap.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
-import com.castlemock.core.basis.utility.serializer.ExportContainerSerializer;
+import com.castlemock.core.basis.utility.serializer.ExportContainerWriter;
 import com.castlemock.core.mock.soap.model.SoapExportContainer;
 import com.castlemock.core.mock.soap.model.project.domain.*;
 import com.castlemock.core.mock.soap.service.project.input.ExportSoapProjectInput;
 import com.castlemock.core.mock.soap.service.project.output.ExportSoapProjectOutput;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,6 +38,16 @@ import java.util.List;
 @org.springframework.stereotype.Service
 public class ExportSoapProjectService extends AbstractSoapProjectService implements Service<ExportSoapProjectInput, ExportSoapProjectOutput> {
 
+    static final String PROJECT = "project";
+    static final String PORTS = "ports";
+    static final String PORT = "port";
+    static final String RESOURCES = "resources";
+    static final String RESOURCE = "resource";
+    static final String OPERATIONS = "operations";
+    static final String OPERATION = "operation";
+    static final String MOCK_RESPONSES = "mockResponses";
+    static final String MOCK_RESPONSE = "mockResponse";
+
     /**
      * The process message is responsible for processing an incoming serviceTask and generate
      * a response based on the incoming serviceTask input
@@ -46,38 +59,67 @@ public class ExportSoapProjectService extends AbstractSoapProjectService impleme
     @Override
     public ServiceResult<ExportSoapProjectOutput> process(final ServiceTask<ExportSoapProjectInput> serviceTask) {
         final ExportSoapProjectInput input = serviceTask.getInput();
-        final SoapProject project = repository.findOne(input.getProjectId());
-        final List<SoapPort> ports = this.portRepository.findWithProjectId(input.getProjectId());
-        final List<SoapResource> resources = this.resourceRepository.findWithProjectId(input.getProjectId());
-        final List<SoapOperation> operations = new ArrayList<>();
-        final List<SoapMockResponse> mockResponses = new ArrayList<>();
+        if(input.getOutputStream() != null){
+            exportProject(input.getProjectId(), input.getOutputStream());
+            return createServiceResult(ExportSoapProjectOutput.builder().build());
+        }
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportProject(input.getProjectId(), outputStream);
+        return createServiceResult(ExportSoapProjectOutput.builder()
+                .project(new String(outputStream.toByteArray(), StandardCharsets.UTF_8))
+                .build());
+    }
 
-        for(SoapResource resource : resources){
-            String content = this.resourceRepository.loadSoapResource(resource.getId());
-            resource.setContent(content);
+    /**
+     * Write a project to an output stream. The project is written entity by entity and
+     * only one resource content is loaded at a time, which means that the memory usage
+     * is independent of the size of the project.
+     * @param projectId The id of the project that will be exported.
+     * @param outputStream The output stream that the project will be written to.
+     */
+    private void exportProject(final String projectId, final OutputStream outputStream){
+        final SoapProject project = repository.findOne(projectId);
+        if(project == null){
+            throw new IllegalArgumentException("Unable to find a project with the following id: " + projectId);
         }
 
-        for(SoapPort port : ports){
-            List<SoapOperation> tempOperations = this.operationRepository.findWithPortId(port.getId());
-            operations.addAll(tempOperations);
+        final List<SoapPort> ports = this.portRepository.findWithProjectId(projectId);
+        final List<String> operationIds = new ArrayList<>();
+        try(ExportContainerWriter writer = new ExportContainerWriter(outputStream, SoapExportContainer.class)){
+            writer.write(PROJECT, SoapProject.class, project);
 
-            for(SoapOperation tempOperation : tempOperations){
-                List<SoapMockResponse> tempMockResponses = this.mockResponseRepository.findWithOperationId(tempOperation.getId());
-                mockResponses.addAll(tempMockResponses);
+            writer.startList(PORTS);
+            for(SoapPort port : ports){
+                writer.write(PORT, SoapPort.class, port);
             }
-        }
+            writer.endList();
 
-        final SoapExportContainer exportContainer = new SoapExportContainer();
-        exportContainer.setProject(project);
-        exportContainer.setPorts(ports);
-        exportContainer.setResources(resources);
-        exportContainer.setOperations(operations);
-        exportContainer.setMockResponses(mockResponses);
+            writer.startList(RESOURCES);
+            for(SoapResource resource : this.resourceRepository.findWithProjectId(projectId)){
+                resource.setContent(this.resourceRepository.loadSoapResource(resource.getId()));
+                writer.write(RESOURCE, SoapResource.class, resource);
+                resource.setContent(null);
+            }
+            writer.endList();
 
-        final String serialized = ExportContainerSerializer.serialize(exportContainer);
-        return createServiceResult(ExportSoapProjectOutput.builder()
-                .project(serialized)
-                .build());
+            writer.startList(OPERATIONS);
+            for(SoapPort port : ports){
+                for(SoapOperation operation : this.operationRepository.findWithPortId(port.getId())){
+                    writer.write(OPERATION, SoapOperation.class, operation);
+                    operationIds.add(operation.getId());
+                }
+            }
+            writer.endList();
+
+            writer.startList(MOCK_RESPONSES);
+            for(String operationId : operationIds){
+                for(SoapMockResponse mockResponse : this.mockResponseRepository.findWithOperationId(operationId)){
+                    writer.write(MOCK_RESPONSE, SoapMockResponse.class, mockResponse);
+                }
+            }
+            writer.endList();
+        }
     }
 
 }
@@ -19,11 +19,15 @@ package com.castlemock.web.mock.soap.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
 import com.castlemock.core.mock.soap.model.project.domain.SoapMockResponse;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
+import com.castlemock.core.mock.soap.model.project.domain.SoapOperationIdentifier;
 import com.castlemock.core.mock.soap.model.project.domain.SoapPort;
+import com.castlemock.core.mock.soap.model.project.domain.SoapProject;
 import com.castlemock.core.mock.soap.service.project.input.IdentifySoapOperationInput;
 import com.castlemock.core.mock.soap.service.project.output.IdentifySoapOperationOutput;
+import com.castlemock.web.mock.soap.support.SoapUtility;
 
 import java.util.List;
 
@@ -46,22 +50,38 @@ public class IdentifySoapOperationService extends AbstractSoapProjectService imp
     public ServiceResult<IdentifySoapOperationOutput> process(final ServiceTask<IdentifySoapOperationInput> serviceTask) {
         final IdentifySoapOperationInput input = serviceTask.getInput();
         final SoapPort port = this.portRepository.findWithUri(input.getProjectId(), input.getUri());
-        final SoapOperation operation =
-                this.operationRepository.findWithMethodAndVersionAndIdentifier(
+
+        // Identify the operation with the SOAP action if it is present. The body will
+        // only be parsed if the operation could not be identified with the SOAP action.
+        SoapOperation operation = input.getSoapAction()
+                .map(soapAction -> this.operationRepository.findWithMethodAndVersionAndSoapAction(
+                        port.getId(), input.getHttpMethod(), input.getType(), soapAction))
+                .orElse(null);
+        if(operation == null){
+            final SoapOperationIdentifier operationIdentifier = input.getOperationIdentifier()
+                    .orElseGet(() -> SoapUtility.extractSoapRequestName(input.getBody()
+                            .orElseThrow(() -> new IllegalArgumentException("Unable to identify SOAP operation: " + input.getUri()))));
+            operation = this.operationRepository.findWithMethodAndVersionAndIdentifier(
                         port.getId(), input.getHttpMethod(),
-                        input.getType(), input.getOperationIdentifier());
+                        input.getType(), operationIdentifier);
+        }
         if(operation == null){
             throw new IllegalArgumentException("Unable to identify SOAP operation: " + input.getUri());
         }
 
         final List<SoapMockResponse> mockResponses = this.mockResponseRepository.findWithOperationId(operation.getId());
         operation.setMockResponses(mockResponses);
+        final EventPolicy projectPolicy = this.eventPolicyManager.getProjectPolicy(input.getProjectId(), projectId -> {
+            final SoapProject project = this.repository.findOne(projectId);
+            return project == null ? null : project.getEventPolicy();
+        });
 
         return createServiceResult(IdentifySoapOperationOutput.builder()
                 .projectId(input.getProjectId())
                 .portId(port.getId())
                 .operationId(operation.getId())
                 .operation(operation)
+                .eventPolicy(EventPolicy.merge(operation.getEventPolicy(), projectPolicy))
                 .build());
     }
 
@@ -19,15 +19,23 @@ package com.castlemock.web.mock.soap.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
-import com.castlemock.core.basis.utility.serializer.ExportContainerSerializer;
+import com.castlemock.core.basis.utility.serializer.ExportContainerReader;
+import com.castlemock.core.basis.utility.serializer.ImportBatch;
 import com.castlemock.core.mock.soap.model.SoapExportContainer;
 import com.castlemock.core.mock.soap.model.project.domain.*;
 import com.castlemock.core.mock.soap.service.project.input.ImportSoapProjectInput;
 import com.castlemock.core.mock.soap.service.project.output.ImportSoapProjectOutput;
 import com.castlemock.repository.soap.file.project.legacy.SoapProjectV1LegacyRepository;
 import com.google.common.base.Strings;
+import com.google.common.io.ByteStreams;
 import org.apache.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * @author Karl Dahlgren
@@ -39,8 +47,11 @@ public class ImportSoapProjectService extends AbstractSoapProjectService impleme
     @Autowired
     private SoapProjectV1LegacyRepository legacyRepository;
 
-    private static final Logger LOGGER = Logger.getLogger(ImportSoapProjectService.class);
+    @Value("${soap.import.batch.size:100}")
+    private int batchSize = 100;
 
+    private static final Logger LOGGER = Logger.getLogger(ImportSoapProjectService.class);
+    private static final String LEGACY_ROOT_ELEMENT = "soapProject";
 
     /**
      * The process message is responsible for processing an incoming serviceTask and generate
@@ -53,83 +64,142 @@ public class ImportSoapProjectService extends AbstractSoapProjectService impleme
     @Override
     public ServiceResult<ImportSoapProjectOutput> process(final ServiceTask<ImportSoapProjectInput> serviceTask) {
         final ImportSoapProjectInput input = serviceTask.getInput();
+        final InputStream inputStream = input.getProjectStream() != null ?
+                input.getProjectStream() :
+                new ByteArrayInputStream(input.getProjectRaw().getBytes(StandardCharsets.UTF_8));
+
+        final SoapProject project;
+        try {
+            project = importProject(ExportContainerReader.decompress(inputStream), input.getProjectRaw());
+        } catch (IOException e) {
+            LOGGER.error("Unable to import the project", e);
+            throw new IllegalArgumentException("Unable to import the project");
+        }
 
-        // Try to import the project as a legacy project first.
-        SoapProject project = this.legacyRepository.importOne(input.getProjectRaw());
-
-        if(project == null){
-            // Unable to load the project as a legacy project.
-            SoapExportContainer exportContainer = ExportContainerSerializer.deserialize(input.getProjectRaw(), SoapExportContainer.class);
-
-            project = exportContainer.getProject();
-
-            if(this.repository.exists(project.getId())){
-                throw new IllegalArgumentException("A project with the following key already exists: " + project.getId());
-            }
-
-            this.repository.save(project);
-
-            for(SoapPort port : exportContainer.getPorts()){
-                if(this.portRepository.exists(port.getId())){
-                    throw new IllegalArgumentException("A port with the following key already exists: " + port.getId());
-                }
+        return createServiceResult(ImportSoapProjectOutput.builder()
+                .project(project)
+                .build());
+    }
 
-                this.portRepository.save(port);
+    /**
+     * Import a project from an input stream. Projects that have been exported as a
+     * {@link SoapExportContainer} are read and persisted entity by entity in batches,
+     * which means that the memory usage is independent of the size of the project.
+     * Legacy projects are read as a whole and imported with the legacy repository.
+     * @param inputStream The input stream that the project will be read from. It has to support mark and reset.
+     * @param projectRaw The project as a String, or null if it was only provided as a stream.
+     * @return The imported project.
+     * @throws IOException If the input stream could not be read.
+     */
+    private SoapProject importProject(final InputStream inputStream,
+                                      final String projectRaw) throws IOException {
+        final String rootElementName = ExportContainerReader.peekRootElementName(inputStream);
+        if(LEGACY_ROOT_ELEMENT.equals(rootElementName)){
+            final String legacyRaw = projectRaw != null ? projectRaw :
+                    new String(ByteStreams.toByteArray(inputStream), StandardCharsets.UTF_8);
+            final SoapProject project = this.legacyRepository.importOne(legacyRaw);
+            if(project == null){
+                throw new IllegalArgumentException("Unable to import the legacy project");
             }
+            return project;
+        }
 
-            for(SoapResource resource : exportContainer.getResources()){
-                if(this.resourceRepository.exists(resource.getId())){
-                    throw new IllegalArgumentException("A resource with the following key already exists: " + resource.getId());
+        final ImportBatch<SoapPort> ports = new ImportBatch<>(this.batchSize, this.portRepository::saveAll);
+        final ImportBatch<SoapOperation> operations = new ImportBatch<>(this.batchSize, this.operationRepository::saveAll);
+        final ImportBatch<SoapMockResponse> mockResponses = new ImportBatch<>(this.batchSize, this.mockResponseRepository::saveAll);
+        SoapProject project = null;
+        try(ExportContainerReader reader = new ExportContainerReader(inputStream, SoapExportContainer.class)){
+            String element;
+            while((element = reader.next()) != null){
+                switch (element) {
+                    case ExportSoapProjectService.PROJECT:
+                        project = reader.read(SoapProject.class);
+                        if(this.repository.exists(project.getId())){
+                            throw new IllegalArgumentException("A project with the following key already exists: " + project.getId());
+                        }
+                        this.repository.save(project);
+                        this.eventPolicyManager.invalidate(project.getId());
+                        break;
+                    case ExportSoapProjectService.PORT:
+                        final SoapPort port = reader.read(SoapPort.class);
+                        if(this.portRepository.exists(port.getId())){
+                            throw new IllegalArgumentException("A port with the following key already exists: " + port.getId());
+                        }
+                        ports.add(port);
+                        break;
+                    case ExportSoapProjectService.RESOURCE:
+                        final SoapResource resource = reader.read(SoapResource.class);
+                        if(this.resourceRepository.exists(resource.getId())){
+                            throw new IllegalArgumentException("A resource with the following key already exists: " + resource.getId());
+                        }
+                        this.resourceRepository.saveSoapResource(resource, resource.getContent());
+                        break;
+                    case ExportSoapProjectService.OPERATION:
+                        final SoapOperation operation = reader.read(SoapOperation.class);
+                        if(this.operationRepository.exists(operation.getId())){
+                            throw new IllegalArgumentException("An operation with the following key already exists: " + operation.getId());
+                        }
+                        upgrade(operation);
+                        operations.add(operation);
+                        break;
+                    case ExportSoapProjectService.MOCK_RESPONSE:
+                        final SoapMockResponse mockResponse = reader.read(SoapMockResponse.class);
+                        if(this.mockResponseRepository.exists(mockResponse.getId())){
+                            throw new IllegalArgumentException("A mocked response with the following key already exists: " + mockResponse.getId());
+                        }
+                        upgrade(mockResponse);
+                        mockResponses.add(mockResponse);
+                        break;
+                    default:
+                        // The root element and the list elements
+                        break;
                 }
-
-                this.resourceRepository.saveSoapResource(resource, resource.getContent());
             }
+        }
 
-            for(SoapOperation operation : exportContainer.getOperations()){
-                if(this.operationRepository.exists(operation.getId())){
-                    throw new IllegalArgumentException("An operation with the following key already exists: " + operation.getId());
-                }
+        ports.flush();
+        operations.flush();
+        mockResponses.flush();
 
-                if(operation.getOperationIdentifier() == null){
-                    SoapOperationIdentifier operationIdentifier =
-                            new SoapOperationIdentifier();
-                    operationIdentifier.setName(operation.getIdentifier());
-                    operation.setOperationIdentifier(operationIdentifier);
-                    operation.setIdentifier(null);
-                }
-                if(operation.getIdentifyStrategy() == null){
-                    operation.setIdentifyStrategy(SoapOperationIdentifyStrategy.ELEMENT_NAMESPACE);
-                }
-                if(operation.getCurrentResponseSequenceIndex() == null){
-                    operation.setCurrentResponseSequenceIndex(0);
-                }
-                if(!Strings.isNullOrEmpty(operation.getDefaultXPathMockResponseId())){
-                    operation.setDefaultMockResponseId(operation.getDefaultXPathMockResponseId());
-                    operation.setDefaultXPathMockResponseId(null);
-                }
-                
-                operation.setCurrentResponseSequenceIndex(0);
-                this.operationRepository.save(operation);
-            }
+        if(project == null){
+            throw new IllegalArgumentException("The imported file does not contain a project");
+        }
+        return project;
+    }
 
-            for(SoapMockResponse mockResponse : exportContainer.getMockResponses()){
-                if(this.mockResponseRepository.exists(mockResponse.getId())){
-                    throw new IllegalArgumentException("A mocked response with the following key already exists: " + mockResponse.getId());
-                }
+    /**
+     * Upgrade an operation exported by an older version of Castle Mock.
+     * @param operation The operation that will be upgraded.
+     */
+    private void upgrade(final SoapOperation operation){
+        if(operation.getOperationIdentifier() == null){
+            SoapOperationIdentifier operationIdentifier =
+                    new SoapOperationIdentifier();
+            operationIdentifier.setName(operation.getIdentifier());
+            operation.setOperationIdentifier(operationIdentifier);
+            operation.setIdentifier(null);
+        }
+        if(operation.getIdentifyStrategy() == null){
+            operation.setIdentifyStrategy(SoapOperationIdentifyStrategy.ELEMENT_NAMESPACE);
+        }
+        if(!Strings.isNullOrEmpty(operation.getDefaultXPathMockResponseId())){
+            operation.setDefaultMockResponseId(operation.getDefaultXPathMockResponseId());
+            operation.setDefaultXPathMockResponseId(null);
+        }
 
-                if(!Strings.isNullOrEmpty(mockResponse.getXpathExpression())){
-                    final SoapXPathExpression xPathExpression = new SoapXPathExpression();
-                    xPathExpression.setExpression(mockResponse.getXpathExpression());
-                    mockResponse.getXpathExpressions().add(xPathExpression);
-                    mockResponse.setXpathExpression(null);
-                }
+        operation.setCurrentResponseSequenceIndex(0);
+    }
 
-                this.mockResponseRepository.save(mockResponse);
-            }
+    /**
+     * Upgrade a mock response exported by an older version of Castle Mock.
+     * @param mockResponse The mock response that will be upgraded.
+     */
+    private void upgrade(final SoapMockResponse mockResponse){
+        if(!Strings.isNullOrEmpty(mockResponse.getXpathExpression())){
+            final SoapXPathExpression xPathExpression = new SoapXPathExpression();
+            xPathExpression.setExpression(mockResponse.getXpathExpression());
+            mockResponse.getXpathExpressions().add(xPathExpression);
+            mockResponse.setXpathExpression(null);
         }
-
-        return createServiceResult(ImportSoapProjectOutput.builder()
-                .project(project)
-                .build());
     }
 }
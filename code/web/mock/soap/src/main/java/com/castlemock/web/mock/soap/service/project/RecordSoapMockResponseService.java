@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.web.mock.soap.service.project;
+
+import com.castlemock.core.basis.model.Service;
+import com.castlemock.core.basis.model.ServiceResult;
+import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.mock.soap.model.project.domain.SoapMockResponse;
+import com.castlemock.core.mock.soap.service.project.input.RecordSoapMockResponseInput;
+import com.castlemock.core.mock.soap.service.project.output.RecordSoapMockResponseOutput;
+import com.castlemock.web.basis.manager.RecordingManager;
+import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.List;
+
+/**
+ * The service records a forwarded response as a new mock response. The least recently used
+ * recorded mock responses will be replaced once the maximum number of recorded responses
+ * for the operation has been reached.
+ * @author Karl Dahlgren
+ * @since 1.38
+ * @see RecordingManager
+ */
+@org.springframework.stereotype.Service
+public class RecordSoapMockResponseService extends AbstractSoapProjectService implements Service<RecordSoapMockResponseInput, RecordSoapMockResponseOutput> {
+
+    @Autowired
+    private RecordingManager recordingManager;
+    @Value("${soap.response.record.max:100}")
+    private Integer soapMaxRecordedResponseCount;
+
+    private static final Logger LOGGER = Logger.getLogger(RecordSoapMockResponseService.class);
+
+    /**
+     * The process message is responsible for processing an incoming serviceTask and generate
+     * a response based on the incoming serviceTask input
+     * @param serviceTask The serviceTask that will be processed by the service
+     * @return A result based on the processed incoming serviceTask
+     * @see ServiceTask
+     * @see ServiceResult
+     */
+    @Override
+    public ServiceResult<RecordSoapMockResponseOutput> process(final ServiceTask<RecordSoapMockResponseInput> serviceTask) {
+        final RecordSoapMockResponseInput input = serviceTask.getInput();
+        final SoapMockResponse mockResponse = input.getMockResponse();
+        mockResponse.setOperationId(input.getOperationId());
+
+        final SoapMockResponse recordedMockResponse;
+        try {
+            recordedMockResponse = this.mockResponseRepository.save(mockResponse);
+        } catch (RuntimeException e) {
+            recordingManager.release(input.getOperationId(), input.getFingerprint());
+            throw e;
+        }
+
+        final List<String> replacedMockResponseIds = recordingManager.register(input.getOperationId(),
+                input.getFingerprint(), recordedMockResponse.getId(), soapMaxRecordedResponseCount);
+        for(String replacedMockResponseId : replacedMockResponseIds){
+            try {
+                deleteMockResponse(replacedMockResponseId);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unable to replace the recorded mock response " + replacedMockResponseId, e);
+            }
+        }
+
+        return createServiceResult(RecordSoapMockResponseOutput.builder().build());
+    }
+}
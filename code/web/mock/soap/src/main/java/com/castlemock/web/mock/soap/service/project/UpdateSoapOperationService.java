@@ -49,6 +49,7 @@ public class UpdateSoapOperationService extends AbstractSoapProjectService imple
         soapOperation.setResponseStrategy(updated.getResponseStrategy());
         soapOperation.setSimulateNetworkDelay(updated.getSimulateNetworkDelay());
         soapOperation.setNetworkDelay(updated.getNetworkDelay());
+        soapOperation.setEventPolicy(updated.getEventPolicy());
         soapOperation.setDefaultMockResponseId(updated.getDefaultMockResponseId());
         soapOperation.setMockOnFailure(updated.getMockOnFailure());
         soapOperation.setIdentifyStrategy(updated.getIdentifyStrategy());
@@ -19,9 +19,12 @@ package com.castlemock.web.mock.soap.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
 import com.castlemock.core.mock.soap.service.project.input.UpdateSoapOperationsForwardedEndpointInput;
 import com.castlemock.core.mock.soap.service.project.output.UpdateSoapOperationsForwardedEndpointOutput;
 
+import java.util.stream.Collectors;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -40,13 +43,9 @@ public class UpdateSoapOperationsForwardedEndpointService extends AbstractSoapPr
     @Override
     public ServiceResult<UpdateSoapOperationsForwardedEndpointOutput> process(final ServiceTask<UpdateSoapOperationsForwardedEndpointInput> serviceTask) {
         final UpdateSoapOperationsForwardedEndpointInput input = serviceTask.getInput();
-        input.getOperations().stream()
-                .map(soapOperation -> this.operationRepository.findOne(soapOperation.getId()))
-                .findFirst()
-                .map(soapOperation -> {
-                    soapOperation.setForwardedEndpoint(input.getForwardedEndpoint());
-                    return this.operationRepository.update(soapOperation.getId(), soapOperation);
-                });
+        this.operationRepository.updateForwardedEndpoint(input.getOperations().stream()
+                .map(SoapOperation::getId)
+                .collect(Collectors.toList()), input.getForwardedEndpoint());
         return createServiceResult(UpdateSoapOperationsForwardedEndpointOutput.builder().build());
     }
 }
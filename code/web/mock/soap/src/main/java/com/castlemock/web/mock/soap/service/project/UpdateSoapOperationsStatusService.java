@@ -19,10 +19,11 @@ package com.castlemock.web.mock.soap.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
-import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
 import com.castlemock.core.mock.soap.service.project.input.UpdateSoapOperationsStatusInput;
 import com.castlemock.core.mock.soap.service.project.output.UpdateSoapOperationsStatusOutput;
 
+import java.util.Collections;
+
 /**
  * @author Karl Dahlgren
  * @since 1.0
@@ -41,9 +42,7 @@ public class UpdateSoapOperationsStatusService extends AbstractSoapProjectServic
     @Override
     public ServiceResult<UpdateSoapOperationsStatusOutput> process(final ServiceTask<UpdateSoapOperationsStatusInput> serviceTask) {
         final UpdateSoapOperationsStatusInput input = serviceTask.getInput();
-        final SoapOperation soapOperation = this.operationRepository.findOne(input.getOperationId());
-        soapOperation.setStatus(input.getOperationStatus());
-        this.operationRepository.update(input.getOperationId(), soapOperation);
+        this.operationRepository.updateStatus(Collections.singletonList(input.getOperationId()), input.getOperationStatus());
         return createServiceResult(UpdateSoapOperationsStatusOutput.builder().build());
     }
 }
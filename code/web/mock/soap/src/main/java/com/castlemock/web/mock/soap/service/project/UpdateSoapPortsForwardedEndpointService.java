@@ -19,10 +19,12 @@ package com.castlemock.web.mock.soap.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
 import com.castlemock.core.mock.soap.service.project.input.UpdateSoapPortsForwardedEndpointInput;
 import com.castlemock.core.mock.soap.service.project.output.UpdateSoapPortsForwardedEndpointOutput;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author Karl Dahlgren
@@ -42,13 +44,12 @@ public class UpdateSoapPortsForwardedEndpointService extends AbstractSoapProject
     @Override
     public ServiceResult<UpdateSoapPortsForwardedEndpointOutput> process(final ServiceTask<UpdateSoapPortsForwardedEndpointInput> serviceTask) {
         final UpdateSoapPortsForwardedEndpointInput input = serviceTask.getInput();
-        input.getPorts().stream()
+        final List<String> operationIds = input.getPorts().stream()
                 .map(soapPort -> this.operationRepository.findWithPortId(soapPort.getId()))
                 .flatMap(List::stream)
-                .forEach(operation -> {
-                    operation.setForwardedEndpoint(input.getForwardedEndpoint());
-                    this.operationRepository.update(operation.getId(), operation);
-                });
+                .map(SoapOperation::getId)
+                .collect(Collectors.toList());
+        this.operationRepository.updateForwardedEndpoint(operationIds, input.getForwardedEndpoint());
         return createServiceResult(UpdateSoapPortsForwardedEndpointOutput.builder().build());
     }
 }
@@ -19,12 +19,12 @@ package com.castlemock.web.mock.soap.service.project;
 import com.castlemock.core.basis.model.Service;
 import com.castlemock.core.basis.model.ServiceResult;
 import com.castlemock.core.basis.model.ServiceTask;
-import com.castlemock.core.mock.soap.model.project.domain.SoapOperationStatus;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
 import com.castlemock.core.mock.soap.service.project.input.UpdateSoapPortsStatusInput;
 import com.castlemock.core.mock.soap.service.project.output.UpdateSoapPortsStatusOutput;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author Karl Dahlgren
@@ -44,12 +44,10 @@ public class UpdateSoapPortsStatusService extends AbstractSoapProjectService imp
     @Override
     public ServiceResult<UpdateSoapPortsStatusOutput> process(final ServiceTask<UpdateSoapPortsStatusInput> serviceTask) {
         final UpdateSoapPortsStatusInput input = serviceTask.getInput();
-        final SoapOperationStatus soapOperationStatus = input.getOperationStatus();
-        final List<SoapOperation> operations = this.operationRepository.findWithPortId(input.getPortId());
-        operations.forEach(soapOperation -> {
-                    soapOperation.setStatus(soapOperationStatus);
-                    this.operationRepository.update(soapOperation.getId(), soapOperation);
-                });
+        final List<String> operationIds = this.operationRepository.findWithPortId(input.getPortId()).stream()
+                .map(SoapOperation::getId)
+                .collect(Collectors.toList());
+        this.operationRepository.updateStatus(operationIds, input.getOperationStatus());
         return createServiceResult(UpdateSoapPortsStatusOutput.builder().build());
     }
 }
@@ -16,6 +16,7 @@
 
 package com.castlemock.web.mock.soap.support;
 
+import com.castlemock.core.basis.model.http.domain.HttpHeader;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperationIdentifier;
 import com.castlemock.web.basis.support.DocumentUtility;
 import org.apache.log4j.Logger;
@@ -26,6 +27,7 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.StringReader;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -43,6 +45,10 @@ public class SoapUtility {
     private static final String XMLNS = "xmlns";
     private static final String ADDRESS_NAMESPACE = "address";
     private static final String LOCATION_NAMESPACE = "location";
+    private static final String SOAP_ACTION_HEADER = "SOAPAction";
+    private static final String ACTION_PARAMETER = "action";
+    private static final String PARAMETER_DIVIDER = ";";
+    private static final String QUOTE = "\"";
     private static final Logger LOGGER = Logger.getLogger(SoapUtility.class);
 
     /**
@@ -59,6 +65,54 @@ public class SoapUtility {
                 .findFirst();
     }
 
+    /**
+     * The method extracts the SOAP action from an incoming request. SOAP 1.1 requests provide
+     * the action in the SOAPAction header, while SOAP 1.2 requests provide it as the
+     * action parameter of the Content-Type header.
+     * @param httpHeaders The headers of the incoming request
+     * @param contentType The content type of the incoming request
+     * @return The SOAP action, or an empty optional if the request does not contain a SOAP action.
+     * @since 1.38
+     */
+    public static Optional<String> extractSoapAction(final List<HttpHeader> httpHeaders,
+                                                     final String contentType){
+        if(httpHeaders != null){
+            for(HttpHeader httpHeader : httpHeaders){
+                if(SOAP_ACTION_HEADER.equalsIgnoreCase(httpHeader.getName())){
+                    final String soapAction = unquote(httpHeader.getValue());
+                    if(!soapAction.isEmpty()){
+                        return Optional.of(soapAction);
+                    }
+                }
+            }
+        }
+
+        if(contentType != null){
+            for(String parameter : contentType.split(PARAMETER_DIVIDER)){
+                final int index = parameter.indexOf('=');
+                if(index > 0 && ACTION_PARAMETER.equalsIgnoreCase(parameter.substring(0, index).trim())){
+                    final String soapAction = unquote(parameter.substring(index + 1));
+                    if(!soapAction.isEmpty()){
+                        return Optional.of(soapAction);
+                    }
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static String unquote(final String value){
+        if(value == null){
+            return "";
+        }
+        final String trimmed = value.trim();
+        if(trimmed.length() >= 2 && trimmed.startsWith(QUOTE) && trimmed.endsWith(QUOTE)){
+            return trimmed.substring(1, trimmed.length() - 1).trim();
+        }
+        return trimmed;
+    }
+
     /**
      * The method extract the operation name from the SOAP body
      * @param body The body that contains the operation name
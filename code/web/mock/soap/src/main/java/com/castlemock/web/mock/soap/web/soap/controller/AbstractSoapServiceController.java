@@ -16,6 +16,9 @@
 
 package com.castlemock.web.mock.soap.web.soap.controller;
 
+import com.castlemock.core.basis.model.event.domain.EventPhase;
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
+import com.castlemock.core.basis.model.event.domain.EventTimings;
 import com.castlemock.core.basis.model.http.domain.ContentEncoding;
 import com.castlemock.core.basis.model.http.domain.HttpHeader;
 import com.castlemock.core.basis.model.http.domain.HttpMethod;
@@ -29,7 +32,9 @@ import com.castlemock.core.mock.soap.service.event.input.CreateSoapEventInput;
 import com.castlemock.core.mock.soap.service.project.input.*;
 import com.castlemock.core.mock.soap.service.project.output.IdentifySoapOperationOutput;
 import com.castlemock.core.mock.soap.service.project.output.LoadSoapResourceOutput;
+import com.castlemock.core.mock.soap.service.project.output.ReadSoapOperationOutput;
 import com.castlemock.core.mock.soap.service.project.output.ReadSoapProjectOutput;
+import com.castlemock.web.basis.manager.RecordingManager;
 import com.castlemock.web.basis.support.CharsetUtility;
 import com.castlemock.web.basis.support.HttpMessageSupport;
 import com.castlemock.web.basis.web.AbstractController;
@@ -40,6 +45,7 @@ import com.castlemock.web.mock.soap.utility.compare.SoapMockResponseNameComparat
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import org.apache.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -53,6 +59,7 @@ import java.net.HttpURLConnection;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * The AbstractSoapServiceController provides functionality that are shared for all the SOAP controllers
@@ -74,6 +81,9 @@ public abstract class AbstractSoapServiceController extends AbstractController{
     private static final SoapMockResponseNameComparator MOCK_RESPONSE_NAME_COMPARATOR =
             new SoapMockResponseNameComparator();
 
+    @Autowired
+    private RecordingManager recordingManager;
+
     /**
      * Process the incoming message by forwarding it to the main process method in
      * the AbstractServiceController class. However, the Protocol value SOAP is being
@@ -88,17 +98,34 @@ public abstract class AbstractSoapServiceController extends AbstractController{
         try{
             Preconditions.checkNotNull(projectId, "THe project id cannot be null");
             Preconditions.checkNotNull(httpServletRequest, "The HTTP Servlet Request cannot be null");
+            final long startTime = System.nanoTime();
             final SoapRequest request = prepareRequest(projectId, httpServletRequest);
+            final long readTime = System.nanoTime();
             final IdentifySoapOperationOutput output = serviceProcessor.process(IdentifySoapOperationInput.builder()
                     .projectId(projectId)
                     .operationIdentifier(request.getOperationIdentifier())
+                    .soapAction(SoapUtility.extractSoapAction(request.getHttpHeaders(), request.getContentType())
+                            .orElse(null))
+                    .body(request.getBody())
                     .uri(request.getUri())
                     .httpMethod(request.getHttpMethod())
                     .type(request.getSoapVersion())
                     .build());
+            final long identifyTime = System.nanoTime();
             final SoapOperation operation = output.getOperation();
+            final EventTimings timings = new EventTimings();
+            recordPhase(SOAP, projectId, operation.getId(), timings, EventPhase.READ, readTime - startTime);
+            recordPhase(SOAP, projectId, operation.getId(), timings, EventPhase.IDENTIFY, identifyTime - readTime);
             request.setOperationName(operation.getName());
-            return process(projectId, output.getPortId(), operation, request, httpServletResponse);
+            if(request.getOperationIdentifier() == null){
+                request.setOperationIdentifier(operation.getOperationIdentifier());
+            }
+            try {
+                return process(projectId, output.getPortId(), operation, request, output.getEventPolicy(),
+                        timings, httpServletResponse);
+            } finally {
+                recordPhase(SOAP, projectId, operation.getId(), PHASE_TOTAL, System.nanoTime() - startTime);
+            }
         }catch(Exception exception){
             LOGGER.debug("SOAP service exception: " + exception.getMessage(), exception);
             throw new SoapException(exception.getMessage());
@@ -159,7 +186,10 @@ public abstract class AbstractSoapServiceController extends AbstractController{
         final SoapRequest request = new SoapRequest();
         final String body = HttpMessageSupport.getBody(httpServletRequest);
 
-        final SoapOperationIdentifier identifier;
+        final String serviceUri = httpServletRequest.getRequestURI().replace(getContext() + SLASH + MOCK + SLASH + SOAP + SLASH + PROJECT + SLASH + projectId + SLASH, EMPTY);
+        final List<HttpHeader> httpHeaders = HttpMessageSupport.extractHttpHeaders(httpServletRequest);
+
+        SoapOperationIdentifier identifier = null;
         if(httpServletRequest instanceof MultipartHttpServletRequest){
             // Check if the request is a Multipart request. If so, interpret  the incoming request
             // as a MTOM request and extract the main body (Exclude the attachment).
@@ -168,13 +198,9 @@ public abstract class AbstractSoapServiceController extends AbstractController{
 
             // Use the main body to identify
             identifier = SoapUtility.extractSoapRequestName(mainBody);
-        } else {
-            // The incoming request is a regular SOAP request. Parse the body as it is.
-            identifier = SoapUtility.extractSoapRequestName(body);
         }
-
-        final String serviceUri = httpServletRequest.getRequestURI().replace(getContext() + SLASH + MOCK + SLASH + SOAP + SLASH + PROJECT + SLASH + projectId + SLASH, EMPTY);
-        final List<HttpHeader> httpHeaders = HttpMessageSupport.extractHttpHeaders(httpServletRequest);
+        // A regular SOAP request will only be parsed when the operation
+        // can't be identified with the SOAP action.
 
         SoapVersion type = SoapVersion.convert(httpServletRequest.getContentType());
         request.setSoapVersion(type);
@@ -195,6 +221,8 @@ public abstract class AbstractSoapServiceController extends AbstractController{
      * @param soapPortId The id of the port that the incoming request belong to
      * @param soapOperation The operation that contain the appropriate mocked response
      * @param request The incoming request
+     * @param eventPolicy The policy that decides if and how the incoming request is captured as an event
+     * @param timings The timings of the event that represents the incoming request
      * @param httpServletResponse The outgoing HTTP servlet response
      * @return Returns the response as an String
      */
@@ -202,6 +230,8 @@ public abstract class AbstractSoapServiceController extends AbstractController{
                                      final String soapPortId,
                                      final SoapOperation soapOperation,
                                      final SoapRequest request,
+                                     final EventPolicy eventPolicy,
+                                     final EventTimings timings,
                                      final HttpServletResponse httpServletResponse){
         Preconditions.checkNotNull(request, "Request cannot be null");
         if(soapOperation == null){
@@ -210,40 +240,52 @@ public abstract class AbstractSoapServiceController extends AbstractController{
         SoapEvent event = null;
         SoapResponse response = null;
         try {
-            event = new SoapEvent(soapOperation.getName(), request, soapProjectId, soapPortId, soapOperation.getId());
+            if(eventPolicy.sample()){
+                event = new SoapEvent(soapOperation.getName(), request, soapProjectId, soapPortId, soapOperation.getId());
+                event.setTimings(timings);
+            }
             if (SoapOperationStatus.DISABLED.equals(soapOperation.getStatus())) {
                 throw new SoapException("The requested soap operation, " + soapOperation.getName() + ", is disabled");
             } else if (SoapOperationStatus.FORWARDED.equals(soapOperation.getStatus()) ||
                     SoapOperationStatus.RECORDING.equals(soapOperation.getStatus()) ||
                     SoapOperationStatus.RECORD_ONCE.equals(soapOperation.getStatus())) {
-                response = forwardRequest(request, soapProjectId, soapPortId, soapOperation);
+                response = forwardRequest(request, soapProjectId, soapPortId, soapOperation, timings);
             } else if (SoapOperationStatus.ECHO.equals(soapOperation.getStatus())) {
                 response = echoResponse(request);
             } else { // Status.MOCKED
-                response = mockResponse(request, soapProjectId, soapPortId, soapOperation);
-            }
-
-            final HttpHeaders responseHeaders = new HttpHeaders();
-            responseHeaders.put(CONTENT_TYPE,
-                    ImmutableList.of(request.getSoapVersion().getContextType() + "; " + DEFAULT_CHAR_SET));
-            for(HttpHeader httpHeader : response.getHttpHeaders()){
-                responseHeaders.put(httpHeader.getName(), ImmutableList.of(httpHeader.getValue()));
+                response = mockResponse(request, soapProjectId, soapPortId, soapOperation, timings);
             }
 
             if(soapOperation.getSimulateNetworkDelay() &&
                     soapOperation.getNetworkDelay() >= 0){
+                final long delayTime = System.nanoTime();
                 try {
                         Thread.sleep(soapOperation.getNetworkDelay());
                 } catch (InterruptedException e) {
                     LOGGER.error("Unable to simulate network delay", e);
                 }
+                recordPhase(SOAP, soapProjectId, soapOperation.getId(), timings, EventPhase.DELAY, System.nanoTime() - delayTime);
+            }
+
+            final long writeTime = System.nanoTime();
+            final HttpHeaders responseHeaders = new HttpHeaders();
+            responseHeaders.put(CONTENT_TYPE,
+                    ImmutableList.of(request.getSoapVersion().getContextType() + "; " + DEFAULT_CHAR_SET));
+            for(HttpHeader httpHeader : response.getHttpHeaders()){
+                responseHeaders.put(httpHeader.getName(), ImmutableList.of(httpHeader.getValue()));
             }
 
-            return new ResponseEntity<String>(response.getBody(), responseHeaders,
+            final ResponseEntity<String> responseEntity = new ResponseEntity<String>(response.getBody(), responseHeaders,
                     HttpStatus.valueOf(response.getHttpStatusCode()));
+            recordPhase(SOAP, soapProjectId, soapOperation.getId(), timings, EventPhase.WRITE, System.nanoTime() - writeTime);
+            return responseEntity;
         } finally{
-            if(event != null){
+            if(event != null && eventPolicy.captures(response == null ? null : response.getHttpStatusCode())){
                 event.finish(response);
+                request.setBody(eventPolicy.capture(request.getBody()));
+                if(response != null){
+                    response.setBody(eventPolicy.capture(response.getBody()));
+                }
                 serviceProcessor.processAsync(CreateSoapEventInput.builder()
                         .soapEvent(event)
                         .build());
@@ -283,7 +325,9 @@ public abstract class AbstractSoapServiceController extends AbstractController{
      *                         the provided SOAP operation.
      * @return A mocked response based on the provided SOAP operation
      */
-    private SoapResponse mockResponse(SoapRequest request, final String soapProjectId, final String soapPortId, final SoapOperation soapOperation){
+    private SoapResponse mockResponse(SoapRequest request, final String soapProjectId, final String soapPortId,
+                                      final SoapOperation soapOperation, final EventTimings timings){
+        final long selectTime = System.nanoTime();
         final List<SoapMockResponse> mockResponses = new ArrayList<SoapMockResponse>();
         for(SoapMockResponse mockResponse : soapOperation.getMockResponses()){
             if(mockResponse.getStatus().equals(SoapMockResponseStatus.ENABLED)){
@@ -332,11 +376,14 @@ public abstract class AbstractSoapServiceController extends AbstractController{
             throw new SoapException("No mocked response created for operation " + soapOperation.getName());
         }
 
+        final long renderTime = System.nanoTime();
+        recordPhase(SOAP, soapProjectId, soapOperation.getId(), timings, EventPhase.SELECT, renderTime - selectTime);
         String body = mockResponse.getBody();
         if(mockResponse.isUsingExpressions()){
             // Parse the text and apply expression functionality if
             // the mock response is configured to use expressions
             body = TextParser.parse(body);
+            recordPhase(SOAP, soapProjectId, soapOperation.getId(), timings, EventPhase.RENDER, System.nanoTime() - renderTime);
         }
         final SoapResponse response = new SoapResponse();
         response.setBody(body);
@@ -371,13 +418,15 @@ public abstract class AbstractSoapServiceController extends AbstractController{
      * @return The response from the system that the request was forwarded to.
      */
     private SoapResponse forwardRequest(final SoapRequest request, final String soapProjectId,
-                                        final String soapPortId, final SoapOperation soapOperation){
+                                        final String soapPortId, final SoapOperation soapOperation,
+                                        final EventTimings timings){
         if(demoMode){
             // If the application is configured to run in demo mode, then use mocked response instead
-            return mockResponse(request, soapProjectId, soapPortId, soapOperation);
+            return mockResponse(request, soapProjectId, soapPortId, soapOperation, timings);
         }
 
 
+        final long forwardTime = System.nanoTime();
         HttpURLConnection connection = null;
         try {
             connection = HttpMessageSupport.establishConnection(
@@ -391,6 +440,7 @@ public abstract class AbstractSoapServiceController extends AbstractController{
             final List<HttpHeader> responseHttpHeaders = HttpMessageSupport.extractHttpHeaders(connection);
             final String characterEncoding = CharsetUtility.parseHttpHeaders(responseHttpHeaders);
             final String responseBody = HttpMessageSupport.extractHttpBody(connection, encodings, characterEncoding);
+            recordPhase(SOAP, soapProjectId, soapOperation.getId(), timings, EventPhase.FORWARD, System.nanoTime() - forwardTime);
             final SoapResponse response = new SoapResponse();
             response.setMockResponseName(FORWARDED_RESPONSE_NAME);
             response.setBody(responseBody);
@@ -406,28 +456,19 @@ public abstract class AbstractSoapServiceController extends AbstractController{
                     // Instead of using the forwarded
                     LOGGER.debug("SOAP Operation with the following id has been configured" +
                             " to mock response upon error: " + soapOperation.getId());
-                    return this.mockResponse(request, soapProjectId, soapPortId, soapOperation);
+                    return this.mockResponse(request, soapProjectId, soapPortId, soapOperation, timings);
                 }
             }
 
-            if(SoapOperationStatus.RECORDING.equals(soapOperation.getStatus()) ||
-                    SoapOperationStatus.RECORD_ONCE.equals(soapOperation.getStatus())){
-                final SoapMockResponse mockResponse = new SoapMockResponse();
-                final Date date = new Date();
-                mockResponse.setBody(response.getBody());
-                mockResponse.setStatus(SoapMockResponseStatus.ENABLED);
-                mockResponse.setName(RECORDED_RESPONSE_NAME + SPACE + DATE_FORMAT.format(date));
-                mockResponse.setHttpStatusCode(response.getHttpStatusCode());
-                mockResponse.setHttpHeaders(response.getHttpHeaders());
-
-                serviceProcessor.processAsync(CreateSoapMockResponseInput.builder().projectId(soapProjectId)
-                        .portId(soapPortId)
-                        .operationId(soapOperation.getId())
-                        .mockResponse(mockResponse)
-                        .build());
-
-
-                if(SoapOperationStatus.RECORD_ONCE.equals(soapOperation.getStatus())){
+            if(SoapOperationStatus.RECORDING.equals(soapOperation.getStatus())){
+                recordResponse(request, response, soapProjectId, soapPortId, soapOperation);
+            } else if(SoapOperationStatus.RECORD_ONCE.equals(soapOperation.getStatus()) &&
+                    recordingManager.startRecordOnce(soapOperation.getId(),
+                            () -> isRecordOnce(soapProjectId, soapPortId, soapOperation.getId()))){
+                // Only one request at a time is allowed to record the response.
+                // Concurrent requests will only be forwarded.
+                try {
+                    recordResponse(request, response, soapProjectId, soapPortId, soapOperation);
                     // Change the operation status to mocked if the
                     // operation has been configured to only record once.
                     soapOperation.setStatus(SoapOperationStatus.MOCKED);
@@ -436,6 +477,8 @@ public abstract class AbstractSoapServiceController extends AbstractController{
                             .operationId(soapOperation.getId())
                             .operation(soapOperation)
                             .build());
+                } finally {
+                    recordingManager.finishRecordOnce(soapOperation.getId());
                 }
             }
 
@@ -446,7 +489,7 @@ public abstract class AbstractSoapServiceController extends AbstractController{
             if(soapOperation.getMockOnFailure()){
                 LOGGER.debug("SOAP Operation with the following id has been configured" +
                         " to mock response upon error: " + soapOperation.getId());
-                return this.mockResponse(request, soapProjectId, soapPortId, soapOperation);
+                return this.mockResponse(request, soapProjectId, soapPortId, soapOperation, timings);
             }
 
             throw new SoapException("Unable to forward request to configured endpoint");
@@ -457,4 +500,62 @@ public abstract class AbstractSoapServiceController extends AbstractController{
         }
     }
 
+    /**
+     * The method records a forwarded response as a mock response. The response will
+     * not be recorded if an identical response has already been recorded for the operation.
+     * @param request The request that was forwarded
+     * @param response The response received from the forwarded endpoint
+     * @param soapOperation The SOAP operation that is being executed
+     * @since 1.38
+     */
+    private void recordResponse(final SoapRequest request, final SoapResponse response,
+                                final String soapProjectId, final String soapPortId,
+                                final SoapOperation soapOperation){
+        final String fingerprint = recordingManager.fingerprint(request.getHttpMethod(), request.getUri(),
+                request.getHttpHeaders(), request.getBody(), response.getHttpStatusCode(), response.getBody());
+        final Set<String> mockResponseIds = soapOperation.getMockResponses() == null ? Collections.emptySet() :
+                soapOperation.getMockResponses().stream()
+                        .map(SoapMockResponse::getId)
+                        .collect(Collectors.toSet());
+        if(!recordingManager.reserve(soapOperation.getId(), fingerprint, mockResponseIds)){
+            LOGGER.debug("An identical response has already been recorded for the SOAP operation " + soapOperation.getName());
+            return;
+        }
+
+        final SoapMockResponse mockResponse = new SoapMockResponse();
+        final Date date = new Date();
+        mockResponse.setBody(response.getBody());
+        mockResponse.setStatus(SoapMockResponseStatus.ENABLED);
+        mockResponse.setName(RECORDED_RESPONSE_NAME + SPACE + DATE_FORMAT.format(date));
+        mockResponse.setHttpStatusCode(response.getHttpStatusCode());
+        mockResponse.setHttpHeaders(response.getHttpHeaders());
+
+        serviceProcessor.processAsync(RecordSoapMockResponseInput.builder().projectId(soapProjectId)
+                .portId(soapPortId)
+                .operationId(soapOperation.getId())
+                .mockResponse(mockResponse)
+                .fingerprint(fingerprint)
+                .build());
+    }
+
+    /**
+     * The method verifies that the persisted status of a SOAP operation is still record once.
+     * The status might have been changed by a concurrent request that recorded a response.
+     * @param soapProjectId The id of the project that the operation belongs to
+     * @param soapPortId The id of the port that the operation belongs to
+     * @param soapOperationId The id of the operation
+     * @return <code>true</code> if the operation status is still record once.
+     * @since 1.38
+     */
+    private boolean isRecordOnce(final String soapProjectId, final String soapPortId,
+                                 final String soapOperationId){
+        final ReadSoapOperationOutput output = serviceProcessor.process(ReadSoapOperationInput.builder()
+                .projectId(soapProjectId)
+                .portId(soapPortId)
+                .operationId(soapOperationId)
+                .build());
+        return output != null && output.getOperation() != null &&
+                SoapOperationStatus.RECORD_ONCE.equals(output.getOperation().getStatus());
+    }
+
 }
@@ -16,8 +16,9 @@
 
 package com.castlemock.web.mock.soap.web.view.controller.operation;
 
-import com.castlemock.core.mock.soap.service.event.input.ReadSoapEventsByOperationIdInput;
-import com.castlemock.core.mock.soap.service.event.output.ReadSoapEventsByOperationIdOutput;
+import com.castlemock.core.basis.model.event.domain.EventQuery;
+import com.castlemock.core.mock.soap.service.event.input.ReadSoapEventSummariesInput;
+import com.castlemock.core.mock.soap.service.event.output.ReadSoapEventSummariesOutput;
 import com.castlemock.core.mock.soap.model.project.domain.SoapMockResponseStatus;
 import com.castlemock.core.mock.soap.model.project.domain.SoapMockResponse;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
@@ -86,8 +87,10 @@ public class SoapOperationController extends AbstractSoapViewController {
                 .operationId(soapOperationId)
                 .build());
         final SoapOperation soapOperation = readSoapOperationOutput.getOperation();
-        final ReadSoapEventsByOperationIdOutput readSoapEventsByOperationIdOutput = serviceProcessor.process(ReadSoapEventsByOperationIdInput.builder()
-                .operationId(soapOperationId)
+        final ReadSoapEventSummariesOutput readSoapEventSummariesOutput = serviceProcessor.process(ReadSoapEventSummariesInput.builder()
+                .query(EventQuery.builder()
+                        .operationId(soapOperationId)
+                        .build())
                 .build());
 
         final String protocol = getProtocol(request);
@@ -99,7 +102,7 @@ public class SoapOperationController extends AbstractSoapViewController {
         model.addObject(SOAP_PROJECT_ID, soapProjectId);
         model.addObject(SOAP_PORT_ID, soapPortId);
         model.addObject(SOAP_MOCK_RESPONSE_STATUSES, SoapMockResponseStatus.values());
-        model.addObject(SOAP_EVENTS, readSoapEventsByOperationIdOutput.getSoapEvents());
+        model.addObject(SOAP_EVENTS, readSoapEventSummariesOutput.getEvents());
         model.addObject(SOAP_MOCK_RESPONSE_MODIFIER_COMMAND, new SoapMockResponseModifierCommand());
         return model;
     }
@@ -16,6 +16,7 @@
 
 package com.castlemock.web.mock.soap.web.view.controller.operation;
 
+import com.castlemock.core.basis.model.event.domain.EventPolicy;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperationIdentifyStrategy;
 import com.castlemock.core.mock.soap.model.project.domain.SoapResponseStrategy;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
@@ -66,6 +67,9 @@ public class UpdateSoapOperationController extends AbstractSoapViewController {
                 .portId(soapPortId)
                 .operationId(soapOperationId)
                 .build());
+        if(output.getOperation().getEventPolicy() == null){
+            output.getOperation().setEventPolicy(new EventPolicy());
+        }
         final ModelAndView model = createPartialModelAndView(PAGE);
         model.addObject(COMMAND, output.getOperation());
         model.addObject(SOAP_PROJECT_ID, soapProjectId);
@@ -56,6 +56,12 @@
                     <td class="column1"><label path="identifyStrategy"><spring:message code="soap.soapoperation.label.identifystrategy"/></label></td>
                     <td class="column2"><label path="identifyStrategy"><spring:message code="soap.type.soapoperationidentifystrategy.${soapOperation.identifyStrategy}"/></label></td>
                 </tr>
+                <c:if test="${not empty soapOperation.soapAction}">
+                    <tr>
+                        <td class="column1"><label path="soapAction"><spring:message code="soap.soapoperation.label.soapaction"/></label></td>
+                        <td class="column2"><label path="soapAction"><c:out value="${soapOperation.soapAction}"/></label></td>
+                    </tr>
+                </c:if>
                 <tr>
                     <td class="column1"><label path="soapResponseStrategy"><spring:message code="soap.soapoperation.label.responsestrategy"/></label></td>
                     <td class="column2"><label path="soapResponseStrategy"><spring:message code="soap.type.responsestrategy.${soapOperation.responseStrategy}"/></label></td>
@@ -166,13 +172,16 @@
                             <c:forEach items="${soapEvents}" var="event" varStatus="loopStatus">
                                 <tr>
                                     <td><a href="<c:url value="/web/soap/event/${event.id}"/>">${event.id}</a></td>
-                                    <td><a href="<c:url value="/web/soap/event/${event.id}"/>">${event.response.mockResponseName}</a></td>
+                                    <td><a href="<c:url value="/web/soap/event/${event.id}"/>">${event.mockResponseName}</a></td>
                                     <td><a href="<c:url value="/web/soap/event/${event.id}"/>">${event.startDate}</a></td>
                                     <td><a href="<c:url value="/web/soap/event/${event.id}"/>">${event.endDate}</a></td>
                                 </tr>
                             </c:forEach>
                         </table>
                     </div>
+                    <div class="menu" align="right">
+                        <a class="btn btn-primary" href="<c:url value="/web/event?type=soap&operationId=${soapOperation.id}"/>"><span><spring:message code="soap.soapoperation.button.allevents"/></span></a>
+                    </div>
                 </c:when>
                 <c:otherwise>
                     <spring:message code="soap.soapoperation.label.noevent"/>
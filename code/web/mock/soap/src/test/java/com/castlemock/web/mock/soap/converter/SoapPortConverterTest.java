@@ -280,6 +280,8 @@ public class SoapPortConverterTest {
         Assert.assertEquals(SoapOperationStatus.MOCKED, soapOperation.getStatus());
         Assert.assertEquals(soapVersion, soapOperation.getSoapVersion());
         Assert.assertEquals(HttpMethod.POST, soapOperation.getHttpMethod());
+        Assert.assertNotNull(soapOperation.getSoapAction());
+        Assert.assertEquals(SoapOperationIdentifyStrategy.SOAP_ACTION, soapOperation.getIdentifyStrategy());
 
         SoapOperationIdentifier operationIdentifier = soapOperation.getOperationIdentifier();
 
@@ -23,6 +23,7 @@ import com.castlemock.core.mock.soap.service.event.input.CreateSoapEventInput;
 import com.castlemock.core.mock.soap.service.event.output.CreateSoapEventOutput;
 import com.castlemock.repository.soap.event.SoapEventRepository;
 import com.castlemock.core.mock.soap.model.event.SoapEventGenerator;
+import com.castlemock.web.basis.manager.EventStreamManager;
 import org.dozer.DozerBeanMapper;
 import org.junit.Assert;
 import org.junit.Before;
@@ -42,6 +43,9 @@ public class CreateSoapEventServiceTest {
     @Mock
     private SoapEventRepository repository;
 
+    @Mock
+    private EventStreamManager eventStreamManager;
+
     @InjectMocks
     private CreateSoapEventService service;
 
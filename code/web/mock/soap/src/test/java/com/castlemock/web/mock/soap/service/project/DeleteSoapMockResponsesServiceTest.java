@@ -70,8 +70,7 @@ public class DeleteSoapMockResponsesServiceTest {
         final ServiceResult<DeleteSoapMockResponsesOutput> serviceResult = service.process(serviceTask);
 
 
-        Mockito.verify(mockResponseRepository, Mockito.times(1)).delete("Response1");
-        Mockito.verify(mockResponseRepository, Mockito.times(1)).delete("Response2");
+        Mockito.verify(mockResponseRepository, Mockito.times(1)).deleteAll(Arrays.asList("Response1", "Response2"));
     }
 
 }
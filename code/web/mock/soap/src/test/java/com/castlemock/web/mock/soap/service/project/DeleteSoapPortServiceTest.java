@@ -82,7 +82,7 @@ public class DeleteSoapPortServiceTest {
         final ServiceResult<DeleteSoapPortOutput> serviceResult = service.process(serviceTask);
 
         Mockito.verify(portRepository, Mockito.times(1)).delete(soapPort.getId());
-        Mockito.verify(operationRepository, Mockito.times(1)).delete(soapOperation.getId());
-        Mockito.verify(mockResponseRepository, Mockito.times(1)).delete(soapMockResponse.getId());
+        Mockito.verify(operationRepository, Mockito.times(1)).deleteAll(Arrays.asList(soapOperation.getId()));
+        Mockito.verify(mockResponseRepository, Mockito.times(1)).deleteAll(Arrays.asList(soapMockResponse.getId()));
     }
 }
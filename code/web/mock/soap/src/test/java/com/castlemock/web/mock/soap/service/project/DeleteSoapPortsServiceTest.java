@@ -82,8 +82,8 @@ public class DeleteSoapPortsServiceTest {
         final ServiceTask<DeleteSoapPortsInput> serviceTask = new ServiceTask<DeleteSoapPortsInput>(input);
         final ServiceResult<DeleteSoapPortsOutput> serviceResult = service.process(serviceTask);
 
-        Mockito.verify(portRepository, Mockito.times(1)).delete(soapPort.getId());
-        Mockito.verify(operationRepository, Mockito.times(1)).delete(soapOperation.getId());
-        Mockito.verify(mockResponseRepository, Mockito.times(1)).delete(soapMockResponse.getId());
+        Mockito.verify(portRepository, Mockito.times(1)).deleteAll(Arrays.asList(soapPort.getId()));
+        Mockito.verify(operationRepository, Mockito.times(1)).deleteAll(Arrays.asList(soapOperation.getId()));
+        Mockito.verify(mockResponseRepository, Mockito.times(1)).deleteAll(Arrays.asList(soapMockResponse.getId()));
     }
 }
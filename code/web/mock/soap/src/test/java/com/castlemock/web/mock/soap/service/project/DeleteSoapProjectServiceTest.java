@@ -23,6 +23,7 @@ import com.castlemock.core.mock.soap.model.project.domain.*;
 import com.castlemock.core.mock.soap.service.project.input.DeleteSoapProjectInput;
 import com.castlemock.core.mock.soap.service.project.output.DeleteSoapProjectOutput;
 import com.castlemock.repository.soap.project.*;
+import com.castlemock.web.basis.manager.EventPolicyManager;
 import org.dozer.DozerBeanMapper;
 import org.junit.Before;
 import org.junit.Test;
@@ -54,6 +55,9 @@ public class DeleteSoapProjectServiceTest {
     @Mock
     private SoapResourceRepository resourceRepository;
 
+    @Spy
+    private EventPolicyManager eventPolicyManager = new EventPolicyManager();
+
     @InjectMocks
     private DeleteSoapProjectService service;
 
@@ -83,10 +87,10 @@ public class DeleteSoapProjectServiceTest {
         final ServiceResult<DeleteSoapProjectOutput> serviceResult = service.process(serviceTask);
 
         Mockito.verify(repository, Mockito.times(1)).delete(soapProject.getId());
-        Mockito.verify(portRepository, Mockito.times(1)).delete(soapPort.getId());
-        Mockito.verify(resourceRepository, Mockito.times(1)).delete(soapResource.getId());
-        Mockito.verify(operationRepository, Mockito.times(1)).delete(soapOperation.getId());
-        Mockito.verify(mockResponseRepository, Mockito.times(1)).delete(soapMockResponse.getId());
+        Mockito.verify(portRepository, Mockito.times(1)).deleteAll(Arrays.asList(soapPort.getId()));
+        Mockito.verify(resourceRepository, Mockito.times(1)).deleteAll(Arrays.asList(soapResource.getId()));
+        Mockito.verify(operationRepository, Mockito.times(1)).deleteAll(Arrays.asList(soapOperation.getId()));
+        Mockito.verify(mockResponseRepository, Mockito.times(1)).deleteAll(Arrays.asList(soapMockResponse.getId()));
 
         Mockito.verify(portRepository, Mockito.times(1)).findWithProjectId(soapProject.getId());
         Mockito.verify(resourceRepository, Mockito.times(1)).findWithProjectId(soapProject.getId());
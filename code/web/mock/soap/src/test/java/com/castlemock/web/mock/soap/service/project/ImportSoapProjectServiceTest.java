@@ -0,0 +1,242 @@
+/*
+ * Copyright 2016 Karl Dahlgren
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.castlemock.web.mock.soap.service.project;
+
+import com.castlemock.core.basis.model.ServiceTask;
+import com.castlemock.core.basis.model.http.domain.HttpMethod;
+import com.castlemock.core.mock.soap.model.project.SoapMockResponseGenerator;
+import com.castlemock.core.mock.soap.model.project.SoapOperationGenerator;
+import com.castlemock.core.mock.soap.model.project.SoapPortGenerator;
+import com.castlemock.core.mock.soap.model.project.SoapProjectGenerator;
+import com.castlemock.core.mock.soap.model.project.SoapResourceGenerator;
+import com.castlemock.core.mock.soap.model.project.domain.*;
+import com.castlemock.core.mock.soap.service.project.input.ExportSoapProjectInput;
+import com.castlemock.core.mock.soap.service.project.input.ImportSoapProjectInput;
+import com.castlemock.core.mock.soap.service.project.output.ImportSoapProjectOutput;
+import com.castlemock.repository.core.file.FileRepositorySupport;
+import com.castlemock.repository.soap.file.project.SoapOperationFileRepository;
+import com.castlemock.repository.soap.file.project.legacy.SoapProjectV1LegacyRepository;
+import com.castlemock.repository.soap.project.SoapMockResponseRepository;
+import com.castlemock.repository.soap.project.SoapPortRepository;
+import com.castlemock.repository.soap.project.SoapProjectRepository;
+import com.castlemock.repository.soap.project.SoapResourceRepository;
+import com.castlemock.web.basis.manager.EventPolicyManager;
+import org.dozer.DozerBeanMapper;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author Karl Dahlgren
+ * @since 1.38
+ */
+public class ImportSoapProjectServiceTest {
+
+    private static final int PORTS = 2;
+    private static final int OPERATIONS = 3;
+    private static final int MOCK_RESPONSES = 2;
+
+    private SoapProjectRepository repository;
+    private SoapPortRepository portRepository;
+    private SoapOperationFileRepository operationRepository;
+    private SoapMockResponseRepository mockResponseRepository;
+    private SoapResourceRepository resourceRepository;
+    private ImportSoapProjectService service;
+
+    @Before
+    public void setup() {
+        this.repository = Mockito.mock(SoapProjectRepository.class);
+        this.portRepository = Mockito.mock(SoapPortRepository.class);
+        this.mockResponseRepository = Mockito.mock(SoapMockResponseRepository.class);
+        this.resourceRepository = Mockito.mock(SoapResourceRepository.class);
+        this.operationRepository = new SoapOperationFileRepository();
+        ReflectionTestUtils.setField(operationRepository, "fileRepositorySupport", Mockito.mock(FileRepositorySupport.class));
+        ReflectionTestUtils.setField(operationRepository, "mapper", new DozerBeanMapper());
+        ReflectionTestUtils.setField(operationRepository, "fileDirectory", "/directory");
+        ReflectionTestUtils.setField(operationRepository, "fileExtension", ".extension");
+
+        this.service = new ImportSoapProjectService();
+        inject(service);
+        ReflectionTestUtils.setField(service, "legacyRepository", Mockito.mock(SoapProjectV1LegacyRepository.class));
+        // A small batch size makes sure that the entities are saved in several batches
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+    }
+
+    @Test
+    public void testExportAndImport(){
+        final SoapProject project = SoapProjectGenerator.generateSoapProject();
+        final List<SoapPort> ports = new ArrayList<>();
+        final List<SoapOperation> operations = new ArrayList<>();
+        final List<SoapMockResponse> mockResponses = new ArrayList<>();
+        final SoapResource resource = SoapResourceGenerator.generateSoapResource();
+        resource.setProjectId(project.getId());
+        for(int portIndex = 0; portIndex < PORTS; portIndex++){
+            final SoapPort port = SoapPortGenerator.generateSoapPort();
+            port.setId("Port" + portIndex);
+            port.setProjectId(project.getId());
+            ports.add(port);
+            for(int operationIndex = 0; operationIndex < OPERATIONS; operationIndex++){
+                final SoapOperation operation = operation(port.getId(), operationIndex);
+                operations.add(operation);
+                for(int responseIndex = 0; responseIndex < MOCK_RESPONSES; responseIndex++){
+                    final SoapMockResponse mockResponse = SoapMockResponseGenerator.generateSoapMockResponse();
+                    mockResponse.setId(operation.getId() + "Response" + responseIndex);
+                    mockResponse.setOperationId(operation.getId());
+                    mockResponse.setBody("<response>" + mockResponse.getId() + "</response>");
+                    mockResponse.setXpathExpression(null);
+                    mockResponses.add(mockResponse);
+                }
+            }
+        }
+
+        final String exported = export(project, ports, operations, mockResponses, resource, "<wsdl/>");
+
+        final ImportSoapProjectOutput output = service.process(new ServiceTask<>(ImportSoapProjectInput.builder()
+                .projectStream(new ByteArrayInputStream(exported.getBytes(StandardCharsets.UTF_8)))
+                .build())).getOutput();
+        Assert.assertEquals(project.getId(), output.getProject().getId());
+
+        final ArgumentCaptor<SoapProject> projectCaptor = ArgumentCaptor.forClass(SoapProject.class);
+        Mockito.verify(repository).save(projectCaptor.capture());
+        final ArgumentCaptor<SoapResource> resourceCaptor = ArgumentCaptor.forClass(SoapResource.class);
+        final ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(resourceRepository).saveSoapResource(resourceCaptor.capture(), contentCaptor.capture());
+        final List<SoapPort> importedPorts = captureAll(portRepository);
+        final List<SoapMockResponse> importedMockResponses = captureAll(mockResponseRepository);
+        final List<SoapOperation> importedOperations = new ArrayList<>();
+        for(SoapPort port : importedPorts){
+            importedOperations.addAll(operationRepository.findWithPortId(port.getId()));
+        }
+        importedOperations.sort(Comparator.comparing(SoapOperation::getId));
+
+        Assert.assertEquals(PORTS, importedPorts.size());
+        Assert.assertEquals(PORTS * OPERATIONS, importedOperations.size());
+        Assert.assertEquals(PORTS * OPERATIONS * MOCK_RESPONSES, importedMockResponses.size());
+        Assert.assertEquals("<wsdl/>", contentCaptor.getValue());
+        Assert.assertEquals(exported, export(projectCaptor.getValue(), importedPorts, importedOperations,
+                importedMockResponses, resourceCaptor.getValue(), contentCaptor.getValue()));
+
+        for(SoapOperation operation : operations){
+            final SoapOperation identified = operationRepository.findWithMethodAndVersionAndSoapAction(
+                    operation.getPortId(), HttpMethod.POST, SoapVersion.SOAP11, operation.getSoapAction());
+            Assert.assertNotNull(identified);
+            Assert.assertEquals(operation.getId(), identified.getId());
+        }
+    }
+
+    private String export(final SoapProject project,
+                          final List<SoapPort> ports,
+                          final List<SoapOperation> operations,
+                          final List<SoapMockResponse> mockResponses,
+                          final SoapResource resource,
+                          final String content){
+        final SoapProjectRepository repository = Mockito.mock(SoapProjectRepository.class);
+        final SoapPortRepository portRepository = Mockito.mock(SoapPortRepository.class);
+        final SoapOperationFileRepository operationRepository = Mockito.mock(SoapOperationFileRepository.class);
+        final SoapMockResponseRepository mockResponseRepository = Mockito.mock(SoapMockResponseRepository.class);
+        final SoapResourceRepository resourceRepository = Mockito.mock(SoapResourceRepository.class);
+        Mockito.when(repository.findOne(project.getId())).thenReturn(project);
+        Mockito.when(portRepository.findWithProjectId(project.getId())).thenReturn(ports);
+        Mockito.when(resourceRepository.findWithProjectId(project.getId())).thenReturn(Arrays.asList(resource));
+        Mockito.when(resourceRepository.loadSoapResource(resource.getId())).thenReturn(content);
+        for(SoapPort port : ports){
+            final List<SoapOperation> portOperations = new ArrayList<>();
+            for(SoapOperation operation : operations){
+                if(port.getId().equals(operation.getPortId())){
+                    portOperations.add(operation);
+                }
+            }
+            Mockito.when(operationRepository.findWithPortId(port.getId())).thenReturn(portOperations);
+        }
+        for(SoapOperation operation : operations){
+            final List<SoapMockResponse> operationMockResponses = new ArrayList<>();
+            for(SoapMockResponse mockResponse : mockResponses){
+                if(operation.getId().equals(mockResponse.getOperationId())){
+                    operationMockResponses.add(mockResponse);
+                }
+            }
+            Mockito.when(mockResponseRepository.findWithOperationId(operation.getId())).thenReturn(operationMockResponses);
+        }
+
+        final ExportSoapProjectService exportService = new ExportSoapProjectService();
+        ReflectionTestUtils.setField(exportService, "repository", repository);
+        ReflectionTestUtils.setField(exportService, "portRepository", portRepository);
+        ReflectionTestUtils.setField(exportService, "operationRepository", operationRepository);
+        ReflectionTestUtils.setField(exportService, "mockResponseRepository", mockResponseRepository);
+        ReflectionTestUtils.setField(exportService, "resourceRepository", resourceRepository);
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        exportService.process(new ServiceTask<>(ExportSoapProjectInput.builder()
+                .projectId(project.getId())
+                .outputStream(outputStream)
+                .build()));
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private void inject(final AbstractSoapProjectService service){
+        ReflectionTestUtils.setField(service, "repository", repository);
+        ReflectionTestUtils.setField(service, "portRepository", portRepository);
+        ReflectionTestUtils.setField(service, "operationRepository", operationRepository);
+        ReflectionTestUtils.setField(service, "mockResponseRepository", mockResponseRepository);
+        ReflectionTestUtils.setField(service, "resourceRepository", resourceRepository);
+        ReflectionTestUtils.setField(service, "eventPolicyManager", new EventPolicyManager());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> captureAll(final com.castlemock.repository.Repository<T, String> repository){
+        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(repository, Mockito.atLeastOnce()).saveAll(captor.capture());
+        final List<T> entities = new ArrayList<>();
+        for(List<T> batch : captor.getAllValues()){
+            entities.addAll(batch);
+        }
+        return entities;
+    }
+
+    private static SoapOperation operation(final String portId, final int index){
+        final SoapOperationIdentifier operationIdentifier = new SoapOperationIdentifier();
+        operationIdentifier.setName("Operation" + index);
+        operationIdentifier.setNamespace("http://castlemock.com/" + portId);
+
+        final SoapOperation operation = SoapOperationGenerator.generateSoapOperation();
+        operation.setId(portId + "Operation" + index);
+        operation.setName("Operation" + index);
+        operation.setPortId(portId);
+        operation.setOperationIdentifier(operationIdentifier);
+        operation.setSoapAction("urn:" + portId + ":operation" + index);
+        operation.setIdentifyStrategy(SoapOperationIdentifyStrategy.SOAP_ACTION);
+        operation.setCurrentResponseSequenceIndex(0);
+        // The invoke address is generated and is not stored with the operation
+        operation.setInvokeAddress(null);
+        operation.setMockOnFailure(false);
+        operation.setSimulateNetworkDelay(false);
+        operation.setNetworkDelay(0L);
+        return operation;
+    }
+
+}
@@ -65,12 +65,9 @@ public class UpdateSoapOperationsForwardedEndpointServiceTest {
 
         final ServiceTask<UpdateSoapOperationsForwardedEndpointInput> serviceTask = new ServiceTask<UpdateSoapOperationsForwardedEndpointInput>(input);
 
-        Mockito.when(operationRepository.findOne(operation.getId())).thenReturn(operation);
-        Mockito.when(operationRepository.update(Mockito.anyString(), Mockito.any(SoapOperation.class))).thenReturn(operation);
         final ServiceResult<UpdateSoapOperationsForwardedEndpointOutput> result = service.process(serviceTask);
 
-        Mockito.verify(operationRepository, Mockito.times(1)).findOne(operation.getId());
-        Mockito.verify(operationRepository, Mockito.times(1)).update(operation.getId(), operation);
+        Mockito.verify(operationRepository, Mockito.times(1)).updateForwardedEndpoint(Arrays.asList(operation.getId()), "Forward Endpoint");
 
     }
 }
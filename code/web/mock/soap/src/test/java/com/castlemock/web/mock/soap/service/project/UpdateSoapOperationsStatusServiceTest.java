@@ -31,6 +31,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Collections;
+
 /**
  * @author Karl Dahlgren
  * @since 1.1
@@ -62,12 +64,9 @@ public class UpdateSoapOperationsStatusServiceTest {
                 .build();
         final ServiceTask<UpdateSoapOperationsStatusInput> serviceTask = new ServiceTask<UpdateSoapOperationsStatusInput>(input);
 
-        Mockito.when(operationRepository.findOne(soapOperation.getId())).thenReturn(soapOperation);
-        Mockito.when(operationRepository.update(Mockito.anyString(), Mockito.any(SoapOperation.class))).thenReturn(soapOperation);
         final ServiceResult<UpdateSoapOperationsStatusOutput> result = service.process(serviceTask);
 
-        Mockito.verify(operationRepository, Mockito.times(1)).findOne(soapOperation.getId());
-        Mockito.verify(operationRepository, Mockito.times(1)).update(soapOperation.getId(), soapOperation);
+        Mockito.verify(operationRepository, Mockito.times(1)).updateStatus(Collections.singletonList(soapOperation.getId()), SoapOperationStatus.MOCKED);
 
     }
 }
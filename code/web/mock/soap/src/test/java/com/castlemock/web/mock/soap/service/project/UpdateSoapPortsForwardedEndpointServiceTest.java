@@ -65,11 +65,10 @@ public class UpdateSoapPortsForwardedEndpointServiceTest {
         final ServiceTask<UpdateSoapPortsForwardedEndpointInput> serviceTask = new ServiceTask<UpdateSoapPortsForwardedEndpointInput>(input);
 
         Mockito.when(operationRepository.findWithPortId(port.getId())).thenReturn(Arrays.asList(operation));
-        Mockito.when(operationRepository.update(Mockito.anyString(), Mockito.any(SoapOperation.class))).thenReturn(operation);
         final ServiceResult<UpdateSoapPortsForwardedEndpointOutput> result = service.process(serviceTask);
 
         Mockito.verify(operationRepository, Mockito.times(1)).findWithPortId(port.getId());
-        Mockito.verify(operationRepository, Mockito.times(1)).update(operation.getId(), operation);
+        Mockito.verify(operationRepository, Mockito.times(1)).updateForwardedEndpoint(Arrays.asList(operation.getId()), "Forward Endpoint");
 
     }
 }
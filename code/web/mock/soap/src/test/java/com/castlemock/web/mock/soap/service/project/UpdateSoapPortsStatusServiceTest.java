@@ -64,12 +64,11 @@ public class UpdateSoapPortsStatusServiceTest {
         final ServiceTask<UpdateSoapPortsStatusInput> serviceTask = new ServiceTask<UpdateSoapPortsStatusInput>(input);
 
         Mockito.when(operationRepository.findWithPortId("SOAP PORT")).thenReturn(Arrays.asList(soapOperation));
-        Mockito.when(operationRepository.update(Mockito.anyString(), Mockito.any(SoapOperation.class))).thenReturn(soapOperation);
         final ServiceResult<UpdateSoapPortsStatusOutput> result = service.process(serviceTask);
 
 
         Mockito.verify(operationRepository, Mockito.times(1)).findWithPortId(portId);
-        Mockito.verify(operationRepository, Mockito.times(1)).update(soapOperation.getId(), soapOperation);
+        Mockito.verify(operationRepository, Mockito.times(1)).updateStatus(Arrays.asList(soapOperation.getId()), SoapOperationStatus.MOCKED);
 
     }
 }
@@ -23,6 +23,7 @@ import com.castlemock.core.mock.soap.service.project.input.UpdateSoapProjectInpu
 import com.castlemock.core.mock.soap.service.project.output.UpdateSoapProjectOutput;
 import com.castlemock.core.mock.soap.model.project.SoapProjectGenerator;
 import com.castlemock.repository.soap.project.SoapProjectRepository;
+import com.castlemock.web.basis.manager.EventPolicyManager;
 import junit.framework.Assert;
 import org.dozer.DozerBeanMapper;
 import org.junit.Before;
@@ -41,6 +42,9 @@ public class UpdateSoapProjectServiceTest {
     @Mock
     private SoapProjectRepository repository;
 
+    @Spy
+    private EventPolicyManager eventPolicyManager = new EventPolicyManager();
+
     @InjectMocks
     private UpdateSoapProjectService service;
 
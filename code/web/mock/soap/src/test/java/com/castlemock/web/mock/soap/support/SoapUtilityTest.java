@@ -16,10 +16,15 @@
 
 package com.castlemock.web.mock.soap.support;
 
+import com.castlemock.core.basis.model.http.domain.HttpHeader;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperationIdentifier;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * @author Karl Dahlgren
  * @since 1.35
@@ -140,4 +145,33 @@ public class SoapUtilityTest {
         SoapUtility.extractSoapRequestName(new String());
     }
 
+    @Test
+    public void testExtractSoapActionFromHeader(){
+        final HttpHeader httpHeader = new HttpHeader();
+        httpHeader.setName("soapaction");
+        httpHeader.setValue("\"http://www.webserviceX.NET/ConversionRate\"");
+        final List<HttpHeader> httpHeaders = Collections.singletonList(httpHeader);
+
+        final Optional<String> soapAction = SoapUtility.extractSoapAction(httpHeaders, "text/xml; charset=utf-8");
+        Assert.assertEquals(Optional.of("http://www.webserviceX.NET/ConversionRate"), soapAction);
+    }
+
+    @Test
+    public void testExtractSoapActionFromContentType(){
+        final Optional<String> soapAction = SoapUtility.extractSoapAction(Collections.emptyList(),
+                "application/soap+xml; charset=utf-8; action=\"urn:ConversionRate\"");
+        Assert.assertEquals(Optional.of("urn:ConversionRate"), soapAction);
+    }
+
+    @Test
+    public void testExtractSoapActionEmpty(){
+        final HttpHeader httpHeader = new HttpHeader();
+        httpHeader.setName("SOAPAction");
+        httpHeader.setValue("\"\"");
+        final List<HttpHeader> httpHeaders = Collections.singletonList(httpHeader);
+
+        Assert.assertFalse(SoapUtility.extractSoapAction(httpHeaders, "text/xml").isPresent());
+        Assert.assertFalse(SoapUtility.extractSoapAction(null, null).isPresent());
+    }
+
 }
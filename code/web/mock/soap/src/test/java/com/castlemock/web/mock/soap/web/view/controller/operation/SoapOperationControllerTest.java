@@ -17,9 +17,9 @@
 package com.castlemock.web.mock.soap.web.view.controller.operation;
 
 import com.castlemock.core.basis.model.ServiceProcessor;
-import com.castlemock.core.mock.soap.model.event.domain.SoapEvent;
-import com.castlemock.core.mock.soap.service.event.input.ReadSoapEventsByOperationIdInput;
-import com.castlemock.core.mock.soap.service.event.output.ReadSoapEventsByOperationIdOutput;
+import com.castlemock.core.basis.model.event.domain.EventSummary;
+import com.castlemock.core.mock.soap.service.event.input.ReadSoapEventSummariesInput;
+import com.castlemock.core.mock.soap.service.event.output.ReadSoapEventSummariesOutput;
 import com.castlemock.core.mock.soap.model.project.domain.SoapMockResponse;
 import com.castlemock.core.mock.soap.model.project.domain.SoapOperation;
 import com.castlemock.core.mock.soap.model.project.domain.SoapPort;
@@ -98,8 +98,8 @@ public class SoapOperationControllerTest extends AbstractSoapControllerTest {
         when(serviceProcessor.process(isA(ReadSoapOperationInput.class))).thenReturn(ReadSoapOperationOutput.builder()
                 .operation(soapOperation)
                 .build());
-        when(serviceProcessor.process(isA(ReadSoapEventsByOperationIdInput.class))).thenReturn(ReadSoapEventsByOperationIdOutput.builder()
-                .soapEvents(new ArrayList<SoapEvent>())
+        when(serviceProcessor.process(isA(ReadSoapEventSummariesInput.class))).thenReturn(ReadSoapEventSummariesOutput.builder()
+                .events(new ArrayList<EventSummary>())
                 .build());
         final MockHttpServletRequestBuilder message = MockMvcRequestBuilders.get(SERVICE_URL + PROJECT + SLASH + soapProject.getId() + SLASH + PORT + SLASH + soapPort.getId() + SLASH + OPERATION + SLASH + soapOperation.getId() + SLASH);
         ResultActions result = mockMvc.perform(message)